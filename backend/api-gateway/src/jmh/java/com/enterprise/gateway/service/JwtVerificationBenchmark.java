@@ -0,0 +1,89 @@
+package com.enterprise.gateway.service;
+
+import com.enterprise.gateway.dto.JwtPrincipal;
+import com.enterprise.gateway.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Objects;
+
+/**
+ * 요청당 JWT 검증 비용: 기존 필터 경로 vs 한 번 파싱 vs 캐시 적중
+ *
+ * 실행: ./gradlew jmh -Pjmh.includes=JwtVerificationBenchmark
+ * 세션 토큰 1024개를 순환하며, cachedVerify 는 setUp 에서 모두 캐시에 올려 둔 상태(반복 요청)를 측정한다.
+ */
+@State(Scope.Thread)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "your-secret-key-must-be-at-least-256-bits-long-for-HS256-algorithm";
+    private static final int SESSIONS = 1024;
+
+    private String[] tokens;
+    private int cursor;
+
+    private LegacyJwtValidation legacy;
+    private JwtUtil jwtUtil;
+    private JwtVerificationService verificationService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tokens = new String[SESSIONS];
+        Date expiration = new Date(System.currentTimeMillis() + Duration.ofHours(24).toMillis());
+        for (int i = 0; i < SESSIONS; i++) {
+            tokens[i] = Jwts.builder()
+                    .subject("user" + i)
+                    .claim("role", i % 10 == 0 ? "ADMIN" : "USER")
+                    .issuedAt(new Date())
+                    .expiration(expiration)
+                    .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                    .compact();
+        }
+
+        legacy = new LegacyJwtValidation(SECRET);
+        jwtUtil = new JwtUtil(SECRET, Duration.ofHours(24).toMillis());
+        verificationService = new JwtVerificationService(jwtUtil, 100_000, Duration.ofMinutes(10), new SimpleMeterRegistry());
+
+        // 세 경로의 결과가 같은지 확인하고 캐시 적재
+        for (String token : tokens) {
+            String[] expected = legacy.authenticate(token);
+            JwtPrincipal actual = verificationService.verify(token);
+            if (expected == null || actual == null
+                    || !Objects.equals(expected[0], actual.username()) || !Objects.equals(expected[1], actual.role())) {
+                throw new IllegalStateException("Verification mismatch for " + token);
+            }
+        }
+    }
+
+    @Benchmark
+    public String[] legacyFilterPath() {
+        return legacy.authenticate(next());
+    }
+
+    @Benchmark
+    public String parseOnce() {
+        Claims claims = jwtUtil.parseClaims(next());
+        return JwtUtil.roleOf(claims);
+    }
+
+    @Benchmark
+    public JwtPrincipal cachedVerify() {
+        return verificationService.verify(next());
+    }
+
+    private String next() {
+        String token = tokens[cursor];
+        cursor = (cursor + 1) & (SESSIONS - 1);
+        return token;
+    }
+}
@@ -0,0 +1,74 @@
+package com.enterprise.gateway.service;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 기존 JwtAuthenticationFilter 의 검증 경로 (비교 기준)
+ * validateToken → extractUsername → extractRole, 호출마다 SecretKey / JwtParser 를 새로 만들어 전체 검증
+ */
+final class LegacyJwtValidation {
+
+    private final String secret;
+
+    LegacyJwtValidation(String secret) {
+        this.secret = secret;
+    }
+
+    /**
+     * @return username + role, 유효하지 않으면 null
+     */
+    String[] authenticate(String token) {
+        if (!validateToken(token)) {
+            return null;
+        }
+        return new String[]{extractUsername(token), extractRole(token)};
+    }
+
+    private SecretKey getSigningKey() {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Claims extractAllClaims(String token) {
+        return Jwts.parser()
+                .verifyWith(getSigningKey())
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    private String extractUsername(String token) {
+        return extractAllClaims(token).getSubject();
+    }
+
+    private String extractRole(String token) {
+        Claims claims = extractAllClaims(token);
+        Object roleObj = claims.get("role");
+        if (roleObj != null) {
+            return roleObj.toString();
+        }
+        Object rolesObj = claims.get("roles");
+        if (rolesObj == null) {
+            rolesObj = claims.get("authorities");
+        }
+        if (rolesObj instanceof List<?> roles && !roles.isEmpty()) {
+            return roles.get(0).toString();
+        }
+        extractUsername(token);
+        return null;
+    }
+
+    private boolean validateToken(String token) {
+        try {
+            return !extractAllClaims(token).getExpiration().before(new Date());
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
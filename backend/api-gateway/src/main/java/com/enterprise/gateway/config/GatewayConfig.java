@@ -1,6 +1,8 @@
 package com.enterprise.gateway.config;
 
 import com.enterprise.gateway.filter.JwtAuthenticationFilter;
+import com.enterprise.gateway.filter.RateLimitFilter;
+import com.enterprise.gateway.filter.ResponseCacheFilter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -12,10 +14,13 @@ import org.springframework.context.annotation.Configuration;
 @Slf4j
 @Configuration
 @RequiredArgsConstructor
-@EnableConfigurationProperties(GatewayRouteProperties.class)
+@EnableConfigurationProperties({GatewayRouteProperties.class, GatewayTelemetryProperties.class,
+                GatewayStatsProperties.class, GatewayRateLimitProperties.class})
 public class GatewayConfig {
 
         private final JwtAuthenticationFilter jwtAuthenticationFilter;
+        private final RateLimitFilter rateLimitFilter;
+        private final ResponseCacheFilter responseCacheFilter;
         private final GatewayRouteProperties routeProperties;
 
         @Bean
@@ -30,8 +35,11 @@ public class GatewayConfig {
                                 .path(routeProperties.getUser().getApiAdminPath()) // /api/admin/users/**
                                 .filters(f -> f
                                                 .stripPrefix(routeProperties.getStripPrefix())
+                                                .filter(rateLimitFilter.apply(new RateLimitFilter.Config("user-service-admin")))
                                                 .filter(jwtAuthenticationFilter.apply(
-                                                                new JwtAuthenticationFilter.Config(true)))) // 인증 필수
+                                                                new JwtAuthenticationFilter.Config(true))) // 인증 필수
+                                                .filter(responseCacheFilter.apply(new ResponseCacheFilter.Config(
+                                                                "user-service-admin", routeProperties.getUser().getServiceUri()))))
                                 .uri(routeProperties.getUser().getServiceUri()));
 
                 // 2. Auth 라우트 - logout (인증 필요) ✅ /api/auth/logout -> /auth/logout
@@ -41,8 +49,11 @@ public class GatewayConfig {
                                 .filters(f -> f
                                                 .stripPrefix(routeProperties.getStripPrefix()) // /api 제거 ->
                                                                                                // /auth/logout
+                                                .filter(rateLimitFilter.apply(new RateLimitFilter.Config("user-service-auth-logout-api")))
                                                 .filter(jwtAuthenticationFilter.apply(
-                                                                new JwtAuthenticationFilter.Config(true))))
+                                                                new JwtAuthenticationFilter.Config(true)))
+                                                .filter(responseCacheFilter.apply(new ResponseCacheFilter.Config(
+                                                                "user-service-auth-logout-api", routeProperties.getUser().getServiceUri()))))
                                 .uri(routeProperties.getUser().getServiceUri()));
 
                 // 3. Auth 라우트 - login/register (인증 불필요) ✅ /api/auth/login|register
@@ -50,8 +61,11 @@ public class GatewayConfig {
                                 .path("/api/auth/login", "/api/auth/register")
                                 .filters(f -> f
                                                 .stripPrefix(routeProperties.getStripPrefix()) // /api 제거 -> /auth/login
+                                                .filter(rateLimitFilter.apply(new RateLimitFilter.Config("user-service-auth-public")))
                                                 .filter(jwtAuthenticationFilter.apply(
-                                                                new JwtAuthenticationFilter.Config(false))))
+                                                                new JwtAuthenticationFilter.Config(false)))
+                                                .filter(responseCacheFilter.apply(new ResponseCacheFilter.Config(
+                                                                "user-service-auth-public", routeProperties.getUser().getServiceUri()))))
                                 .uri(routeProperties.getUser().getServiceUri()));
 
                 // 4. Auth 라우트 - /auth/logout 직접 호출 지원 (인증 필요) ✅ /auth/logout -> /auth/logout
@@ -60,8 +74,11 @@ public class GatewayConfig {
                                 .path("/auth/logout")
                                 .filters(f -> f
                                                 .stripPrefix(0) // 그대로 전달
+                                                .filter(rateLimitFilter.apply(new RateLimitFilter.Config("user-service-auth-logout-direct")))
                                                 .filter(jwtAuthenticationFilter.apply(
-                                                                new JwtAuthenticationFilter.Config(true))))
+                                                                new JwtAuthenticationFilter.Config(true)))
+                                                .filter(responseCacheFilter.apply(new ResponseCacheFilter.Config(
+                                                                "user-service-auth-logout-direct", routeProperties.getUser().getServiceUri()))))
                                 .uri(routeProperties.getUser().getServiceUri()));
 
                 // 5. 일반 User API 라우트 (인증 필요)
@@ -69,8 +86,11 @@ public class GatewayConfig {
                                 .path(routeProperties.getUser().getApiPath())
                                 .filters(f -> f
                                                 .stripPrefix(routeProperties.getStripPrefix())
+                                                .filter(rateLimitFilter.apply(new RateLimitFilter.Config("user-service-api")))
                                                 .filter(jwtAuthenticationFilter.apply(
-                                                                new JwtAuthenticationFilter.Config(true))))
+                                                                new JwtAuthenticationFilter.Config(true)))
+                                                .filter(responseCacheFilter.apply(new ResponseCacheFilter.Config(
+                                                                "user-service-api", routeProperties.getUser().getServiceUri()))))
                                 .uri(routeProperties.getUser().getServiceUri()));
 
                 // Product Service Routes
@@ -78,10 +98,13 @@ public class GatewayConfig {
                                 .path(routeProperties.getProduct().getApiPath())
                                 .filters(f -> f
                                                 .stripPrefix(routeProperties.getStripPrefix())
+                                                .filter(rateLimitFilter.apply(new RateLimitFilter.Config("product-service")))
                                                 .filter(jwtAuthenticationFilter.apply(
                                                                 new JwtAuthenticationFilter.Config(
                                                                                 routeProperties.getProduct()
-                                                                                                .isRequireAuth()))))
+                                                                                                .isRequireAuth())))
+                                                .filter(responseCacheFilter.apply(new ResponseCacheFilter.Config(
+                                                                "product-service", routeProperties.getProduct().getServiceUri()))))
                                 .uri(routeProperties.getProduct().getServiceUri()));
 
                 // Order Service Routes
@@ -89,10 +112,13 @@ public class GatewayConfig {
                                 .path(routeProperties.getOrder().getApiPath())
                                 .filters(f -> f
                                                 .stripPrefix(routeProperties.getStripPrefix())
+                                                .filter(rateLimitFilter.apply(new RateLimitFilter.Config("order-service")))
                                                 .filter(jwtAuthenticationFilter.apply(
                                                                 new JwtAuthenticationFilter.Config(
                                                                                 routeProperties.getOrder()
-                                                                                                .isRequireAuth()))))
+                                                                                                .isRequireAuth())))
+                                                .filter(responseCacheFilter.apply(new ResponseCacheFilter.Config(
+                                                                "order-service", routeProperties.getOrder().getServiceUri()))))
                                 .uri(routeProperties.getOrder().getServiceUri()));
 
                 // 1. Board Service Routes - Search
@@ -102,8 +128,11 @@ public class GatewayConfig {
                                 .method(routeProperties.getBoard().getPublicMethods().toArray(new String[0]))
                                 .filters(f -> f
                                                 .stripPrefix(routeProperties.getStripPrefix())
+                                                .filter(rateLimitFilter.apply(new RateLimitFilter.Config("board-service-search")))
                                                 .filter(jwtAuthenticationFilter.apply(
-                                                                new JwtAuthenticationFilter.Config(false))))
+                                                                new JwtAuthenticationFilter.Config(false)))
+                                                .filter(responseCacheFilter.apply(new ResponseCacheFilter.Config(
+                                                                "board-service-search", routeProperties.getBoard().getServiceUri()))))
                                 .uri(routeProperties.getBoard().getServiceUri()));
 
                 // 2. Board Service Routes - Write/Update/Delete
@@ -113,8 +142,11 @@ public class GatewayConfig {
                                 .method(routeProperties.getBoard().getAuthMethods().toArray(new String[0]))
                                 .filters(f -> f
                                                 .stripPrefix(routeProperties.getStripPrefix())
+                                                .filter(rateLimitFilter.apply(new RateLimitFilter.Config("board-service-write")))
                                                 .filter(jwtAuthenticationFilter.apply(
-                                                                new JwtAuthenticationFilter.Config(true))))
+                                                                new JwtAuthenticationFilter.Config(true)))
+                                                .filter(responseCacheFilter.apply(new ResponseCacheFilter.Config(
+                                                                "board-service-write", routeProperties.getBoard().getServiceUri()))))
                                 .uri(routeProperties.getBoard().getServiceUri()));
 
                 // 3. Board Service Routes - Read
@@ -124,8 +156,11 @@ public class GatewayConfig {
                                 .method(routeProperties.getBoard().getPublicMethods().toArray(new String[0]))
                                 .filters(f -> f
                                                 .stripPrefix(routeProperties.getStripPrefix())
+                                                .filter(rateLimitFilter.apply(new RateLimitFilter.Config("board-service-read")))
                                                 .filter(jwtAuthenticationFilter.apply(
-                                                                new JwtAuthenticationFilter.Config(false))))
+                                                                new JwtAuthenticationFilter.Config(false)))
+                                                .filter(responseCacheFilter.apply(new ResponseCacheFilter.Config(
+                                                                "board-service-read", routeProperties.getBoard().getServiceUri()))))
                                 .uri(routeProperties.getBoard().getServiceUri()));
 
                 // 1. Admin Service Routes (메뉴 관리 - ADMIN 권한 필요) ⭐⭐⭐
@@ -133,11 +168,13 @@ public class GatewayConfig {
                                 .path(routeProperties.getAdmin().getApiPath()) // /api/menus/**
                                 .filters(f -> f
                                                 .stripPrefix(routeProperties.getStripPrefix()) // /api 제거 → /menus
+                                                .filter(rateLimitFilter.apply(new RateLimitFilter.Config("admin-service")))
                                                 .filter(jwtAuthenticationFilter.apply(
                                                                 new JwtAuthenticationFilter.Config(
                                                                                 routeProperties.getAdmin()
-                                                                                                .isRequireAuth())))) // 인증
-                                                                                                                     // 필수
+                                                                                                .isRequireAuth()))) // 인증 필수
+                                                .filter(responseCacheFilter.apply(new ResponseCacheFilter.Config(
+                                                                "admin-service", routeProperties.getAdmin().getServiceUri()))))
                                 .uri(routeProperties.getAdmin().getServiceUri())); // lb://admin-service
 
                 // 2. 시스템 설정 API 라우트 (인증 필요)
@@ -145,8 +182,11 @@ public class GatewayConfig {
                                 .path(routeProperties.getAdmin().getApiSystemPath()) // /api/admin/settings/**
                                 .filters(f -> f
                                                 .stripPrefix(1) // /api 제거
+                                                .filter(rateLimitFilter.apply(new RateLimitFilter.Config("system-settings")))
                                                 .filter(jwtAuthenticationFilter.apply(
-                                                                new JwtAuthenticationFilter.Config(true))))
+                                                                new JwtAuthenticationFilter.Config(true)))
+                                                .filter(responseCacheFilter.apply(new ResponseCacheFilter.Config(
+                                                                "system-settings", routeProperties.getAdmin().getServiceUri()))))
                                 .uri(routeProperties.getAdmin().getServiceUri()));
 
                 // 3. 모델 설정 API 라우트 (인증 필요)
@@ -154,8 +194,11 @@ public class GatewayConfig {
                                 .path(routeProperties.getAdmin().getApiModelPath()) // /api/admin/model-configs/**
                                 .filters(f -> f
                                                 .stripPrefix(1) // /api 제거
+                                                .filter(rateLimitFilter.apply(new RateLimitFilter.Config("model-configs")))
                                                 .filter(jwtAuthenticationFilter.apply(
-                                                                new JwtAuthenticationFilter.Config(true))))
+                                                                new JwtAuthenticationFilter.Config(true)))
+                                                .filter(responseCacheFilter.apply(new ResponseCacheFilter.Config(
+                                                                "model-configs", routeProperties.getAdmin().getServiceUri()))))
                                 .uri(routeProperties.getAdmin().getServiceUri()));
 
                 // 4. 모델 설정 API 라우트 (인증 필요)
@@ -163,8 +206,11 @@ public class GatewayConfig {
                                 .path(routeProperties.getAdmin().getApiDashboardPath()) // /api/admin/dashboard/**
                                 .filters(f -> f
                                                 .stripPrefix(1) // /api 제거
+                                                .filter(rateLimitFilter.apply(new RateLimitFilter.Config("admin-dashboard")))
                                                 .filter(jwtAuthenticationFilter.apply(
-                                                                new JwtAuthenticationFilter.Config(true))))
+                                                                new JwtAuthenticationFilter.Config(true)))
+                                                .filter(responseCacheFilter.apply(new ResponseCacheFilter.Config(
+                                                                "admin-dashboard", routeProperties.getAdmin().getServiceUri()))))
                                 .uri(routeProperties.getAdmin().getServiceUri()));
 
                 log.debug("✅ Admin Service route configured: {} -> {}",
@@ -176,10 +222,13 @@ public class GatewayConfig {
                         .path(routeProperties.getMessage().getApiPath()) // /api/messages/**
                         .filters(f -> f
                                 .stripPrefix(routeProperties.getStripPrefix()) // stripPrefix(1) - 표준 패턴
+                                .filter(rateLimitFilter.apply(new RateLimitFilter.Config("message-service")))
                                 .filter(jwtAuthenticationFilter.apply(
                                         new JwtAuthenticationFilter.Config(
                                                 routeProperties.getMessage()
-                                                        .isRequireAuth()))))
+                                                        .isRequireAuth())))
+                                .filter(responseCacheFilter.apply(new ResponseCacheFilter.Config(
+                                                "message-service", routeProperties.getMessage().getServiceUri()))))
                         .uri(routeProperties.getMessage().getServiceUri())); // lb://message-service
 
                 log.debug("✅ Message Service route configured: {} -> {}",
@@ -192,10 +241,13 @@ public class GatewayConfig {
                         .path(routeProperties.getModel().getApiPath()) // /api/models/**
                         .filters(f -> f
                                 .stripPrefix(routeProperties.getStripPrefix()) // stripPrefix(1)
+                                .filter(rateLimitFilter.apply(new RateLimitFilter.Config("model-service-models")))
                                 .filter(jwtAuthenticationFilter.apply(
                                         new JwtAuthenticationFilter.Config(
                                                 routeProperties.getModel()
-                                                        .isRequireAuth()))))
+                                                        .isRequireAuth())))
+                                .filter(responseCacheFilter.apply(new ResponseCacheFilter.Config(
+                                                "model-service-models", routeProperties.getModel().getServiceUri()))))
                         .uri(routeProperties.getModel().getServiceUri())); // lb://model-service
 
                 // 2. Training API (인증 필요)
@@ -203,10 +255,13 @@ public class GatewayConfig {
                         .path(routeProperties.getModel().getTrainingPath()) // /api/training/**
                         .filters(f -> f
                                 .stripPrefix(routeProperties.getStripPrefix())
+                                .filter(rateLimitFilter.apply(new RateLimitFilter.Config("model-service-training")))
                                 .filter(jwtAuthenticationFilter.apply(
                                         new JwtAuthenticationFilter.Config(
                                                 routeProperties.getModel()
-                                                        .isRequireAuth()))))
+                                                        .isRequireAuth())))
+                                .filter(responseCacheFilter.apply(new ResponseCacheFilter.Config(
+                                                "model-service-training", routeProperties.getModel().getServiceUri()))))
                         .uri(routeProperties.getModel().getServiceUri()));
 
                 // 3. Predictions API (인증 필요)
@@ -214,10 +269,13 @@ public class GatewayConfig {
                         .path(routeProperties.getModel().getPredictionPath()) // /api/predictions/**
                         .filters(f -> f
                                 .stripPrefix(routeProperties.getStripPrefix())
+                                .filter(rateLimitFilter.apply(new RateLimitFilter.Config("model-service-predictions")))
                                 .filter(jwtAuthenticationFilter.apply(
                                         new JwtAuthenticationFilter.Config(
                                                 routeProperties.getModel()
-                                                        .isRequireAuth()))))
+                                                        .isRequireAuth())))
+                                .filter(responseCacheFilter.apply(new ResponseCacheFilter.Config(
+                                                "model-service-predictions", routeProperties.getModel().getServiceUri()))))
                         .uri(routeProperties.getModel().getServiceUri()));
 
                 log.debug("✅ Model Service routes configured: {} -> {}",
@@ -0,0 +1,94 @@
+package com.enterprise.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 라우트별 요청 제한 설정 (토큰 버킷)
+ *
+ * routes 에 없는 라우트는 제한하지 않는다. 버킷은 라우트 + 키(IP / 사용자 / 라우트 전체)별로 만들어진다.
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public class GatewayRateLimitProperties {
+
+    /**
+     * false 면 모든 라우트에서 제한하지 않음
+     */
+    private boolean enabled = true;
+
+    /**
+     * IP 키에 X-Forwarded-For 첫 번째 값을 사용 (앞단 로드밸런서가 값을 덮어쓰는 경우에만 true)
+     */
+    private boolean trustForwardedFor = false;
+
+    /**
+     * 라우트당 최대 버킷 수 (초과 시 오래 쓰지 않은 버킷부터 제거)
+     */
+    private long maxKeys = 100_000;
+
+    /**
+     * 이 시간 동안 요청이 없으면 버킷 제거
+     */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    /**
+     * 라우트 ID → 제한
+     */
+    private Map<String, RouteLimit> routes = new LinkedHashMap<>();
+
+    private Sync sync = new Sync();
+
+    public enum KeyType {
+        /**
+         * 클라이언트 IP
+         */
+        IP,
+        /**
+         * JWT 사용자 (토큰이 없거나 유효하지 않으면 IP)
+         */
+        USER,
+        /**
+         * 라우트 전체가 버킷 하나를 공유
+         */
+        ROUTE
+    }
+
+    @Data
+    public static class RouteLimit {
+
+        private KeyType key = KeyType.IP;
+
+        /**
+         * 초당 보충 토큰 수
+         */
+        private double replenishRate = 10;
+
+        /**
+         * 버킷 크기 (순간 최대 요청 수)
+         */
+        private int burstCapacity = 20;
+    }
+
+    /**
+     * 인스턴스 간 사용량 동기화
+     * 각 인스턴스가 sync.interval 마다 키별 사용량을 spring.kafka.topic.rate-limit 으로 발행하고,
+     * 다른 인스턴스의 사용량만큼 자기 버킷에서 토큰을 차감한다 (클러스터 전체 한도, interval 만큼 지연).
+     */
+    @Data
+    public static class Sync {
+
+        private boolean enabled = false;
+
+        private Duration interval = Duration.ofSeconds(1);
+
+        /**
+         * Kafka 레코드 하나에 담을 최대 키 수
+         */
+        private int maxKeysPerEvent = 1000;
+    }
+}
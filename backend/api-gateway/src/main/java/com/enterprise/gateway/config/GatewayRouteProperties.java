@@ -3,7 +3,10 @@ package com.enterprise.gateway.config;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 // 각 서비스별 라우팅 설정을 관리하는 Properties 클래스:
 
@@ -20,6 +23,8 @@ public class GatewayRouteProperties {
     private AdminServiceConfig admin = new AdminServiceConfig();
     private MessageServiceConfig message = new MessageServiceConfig();
     private ModelServiceConfig model = new ModelServiceConfig();
+
+    private ResponseCacheConfig responseCache = new ResponseCacheConfig();
     
     @Data
     public static class UserServiceConfig {
@@ -79,4 +84,22 @@ public class GatewayRouteProperties {
         private String predictionPath = "/api/predictions/**";
         private boolean requireAuth = true;
     }
-}
\ No newline at end of file
+
+    /**
+     * 공개 GET 응답 캐시
+     * routes 에 있는 라우트의 GET 200 응답을 TTL 동안 게이트웨이 메모리에 보관한다.
+     */
+    @Data
+    public static class ResponseCacheConfig {
+        private boolean enabled = true;
+        private long maxSizeBytes = 64L * 1024 * 1024;    // 전체 본문 크기 상한
+        private int maxBodyBytes = 256 * 1024;              // 이보다 큰 응답은 캐시하지 않음
+        private Map<String, RouteCacheConfig> routes = new LinkedHashMap<>();  // 라우트 ID → 설정
+    }
+
+    @Data
+    public static class RouteCacheConfig {
+        private Duration ttl = Duration.ofSeconds(30);
+        private boolean shareAuthenticated = false;  // true: Authorization 이 있는 요청도 같은 캐시 사용 (사용자별 응답이 아닌 경우만)
+    }
+}
@@ -0,0 +1,26 @@
+package com.enterprise.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * API 통계 집계 설정
+ *
+ * 라우트 + HTTP 메서드별로 요청 수 / 응답 시간을 집계해 시간(HOURLY)·일(DAILY) 단위 ApiStatsEvent 로 발행한다.
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.stats")
+public class GatewayStatsProperties {
+
+    /**
+     * false 면 집계하지 않음
+     */
+    private boolean enabled = true;
+
+    /**
+     * 시간 경계 확인 주기 (지난 구간은 다음 확인 시 발행)
+     */
+    private Duration checkInterval = Duration.ofSeconds(10);
+}
@@ -0,0 +1,52 @@
+package com.enterprise.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Gateway 요청 텔레메트리 설정
+ *
+ * 요청/응답 한 쌍을 하나의 레코드로 버퍼에 넣고, 백그라운드 스레드가 batch-size 단위로 모아
+ * spring.kafka.topic.gateway-telemetry 토픽에 배치 레코드 하나로 발행한다.
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.telemetry")
+public class GatewayTelemetryProperties {
+
+    /**
+     * false 면 필터가 아무것도 기록하지 않음
+     */
+    private boolean enabled = true;
+
+    /**
+     * 정상 응답의 샘플링 비율 (0.0 ~ 1.0)
+     */
+    private double sampleRate = 1.0;
+
+    /**
+     * 5xx 응답과 예외는 샘플링과 관계없이 항상 기록
+     */
+    private boolean alwaysSampleErrors = true;
+
+    /**
+     * 버퍼 스트라이프 수 (0 이면 CPU 코어 수, 2의 거듭제곱으로 올림)
+     */
+    private int stripes = 0;
+
+    /**
+     * 스트라이프당 레코드 수 (2의 거듭제곱으로 올림). 가득 차면 새 레코드는 버린다
+     */
+    private int stripeCapacity = 4096;
+
+    /**
+     * Kafka 레코드 하나에 담을 최대 레코드 수
+     */
+    private int batchSize = 500;
+
+    /**
+     * 버퍼 비우기 주기
+     */
+    private Duration flushInterval = Duration.ofSeconds(1);
+}
@@ -18,6 +18,9 @@ public class KafkaTopicConfig {
     @Value("${spring.kafka.topic.gateway-response:gateway.response}")
     private String gatewayResponseTopic;
 
+    @Value("${spring.kafka.topic.gateway-telemetry:gateway.telemetry}")
+    private String gatewayTelemetryTopic;
+
     @Value("${spring.kafka.topic.auth-event:gateway.auth.event}")
     private String authEventTopic;
 
@@ -27,6 +30,9 @@ public class KafkaTopicConfig {
     @Value("${spring.kafka.topic.rate-limit:gateway.rate.limit}")
     private String rateLimitTopic;
 
+    @Value("${spring.kafka.topic.cache-invalidation:gateway.cache.invalidate}")
+    private String cacheInvalidationTopic;
+
     @Value("${spring.kafka.topic.error-log:gateway.error.log}")
     private String errorLogTopic;
 
@@ -54,6 +60,18 @@ public class KafkaTopicConfig {
                 .build();
     }
 
+    /**
+     * Gateway 텔레메트리 토픽
+     * 요청/응답을 합친 레코드의 배치 (인스턴스 ID 를 key 로 사용)
+     */
+    @Bean
+    public NewTopic gatewayTelemetryTopic() {
+        return TopicBuilder.name(gatewayTelemetryTopic)
+                .partitions(3)
+                .replicas(1)
+                .build();
+    }
+
     /**
      * 인증 이벤트 토픽
      * 로그인, 로그아웃, 인증 실패 등
@@ -80,7 +98,7 @@ public class KafkaTopicConfig {
 
     /**
      * Rate Limit 토픽
-     * Rate Limit 초과 이벤트
+     * 인스턴스 간 Rate Limit 사용량 동기화 (gateway.rate-limit.sync)
      */
     @Bean
     public NewTopic rateLimitTopic() {
@@ -90,6 +108,18 @@ public class KafkaTopicConfig {
                 .build();
     }
 
+    /**
+     * 응답 캐시 무효화 토픽
+     * 서비스 데이터 변경 시 게이트웨이 응답 캐시 무효화 (서비스 ID 를 key 로 사용)
+     */
+    @Bean
+    public NewTopic cacheInvalidationTopic() {
+        return TopicBuilder.name(cacheInvalidationTopic)
+                .partitions(3)
+                .replicas(1)
+                .build();
+    }
+
     /**
      * 에러 로그 토픽
      * Gateway에서 발생한 에러 로그
@@ -0,0 +1,13 @@
+package com.enterprise.gateway.dto;
+
+import java.time.Instant;
+
+/**
+ * 검증된 JWT 의 인증 주체 (토큰당 한 번 파싱해 캐시에 보관하는 불변 값)
+ *
+ * @param username  sub 클레임
+ * @param role      role / roles / authorities 클레임 (없으면 null)
+ * @param expiresAt exp 클레임 (없으면 null)
+ */
+public record JwtPrincipal(String username, String role, Instant expiresAt) {
+}
@@ -25,6 +25,11 @@ public class ApiStatsEvent {
     private double avgResponseTime;
     private long minResponseTime;
     private long maxResponseTime;
+
+    // 응답 시간 분위수 (ms, 히스토그램 근사)
+    private double p50ResponseTime;
+    private double p95ResponseTime;
+    private double p99ResponseTime;
     private LocalDateTime timestamp;
     private String eventType;
     
@@ -0,0 +1,37 @@
+package com.enterprise.gateway.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Gateway 응답 캐시 무효화 이벤트
+ *
+ * 데이터를 소유한 서비스(board-service, product-service 등)나 쓰기 요청을 중계한 게이트웨이가
+ * spring.kafka.topic.cache-invalidation 토픽으로 발행한다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheInvalidationEvent {
+
+    /**
+     * 변경된 서비스 (Eureka 서비스 ID, 예: board-service)
+     */
+    private String serviceName;
+
+    /**
+     * 이 경로로 시작하는 요청의 캐시만 무효화 (게이트웨이 기준 경로, 예: /api/boards/). null 이면 서비스 전체
+     */
+    private String pathPrefix;
+
+    /**
+     * 발행한 게이트웨이 인스턴스 (서비스가 발행하면 null)
+     */
+    private String instanceId;
+
+    private long timestamp;
+    private String eventType;
+}
@@ -0,0 +1,26 @@
+package com.enterprise.gateway.dto.event;
+
+/**
+ * Gateway 요청/응답 텔레메트리 레코드
+ * 기존 GatewayRequestEvent / GatewayResponseEvent 한 쌍을 합친 간략 레코드 (헤더 미포함)
+ *
+ * @param timestamp     요청 시작 시각 (epoch millis)
+ * @param routeId       매칭된 라우트 ID (없으면 null)
+ * @param targetService 라우트 대상 서비스 (lb://board-service → board-service)
+ * @param latencyMicros 필터 진입부터 응답 완료까지 (마이크로초)
+ * @param contentLength 응답 Content-Length (-1 이면 알 수 없음)
+ * @param error         예외 메시지 (정상 응답이면 null)
+ */
+public record GatewayExchangeRecord(
+        long timestamp,
+        String method,
+        String path,
+        String routeId,
+        String targetService,
+        int status,
+        long latencyMicros,
+        long contentLength,
+        String sourceIp,
+        String userId,
+        String error) {
+}
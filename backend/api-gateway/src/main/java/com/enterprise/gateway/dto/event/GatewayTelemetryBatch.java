@@ -0,0 +1,31 @@
+package com.enterprise.gateway.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Gateway 텔레메트리 배치 이벤트
+ * 인스턴스 하나가 한 번에 비운 GatewayExchangeRecord 묶음
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GatewayTelemetryBatch {
+
+    private String instanceId;
+    private long sequence;
+    private List<GatewayExchangeRecord> records;
+
+    // 샘플링 / 유실 정보 (직전 배치 이후 누적)
+    private double sampleRate;
+    private long sampledOut;
+    private long dropped;
+
+    private long timestamp;
+    private String eventType;
+}
@@ -0,0 +1,33 @@
+package com.enterprise.gateway.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Rate Limit 동기화 이벤트
+ * 인스턴스 하나가 직전 발행 이후 허용한 라우트 + 키별 요청 수
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateLimitSyncEvent {
+
+    private String instanceId;
+    private List<Usage> usages;
+    private long timestamp;
+    private String eventType;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Usage {
+        private String routeId;
+        private String key;
+        private long consumed;
+    }
+}
@@ -1,174 +1,122 @@
 package com.enterprise.gateway.filter;
 
-import com.enterprise.gateway.dto.event.GatewayRequestEvent;
-import com.enterprise.gateway.dto.event.GatewayResponseEvent;
+import com.enterprise.gateway.dto.event.GatewayExchangeRecord;
+import com.enterprise.gateway.service.ApiStatsAggregator;
 import com.enterprise.gateway.service.GatewayEventProducer;
+import com.enterprise.gateway.service.GatewayTelemetryBuffer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
 import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.Map;
+import java.net.URI;
 import java.util.UUID;
 
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
 /**
  * Gateway 로깅 필터
- * 모든 요청/응답을 Kafka로 전송
+ * 요청/응답 한 쌍을 ApiStatsAggregator 에 집계하고, 샘플링된 요청은 GatewayExchangeRecord 하나로 만들어
+ * GatewayTelemetryBuffer 에 넣는다.
+ * Kafka 전송은 버퍼의 플러시 스레드가 배치로 처리하므로 이벤트 루프에서는 레코드 생성 비용만 든다.
+ * 예외로 끝난 요청은 기존처럼 에러 로그도 발행한다.
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class GatewayLoggingFilter implements GlobalFilter, Ordered {
 
-    private final GatewayEventProducer eventProducer;
+    public static final String USER_ID_ATTR = "userId";
+
+    /**
+     * 라우트 필터(순서 1..n)보다 먼저 실행해 Rate Limit 거절, 캐시 응답, 인증 실패처럼
+     * 라우트 필터가 직접 끝낸 요청까지 기록한다.
+     */
+    private static final int ORDER = -2;
 
-    private static final String REQUEST_TIME_ATTR = "requestTime";
-    private static final String REQUEST_ID_ATTR = "requestId";
+    private final GatewayTelemetryBuffer telemetryBuffer;
+    private final ApiStatsAggregator statsAggregator;
+    private final GatewayEventProducer eventProducer;
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
-        ServerHttpRequest request = exchange.getRequest();
-
-        // Request ID 생성
-        String requestId = UUID.randomUUID().toString();
-        exchange.getAttributes().put(REQUEST_ID_ATTR, requestId);
+        if (!telemetryBuffer.isEnabled() && !statsAggregator.isEnabled()) {
+            return chain.filter(exchange);
+        }
 
         // 요청 시작 시간 기록
-        long startTime = System.currentTimeMillis();
-        exchange.getAttributes().put(REQUEST_TIME_ATTR, startTime);
+        long timestamp = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
 
-        // 요청 이벤트 발행
-        publishRequestEvent(request, requestId, exchange);
-
-        // 응답 후 이벤트 발행
+        // 응답 후 레코드 기록
         return chain.filter(exchange)
                 .doOnSuccess(aVoid -> {
-                    publishResponseEvent(exchange, requestId, startTime);
+                    recordExchange(exchange, timestamp, startNanos, null);
                 })
                 .doOnError(error -> {
-                    publishErrorEvent(exchange, requestId, startTime, error);
+                    recordExchange(exchange, timestamp, startNanos, error);
+                    publishErrorLog(exchange, error);
                 });
     }
 
     /**
-     * 요청 이벤트 발행
+     * 요청/응답 집계 및 레코드 기록
      */
-    private void publishRequestEvent(ServerHttpRequest request, String requestId, ServerWebExchange exchange) {
+    private void recordExchange(ServerWebExchange exchange, long timestamp, long startNanos, Throwable error) {
         try {
-            // 헤더 추출 (민감 정보 제외)
-            Map<String, String> headers = new HashMap<>();
-            request.getHeaders().forEach((key, values) -> {
-                if (!isSensitiveHeader(key)) {
-                    headers.put(key, String.join(",", values));
-                }
-            });
-
-            // 타겟 서비스 정보 추출
-            String targetService = extractTargetService(exchange);
-            String targetPath = extractTargetPath(exchange);
-
-            GatewayRequestEvent event = GatewayRequestEvent.builder()
-                    .requestId(requestId)
-                    .method(request.getMethod().name())
-                    .path(request.getPath().value())
-                    .queryString(request.getURI().getQuery())
-                    .headers(headers)
-                    .sourceIp(getClientIp(request))
-                    .userAgent(request.getHeaders().getFirst("User-Agent"))
-                    .userId(extractUserId(exchange))
-                    .targetService(targetService)
-                    .targetPath(targetPath)
-                    .timestamp(LocalDateTime.now())
-                    .eventType("GATEWAY_REQUEST")
-                    .build();
-
-            eventProducer.sendRequestEvent(event);
+            long latencyMicros = (System.nanoTime() - startNanos) / 1_000;
+            ServerHttpResponse response = exchange.getResponse();
+            HttpStatusCode statusCode = response.getStatusCode();
+            int status = error != null ? 500 : statusCode != null ? statusCode.value() : 0;
+            ServerHttpRequest request = exchange.getRequest();
+            Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+            String routeId = route != null ? route.getId() : null;
+            String targetService = extractTargetService(route);
 
-        } catch (Exception e) {
-            log.error("Failed to publish request event", e);
-        }
-    }
+            statsAggregator.record(routeId, targetService, request.getMethod(), status, latencyMicros);
 
-    /**
-     * 응답 이벤트 발행
-     */
-    private void publishResponseEvent(ServerWebExchange exchange, String requestId, long startTime) {
-        try {
-            ServerHttpRequest request = exchange.getRequest();
-            ServerHttpResponse response = exchange.getResponse();
-            long responseTime = System.currentTimeMillis() - startTime;
-
-            GatewayResponseEvent event = GatewayResponseEvent.builder()
-                    .requestId(requestId)
-                    .statusCode(response.getStatusCode() != null ? response.getStatusCode().value() : 0)
-                    .statusMessage(response.getStatusCode() != null ? response.getStatusCode().toString() : "UNKNOWN")
-                    .responseTimeMs(responseTime)
-                    .contentLength(response.getHeaders().getContentLength())
-                    .method(request.getMethod().name())
-                    .path(request.getPath().value())
-                    .targetService(extractTargetService(exchange))
-                    .success(response.getStatusCode() != null && response.getStatusCode().is2xxSuccessful())
-                    .timestamp(LocalDateTime.now())
-                    .eventType("GATEWAY_RESPONSE")
-                    .build();
-
-            eventProducer.sendResponseEvent(event);
+            if (!telemetryBuffer.sample(status, error != null)) {
+                return;
+            }
+            telemetryBuffer.record(new GatewayExchangeRecord(
+                    timestamp,
+                    request.getMethod().name(),
+                    request.getPath().value(),
+                    routeId,
+                    targetService,
+                    status,
+                    latencyMicros,
+                    error != null ? -1 : response.getHeaders().getContentLength(),
+                    getClientIp(request),
+                    extractUserId(exchange),
+                    error != null ? error.getMessage() : null));
 
         } catch (Exception e) {
-            log.error("Failed to publish response event", e);
+            log.error("Failed to record gateway telemetry", e);
         }
     }
 
     /**
-     * 에러 이벤트 발행
+     * 에러 로그 발행 (예외로 끝난 요청만)
      */
-    private void publishErrorEvent(ServerWebExchange exchange, String requestId, long startTime, Throwable error) {
+    private void publishErrorLog(ServerWebExchange exchange, Throwable error) {
         try {
-            ServerHttpRequest request = exchange.getRequest();
-            long responseTime = System.currentTimeMillis() - startTime;
-
-            GatewayResponseEvent event = GatewayResponseEvent.builder()
-                    .requestId(requestId)
-                    .statusCode(500)
-                    .statusMessage("INTERNAL_SERVER_ERROR")
-                    .responseTimeMs(responseTime)
-                    .method(request.getMethod().name())
-                    .path(request.getPath().value())
-                    .targetService(extractTargetService(exchange))
-                    .success(false)
-                    .errorMessage(error.getMessage())
-                    .timestamp(LocalDateTime.now())
-                    .eventType("GATEWAY_ERROR")
-                    .build();
-
-            eventProducer.sendResponseEvent(event);
-            eventProducer.sendErrorLog(requestId, request.getPath().value(),
-                    error.getMessage(), (Exception) error);
+            eventProducer.sendErrorLog(UUID.randomUUID().toString(), exchange.getRequest().getPath().value(),
+                    error.getMessage(), error instanceof Exception exception ? exception : null);
 
         } catch (Exception e) {
             log.error("Failed to publish error event", e);
         }
     }
 
-    /**
-     * 민감한 헤더 확인
-     */
-    private boolean isSensitiveHeader(String headerName) {
-        String lowerName = headerName.toLowerCase();
-        return lowerName.contains("authorization") ||
-                lowerName.contains("cookie") ||
-                lowerName.contains("token") ||
-                lowerName.contains("password");
-    }
-
     /**
      * 클라이언트 IP 추출
      */
@@ -185,47 +133,26 @@ public class GatewayLoggingFilter implements GlobalFilter, Ordered {
     }
 
     /**
-     * 사용자 ID 추출 (JWT에서)
+     * 사용자 ID 추출 (JWT 필터가 설정한 속성)
      */
     private String extractUserId(ServerWebExchange exchange) {
-        // JWT 필터에서 설정한 사용자 ID 추출
-        Object userId = exchange.getAttribute("userId");
+        Object userId = exchange.getAttribute(USER_ID_ATTR);
         return userId != null ? userId.toString() : null;
     }
 
     /**
-     * 타겟 서비스 추출
-     */
-    private String extractTargetService(ServerWebExchange exchange) {
-        Object serviceId = exchange
-                .getAttribute("org.springframework.cloud.gateway.support.ServerWebExchangeUtils.gatewayRequestUrl");
-        if (serviceId != null) {
-            String url = serviceId.toString();
-            if (url.startsWith("lb://")) {
-                return url.substring(5).split("/")[0];
-            }
-        }
-        return "unknown";
-    }
-
-    /**
-     * 타겟 경로 추출
+     * 타겟 서비스 추출 (lb://board-service → board-service)
      */
-    private String extractTargetPath(ServerWebExchange exchange) {
-        Object requestUrl = exchange
-                .getAttribute("org.springframework.cloud.gateway.support.ServerWebExchangeUtils.gatewayRequestUrl");
-        if (requestUrl != null) {
-            String url = requestUrl.toString();
-            int pathStart = url.indexOf("/", url.indexOf("://") + 3);
-            if (pathStart > 0) {
-                return url.substring(pathStart);
-            }
+    private String extractTargetService(Route route) {
+        if (route == null) {
+            return "unknown";
         }
-        return exchange.getRequest().getPath().value();
+        URI uri = route.getUri();
+        return uri.getHost() != null ? uri.getHost() : uri.toString();
     }
 
     @Override
     public int getOrder() {
-        return Ordered.LOWEST_PRECEDENCE; // 가장 마지막에 실행
+        return ORDER;
     }
 }
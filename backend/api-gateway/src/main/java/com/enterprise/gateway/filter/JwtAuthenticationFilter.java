@@ -1,6 +1,7 @@
 package com.enterprise.gateway.filter;
 
-import com.enterprise.gateway.util.JwtUtil;
+import com.enterprise.gateway.dto.JwtPrincipal;
+import com.enterprise.gateway.service.JwtVerificationService;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
@@ -16,11 +17,11 @@ import reactor.core.publisher.Mono;
 @Component
 public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAuthenticationFilter.Config> {
 
-    private final JwtUtil jwtUtil;
+    private final JwtVerificationService jwtVerificationService;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
+    public JwtAuthenticationFilter(JwtVerificationService jwtVerificationService) {
         super(Config.class);
-        this.jwtUtil = jwtUtil;
+        this.jwtVerificationService = jwtVerificationService;
     }
 
     @Override
@@ -56,14 +57,15 @@ public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAut
             log.debug("JWT token found: {}...", token.substring(0, Math.min(20, token.length())));
 
             try {
-                // JWT 토큰 검증
-                if (!jwtUtil.validateToken(token)) {
+                // JWT 토큰 검증 (토큰당 한 번 파싱, 검증된 토큰은 캐시)
+                JwtPrincipal principal = jwtVerificationService.verify(token);
+                if (principal == null) {
                     log.warn("Invalid or expired token for: {} {}", method, path);
                     return onError(exchange, "Invalid or expired token", HttpStatus.UNAUTHORIZED);
                 }
 
-                String username = jwtUtil.extractUsername(token);
-                String role = jwtUtil.extractRole(token);  // ⭐ Role 추출
+                String username = principal.username();
+                String role = principal.role();  // ⭐ Role 추출
                 
                 log.info("JWT authentication successful for user: {} (role: {}) on {} {}", 
                         username, role, method, path);
@@ -81,6 +83,9 @@ public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAut
                 
                 ServerHttpRequest modifiedRequest = requestBuilder.build();
 
+                // 로깅 필터(라우트 필터보다 먼저 실행)가 인증된 사용자를 기록할 수 있도록 속성에도 보관
+                exchange.getAttributes().put(GatewayLoggingFilter.USER_ID_ATTR, username);
+
                 return chain.filter(exchange.mutate().request(modifiedRequest).build());
                 
             } catch (Exception e) {
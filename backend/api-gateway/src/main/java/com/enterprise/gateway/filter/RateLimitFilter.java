@@ -0,0 +1,117 @@
+package com.enterprise.gateway.filter;
+
+import com.enterprise.gateway.config.GatewayRateLimitProperties.KeyType;
+import com.enterprise.gateway.dto.JwtPrincipal;
+import com.enterprise.gateway.service.JwtVerificationService;
+import com.enterprise.gateway.service.RateLimiterService;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+
+import java.net.InetSocketAddress;
+
+/**
+ * 라우트별 요청 제한 필터
+ *
+ * gateway.rate-limit.routes 에 설정된 라우트만 제한하며, 한도를 넘으면 429 와 Retry-After(초)를 돌려준다.
+ * JWT 필터보다 먼저 실행되므로 USER 키는 Authorization 토큰을 직접 확인(검증 캐시 사용)하고,
+ * 토큰이 없거나 유효하지 않으면 IP 로 제한한다.
+ */
+@Slf4j
+@Component
+public class RateLimitFilter extends AbstractGatewayFilterFactory<RateLimitFilter.Config> {
+
+    private static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    private static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    private final RateLimiterService rateLimiterService;
+    private final JwtVerificationService jwtVerificationService;
+
+    public RateLimitFilter(RateLimiterService rateLimiterService, JwtVerificationService jwtVerificationService) {
+        super(Config.class);
+        this.rateLimiterService = rateLimiterService;
+        this.jwtVerificationService = jwtVerificationService;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        RateLimiterService.RouteLimiter limiter = rateLimiterService.limiter(config.getRouteId());
+        if (limiter == null) {
+            // 제한 설정이 없는 라우트
+            return (exchange, chain) -> chain.filter(exchange);
+        }
+        String limitValue = String.valueOf(limiter.getBurstCapacity());
+
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            RateLimiterService.Decision decision = limiter.tryAcquire(resolveKey(limiter.getKeyType(), request));
+
+            ServerHttpResponse response = exchange.getResponse();
+            response.getHeaders().set(LIMIT_HEADER, limitValue);
+            response.getHeaders().set(REMAINING_HEADER, String.valueOf(decision.remaining()));
+            if (decision.allowed()) {
+                return chain.filter(exchange);
+            }
+
+            log.debug("Rate limit exceeded: route={}, {} {}", config.getRouteId(),
+                    request.getMethod().name(), request.getPath().value());
+            response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(decision.retryAfterSeconds()));
+            response.getHeaders().add("X-Error-Message", "Rate limit exceeded");
+            return response.setComplete();
+        };
+    }
+
+    /**
+     * 버킷 키 (ROUTE 는 라우트 전체가 공유하므로 키가 필요 없음)
+     */
+    private String resolveKey(KeyType keyType, ServerHttpRequest request) {
+        return switch (keyType) {
+            case ROUTE -> null;
+            case IP -> clientIp(request);
+            case USER -> {
+                String username = username(request);
+                yield username != null ? "user:" + username : "ip:" + clientIp(request);
+            }
+        };
+    }
+
+    private String username(ServerHttpRequest request) {
+        String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return null;
+        }
+        JwtPrincipal principal = jwtVerificationService.verify(authHeader.substring(7));
+        return principal != null ? principal.username() : null;
+    }
+
+    private String clientIp(ServerHttpRequest request) {
+        if (rateLimiterService.isTrustForwardedFor()) {
+            String forwarded = request.getHeaders().getFirst("X-Forwarded-For");
+            if (forwarded != null && !forwarded.isEmpty()) {
+                int comma = forwarded.indexOf(',');
+                return (comma >= 0 ? forwarded.substring(0, comma) : forwarded).trim();
+            }
+        }
+        InetSocketAddress remote = request.getRemoteAddress();
+        return remote != null && remote.getAddress() != null ? remote.getAddress().getHostAddress() : "unknown";
+    }
+
+    @Data
+    public static class Config {
+        private String routeId;  // gateway.rate-limit.routes 의 키
+
+        public Config() {
+        }
+
+        public Config(String routeId) {
+            this.routeId = routeId;
+        }
+    }
+}
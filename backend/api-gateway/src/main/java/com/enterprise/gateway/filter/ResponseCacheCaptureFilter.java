@@ -0,0 +1,148 @@
+package com.enterprise.gateway.filter;
+
+import com.enterprise.gateway.config.GatewayRouteProperties.RouteCacheConfig;
+import com.enterprise.gateway.service.ResponseCacheService;
+import lombok.RequiredArgsConstructor;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * 응답 캐시 저장 필터
+ *
+ * NettyWriteResponseFilter 는 자신이 받은 exchange 의 응답으로 본문을 쓰므로, 본문을 복사하는 데코레이터는
+ * 그보다 먼저(순서 -2) 씌워야 한다. 캐시 조회는 인증 뒤에 해야 하므로 ResponseCacheFilter(라우트 필터)가 맡고,
+ * 이 필터는 캐시 라우트의 GET 응답만 감싸 두었다가 ResponseCacheFilter 가 남긴 FILL_ATTR 이 있을 때만 저장한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResponseCacheCaptureFilter implements GlobalFilter, Ordered {
+
+    public static final String FILL_ATTR = ResponseCacheCaptureFilter.class.getName() + ".fill";
+
+    private final ResponseCacheService cacheService;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!HttpMethod.GET.equals(exchange.getRequest().getMethod())) {
+            return chain.filter(exchange);
+        }
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        if (route == null || !cacheService.isCachedRoute(route.getId())) {
+            return chain.filter(exchange);
+        }
+        return chain.filter(exchange.mutate().response(new CachingResponse(exchange)).build());
+    }
+
+    @Override
+    public int getOrder() {
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+    }
+
+    /**
+     * 캐시 미스 시 ResponseCacheFilter 가 남기는 저장 정보
+     *
+     * @param generation 요청 시작 시점의 서비스 세대
+     */
+    public record Fill(String key, String serviceName, String path, long generation, RouteCacheConfig routeConfig) {
+    }
+
+    /**
+     * 서비스 응답을 그대로 전달하면서 캐시 가능한 본문을 복사해 두었다가 완료 시 저장
+     */
+    private final class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final ServerWebExchange exchange;
+
+        CachingResponse(ServerWebExchange exchange) {
+            super(exchange.getResponse());
+            this.exchange = exchange;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            Fill fill = exchange.getAttribute(FILL_ATTR);
+            if (fill == null || !isCacheable()) {
+                return super.writeWith(body);
+            }
+            BodyCopy copy = new BodyCopy(cacheService.getMaxBodyBytes());
+            Flux<? extends DataBuffer> tee = Flux.from(body)
+                    .doOnNext(copy::append)
+                    .doOnComplete(() -> {
+                        byte[] bytes = copy.bytes();
+                        if (bytes != null) {
+                            cacheService.put(fill.key(), fill.serviceName(), fill.path(), fill.generation(),
+                                    fill.routeConfig(), getHeaders(), bytes);
+                        }
+                    });
+            return super.writeWith(tee);
+        }
+
+        private boolean isCacheable() {
+            HttpStatusCode status = getStatusCode();
+            if (status == null || status.value() != HttpStatus.OK.value()) {
+                return false;
+            }
+            HttpHeaders headers = getHeaders();
+            if (headers.containsKey(HttpHeaders.SET_COOKIE)) {
+                return false;
+            }
+            String cacheControl = headers.getCacheControl();
+            if (cacheControl != null && (cacheControl.contains("no-store") || cacheControl.contains("private"))) {
+                return false;
+            }
+            long contentLength = headers.getContentLength();
+            return contentLength <= cacheService.getMaxBodyBytes();
+        }
+    }
+
+    /**
+     * 본문 복사본 (max 를 넘으면 복사 중단)
+     */
+    private static final class BodyCopy {
+
+        private final int max;
+        private ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        BodyCopy(int max) {
+            this.max = max;
+        }
+
+        void append(DataBuffer buffer) {
+            if (out == null) {
+                return;
+            }
+            int length = buffer.readableByteCount();
+            if (out.size() + length > max) {
+                out = null;
+                return;
+            }
+            byte[] bytes = new byte[length];
+            buffer.toByteBuffer(buffer.readPosition(), ByteBuffer.wrap(bytes), 0, length);
+            out.write(bytes, 0, length);
+        }
+
+        byte[] bytes() {
+            return out != null ? out.toByteArray() : null;
+        }
+    }
+}
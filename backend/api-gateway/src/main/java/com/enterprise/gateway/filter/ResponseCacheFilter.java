@@ -0,0 +1,152 @@
+package com.enterprise.gateway.filter;
+
+import com.enterprise.gateway.config.GatewayRouteProperties.RouteCacheConfig;
+import com.enterprise.gateway.service.ResponseCacheService;
+import com.enterprise.gateway.service.ResponseCacheService.CachedResponse;
+import com.enterprise.gateway.service.ResponseCacheService.RequestCounters;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * 응답 캐시 필터
+ *
+ * gateway.routes.response-cache.routes 에 있는 라우트의 GET 요청은 캐시에서 바로 응답하고
+ * (If-None-Match 가 ETag 와 같으면 304), 없으면 ResponseCacheCaptureFilter 가 서비스 응답(200)을 저장하도록 표시한다.
+ * 캐시 라우트가 있는 서비스로 가는 쓰기 요청이 성공하면 해당 서비스의 캐시를 무효화한다.
+ */
+@Slf4j
+@Component
+public class ResponseCacheFilter extends AbstractGatewayFilterFactory<ResponseCacheFilter.Config> {
+
+    private static final String CACHE_HEADER = "X-Cache";
+
+    private final ResponseCacheService cacheService;
+
+    public ResponseCacheFilter(ResponseCacheService cacheService) {
+        super(Config.class);
+        this.cacheService = cacheService;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        String serviceName = ResponseCacheService.serviceName(config.getServiceUri());
+        RouteCacheConfig routeConfig = cacheService.register(config.getRouteId(), config.getServiceUri());
+        RequestCounters counters = routeConfig != null ? cacheService.requestCounters(config.getRouteId()) : null;
+
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            HttpMethod method = request.getMethod();
+
+            if (routeConfig != null && HttpMethod.GET.equals(method)) {
+                if (!routeConfig.isShareAuthenticated() && request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)) {
+                    counters.bypass().increment();
+                    return chain.filter(exchange);
+                }
+                String key = cacheKey(config.getRouteId(), request);
+                CachedResponse cached = cacheService.get(key);
+                if (cached != null) {
+                    return writeCached(exchange, cached, counters);
+                }
+                counters.miss().increment();
+                long generation = cacheService.generation(serviceName);
+                exchange.getResponse().getHeaders().set(CACHE_HEADER, "MISS");
+                exchange.getAttributes().put(ResponseCacheCaptureFilter.FILL_ATTR, new ResponseCacheCaptureFilter.Fill(
+                        key, serviceName, request.getPath().value(), generation, routeConfig));
+                return chain.filter(exchange);
+            }
+
+            if (isWrite(method) && cacheService.isCachedService(serviceName)) {
+                return chain.filter(exchange).doOnSuccess(aVoid -> {
+                    HttpStatusCode status = exchange.getResponse().getStatusCode();
+                    if (status != null && status.is2xxSuccessful()) {
+                        cacheService.invalidateOnWrite(serviceName, request.getPath().value());
+                    }
+                });
+            }
+            return chain.filter(exchange);
+        };
+    }
+
+    /**
+     * 캐시된 응답 전송 (If-None-Match 일치 시 본문 없이 304)
+     */
+    private Mono<Void> writeCached(ServerWebExchange exchange, CachedResponse cached, RequestCounters counters) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.putAll(cached.headers());
+        headers.set(CACHE_HEADER, "HIT");
+        headers.set(HttpHeaders.AGE, String.valueOf(cached.ageSeconds()));
+
+        if (etagMatches(exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH), cached.etag())) {
+            counters.notModified().increment();
+            headers.remove(HttpHeaders.CONTENT_TYPE);
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+
+        counters.hit().increment();
+        response.setStatusCode(HttpStatus.OK);
+        headers.setContentLength(cached.body().length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(cached.body())));
+    }
+
+    /**
+     * 라우트 + 경로 + 쿼리 + 응답 형식에 영향을 주는 요청 헤더
+     */
+    private static String cacheKey(String routeId, ServerHttpRequest request) {
+        HttpHeaders headers = request.getHeaders();
+        String query = request.getURI().getRawQuery();
+        String accept = headers.getFirst(HttpHeaders.ACCEPT);
+        String acceptEncoding = headers.getFirst(HttpHeaders.ACCEPT_ENCODING);
+        return routeId + ' ' + request.getPath().value()
+                + (query != null ? "?" + query : "")
+                + '|' + (accept != null ? accept : "")
+                + '|' + (acceptEncoding != null ? acceptEncoding : "");
+    }
+
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isWrite(HttpMethod method) {
+        return HttpMethod.POST.equals(method) || HttpMethod.PUT.equals(method)
+                || HttpMethod.PATCH.equals(method) || HttpMethod.DELETE.equals(method);
+    }
+
+    @Data
+    public static class Config {
+        private String routeId;
+        private String serviceUri;  // lb://board-service (쓰기 무효화 대상 서비스 판별)
+
+        public Config() {
+        }
+
+        public Config(String routeId, String serviceUri) {
+            this.routeId = routeId;
+            this.serviceUri = serviceUri;
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package com.enterprise.gateway.service;
+
+import com.enterprise.gateway.config.GatewayStatsProperties;
+import com.enterprise.gateway.dto.event.ApiStatsEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * API 통계 집계
+ *
+ * 요청 처리 스레드는 현재 시간 구간의 라우트 + 메서드별 누적기(LongAdder 카운터, LatencyHistogram)만 갱신한다.
+ * 집계 스레드가 check-interval 마다 시간 경계를 확인해 구간을 새 누적기로 교체하고,
+ * 교체된 구간은 다음 확인 때 (늦게 도착한 기록까지 반영해) HOURLY ApiStatsEvent 로 발행한 뒤 일 단위 집계에 합친다.
+ * 날짜가 바뀌면 DAILY ApiStatsEvent 를 발행한다. 종료 시에는 진행 중인 구간을 periodEnd = 종료 시각으로 발행한다.
+ *
+ * endpoint 는 라우트 ID 이며, 인스턴스별 집계이므로 여러 인스턴스의 같은 구간은 소비 측에서 합산한다.
+ * 성공은 status < 400 기준이다.
+ *
+ * 메트릭:
+ * - gateway.stats.events{period=HOURLY|DAILY}
+ */
+@Slf4j
+@Service
+public class ApiStatsAggregator {
+
+    static final String HOURLY = "HOURLY";
+    static final String DAILY = "DAILY";
+    private static final String EVENT_TYPE = "API_STATS";
+    private static final String UNMATCHED_ROUTE = "unmatched";
+
+    private final GatewayStatsProperties properties;
+    private final GatewayEventProducer eventProducer;
+    private final Clock clock;
+    private final ScheduledExecutorService roller;
+
+    private final Counter hourlyCounter;
+    private final Counter dailyCounter;
+
+    // 요청 처리 스레드가 기록하는 현재 구간
+    private volatile Map<String, RouteStats> current = new ConcurrentHashMap<>();
+    private LocalDateTime currentStart;
+
+    // 이하 집계 스레드 전용
+    private final List<RetiredWindow> retired = new ArrayList<>();
+    private final Map<StatsKey, Snapshot> daily = new HashMap<>();
+    private LocalDateTime dailyStart;
+
+    @Autowired
+    public ApiStatsAggregator(GatewayStatsProperties properties,
+                              GatewayEventProducer eventProducer,
+                              MeterRegistry meterRegistry) {
+        this(properties, eventProducer, meterRegistry, Clock.systemDefaultZone());
+    }
+
+    ApiStatsAggregator(GatewayStatsProperties properties,
+                       GatewayEventProducer eventProducer,
+                       MeterRegistry meterRegistry,
+                       Clock clock) {
+        this.properties = properties;
+        this.eventProducer = eventProducer;
+        this.clock = clock;
+        this.roller = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "gateway-stats-roller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.hourlyCounter = eventCounter(meterRegistry, HOURLY);
+        this.dailyCounter = eventCounter(meterRegistry, DAILY);
+
+        LocalDateTime now = LocalDateTime.now(clock);
+        this.currentStart = now.truncatedTo(ChronoUnit.HOURS);
+        this.dailyStart = now.truncatedTo(ChronoUnit.DAYS);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            log.info("API stats aggregation disabled");
+            return;
+        }
+        long interval = properties.getCheckInterval().toMillis();
+        roller.scheduleWithFixedDelay(this::rollSafely, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("API stats aggregation started - checkInterval: {}", properties.getCheckInterval());
+    }
+
+    @PreDestroy
+    public void stop() {
+        roller.shutdown();
+        try {
+            if (!roller.awaitTermination(5, TimeUnit.SECONDS)) {
+                roller.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (properties.isEnabled()) {
+            try {
+                flushPartial();
+            } catch (Exception e) {
+                log.error("Failed to flush API stats on shutdown", e);
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * 요청 하나 기록
+     *
+     * @param routeId     매칭된 라우트 ID (없으면 null)
+     * @param serviceName 라우트 대상 서비스
+     */
+    public void record(String routeId, String serviceName, HttpMethod method, int status, long latencyMicros) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        String key = routeId != null ? routeId : UNMATCHED_ROUTE;
+        Map<String, RouteStats> window = current;
+        RouteStats stats = window.get(key);
+        if (stats == null) {
+            stats = window.computeIfAbsent(key, k -> new RouteStats(serviceName));
+        }
+        stats.accumulator(method).record(status, latencyMicros);
+    }
+
+    /**
+     * 시간 경계 확인 및 지난 구간 발행 (집계 스레드)
+     */
+    synchronized void roll() {
+        // 직전 확인에서 교체한 구간 발행
+        emitRetired();
+
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDateTime hour = now.truncatedTo(ChronoUnit.HOURS);
+        if (!hour.equals(currentStart)) {
+            retired.add(new RetiredWindow(current, currentStart, currentStart.plusHours(1)));
+            current = new ConcurrentHashMap<>();
+            currentStart = hour;
+        }
+    }
+
+    /**
+     * 진행 중인 구간까지 모두 발행 (종료 시)
+     */
+    synchronized void flushPartial() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        retired.add(new RetiredWindow(current, currentStart, now));
+        current = new ConcurrentHashMap<>();
+        currentStart = now.truncatedTo(ChronoUnit.HOURS);
+        emitRetired();
+        emitDaily(now);
+    }
+
+    private void emitRetired() {
+        for (RetiredWindow window : retired) {
+            LocalDateTime day = window.start().truncatedTo(ChronoUnit.DAYS);
+            if (!day.equals(dailyStart)) {
+                emitDaily(dailyStart.plusDays(1));
+                dailyStart = day;
+            }
+            window.stats().forEach((routeId, route) -> route.accumulators.forEach((method, accumulator) -> {
+                Snapshot snapshot = accumulator.snapshot();
+                if (snapshot.total() == 0) {
+                    return;
+                }
+                StatsKey key = new StatsKey(route.serviceName, routeId, method.name());
+                emit(key, snapshot, HOURLY, window.start(), window.end());
+                daily.merge(key, snapshot, Snapshot::merge);
+            }));
+            // 자정 직전 구간이면 날짜 경계에서 일 단위 발행
+            if (!window.end().truncatedTo(ChronoUnit.DAYS).equals(dailyStart)) {
+                emitDaily(dailyStart.plusDays(1));
+                dailyStart = window.end().truncatedTo(ChronoUnit.DAYS);
+            }
+        }
+        retired.clear();
+    }
+
+    private void emitDaily(LocalDateTime end) {
+        daily.forEach((key, snapshot) -> emit(key, snapshot, DAILY, dailyStart, end));
+        daily.clear();
+    }
+
+    private void emit(StatsKey key, Snapshot snapshot, String period, LocalDateTime start, LocalDateTime end) {
+        ApiStatsEvent event = ApiStatsEvent.builder()
+                .serviceName(key.serviceName())
+                .endpoint(key.endpoint())
+                .method(key.method())
+                .totalRequests(snapshot.total())
+                .successRequests(snapshot.success())
+                .failedRequests(snapshot.failed())
+                .avgResponseTime(snapshot.sumMicros() / (double) snapshot.total() / 1_000.0)
+                .minResponseTime(snapshot.minMicros() / 1_000)
+                .maxResponseTime(snapshot.maxMicros() / 1_000)
+                .p50ResponseTime(LatencyHistogram.percentile(snapshot.histogram(), 0.50) / 1_000.0)
+                .p95ResponseTime(LatencyHistogram.percentile(snapshot.histogram(), 0.95) / 1_000.0)
+                .p99ResponseTime(LatencyHistogram.percentile(snapshot.histogram(), 0.99) / 1_000.0)
+                .period(period)
+                .periodStart(start)
+                .periodEnd(end)
+                .timestamp(LocalDateTime.now(clock))
+                .eventType(EVENT_TYPE)
+                .build();
+        eventProducer.sendApiStatsEvent(event);
+        (HOURLY.equals(period) ? hourlyCounter : dailyCounter).increment();
+    }
+
+    private void rollSafely() {
+        try {
+            roll();
+        } catch (Exception e) {
+            // 발행 실패로 집계 스케줄이 멈추지 않도록 함
+            log.error("Failed to roll API stats", e);
+        }
+    }
+
+    private static Counter eventCounter(MeterRegistry registry, String period) {
+        return Counter.builder("gateway.stats.events")
+                .description("ApiStatsEvent windows published")
+                .tag("period", period)
+                .register(registry);
+    }
+
+    /**
+     * 라우트별 메서드 누적기
+     */
+    private static final class RouteStats {
+
+        private final String serviceName;
+        private final Map<HttpMethod, Accumulator> accumulators = new ConcurrentHashMap<>();
+
+        RouteStats(String serviceName) {
+            this.serviceName = serviceName;
+        }
+
+        Accumulator accumulator(HttpMethod method) {
+            Accumulator accumulator = accumulators.get(method);
+            return accumulator != null ? accumulator : accumulators.computeIfAbsent(method, m -> new Accumulator());
+        }
+    }
+
+    /**
+     * 구간 하나의 라우트 + 메서드 누적기 (요청 처리 스레드가 동시에 갱신)
+     */
+    private static final class Accumulator {
+
+        private final LongAdder success = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder sumMicros = new LongAdder();
+        private final LongAccumulator minMicros = new LongAccumulator(Math::min, Long.MAX_VALUE);
+        private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+        private final LatencyHistogram histogram = new LatencyHistogram();
+
+        void record(int status, long latencyMicros) {
+            (status < 400 ? success : failed).increment();
+            sumMicros.add(latencyMicros);
+            minMicros.accumulate(latencyMicros);
+            maxMicros.accumulate(latencyMicros);
+            histogram.record(latencyMicros);
+        }
+
+        Snapshot snapshot() {
+            return new Snapshot(success.sum(), failed.sum(), sumMicros.sum(),
+                    minMicros.get(), maxMicros.get(), histogram.counts());
+        }
+    }
+
+    /**
+     * 발행용 값 (집계 스레드 전용, 일 단위로 합침)
+     */
+    private record Snapshot(long success, long failed, long sumMicros, long minMicros, long maxMicros,
+                            long[] histogram) {
+
+        long total() {
+            return success + failed;
+        }
+
+        Snapshot merge(Snapshot other) {
+            long[] merged = histogram.clone();
+            LatencyHistogram.merge(merged, other.histogram);
+            return new Snapshot(success + other.success, failed + other.failed, sumMicros + other.sumMicros,
+                    Math.min(minMicros, other.minMicros), Math.max(maxMicros, other.maxMicros), merged);
+        }
+    }
+
+    private record StatsKey(String serviceName, String endpoint, String method) {
+    }
+
+    private record RetiredWindow(Map<String, RouteStats> stats, LocalDateTime start, LocalDateTime end) {
+    }
+}
@@ -35,6 +35,15 @@ public class GatewayEventProducer {
     @Value("${spring.kafka.topic.error-log:gateway.error.log}")
     private String errorLogTopic;
 
+    @Value("${spring.kafka.topic.gateway-telemetry:gateway.telemetry}")
+    private String gatewayTelemetryTopic;
+
+    @Value("${spring.kafka.topic.rate-limit:gateway.rate.limit}")
+    private String rateLimitTopic;
+
+    @Value("${spring.kafka.topic.cache-invalidation:gateway.cache.invalidate}")
+    private String cacheInvalidationTopic;
+
     /**
      * Gateway 요청 이벤트 발행
      */
@@ -71,6 +80,58 @@ public class GatewayEventProducer {
         });
     }
 
+    /**
+     * Gateway 텔레메트리 배치 발행 (GatewayTelemetryBuffer 플러시 스레드에서 호출)
+     */
+    public CompletableFuture<SendResult<String, Object>> sendTelemetryBatch(GatewayTelemetryBatch batch) {
+        CompletableFuture<SendResult<String, Object>> future =
+            kafkaTemplate.send(gatewayTelemetryTopic, batch.getInstanceId(), batch);
+
+        future.whenComplete((result, ex) -> {
+            if (ex == null) {
+                log.debug("Telemetry batch sent: instance={}, sequence={}, records={}",
+                    batch.getInstanceId(), batch.getSequence(), batch.getRecords().size());
+            } else {
+                log.error("Failed to send telemetry batch: instance={}, sequence={}, records={}",
+                    batch.getInstanceId(), batch.getSequence(), batch.getRecords().size(), ex);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Rate Limit 사용량 동기화 이벤트 발행
+     */
+    public void sendRateLimitSyncEvent(RateLimitSyncEvent event) {
+        CompletableFuture<SendResult<String, Object>> future =
+            kafkaTemplate.send(rateLimitTopic, event.getInstanceId(), event);
+
+        future.whenComplete((result, ex) -> {
+            if (ex == null) {
+                log.debug("Rate limit sync event sent: instance={}, keys={}",
+                    event.getInstanceId(), event.getUsages().size());
+            } else {
+                log.error("Failed to send rate limit sync event: instance={}", event.getInstanceId(), ex);
+            }
+        });
+    }
+
+    /**
+     * 응답 캐시 무효화 이벤트 발행
+     */
+    public void sendCacheInvalidationEvent(CacheInvalidationEvent event) {
+        CompletableFuture<SendResult<String, Object>> future =
+            kafkaTemplate.send(cacheInvalidationTopic, event.getServiceName(), event);
+
+        future.whenComplete((result, ex) -> {
+            if (ex == null) {
+                log.debug("Cache invalidation event sent: service={}", event.getServiceName());
+            } else {
+                log.error("Failed to send cache invalidation event: service={}", event.getServiceName(), ex);
+            }
+        });
+    }
+
     /**
      * 인증 이벤트 발행
      */
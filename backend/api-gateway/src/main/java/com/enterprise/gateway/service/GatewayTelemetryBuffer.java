@@ -0,0 +1,253 @@
+package com.enterprise.gateway.service;
+
+import com.enterprise.gateway.config.GatewayTelemetryProperties;
+import com.enterprise.gateway.dto.event.GatewayExchangeRecord;
+import com.enterprise.gateway.dto.event.GatewayTelemetryBatch;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Gateway 텔레메트리 버퍼
+ *
+ * 요청 처리 스레드(Netty 이벤트 루프)는 스레드별 스트라이프에 레코드를 넣기만 하고 (락 없음, 가득 차면 버림),
+ * 전용 플러시 스레드가 flush-interval 마다 모든 스트라이프를 비워 batch-size 단위의 GatewayTelemetryBatch 로
+ * Kafka 에 발행한다. 직렬화와 Kafka 전송은 이벤트 루프 밖에서만 일어난다.
+ *
+ * 메트릭:
+ * - gateway.telemetry.records{result=buffered|dropped|sampled_out}
+ * - gateway.telemetry.batches{result=sent|failed}
+ * - gateway.telemetry.buffer.depth
+ */
+@Slf4j
+@Service
+public class GatewayTelemetryBuffer {
+
+    private static final String EVENT_TYPE = "GATEWAY_TELEMETRY";
+
+    private final GatewayTelemetryProperties properties;
+    private final GatewayEventProducer eventProducer;
+    private final String instanceId;
+
+    private final TelemetryStripe<GatewayExchangeRecord>[] stripes;
+    private final int stripeMask;
+    private final ScheduledExecutorService flusher;
+
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder sampledOut = new LongAdder();
+    private long sequence;
+
+    private final Counter bufferedCounter;
+    private final Counter droppedCounter;
+    private final Counter sampledOutCounter;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+
+    @SuppressWarnings("unchecked")
+    public GatewayTelemetryBuffer(GatewayTelemetryProperties properties,
+                                  GatewayEventProducer eventProducer,
+                                  @Value("${spring.application.name:api-gateway}:${spring.cloud.client.ip-address:unknown}:${server.port:8080}")
+                                  String instanceId,
+                                  MeterRegistry meterRegistry) {
+        if (properties.getSampleRate() < 0 || properties.getSampleRate() > 1) {
+            throw new IllegalArgumentException("gateway.telemetry.sample-rate must be between 0 and 1");
+        }
+        if (properties.getBatchSize() <= 0) {
+            throw new IllegalArgumentException("gateway.telemetry.batch-size must be positive");
+        }
+        this.properties = properties;
+        this.eventProducer = eventProducer;
+        this.instanceId = instanceId;
+
+        int stripeCount = powerOfTwo(properties.getStripes() > 0
+                ? properties.getStripes() : Runtime.getRuntime().availableProcessors());
+        int capacity = powerOfTwo(Math.max(2, properties.getStripeCapacity()));
+        this.stripes = new TelemetryStripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new TelemetryStripe<>(capacity);
+        }
+        this.stripeMask = stripeCount - 1;
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "gateway-telemetry-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.bufferedCounter = recordCounter(meterRegistry, "buffered");
+        this.droppedCounter = recordCounter(meterRegistry, "dropped");
+        this.sampledOutCounter = recordCounter(meterRegistry, "sampled_out");
+        this.sentCounter = batchCounter(meterRegistry, "sent");
+        this.failedCounter = batchCounter(meterRegistry, "failed");
+        Gauge.builder("gateway.telemetry.buffer.depth", this, GatewayTelemetryBuffer::depth)
+                .description("Telemetry records waiting to be flushed")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            log.info("Gateway telemetry disabled");
+            return;
+        }
+        long interval = properties.getFlushInterval().toMillis();
+        flusher.scheduleWithFixedDelay(this::flushSafely, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("Gateway telemetry started - stripes: {}, batchSize: {}, flushInterval: {}, sampleRate: {}",
+                stripes.length, properties.getBatchSize(), properties.getFlushInterval(), properties.getSampleRate());
+    }
+
+    @PreDestroy
+    public void stop() {
+        flusher.shutdown();
+        try {
+            if (!flusher.awaitTermination(5, TimeUnit.SECONDS)) {
+                flusher.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // 남은 레코드 마지막 발행
+        flushSafely();
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * 이 응답을 기록할지 결정 (레코드를 만들기 전에 호출)
+     */
+    public boolean sample(int status, boolean error) {
+        if (!properties.isEnabled()) {
+            return false;
+        }
+        if ((error || status >= 500) && properties.isAlwaysSampleErrors()) {
+            return true;
+        }
+        double rate = properties.getSampleRate();
+        if (rate >= 1.0 || ThreadLocalRandom.current().nextDouble() < rate) {
+            return true;
+        }
+        sampledOut.increment();
+        sampledOutCounter.increment();
+        return false;
+    }
+
+    /**
+     * 호출 스레드의 스트라이프에 레코드 추가 (가득 차면 버림)
+     */
+    public void record(GatewayExchangeRecord record) {
+        int index = (int) Thread.currentThread().threadId() & stripeMask;
+        if (stripes[index].offer(record)) {
+            bufferedCounter.increment();
+        } else {
+            dropped.increment();
+            droppedCounter.increment();
+        }
+    }
+
+    /**
+     * 버퍼를 모두 비워 발행 (플러시 스레드 또는 종료 시에만 호출)
+     *
+     * @return 발행한 레코드 수
+     */
+    synchronized int flush() {
+        int total = 0;
+        int batchSize = properties.getBatchSize();
+        while (true) {
+            List<GatewayExchangeRecord> records = new ArrayList<>(Math.min(batchSize, depth() + 1));
+            // 스트라이프를 돌아가며 공평하게 채움
+            boolean progressed = true;
+            while (records.size() < batchSize && progressed) {
+                progressed = false;
+                int share = Math.max(1, (batchSize - records.size()) / stripes.length);
+                for (TelemetryStripe<GatewayExchangeRecord> stripe : stripes) {
+                    int remaining = batchSize - records.size();
+                    if (remaining == 0) {
+                        break;
+                    }
+                    if (stripe.drainTo(records, Math.min(share, remaining)) > 0) {
+                        progressed = true;
+                    }
+                }
+            }
+            if (records.isEmpty()) {
+                return total;
+            }
+            send(records);
+            total += records.size();
+            if (records.size() < batchSize) {
+                return total;
+            }
+        }
+    }
+
+    private void send(List<GatewayExchangeRecord> records) {
+        GatewayTelemetryBatch batch = GatewayTelemetryBatch.builder()
+                .instanceId(instanceId)
+                .sequence(sequence++)
+                .records(records)
+                .sampleRate(properties.getSampleRate())
+                .sampledOut(sampledOut.sumThenReset())
+                .dropped(dropped.sumThenReset())
+                .timestamp(System.currentTimeMillis())
+                .eventType(EVENT_TYPE)
+                .build();
+
+        eventProducer.sendTelemetryBatch(batch).whenComplete((result, ex) -> {
+            if (ex == null) {
+                sentCounter.increment();
+            } else {
+                failedCounter.increment();
+            }
+        });
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            // 발행 실패로 플러시 스케줄이 멈추지 않도록 함
+            log.error("Failed to flush gateway telemetry", e);
+        }
+    }
+
+    int depth() {
+        int depth = 0;
+        for (TelemetryStripe<GatewayExchangeRecord> stripe : stripes) {
+            depth += stripe.size();
+        }
+        return depth;
+    }
+
+    private static int powerOfTwo(int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+
+    private static Counter recordCounter(MeterRegistry registry, String result) {
+        return Counter.builder("gateway.telemetry.records")
+                .description("Gateway telemetry records by outcome")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static Counter batchCounter(MeterRegistry registry, String result) {
+        return Counter.builder("gateway.telemetry.batches")
+                .description("Gateway telemetry batches published to Kafka")
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -0,0 +1,186 @@
+package com.enterprise.gateway.service;
+
+import com.enterprise.gateway.dto.JwtPrincipal;
+import com.enterprise.gateway.util.JwtUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT 검증 서비스
+ *
+ * 토큰을 한 번만 서명 검증/파싱해 JwtPrincipal 로 만들고, 검증된 토큰은 만료 시각까지(최대 jwt.cache.max-ttl)
+ * 크기 제한 캐시에 보관한다. 같은 세션의 반복 요청은 HMAC 검증과 JSON 파싱 없이 캐시에서 바로 처리된다.
+ *
+ * 캐시 키는 프로세스별 임의 seed 를 쓴 64비트 토큰 해시이며, 충돌 시 다른 토큰의 주체를 돌려주지 않도록
+ * 값에 원본 토큰을 함께 두고 일치할 때만 사용한다 (불일치는 캐시 미스로 처리).
+ * 검증에 실패한 토큰은 캐시하지 않는다.
+ *
+ * 메트릭:
+ * - gateway.jwt.verifications{result=cached|verified|rejected}
+ * - gateway.jwt.cache.size
+ */
+@Slf4j
+@Service
+public class JwtVerificationService {
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final JwtUtil jwtUtil;
+    private final long maxTtlNanos;
+    private final Clock clock;
+    private final long seed = ThreadLocalRandom.current().nextLong();
+    private final Cache<Long, CachedToken> cache;
+
+    private final Counter cachedCounter;
+    private final Counter verifiedCounter;
+    private final Counter rejectedCounter;
+
+    @Autowired
+    public JwtVerificationService(JwtUtil jwtUtil,
+                                  @Value("${jwt.cache.max-size:100000}") long maxSize,
+                                  @Value("${jwt.cache.max-ttl:10m}") Duration maxTtl,
+                                  MeterRegistry meterRegistry) {
+        this(jwtUtil, maxSize, maxTtl, meterRegistry, Clock.systemUTC(), Ticker.systemTicker());
+    }
+
+    /**
+     * @param clock  토큰 exp 비교 기준
+     * @param ticker 캐시 만료 기준 (clock 과 같은 속도로 흘러야 함)
+     */
+    JwtVerificationService(JwtUtil jwtUtil,
+                           long maxSize,
+                           Duration maxTtl,
+                           MeterRegistry meterRegistry,
+                           Clock clock,
+                           Ticker ticker) {
+        this.jwtUtil = jwtUtil;
+        this.maxTtlNanos = maxTtl.toNanos();
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry())
+                .ticker(ticker)
+                .build();
+
+        this.cachedCounter = Counter.builder("gateway.jwt.verifications")
+                .description("JWT verifications by result")
+                .tag("result", "cached")
+                .register(meterRegistry);
+        this.verifiedCounter = Counter.builder("gateway.jwt.verifications")
+                .tag("result", "verified")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("gateway.jwt.verifications")
+                .tag("result", "rejected")
+                .register(meterRegistry);
+        Gauge.builder("gateway.jwt.cache.size", cache, Cache::estimatedSize)
+                .description("Verified JWTs held in the verification cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 토큰 검증
+     *
+     * @return 인증 주체, 서명 불일치 / 만료 / 형식 오류면 null
+     */
+    public JwtPrincipal verify(String token) {
+        long key = hash(token);
+        CachedToken cached = cache.getIfPresent(key);
+        if (cached != null && cached.token().equals(token) && !isExpired(cached.principal())) {
+            cachedCounter.increment();
+            return cached.principal();
+        }
+
+        JwtPrincipal principal;
+        try {
+            principal = toPrincipal(jwtUtil.parseClaims(token));
+        } catch (JwtException | IllegalArgumentException e) {
+            rejectedCounter.increment();
+            log.debug("Token validation error: {}", e.getMessage());
+            return null;
+        }
+        verifiedCounter.increment();
+        if (principal.role() == null) {
+            log.warn("No role found in JWT token for user: {}", principal.username());
+        }
+        cache.put(key, new CachedToken(token, principal));
+        return principal;
+    }
+
+    /**
+     * 캐시 비우기 (서명 키 교체 등)
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private static JwtPrincipal toPrincipal(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return new JwtPrincipal(
+                claims.getSubject(),
+                JwtUtil.roleOf(claims),
+                expiration != null ? expiration.toInstant() : null);
+    }
+
+    private boolean isExpired(JwtPrincipal principal) {
+        return principal.expiresAt() != null && !principal.expiresAt().isAfter(clock.instant());
+    }
+
+    /**
+     * seed 를 섞은 FNV-1a 64비트 해시
+     */
+    private long hash(String token) {
+        long h = seed;
+        for (int i = 0; i < token.length(); i++) {
+            h ^= token.charAt(i);
+            h *= FNV_PRIME;
+        }
+        return h ^ (h >>> 32);
+    }
+
+    private record CachedToken(String token, JwtPrincipal principal) {
+    }
+
+    /**
+     * 토큰 exp 까지 (exp 가 없거나 더 멀면 max-ttl) 보관
+     */
+    private final class TokenExpiry implements Expiry<Long, CachedToken> {
+
+        @Override
+        public long expireAfterCreate(Long key, CachedToken value, long currentTime) {
+            Instant expiresAt = value.principal().expiresAt();
+            if (expiresAt == null) {
+                return maxTtlNanos;
+            }
+            long remaining = TimeUnit.MILLISECONDS.toNanos(expiresAt.toEpochMilli() - clock.millis());
+            return Math.max(0, Math.min(remaining, maxTtlNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(Long key, CachedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long key, CachedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
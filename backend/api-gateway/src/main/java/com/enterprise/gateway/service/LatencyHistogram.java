@@ -0,0 +1,84 @@
+package com.enterprise.gateway.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 로그-선형 버킷 응답 시간 히스토그램 (HDR 방식, 마이크로초)
+ *
+ * 2의 거듭제곱 구간마다 16개 하위 버킷을 두어 상대 오차 약 6% 이내로 기록한다.
+ * 16µs 미만은 1µs 단위, 최대 약 2^40µs(12일)까지이며 그 이상은 마지막 버킷에 넣는다.
+ * 기록은 락 없이 버킷 카운터만 증가시키고, counts() 로 얻은 배열끼리는 merge 로 합칠 수 있다.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 40;
+    static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    void record(long micros) {
+        counts.incrementAndGet(indexOf(micros));
+    }
+
+    long[] counts() {
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+        }
+        return snapshot;
+    }
+
+    static void merge(long[] into, long[] from) {
+        for (int i = 0; i < BUCKETS; i++) {
+            into[i] += from[i];
+        }
+    }
+
+    /**
+     * 분위수 근사값 (버킷 중간값, 마이크로초). 기록이 없으면 0
+     */
+    static long percentile(long[] counts, double quantile) {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return valueOf(i);
+            }
+        }
+        return valueOf(counts.length - 1);
+    }
+
+    static int indexOf(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) Math.max(0, micros);
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        int group = exponent - SUB_BUCKET_BITS + 1;
+        int sub = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return group * SUB_BUCKETS + sub;
+    }
+
+    static long valueOf(int index) {
+        int group = index >>> SUB_BUCKET_BITS;
+        int sub = index & (SUB_BUCKETS - 1);
+        if (group == 0) {
+            return sub;
+        }
+        long lower = (long) (SUB_BUCKETS + sub) << (group - 1);
+        long width = 1L << (group - 1);
+        return lower + width / 2;
+    }
+}
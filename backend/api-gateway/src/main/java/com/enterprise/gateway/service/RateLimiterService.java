@@ -0,0 +1,278 @@
+package com.enterprise.gateway.service;
+
+import com.enterprise.gateway.config.GatewayRateLimitProperties;
+import com.enterprise.gateway.config.GatewayRateLimitProperties.KeyType;
+import com.enterprise.gateway.config.GatewayRateLimitProperties.RouteLimit;
+import com.enterprise.gateway.dto.event.RateLimitSyncEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 라우트별 요청 제한 (토큰 버킷)
+ *
+ * gateway.rate-limit.routes 에 설정된 라우트마다 RouteLimiter 를 만들고, 키(IP / 사용자 / 라우트)별 TokenBucket 을
+ * 크기 제한 캐시에 둔다. 요청 경로는 캐시 조회와 CAS 한 번뿐이다.
+ *
+ * sync.enabled 이면 인스턴스마다 키별 로컬 사용량을 sync.interval 마다 RateLimitSyncEvent 로 발행하고,
+ * 다른 인스턴스의 사용량을 받아 같은 버킷에서 차감해 클러스터 전체 한도에 가깝게 맞춘다.
+ *
+ * 메트릭:
+ * - gateway.ratelimit.requests{route, result=allowed|rejected}
+ * - gateway.ratelimit.buckets{route}
+ * - gateway.ratelimit.sync{direction=sent|received}
+ */
+@Slf4j
+@Service
+public class RateLimiterService {
+
+    private static final String EVENT_TYPE = "RATE_LIMIT_SYNC";
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final GatewayRateLimitProperties properties;
+    private final GatewayEventProducer eventProducer;
+    private final ObjectMapper objectMapper;
+    private final String instanceId;
+    private final Map<String, RouteLimiter> limiters = new HashMap<>();
+    private final ScheduledExecutorService syncExecutor;
+
+    private final Counter syncSentCounter;
+    private final Counter syncReceivedCounter;
+
+    public RateLimiterService(GatewayRateLimitProperties properties,
+                              GatewayEventProducer eventProducer,
+                              ObjectMapper objectMapper,
+                              @Value("${spring.application.name:api-gateway}:${spring.cloud.client.ip-address:unknown}:${server.port:8080}")
+                              String instanceId,
+                              MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.eventProducer = eventProducer;
+        this.objectMapper = objectMapper;
+        this.instanceId = instanceId;
+
+        if (properties.isEnabled()) {
+            properties.getRoutes().forEach((routeId, limit) ->
+                    limiters.put(routeId, new RouteLimiter(routeId, limit, meterRegistry)));
+        }
+
+        this.syncExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "gateway-ratelimit-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.syncSentCounter = syncCounter(meterRegistry, "sent");
+        this.syncReceivedCounter = syncCounter(meterRegistry, "received");
+    }
+
+    @PostConstruct
+    public void start() {
+        limiters.values().forEach(limiter -> log.info("Rate limit - route: {}, key: {}, rate: {}/s, burst: {}",
+                limiter.routeId, limiter.keyType, limiter.limit.getReplenishRate(), limiter.limit.getBurstCapacity()));
+        if (properties.isEnabled() && properties.getSync().isEnabled() && !limiters.isEmpty()) {
+            long interval = properties.getSync().getInterval().toMillis();
+            syncExecutor.scheduleWithFixedDelay(this::publishUsageSafely, interval, interval, TimeUnit.MILLISECONDS);
+            log.info("Rate limit sync started - instance: {}, interval: {}", instanceId, properties.getSync().getInterval());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        syncExecutor.shutdownNow();
+    }
+
+    /**
+     * @return 라우트의 제한기, 제한이 없으면 null
+     */
+    public RouteLimiter limiter(String routeId) {
+        return limiters.get(routeId);
+    }
+
+    public boolean isTrustForwardedFor() {
+        return properties.isTrustForwardedFor();
+    }
+
+    /**
+     * 다른 인스턴스의 사용량 반영
+     */
+    @KafkaListener(
+            topics = "${spring.kafka.topic.rate-limit:gateway.rate.limit}",
+            groupId = "${spring.application.name:api-gateway}-ratelimit-${spring.cloud.client.ip-address:local}-${server.port:8080}",
+            autoStartup = "${gateway.rate-limit.sync.enabled:false}",
+            properties = "auto.offset.reset=latest")
+    public void onSyncEvent(String payload) {
+        try {
+            RateLimitSyncEvent event = objectMapper.readValue(payload, RateLimitSyncEvent.class);
+            if (instanceId.equals(event.getInstanceId()) || event.getUsages() == null) {
+                return;
+            }
+            long now = System.nanoTime();
+            for (RateLimitSyncEvent.Usage usage : event.getUsages()) {
+                RouteLimiter limiter = limiters.get(usage.getRouteId());
+                if (limiter != null && usage.getConsumed() > 0) {
+                    limiter.charge(usage.getKey(), usage.getConsumed(), now);
+                }
+            }
+            syncReceivedCounter.increment();
+        } catch (Exception e) {
+            log.warn("Ignoring malformed rate limit sync event: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 로컬 사용량 발행 (동기화 스레드)
+     */
+    void publishUsage() {
+        int maxKeys = Math.max(1, properties.getSync().getMaxKeysPerEvent());
+        List<RateLimitSyncEvent.Usage> usages = new ArrayList<>();
+        for (RouteLimiter limiter : limiters.values()) {
+            for (Map.Entry<String, TokenBucket> entry : limiter.buckets.asMap().entrySet()) {
+                long consumed = entry.getValue().drainConsumed();
+                if (consumed == 0) {
+                    continue;
+                }
+                usages.add(new RateLimitSyncEvent.Usage(limiter.routeId, entry.getKey(), consumed));
+                if (usages.size() >= maxKeys) {
+                    send(usages);
+                    usages = new ArrayList<>();
+                }
+            }
+        }
+        if (!usages.isEmpty()) {
+            send(usages);
+        }
+    }
+
+    private void send(List<RateLimitSyncEvent.Usage> usages) {
+        eventProducer.sendRateLimitSyncEvent(RateLimitSyncEvent.builder()
+                .instanceId(instanceId)
+                .usages(usages)
+                .timestamp(System.currentTimeMillis())
+                .eventType(EVENT_TYPE)
+                .build());
+        syncSentCounter.increment();
+    }
+
+    private void publishUsageSafely() {
+        try {
+            publishUsage();
+        } catch (Exception e) {
+            // 발행 실패로 동기화 스케줄이 멈추지 않도록 함
+            log.error("Failed to publish rate limit usage", e);
+        }
+    }
+
+    private static Counter syncCounter(MeterRegistry registry, String direction) {
+        return Counter.builder("gateway.ratelimit.sync")
+                .description("Rate limit usage events exchanged between gateway instances")
+                .tag("direction", direction)
+                .register(registry);
+    }
+
+    /**
+     * 요청 제한 판단 결과
+     *
+     * @param remaining         남은 토큰 수 (거절 시 0)
+     * @param retryAfterSeconds 다시 시도까지 초 (허용 시 0)
+     */
+    public record Decision(boolean allowed, long remaining, long retryAfterSeconds) {
+    }
+
+    /**
+     * 라우트 하나의 제한기
+     */
+    public final class RouteLimiter {
+
+        private final String routeId;
+        private final RouteLimit limit;
+        private final KeyType keyType;
+        private final long interval;
+        private final long capacity;
+        private final boolean trackUsage;
+        private final Cache<String, TokenBucket> buckets;
+
+        private final Counter allowedCounter;
+        private final Counter rejectedCounter;
+
+        RouteLimiter(String routeId, RouteLimit limit, MeterRegistry meterRegistry) {
+            if (limit.getReplenishRate() <= 0 || limit.getBurstCapacity() <= 0) {
+                throw new IllegalArgumentException("Rate limit for route " + routeId
+                        + " needs positive replenish-rate and burst-capacity");
+            }
+            this.routeId = routeId;
+            this.limit = limit;
+            this.keyType = limit.getKey();
+            this.interval = Math.max(1, (long) (NANOS_PER_SECOND / limit.getReplenishRate()));
+            this.capacity = interval * limit.getBurstCapacity();
+            this.trackUsage = properties.getSync().isEnabled();
+            this.buckets = Caffeine.newBuilder()
+                    .maximumSize(keyType == KeyType.ROUTE ? 1 : properties.getMaxKeys())
+                    .expireAfterAccess(properties.getIdleTimeout())
+                    .build();
+
+            this.allowedCounter = requestCounter(meterRegistry, "allowed");
+            this.rejectedCounter = requestCounter(meterRegistry, "rejected");
+            Gauge.builder("gateway.ratelimit.buckets", buckets, Cache::estimatedSize)
+                    .description("Active rate limit buckets")
+                    .tag("route", routeId)
+                    .register(meterRegistry);
+        }
+
+        public KeyType getKeyType() {
+            return keyType;
+        }
+
+        public int getBurstCapacity() {
+            return limit.getBurstCapacity();
+        }
+
+        /**
+         * 요청 하나에 대한 토큰 획득
+         *
+         * @param key 버킷 키 (ROUTE 키 타입이면 무시)
+         */
+        public Decision tryAcquire(String key) {
+            return tryAcquire(key, System.nanoTime());
+        }
+
+        Decision tryAcquire(String key, long now) {
+            TokenBucket bucket = buckets.get(keyType == KeyType.ROUTE ? routeId : key, k -> new TokenBucket());
+            long result = bucket.tryAcquire(now, interval, capacity, trackUsage);
+            if (result >= 0) {
+                allowedCounter.increment();
+                return new Decision(true, result, 0);
+            }
+            rejectedCounter.increment();
+            long waitNanos = -(result + 1);
+            return new Decision(false, 0, Math.max(1, (waitNanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND));
+        }
+
+        void charge(String key, long tokens, long now) {
+            buckets.get(key, k -> new TokenBucket()).charge(now, tokens, interval, capacity);
+        }
+
+        private Counter requestCounter(MeterRegistry registry, String result) {
+            return Counter.builder("gateway.ratelimit.requests")
+                    .description("Rate limited route requests by outcome")
+                    .tag("route", routeId)
+                    .tag("result", result)
+                    .register(registry);
+        }
+    }
+}
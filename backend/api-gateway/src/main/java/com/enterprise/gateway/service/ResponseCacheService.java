@@ -0,0 +1,296 @@
+package com.enterprise.gateway.service;
+
+import com.enterprise.gateway.config.GatewayRouteProperties;
+import com.enterprise.gateway.config.GatewayRouteProperties.ResponseCacheConfig;
+import com.enterprise.gateway.config.GatewayRouteProperties.RouteCacheConfig;
+import com.enterprise.gateway.dto.event.CacheInvalidationEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gateway 응답 캐시 저장소
+ *
+ * 본문 크기 합계(max-size-bytes)로 제한되는 캐시에 라우트별 TTL 로 GET 200 응답을 보관한다.
+ * 서비스별 세대(generation) 값을 두어, 무효화(서비스 전체 / 경로 단위 모두) 전에 시작된 요청의 응답이
+ * 무효화 후에 저장되지 않게 한다.
+ *
+ * 무효화:
+ * - 캐시 라우트가 있는 서비스로 쓰기 요청(POST/PUT/PATCH/DELETE)이 성공하면 해당 서비스 전체를 무효화하고
+ *   다른 게이트웨이 인스턴스를 위해 CacheInvalidationEvent 를 발행
+ * - 소유 서비스가 발행한 CacheInvalidationEvent 수신 시 서비스 전체 또는 pathPrefix 로 시작하는 경로만 무효화
+ *
+ * 메트릭:
+ * - gateway.cache.requests{route, result=hit|not_modified|miss|bypass}
+ * - gateway.cache.entries / gateway.cache.bytes
+ * - gateway.cache.invalidations{source=local|remote}
+ */
+@Slf4j
+@Service
+public class ResponseCacheService {
+
+    private static final String EVENT_TYPE = "CACHE_INVALIDATION";
+
+    /**
+     * 캐시 응답과 함께 저장·재생하는 헤더 (요청별로 달라지는 CORS / Rate Limit / 쿠키 헤더는 제외)
+     */
+    private static final List<String> STORED_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_ENCODING, HttpHeaders.CONTENT_LANGUAGE,
+            HttpHeaders.CACHE_CONTROL, HttpHeaders.EXPIRES, HttpHeaders.LAST_MODIFIED, HttpHeaders.ETAG,
+            HttpHeaders.VARY);
+
+    private final ResponseCacheConfig config;
+    private final GatewayEventProducer eventProducer;
+    private final ObjectMapper objectMapper;
+    private final String instanceId;
+    private final MeterRegistry meterRegistry;
+
+    private final Cache<String, CachedResponse> cache;
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final Set<String> cachedServices = ConcurrentHashMap.newKeySet();
+
+    private final Counter localInvalidations;
+    private final Counter remoteInvalidations;
+
+    public ResponseCacheService(GatewayRouteProperties routeProperties,
+                                GatewayEventProducer eventProducer,
+                                ObjectMapper objectMapper,
+                                @Value("${spring.application.name:api-gateway}:${spring.cloud.client.ip-address:unknown}:${server.port:8080}")
+                                String instanceId,
+                                MeterRegistry meterRegistry) {
+        this.config = routeProperties.getResponseCache();
+        this.eventProducer = eventProducer;
+        this.objectMapper = objectMapper;
+        this.instanceId = instanceId;
+        this.meterRegistry = meterRegistry;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(config.getMaxSizeBytes())
+                .weigher((String key, CachedResponse value) -> key.length() + value.body().length)
+                .expireAfter(new RouteTtlExpiry())
+                .build();
+
+        this.localInvalidations = invalidationCounter(meterRegistry, "local");
+        this.remoteInvalidations = invalidationCounter(meterRegistry, "remote");
+        Gauge.builder("gateway.cache.entries", cache, Cache::estimatedSize)
+                .description("Cached gateway responses")
+                .register(meterRegistry);
+        Gauge.builder("gateway.cache.bytes", cache,
+                        c -> c.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L))
+                .description("Cached gateway response bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 라우트의 캐시 설정 (없거나 캐시가 꺼져 있으면 null)
+     * 라우트 필터 생성 시 호출되며, 캐시 라우트의 서비스를 쓰기 무효화 대상으로 등록한다.
+     */
+    public RouteCacheConfig register(String routeId, String serviceUri) {
+        if (!config.isEnabled()) {
+            return null;
+        }
+        RouteCacheConfig routeConfig = config.getRoutes().get(routeId);
+        if (routeConfig != null) {
+            cachedServices.add(serviceName(serviceUri));
+            log.info("Response cache - route: {}, service: {}, ttl: {}", routeId, serviceName(serviceUri), routeConfig.getTtl());
+        }
+        return routeConfig;
+    }
+
+    public boolean isCachedRoute(String routeId) {
+        return config.isEnabled() && routeId != null && config.getRoutes().containsKey(routeId);
+    }
+
+    public boolean isCachedService(String serviceName) {
+        return cachedServices.contains(serviceName);
+    }
+
+    public int getMaxBodyBytes() {
+        return config.getMaxBodyBytes();
+    }
+
+    public CachedResponse get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * 현재 세대 (응답을 받기 전에 읽어 두었다가 저장 시 전달)
+     */
+    public long generation(String serviceName) {
+        return generations.computeIfAbsent(serviceName, s -> new AtomicLong()).get();
+    }
+
+    /**
+     * 응답 저장 (요청 시작 후 해당 서비스가 무효화되었으면 저장하지 않음)
+     */
+    public void put(String key, String serviceName, String path, long generation, RouteCacheConfig routeConfig,
+                    HttpHeaders responseHeaders, byte[] body) {
+        if (generation(serviceName) != generation) {
+            return;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        for (String name : STORED_HEADERS) {
+            List<String> values = responseHeaders.get(name);
+            if (values != null) {
+                headers.put(name, List.copyOf(values));
+            }
+        }
+        String etag = headers.getETag();
+        if (etag == null) {
+            etag = etagOf(body);
+            headers.setETag(etag);
+        }
+        cache.put(key, new CachedResponse(serviceName, path, HttpHeaders.readOnlyHttpHeaders(headers), body, etag,
+                System.nanoTime(), routeConfig.getTtl().toNanos()));
+    }
+
+    /**
+     * 게이트웨이를 거친 쓰기 요청 성공 시 호출
+     */
+    public void invalidateOnWrite(String serviceName, String path) {
+        invalidate(serviceName, null);
+        localInvalidations.increment();
+        log.debug("Response cache invalidated by write: service={}, path={}", serviceName, path);
+
+        try {
+            eventProducer.sendCacheInvalidationEvent(CacheInvalidationEvent.builder()
+                    .serviceName(serviceName)
+                    .instanceId(instanceId)
+                    .timestamp(System.currentTimeMillis())
+                    .eventType(EVENT_TYPE)
+                    .build());
+        } catch (Exception e) {
+            // 쓰기 요청 자체는 성공했으므로 전파 실패로 응답을 실패시키지 않음 (다른 인스턴스는 TTL 로 만료)
+            log.warn("Failed to broadcast cache invalidation: service={}, {}", serviceName, e.getMessage());
+        }
+    }
+
+    /**
+     * 소유 서비스 / 다른 게이트웨이 인스턴스의 무효화 이벤트 수신
+     */
+    @KafkaListener(
+            topics = "${spring.kafka.topic.cache-invalidation:gateway.cache.invalidate}",
+            groupId = "${spring.application.name:api-gateway}-cache-${spring.cloud.client.ip-address:local}-${server.port:8080}",
+            autoStartup = "${gateway.routes.response-cache.enabled:true}",
+            properties = "auto.offset.reset=latest")
+    public void onInvalidationEvent(String payload) {
+        try {
+            CacheInvalidationEvent event = objectMapper.readValue(payload, CacheInvalidationEvent.class);
+            if (instanceId.equals(event.getInstanceId()) || event.getServiceName() == null) {
+                return;
+            }
+            invalidate(event.getServiceName(), event.getPathPrefix());
+            remoteInvalidations.increment();
+            log.debug("Response cache invalidated by event: service={}, pathPrefix={}",
+                    event.getServiceName(), event.getPathPrefix());
+        } catch (Exception e) {
+            log.warn("Ignoring malformed cache invalidation event: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 서비스 전체(pathPrefix == null) 또는 pathPrefix 로 시작하는 경로의 캐시 삭제
+     * 경로 단위 무효화도 서비스 세대를 올려 무효화 전에 읽은 응답이 뒤늦게 저장되지 않게 한다
+     * (그 시점에 진행 중이던 같은 서비스의 다른 경로 요청도 이번 응답은 저장하지 않는다).
+     */
+    void invalidate(String serviceName, String pathPrefix) {
+        generations.computeIfAbsent(serviceName, s -> new AtomicLong()).incrementAndGet();
+        cache.asMap().values().removeIf(entry -> entry.serviceName().equals(serviceName)
+                && (pathPrefix == null || entry.path().startsWith(pathPrefix)));
+    }
+
+    /**
+     * 라우트별 조회 결과 카운터 (필터 생성 시 한 번 등록)
+     */
+    public RequestCounters requestCounters(String routeId) {
+        return new RequestCounters(requestCounter(routeId, "hit"), requestCounter(routeId, "not_modified"),
+                requestCounter(routeId, "miss"), requestCounter(routeId, "bypass"));
+    }
+
+    private Counter requestCounter(String routeId, String result) {
+        return Counter.builder("gateway.cache.requests")
+                .description("Response cache lookups by outcome")
+                .tag("route", routeId)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * lb://board-service → board-service
+     */
+    public static String serviceName(String serviceUri) {
+        URI uri = URI.create(serviceUri);
+        return uri.getHost() != null ? uri.getHost() : serviceUri;
+    }
+
+    private static String etagOf(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Counter invalidationCounter(MeterRegistry registry, String source) {
+        return Counter.builder("gateway.cache.invalidations")
+                .description("Response cache invalidations")
+                .tag("source", source)
+                .register(registry);
+    }
+
+    /**
+     * 캐시된 응답
+     *
+     * @param path 게이트웨이 기준 요청 경로 (pathPrefix 무효화용)
+     */
+    public record CachedResponse(String serviceName, String path, HttpHeaders headers, byte[] body, String etag,
+                                 long storedAtNanos, long ttlNanos) {
+
+        public long ageSeconds() {
+            return (System.nanoTime() - storedAtNanos) / 1_000_000_000L;
+        }
+    }
+
+    public record RequestCounters(Counter hit, Counter notModified, Counter miss, Counter bypass) {
+    }
+
+    /**
+     * 라우트별 TTL 로 만료
+     */
+    private static final class RouteTtlExpiry implements Expiry<String, CachedResponse> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedResponse value, long currentTime) {
+            return value.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedResponse value, long currentTime, long currentDuration) {
+            return value.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedResponse value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.enterprise.gateway.service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 고정 크기 다중 생산자 / 단일 소비자 링 버퍼
+ *
+ * 생산자는 tail 을 CAS 로 한 칸 예약한 뒤 슬롯에 쓰고, 소비자(플러시 스레드 하나)는 head 부터
+ * null 이 아닌 슬롯을 꺼내 비운다. 예약만 되고 아직 쓰이지 않은 슬롯을 만나면 다음 drain 에서 이어 읽는다.
+ * 가득 차면 offer 는 대기하지 않고 false 를 돌려준다.
+ */
+final class TelemetryStripe<T> {
+
+    private final AtomicReferenceArray<T> slots;
+    private final int capacity;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    TelemetryStripe(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two: " + capacity);
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+    }
+
+    boolean offer(T item) {
+        long t;
+        do {
+            t = tail.get();
+            if (t - head >= capacity) {
+                return false;
+            }
+        } while (!tail.compareAndSet(t, t + 1));
+        slots.lazySet((int) (t & mask), item);
+        return true;
+    }
+
+    /**
+     * 소비자 스레드 전용
+     */
+    int drainTo(List<T> out, int max) {
+        long h = head;
+        int n = 0;
+        while (n < max) {
+            int index = (int) (h & mask);
+            T item = slots.get(index);
+            if (item == null) {
+                break;
+            }
+            slots.lazySet(index, null);
+            out.add(item);
+            h++;
+            n++;
+        }
+        head = h;
+        return n;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+}
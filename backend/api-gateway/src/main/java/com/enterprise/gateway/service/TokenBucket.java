@@ -0,0 +1,55 @@
+package com.enterprise.gateway.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 락 없는 토큰 버킷 (GCRA)
+ *
+ * 다음 토큰이 보충될 이론적 도착 시각(tat, System.nanoTime 기준) 하나만 CAS 로 갱신한다.
+ * 요청 하나는 tat 를 interval 만큼 미루며, tat 가 현재보다 capacity(= interval * burst) 이상 앞서면 거절한다.
+ */
+final class TokenBucket {
+
+    private final AtomicLong tat = new AtomicLong(Long.MIN_VALUE);
+
+    // 동기화 발행용 (직전 발행 이후 로컬 허용 수)
+    private final LongAdder consumed = new LongAdder();
+
+    /**
+     * @return 허용 시 남은 토큰 수 (0 이상), 거절 시 -(다시 시도 가능할 때까지 나노초) - 1
+     */
+    long tryAcquire(long now, long interval, long capacity, boolean trackUsage) {
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(current, now) + interval;
+            long ahead = next - now;
+            if (ahead > capacity) {
+                return -(ahead - capacity) - 1;
+            }
+            if (tat.compareAndSet(current, next)) {
+                if (trackUsage) {
+                    consumed.increment();
+                }
+                return (capacity - ahead) / interval;
+            }
+        }
+    }
+
+    /**
+     * 다른 인스턴스가 사용한 토큰만큼 차감 (버킷이 빈 상태 이상으로는 미루지 않음)
+     */
+    void charge(long now, long tokens, long interval, long capacity) {
+        while (true) {
+            long current = tat.get();
+            long next = Math.min(Math.max(current, now) + tokens * interval, now + capacity);
+            if (next <= current || tat.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    long drainConsumed() {
+        return consumed.sumThenReset();
+    }
+}
@@ -1,6 +1,7 @@
 package com.enterprise.gateway.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
@@ -16,17 +17,36 @@ import java.util.List;
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    private final String secret;
 
-    @Value("${jwt.expiration}")
-    private Long expiration;
+    private final Long expiration;
+
+    /**
+     * 서명 키와 파서는 불변이고 스레드 안전하므로 한 번만 생성
+     */
+    private final JwtParser parser;
+
+    public JwtUtil(@Value("${jwt.secret}") String secret,
+                   @Value("${jwt.expiration}") Long expiration) {
+        this.secret = secret;
+        this.expiration = expiration;
+        this.parser = Jwts.parser()
+                .verifyWith(getSigningKey())
+                .build();
+    }
 
     private SecretKey getSigningKey() {
         byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
         return Keys.hmacShaKeyFor(keyBytes);
     }
 
+    /**
+     * 서명 검증 + 파싱 (만료, 서명 불일치 등은 JwtException)
+     */
+    public Claims parseClaims(String token) {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
     public String extractUsername(String token) {
         return extractAllClaims(token).getSubject();
     }
@@ -40,7 +60,17 @@ public class JwtUtil {
      */
     public String extractRole(String token) {
         Claims claims = extractAllClaims(token);
-        
+        String role = roleOf(claims);
+        if (role == null) {
+            log.warn("No role found in JWT token for user: {}", claims.getSubject());
+        }
+        return role;
+    }
+
+    /**
+     * 클레임에서 Role 추출 (role → roles / authorities 의 첫 번째 값, 없으면 null)
+     */
+    public static String roleOf(Claims claims) {
         // JWT에 "role" 클레임이 있는 경우
         Object roleObj = claims.get("role");
         if (roleObj != null) {
@@ -59,17 +89,12 @@ public class JwtUtil {
                 return roles.get(0).toString();
             }
         }
-        
-        log.warn("No role found in JWT token for user: {}", extractUsername(token));
+
         return null;
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parseClaims(token);
     }
 
     private Boolean isTokenExpired(String token) {
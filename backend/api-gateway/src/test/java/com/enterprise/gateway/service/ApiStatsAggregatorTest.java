@@ -0,0 +1,208 @@
+package com.enterprise.gateway.service;
+
+import com.enterprise.gateway.config.GatewayStatsProperties;
+import com.enterprise.gateway.dto.event.ApiStatsEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpMethod;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ApiStatsAggregatorTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2024, 3, 10, 0, 0);
+
+    private final MutableClock clock = new MutableClock(DAY.withHour(22).withMinute(30));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private GatewayStatsProperties properties;
+    private GatewayEventProducer eventProducer;
+    private ApiStatsAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        properties = new GatewayStatsProperties();
+        eventProducer = mock(GatewayEventProducer.class);
+        aggregator = new ApiStatsAggregator(properties, eventProducer, meterRegistry, clock);
+    }
+
+    @Test
+    void roll_EmitsHourlyWindowOneCheckAfterTheBoundary() {
+        aggregator.record("board", "board-service", HttpMethod.GET, 200, 2_000);
+        aggregator.record("board", "board-service", HttpMethod.GET, 304, 4_000);
+        aggregator.record("board", "board-service", HttpMethod.GET, 500, 9_000);
+
+        clock.set(DAY.withHour(22).withMinute(59));
+        aggregator.roll();
+        verify(eventProducer, never()).sendApiStatsEvent(any());
+
+        // 경계를 지난 첫 확인에서 구간 교체, 발행은 다음 확인 때
+        clock.set(DAY.withHour(23).withSecond(5));
+        aggregator.roll();
+        verify(eventProducer, never()).sendApiStatsEvent(any());
+        aggregator.record("board", "board-service", HttpMethod.GET, 200, 1_000);
+
+        clock.set(DAY.withHour(23).withSecond(15));
+        aggregator.roll();
+
+        ApiStatsEvent event = single(captured());
+        assertEquals("HOURLY", event.getPeriod());
+        assertEquals(DAY.withHour(22), event.getPeriodStart());
+        assertEquals(DAY.withHour(23), event.getPeriodEnd());
+        assertEquals("board-service", event.getServiceName());
+        assertEquals("board", event.getEndpoint());
+        assertEquals("GET", event.getMethod());
+        assertEquals(3, event.getTotalRequests());
+        assertEquals(2, event.getSuccessRequests());
+        assertEquals(1, event.getFailedRequests());
+        assertEquals(5.0, event.getAvgResponseTime(), 1e-9);
+        assertEquals(2, event.getMinResponseTime());
+        assertEquals(9, event.getMaxResponseTime());
+        assertEquals(4.0, event.getP50ResponseTime(), 0.5);
+        assertEquals(9.0, event.getP99ResponseTime(), 1.0);
+        assertEquals("API_STATS", event.getEventType());
+        assertEquals(1.0, events("HOURLY"));
+    }
+
+    @Test
+    void roll_EmitsDailyTotalsAfterMidnight() {
+        aggregator.record("board", "board-service", HttpMethod.GET, 200, 1_000);
+        aggregator.record("board", "board-service", HttpMethod.POST, 201, 3_000);
+
+        clock.set(DAY.withHour(23).withSecond(5));
+        aggregator.roll();
+        aggregator.record("board", "board-service", HttpMethod.GET, 404, 5_000);
+
+        clock.set(DAY.plusDays(1).withSecond(5));
+        aggregator.roll();
+        clock.set(DAY.plusDays(1).withSecond(15));
+        aggregator.roll();
+
+        List<ApiStatsEvent> events = captured();
+        List<ApiStatsEvent> hourly = events.stream().filter(e -> "HOURLY".equals(e.getPeriod())).toList();
+        List<ApiStatsEvent> daily = events.stream().filter(e -> "DAILY".equals(e.getPeriod())).toList();
+        // 22시 GET / POST, 23시 GET
+        assertEquals(3, hourly.size());
+        assertEquals(2, daily.size());
+
+        ApiStatsEvent dailyGet = daily.stream().filter(e -> "GET".equals(e.getMethod())).findFirst().orElseThrow();
+        assertEquals(DAY, dailyGet.getPeriodStart());
+        assertEquals(DAY.plusDays(1), dailyGet.getPeriodEnd());
+        assertEquals(2, dailyGet.getTotalRequests());
+        assertEquals(1, dailyGet.getSuccessRequests());
+        assertEquals(1, dailyGet.getFailedRequests());
+        assertEquals(1, dailyGet.getMinResponseTime());
+        assertEquals(5, dailyGet.getMaxResponseTime());
+
+        ApiStatsEvent dailyPost = daily.stream().filter(e -> "POST".equals(e.getMethod())).findFirst().orElseThrow();
+        assertEquals(1, dailyPost.getTotalRequests());
+        assertEquals(3.0, events("HOURLY"));
+        assertEquals(2.0, events("DAILY"));
+
+        // 다음 날 구간은 새로 집계
+        clearInvocations(eventProducer);
+        aggregator.record("board", "board-service", HttpMethod.GET, 200, 7_000);
+        clock.set(DAY.plusDays(1).withHour(1).withSecond(5));
+        aggregator.roll();
+        clock.set(DAY.plusDays(1).withHour(1).withSecond(15));
+        aggregator.roll();
+        ApiStatsEvent next = single(captured());
+        assertEquals(DAY.plusDays(1), next.getPeriodStart());
+        assertEquals(1, next.getTotalRequests());
+    }
+
+    @Test
+    void roll_SkipsIdleWindows() {
+        for (int hour = 23; hour <= 26; hour++) {
+            clock.set(DAY.plusHours(hour).withSecond(5));
+            aggregator.roll();
+        }
+        verify(eventProducer, never()).sendApiStatsEvent(any());
+    }
+
+    @Test
+    void flushPartial_EmitsInProgressWindowEndingNow() {
+        aggregator.record(null, "unknown", HttpMethod.GET, 404, 1_000);
+
+        clock.set(DAY.withHour(22).withMinute(45));
+        aggregator.flushPartial();
+
+        List<ApiStatsEvent> events = captured();
+        assertEquals(2, events.size());
+        ApiStatsEvent hourly = events.get(0);
+        assertEquals("HOURLY", hourly.getPeriod());
+        assertEquals("unmatched", hourly.getEndpoint());
+        assertEquals(DAY.withHour(22), hourly.getPeriodStart());
+        assertEquals(DAY.withHour(22).withMinute(45), hourly.getPeriodEnd());
+        ApiStatsEvent daily = events.get(1);
+        assertEquals("DAILY", daily.getPeriod());
+        assertEquals(DAY, daily.getPeriodStart());
+        assertEquals(DAY.withHour(22).withMinute(45), daily.getPeriodEnd());
+        assertEquals(1, daily.getFailedRequests());
+    }
+
+    @Test
+    void record_IgnoredWhenDisabled() {
+        properties.setEnabled(false);
+        aggregator.record("board", "board-service", HttpMethod.GET, 200, 1_000);
+
+        properties.setEnabled(true);
+        aggregator.flushPartial();
+        verify(eventProducer, never()).sendApiStatsEvent(any());
+    }
+
+    private List<ApiStatsEvent> captured() {
+        ArgumentCaptor<ApiStatsEvent> captor = ArgumentCaptor.forClass(ApiStatsEvent.class);
+        verify(eventProducer, atLeast(0)).sendApiStatsEvent(captor.capture());
+        return captor.getAllValues();
+    }
+
+    private static ApiStatsEvent single(List<ApiStatsEvent> events) {
+        assertEquals(1, events.size(), events.toString());
+        return events.get(0);
+    }
+
+    private double events(String period) {
+        return meterRegistry.get("gateway.stats.events").tag("period", period).counter().count();
+    }
+
+    /**
+     * 테스트가 시각을 옮기는 시계 (UTC)
+     */
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(LocalDateTime time) {
+            set(time);
+        }
+
+        void set(LocalDateTime time) {
+            instant = time.toInstant(ZoneOffset.UTC);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
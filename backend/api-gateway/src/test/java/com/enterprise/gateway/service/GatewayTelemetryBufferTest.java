@@ -0,0 +1,184 @@
+package com.enterprise.gateway.service;
+
+import com.enterprise.gateway.config.GatewayTelemetryProperties;
+import com.enterprise.gateway.dto.event.GatewayExchangeRecord;
+import com.enterprise.gateway.dto.event.GatewayTelemetryBatch;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class GatewayTelemetryBufferTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private GatewayTelemetryProperties properties;
+    private GatewayEventProducer eventProducer;
+
+    @BeforeEach
+    void setUp() {
+        properties = new GatewayTelemetryProperties();
+        properties.setStripes(4);
+        properties.setStripeCapacity(1024);
+        properties.setBatchSize(100);
+        eventProducer = mock(GatewayEventProducer.class);
+        when(eventProducer.sendTelemetryBatch(any())).thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    @Test
+    void flush_SplitsRecordsIntoBatchSizeBatches() {
+        GatewayTelemetryBuffer buffer = buffer();
+        for (int i = 0; i < 250; i++) {
+            buffer.record(record(i));
+        }
+
+        assertEquals(250, buffer.flush());
+
+        List<GatewayTelemetryBatch> batches = sentBatches();
+        assertEquals(3, batches.size());
+        assertEquals(List.of(100, 100, 50), batches.stream().map(b -> b.getRecords().size()).toList());
+        assertEquals(List.of(0L, 1L, 2L), batches.stream().map(GatewayTelemetryBatch::getSequence).toList());
+        assertEquals("api-gateway:10.0.0.1:8080", batches.get(0).getInstanceId());
+        assertEquals(0, buffer.depth());
+        assertEquals(3.0, meterRegistry.get("gateway.telemetry.batches").tag("result", "sent").counter().count());
+
+        // 빈 버퍼는 발행하지 않음
+        assertEquals(0, buffer.flush());
+        verify(eventProducer, times(3)).sendTelemetryBatch(any());
+    }
+
+    @Test
+    void record_DropsWhenStripeIsFullAndReportsDropsOnce() {
+        properties.setStripes(1);
+        properties.setStripeCapacity(2);
+        GatewayTelemetryBuffer buffer = buffer();
+
+        buffer.record(record(1));
+        buffer.record(record(2));
+        buffer.record(record(3));
+        assertEquals(1.0, meterRegistry.get("gateway.telemetry.records").tag("result", "dropped").counter().count());
+
+        buffer.flush();
+        buffer.record(record(4));
+        buffer.flush();
+
+        // 버린 수는 다음 배치에 한 번만 실린다
+        List<GatewayTelemetryBatch> batches = sentBatches();
+        assertEquals(2, batches.get(0).getRecords().size());
+        assertEquals(1, batches.get(0).getDropped());
+        assertEquals(0, batches.get(1).getDropped());
+    }
+
+    @Test
+    void flush_PublishesEveryRecordFromConcurrentProducers() throws Exception {
+        properties.setStripeCapacity(65_536);
+        GatewayTelemetryBuffer buffer = buffer();
+        int threads = 8;
+        int perThread = 5_000;
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            int base = t * perThread;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        buffer.record(record(base + i));
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+            thread.start();
+        }
+
+        // 생산 중에도 소비자(플러시)는 계속 비운다
+        start.countDown();
+        int flushed = 0;
+        while (!done.await(1, TimeUnit.MILLISECONDS)) {
+            flushed += buffer.flush();
+        }
+        flushed += buffer.flush();
+
+        assertEquals(threads * perThread, flushed);
+        Set<Long> timestamps = new HashSet<>();
+        for (GatewayTelemetryBatch batch : sentBatches()) {
+            assertTrue(batch.getRecords().size() <= properties.getBatchSize());
+            for (GatewayExchangeRecord record : batch.getRecords()) {
+                assertTrue(timestamps.add(record.timestamp()), "duplicate " + record.timestamp());
+            }
+        }
+        assertEquals(threads * perThread, timestamps.size());
+    }
+
+    @Test
+    void flush_CountsFailedBatches() {
+        when(eventProducer.sendTelemetryBatch(any())).thenReturn(CompletableFuture.failedFuture(new IllegalStateException("kafka down")));
+        GatewayTelemetryBuffer buffer = buffer();
+        buffer.record(record(1));
+
+        buffer.flush();
+
+        assertEquals(1.0, meterRegistry.get("gateway.telemetry.batches").tag("result", "failed").counter().count());
+    }
+
+    @Test
+    void sample_KeepsErrorsAndCountsSampledOut() {
+        properties.setSampleRate(0.0);
+        GatewayTelemetryBuffer buffer = buffer();
+
+        assertFalse(buffer.sample(200, false));
+        assertTrue(buffer.sample(503, false));
+        assertTrue(buffer.sample(200, true));
+        assertEquals(1.0, meterRegistry.get("gateway.telemetry.records").tag("result", "sampled_out").counter().count());
+
+        buffer.record(record(1));
+        buffer.flush();
+        assertEquals(1, sentBatches().get(0).getSampledOut());
+    }
+
+    @Test
+    void sample_DisabledRecordsNothing() {
+        properties.setEnabled(false);
+
+        assertFalse(buffer().sample(500, true));
+    }
+
+    @Test
+    void constructor_RejectsInvalidSettings() {
+        properties.setSampleRate(1.5);
+        assertThrows(IllegalArgumentException.class, this::buffer);
+
+        properties.setSampleRate(1.0);
+        properties.setBatchSize(0);
+        assertThrows(IllegalArgumentException.class, this::buffer);
+    }
+
+    private GatewayTelemetryBuffer buffer() {
+        return new GatewayTelemetryBuffer(properties, eventProducer, "api-gateway:10.0.0.1:8080", meterRegistry);
+    }
+
+    private List<GatewayTelemetryBatch> sentBatches() {
+        ArgumentCaptor<GatewayTelemetryBatch> captor = ArgumentCaptor.forClass(GatewayTelemetryBatch.class);
+        verify(eventProducer, atLeast(0)).sendTelemetryBatch(captor.capture());
+        return new ArrayList<>(captor.getAllValues());
+    }
+
+    private static GatewayExchangeRecord record(long timestamp) {
+        return new GatewayExchangeRecord(timestamp, "GET", "/api/boards", "board", "board-service",
+                200, 1_500, 128, "127.0.0.1", "user-1", null);
+    }
+}
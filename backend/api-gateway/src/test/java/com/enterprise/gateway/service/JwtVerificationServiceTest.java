@@ -0,0 +1,163 @@
+package com.enterprise.gateway.service;
+
+import com.enterprise.gateway.dto.JwtPrincipal;
+import com.enterprise.gateway.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JwtVerificationServiceTest {
+
+    private static final String TOKEN = "header.payload.signature";
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-03-10T12:00:00Z"));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private JwtUtil jwtUtil;
+    private JwtVerificationService service;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = mock(JwtUtil.class);
+        service = service(Duration.ofMinutes(10));
+    }
+
+    @Test
+    void verify_ParsesTokenOnceWhileCached() {
+        when(jwtUtil.parseClaims(TOKEN)).thenReturn(claims(clock.instant().plusSeconds(60)));
+
+        JwtPrincipal first = service.verify(TOKEN);
+        JwtPrincipal second = service.verify(TOKEN);
+
+        assertEquals("user-1", first.username());
+        assertEquals("ADMIN", first.role());
+        assertSame(first, second);
+        verify(jwtUtil, times(1)).parseClaims(TOKEN);
+        assertEquals(1.0, count("verified"));
+        assertEquals(1.0, count("cached"));
+    }
+
+    @Test
+    void verify_CacheEntryExpiresWithToken() {
+        when(jwtUtil.parseClaims(TOKEN)).thenReturn(claims(clock.instant().plusSeconds(60)));
+        assertNotNull(service.verify(TOKEN));
+
+        // exp 이후에는 캐시에서 꺼내지 않고 다시 검증 → 만료로 거부
+        clock.advance(Duration.ofSeconds(60));
+        when(jwtUtil.parseClaims(TOKEN)).thenThrow(new ExpiredJwtException(null, null, "JWT expired"));
+
+        assertNull(service.verify(TOKEN));
+        assertEquals(0.0, count("cached"));
+        assertEquals(1.0, count("rejected"));
+    }
+
+    @Test
+    void verify_MaxTtlCapsCacheLifetime() {
+        when(jwtUtil.parseClaims(TOKEN)).thenReturn(claims(clock.instant().plus(Duration.ofHours(1))));
+        service.verify(TOKEN);
+
+        clock.advance(Duration.ofMinutes(10).minusSeconds(1));
+        service.verify(TOKEN);
+        verify(jwtUtil, times(1)).parseClaims(TOKEN);
+
+        // exp 가 남아 있어도 max-ttl 이 지나면 다시 서명 검증
+        clock.advance(Duration.ofSeconds(1));
+        service.verify(TOKEN);
+        verify(jwtUtil, times(2)).parseClaims(TOKEN);
+    }
+
+    @Test
+    void verify_TokenWithoutExpIsCachedForMaxTtl() {
+        when(jwtUtil.parseClaims(TOKEN)).thenReturn(claims(null));
+
+        assertNull(service.verify(TOKEN).expiresAt());
+        clock.advance(Duration.ofMinutes(9));
+        service.verify(TOKEN);
+        clock.advance(Duration.ofMinutes(1));
+        service.verify(TOKEN);
+
+        verify(jwtUtil, times(2)).parseClaims(TOKEN);
+    }
+
+    @Test
+    void verify_RejectedTokenIsNotCached() {
+        when(jwtUtil.parseClaims(TOKEN)).thenThrow(new SignatureException("bad signature"));
+
+        assertNull(service.verify(TOKEN));
+        assertNull(service.verify(TOKEN));
+
+        verify(jwtUtil, times(2)).parseClaims(TOKEN);
+        assertEquals(2.0, count("rejected"));
+        assertEquals(0.0, meterRegistry.get("gateway.jwt.cache.size").gauge().value());
+    }
+
+    @Test
+    void invalidateAll_ForcesVerificationAgain() {
+        when(jwtUtil.parseClaims(TOKEN)).thenReturn(claims(clock.instant().plusSeconds(60)));
+        service.verify(TOKEN);
+
+        service.invalidateAll();
+        service.verify(TOKEN);
+
+        verify(jwtUtil, times(2)).parseClaims(TOKEN);
+    }
+
+    private JwtVerificationService service(Duration maxTtl) {
+        return new JwtVerificationService(jwtUtil, 1000, maxTtl, meterRegistry, clock,
+                () -> TimeUnit.MILLISECONDS.toNanos(clock.millis()));
+    }
+
+    private static Claims claims(Instant expiresAt) {
+        return Jwts.claims()
+                .subject("user-1")
+                .expiration(expiresAt != null ? Date.from(expiresAt) : null)
+                .add("role", "ADMIN")
+                .build();
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("gateway.jwt.verifications").tag("result", result).counter().count();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.enterprise.gateway.service;
+
+import com.enterprise.gateway.config.GatewayRateLimitProperties;
+import com.enterprise.gateway.config.GatewayRateLimitProperties.KeyType;
+import com.enterprise.gateway.dto.event.RateLimitSyncEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RateLimiterServiceTest {
+
+    private static final long NOW = 1_000_000_000_000L;
+    private static final long SECOND = 1_000_000_000L;
+    private static final String INSTANCE = "api-gateway:10.0.0.1:8080";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final GatewayEventProducer eventProducer = mock(GatewayEventProducer.class);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void tryAcquire_ReportsRemainingThenRetryAfter() {
+        RateLimiterService.RouteLimiter limiter = service(properties("board", KeyType.IP, 10, 3, false))
+                .limiter("board");
+
+        assertEquals(new RateLimiterService.Decision(true, 2, 0), limiter.tryAcquire("1.1.1.1", NOW));
+        assertEquals(new RateLimiterService.Decision(true, 1, 0), limiter.tryAcquire("1.1.1.1", NOW));
+        assertEquals(new RateLimiterService.Decision(true, 0, 0), limiter.tryAcquire("1.1.1.1", NOW));
+        // 100ms 뒤 토큰 → Retry-After 는 올림해서 최소 1초
+        assertEquals(new RateLimiterService.Decision(false, 0, 1), limiter.tryAcquire("1.1.1.1", NOW));
+
+        // 키마다 버킷이 따로
+        assertTrue(limiter.tryAcquire("2.2.2.2", NOW).allowed());
+        assertTrue(limiter.tryAcquire("1.1.1.1", NOW + SECOND / 10).allowed());
+
+        assertEquals(5.0, requests("board", "allowed"));
+        assertEquals(1.0, requests("board", "rejected"));
+    }
+
+    @Test
+    void tryAcquire_RoundsRetryAfterUpToWholeSeconds() {
+        // 0.4/s → 2.5초마다 토큰 하나
+        RateLimiterService.RouteLimiter limiter = service(properties("slow", KeyType.IP, 0.4, 1, false))
+                .limiter("slow");
+
+        assertTrue(limiter.tryAcquire("k", NOW).allowed());
+        assertEquals(3, limiter.tryAcquire("k", NOW).retryAfterSeconds());
+        assertEquals(2, limiter.tryAcquire("k", NOW + SECOND).retryAfterSeconds());
+        assertEquals(1, limiter.tryAcquire("k", NOW + 2 * SECOND).retryAfterSeconds());
+        assertTrue(limiter.tryAcquire("k", NOW + 5 * SECOND / 2).allowed());
+    }
+
+    @Test
+    void tryAcquire_RouteKeySharesOneBucket() {
+        RateLimiterService.RouteLimiter limiter = service(properties("login", KeyType.ROUTE, 1, 2, false))
+                .limiter("login");
+
+        assertTrue(limiter.tryAcquire("1.1.1.1", NOW).allowed());
+        assertTrue(limiter.tryAcquire("2.2.2.2", NOW).allowed());
+        assertFalse(limiter.tryAcquire("3.3.3.3", NOW).allowed());
+    }
+
+    @Test
+    void limiter_NullForUnlimitedRoutesOrWhenDisabled() {
+        GatewayRateLimitProperties properties = properties("board", KeyType.IP, 10, 3, false);
+        assertNull(service(properties).limiter("other"));
+
+        properties.setEnabled(false);
+        assertNull(service(properties).limiter("board"));
+    }
+
+    @Test
+    void constructor_RejectsNonPositiveLimits() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service(properties("board", KeyType.IP, 0, 3, false)));
+        assertThrows(IllegalArgumentException.class,
+                () -> service(properties("board", KeyType.IP, 10, 0, false)));
+    }
+
+    @Test
+    void publishUsage_SendsLocallyAllowedRequests() {
+        RateLimiterService service = service(properties("board", KeyType.IP, 10, 3, true));
+        RateLimiterService.RouteLimiter limiter = service.limiter("board");
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("1.1.1.1", NOW);
+        }
+
+        service.publishUsage();
+        ArgumentCaptor<RateLimitSyncEvent> captor = ArgumentCaptor.forClass(RateLimitSyncEvent.class);
+        verify(eventProducer).sendRateLimitSyncEvent(captor.capture());
+        RateLimitSyncEvent event = captor.getValue();
+        assertEquals(INSTANCE, event.getInstanceId());
+        assertEquals(1, event.getUsages().size());
+        RateLimitSyncEvent.Usage usage = event.getUsages().get(0);
+        assertEquals("board", usage.getRouteId());
+        assertEquals("1.1.1.1", usage.getKey());
+        // 거절된 2건은 제외
+        assertEquals(3, usage.getConsumed());
+
+        // 사용량이 없으면 보내지 않음
+        clearInvocations(eventProducer);
+        service.publishUsage();
+        verify(eventProducer, never()).sendRateLimitSyncEvent(any());
+    }
+
+    @Test
+    void onSyncEvent_ChargesOtherInstancesUsage() throws Exception {
+        RateLimiterService service = service(properties("board", KeyType.IP, 10, 3, true));
+        RateLimiterService.RouteLimiter limiter = service.limiter("board");
+
+        // 자기 인스턴스 이벤트와 잘못된 payload 는 무시
+        service.onSyncEvent(payload(INSTANCE, 3));
+        service.onSyncEvent("{not json");
+        long now = System.nanoTime();
+        assertEquals(2, limiter.tryAcquire("1.1.1.1", now).remaining());
+
+        service.onSyncEvent(payload("api-gateway:10.0.0.2:8080", 100));
+        // 다른 인스턴스가 한도를 넘게 썼어도 버킷은 빈 상태까지만 차감됨 → 다음 토큰 간격 안에 회복
+        RateLimiterService.Decision decision = limiter.tryAcquire("1.1.1.1", System.nanoTime());
+        assertFalse(decision.allowed());
+        assertEquals(1, decision.retryAfterSeconds());
+        assertTrue(limiter.tryAcquire("1.1.1.1", System.nanoTime() + SECOND / 10).allowed());
+        assertEquals(1.0, meterRegistry.get("gateway.ratelimit.sync").tag("direction", "received").counter().count());
+    }
+
+    private RateLimiterService service(GatewayRateLimitProperties properties) {
+        return new RateLimiterService(properties, eventProducer, objectMapper, INSTANCE, meterRegistry);
+    }
+
+    private String payload(String instanceId, long consumed) throws Exception {
+        return objectMapper.writeValueAsString(RateLimitSyncEvent.builder()
+                .instanceId(instanceId)
+                .usages(List.of(new RateLimitSyncEvent.Usage("board", "1.1.1.1", consumed)))
+                .eventType("RATE_LIMIT_SYNC")
+                .build());
+    }
+
+    private double requests(String route, String result) {
+        return meterRegistry.get("gateway.ratelimit.requests").tag("route", route).tag("result", result)
+                .counter().count();
+    }
+
+    private static GatewayRateLimitProperties properties(String routeId, KeyType key, double rate, int burst,
+                                                         boolean sync) {
+        GatewayRateLimitProperties properties = new GatewayRateLimitProperties();
+        GatewayRateLimitProperties.RouteLimit limit = new GatewayRateLimitProperties.RouteLimit();
+        limit.setKey(key);
+        limit.setReplenishRate(rate);
+        limit.setBurstCapacity(burst);
+        properties.getRoutes().put(routeId, limit);
+        properties.getSync().setEnabled(sync);
+        return properties;
+    }
+}
@@ -0,0 +1,158 @@
+package com.enterprise.gateway.service;
+
+import com.enterprise.gateway.config.GatewayRouteProperties;
+import com.enterprise.gateway.config.GatewayRouteProperties.RouteCacheConfig;
+import com.enterprise.gateway.dto.event.CacheInvalidationEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ResponseCacheServiceTest {
+
+    private static final String INSTANCE_ID = "api-gateway:10.0.0.1:8080";
+    private static final String BOARD = "board-service";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RouteCacheConfig routeConfig = new RouteCacheConfig();
+    private GatewayEventProducer eventProducer;
+    private ResponseCacheService service;
+
+    @BeforeEach
+    void setUp() {
+        GatewayRouteProperties properties = new GatewayRouteProperties();
+        properties.getResponseCache().getRoutes().put("board-service-public", routeConfig);
+        eventProducer = mock(GatewayEventProducer.class);
+        service = new ResponseCacheService(properties, eventProducer, objectMapper, INSTANCE_ID, meterRegistry);
+    }
+
+    @Test
+    void put_StoresOnlyReplayableHeadersAndGeneratesEtag() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("Access-Control-Allow-Origin", "*");
+        headers.set("X-RateLimit-Remaining", "9");
+
+        service.put("k1", BOARD, "/api/boards/1", service.generation(BOARD), routeConfig, headers, body("{}"));
+
+        ResponseCacheService.CachedResponse cached = service.get("k1");
+        assertNotNull(cached);
+        assertEquals(MediaType.APPLICATION_JSON, cached.headers().getContentType());
+        assertNull(cached.headers().getFirst("Access-Control-Allow-Origin"));
+        assertNull(cached.headers().getFirst("X-RateLimit-Remaining"));
+        assertNotNull(cached.etag());
+        assertEquals(cached.etag(), cached.headers().getETag());
+    }
+
+    @Test
+    void invalidateOnWrite_RemovesServiceEntriesAndBroadcasts() {
+        put("k1", BOARD, "/api/boards/1");
+        put("k2", "product-service", "/api/products/1");
+
+        service.invalidateOnWrite(BOARD, "/api/boards/1");
+
+        assertNull(service.get("k1"));
+        assertNotNull(service.get("k2"));
+        ArgumentCaptor<CacheInvalidationEvent> captor = ArgumentCaptor.forClass(CacheInvalidationEvent.class);
+        verify(eventProducer).sendCacheInvalidationEvent(captor.capture());
+        assertEquals(BOARD, captor.getValue().getServiceName());
+        assertEquals(INSTANCE_ID, captor.getValue().getInstanceId());
+        assertNull(captor.getValue().getPathPrefix());
+    }
+
+    @Test
+    void invalidateOnWrite_DropsResponseReadBeforeInvalidation() {
+        long generation = service.generation(BOARD);
+
+        service.invalidateOnWrite(BOARD, "/api/boards/1");
+        service.put("k1", BOARD, "/api/boards/1", generation, routeConfig, new HttpHeaders(), body("stale"));
+
+        assertNull(service.get("k1"));
+    }
+
+    @Test
+    void prefixInvalidation_RemovesOnlyMatchingPaths() throws Exception {
+        put("k1", BOARD, "/api/boards/1");
+        put("k2", BOARD, "/api/boards/search/q");
+
+        service.onInvalidationEvent(event(BOARD, "/api/boards/search", null));
+
+        assertNotNull(service.get("k1"));
+        assertNull(service.get("k2"));
+        assertEquals(1.0, meterRegistry.get("gateway.cache.invalidations").tag("source", "remote").counter().count());
+    }
+
+    @Test
+    void prefixInvalidation_DropsResponseReadBeforeInvalidation() throws Exception {
+        long generation = service.generation(BOARD);
+
+        // 무효화 전에 읽은 응답이 무효화 후에 도착 - 서비스 전체 무효화와 같이 저장하지 않는다
+        service.onInvalidationEvent(event(BOARD, "/api/boards/search", null));
+        service.put("k1", BOARD, "/api/boards/search/q", generation, routeConfig, new HttpHeaders(), body("stale"));
+
+        assertNull(service.get("k1"));
+
+        // 무효화 후 시작한 요청은 저장
+        put("k2", BOARD, "/api/boards/search/q");
+        assertNotNull(service.get("k2"));
+    }
+
+    @Test
+    void onInvalidationEvent_IgnoresOwnAndMalformedEvents() throws Exception {
+        put("k1", BOARD, "/api/boards/1");
+
+        service.onInvalidationEvent(event(BOARD, null, INSTANCE_ID));
+        service.onInvalidationEvent("{not json");
+        service.onInvalidationEvent(event(null, null, null));
+
+        assertNotNull(service.get("k1"));
+        assertEquals(0.0, meterRegistry.get("gateway.cache.invalidations").tag("source", "remote").counter().count());
+    }
+
+    @Test
+    void invalidateOnWrite_BroadcastFailureDoesNotFailWrite() {
+        doThrow(new IllegalStateException("kafka down")).when(eventProducer).sendCacheInvalidationEvent(any());
+        put("k1", BOARD, "/api/boards/1");
+
+        assertDoesNotThrow(() -> service.invalidateOnWrite(BOARD, "/api/boards/1"));
+        assertNull(service.get("k1"));
+    }
+
+    @Test
+    void register_MarksServiceOfCachedRouteOnly() {
+        assertSame(routeConfig, service.register("board-service-public", "lb://board-service"));
+        assertNull(service.register("product-service", "lb://product-service"));
+
+        assertTrue(service.isCachedService(BOARD));
+        assertFalse(service.isCachedService("product-service"));
+        assertTrue(service.isCachedRoute("board-service-public"));
+    }
+
+    private void put(String key, String serviceName, String path) {
+        service.put(key, serviceName, path, service.generation(serviceName), routeConfig, new HttpHeaders(), body(key));
+    }
+
+    private String event(String serviceName, String pathPrefix, String instanceId) throws Exception {
+        return objectMapper.writeValueAsString(CacheInvalidationEvent.builder()
+                .serviceName(serviceName)
+                .pathPrefix(pathPrefix)
+                .instanceId(instanceId)
+                .timestamp(System.currentTimeMillis())
+                .eventType("CACHE_INVALIDATION")
+                .build());
+    }
+
+    private static byte[] body(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+}
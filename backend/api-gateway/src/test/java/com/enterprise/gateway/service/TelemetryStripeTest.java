@@ -0,0 +1,128 @@
+package com.enterprise.gateway.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TelemetryStripeTest {
+
+    @Test
+    void constructor_RejectsNonPowerOfTwoCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new TelemetryStripe<String>(3));
+        assertThrows(IllegalArgumentException.class, () -> new TelemetryStripe<String>(0));
+    }
+
+    @Test
+    void offer_RejectsWhenFullUntilDrained() {
+        TelemetryStripe<String> stripe = new TelemetryStripe<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(stripe.offer("r" + i));
+        }
+        assertFalse(stripe.offer("overflow"));
+        assertEquals(4, stripe.size());
+
+        List<String> out = new ArrayList<>();
+        assertEquals(2, stripe.drainTo(out, 2));
+        assertEquals(List.of("r0", "r1"), out);
+
+        // 비운 만큼 다시 넣을 수 있다
+        assertTrue(stripe.offer("r4"));
+        assertTrue(stripe.offer("r5"));
+        assertFalse(stripe.offer("overflow"));
+    }
+
+    @Test
+    void drainTo_KeepsFifoOrderAcrossWrapAround() {
+        TelemetryStripe<Integer> stripe = new TelemetryStripe<>(8);
+        List<Integer> out = new ArrayList<>();
+        int next = 0;
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 5; i++) {
+                assertTrue(stripe.offer(next++));
+            }
+            stripe.drainTo(out, Integer.MAX_VALUE);
+        }
+
+        assertEquals(50, out.size());
+        for (int i = 0; i < out.size(); i++) {
+            assertEquals(i, out.get(i));
+        }
+        assertEquals(0, stripe.size());
+    }
+
+    @Test
+    void drainTo_EmptyStripeReturnsZero() {
+        TelemetryStripe<String> stripe = new TelemetryStripe<>(2);
+        List<String> out = new ArrayList<>();
+
+        assertEquals(0, stripe.drainTo(out, 10));
+        assertTrue(out.isEmpty());
+    }
+
+    @Test
+    void concurrentProducers_EveryRecordDrainedOnceInProducerOrder() throws Exception {
+        int producers = 4;
+        int perProducer = 50_000;
+        TelemetryStripe<Long> stripe = new TelemetryStripe<>(1024);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger(producers);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            long producer = p;
+            Thread thread = new Thread(() -> {
+                await(start);
+                for (int seq = 0; seq < perProducer; seq++) {
+                    // 가득 차면 소비자가 비울 때까지 다시 시도
+                    while (!stripe.offer(producer << 32 | seq)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                running.decrementAndGet();
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        // 단일 소비자
+        int[] expectedSeq = new int[producers];
+        List<Long> batch = new ArrayList<>();
+        long received = 0;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        start.countDown();
+        while (received < (long) producers * perProducer) {
+            assertTrue(System.nanoTime() < deadline, "timed out after " + received + " records");
+            batch.clear();
+            stripe.drainTo(batch, 256);
+            for (long item : batch) {
+                int producer = (int) (item >>> 32);
+                int seq = (int) item;
+                assertEquals(expectedSeq[producer], seq, "producer " + producer);
+                expectedSeq[producer]++;
+            }
+            received += batch.size();
+        }
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+
+        assertEquals(0, running.get());
+        for (int p = 0; p < producers; p++) {
+            assertEquals(perProducer, expectedSeq[p]);
+        }
+        assertEquals(0, stripe.size());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
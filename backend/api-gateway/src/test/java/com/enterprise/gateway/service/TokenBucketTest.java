@@ -0,0 +1,89 @@
+package com.enterprise.gateway.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private static final long NOW = 1_000_000_000_000L;
+    // 초당 10개, 버스트 20
+    private static final long INTERVAL = 100_000_000L;
+    private static final long CAPACITY = 20 * INTERVAL;
+
+    @Test
+    void tryAcquire_CountsDownRemainingBurst() {
+        TokenBucket bucket = new TokenBucket();
+
+        for (int i = 19; i >= 0; i--) {
+            assertEquals(i, bucket.tryAcquire(NOW, INTERVAL, CAPACITY, false));
+        }
+    }
+
+    @Test
+    void tryAcquire_EncodesWaitUntilNextTokenWhenRejected() {
+        TokenBucket bucket = drained();
+
+        // 거절: -(대기 나노초) - 1 → 다음 토큰까지 interval
+        long result = bucket.tryAcquire(NOW, INTERVAL, CAPACITY, false);
+        assertEquals(-INTERVAL - 1, result);
+        assertEquals(-(INTERVAL - 30_000_000L) - 1, bucket.tryAcquire(NOW + 30_000_000L, INTERVAL, CAPACITY, false));
+
+        // 거절은 tat 를 미루지 않음
+        assertEquals(0, bucket.tryAcquire(NOW + INTERVAL, INTERVAL, CAPACITY, false));
+        assertEquals(-INTERVAL - 1, bucket.tryAcquire(NOW + INTERVAL, INTERVAL, CAPACITY, false));
+    }
+
+    @Test
+    void tryAcquire_RefillsUpToCapacityAfterIdle() {
+        TokenBucket bucket = drained();
+
+        assertEquals(4, bucket.tryAcquire(NOW + 5 * INTERVAL, INTERVAL, CAPACITY, false));
+        // 오래 쉬어도 버스트 이상 쌓이지 않음
+        assertEquals(19, bucket.tryAcquire(NOW + 3_600 * 1_000_000_000L, INTERVAL, CAPACITY, false));
+    }
+
+    @Test
+    void charge_NeverPushesTatPastNowPlusCapacity() {
+        TokenBucket bucket = new TokenBucket();
+        bucket.charge(NOW, 1_000, INTERVAL, CAPACITY);
+
+        // 가득 찬 것과 같은 상태: 다음 토큰까지 interval 만 기다림
+        assertEquals(-INTERVAL - 1, bucket.tryAcquire(NOW, INTERVAL, CAPACITY, false));
+        assertEquals(0, bucket.tryAcquire(NOW + INTERVAL, INTERVAL, CAPACITY, false));
+    }
+
+    @Test
+    void charge_ConsumesTokensAndNeverMovesTatBackwards() {
+        TokenBucket bucket = new TokenBucket();
+        bucket.charge(NOW, 5, INTERVAL, CAPACITY);
+        assertEquals(14, bucket.tryAcquire(NOW, INTERVAL, CAPACITY, false));
+
+        // 이미 비어 있는 버킷에 지난 시각으로 차감해도 tat 는 그대로
+        TokenBucket empty = drained();
+        empty.charge(NOW - CAPACITY, 1, INTERVAL, CAPACITY);
+        assertEquals(-INTERVAL - 1, empty.tryAcquire(NOW, INTERVAL, CAPACITY, false));
+    }
+
+    @Test
+    void drainConsumed_CountsOnlyAllowedRequests() {
+        TokenBucket bucket = new TokenBucket();
+        for (int i = 0; i < 25; i++) {
+            bucket.tryAcquire(NOW, INTERVAL, CAPACITY, true);
+        }
+
+        assertEquals(20, bucket.drainConsumed());
+        assertEquals(0, bucket.drainConsumed());
+        // 다른 인스턴스 사용량 차감은 로컬 사용량이 아님
+        bucket.charge(NOW + CAPACITY, 3, INTERVAL, CAPACITY);
+        assertEquals(0, bucket.drainConsumed());
+    }
+
+    private static TokenBucket drained() {
+        TokenBucket bucket = new TokenBucket();
+        for (int i = 0; i < 20; i++) {
+            assertTrue(bucket.tryAcquire(NOW, INTERVAL, CAPACITY, false) >= 0);
+        }
+        return bucket;
+    }
+}
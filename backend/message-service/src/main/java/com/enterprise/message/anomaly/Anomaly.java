@@ -0,0 +1,13 @@
+package com.enterprise.message.anomaly;
+
+/**
+ * 감지된 이상 한 건
+ *
+ * @param channel 채널 인덱스 (iot.telemetry.channels 순서)
+ * @param value   관측값
+ * @param mean    관측 직전 EWMA 평균
+ * @param stdDev  관측 직전 EWMA 표준편차
+ * @param zScore  (value - mean) / stdDev
+ */
+public record Anomaly(int channel, double value, double mean, double stdDev, double zScore) {
+}
@@ -0,0 +1,169 @@
+package com.enterprise.message.anomaly;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 디바이스·채널별 EWMA 평균/분산 기반 z-score 이상 감지
+ *
+ * 관측값 x 마다 직전 통계로 z = (x - mean) / max(stdDev, minStdDev) 를 계산한 뒤 통계를 갱신한다.
+ *   diff = x - mean, mean += alpha × diff, var = (1 - alpha) × (var + alpha × diff²)
+ * 이상값도 통계에 반영하므로 수준이 바뀐(level shift) 채널은 점차 새 수준에 적응한다.
+ *
+ * 통계는 디바이스 슬롯 × 채널 크기의 원시 배열에 두며, deviceId → 슬롯 매핑과 배열은
+ * stripes 개로 나뉘어 stripe 마다 잠근다.
+ */
+public final class EwmaAnomalyDetector {
+
+    private final int channels;
+    private final double alpha;
+    private final double threshold;
+    private final int warmup;
+    private final double minStdDev;
+    private final long cooldownMillis;
+    private final int maxDevices;
+    private final Stripe[] stripes;
+    private final int stripeMask;
+    private final AtomicInteger devices = new AtomicInteger();
+
+    public EwmaAnomalyDetector(int channels, double alpha, double threshold, int warmup,
+                               double minStdDev, long cooldownMillis, int maxDevices, int stripeCount) {
+        if (alpha <= 0 || alpha >= 1 || threshold <= 0 || Integer.bitCount(stripeCount) != 1) {
+            throw new IllegalArgumentException("Invalid anomaly detector settings: alpha=" + alpha
+                    + ", threshold=" + threshold + ", stripes=" + stripeCount);
+        }
+        this.channels = channels;
+        this.alpha = alpha;
+        this.threshold = threshold;
+        this.warmup = warmup;
+        this.minStdDev = minStdDev;
+        this.cooldownMillis = cooldownMillis;
+        this.maxDevices = maxDevices;
+        this.stripeMask = stripeCount - 1;
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * 샘플 하나 평가 후 통계 갱신
+     *
+     * @param values 채널 값 (NaN 채널은 건너뜀)
+     * @return 감지된 이상 (없으면 빈 목록), 디바이스 한도를 넘은 새 디바이스면 null
+     */
+    public List<Anomaly> observe(String deviceId, long timestamp, double[] values) {
+        Stripe stripe = stripes[spread(deviceId.hashCode()) & stripeMask];
+        synchronized (stripe) {
+            int slot = stripe.slotOf(deviceId);
+            if (slot < 0) {
+                return null;
+            }
+
+            List<Anomaly> anomalies = List.of();
+            int base = slot * channels;
+            for (int c = 0; c < channels && c < values.length; c++) {
+                double x = values[c];
+                if (Double.isNaN(x) || Double.isInfinite(x)) {
+                    continue;
+                }
+                int i = base + c;
+                int n = stripe.count[i];
+
+                if (n == 0) {
+                    stripe.mean[i] = x;
+                    stripe.variance[i] = 0;
+                    stripe.count[i] = 1;
+                    continue;
+                }
+
+                double mean = stripe.mean[i];
+                double stdDev = Math.max(Math.sqrt(stripe.variance[i]), minStdDev);
+                double z = (x - mean) / stdDev;
+
+                if (n >= warmup && Math.abs(z) >= threshold
+                        && timestamp - stripe.lastAlert[i] >= cooldownMillis) {
+                    stripe.lastAlert[i] = timestamp;
+                    if (anomalies.isEmpty()) {
+                        anomalies = new ArrayList<>(2);
+                    }
+                    anomalies.add(new Anomaly(c, x, mean, stdDev, z));
+                }
+
+                double diff = x - mean;
+                stripe.mean[i] = mean + alpha * diff;
+                stripe.variance[i] = (1 - alpha) * (stripe.variance[i] + alpha * diff * diff);
+                if (n < Integer.MAX_VALUE) {
+                    stripe.count[i] = n + 1;
+                }
+            }
+            return anomalies;
+        }
+    }
+
+    public int deviceCount() {
+        return devices.get();
+    }
+
+    private static int spread(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        return h;
+    }
+
+    /**
+     * deviceId → 슬롯 매핑과 슬롯 × 채널 통계 배열 (인스턴스 자체를 락으로 사용)
+     */
+    private final class Stripe {
+
+        final Map<String, Integer> slots = new HashMap<>();
+        double[] mean;
+        double[] variance;
+        int[] count;
+        long[] lastAlert;
+
+        Stripe() {
+            allocate(64);
+        }
+
+        int slotOf(String deviceId) {
+            Integer slot = slots.get(deviceId);
+            if (slot != null) {
+                return slot;
+            }
+            if (devices.get() >= maxDevices) {
+                return -1;
+            }
+            int next = slots.size();
+            if ((next + 1) * channels > mean.length) {
+                allocate(Math.max(64, next << 1));
+            }
+            slots.put(deviceId, next);
+            devices.incrementAndGet();
+            return next;
+        }
+
+        private void allocate(int deviceSlots) {
+            int length = deviceSlots * channels;
+            if (mean == null) {
+                mean = new double[length];
+                variance = new double[length];
+                count = new int[length];
+                lastAlert = new long[length];
+                Arrays.fill(lastAlert, Long.MIN_VALUE / 2);
+                return;
+            }
+            int old = lastAlert.length;
+            mean = Arrays.copyOf(mean, length);
+            variance = Arrays.copyOf(variance, length);
+            count = Arrays.copyOf(count, length);
+            lastAlert = Arrays.copyOf(lastAlert, length);
+            Arrays.fill(lastAlert, old, length, Long.MIN_VALUE / 2);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.enterprise.message.codec;
+
+import com.enterprise.message.dto.iot.IoTDeviceMessageDto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * 압축 바이너리 → IoTDeviceMessageDto 디코더 (schema v1)
+ * 레이아웃은 mqtt-service 의 com.enterprise.mqtt.codec.CompactMessageCodec 과 동일해야 한다.
+ *
+ * <pre>
+ * byte     schemaVersion (1)
+ * byte     flags
+ * byte     messageType (ordinal + 1, 0 = null)
+ * byte     qos (0xFF = null)
+ * [16]     messageId UUID (msb, lsb)         FLAG_MESSAGE_ID_UUID
+ * string   messageId                          FLAG_MESSAGE_ID_STRING
+ * varlong  receivedAt epoch second (zigzag)   FLAG_RECEIVED_AT
+ * varint   receivedAt nano                    FLAG_RECEIVED_AT
+ * string   topic                              FLAG_TOPIC
+ * string   deviceId                           FLAG_DEVICE_ID
+ * string   rawMessage                         FLAG_RAW_MESSAGE
+ * string   parsedMessage                      FLAG_PARSED_MESSAGE
+ * bytes    frame                              FLAG_FRAME
+ * </pre>
+ */
+public final class CompactMessageCodec {
+
+    public static final int SCHEMA_VERSION = 1;
+
+    static final int FLAG_MESSAGE_ID_UUID = 1;
+    static final int FLAG_MESSAGE_ID_STRING = 1 << 1;
+    static final int FLAG_RECEIVED_AT = 1 << 2;
+    static final int FLAG_TOPIC = 1 << 3;
+    static final int FLAG_DEVICE_ID = 1 << 4;
+    static final int FLAG_RAW_MESSAGE = 1 << 5;
+    static final int FLAG_PARSED_MESSAGE = 1 << 6;
+    static final int FLAG_FRAME = 1 << 7;
+
+    private static final int NULL_QOS = 0xFF;
+
+    /**
+     * enum 순서는 mqtt-service MqttMessage.MessageType 과 동일
+     */
+    private static final IoTDeviceMessageDto.MessageType[] MESSAGE_TYPES = IoTDeviceMessageDto.MessageType.values();
+
+    private CompactMessageCodec() {
+    }
+
+    /**
+     * @throws IllegalArgumentException 지원하지 않는 스키마 버전 또는 손상된 데이터
+     */
+    public static IoTDeviceMessageDto decode(byte[] data) {
+        Reader r = new Reader(data);
+        int version = r.readByte();
+        if (version != SCHEMA_VERSION) {
+            throw new IllegalArgumentException("Unsupported compact schema version: " + version);
+        }
+        int flags = r.readByte();
+        int type = r.readByte();
+        int qos = r.readByte();
+
+        IoTDeviceMessageDto message = new IoTDeviceMessageDto();
+        if (type > 0) {
+            if (type > MESSAGE_TYPES.length) {
+                throw new IllegalArgumentException("Unknown message type ordinal: " + (type - 1));
+            }
+            message.setMessageType(MESSAGE_TYPES[type - 1]);
+        }
+        message.setQos(qos == NULL_QOS ? null : qos);
+
+        if ((flags & FLAG_MESSAGE_ID_UUID) != 0) {
+            message.setMessageId(new UUID(r.readLong(), r.readLong()).toString());
+        } else if ((flags & FLAG_MESSAGE_ID_STRING) != 0) {
+            message.setMessageId(r.readString());
+        }
+        if ((flags & FLAG_RECEIVED_AT) != 0) {
+            long zigzag = r.readVarLong();
+            long seconds = (zigzag >>> 1) ^ -(zigzag & 1);
+            message.setReceivedAt(LocalDateTime.ofEpochSecond(seconds, (int) r.readVarLong(), ZoneOffset.UTC));
+        }
+        if ((flags & FLAG_TOPIC) != 0) {
+            message.setTopic(r.readString());
+        }
+        if ((flags & FLAG_DEVICE_ID) != 0) {
+            message.setDeviceId(r.readString());
+        }
+        if ((flags & FLAG_RAW_MESSAGE) != 0) {
+            message.setRawMessage(r.readString());
+        }
+        if ((flags & FLAG_PARSED_MESSAGE) != 0) {
+            message.setParsedMessage(r.readString());
+        }
+        if ((flags & FLAG_FRAME) != 0) {
+            message.setFrame(r.readBytes());
+        }
+        return message;
+    }
+
+    private static final class Reader {
+
+        private final byte[] buf;
+        private int pos;
+
+        Reader(byte[] buf) {
+            this.buf = buf;
+        }
+
+        int readByte() {
+            check(1);
+            return buf[pos++] & 0xFF;
+        }
+
+        long readLong() {
+            check(8);
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (buf[pos++] & 0xFF);
+            }
+            return value;
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint");
+        }
+
+        String readString() {
+            int length = readLength();
+            String value = new String(buf, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+            return value;
+        }
+
+        byte[] readBytes() {
+            int length = readLength();
+            byte[] value = Arrays.copyOfRange(buf, pos, pos + length);
+            pos += length;
+            return value;
+        }
+
+        private int readLength() {
+            long length = readVarLong();
+            if (length > buf.length - pos) {
+                throw new IllegalArgumentException("Truncated compact record");
+            }
+            return (int) length;
+        }
+
+        private void check(int bytes) {
+            if (pos + bytes > buf.length) {
+                throw new IllegalArgumentException("Truncated compact record");
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.enterprise.message.codec;
+
+import com.enterprise.message.dto.iot.IoTDeviceMessageDto;
+
+import java.util.HexFormat;
+
+/**
+ * 메시지 → 디바이스 식별 key / 프레임 바이트
+ * 상태 저장소, 텔레메트리 저장소가 같은 디바이스를 같은 key 로 보도록 한 곳에서 결정한다.
+ */
+public final class DeviceKeys {
+
+    private static final HexFormat HEX = HexFormat.of().withUpperCase();
+
+    private DeviceKeys() {
+    }
+
+    /**
+     * frame 포맷 레코드는 frame, JSON 포맷 레코드는 parsedMessage(Hex) (없으면 null)
+     */
+    public static byte[] frameOf(IoTDeviceMessageDto message) {
+        if (message.getFrame() != null) {
+            return message.getFrame();
+        }
+        String hex = message.getParsedMessage();
+        if (hex != null && !hex.isEmpty() && (hex.length() & 1) == 0) {
+            try {
+                return HEX.parseHex(hex);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * deviceId (Serial Number), 없으면 deviceID[0-3] 가 0 이 아닐 때 "#" + Hex
+     * (mqtt-service 의 topic-serial fallback key 와 같은 식별 기준, 토픽 접두어 제외)
+     *
+     * @return 식별할 수 없으면 null
+     */
+    public static String deviceKey(IoTDeviceMessageDto message, byte[] frame) {
+        if (message.getDeviceId() != null) {
+            return message.getDeviceId();
+        }
+        return frameKey(frame);
+    }
+
+    /**
+     * deviceID[0-3] 가 0 이 아니면 "#" + Hex (Serial Number 와 무관하게 프레임 헤더만으로 정한 key)
+     * REQUEST 외의 프레임(RESPONSE, ECHO 등)은 Serial Number 가 없으므로 이 key 로만 디바이스를 구분할 수 있다.
+     *
+     * @return 프레임이 없거나 짧거나 deviceID 가 0 이면 null
+     */
+    public static String frameKey(byte[] frame) {
+        if (frame != null && frame.length >= DeviceFrame.DEVICE_ID_LENGTH
+                && new DeviceFrame().wrap(frame).deviceIdField() != 0) {
+            return '#' + HEX.formatHex(frame, DeviceFrame.DEVICE_ID_OFFSET, DeviceFrame.DEVICE_ID_LENGTH);
+        }
+        return null;
+    }
+}
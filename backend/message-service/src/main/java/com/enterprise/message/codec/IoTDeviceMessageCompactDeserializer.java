@@ -0,0 +1,23 @@
+package com.enterprise.message.codec;
+
+import com.enterprise.message.dto.iot.IoTDeviceMessageDto;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+/**
+ * Kafka Deserializer - 압축 바이너리 → IoTDeviceMessageDto ({@link CompactMessageCodec})
+ */
+public class IoTDeviceMessageCompactDeserializer implements Deserializer<IoTDeviceMessageDto> {
+
+    @Override
+    public IoTDeviceMessageDto deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return CompactMessageCodec.decode(data);
+        } catch (IllegalArgumentException e) {
+            throw new SerializationException("Failed to deserialize compact IoT message from topic " + topic, e);
+        }
+    }
+}
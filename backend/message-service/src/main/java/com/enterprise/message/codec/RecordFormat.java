@@ -0,0 +1,61 @@
+package com.enterprise.message.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Kafka 레코드 value 포맷
+ * 포맷은 iot-format 헤더로 전달되며, 헤더가 없으면 JSON 으로 간주한다.
+ */
+public enum RecordFormat {
+
+    /**
+     * JSON (프레임은 parsedMessage 에 Hex 로 포함)
+     */
+    JSON("json"),
+
+    /**
+     * 디바이스 프레임 원본 + 메타데이터 헤더 (프레임이 없는 메시지는 JSON)
+     */
+    FRAME("frame"),
+
+    /**
+     * 스키마 버전이 있는 압축 바이너리 ({@link CompactMessageCodec})
+     */
+    COMPACT("compact");
+
+    public static final String HEADER = "iot-format";
+
+    private final String headerValue;
+    private final byte[] headerBytes;
+
+    RecordFormat(String headerValue) {
+        this.headerValue = headerValue;
+        this.headerBytes = headerValue.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    public String getHeaderValue() {
+        return headerValue;
+    }
+
+    /**
+     * iot-format 헤더 값 (호출자가 수정하지 않아야 함)
+     */
+    public byte[] headerBytes() {
+        return headerBytes;
+    }
+
+    /**
+     * 헤더 값 → 포맷 (헤더 없음/알 수 없는 값은 JSON)
+     */
+    public static RecordFormat fromHeader(byte[] value) {
+        if (value != null) {
+            for (RecordFormat format : values()) {
+                if (Arrays.equals(format.headerBytes, value)) {
+                    return format;
+                }
+            }
+        }
+        return JSON;
+    }
+}
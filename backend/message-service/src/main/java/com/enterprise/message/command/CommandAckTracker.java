@@ -0,0 +1,274 @@
+package com.enterprise.message.command;
+
+import com.enterprise.message.codec.DeviceKeys;
+import com.enterprise.message.config.CommandAckProperties;
+import com.enterprise.message.dto.iot.CommandStatusDto;
+import com.enterprise.message.dto.iot.IoTCommandDto;
+import com.enterprise.message.dto.iot.IoTDeviceMessageDto;
+import com.enterprise.message.exception.ResourceNotFoundException;
+import com.enterprise.message.service.DeviceSerialRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * IoT 명령 ↔ 디바이스 응답 대응 / 왕복 시간 측정
+ *
+ * 명령 경로: REST → Kafka → mqtt-service → AWS IoT → 디바이스 → mqtt-service → Kafka → 이 서비스
+ *
+ * 디바이스 프레임에는 commandId 도 Serial Number 도 없으므로(REQUEST 외의 프레임은 deviceID[0-3] 만 가짐)
+ * 명령은 발행 시점에 DeviceSerialRegistry 로 Serial → "#" + deviceID Hex 를 찾아 그 key 의 대기 큐에 넣고,
+ * 응답 프레임의 deviceID 로 큐를 찾아 응답 타입이 맞는 가장 오래된 명령을 응답으로 처리한다
+ * (RESPONSE 는 타입과 무관하게 가장 오래된 명령). 등록된 적 없는 Serial 로 보낸 명령은 추적하지 않는다(untracked).
+ * 응답이 없는 명령은 TimeoutWheel 로 만료시키며, 명령마다 타이머를 만들지 않는다.
+ * 대기 표 / 디바이스 큐 / 휠은 명령 등록과 응답 처리에서 모두 O(1) 이다 (디바이스당 대기 명령 수는 적다).
+ *
+ * 메트릭:
+ * - iot.command.rtt{type}: 발행 → 응답 수신 시간 (percentile histogram)
+ * - iot.command.acks{result}: acknowledged / timeout / send_failed / unmatched / untracked / unresolved
+ * - iot.command.pending: 응답 대기 중인 명령 수
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CommandAckTracker {
+
+    private final CommandAckProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final DeviceSerialRegistry deviceSerialRegistry;
+
+    private final Map<String, PendingCommand> pending = new ConcurrentHashMap<>();
+    private final Map<String, ArrayDeque<PendingCommand>> pendingByDevice = new ConcurrentHashMap<>();
+    private Map<String, PendingCommand> completed;
+    private TimeoutWheel<PendingCommand> wheel;
+    private ScheduledExecutorService ticker;
+
+    private final Map<IoTDeviceMessageDto.MessageType, Timer> rttTimers =
+            new EnumMap<>(IoTDeviceMessageDto.MessageType.class);
+    private final Map<CommandStatusDto.Status, Counter> resultCounters = new EnumMap<>(CommandStatusDto.Status.class);
+    private Counter unmatchedCounter;
+    private Counter untrackedCounter;
+    private Counter unresolvedCounter;
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            log.info("IoT command ack tracking disabled");
+            return;
+        }
+        int completedCapacity = properties.getCompletedCapacity();
+        completed = Collections.synchronizedMap(new LinkedHashMap<>(1024, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PendingCommand> eldest) {
+                return size() > completedCapacity;
+            }
+        });
+        long tickNanos = properties.getTick().toNanos();
+        wheel = new TimeoutWheel<>(tickNanos, properties.getWheelSize(), System.nanoTime());
+        registerMetrics();
+
+        ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "iot-command-timeout");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::expire, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+
+        log.info("IoT command ack tracking started - timeout: {}, per type: {}, tick: {}",
+                properties.getTimeout(), properties.getTimeouts(), properties.getTick());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    /**
+     * 발행 직전 명령 등록 (commandId / deviceId 가 있어야 함)
+     * deviceId 는 Serial Number 또는 "#" + deviceID Hex 이다.
+     */
+    public void register(IoTCommandDto command) {
+        if (wheel == null || command.getDeviceId() == null) {
+            return;
+        }
+        if (pending.size() >= properties.getMaxPending()) {
+            untrackedCounter.increment();
+            return;
+        }
+        String deviceKey = command.getDeviceId().startsWith("#")
+                ? command.getDeviceId()
+                : deviceSerialRegistry.deviceKey(command.getDeviceId());
+        if (deviceKey == null) {
+            // 응답 프레임의 deviceID 를 알 수 없어 대응시킬 수 없음
+            unresolvedCounter.increment();
+            log.debug("IoT command not tracked, serial not registered - Command ID: {}, Device: {}",
+                    command.getCommandId(), command.getDeviceId());
+            return;
+        }
+        long now = System.nanoTime();
+        PendingCommand entry = new PendingCommand(command.getCommandId(), command.getDeviceId(), deviceKey,
+                command.getMessageType(), System.currentTimeMillis(), now);
+        if (pending.putIfAbsent(entry.commandId, entry) != null) {
+            return;
+        }
+        pendingByDevice.compute(entry.deviceKey, (key, queue) -> {
+            ArrayDeque<PendingCommand> commands = queue != null ? queue : new ArrayDeque<>(2);
+            commands.addLast(entry);
+            return commands;
+        });
+        Duration timeout = properties.timeoutOf(entry.messageType);
+        wheel.add(entry, now + timeout.toNanos());
+    }
+
+    /**
+     * Kafka 전송 실패 (응답을 기다리지 않음)
+     */
+    public void sendFailed(String commandId) {
+        if (commandId == null) {
+            return;
+        }
+        PendingCommand entry = pending.get(commandId);
+        if (entry != null && entry.fail(CommandStatusDto.Status.SEND_FAILED)) {
+            complete(entry);
+        }
+    }
+
+    /**
+     * 디바이스에서 온 메시지로 대기 중인 명령을 응답 처리 (프레임의 deviceID[0-3] 로 대응)
+     *
+     * @return 대응하는 명령이 있었는지
+     */
+    public boolean acknowledge(IoTDeviceMessageDto message) {
+        if (wheel == null || message.getMessageType() == null) {
+            return false;
+        }
+        String deviceKey = DeviceKeys.frameKey(DeviceKeys.frameOf(message));
+        if (deviceKey == null) {
+            return false;
+        }
+        long now = System.nanoTime();
+        PendingCommand[] matched = new PendingCommand[1];
+        pendingByDevice.computeIfPresent(deviceKey, (key, queue) -> {
+            Iterator<PendingCommand> it = queue.iterator();
+            while (it.hasNext()) {
+                PendingCommand entry = it.next();
+                if (entry.answeredBy(message.getMessageType()) && entry.acknowledge(message, now)) {
+                    it.remove();
+                    matched[0] = entry;
+                    break;
+                }
+            }
+            return queue.isEmpty() ? null : queue;
+        });
+
+        PendingCommand entry = matched[0];
+        if (entry == null) {
+            unmatchedCounter.increment();
+            return false;
+        }
+        complete(entry);
+        rttTimers.get(entry.messageType != null ? entry.messageType : IoTDeviceMessageDto.MessageType.RESPONSE)
+                .record(entry.rttNanos(), TimeUnit.NANOSECONDS);
+        if (log.isDebugEnabled()) {
+            log.debug("IoT command acknowledged - Command ID: {}, Device: {}, Type: {}, RTT: {} ms",
+                    entry.commandId, entry.deviceId, entry.messageType, entry.rttNanos() / 1_000_000);
+        }
+        return true;
+    }
+
+    /**
+     * 명령 상태 (대기 중이거나 최근 completed-capacity 건 안에서 끝난 명령)
+     *
+     * @throws ResourceNotFoundException 추적하지 않았거나 보관 범위를 벗어난 명령
+     */
+    public CommandStatusDto get(String commandId) {
+        PendingCommand entry = pending.get(commandId);
+        if (entry == null && completed != null) {
+            entry = completed.get(commandId);
+        }
+        if (entry == null) {
+            throw new ResourceNotFoundException("Command not tracked: " + commandId);
+        }
+        return entry.toDto();
+    }
+
+    private void expire() {
+        try {
+            wheel.advance(System.nanoTime(), entry -> {
+                if (entry.fail(CommandStatusDto.Status.TIMED_OUT)) {
+                    complete(entry);
+                    log.debug("IoT command timed out - Command ID: {}, Device: {}, Type: {}",
+                            entry.commandId, entry.deviceId, entry.messageType);
+                }
+            });
+        } catch (Exception e) {
+            log.error("IoT command timeout sweep failed", e);
+        }
+    }
+
+    /**
+     * 대기 표에서 보관 표로 이동 (응답으로 끝난 명령은 이미 디바이스 큐에서 빠짐)
+     */
+    private void complete(PendingCommand entry) {
+        pending.remove(entry.commandId);
+        completed.put(entry.commandId, entry);
+        CommandStatusDto.Status status = entry.status();
+        resultCounters.get(status).increment();
+        if (status != CommandStatusDto.Status.ACKNOWLEDGED) {
+            pendingByDevice.computeIfPresent(entry.deviceKey, (key, queue) -> {
+                queue.remove(entry);
+                return queue.isEmpty() ? null : queue;
+            });
+        }
+    }
+
+    private void registerMetrics() {
+        for (IoTDeviceMessageDto.MessageType type : IoTDeviceMessageDto.MessageType.values()) {
+            Duration timeout = properties.timeoutOf(type);
+            rttTimers.put(type, Timer.builder("iot.command.rtt")
+                    .description("IoT command round trip (publish to device response)")
+                    .tag("type", type.name())
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(10))
+                    .maximumExpectedValue(timeout)
+                    .register(meterRegistry));
+        }
+        resultCounters.put(CommandStatusDto.Status.ACKNOWLEDGED, resultCounter("acknowledged"));
+        resultCounters.put(CommandStatusDto.Status.TIMED_OUT, resultCounter("timeout"));
+        resultCounters.put(CommandStatusDto.Status.SEND_FAILED, resultCounter("send_failed"));
+        unmatchedCounter = resultCounter("unmatched");
+        untrackedCounter = resultCounter("untracked");
+        unresolvedCounter = resultCounter("unresolved");
+
+        Gauge.builder("iot.command.pending", pending, Map::size)
+                .description("IoT commands waiting for a device response")
+                .register(meterRegistry);
+    }
+
+    private Counter resultCounter(String result) {
+        return Counter.builder("iot.command.acks")
+                .description("IoT command outcomes and device responses without a pending command")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
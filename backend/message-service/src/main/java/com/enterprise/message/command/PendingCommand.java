@@ -0,0 +1,107 @@
+package com.enterprise.message.command;
+
+import com.enterprise.message.dto.iot.CommandStatusDto;
+import com.enterprise.message.dto.iot.IoTDeviceMessageDto;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 추적 중인 명령 한 건
+ * 상태는 PENDING 에서 한 번만 바뀐다 (응답 / 타임아웃 / 전송 실패 중 먼저 온 것).
+ */
+final class PendingCommand {
+
+    final String commandId;
+    final String deviceId;
+    /**
+     * 응답 프레임과 맞출 key ("#" + deviceID[0-3] Hex, 발행 시점에 DeviceSerialRegistry 로 결정)
+     */
+    final String deviceKey;
+    final IoTDeviceMessageDto.MessageType messageType;
+    final long sentAtMillis;
+    final long sentAtNanos;
+
+    private final AtomicReference<CommandStatusDto.Status> status =
+            new AtomicReference<>(CommandStatusDto.Status.PENDING);
+    private volatile long completedAtMillis;
+    private volatile long rttNanos = -1;
+    private volatile String responseMessageId;
+    private volatile IoTDeviceMessageDto.MessageType responseType;
+
+    PendingCommand(String commandId, String deviceId, String deviceKey, IoTDeviceMessageDto.MessageType messageType,
+                   long sentAtMillis, long sentAtNanos) {
+        this.commandId = commandId;
+        this.deviceId = deviceId;
+        this.deviceKey = deviceKey;
+        this.messageType = messageType;
+        this.sentAtMillis = sentAtMillis;
+        this.sentAtNanos = sentAtNanos;
+    }
+
+    CommandStatusDto.Status status() {
+        return status.get();
+    }
+
+    /**
+     * PENDING → ACKNOWLEDGED
+     *
+     * @return 이 호출로 상태가 바뀌었는지
+     */
+    boolean acknowledge(IoTDeviceMessageDto response, long nowNanos) {
+        if (!status.compareAndSet(CommandStatusDto.Status.PENDING, CommandStatusDto.Status.ACKNOWLEDGED)) {
+            return false;
+        }
+        rttNanos = nowNanos - sentAtNanos;
+        responseMessageId = response.getMessageId();
+        responseType = response.getMessageType();
+        completedAtMillis = System.currentTimeMillis();
+        return true;
+    }
+
+    /**
+     * PENDING → TIMED_OUT / SEND_FAILED
+     *
+     * @return 이 호출로 상태가 바뀌었는지
+     */
+    boolean fail(CommandStatusDto.Status failure) {
+        if (!status.compareAndSet(CommandStatusDto.Status.PENDING, failure)) {
+            return false;
+        }
+        completedAtMillis = System.currentTimeMillis();
+        return true;
+    }
+
+    long rttNanos() {
+        return rttNanos;
+    }
+
+    /**
+     * RESPONSE 는 어떤 명령에 대한 응답이든 받아들이고, 나머지는 같은 타입 명령에만 대응
+     */
+    boolean answeredBy(IoTDeviceMessageDto.MessageType type) {
+        return type == IoTDeviceMessageDto.MessageType.RESPONSE || type == messageType;
+    }
+
+    CommandStatusDto toDto() {
+        CommandStatusDto.Status current = status.get();
+        long rtt = rttNanos;
+        return CommandStatusDto.builder()
+                .commandId(commandId)
+                .deviceId(deviceId)
+                .messageType(messageType)
+                .status(current)
+                .sentAt(toLocalDateTime(sentAtMillis))
+                .completedAt(completedAtMillis > 0 ? toLocalDateTime(completedAtMillis) : null)
+                .rttMillis(rtt >= 0 ? rtt / 1_000_000.0 : null)
+                .responseMessageId(responseMessageId)
+                .responseType(responseType)
+                .build();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
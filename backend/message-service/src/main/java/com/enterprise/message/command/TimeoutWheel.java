@@ -0,0 +1,88 @@
+package com.enterprise.message.command;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 해시 타임아웃 휠
+ *
+ * 마감 시각을 tick 단위로 바꿔 (tick & mask) 칸에 넣고, advance 가 지나간 칸만 훑는다.
+ * 등록은 O(1) 이고 취소는 하지 않는다: 응답이 온 항목은 호출자가 상태로 걸러내며
+ * 해당 칸을 지날 때 함께 제거된다. 휠 한 바퀴보다 긴 마감은 남은 바퀴 수만큼 칸에 남아 있다.
+ *
+ * add 는 여러 스레드에서, advance 는 타이머 스레드 하나에서 호출한다.
+ */
+final class TimeoutWheel<T> {
+
+    private record Timeout<T>(long deadlineTick, T item) {
+    }
+
+    private final long tickNanos;
+    private final int mask;
+    private final List<Timeout<T>>[] slots;
+    private final long origin;
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    TimeoutWheel(long tickNanos, int wheelSize, long nowNanos) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheelSize must be a power of two: " + wheelSize);
+        }
+        this.tickNanos = tickNanos;
+        this.mask = wheelSize - 1;
+        this.slots = new List[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            slots[i] = new ArrayList<>();
+        }
+        this.origin = nowNanos;
+    }
+
+    /**
+     * deadlineNanos 가 지난 뒤 처음 오는 tick 에 만료
+     */
+    synchronized void add(T item, long deadlineNanos) {
+        long tick = Math.max(ceilDiv(deadlineNanos - origin, tickNanos), currentTick + 1);
+        slots[(int) (tick & mask)].add(new Timeout<>(tick, item));
+        size++;
+    }
+
+    /**
+     * nowNanos 까지의 tick 을 진행하며 마감이 지난 항목을 expired 에 전달
+     * (콜백은 락 밖에서 호출)
+     *
+     * @return 만료된 항목 수
+     */
+    int advance(long nowNanos, Consumer<T> expired) {
+        List<T> due = new ArrayList<>();
+        synchronized (this) {
+            long target = Math.floorDiv(nowNanos - origin, tickNanos);
+            // 오래 멈췄다가 재개돼도 휠 한 바퀴만 훑으면 모든 칸을 확인한 것
+            long from = Math.max(currentTick + 1, target - mask);
+            for (long tick = from; tick <= target; tick++) {
+                Iterator<Timeout<T>> it = slots[(int) (tick & mask)].iterator();
+                while (it.hasNext()) {
+                    Timeout<T> timeout = it.next();
+                    if (timeout.deadlineTick() <= target) {
+                        it.remove();
+                        due.add(timeout.item());
+                    }
+                }
+            }
+            currentTick = Math.max(currentTick, target);
+            size -= due.size();
+        }
+        due.forEach(expired);
+        return due.size();
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    private static long ceilDiv(long a, long b) {
+        return -Math.floorDiv(-a, b);
+    }
+}
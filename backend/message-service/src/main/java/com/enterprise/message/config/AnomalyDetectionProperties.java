@@ -0,0 +1,54 @@
+package com.enterprise.message.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 스트리밍 이상 감지 설정 (채널은 iot.telemetry.channels 를 사용)
+ *
+ * iot.anomaly.alpha: 0.05
+ * iot.anomaly.threshold: 4.0
+ */
+@Data
+@ConfigurationProperties(prefix = "iot.anomaly")
+public class AnomalyDetectionProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * EWMA 평활 계수 (클수록 최근 값에 민감, 유효 구간 ≈ 2/alpha - 1 샘플)
+     */
+    private double alpha = 0.05;
+
+    /**
+     * |z-score| 가 이 값 이상이면 이상으로 판단
+     */
+    private double threshold = 4.0;
+
+    /**
+     * 판단을 시작하기 전 통계를 쌓을 샘플 수 (디바이스·채널별)
+     */
+    private int warmup = 30;
+
+    /**
+     * 표준편차 하한 (값이 거의 변하지 않는 채널에서 작은 변화가 과도한 z-score 가 되지 않도록)
+     */
+    private double minStdDev = 1e-3;
+
+    /**
+     * 같은 디바이스·채널의 이벤트 재발행 최소 간격
+     */
+    private Duration cooldown = Duration.ofMinutes(5);
+
+    /**
+     * 통계를 유지할 최대 디바이스 수 (초과 시 새 디바이스는 감지하지 않음)
+     */
+    private int maxDevices = 1_000_000;
+
+    /**
+     * 락 분할 수 (2의 거듭제곱)
+     */
+    private int stripes = 16;
+}
@@ -0,0 +1,62 @@
+package com.enterprise.message.config;
+
+import com.enterprise.message.dto.iot.IoTDeviceMessageDto;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * IoT 명령 응답 추적 설정
+ *
+ * iot.command-ack.timeout: 30s
+ * iot.command-ack.timeouts.FOTA: 10m
+ * iot.command-ack.tick: 100ms
+ *
+ * 메모리 사용량 ≈ (대기 중 명령 수 + completed-capacity) × 약 250 바이트
+ */
+@Data
+@ConfigurationProperties(prefix = "iot.command-ack")
+public class CommandAckProperties {
+
+    /**
+     * false 면 명령을 추적하지 않음 (상태 조회 API 는 항상 404)
+     */
+    private boolean enabled = true;
+
+    /**
+     * 응답 대기 시간 기본값
+     */
+    private Duration timeout = Duration.ofSeconds(30);
+
+    /**
+     * 메시지 타입별 응답 대기 시간 (FOTA 처럼 오래 걸리는 명령)
+     */
+    private Map<IoTDeviceMessageDto.MessageType, Duration> timeouts = new EnumMap<>(IoTDeviceMessageDto.MessageType.class);
+
+    /**
+     * 타임아웃 휠 한 칸의 시간 (타임아웃 판정 오차)
+     */
+    private Duration tick = Duration.ofMillis(100);
+
+    /**
+     * 타임아웃 휠 칸 수 (2의 거듭제곱, tick × wheel-size 보다 긴 타임아웃은 여러 바퀴를 돈다)
+     */
+    private int wheelSize = 1024;
+
+    /**
+     * 동시에 추적할 최대 명령 수 (초과 시 새 명령은 추적하지 않음)
+     */
+    private int maxPending = 500_000;
+
+    /**
+     * 응답/타임아웃이 끝난 명령의 상태를 조회할 수 있도록 보관할 수 (최근 것부터)
+     */
+    private int completedCapacity = 100_000;
+
+    public Duration timeoutOf(IoTDeviceMessageDto.MessageType type) {
+        return type != null ? timeouts.getOrDefault(type, timeout) : timeout;
+    }
+}
@@ -0,0 +1,58 @@
+package com.enterprise.message.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 대량 명령 발행(fan-out) 설정
+ *
+ * iot.command-fanout.batch-size: 500
+ * iot.command-fanout.rate-per-second: 2000
+ * iot.command-fanout.tags.roz-2025: [EST-ROZ-25*]
+ *
+ * 5만 대 FOTA 는 기본값 기준 약 25초 동안 HTTP 요청 한 번으로 발행된다.
+ */
+@Data
+@ConfigurationProperties(prefix = "iot.command-fanout")
+public class CommandFanoutProperties {
+
+    /**
+     * 한 번에 Kafka 로 보내고 완료를 기다리는 최대 명령 수 (직전 batch 와 겹쳐서 전송, rate-per-second / 10 이하로 줄어듦)
+     */
+    private int batchSize = 500;
+
+    /**
+     * 작업당 초당 최대 발행 수 (요청에서 더 낮게 지정 가능)
+     */
+    private int ratePerSecond = 2000;
+
+    /**
+     * 작업 하나가 대상으로 삼을 수 있는 최대 디바이스 수
+     */
+    private int maxDevices = 200_000;
+
+    /**
+     * 동시에 실행할 작업 수 (초과분은 PENDING 으로 대기)
+     */
+    private int concurrentJobs = 2;
+
+    /**
+     * 끝난 작업의 진행 상황을 조회할 수 있는 기간
+     */
+    private Duration jobRetention = Duration.ofHours(24);
+
+    /**
+     * batch 전송 완료 대기 시간 (초과 시 해당 batch 는 실패로 집계)
+     */
+    private Duration sendTimeout = Duration.ofSeconds(30);
+
+    /**
+     * 태그 → 디바이스 ID 패턴 (정확한 ID 또는 "*" 로 끝나는 접두어)
+     */
+    private Map<String, List<String>> tags = new LinkedHashMap<>();
+}
@@ -0,0 +1,56 @@
+package com.enterprise.message.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 디바이스 최신 상태 저장소 설정
+ *
+ * iot.device-state.max-devices: 1000000
+ * iot.device-state.snapshot-bytes: 64
+ * iot.device-state.flush-interval: 1s
+ *
+ * 오프힙 메모리 사용량 ≈ max-devices / 0.7 × (64 + snapshot-bytes) 바이트
+ * (기본값 기준 약 175MB, 기동 시 한 번 할당하고 늘어나지 않음)
+ */
+@Data
+@ConfigurationProperties(prefix = "iot.device-state")
+public class DeviceStateProperties {
+
+    /**
+     * false 면 상태를 저장하지 않음 (조회 API 는 항상 404)
+     */
+    private boolean enabled = true;
+
+    /**
+     * 보관할 최대 디바이스 수 (초과 시 새 디바이스는 거부, 기존 디바이스는 계속 갱신)
+     */
+    private int maxDevices = 1_000_000;
+
+    /**
+     * 디바이스별로 보관할 최신 프레임 바이트 수 (초과분은 잘림, 최대 device_state.snapshot 컬럼 크기 255)
+     */
+    private int snapshotBytes = 64;
+
+    /**
+     * 해시 테이블 파티션 수 (2의 거듭제곱, 파티션마다 락이 분리됨)
+     */
+    private int partitions = 16;
+
+    /**
+     * 변경된 상태를 DB 에 반영하는 주기 (write-behind)
+     */
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    /**
+     * DB batch upsert 한 번에 쓸 최대 행 수
+     */
+    private int flushBatchSize = 1000;
+
+    /**
+     * 기동 시 DB 에 저장된 상태를 메모리로 적재
+     */
+    private boolean loadOnStartup = true;
+}
@@ -0,0 +1,19 @@
+package com.enterprise.message.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * IoT 디바이스 데이터 처리 설정
+ */
+@Configuration
+@EnableConfigurationProperties({
+        DeviceStateProperties.class,
+        TelemetryProperties.class,
+        AnomalyDetectionProperties.class,
+        MessageDedupProperties.class,
+        CommandFanoutProperties.class,
+        CommandAckProperties.class
+})
+public class IoTDeviceConfig {
+}
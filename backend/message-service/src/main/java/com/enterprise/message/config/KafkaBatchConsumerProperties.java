@@ -0,0 +1,39 @@
+package com.enterprise.message.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * IoT 디바이스 토픽 배치 컨슈머 설정 (batchKafkaListenerContainerFactory)
+ *
+ * kafka.batch-consumer.max-poll-records: 500
+ * kafka.batch-consumer.fetch-min-bytes: 65536
+ * kafka.batch-consumer.fetch-max-wait: 200ms
+ */
+@Data
+@ConfigurationProperties(prefix = "kafka.batch-consumer")
+public class KafkaBatchConsumerProperties {
+
+    /**
+     * poll 한 번에 가져올 최대 레코드 수 (= 리스너가 받는 배치 최대 크기)
+     */
+    private int maxPollRecords = 500;
+
+    /**
+     * 브로커가 응답하기 전까지 모을 최소 바이트 수 (1 이면 즉시 응답)
+     * 값을 키우면 배치가 커지는 대신 fetch-max-wait 만큼 지연이 늘어남
+     */
+    private int fetchMinBytes = 64 * 1024;
+
+    /**
+     * fetch-min-bytes 를 채우지 못했을 때 브로커가 기다리는 최대 시간
+     */
+    private Duration fetchMaxWait = Duration.ofMillis(200);
+
+    /**
+     * 리스너 컨테이너당 컨슈머 스레드 수
+     */
+    private int concurrency = 3;
+}
@@ -21,6 +21,9 @@ public class KafkaConfig {
     @Value("${kafka.topic.message-deleted}")
     private String messageDeletedTopic;
 
+    @Value("${kafka.topic.device-anomaly}")
+    private String deviceAnomalyTopic;
+
     /**
      * 메시지 생성 이벤트 토픽
      */
@@ -53,4 +56,15 @@ public class KafkaConfig {
                 .replicas(1)
                 .build();
     }
+
+    /**
+     * 디바이스 이상 감지 이벤트 토픽 (key = deviceId)
+     */
+    @Bean
+    public NewTopic deviceAnomalyTopic() {
+        return TopicBuilder.name(deviceAnomalyTopic)
+                .partitions(3)
+                .replicas(1)
+                .build();
+    }
 }
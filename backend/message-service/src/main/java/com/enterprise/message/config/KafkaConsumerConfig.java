@@ -1,18 +1,26 @@
 package com.enterprise.message.config;
 
+import com.enterprise.message.dedup.MessageDeduplicator;
+import com.enterprise.message.kafka.IoTRetryPublisher;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 
 import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 
+import org.springframework.util.backoff.FixedBackOff;
+
 import java.util.HashMap;
 import java.util.Map;
 
@@ -20,6 +28,7 @@ import java.util.Map;
  * Kafka Consumer 설정
  */
 @Configuration
+@EnableConfigurationProperties(KafkaBatchConsumerProperties.class)
 public class KafkaConsumerConfig {
 
     @Value("${spring.kafka.bootstrap-servers}")
@@ -100,4 +109,84 @@ public class KafkaConsumerConfig {
         return factory;
     }
 
+    /**
+     * IoT 디바이스 토픽용 (value = JSON 또는 디바이스 프레임 원본 바이트)
+     */
+    @Bean(name = "byteArrayKafkaListenerContainerFactory")
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> byteArrayKafkaListenerContainerFactory(
+            KafkaProperties kafkaProperties) {
+        Map<String, Object> props = new HashMap<>(kafkaProperties.buildConsumerProperties());
+
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        props.put(ErrorHandlingDeserializer.KEY_DESERIALIZER_CLASS, StringDeserializer.class);
+        props.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, ByteArrayDeserializer.class);
+
+        DefaultKafkaConsumerFactory<String, byte[]> cf = new DefaultKafkaConsumerFactory<>(props);
+
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(cf);
+        return factory;
+    }
+
+    /**
+     * IoT 디바이스 토픽 배치 리스너용 (List<ConsumerRecord> 단위로 전달)
+     * poll 크기와 fetch 대기 조건은 kafka.batch-consumer 설정을 따른다.
+     * 자동 커밋 대신 리스너가 배치 처리를 마친 뒤 Acknowledgment 로 커밋하고(AckMode.MANUAL),
+     * 파티션 회수 시 MessageDeduplicator 가 중복 제거 창 스냅샷을 남긴다.
+     * 리스너는 실패 레코드 전달이 안 되면 BatchListenerFailedException 으로 위치를 알리므로, 앞쪽 레코드는 커밋하고
+     * 그 레코드부터 제자리에서 두 번 재시도한 뒤 그 레코드만 재시도 토픽에 넘긴다 (배치 전체를 다시 처리하지 않음).
+     */
+    @Bean(name = "batchKafkaListenerContainerFactory")
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> batchKafkaListenerContainerFactory(
+            KafkaProperties kafkaProperties, KafkaBatchConsumerProperties batchProperties,
+            MessageDeduplicator deduplicator, IoTRetryPublisher retryPublisher) {
+        Map<String, Object> props = new HashMap<>(kafkaProperties.buildConsumerProperties());
+
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        props.put(ErrorHandlingDeserializer.KEY_DESERIALIZER_CLASS, StringDeserializer.class);
+        props.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, ByteArrayDeserializer.class);
+
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, batchProperties.getMaxPollRecords());
+        props.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, batchProperties.getFetchMinBytes());
+        props.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, (int) batchProperties.getFetchMaxWait().toMillis());
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+        DefaultKafkaConsumerFactory<String, byte[]> cf = new DefaultKafkaConsumerFactory<>(props);
+
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(cf);
+        factory.setBatchListener(true);
+        factory.setConcurrency(batchProperties.getConcurrency());
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setConsumerRebalanceListener(deduplicator);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(retryPublisher.recoverer(), new FixedBackOff(1000L, 2)));
+        return factory;
+    }
+
+    /**
+     * IoT 재시도 토픽용 (레코드 단위, 수동 커밋, 재시도 토픽마다 컨테이너 하나)
+     * 아직 재시도 시각이 되지 않은 레코드는 리스너가 nack 으로 되돌리고 그 토픽의 컨테이너만 잠시 멈춘다.
+     */
+    @Bean(name = "iotRetryKafkaListenerContainerFactory")
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> iotRetryKafkaListenerContainerFactory(
+            KafkaProperties kafkaProperties, MessageDeduplicator deduplicator, IoTRetryPublisher retryPublisher) {
+        Map<String, Object> props = new HashMap<>(kafkaProperties.buildConsumerProperties());
+
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        props.put(ErrorHandlingDeserializer.KEY_DESERIALIZER_CLASS, StringDeserializer.class);
+        props.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, ByteArrayDeserializer.class);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+        DefaultKafkaConsumerFactory<String, byte[]> cf = new DefaultKafkaConsumerFactory<>(props);
+
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(cf);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setConsumerRebalanceListener(deduplicator);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(retryPublisher.recoverer(), new FixedBackOff(1000L, 2)));
+        return factory;
+    }
 }
@@ -0,0 +1,113 @@
+package com.enterprise.message.config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafkaRetryTopic;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.retrytopic.RetryTopicConfiguration;
+import org.springframework.kafka.retrytopic.RetryTopicConfigurationBuilder;
+import org.springframework.kafka.retrytopic.RetryTopicSchedulerWrapper;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 리스너 재시도 / DLT 토폴로지
+ *
+ * - 메시지 이벤트 리스너(MessageEventConsumer): Spring non-blocking retry topic (DefaultErrorHandler + DeadLetterPublishingRecoverer)
+ * - IoT 배치 리스너(IoTDeviceMessageConsumer): 같은 토픽 이름 규칙으로 IoTRetryPublisher / IoTRetryConsumer 가 구성
+ *
+ * 두 경우 모두 원본 T → T-retry-0 ... → T-dlt 이며 DLT 는 DeadLetterController 로 다시 발행할 수 있다.
+ */
+@Configuration
+@EnableKafkaRetryTopic
+@EnableConfigurationProperties(KafkaRetryProperties.class)
+public class KafkaRetryConfig {
+
+    @Value("${kafka.topic.message-created}")
+    private String messageCreatedTopic;
+
+    @Value("${kafka.topic.message-read}")
+    private String messageReadTopic;
+
+    @Value("${kafka.topic.message-deleted}")
+    private String messageDeletedTopic;
+
+    @Value("${kafka.topic.device-data}")
+    private String deviceDataTopic;
+
+    @Value("${kafka.topic.device-request}")
+    private String deviceRequestTopic;
+
+    @Value("${kafka.topic.device-response}")
+    private String deviceResponseTopic;
+
+    @Value("${kafka.topic.fota}")
+    private String fotaTopic;
+
+    @Value("${kafka.topic.reboot}")
+    private String rebootTopic;
+
+    @Value("${kafka.topic.text}")
+    private String textTopic;
+
+    /**
+     * 메시지 이벤트 토픽 재시도 설정 (재시도 비활성화 시 실패하면 바로 DLT)
+     */
+    @Bean
+    public RetryTopicConfiguration messageEventRetryTopicConfiguration(
+            KafkaTemplate<String, Object> kafkaTemplate, KafkaRetryProperties properties) {
+        int attempts = properties.isEnabled() ? properties.getAttempts() : 0;
+        return RetryTopicConfigurationBuilder.newInstance()
+                .includeTopics(List.of(messageCreatedTopic, messageReadTopic, messageDeletedTopic))
+                .maxAttempts(attempts + 1)
+                .exponentialBackoff(properties.getInitialInterval().toMillis(), properties.getMultiplier(),
+                        properties.getMaxInterval().toMillis())
+                .retryTopicSuffix(properties.getRetrySuffix())
+                .dltSuffix(properties.getDltSuffix())
+                .suffixTopicsWithIndexValues()
+                .autoCreateTopicsWith(properties.getTopicPartitions(), (short) 1)
+                .listenerFactory("kafkaListenerContainerFactory")
+                .create(kafkaTemplate);
+    }
+
+    /**
+     * 재시도 토픽 파티션 일시 정지 해제용 스케줄러 (애플리케이션에 TaskScheduler 빈이 없음)
+     */
+    @Bean
+    public RetryTopicSchedulerWrapper retryTopicSchedulerWrapper() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setThreadNamePrefix("kafka-retry-");
+        return new RetryTopicSchedulerWrapper(scheduler);
+    }
+
+    /**
+     * IoT 토픽의 재시도 / DLT 토픽
+     */
+    @Bean
+    public KafkaAdmin.NewTopics iotRetryTopics(KafkaRetryProperties properties) {
+        List<NewTopic> topics = new ArrayList<>();
+        for (String source : List.of(deviceDataTopic, deviceRequestTopic, deviceResponseTopic,
+                fotaTopic, rebootTopic, textTopic)) {
+            if (properties.isEnabled()) {
+                for (int attempt = 0; attempt < properties.getAttempts(); attempt++) {
+                    topics.add(TopicBuilder.name(properties.retryTopic(source, attempt))
+                            .partitions(properties.getTopicPartitions())
+                            .replicas(1)
+                            .build());
+                }
+            }
+            topics.add(TopicBuilder.name(properties.dltTopic(source))
+                    .partitions(properties.getTopicPartitions())
+                    .replicas(1)
+                    .build());
+        }
+        return new KafkaAdmin.NewTopics(topics.toArray(NewTopic[]::new));
+    }
+}
@@ -0,0 +1,89 @@
+package com.enterprise.message.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 리스너 재시도 / DLT 설정 (non-blocking retry topic)
+ *
+ * kafka.retry.attempts: 3
+ * kafka.retry.initial-interval: 1s
+ * kafka.retry.multiplier: 4.0
+ *
+ * 원본 토픽 T 의 토폴로지: T → T-retry-0 (1s) → T-retry-1 (4s) → T-retry-2 (16s) → T-dlt
+ * 재시도 토픽은 각자 별도 컨테이너에서 소비하므로 원본 파티션은 실패 레코드 때문에 멈추지 않는다.
+ */
+@Data
+@ConfigurationProperties(prefix = "kafka.retry")
+public class KafkaRetryProperties {
+
+    /**
+     * false 면 재시도 토픽 없이 실패 레코드를 바로 DLT 로 보냄
+     */
+    private boolean enabled = true;
+
+    /**
+     * 재시도 횟수 (= 재시도 토픽 수, 원본 처리 제외)
+     */
+    private int attempts = 3;
+
+    /**
+     * 첫 재시도까지 대기 시간
+     */
+    private Duration initialInterval = Duration.ofSeconds(1);
+
+    /**
+     * 재시도마다 대기 시간 배수
+     */
+    private double multiplier = 4.0;
+
+    /**
+     * 재시도 대기 시간 상한
+     */
+    private Duration maxInterval = Duration.ofMinutes(1);
+
+    private String retrySuffix = "-retry";
+
+    private String dltSuffix = "-dlt";
+
+    /**
+     * 자동 생성하는 재시도 / DLT 토픽 파티션 수
+     */
+    private int topicPartitions = 3;
+
+    /**
+     * DLT 재처리 API 가 한 번에 다시 발행하는 최대 레코드 수
+     */
+    private int replayMaxRecords = 1000;
+
+    /**
+     * 원본 토픽의 n 번째(0부터) 재시도 토픽 이름 (Spring retry topic 의 index 접미사 규칙과 동일)
+     */
+    public String retryTopic(String sourceTopic, int attempt) {
+        return sourceTopic + retrySuffix + "-" + attempt;
+    }
+
+    public String dltTopic(String sourceTopic) {
+        return sourceTopic + dltSuffix;
+    }
+
+    /**
+     * DLT 이름에서 원본 토픽 이름 (DLT 가 아니면 null)
+     */
+    public String sourceOfDlt(String dltTopic) {
+        if (dltTopic == null || !dltTopic.endsWith(dltSuffix) || dltTopic.length() == dltSuffix.length()) {
+            return null;
+        }
+        return dltTopic.substring(0, dltTopic.length() - dltSuffix.length());
+    }
+
+    /**
+     * n 번째 재시도(0부터) 전 대기 시간
+     */
+    public Duration delay(int attempt) {
+        double millis = initialInterval.toMillis() * Math.pow(multiplier, attempt);
+        return Duration.ofMillis((long) Math.min(millis, maxInterval.toMillis()));
+    }
+}
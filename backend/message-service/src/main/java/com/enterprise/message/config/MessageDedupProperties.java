@@ -0,0 +1,55 @@
+package com.enterprise.message.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * IoT 메시지 중복 제거 설정 (파티션별 시간 창 Bloom filter + LRU)
+ *
+ * iot.dedup.listeners: [device-request, fota]
+ * iot.dedup.window: 10m
+ * iot.dedup.capacity: 100000
+ *
+ * 메모리 사용량 ≈ 담당 파티션 수 × capacity × 약 100 바이트
+ * capacity 는 파티션당 window 동안 들어오는 메시지 수보다 커야 창 전체를 정확히 판정한다.
+ */
+@Data
+@ConfigurationProperties(prefix = "iot.dedup")
+public class MessageDedupProperties {
+
+    /**
+     * false 면 중복 제거 없이 모든 메시지를 처리
+     */
+    private boolean enabled = true;
+
+    /**
+     * 중복 제거를 적용할 리스너 이름 (IoTDeviceMessageConsumer 의 listener 태그)
+     * PERIODIC 데이터처럼 같은 내용이 정상적으로 반복될 수 있는 토픽은 넣지 않는다.
+     */
+    private List<String> listeners = new ArrayList<>(List.of("device-request", "fota"));
+
+    /**
+     * 같은 messageId 를 중복으로 보는 시간 창
+     */
+    private Duration window = Duration.ofMinutes(10);
+
+    /**
+     * 파티션당 기억할 최대 messageId 수 (LRU, 초과 시 가장 오래된 것부터 제거)
+     */
+    private int capacity = 100_000;
+
+    /**
+     * Bloom filter 오탐률 (오탐이면 LRU 로 한 번 더 확인하므로 정확도에는 영향 없음)
+     */
+    private double falsePositiveRate = 0.01;
+
+    /**
+     * 파티션 회수 시 창 스냅샷을 저장할 로컬 디렉터리
+     * 스냅샷은 이 인스턴스만 읽으므로 중복 제거는 같은 프로세스 안의 리밸런스 / 재시작에만 적용된다.
+     */
+    private String snapshotDirectory = "./data/dedup";
+}
@@ -0,0 +1,109 @@
+package com.enterprise.message.config;
+
+import com.enterprise.message.telemetry.ChannelType;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 텔레메트리 시계열 저장소 설정
+ *
+ * iot.telemetry.directory: ./data/telemetry
+ * iot.telemetry.window: 6h
+ * iot.telemetry.channels:
+ *   - name: temperature
+ *     offset: 22
+ *     type: int16
+ *     scale: 0.1
+ */
+@Data
+@ConfigurationProperties(prefix = "iot.telemetry")
+public class TelemetryProperties {
+
+    /**
+     * false 면 텔레메트리를 저장하지 않음 (channels 가 비어 있어도 저장하지 않음)
+     */
+    private boolean enabled = true;
+
+    /**
+     * 세그먼트 파일 디렉토리
+     */
+    private String directory = "./data/telemetry";
+
+    /**
+     * 청크 시간 창 (디바이스마다 창 하나가 청크 하나, 24일 미만)
+     */
+    private Duration window = Duration.ofHours(6);
+
+    /**
+     * 창이 끝나기 전이라도 이 샘플 수에 도달하면 청크 봉인
+     */
+    private int maxSamplesPerChunk = 1024;
+
+    /**
+     * 세그먼트 파일 크기
+     */
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    /**
+     * 세그먼트 파일 크기 합의 상한 (넘으면 가장 오래된 세그먼트부터 삭제)
+     */
+    private DataSize maxSize = DataSize.ofGigabytes(10);
+
+    /**
+     * 보관 기간
+     */
+    private Duration retention = Duration.ofDays(7);
+
+    /**
+     * 창이 끝난 뒤 늦게 도착하는 샘플을 기다리는 시간 (지나면 열린 청크 봉인)
+     */
+    private Duration sealGrace = Duration.ofMinutes(1);
+
+    /**
+     * 봉인 / retention 점검 주기
+     */
+    private Duration maintenanceInterval = Duration.ofSeconds(30);
+
+    /**
+     * 조회 한 번에 반환할 최대 구간(bucket) 수
+     */
+    private int maxQueryPoints = 10_000;
+
+    /**
+     * step 을 지정하지 않은 조회의 구간 수
+     */
+    private int defaultQueryPoints = 500;
+
+    /**
+     * 프레임에서 읽을 채널 (순서 = 저장 순서, 변경 시 기존 청크는 읽지 않음)
+     */
+    private List<Channel> channels = new ArrayList<>();
+
+    @Data
+    public static class Channel {
+
+        /**
+         * 채널 이름 (조회 응답에 사용)
+         */
+        private String name;
+
+        /**
+         * 프레임 시작 기준 바이트 오프셋
+         */
+        private int offset;
+
+        private ChannelType type = ChannelType.INT16;
+
+        /**
+         * 저장 값 = 원시 값 × scale
+         */
+        private double scale = 1.0;
+
+        private boolean littleEndian = false;
+    }
+}
@@ -0,0 +1,50 @@
+package com.enterprise.message.controller;
+
+import com.enterprise.message.dto.DeadLetterReplayDto;
+import com.enterprise.message.exception.ErrorResponse;
+import com.enterprise.message.service.DeadLetterReplayService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Dead-letter 토픽 재처리 API
+ */
+@RestController
+@RequestMapping("/api/kafka/dlt")
+@RequiredArgsConstructor
+@Tag(name = "Kafka Dead Letter", description = "DLT 레코드 재처리 API")
+public class DeadLetterController {
+
+    private final DeadLetterReplayService deadLetterReplayService;
+
+    /**
+     * 예) POST /api/kafka/dlt/device.request.topic-dlt/replay?maxRecords=100
+     */
+    @Operation(summary = "DLT 재처리",
+            description = "DLT 레코드를 원본 토픽으로 다시 발행합니다 (이전 재처리 이후 레코드부터, 최대 maxRecords 건)")
+    @PostMapping("/{topic}/replay")
+    public ResponseEntity<DeadLetterReplayDto> replay(
+            @PathVariable String topic,
+            @RequestParam(required = false) Integer maxRecords) {
+        return ResponseEntity.ok(deadLetterReplayService.replay(topic, maxRecords));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleBadRequest(IllegalArgumentException ex, HttpServletRequest request) {
+        ErrorResponse body = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.BAD_REQUEST.value(),
+                HttpStatus.BAD_REQUEST.getReasonPhrase(),
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+        return ResponseEntity.badRequest().body(body);
+    }
+}
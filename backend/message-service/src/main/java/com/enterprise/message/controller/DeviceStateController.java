@@ -0,0 +1,54 @@
+package com.enterprise.message.controller;
+
+import com.enterprise.message.dto.iot.DeviceStateDto;
+import com.enterprise.message.service.DeviceStateService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * IoT 디바이스 최신 상태 조회 API
+ * 메모리(DeviceStateStore)에서 바로 조회하며 DB 를 거치지 않는다.
+ */
+@RestController
+@RequestMapping("/api/iot/devices")
+@RequiredArgsConstructor
+@Tag(name = "IoT Device State", description = "IoT 디바이스 최신 상태 조회 API")
+public class DeviceStateController {
+
+    /**
+     * 한 번에 조회할 수 있는 최대 디바이스 수
+     */
+    private static final int MAX_BULK_IDS = 1000;
+
+    private final DeviceStateService deviceStateService;
+
+    @Operation(summary = "디바이스 상태 조회", description = "디바이스 한 대의 최신 상태를 조회합니다")
+    @GetMapping("/{deviceId}/state")
+    public ResponseEntity<DeviceStateDto> getState(@PathVariable String deviceId) {
+        return ResponseEntity.ok(deviceStateService.get(deviceId));
+    }
+
+    @Operation(summary = "디바이스 상태 일괄 조회", description = "여러 디바이스의 최신 상태를 조회합니다 (상태가 없는 디바이스는 제외)")
+    @GetMapping("/state")
+    public ResponseEntity<List<DeviceStateDto>> getStates(@RequestParam("ids") List<String> deviceIds) {
+        return bulk(deviceIds);
+    }
+
+    @Operation(summary = "디바이스 상태 일괄 조회 (POST)", description = "URL 길이 제한을 넘는 디바이스 목록을 본문으로 받아 조회합니다")
+    @PostMapping("/state/query")
+    public ResponseEntity<List<DeviceStateDto>> queryStates(@RequestBody List<String> deviceIds) {
+        return bulk(deviceIds);
+    }
+
+    private ResponseEntity<List<DeviceStateDto>> bulk(List<String> deviceIds) {
+        if (deviceIds.size() > MAX_BULK_IDS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(deviceStateService.getAll(deviceIds));
+    }
+}
@@ -0,0 +1,70 @@
+package com.enterprise.message.controller;
+
+import com.enterprise.message.dto.iot.BulkCommandJobDto;
+import com.enterprise.message.dto.iot.BulkCommandRequestDto;
+import com.enterprise.message.exception.ErrorResponse;
+import com.enterprise.message.service.IoTCommandFanoutService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * IoT 대량 명령 API
+ * 디바이스 목록 / ID 접두어 / 태그로 선택한 디바이스 전체에 명령을 발행하고 jobId 로 진행 상황을 조회한다.
+ */
+@RestController
+@RequestMapping("/api/iot/commands/bulk")
+@RequiredArgsConstructor
+@Tag(name = "IoT Bulk Command", description = "IoT 대량 명령 API")
+public class IoTBulkCommandController {
+
+    private final IoTCommandFanoutService fanoutService;
+
+    /**
+     * 예) POST /api/iot/commands/bulk
+     * {"selector": {"prefix": "EST-ROZ-25*"}, "messageType": "FOTA", "payload": "...", "ratePerSecond": 1000}
+     */
+    @Operation(summary = "대량 명령 발행", description = "선택한 디바이스 전체에 명령을 비동기로 발행하고 작업 ID 를 반환합니다")
+    @PostMapping
+    public ResponseEntity<BulkCommandJobDto> submit(@Valid @RequestBody BulkCommandRequestDto request) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(fanoutService.submit(request));
+    }
+
+    @Operation(summary = "대량 명령 작업 조회", description = "작업의 대상 수, 발행/실패 수를 조회합니다")
+    @GetMapping("/{jobId}")
+    public ResponseEntity<BulkCommandJobDto> getJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(fanoutService.get(jobId));
+    }
+
+    @Operation(summary = "대량 명령 작업 목록", description = "보관 중인 작업을 최근 등록 순으로 조회합니다")
+    @GetMapping
+    public ResponseEntity<List<BulkCommandJobDto>> getJobs() {
+        return ResponseEntity.ok(fanoutService.getAll());
+    }
+
+    @Operation(summary = "대량 명령 작업 취소", description = "남은 명령 발행을 중단합니다")
+    @DeleteMapping("/{jobId}")
+    public ResponseEntity<BulkCommandJobDto> cancel(@PathVariable String jobId) {
+        return ResponseEntity.ok(fanoutService.cancel(jobId));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleBadRequest(IllegalArgumentException ex, HttpServletRequest request) {
+        ErrorResponse body = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.BAD_REQUEST.value(),
+                HttpStatus.BAD_REQUEST.getReasonPhrase(),
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+        return ResponseEntity.badRequest().body(body);
+    }
+}
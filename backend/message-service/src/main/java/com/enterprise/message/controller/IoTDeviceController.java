@@ -1,5 +1,7 @@
 package com.enterprise.message.controller;
 
+import com.enterprise.message.command.CommandAckTracker;
+import com.enterprise.message.dto.iot.CommandStatusDto;
 import com.enterprise.message.dto.iot.IoTCommandDto;
 import com.enterprise.message.kafka.IoTCommandProducer;
 import io.swagger.v3.oas.annotations.Operation;
@@ -25,6 +27,7 @@ import java.util.Map;
 public class IoTDeviceController {
 
     private final IoTCommandProducer iotCommandProducer;
+    private final CommandAckTracker commandAckTracker;
 
     /**
      * IoT 디바이스로 명령 전송
@@ -58,6 +61,15 @@ public class IoTDeviceController {
         }
     }
 
+    /**
+     * 명령 처리 상태 조회 (디바이스 응답 여부, 왕복 시간)
+     */
+    @Operation(summary = "IoT 명령 상태 조회", description = "명령의 디바이스 응답 여부와 왕복 시간을 조회합니다")
+    @GetMapping("/command/{commandId}")
+    public ResponseEntity<CommandStatusDto> getCommandStatus(@PathVariable String commandId) {
+        return ResponseEntity.ok(commandAckTracker.get(commandId));
+    }
+
     /**
      * Echo 명령 전송 (테스트용)
      */
@@ -0,0 +1,63 @@
+package com.enterprise.message.controller;
+
+import com.enterprise.message.dto.iot.TelemetrySeriesDto;
+import com.enterprise.message.exception.ErrorResponse;
+import com.enterprise.message.service.TelemetryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * IoT 디바이스 텔레메트리 조회 API
+ */
+@RestController
+@RequestMapping("/api/iot/devices")
+@RequiredArgsConstructor
+@Tag(name = "IoT Device Telemetry", description = "IoT 디바이스 텔레메트리 시계열 조회 API")
+public class TelemetryController {
+
+    private static final Duration DEFAULT_RANGE = Duration.ofHours(1);
+
+    private final TelemetryService telemetryService;
+
+    /**
+     * 예) /api/iot/devices/EST-ROZ-0001/telemetry?from=2025-01-01T00:00:00&to=2025-01-02T00:00:00&step=5m
+     */
+    @Operation(summary = "텔레메트리 조회",
+            description = "[from, to) 구간을 step 단위로 다운샘플링한 채널별 평균/최소/최대를 조회합니다 "
+                    + "(기본: 최근 1시간, step 생략 시 자동)")
+    @GetMapping("/{deviceId}/telemetry")
+    public ResponseEntity<TelemetrySeriesDto> getTelemetry(
+            @PathVariable String deviceId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String step) {
+
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minus(DEFAULT_RANGE);
+        Duration stepDuration = step != null ? DurationStyle.detectAndParse(step) : null;
+
+        return ResponseEntity.ok(telemetryService.query(deviceId, start, end, stepDuration));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleBadRequest(IllegalArgumentException ex, HttpServletRequest request) {
+        ErrorResponse body = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.BAD_REQUEST.value(),
+                HttpStatus.BAD_REQUEST.getReasonPhrase(),
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+        return ResponseEntity.badRequest().body(body);
+    }
+}
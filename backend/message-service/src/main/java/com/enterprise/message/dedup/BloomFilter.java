@@ -0,0 +1,62 @@
+package com.enterprise.message.dedup;
+
+import java.util.Arrays;
+
+/**
+ * 128비트 키(messageId UUID) 전용 Bloom filter
+ * messageId 는 이미 MD5/랜덤 값이므로 msb, lsb 를 그대로 double hashing 의 두 해시로 사용한다.
+ *
+ * 동기화하지 않음 (DedupWindow 락 안에서만 사용).
+ */
+final class BloomFilter {
+
+    private final long[] bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * @param expectedInsertions 예상 삽입 수
+     * @param falsePositiveRate  목표 오탐률 (0 ~ 1)
+     */
+    BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        int n = Math.max(1, expectedInsertions);
+        double p = Math.min(0.5, Math.max(1e-9, falsePositiveRate));
+        long m = (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.max(1, (m + 63) >>> 6);
+
+        this.bits = new long[words];
+        this.bitCount = (long) words << 6;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    void put(long msb, long lsb) {
+        long hash = msb;
+        long step = lsb | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long index = Long.remainderUnsigned(hash, bitCount);
+            bits[(int) (index >>> 6)] |= 1L << index;
+            hash += step;
+        }
+    }
+
+    boolean mightContain(long msb, long lsb) {
+        long hash = msb;
+        long step = lsb | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long index = Long.remainderUnsigned(hash, bitCount);
+            if ((bits[(int) (index >>> 6)] & (1L << index)) == 0) {
+                return false;
+            }
+            hash += step;
+        }
+        return true;
+    }
+
+    void clear() {
+        Arrays.fill(bits, 0L);
+    }
+
+    long sizeInBytes() {
+        return (long) bits.length * Long.BYTES;
+    }
+}
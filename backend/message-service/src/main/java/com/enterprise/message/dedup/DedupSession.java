@@ -0,0 +1,102 @@
+package com.enterprise.message.dedup;
+
+import com.enterprise.message.dto.iot.IoTDeviceMessageDto;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiPredicate;
+
+/**
+ * 배치 하나의 중복 제거 세션 (컨슈머 스레드 전용)
+ *
+ * test 로 이미 처리한 messageId 를 걸러내고, 통과한 messageId 는 보류해 두었다가
+ * 배치 처리가 끝나면 {@link #complete()} 에서 창에 기록한다.
+ * 배치 처리 중 예외로 complete 가 호출되지 않으면 아무것도 기록되지 않아 재전달 시 다시 처리된다.
+ * 처리에 실패해 재시도 토픽 / DLT 로 넘긴 레코드는 {@link #discard} 로 빼 두어야 재처리가 중복으로 버려지지 않는다.
+ */
+public final class DedupSession implements BiPredicate<ConsumerRecord<String, byte[]>, IoTDeviceMessageDto> {
+
+    private final MessageDeduplicator deduplicator;
+    private final long now;
+    private final List<Pending> pending = new ArrayList<>();
+    private final Set<UUID> seenInBatch = new HashSet<>();
+    private int duplicates;
+
+    DedupSession(MessageDeduplicator deduplicator, long now) {
+        this.deduplicator = deduplicator;
+        this.now = now;
+    }
+
+    /**
+     * @return 처리해야 하면 true, window 안에 이미 처리했거나 같은 배치에 먼저 나온 messageId 면 false
+     */
+    @Override
+    public boolean test(ConsumerRecord<String, byte[]> record, IoTDeviceMessageDto message) {
+        UUID id = toUuid(message.getMessageId());
+        if (id == null) {
+            deduplicator.unidentified();
+            return true;
+        }
+        TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+        if (!seenInBatch.add(id)
+                || deduplicator.check(partition, id.getMostSignificantBits(), id.getLeastSignificantBits(), now)
+                        == DedupWindow.Check.DUPLICATE) {
+            duplicates++;
+            return false;
+        }
+        pending.add(new Pending(partition, record.offset(), id));
+        return true;
+    }
+
+    /**
+     * 처리에 실패한 레코드의 messageId 를 기록 대상에서 제외 (complete 전에 호출)
+     */
+    public void discard(ConsumerRecord<String, byte[]> record) {
+        pending.removeIf(p -> p.offset() == record.offset()
+                && p.partition().partition() == record.partition()
+                && p.partition().topic().equals(record.topic()));
+    }
+
+    /**
+     * 처리한 messageId 를 창에 기록 (오프셋 커밋 전에 호출)
+     */
+    public void complete() {
+        for (Pending p : pending) {
+            deduplicator.add(p.partition(), p.id().getMostSignificantBits(), p.id().getLeastSignificantBits(), now);
+        }
+        pending.clear();
+    }
+
+    /**
+     * 걸러낸 중복 메시지 수
+     */
+    public int duplicates() {
+        return duplicates;
+    }
+
+    /**
+     * messageId → UUID (mqtt-service 는 UUID 형식, 그 외 형식은 name-based UUID 로 변환)
+     */
+    private static UUID toUuid(String messageId) {
+        if (messageId == null || messageId.isEmpty()) {
+            return null;
+        }
+        if (messageId.length() == 36) {
+            try {
+                return UUID.fromString(messageId);
+            } catch (IllegalArgumentException e) {
+                // 아래에서 해시로 변환
+            }
+        }
+        return UUID.nameUUIDFromBytes(messageId.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private record Pending(TopicPartition partition, long offset, UUID id) {
+    }
+}
@@ -0,0 +1,158 @@
+package com.enterprise.message.dedup;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 파티션 하나의 시간 창 중복 판정기
+ *
+ * - Bloom filter 두 세대(current, previous)를 window 마다 교체: 대부분을 차지하는 새 메시지는
+ *   비트 검사만으로 판정하고 맵 조회를 하지 않는다.
+ * - Bloom filter 가 "있을 수 있음"이라고 하면 LRU(삽입 순서, 최근 capacity 개)에서 정확히 확인한다.
+ *   LRU 에 없으면(오탐 또는 이미 밀려난 ID) 새 메시지로 본다 → 메시지를 잘못 버리는 일은 없다.
+ *
+ * 파티션은 한 번에 컨슈머 스레드 하나만 처리하지만 리밸런스 콜백과 겹칠 수 있어 메서드 단위로 동기화한다.
+ */
+final class DedupWindow {
+
+    private static final int SNAPSHOT_MAGIC = 0x44445750; // "DDWP"
+    private static final int SNAPSHOT_VERSION = 1;
+
+    enum Check {
+        /** Bloom filter 에 없음 */
+        NEW,
+        /** Bloom filter 에는 있으나 LRU 에 없음 (오탐 또는 LRU 에서 밀려남) */
+        NEW_AFTER_LOOKUP,
+        /** window 안에 이미 처리함 */
+        DUPLICATE
+    }
+
+    private final long windowMillis;
+    private final int capacity;
+
+    private BloomFilter current;
+    private BloomFilter previous;
+    private long generationStartedAt;
+
+    private final LinkedHashMap<Key, Long> recent;
+
+    DedupWindow(long windowMillis, int capacity, double falsePositiveRate, long now) {
+        this.windowMillis = windowMillis;
+        this.capacity = capacity;
+        this.current = new BloomFilter(capacity, falsePositiveRate);
+        this.previous = new BloomFilter(capacity, falsePositiveRate);
+        this.generationStartedAt = now;
+        this.recent = new LinkedHashMap<>(Math.min(capacity, 1 << 16), 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Long> eldest) {
+                return size() > DedupWindow.this.capacity;
+            }
+        };
+    }
+
+    synchronized Check check(long msb, long lsb, long now) {
+        rotate(now);
+        if (!current.mightContain(msb, lsb) && !previous.mightContain(msb, lsb)) {
+            return Check.NEW;
+        }
+        Long seenAt = recent.get(new Key(msb, lsb));
+        if (seenAt != null && now - seenAt < windowMillis) {
+            return Check.DUPLICATE;
+        }
+        return Check.NEW_AFTER_LOOKUP;
+    }
+
+    /**
+     * 처리 완료한 messageId 기록
+     */
+    synchronized void add(long msb, long lsb, long now) {
+        rotate(now);
+        current.put(msb, lsb);
+        recent.put(new Key(msb, lsb), now);
+    }
+
+    synchronized int size() {
+        return recent.size();
+    }
+
+    long sizeInBytes() {
+        return current.sizeInBytes() + previous.sizeInBytes();
+    }
+
+    /**
+     * window 가 지나면 previous 를 비워 current 자리로 돌린다 (판정 범위: window ~ 2 × window)
+     * LRU 는 시각으로 만료 여부를 판단하므로 여기서는 오래된 항목만 앞에서부터 정리한다.
+     */
+    private void rotate(long now) {
+        if (now - generationStartedAt < windowMillis) {
+            return;
+        }
+        BloomFilter recycled = previous;
+        recycled.clear();
+        previous = current;
+        current = recycled;
+        generationStartedAt = now;
+
+        var it = recent.values().iterator();
+        while (it.hasNext() && now - it.next() >= windowMillis) {
+            it.remove();
+        }
+    }
+
+    /**
+     * window 안의 messageId 를 오래된 순서로 기록
+     * [magic][version][savedAt][count] + count × [msb][lsb][seenAt]
+     */
+    synchronized void writeTo(DataOutputStream out, long now) throws IOException {
+        int live = 0;
+        for (Long seenAt : recent.values()) {
+            if (now - seenAt < windowMillis) {
+                live++;
+            }
+        }
+        out.writeInt(SNAPSHOT_MAGIC);
+        out.writeInt(SNAPSHOT_VERSION);
+        out.writeLong(now);
+        out.writeInt(live);
+        for (Map.Entry<Key, Long> entry : recent.entrySet()) {
+            long seenAt = entry.getValue();
+            if (now - seenAt < windowMillis) {
+                out.writeLong(entry.getKey().msb());
+                out.writeLong(entry.getKey().lsb());
+                out.writeLong(seenAt);
+            }
+        }
+    }
+
+    /**
+     * 스냅샷에서 window 안의 messageId 복원
+     *
+     * @return 복원한 항목 수
+     * @throws IOException 형식이 다르거나 잘린 스냅샷
+     */
+    synchronized int readFrom(DataInputStream in, long now) throws IOException {
+        if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+            throw new IOException("Not a dedup window snapshot");
+        }
+        in.readLong();
+        int count = in.readInt();
+        int restored = 0;
+        for (int i = 0; i < count; i++) {
+            long msb = in.readLong();
+            long lsb = in.readLong();
+            long seenAt = in.readLong();
+            if (now - seenAt < windowMillis) {
+                current.put(msb, lsb);
+                recent.put(new Key(msb, lsb), seenAt);
+                restored++;
+            }
+        }
+        return restored;
+    }
+
+    private record Key(long msb, long lsb) {
+    }
+}
@@ -0,0 +1,193 @@
+package com.enterprise.message.dedup;
+
+import com.enterprise.message.config.MessageDedupProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * IoT 메시지 중복 제거 (파티션별 시간 창)
+ *
+ * mqtt-service 는 MQTT 수신 건마다 messageId 를 발급해 Kafka 헤더에 실으므로, 리밸런스 / 재시도 후 재전달된
+ * 레코드는 같은 messageId 로 다시 들어온다 (디바이스가 같은 내용을 다시 보낸 것은 다른 messageId 라서 걸러지지 않음).
+ * 리스너는 배치마다 {@link #open(String)} 으로 세션을 열어
+ * 이미 처리한 messageId 를 걸러내고, 처리가 끝나면 세션을 완료한 뒤 오프셋을 커밋한다.
+ * → 커밋 전에 죽거나 파티션이 넘어가도 다시 받은 레코드는 창에서 걸러져 한 번만 처리된다 (DB 조회 없음).
+ *
+ * 창은 파티션을 처음 처리할 때 만들고(스냅샷이 있으면 복원), 파티션 회수 시 스냅샷을 남기고 버린다.
+ * 스냅샷은 로컬 디스크에만 남으므로 한 번만 처리되는 것은 같은 프로세스(재시작 포함) 안에서 파티션을 다시 받은
+ * 경우에 한한다. 다른 인스턴스로 넘어간 파티션은 빈 창으로 시작해 커밋 전 재전달분을 다시 처리할 수 있다.
+ * batchKafkaListenerContainerFactory 의 ConsumerRebalanceListener 로 등록된다.
+ */
+@Slf4j
+@Component
+public class MessageDeduplicator implements ConsumerAwareRebalanceListener {
+
+    private static final String SNAPSHOT_SUFFIX = ".dedup";
+
+    private final MessageDedupProperties properties;
+    private final Set<String> listeners;
+    private final long windowMillis;
+    private final Path snapshotDirectory;
+    private final Map<TopicPartition, DedupWindow> windows = new ConcurrentHashMap<>();
+
+    private final Map<DedupWindow.Check, Counter> checkCounters = new EnumMap<>(DedupWindow.Check.class);
+    private final Counter unidentifiedCounter;
+    private final Counter snapshotSavedCounter;
+    private final Counter snapshotLoadedCounter;
+    private final Counter snapshotFailedCounter;
+
+    public MessageDeduplicator(MessageDedupProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.listeners = Set.copyOf(properties.getListeners());
+        this.windowMillis = properties.getWindow().toMillis();
+        this.snapshotDirectory = Paths.get(properties.getSnapshotDirectory());
+
+        for (DedupWindow.Check check : DedupWindow.Check.values()) {
+            checkCounters.put(check, Counter.builder("iot.dedup.checks")
+                    .description("Message id checks against the dedup window")
+                    .tag("result", check.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        unidentifiedCounter = Counter.builder("iot.dedup.checks")
+                .tag("result", "unidentified")
+                .register(meterRegistry);
+        snapshotSavedCounter = Counter.builder("iot.dedup.snapshots")
+                .tag("result", "saved")
+                .register(meterRegistry);
+        snapshotLoadedCounter = Counter.builder("iot.dedup.snapshots")
+                .tag("result", "loaded")
+                .register(meterRegistry);
+        snapshotFailedCounter = Counter.builder("iot.dedup.snapshots")
+                .tag("result", "failed")
+                .register(meterRegistry);
+        Gauge.builder("iot.dedup.partitions", windows, Map::size)
+                .description("Partitions with an active dedup window")
+                .register(meterRegistry);
+        Gauge.builder("iot.dedup.entries", this, MessageDeduplicator::entryCount)
+                .description("Message ids held across dedup windows")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 배치 하나의 중복 제거 세션
+     *
+     * @return 중복 제거 대상이 아닌(null 포함) 리스너이거나 비활성화 상태면 null
+     */
+    public DedupSession open(String listener) {
+        if (!properties.isEnabled() || listener == null || !listeners.contains(listener)) {
+            return null;
+        }
+        return new DedupSession(this, System.currentTimeMillis());
+    }
+
+    DedupWindow.Check check(TopicPartition partition, long msb, long lsb, long now) {
+        DedupWindow.Check result = window(partition, now).check(msb, lsb, now);
+        checkCounters.get(result).increment();
+        return result;
+    }
+
+    void add(TopicPartition partition, long msb, long lsb, long now) {
+        window(partition, now).add(msb, lsb, now);
+    }
+
+    void unidentified() {
+        unidentifiedCounter.increment();
+    }
+
+    @Override
+    public void onPartitionsRevokedAfterCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        long now = System.currentTimeMillis();
+        for (TopicPartition partition : partitions) {
+            DedupWindow window = windows.remove(partition);
+            if (window != null) {
+                save(partition, window, now);
+            }
+        }
+    }
+
+    /**
+     * 세션 만료 등으로 이미 다른 컨슈머에 넘어간 파티션: 커밋 이후 처리분이 섞여 있을 수 있어 스냅샷을 남기지 않음
+     */
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        partitions.forEach(windows::remove);
+    }
+
+    private DedupWindow window(TopicPartition partition, long now) {
+        DedupWindow window = windows.get(partition);
+        if (window == null) {
+            window = windows.computeIfAbsent(partition, p -> load(p, now));
+        }
+        return window;
+    }
+
+    private DedupWindow load(TopicPartition partition, long now) {
+        DedupWindow window = new DedupWindow(
+                windowMillis, properties.getCapacity(), properties.getFalsePositiveRate(), now);
+        Path file = snapshotFile(partition);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            int restored = window.readFrom(in, now);
+            snapshotLoadedCounter.increment();
+            log.info("Restored dedup window for {} - {} message ids", partition, restored);
+        } catch (NoSuchFileException e) {
+            // 처음 담당하는 파티션
+        } catch (IOException e) {
+            snapshotFailedCounter.increment();
+            log.warn("Failed to restore dedup window for {}, starting empty", partition, e);
+            window = new DedupWindow(
+                    windowMillis, properties.getCapacity(), properties.getFalsePositiveRate(), now);
+        }
+        return window;
+    }
+
+    private void save(TopicPartition partition, DedupWindow window, long now) {
+        Path file = snapshotFile(partition);
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(snapshotDirectory);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                window.writeTo(out, now);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            snapshotSavedCounter.increment();
+            log.debug("Saved dedup window for {} - {} message ids", partition, window.size());
+        } catch (IOException e) {
+            snapshotFailedCounter.increment();
+            log.warn("Failed to save dedup window for {}", partition, e);
+        }
+    }
+
+    private Path snapshotFile(TopicPartition partition) {
+        return snapshotDirectory.resolve(partition.topic() + "-" + partition.partition() + SNAPSHOT_SUFFIX);
+    }
+
+    private double entryCount() {
+        long total = 0;
+        for (DedupWindow window : windows.values()) {
+            total += window.size();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,36 @@
+package com.enterprise.message.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DLT 재처리 결과 DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeadLetterReplayDto {
+
+    /**
+     * 재처리한 DLT
+     */
+    private String dltTopic;
+
+    /**
+     * 다시 발행한 원본 토픽
+     */
+    private String targetTopic;
+
+    /**
+     * 다시 발행한 레코드 수
+     */
+    private int replayed;
+
+    /**
+     * 요청 시점 기준 DLT 에 남아 있는 레코드 수
+     */
+    private long remaining;
+}
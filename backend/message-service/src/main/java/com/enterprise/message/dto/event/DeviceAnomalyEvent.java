@@ -0,0 +1,61 @@
+package com.enterprise.message.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 디바이스 텔레메트리 이상 감지 이벤트
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeviceAnomalyEvent {
+
+    private String deviceId;
+
+    /**
+     * 채널 이름 (iot.telemetry.channels)
+     */
+    private String channel;
+
+    /**
+     * 관측값
+     */
+    private double value;
+
+    /**
+     * 관측 직전 EWMA 평균 / 표준편차
+     */
+    private double mean;
+    private double stdDev;
+
+    private double zScore;
+
+    /**
+     * 감지 방식
+     */
+    @Builder.Default
+    private String detector = "EWMA_ZSCORE";
+
+    /**
+     * 관측값 수신 시각
+     */
+    private LocalDateTime observedAt;
+
+    /**
+     * 이벤트 타입
+     */
+    @Builder.Default
+    private String eventType = "DEVICE_ANOMALY";
+
+    /**
+     * 이벤트 발생 시간
+     */
+    @Builder.Default
+    private LocalDateTime eventTimestamp = LocalDateTime.now();
+}
@@ -0,0 +1,73 @@
+package com.enterprise.message.dto.iot;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 대량 명령 작업 진행 상황 DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkCommandJobDto {
+
+    public enum Status {
+        PENDING,    // 실행 대기
+        RUNNING,    // 대상 조회 / 발행 중
+        COMPLETED,  // 모든 명령 발행 시도 완료 (failed 는 0 이 아닐 수 있음)
+        CANCELLED,  // 취소됨
+        FAILED      // 대상 조회 실패 등으로 중단
+    }
+
+    /**
+     * 작업 ID (각 명령의 commandId 는 "<jobId>-<순번>")
+     */
+    private String jobId;
+
+    private Status status;
+
+    private IoTDeviceMessageDto.MessageType messageType;
+
+    /**
+     * 대상 선택 조건 (예: prefix=EST-ROZ-25*)
+     */
+    private String selector;
+
+    /**
+     * 초당 최대 발행 수
+     */
+    private int ratePerSecond;
+
+    /**
+     * 대상 디바이스 수 (조회가 끝나기 전에는 0)
+     */
+    private int total;
+
+    /**
+     * Kafka 전송이 확인된 명령 수
+     */
+    private long sent;
+
+    /**
+     * Kafka 전송에 실패한 명령 수
+     */
+    private long failed;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+
+    /**
+     * FAILED 사유
+     */
+    private String error;
+}
@@ -0,0 +1,81 @@
+package com.enterprise.message.dto.iot;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 대량 명령 요청 DTO
+ * selector 에 해당하는 모든 디바이스로 같은 명령을 발행한다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCommandRequestDto {
+
+    /**
+     * 대상 디바이스 선택 (deviceIds, prefix, tag 중 하나)
+     */
+    @Valid
+    @NotNull(message = "Selector is required")
+    private Selector selector;
+
+    /**
+     * 메시지 타입
+     */
+    @NotNull(message = "Message type is required")
+    private IoTDeviceMessageDto.MessageType messageType;
+
+    /**
+     * 메시지 페이로드 (Base64 인코딩된 문자열)
+     */
+    @NotBlank(message = "Payload is required")
+    private String payload;
+
+    /**
+     * QoS 레벨 (0, 1, 2)
+     */
+    @Builder.Default
+    private Integer qos = 0;
+
+    /**
+     * 토픽 타입 (REQUEST, RESPONSE, TEST)
+     */
+    @Builder.Default
+    private String topicType = "REQUEST";
+
+    /**
+     * 초당 최대 발행 수 (없으면 iot.command-fanout.rate-per-second, 설정값보다 높게 지정할 수 없음)
+     */
+    private Integer ratePerSecond;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Selector {
+
+        /**
+         * 디바이스 ID 목록
+         */
+        private List<String> deviceIds;
+
+        /**
+         * 디바이스 ID 접두어 (예: EST-ROZ-25*, 끝의 "*" 는 생략 가능)
+         * REQUEST 를 한 번 이상 보내 Serial Number 가 등록된(device_serial 테이블) 디바이스가 대상이다.
+         */
+        private String prefix;
+
+        /**
+         * iot.command-fanout.tags 에 정의한 태그
+         */
+        private String tag;
+    }
+}
@@ -0,0 +1,57 @@
+package com.enterprise.message.dto.iot;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * IoT 명령 처리 상태 DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CommandStatusDto {
+
+    public enum Status {
+        PENDING,        // 디바이스 응답 대기
+        ACKNOWLEDGED,   // 디바이스 응답 수신
+        TIMED_OUT,      // 대기 시간 안에 응답 없음
+        SEND_FAILED     // Kafka 전송 실패
+    }
+
+    private String commandId;
+
+    private String deviceId;
+
+    private IoTDeviceMessageDto.MessageType messageType;
+
+    private Status status;
+
+    /**
+     * 명령 발행 시각
+     */
+    private LocalDateTime sentAt;
+
+    /**
+     * 응답 / 타임아웃 / 전송 실패 시각
+     */
+    private LocalDateTime completedAt;
+
+    /**
+     * 발행 → 디바이스 응답 수신까지 (ms, ACKNOWLEDGED 일 때만)
+     */
+    private Double rttMillis;
+
+    /**
+     * 응답 메시지의 ID / 타입 (ACKNOWLEDGED 일 때만)
+     */
+    private String responseMessageId;
+
+    private IoTDeviceMessageDto.MessageType responseType;
+}
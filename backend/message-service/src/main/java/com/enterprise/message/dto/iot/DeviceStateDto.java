@@ -0,0 +1,63 @@
+package com.enterprise.message.dto.iot;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 디바이스 최신 상태 응답 DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeviceStateDto {
+
+    /**
+     * 디바이스 ID
+     */
+    private String deviceId;
+
+    /**
+     * 마지막 메시지 타입
+     */
+    private IoTDeviceMessageDto.MessageType messageType;
+
+    /**
+     * 마지막 메시지 QoS
+     */
+    private Integer qos;
+
+    /**
+     * 마지막 메시지 수신 시각 (mqtt-service 기준)
+     */
+    private LocalDateTime receivedAt;
+
+    /**
+     * 상태 반영 시각
+     */
+    private LocalDateTime updatedAt;
+
+    /**
+     * 누적 메시지 수
+     */
+    private long messageCount;
+
+    /**
+     * 마지막 프레임 (Hex)
+     */
+    private String frame;
+
+    /**
+     * 마지막 프레임 원본 길이
+     */
+    private int frameLength;
+
+    /**
+     * frame 이 snapshot-bytes 에서 잘렸는지 여부
+     */
+    private boolean truncated;
+}
@@ -1,6 +1,7 @@
 package com.enterprise.message.dto.iot;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -46,9 +47,15 @@ public class IoTDeviceMessageDto {
     private String rawMessage;
     
     /**
-     * 파싱된 메시지 (JSON)
+     * 파싱된 메시지 (프레임 Hex, JSON 포맷 레코드)
      */
     private String parsedMessage;
+
+    /**
+     * 디바이스 바이너리 프레임 원본 (frame 포맷 레코드의 value)
+     */
+    @JsonIgnore
+    private byte[] frame;
     
     /**
      * QoS 레벨
@@ -64,17 +71,43 @@ public class IoTDeviceMessageDto {
     
     /**
      * 메시지 타입 Enum
+     * code 는 프레임 topicType[4] 값 (mqtt-service MqttMessage.MessageType 과 동일)
      */
     public enum MessageType {
-        PERIODIC,    // 주기적 데이터
-        DISCRETE,    // 이벤트성 데이터
-        REQUEST,     // 디바이스 등록 요청
-        RESPONSE,    // 응답
-        TEST,        // 테스트
-        ECHO,        // Echo 테스트
-        FOTA,        // 펌웨어 업데이트
-        REBOOT,      // 재시작
-        NTP,         // 시간 동기화
-        PLAINTEXT    // 평문 텍스트
+        PERIODIC(0),    // 주기적 데이터
+        DISCRETE(1),    // 이벤트성 데이터
+        REQUEST(2),     // 디바이스 등록 요청
+        RESPONSE(3),    // 응답
+        TEST(4),        // 테스트
+        ECHO(5),        // Echo 테스트
+        FOTA(6),        // 펌웨어 업데이트
+        REBOOT(7),      // 재시작
+        NTP(8),         // 시간 동기화
+        PLAINTEXT(9);   // 평문 텍스트
+
+        private static final MessageType[] BY_CODE = new MessageType[16];
+
+        static {
+            for (MessageType type : values()) {
+                BY_CODE[type.code] = type;
+            }
+        }
+
+        private final int code;
+
+        MessageType(int code) {
+            this.code = code;
+        }
+
+        public int getCode() {
+            return code;
+        }
+
+        public static MessageType fromCode(int code) {
+            if (code < 0 || code >= BY_CODE.length) {
+                return null;
+            }
+            return BY_CODE[code];
+        }
     }
 }
@@ -0,0 +1,62 @@
+package com.enterprise.message.dto.iot;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 디바이스 텔레메트리 조회 응답 (step 단위로 다운샘플링)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TelemetrySeriesDto {
+
+    private String deviceId;
+
+    private LocalDateTime from;
+
+    private LocalDateTime to;
+
+    /**
+     * 구간 길이 (밀리초)
+     */
+    private long stepMillis;
+
+    /**
+     * 채널 이름 (points 의 avg/min/max 배열 순서)
+     */
+    private List<String> channels;
+
+    /**
+     * 샘플이 있는 구간만 포함
+     */
+    private List<Point> points;
+
+    @Data
+    @AllArgsConstructor
+    public static class Point {
+
+        /**
+         * 구간 시작 시각
+         */
+        private LocalDateTime timestamp;
+
+        /**
+         * 구간 안 샘플 수
+         */
+        private int count;
+
+        /**
+         * 채널별 평균/최소/최대 (값이 없는 채널은 null)
+         */
+        private Double[] avg;
+        private Double[] min;
+        private Double[] max;
+    }
+}
@@ -0,0 +1,33 @@
+package com.enterprise.message.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 디바이스 Serial Number ↔ 프레임 key("#" + deviceID[0-3] Hex) 대응 (DeviceSerialRegistry 대상)
+ * REQUEST 프레임에만 두 값이 함께 실려 오므로 그때 기록한다.
+ * 쓰기/조회는 DeviceSerialJdbcRepository 로 수행하며, 이 엔티티는 스키마 정의용이다.
+ */
+@Entity
+@Table(name = "device_serial", indexes = {
+        @Index(name = "idx_device_serial_key", columnList = "deviceKey")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class DeviceSerial {
+
+    @Id
+    @Column(length = 24)
+    private String serialNo;
+
+    @Column(nullable = false, length = 24)
+    private String deviceKey;
+
+    @Column(nullable = false, columnDefinition = "DATETIME(3)")
+    private LocalDateTime updatedAt;
+}
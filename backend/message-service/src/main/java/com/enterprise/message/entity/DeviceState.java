@@ -0,0 +1,50 @@
+package com.enterprise.message.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 디바이스 최신 상태 (DeviceStateStore 의 write-behind 대상)
+ * 쓰기/적재는 DeviceStateJdbcRepository 의 batch upsert 로 수행하며, 이 엔티티는 스키마 정의용이다.
+ */
+@Entity
+@Table(name = "device_state", indexes = {
+        @Index(name = "idx_device_state_received", columnList = "receivedAt")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class DeviceState {
+
+    /**
+     * snapshot 컬럼 크기 (iot.device-state.snapshot-bytes 상한)
+     */
+    public static final int MAX_SNAPSHOT_BYTES = 255;
+
+    @Id
+    @Column(length = 24)
+    private String deviceId;
+
+    private Integer messageType;
+
+    private Integer qos;
+
+    @Column(columnDefinition = "DATETIME(3)")
+    private LocalDateTime receivedAt;
+
+    @Column(nullable = false, columnDefinition = "DATETIME(3)")
+    private LocalDateTime updatedAt;
+
+    @Column(nullable = false)
+    private long messageCount;
+
+    @Column(nullable = false)
+    private int frameLength;
+
+    @Column(length = MAX_SNAPSHOT_BYTES)
+    private byte[] snapshot;
+}
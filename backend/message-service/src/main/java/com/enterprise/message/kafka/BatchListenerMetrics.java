@@ -0,0 +1,120 @@
+package com.enterprise.message.kafka;
+
+import com.enterprise.message.dto.iot.IoTDeviceMessageDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * IoT 배치 리스너 메트릭 (listener 태그 = 리스너 이름)
+ *
+ * - iot.consumer.batch.size: 배치당 레코드 수
+ * - iot.consumer.batch.devices: 배치당 디바이스 수
+ * - iot.consumer.batch.process: 배치 역직렬화 + 처리 시간
+ * - iot.consumer.records{result=processed|failed|duplicate}: 레코드 처리 결과
+ * - iot.consumer.latency: mqtt-service MQTT 수신(receivedAt) → 배치 처리 완료 (MQTT → Kafka → 리스너 종단 지연)
+ *   두 서비스의 시계가 동기화되어 있어야 의미가 있다 (mqtt-service LoadGenerator 벤치마크 참고).
+ */
+@Component
+@RequiredArgsConstructor
+public class BatchListenerMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Meters> meters = new ConcurrentHashMap<>();
+
+    /**
+     * 배치 하나의 처리 결과 기록
+     *
+     * @param failed 역직렬화 또는 처리 단계에서 실패한 레코드 수
+     */
+    public void record(String listener, IoTDeviceMessageBatch batch, int failed, long elapsedNanos) {
+        Meters m = meters.computeIfAbsent(listener, this::register);
+        int total = batch.size() + batch.failed() + batch.skipped();
+        m.batchSize.record(total);
+        m.devices.record(batch.deviceCount());
+        m.process.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        m.processed.increment(total - failed - batch.skipped());
+        if (failed > 0) {
+            m.failed.increment(failed);
+        }
+        if (batch.skipped() > 0) {
+            m.duplicate.increment(batch.skipped());
+        }
+        recordLatency(m.latency, batch);
+    }
+
+    /**
+     * receivedAt 은 mqtt-service 의 시스템 시간대 LocalDateTime 이므로 현재 오프셋으로 epoch 변환
+     */
+    private static void recordLatency(Timer latency, IoTDeviceMessageBatch batch) {
+        Instant now = Instant.now();
+        ZoneOffset offset = ZoneId.systemDefault().getRules().getOffset(now);
+        long nowMicros = now.getEpochSecond() * 1_000_000L + now.getNano() / 1_000;
+        for (IoTDeviceMessageDto message : batch.messages()) {
+            LocalDateTime receivedAt = message.getReceivedAt();
+            if (receivedAt == null) {
+                continue;
+            }
+            long receivedMicros = receivedAt.toEpochSecond(offset) * 1_000_000L + receivedAt.getNano() / 1_000;
+            if (nowMicros >= receivedMicros) {
+                latency.record(nowMicros - receivedMicros, TimeUnit.MICROSECONDS);
+            }
+        }
+    }
+
+    private Meters register(String listener) {
+        return new Meters(
+                DistributionSummary.builder("iot.consumer.batch.size")
+                        .description("Records per IoT listener batch")
+                        .tag("listener", listener)
+                        .publishPercentiles(0.5, 0.99)
+                        .register(meterRegistry),
+                DistributionSummary.builder("iot.consumer.batch.devices")
+                        .description("Distinct devices per IoT listener batch")
+                        .tag("listener", listener)
+                        .register(meterRegistry),
+                Timer.builder("iot.consumer.batch.process")
+                        .description("Time to deserialize and process one IoT listener batch")
+                        .tag("listener", listener)
+                        .publishPercentiles(0.5, 0.99)
+                        .register(meterRegistry),
+                Counter.builder("iot.consumer.records")
+                        .tag("listener", listener)
+                        .tag("result", "processed")
+                        .register(meterRegistry),
+                Counter.builder("iot.consumer.records")
+                        .tag("listener", listener)
+                        .tag("result", "failed")
+                        .register(meterRegistry),
+                Counter.builder("iot.consumer.records")
+                        .tag("listener", listener)
+                        .tag("result", "duplicate")
+                        .register(meterRegistry),
+                Timer.builder("iot.consumer.latency")
+                        .description("MQTT receipt in mqtt-service to IoT listener batch completion")
+                        .tag("listener", listener)
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry));
+    }
+
+    private record Meters(DistributionSummary batchSize,
+                          DistributionSummary devices,
+                          Timer process,
+                          Counter processed,
+                          Counter failed,
+                          Counter duplicate,
+                          Timer latency) {
+    }
+}
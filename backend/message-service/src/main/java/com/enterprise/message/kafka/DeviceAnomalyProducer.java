@@ -0,0 +1,32 @@
+package com.enterprise.message.kafka;
+
+import com.enterprise.message.dto.event.DeviceAnomalyEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * 디바이스 이상 감지 이벤트 발행 (key = deviceId)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DeviceAnomalyProducer {
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Value("${kafka.topic.device-anomaly}")
+    private String deviceAnomalyTopic;
+
+    public void send(DeviceAnomalyEvent event) {
+        kafkaTemplate.send(deviceAnomalyTopic, event.getDeviceId(), event)
+                .whenComplete((result, ex) -> {
+                    if (ex != null) {
+                        log.error("Failed to send device anomaly event - Device: {}, Channel: {}",
+                                event.getDeviceId(), event.getChannel(), ex);
+                    }
+                });
+    }
+}
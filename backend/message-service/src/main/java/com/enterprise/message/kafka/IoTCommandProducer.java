@@ -1,5 +1,6 @@
 package com.enterprise.message.kafka;
 
+import com.enterprise.message.command.CommandAckTracker;
 import com.enterprise.message.dto.iot.IoTCommandDto;
 import com.enterprise.message.dto.iot.IoTDeviceMessageDto;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -10,6 +11,8 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
@@ -24,6 +27,7 @@ public class IoTCommandProducer {
 
     private final KafkaTemplate<String, Object> kafkaTemplate;
     private final ObjectMapper objectMapper;
+    private final CommandAckTracker commandAckTracker;
 
     @Value("${kafka.topic.mqtt-command}")
     private String mqttCommandTopic;
@@ -41,7 +45,8 @@ public class IoTCommandProducer {
             log.info("Sending IoT command to Kafka - Command ID: {}, Device: {}, Type: {}",
                     command.getCommandId(), command.getDeviceId(), command.getMessageType());
 
-            // Kafka로 전송
+            // 응답 대기 등록 후 Kafka로 전송
+            commandAckTracker.register(command);
             CompletableFuture<SendResult<String, Object>> future = kafkaTemplate.send(mqttCommandTopic,
                     command.getDeviceId(), command);
 
@@ -53,6 +58,7 @@ public class IoTCommandProducer {
                             result.getRecordMetadata().partition(),
                             result.getRecordMetadata().offset());
                 } else {
+                    commandAckTracker.sendFailed(command.getCommandId());
                     log.error("Failed to send IoT command - Command ID: {}", command.getCommandId(), ex);
                 }
             });
@@ -61,12 +67,43 @@ public class IoTCommandProducer {
 
         } catch (Exception e) {
             log.error("Error sending IoT command", e);
+            commandAckTracker.sendFailed(command.getCommandId());
             CompletableFuture<SendResult<String, Object>> failedFuture = new CompletableFuture<>();
             failedFuture.completeExceptionally(e);
             return failedFuture;
         }
     }
 
+    /**
+     * 여러 명령을 한 번에 전송 (대량 발행용)
+     * 완료를 기다리지 않고 모두 producer 에 넘기므로 같은 파티션의 명령은 producer batch 로 묶여 전송된다.
+     * 명령마다 로그를 남기지 않으며 결과는 반환된 future 로 확인한다.
+     */
+    public List<CompletableFuture<SendResult<String, Object>>> sendCommands(List<IoTCommandDto> commands) {
+        List<CompletableFuture<SendResult<String, Object>>> futures = new ArrayList<>(commands.size());
+        for (IoTCommandDto command : commands) {
+            if (command.getCommandId() == null) {
+                command.setCommandId(UUID.randomUUID().toString());
+            }
+            commandAckTracker.register(command);
+            CompletableFuture<SendResult<String, Object>> future;
+            try {
+                future = kafkaTemplate.send(mqttCommandTopic, command.getDeviceId(), command);
+            } catch (Exception e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+            String commandId = command.getCommandId();
+            future.whenComplete((result, ex) -> {
+                if (ex != null) {
+                    commandAckTracker.sendFailed(commandId);
+                }
+            });
+            futures.add(future);
+        }
+        log.debug("Sent {} IoT commands to Kafka", commands.size());
+        return futures;
+    }
+
     /**
      * Echo 명령 전송 (테스트용)
      */
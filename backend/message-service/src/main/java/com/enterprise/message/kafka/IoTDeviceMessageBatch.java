@@ -0,0 +1,124 @@
+package com.enterprise.message.kafka;
+
+import com.enterprise.message.dto.iot.IoTDeviceMessageDto;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * poll 한 번에 받은 IoT 디바이스 메시지 묶음
+ * 레코드를 한 번만 역직렬화해 두고 디바이스별로 묶어 둔다 (처리 단계는 디바이스 순서대로 메시지를 한 건씩 받는다).
+ *
+ * byDevice 는 디바이스가 처음 등장한 순서를 유지하며, 디바이스 내 메시지는 수신(offset) 순서이다.
+ * deviceId 가 없는 메시지(PLAINTEXT 등)는 {@link #NO_DEVICE} 키로 묶인다.
+ * 처리에 실패한 메시지를 원본 레코드 그대로 재시도 토픽에 보낼 수 있도록 메시지 → 레코드 대응을 유지한다.
+ */
+public final class IoTDeviceMessageBatch {
+
+    public static final String NO_DEVICE = "";
+
+    private final List<IoTDeviceMessageDto> messages;
+    private final Map<String, List<IoTDeviceMessageDto>> byDevice;
+    private final Map<IoTDeviceMessageDto, ConsumerRecord<String, byte[]>> records;
+    private final List<RecordFailure> unreadable;
+    private final int skipped;
+
+    private IoTDeviceMessageBatch(List<IoTDeviceMessageDto> messages,
+                                  Map<String, List<IoTDeviceMessageDto>> byDevice,
+                                  Map<IoTDeviceMessageDto, ConsumerRecord<String, byte[]>> records,
+                                  List<RecordFailure> unreadable,
+                                  int skipped) {
+        this.messages = Collections.unmodifiableList(messages);
+        this.byDevice = Collections.unmodifiableMap(byDevice);
+        this.records = records;
+        this.unreadable = Collections.unmodifiableList(unreadable);
+        this.skipped = skipped;
+    }
+
+    /**
+     * 역직렬화된 메시지 목록으로 배치 생성 (디바이스별 그룹핑 포함)
+     *
+     * @param records    messages 와 같은 순서의 원본 레코드
+     * @param unreadable 역직렬화에 실패해 제외된 레코드
+     * @param skipped    필터(중복 제거)로 제외된 레코드 수
+     */
+    static IoTDeviceMessageBatch of(List<IoTDeviceMessageDto> messages,
+                                    List<ConsumerRecord<String, byte[]>> records,
+                                    List<RecordFailure> unreadable,
+                                    int skipped) {
+        Map<String, List<IoTDeviceMessageDto>> byDevice = new LinkedHashMap<>();
+        Map<IoTDeviceMessageDto, ConsumerRecord<String, byte[]>> recordByMessage = new IdentityHashMap<>(messages.size());
+        for (int i = 0; i < messages.size(); i++) {
+            IoTDeviceMessageDto message = messages.get(i);
+            String deviceId = message.getDeviceId() != null ? message.getDeviceId() : NO_DEVICE;
+            byDevice.computeIfAbsent(deviceId, k -> new ArrayList<>(4)).add(message);
+            recordByMessage.put(message, records.get(i));
+        }
+        return new IoTDeviceMessageBatch(messages, byDevice, recordByMessage, unreadable, skipped);
+    }
+
+    /**
+     * 수신 순서의 전체 메시지
+     */
+    public List<IoTDeviceMessageDto> messages() {
+        return messages;
+    }
+
+    /**
+     * deviceId → 해당 디바이스 메시지 (수신 순서)
+     */
+    public Map<String, List<IoTDeviceMessageDto>> byDevice() {
+        return byDevice;
+    }
+
+    public int size() {
+        return messages.size();
+    }
+
+    public int deviceCount() {
+        return byDevice.size();
+    }
+
+    /**
+     * 메시지의 원본 레코드
+     */
+    public ConsumerRecord<String, byte[]> record(IoTDeviceMessageDto message) {
+        return records.get(message);
+    }
+
+    /**
+     * 역직렬화 실패 레코드 수
+     */
+    public int failed() {
+        return unreadable.size();
+    }
+
+    /**
+     * 역직렬화에 실패한 레코드와 원인
+     */
+    public List<RecordFailure> unreadable() {
+        return unreadable;
+    }
+
+    /**
+     * 이미 처리한 메시지라 건너뛴 레코드 수
+     */
+    public int skipped() {
+        return skipped;
+    }
+
+    public boolean isEmpty() {
+        return messages.isEmpty();
+    }
+
+    /**
+     * 실패한 레코드와 원인
+     */
+    public record RecordFailure(ConsumerRecord<String, byte[]> record, Exception cause) {
+    }
+}
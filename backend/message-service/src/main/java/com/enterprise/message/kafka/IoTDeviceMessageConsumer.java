@@ -1,29 +1,109 @@
 package com.enterprise.message.kafka;
 
+import com.enterprise.message.codec.DeviceFrame;
+import com.enterprise.message.command.CommandAckTracker;
+import com.enterprise.message.dedup.DedupSession;
+import com.enterprise.message.dedup.MessageDeduplicator;
 import com.enterprise.message.dto.iot.IoTDeviceMessageDto;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.enterprise.message.service.AnomalyDetectionService;
+import com.enterprise.message.service.DeviceSerialRegistry;
+import com.enterprise.message.service.DeviceStateService;
+import com.enterprise.message.service.TelemetryService;
+import com.enterprise.message.telemetry.TelemetrySample;
+import com.enterprise.message.telemetry.TelemetrySampleReader;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.handler.annotation.Header;
-import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Service;
 
 /**
  * IoT 디바이스 메시지 수신 서비스
  * mqtt-service에서 Kafka를 통해 전달받은 IoT 디바이스 메시지를 처리
+ *
+ * 모든 리스너는 배치 리스너(batchKafkaListenerContainerFactory)로 poll 단위 레코드 목록을 받아
+ * 한 번에 역직렬화한 뒤 디바이스별로 묶고, 처리 단계에는 디바이스 순서대로 한 건씩 넘긴다.
+ * 처리 단계는 메모리 저장소만 갱신하며 DB 반영은 DeviceStateService 의 write-behind flush 가 JDBC batch 로 모아 처리한다.
+ * 오프셋은 배치 처리가 끝난 뒤 수동 커밋하며(AckMode.MANUAL), iot.dedup.listeners 에 포함된
+ * 리스너는 커밋 전에 처리한 messageId 를 중복 제거 창에 기록해 재전달된 레코드를 다시 처리하지 않는다.
+ *
+ * 처리에 실패한 레코드는 IoTRetryPublisher 로 재시도 토픽(소진 시 DLT)에 넘기고 배치는 계속 진행한다.
+ * 재시도 토픽은 IoTRetryConsumer 가 소비해 {@link #process(String, IoTDeviceMessageDto)} 로 다시 처리한다.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class IoTDeviceMessageConsumer {
 
-    private final ObjectMapper objectMapper;
+    private final IoTDeviceMessageReader messageReader;
+    private final BatchListenerMetrics batchMetrics;
+    private final MessageDeduplicator deduplicator;
+    private final DeviceStateService deviceStateService;
+    private final TelemetrySampleReader telemetrySampleReader;
+    private final TelemetryService telemetryService;
+    private final AnomalyDetectionService anomalyDetectionService;
+    private final IoTRetryPublisher retryPublisher;
+    private final CommandAckTracker commandAckTracker;
+    private final DeviceSerialRegistry deviceSerialRegistry;
+
+    @Value("${kafka.topic.device-data}")
+    private String deviceDataTopic;
+
+    @Value("${kafka.topic.device-request}")
+    private String deviceRequestTopic;
+
+    @Value("${kafka.topic.device-response}")
+    private String deviceResponseTopic;
+
+    @Value("${kafka.topic.fota}")
+    private String fotaTopic;
+
+    @Value("${kafka.topic.reboot}")
+    private String rebootTopic;
+
+    @Value("${kafka.topic.text}")
+    private String textTopic;
+
+    /**
+     * 원본 토픽 → 처리 단계 (재시도 토픽 레코드 처리용)
+     */
+    private final Map<String, Consumer<IoTDeviceMessageDto>> processorsByTopic = new LinkedHashMap<>();
+
+    /**
+     * 원본 토픽 → 리스너 이름 (재시도 토픽 레코드의 중복 제거 대상 판단용)
+     */
+    private final Map<String, String> listenersByTopic = new HashMap<>();
+
+    @PostConstruct
+    void registerProcessors() {
+        register(deviceDataTopic, "device-data", this::processDeviceData);
+        register(deviceRequestTopic, "device-request", this::processDeviceRequest);
+        register(deviceResponseTopic, "device-response", this::processDeviceResponse);
+        register(fotaTopic, "fota", this::processFotaMessage);
+        register(rebootTopic, "reboot", this::processRebootMessage);
+        register(textTopic, "text", this::processPlainTextData);
+    }
+
+    private void register(String topic, String listener, Consumer<IoTDeviceMessageDto> processor) {
+        processorsByTopic.put(topic, processor);
+        listenersByTopic.put(topic, listener);
+    }
 
     /**
      * 디바이스 데이터 수신 (PERIODIC, DISCRETE, ECHO)
@@ -31,33 +111,10 @@ public class IoTDeviceMessageConsumer {
     @KafkaListener(
             topics = "${kafka.topic.device-data}",
             groupId = "${spring.kafka.consumer.group-id}",
-            containerFactory = "stringKafkaListenerContainerFactory"
+            containerFactory = "batchKafkaListenerContainerFactory"
     )
-    public void consumeDeviceData(
-            @Payload String messageJson,
-            @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
-            @Header(KafkaHeaders.OFFSET) long offset) {
-
-        log.info("Received device data from partition {}, offset {}", partition, offset);
-
-        try {
-            IoTDeviceMessageDto message = objectMapper.readValue(messageJson, IoTDeviceMessageDto.class);
-            
-            log.info("Processing device data - Device: {}, Type: {}, Message ID: {}", 
-                    message.getDeviceId(), message.getMessageType(), message.getMessageId());
-
-            // 메시지 타입에 따른 처리
-            switch (message.getMessageType()) {
-                case PERIODIC -> processPeriodicData(message);
-                case DISCRETE -> processDiscreteData(message);
-                case ECHO -> processEchoData(message);
-                case PLAINTEXT -> processPlainTextData(message);
-                default -> log.warn("Unhandled message type in device-data: {}", message.getMessageType());
-            }
-
-        } catch (Exception e) {
-            log.error("Error processing device data message", e);
-        }
+    public void consumeDeviceData(List<ConsumerRecord<String, byte[]>> records, Acknowledgment ack) {
+        consumeBatch("device-data", records, ack, this::processDeviceData);
     }
 
     /**
@@ -66,30 +123,10 @@ public class IoTDeviceMessageConsumer {
     @KafkaListener(
             topics = "${kafka.topic.device-request}",
             groupId = "${spring.kafka.consumer.group-id}",
-            containerFactory = "stringKafkaListenerContainerFactory"
+            containerFactory = "batchKafkaListenerContainerFactory"
     )
-    public void consumeDeviceRequest(
-            @Payload String messageJson,
-            @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
-            @Header(KafkaHeaders.OFFSET) long offset) {
-
-        log.info("Received device request from partition {}, offset {}", partition, offset);
-
-        try {
-            // ✅ 로그 추가: 받은 JSON 확인
-            log.debug("Raw JSON: {}", messageJson);
-
-            IoTDeviceMessageDto message = objectMapper.readValue(messageJson, IoTDeviceMessageDto.class);
-            
-            // ✅ 역직렬화 성공 로그
-            log.info("Deserialized message - Device: {}, Type: {}",
-                    message.getDeviceId(), message.getMessageType());
-
-            processDeviceRequest(message);
-
-        } catch (Exception e) {
-            log.error("Error processing device request message", e);
-        }
+    public void consumeDeviceRequest(List<ConsumerRecord<String, byte[]>> records, Acknowledgment ack) {
+        consumeBatch("device-request", records, ack, this::processDeviceRequest);
     }
 
     /**
@@ -98,26 +135,10 @@ public class IoTDeviceMessageConsumer {
     @KafkaListener(
             topics = "${kafka.topic.device-response}",
             groupId = "${spring.kafka.consumer.group-id}",
-            containerFactory = "stringKafkaListenerContainerFactory"
+            containerFactory = "batchKafkaListenerContainerFactory"
     )
-    public void consumeDeviceResponse(
-            @Payload String messageJson,
-            @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
-            @Header(KafkaHeaders.OFFSET) long offset) {
-
-        log.info("Received device response from partition {}, offset {}", partition, offset);
-
-        try {
-            IoTDeviceMessageDto message = objectMapper.readValue(messageJson, IoTDeviceMessageDto.class);
-            
-            log.info("Processing device response - Device: {}, Message ID: {}", 
-                    message.getDeviceId(), message.getMessageId());
-
-            processDeviceResponse(message);
-
-        } catch (Exception e) {
-            log.error("Error processing device response message", e);
-        }
+    public void consumeDeviceResponse(List<ConsumerRecord<String, byte[]>> records, Acknowledgment ack) {
+        consumeBatch("device-response", records, ack, this::processDeviceResponse);
     }
 
     /**
@@ -126,26 +147,10 @@ public class IoTDeviceMessageConsumer {
     @KafkaListener(
             topics = "${kafka.topic.fota}",
             groupId = "${spring.kafka.consumer.group-id}",
-            containerFactory = "stringKafkaListenerContainerFactory"
+            containerFactory = "batchKafkaListenerContainerFactory"
     )
-    public void consumeFotaMessage(
-            @Payload String messageJson,
-            @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
-            @Header(KafkaHeaders.OFFSET) long offset) {
-
-        log.info("Received FOTA message from partition {}, offset {}", partition, offset);
-
-        try {
-            IoTDeviceMessageDto message = objectMapper.readValue(messageJson, IoTDeviceMessageDto.class);
-            
-            log.info("Processing FOTA message - Device: {}, Message ID: {}", 
-                    message.getDeviceId(), message.getMessageId());
-
-            processFotaMessage(message);
-
-        } catch (Exception e) {
-            log.error("Error processing FOTA message", e);
-        }
+    public void consumeFotaMessage(List<ConsumerRecord<String, byte[]>> records, Acknowledgment ack) {
+        consumeBatch("fota", records, ack, this::processFotaMessage);
     }
 
     /**
@@ -154,26 +159,10 @@ public class IoTDeviceMessageConsumer {
     @KafkaListener(
             topics = "${kafka.topic.reboot}",
             groupId = "${spring.kafka.consumer.group-id}",
-            containerFactory = "stringKafkaListenerContainerFactory"
+            containerFactory = "batchKafkaListenerContainerFactory"
     )
-    public void consumeRebootMessage(
-            @Payload String messageJson,
-            @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
-            @Header(KafkaHeaders.OFFSET) long offset) {
-
-        log.info("Received reboot message from partition {}, offset {}", partition, offset);
-
-        try {
-            IoTDeviceMessageDto message = objectMapper.readValue(messageJson, IoTDeviceMessageDto.class);
-            
-            log.info("Processing reboot message - Device: {}, Message ID: {}", 
-                    message.getDeviceId(), message.getMessageId());
-
-            processRebootMessage(message);
-
-        } catch (Exception e) {
-            log.error("Error processing reboot message", e);
-        }
+    public void consumeRebootMessage(List<ConsumerRecord<String, byte[]>> records, Acknowledgment ack) {
+        consumeBatch("reboot", records, ack, this::processRebootMessage);
     }
 
     /**
@@ -182,26 +171,179 @@ public class IoTDeviceMessageConsumer {
     @KafkaListener(
             topics = "${kafka.topic.text}",
             groupId = "${spring.kafka.consumer.group-id}",
-            containerFactory = "stringKafkaListenerContainerFactory"
+            containerFactory = "batchKafkaListenerContainerFactory"
     )
-    public void consumePlainTextMessage(
-            @Payload String messageJson,
-            @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
-            @Header(KafkaHeaders.OFFSET) long offset) {
+    public void consumePlainTextMessage(List<ConsumerRecord<String, byte[]>> records, Acknowledgment ack) {
+        consumeBatch("text", records, ack, this::processPlainTextData);
+    }
 
-        log.info("Received PLAINTEXT message from partition {}, offset {}", partition, offset);
+    // === Batch Stages ===
 
-        try {
-            IoTDeviceMessageDto message = objectMapper.readValue(messageJson, IoTDeviceMessageDto.class);
-            
-            log.info("Processing PLAINTEXT message - Topic: {}, Message ID: {}, Content Length: {}", 
-                    message.getTopic(), message.getMessageId(), 
-                    message.getRawMessage() != null ? message.getRawMessage().length() : 0);
+    /**
+     * 배치 공통 흐름: 한 번에 역직렬화(+ 중복 제거) → 디바이스별 그룹 → 처리 단계
+     * → 실패 레코드 전달(재시도 토픽 / DLT) → 성공 레코드만 중복 제거 창에 기록 → 오프셋 커밋
+     * 레코드 단위 실패는 배치를 멈추지 않고 재시도 토픽으로 넘긴다 (원본 파티션 head-of-line blocking 없음).
+     * 전달 자체가 실패하면 {@link #forwardFailures} 가 BatchListenerFailedException 으로 그 레코드의 위치를 알려
+     * 컨테이너 DefaultErrorHandler 가 앞쪽 레코드는 커밋하고 그 레코드부터만 다시 받는다.
+     */
+    private void consumeBatch(String listener,
+                              List<ConsumerRecord<String, byte[]>> records,
+                              Acknowledgment ack,
+                              Consumer<IoTDeviceMessageDto> processor) {
+        long start = System.nanoTime();
 
-            processPlainTextData(message);
+        DedupSession dedup = deduplicator.open(listener);
+        IoTDeviceMessageBatch batch = messageReader.readBatch(records, dedup);
+        List<IoTDeviceMessageBatch.RecordFailure> failures = processByDevice(listener, batch, processor);
+        int failed = batch.failed() + failures.size();
 
-        } catch (Exception e) {
-            log.error("Error processing PLAINTEXT message", e);
+        forwardFailures(listener, records, batch, failures, dedup);
+
+        if (dedup != null) {
+            completeDedup(dedup, batch, failures);
+        }
+        ack.acknowledge();
+
+        batchMetrics.record(listener, batch, failed, System.nanoTime() - start);
+
+        if (log.isDebugEnabled()) {
+            log.debug("Processed {} batch - records: {}, devices: {}, failed: {}, duplicates: {}, {} us",
+                    listener, records.size(), batch.deviceCount(), failed, batch.skipped(),
+                    (System.nanoTime() - start) / 1_000);
+        }
+    }
+
+    /**
+     * 실패 레코드를 원본 배치 순서대로 재시도 토픽(역직렬화 실패는 DLT)에 전달
+     *
+     * 전달에 실패하면 처리에 성공한 메시지는 중복 제거 창에 기록하고(다시 받아도 건너뜀) 그 레코드의 배치 내 위치로
+     * BatchListenerFailedException 을 던진다. 앞쪽 실패 레코드는 이미 전달되었으므로 배치 전체를 다시 처리하지 않는다.
+     */
+    private void forwardFailures(String listener,
+                                 List<ConsumerRecord<String, byte[]>> records,
+                                 IoTDeviceMessageBatch batch,
+                                 List<IoTDeviceMessageBatch.RecordFailure> failures,
+                                 DedupSession dedup) {
+        if (batch.unreadable().isEmpty() && failures.isEmpty()) {
+            return;
+        }
+
+        Map<ConsumerRecord<String, byte[]>, Integer> positions = new IdentityHashMap<>(records.size());
+        for (int i = 0; i < records.size(); i++) {
+            positions.put(records.get(i), i);
+        }
+        List<Forward> forwards = new ArrayList<>(batch.unreadable().size() + failures.size());
+        for (IoTDeviceMessageBatch.RecordFailure unreadable : batch.unreadable()) {
+            forwards.add(new Forward(positions.get(unreadable.record()), unreadable, true));
+        }
+        for (IoTDeviceMessageBatch.RecordFailure failure : failures) {
+            forwards.add(new Forward(positions.get(failure.record()), failure, false));
+        }
+        forwards.sort(Comparator.comparingInt(Forward::index));
+
+        for (Forward forward : forwards) {
+            ConsumerRecord<String, byte[]> record = forward.failure().record();
+            try {
+                if (forward.deadLetter()) {
+                    retryPublisher.deadLetter(record, forward.failure().cause());
+                } else {
+                    retryPublisher.retry(record, forward.failure().cause());
+                }
+            } catch (Exception e) {
+                if (dedup != null) {
+                    completeDedup(dedup, batch, failures);
+                }
+                throw new BatchListenerFailedException(
+                        "Failed to forward " + listener + " record at offset " + record.offset(), e, forward.index());
+            }
+        }
+    }
+
+    /**
+     * 처리한 messageId 를 중복 제거 창에 기록
+     * 재시도 토픽 / DLT 에서 다시 들어온 메시지가 중복으로 버려지지 않도록 실패 레코드는 기록하지 않음
+     */
+    private static void completeDedup(DedupSession dedup,
+                                      IoTDeviceMessageBatch batch,
+                                      List<IoTDeviceMessageBatch.RecordFailure> failures) {
+        for (IoTDeviceMessageBatch.RecordFailure unreadable : batch.unreadable()) {
+            dedup.discard(unreadable.record());
+        }
+        for (IoTDeviceMessageBatch.RecordFailure failure : failures) {
+            dedup.discard(failure.record());
+        }
+        dedup.complete();
+    }
+
+    private record Forward(int index, IoTDeviceMessageBatch.RecordFailure failure, boolean deadLetter) {
+    }
+
+    /**
+     * 디바이스 단위로 메시지를 순서대로 처리
+     *
+     * @return 처리 중 예외가 발생한 메시지의 원본 레코드와 원인
+     */
+    private List<IoTDeviceMessageBatch.RecordFailure> processByDevice(String listener,
+                                                                      IoTDeviceMessageBatch batch,
+                                                                      Consumer<IoTDeviceMessageDto> processor) {
+        List<IoTDeviceMessageBatch.RecordFailure> failures = new ArrayList<>(0);
+        for (Map.Entry<String, List<IoTDeviceMessageDto>> device : batch.byDevice().entrySet()) {
+            for (IoTDeviceMessageDto message : device.getValue()) {
+                try {
+                    processor.accept(message);
+                } catch (Exception e) {
+                    failures.add(new IoTDeviceMessageBatch.RecordFailure(batch.record(message), e));
+                    log.error("Error processing {} message - Device: {}, Message ID: {}",
+                            listener, message.getDeviceId(), message.getMessageId(), e);
+                }
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * 재시도 토픽에서 받은 메시지를 원본 토픽의 처리 단계로 다시 처리 (예외는 호출자에게 전달)
+     *
+     * @throws IllegalArgumentException 알 수 없는 원본 토픽
+     */
+    void process(String sourceTopic, IoTDeviceMessageDto message) {
+        Consumer<IoTDeviceMessageDto> processor = processorsByTopic.get(sourceTopic);
+        if (processor == null) {
+            throw new IllegalArgumentException("Unknown IoT source topic: " + sourceTopic);
+        }
+        processor.accept(message);
+    }
+
+    /**
+     * 원본 토픽의 리스너 이름 (MessageDeduplicator.open 인자, 알 수 없는 토픽이면 null)
+     */
+    String listener(String sourceTopic) {
+        return listenersByTopic.get(sourceTopic);
+    }
+
+    /**
+     * 재시도 토폴로지를 구성하는 원본 토픽 목록
+     */
+    Set<String> sourceTopics() {
+        return processorsByTopic.keySet();
+    }
+
+    /**
+     * device-data 토픽: 메시지 타입에 따른 처리
+     */
+    private void processDeviceData(IoTDeviceMessageDto message) {
+        // 토픽 타입 바이트가 없거나 알 수 없는 코드인 프레임 (재시도해도 같으므로 실패로 넘기지 않음)
+        if (message.getMessageType() == null) {
+            log.warn("Skipping device-data message without message type - Device: {}, Message ID: {}",
+                    message.getDeviceId(), message.getMessageId());
+            return;
+        }
+        switch (message.getMessageType()) {
+            case PERIODIC -> processPeriodicData(message);
+            case DISCRETE -> processDiscreteData(message);
+            case ECHO -> processEchoData(message);
+            case PLAINTEXT -> processPlainTextData(message);
+            default -> log.warn("Unhandled message type in device-data: {}", message.getMessageType());
         }
     }
 
@@ -211,13 +353,20 @@ public class IoTDeviceMessageConsumer {
      * 주기적 데이터 처리
      */
     private void processPeriodicData(IoTDeviceMessageDto message) {
-        log.info("Processing PERIODIC data - Device: {}, Raw: {}", 
+        log.debug("Processing PERIODIC data - Device: {}, Raw: {}", 
                 message.getDeviceId(), message.getRawMessage());
-        
+
+        // 1. 디바이스 상태 업데이트 (메모리, DB 는 write-behind)
+        deviceStateService.update(message);
+
+        // 2. 센서 데이터 저장 (텔레메트리 시계열)
+        TelemetrySample sample = telemetrySampleReader.read(message);
+        telemetryService.append(sample);
+
+        // 3. 이상 감지 (이상이면 device-anomaly 토픽으로 이벤트 발행)
+        anomalyDetectionService.inspect(sample);
+
         // TODO: 실제 비즈니스 로직 구현
-        // 1. 디바이스 상태 업데이트
-        // 2. 센서 데이터 저장
-        // 3. 이상 감지 알고리즘 실행
         // 4. 필요시 알림 발송
     }
 
@@ -225,9 +374,12 @@ public class IoTDeviceMessageConsumer {
      * 이벤트성 데이터 처리
      */
     private void processDiscreteData(IoTDeviceMessageDto message) {
-        log.info("Processing DISCRETE data - Device: {}, Raw: {}", 
+        log.debug("Processing DISCRETE data - Device: {}, Raw: {}", 
                 message.getDeviceId(), message.getRawMessage());
-        
+
+        // 텔레메트리 시계열 저장 (이벤트 시점 값)
+        telemetryService.append(telemetrySampleReader.read(message));
+
         // TODO: 실제 비즈니스 로직 구현
         // 1. 이벤트 로그 저장
         // 2. 긴급 알림 발송
@@ -238,8 +390,11 @@ public class IoTDeviceMessageConsumer {
      * Echo 데이터 처리
      */
     private void processEchoData(IoTDeviceMessageDto message) {
-        log.info("Processing ECHO data - Device: {}, Raw: {}", 
+        log.debug("Processing ECHO data - Device: {}, Raw: {}", 
                 message.getDeviceId(), message.getRawMessage());
+
+        // Echo 명령 응답 대응 (왕복 시간 측정)
+        commandAckTracker.acknowledge(message);
         
         // TODO: Echo 응답 생성 및 전송
     }
@@ -248,79 +403,93 @@ public class IoTDeviceMessageConsumer {
      * 디바이스 등록 요청 처리
      */
     private void processDeviceRequest(IoTDeviceMessageDto message) {
-        log.debug("Processing device REQUEST - Device: {}, Parsed: {}", 
-                message.getDeviceId(), message.getParsedMessage());
-        
+        log.debug("Processing device REQUEST - Device: {}", message.getDeviceId());
+
+        // Serial Number ↔ deviceID[0-3] 대응 기록 (접두어 명령 대상, 명령 응답 매칭에 사용)
+        deviceSerialRegistry.register(message);
+
         // TODO: 실제 비즈니스 로직 구현
         // 1. 디바이스 등록 처리
         // 2. 인증 정보 생성
         // 3. 응답 메시지 전송
-        // ✅ parsedMessage(Hex)를 사용
-        String hexData = message.getParsedMessage();
-        
-        if (hexData != null && !hexData.isEmpty()) {
-            // log.info("Hex data: {}", hexData);
+        byte[] bytes = message.getFrame();
 
-            // 필요시 Hex를 다시 byte[]로 변환
-            byte[] bytes = hexToBytes(hexData);
-            logHexDump(bytes);
-            
-            // 비즈니스 로직 처리
-            // ...
-        } else {
-            log.warn("No parsed message available, falling back to raw Base64");
+        if (bytes == null && message.getParsedMessage() != null && !message.getParsedMessage().isEmpty()) {
+            // JSON 포맷 레코드: parsedMessage(Hex)를 byte[]로 변환
+            bytes = hexToBytes(message.getParsedMessage());
+        }
+
+        if (bytes == null) {
+            log.warn("No frame available, falling back to raw Base64");
             // Fallback: rawMessage를 디코딩
             try {
-                byte[] bytes = Base64.getDecoder().decode(message.getRawMessage());
-                // ...
+                bytes = Base64.getDecoder().decode(message.getRawMessage());
             } catch (Exception e) {
                 log.error("Failed to decode raw message", e);
+                return;
             }
         }
+
+        DeviceFrame frame = new DeviceFrame().wrap(bytes);
+        log.debug("REQUEST frame - SerialNo: {}, Body: {} bytes",
+                frame.serialNo(), frame.body().remaining());
+        logHexDump(bytes);
+
+        // 비즈니스 로직 처리
+        // ...
     }
 
     /**
      * 디바이스 응답 처리
      */
     private void processDeviceResponse(IoTDeviceMessageDto message) {
-        log.info("Processing device RESPONSE - Device: {}, Raw: {}", 
+        log.debug("Processing device RESPONSE - Device: {}, Raw: {}", 
                 message.getDeviceId(), message.getRawMessage());
-        
+
+        // 1. 대기 중인 명령 응답 처리 (왕복 시간 측정)
+        commandAckTracker.acknowledge(message);
+
         // TODO: 실제 비즈니스 로직 구현
-        // 1. 명령 실행 결과 확인
-        // 2. 상태 업데이트
+        // 2. 명령 실행 결과 확인
+        // 3. 상태 업데이트
     }
 
     /**
      * FOTA 메시지 처리
      */
     private void processFotaMessage(IoTDeviceMessageDto message) {
-        log.info("Processing FOTA message - Device: {}, Raw: {}", 
+        log.debug("Processing FOTA message - Device: {}, Raw: {}", 
                 message.getDeviceId(), message.getRawMessage());
-        
+
+        // 1. FOTA 명령 응답 처리 (왕복 시간 측정)
+        commandAckTracker.acknowledge(message);
+
         // TODO: 실제 비즈니스 로직 구현
-        // 1. 펌웨어 업데이트 진행 상황 추적
-        // 2. 업데이트 완료 확인
-        // 3. 상태 업데이트
+        // 2. 펌웨어 업데이트 진행 상황 추적
+        // 3. 업데이트 완료 확인
+        // 4. 상태 업데이트
     }
 
     /**
      * Reboot 메시지 처리
      */
     private void processRebootMessage(IoTDeviceMessageDto message) {
-        log.info("Processing REBOOT message - Device: {}, Raw: {}", 
+        log.debug("Processing REBOOT message - Device: {}, Raw: {}", 
                 message.getDeviceId(), message.getRawMessage());
-        
+
+        // 1. Reboot 명령 응답 처리 (왕복 시간 측정)
+        commandAckTracker.acknowledge(message);
+
         // TODO: 실제 비즈니스 로직 구현
-        // 1. 재시작 완료 확인
-        // 2. 상태 업데이트
+        // 2. 재시작 완료 확인
+        // 3. 상태 업데이트
     }
 
     /**
      * PLAINTEXT 메시지 처리 (device/topic/C0 등의 평문 텍스트 데이터)
      */
     private void processPlainTextData(IoTDeviceMessageDto message) {
-        log.info("Processing PLAINTEXT data - Topic: {}, Raw: {}", 
+        log.debug("Processing PLAINTEXT data - Topic: {}, Raw: {}", 
                 message.getTopic(), message.getRawMessage());
         
         // TODO: 실제 비즈니스 로직 구현
@@ -332,7 +501,7 @@ public class IoTDeviceMessageConsumer {
         // 예시: 간단한 로그 처리
         try {
             String textContent = message.getRawMessage();
-            log.info("PLAINTEXT Message Content: {}", textContent);
+            log.debug("PLAINTEXT Message Content: {}", textContent);
             
             // 특정 키워드에 따른 처리 예시
             if (textContent != null) {
@@ -340,7 +509,7 @@ public class IoTDeviceMessageConsumer {
                     log.warn("ALERT keyword detected in PLAINTEXT message");
                     // 알림 처리 로직
                 } else if (textContent.contains("INFO")) {
-                    log.info("INFO message received");
+                    log.debug("INFO message received");
                     // 정보성 메시지 처리
                 }
             }
@@ -362,6 +531,9 @@ public class IoTDeviceMessageConsumer {
     }
 
     private void logHexDump(byte[] byteArray) {
+        if (!log.isDebugEnabled()) {
+            return;
+        }
         StringBuilder hexOutput = new StringBuilder();
         // hexOutput.append("\n=== Hex Dump ===\n");
         
@@ -373,6 +545,6 @@ public class IoTDeviceMessageConsumer {
         }
         
         hexOutput.append(String.format("\nTotal: %d bytes\n", byteArray.length));
-        log.info(hexOutput.toString());
+        log.debug(hexOutput.toString());
     }
 }
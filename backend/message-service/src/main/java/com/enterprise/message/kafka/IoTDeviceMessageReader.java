@@ -0,0 +1,124 @@
+package com.enterprise.message.kafka;
+
+import com.enterprise.message.codec.DeviceFrame;
+import com.enterprise.message.codec.IoTDeviceMessageCompactDeserializer;
+import com.enterprise.message.codec.RecordFormat;
+import com.enterprise.message.dto.iot.IoTDeviceMessageDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiPredicate;
+
+/**
+ * IoT 디바이스 Kafka 레코드 → IoTDeviceMessageDto 변환 (iot-format 헤더로 포맷 판별)
+ * - frame: value 가 디바이스 프레임 원본, 메타데이터는 헤더
+ *   (key 는 파티션 배정용이므로 deviceId 는 iot-device-id 헤더 사용, 헤더가 없는 이전 레코드는 key)
+ * - compact: CompactMessageCodec 압축 바이너리
+ * - json (헤더 없음): value 가 JSON (UTF-8)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IoTDeviceMessageReader {
+
+    private final ObjectMapper objectMapper;
+    private final Deserializer<IoTDeviceMessageDto> compactDeserializer = new IoTDeviceMessageCompactDeserializer();
+
+    public IoTDeviceMessageDto read(ConsumerRecord<String, byte[]> record) throws IOException {
+        Header format = record.headers().lastHeader(RecordFormat.HEADER);
+
+        return switch (RecordFormat.fromHeader(format != null ? format.value() : null)) {
+            case FRAME -> readFrame(record);
+            case COMPACT -> compactDeserializer.deserialize(record.topic(), record.value());
+            case JSON -> objectMapper.readValue(record.value(), IoTDeviceMessageDto.class);
+        };
+    }
+
+    /**
+     * poll 배치 전체를 한 번에 변환
+     * 변환에 실패한 레코드는 로그를 남기고 제외하며(IoTDeviceMessageBatch.unreadable) 나머지 레코드는 계속 처리한다.
+     */
+    public IoTDeviceMessageBatch readBatch(List<ConsumerRecord<String, byte[]>> records) {
+        return readBatch(records, null);
+    }
+
+    /**
+     * poll 배치 전체를 변환하면서 filter 가 false 를 반환한 메시지(중복 등)는 건너뜀
+     *
+     * @param filter null 이면 모두 포함
+     */
+    public IoTDeviceMessageBatch readBatch(List<ConsumerRecord<String, byte[]>> records,
+                                           BiPredicate<ConsumerRecord<String, byte[]>, IoTDeviceMessageDto> filter) {
+        List<IoTDeviceMessageDto> messages = new ArrayList<>(records.size());
+        List<ConsumerRecord<String, byte[]>> accepted = new ArrayList<>(records.size());
+        List<IoTDeviceMessageBatch.RecordFailure> unreadable = new ArrayList<>(0);
+        int skipped = 0;
+
+        for (ConsumerRecord<String, byte[]> record : records) {
+            try {
+                if (record.value() == null) {
+                    throw new IOException("Empty record value");
+                }
+                IoTDeviceMessageDto message = read(record);
+                if (filter == null || filter.test(record, message)) {
+                    messages.add(message);
+                    accepted.add(record);
+                } else {
+                    skipped++;
+                    log.debug("Skipping duplicate IoT record - topic: {}, partition: {}, offset: {}, messageId: {}",
+                            record.topic(), record.partition(), record.offset(), message.getMessageId());
+                }
+            } catch (Exception e) {
+                unreadable.add(new IoTDeviceMessageBatch.RecordFailure(record, e));
+                log.error("Failed to read IoT record - topic: {}, partition: {}, offset: {}",
+                        record.topic(), record.partition(), record.offset(), e);
+            }
+        }
+        return IoTDeviceMessageBatch.of(messages, accepted, unreadable, skipped);
+    }
+
+    private IoTDeviceMessageDto readFrame(ConsumerRecord<String, byte[]> record) {
+        Headers headers = record.headers();
+        byte[] frameBytes = record.value();
+        DeviceFrame frame = new DeviceFrame().wrap(frameBytes);
+        String qos = header(headers, DeviceFrame.HEADER_QOS);
+        String receivedAt = header(headers, DeviceFrame.HEADER_RECEIVED_AT);
+
+        return IoTDeviceMessageDto.builder()
+                .messageId(header(headers, DeviceFrame.HEADER_MESSAGE_ID))
+                .topic(header(headers, DeviceFrame.HEADER_MQTT_TOPIC))
+                .messageType(frame.messageType())
+                .deviceId(deviceId(record))
+                .frame(frameBytes)
+                .qos(qos != null ? Integer.valueOf(qos) : null)
+                .receivedAt(receivedAt != null ? LocalDateTime.parse(receivedAt) : null)
+                .build();
+    }
+
+    private static String deviceId(ConsumerRecord<String, byte[]> record) {
+        Header header = record.headers().lastHeader(DeviceFrame.HEADER_DEVICE_ID);
+        if (header == null) {
+            return record.key();
+        }
+        return header.value() != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+
+    private static String header(Headers headers, String key) {
+        Header header = headers.lastHeader(key);
+        if (header == null || header.value() == null) {
+            return null;
+        }
+        return new String(header.value(), StandardCharsets.UTF_8);
+    }
+}
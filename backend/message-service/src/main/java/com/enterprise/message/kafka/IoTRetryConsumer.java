@@ -0,0 +1,141 @@
+package com.enterprise.message.kafka;
+
+import com.enterprise.message.config.KafkaRetryProperties;
+import com.enterprise.message.dedup.DedupSession;
+import com.enterprise.message.dedup.MessageDeduplicator;
+import com.enterprise.message.dto.iot.IoTDeviceMessageDto;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.listener.AcknowledgingMessageListener;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * IoT 재시도 토픽 소비
+ *
+ * 재시도 토픽(T-retry-n)마다 컨테이너를 하나씩 둔다.
+ * 같은 토픽의 레코드는 대기 시간이 같으므로 파티션 맨 앞 레코드가 가장 먼저 처리 가능해진다:
+ * 아직 때가 되지 않았으면 nack(남은 시간)으로 그 토픽의 컨테이너만 잠시 멈추고,
+ * 다른 원본 토픽의 재시도 / 원본 토픽 리스너는 영향을 받지 않는다.
+ *
+ * 원본 리스너가 iot.dedup.listeners 에 포함되어 있으면 재시도 토픽 파티션별 창으로 중복 제거한다
+ * (처리 후 커밋 전에 죽어 다시 받은 재시도 레코드를 또 처리하지 않음).
+ * 다시 실패하면 IoTRetryPublisher 로 다음 단계(소진 시 DLT)에 넘긴다.
+ */
+@Slf4j
+@Component
+public class IoTRetryConsumer implements SmartLifecycle {
+
+    private final KafkaRetryProperties properties;
+    private final ConcurrentKafkaListenerContainerFactory<String, byte[]> containerFactory;
+    private final IoTDeviceMessageReader messageReader;
+    private final IoTDeviceMessageConsumer messageConsumer;
+    private final IoTRetryPublisher retryPublisher;
+    private final MessageDeduplicator deduplicator;
+
+    private final List<ConcurrentMessageListenerContainer<String, byte[]>> containers = new ArrayList<>();
+    private volatile boolean running;
+
+    public IoTRetryConsumer(KafkaRetryProperties properties,
+                            @Qualifier("iotRetryKafkaListenerContainerFactory")
+                            ConcurrentKafkaListenerContainerFactory<String, byte[]> containerFactory,
+                            IoTDeviceMessageReader messageReader,
+                            IoTDeviceMessageConsumer messageConsumer,
+                            IoTRetryPublisher retryPublisher,
+                            MessageDeduplicator deduplicator) {
+        this.properties = properties;
+        this.containerFactory = containerFactory;
+        this.messageReader = messageReader;
+        this.messageConsumer = messageConsumer;
+        this.retryPublisher = retryPublisher;
+        this.deduplicator = deduplicator;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        if (properties.isEnabled()) {
+            for (int attempt = 0; attempt < properties.getAttempts(); attempt++) {
+                for (String source : messageConsumer.sourceTopics()) {
+                    String topic = properties.retryTopic(source, attempt);
+                    ConcurrentMessageListenerContainer<String, byte[]> container = containerFactory.createContainer(topic);
+                    container.setBeanName("iot-retry-" + topic);
+                    container.setupMessageListener((AcknowledgingMessageListener<String, byte[]>) this::onRetry);
+                    container.start();
+                    containers.add(container);
+                }
+                log.info("IoT retry tier {} started - delay: {}, containers: {}",
+                        attempt, properties.delay(attempt), messageConsumer.sourceTopics().size());
+            }
+        }
+        running = true;
+    }
+
+    @Override
+    public synchronized void stop() {
+        containers.forEach(ConcurrentMessageListenerContainer::stop);
+        containers.clear();
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 리스너 컨테이너(기본 phase)보다 늦게 시작해 먼저 멈춤
+     */
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE - 50;
+    }
+
+    void onRetry(ConsumerRecord<String, byte[]> record, Acknowledgment ack) {
+        long wait = IoTRetryPublisher.dueAt(record) - System.currentTimeMillis();
+        if (wait > 0) {
+            ack.nack(Duration.ofMillis(wait));
+            return;
+        }
+
+        String sourceTopic = IoTRetryPublisher.sourceTopic(record);
+        IoTDeviceMessageDto message;
+        try {
+            message = messageReader.read(record);
+        } catch (Exception e) {
+            retryPublisher.deadLetter(record, e);
+            ack.acknowledge();
+            return;
+        }
+
+        DedupSession dedup = deduplicator.open(messageConsumer.listener(sourceTopic));
+        if (dedup != null && !dedup.test(record, message)) {
+            log.debug("Skipping duplicate retried IoT message - topic: {}, Message ID: {}",
+                    sourceTopic, message.getMessageId());
+            ack.acknowledge();
+            return;
+        }
+
+        try {
+            messageConsumer.process(sourceTopic, message);
+            if (dedup != null) {
+                dedup.complete();
+            }
+            log.info("Retried IoT message - topic: {}, attempt: {}, Device: {}, Message ID: {}",
+                    sourceTopic, IoTRetryPublisher.attempt(record), message.getDeviceId(), message.getMessageId());
+        } catch (Exception e) {
+            retryPublisher.retry(record, e);
+        }
+        ack.acknowledge();
+    }
+}
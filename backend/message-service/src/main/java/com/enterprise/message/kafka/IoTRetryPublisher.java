@@ -0,0 +1,166 @@
+package com.enterprise.message.kafka;
+
+import com.enterprise.message.config.KafkaRetryProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ConsumerRecordRecoverer;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * IoT 토픽 실패 레코드 전달 (non-blocking retry topic + DLT)
+ *
+ * 배치 리스너는 Spring retry topic(@RetryableTopic)을 쓸 수 없어 같은 토폴로지를 직접 구성한다.
+ * 원본 T → T-retry-0 → ... → T-retry-(attempts-1) → T-dlt
+ * 레코드는 원본 바이트와 헤더 그대로 전달하고 다음 헤더를 붙인다 (DeadLetterPublishingRecoverer 의 kafka_dlt-* 헤더 포함).
+ * - iot-retry-source-topic: 원본 토픽
+ * - iot-retry-attempt: 이번이 몇 번째 재시도인지 (1부터)
+ * - iot-retry-due-at: 재시도 처리 가능 시각 (epoch millis)
+ *
+ * 전송은 완료를 기다린 뒤 반환하므로(실패 시 예외) 호출한 배치는 그 다음에 커밋해야 한다.
+ */
+@Slf4j
+@Component
+public class IoTRetryPublisher {
+
+    public static final String HEADER_SOURCE_TOPIC = "iot-retry-source-topic";
+    public static final String HEADER_ATTEMPT = "iot-retry-attempt";
+    public static final String HEADER_DUE_AT = "iot-retry-due-at";
+
+    private final KafkaRetryProperties properties;
+    private final DeadLetterPublishingRecoverer retryRecoverer;
+    private final DeadLetterPublishingRecoverer dltRecoverer;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public IoTRetryPublisher(KafkaRetryProperties properties,
+                             @Qualifier("byteArrayKafkaTemplate") KafkaTemplate<String, byte[]> byteArrayKafkaTemplate,
+                             MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+
+        this.retryRecoverer = new DeadLetterPublishingRecoverer(byteArrayKafkaTemplate, (record, ex) ->
+                new TopicPartition(nextTopic(record), -1));
+        this.retryRecoverer.setHeadersFunction((record, ex) -> retryHeaders(record));
+
+        this.dltRecoverer = new DeadLetterPublishingRecoverer(byteArrayKafkaTemplate, (record, ex) ->
+                new TopicPartition(properties.dltTopic(sourceTopic(record)), -1));
+        this.dltRecoverer.setHeadersFunction((record, ex) -> sourceHeader(record));
+    }
+
+    /**
+     * 처리에 실패한 레코드를 다음 재시도 토픽으로 전달 (재시도를 모두 소진했으면 DLT)
+     */
+    public void retry(ConsumerRecord<String, byte[]> record, Exception cause) {
+        String destination = nextTopic(record);
+        retryRecoverer.accept(record, cause);
+        count(sourceTopic(record), destination);
+        log.warn("Forwarded failed IoT record to {} - topic: {}, partition: {}, offset: {}, cause: {}",
+                destination, record.topic(), record.partition(), record.offset(), cause.toString());
+    }
+
+    /**
+     * 재시도해도 성공할 수 없는 레코드(역직렬화 실패 등)를 바로 DLT 로 전달
+     */
+    public void deadLetter(ConsumerRecord<String, byte[]> record, Exception cause) {
+        String source = sourceTopic(record);
+        dltRecoverer.accept(record, cause);
+        count(source, properties.dltTopic(source));
+        log.warn("Forwarded unreadable IoT record to {} - topic: {}, partition: {}, offset: {}, cause: {}",
+                properties.dltTopic(source), record.topic(), record.partition(), record.offset(), cause.toString());
+    }
+
+    /**
+     * 컨테이너 DefaultErrorHandler 용 recoverer (제자리 재시도를 소진한 레코드를 다음 단계로 전달)
+     */
+    public ConsumerRecordRecoverer recoverer() {
+        return (record, ex) -> {
+            @SuppressWarnings("unchecked")
+            ConsumerRecord<String, byte[]> bytes = (ConsumerRecord<String, byte[]>) record;
+            retry(bytes, ex);
+        };
+    }
+
+    /**
+     * 재시도 레코드의 원본 토픽 (원본 토픽에서 온 레코드면 자신의 토픽)
+     */
+    public static String sourceTopic(ConsumerRecord<?, ?> record) {
+        String source = header(record.headers(), HEADER_SOURCE_TOPIC);
+        return source != null ? source : record.topic();
+    }
+
+    /**
+     * 지금까지 수행한 재시도 횟수 (원본 토픽 레코드는 0)
+     */
+    public static int attempt(ConsumerRecord<?, ?> record) {
+        String attempt = header(record.headers(), HEADER_ATTEMPT);
+        return attempt != null ? Integer.parseInt(attempt) : 0;
+    }
+
+    /**
+     * 재시도 처리 가능 시각 (헤더가 없으면 0 = 즉시)
+     */
+    public static long dueAt(ConsumerRecord<?, ?> record) {
+        String dueAt = header(record.headers(), HEADER_DUE_AT);
+        return dueAt != null ? Long.parseLong(dueAt) : 0L;
+    }
+
+    private String nextTopic(ConsumerRecord<?, ?> record) {
+        int attempt = attempt(record);
+        String source = sourceTopic(record);
+        if (!properties.isEnabled() || attempt >= properties.getAttempts()) {
+            return properties.dltTopic(source);
+        }
+        return properties.retryTopic(source, attempt);
+    }
+
+    private Headers retryHeaders(ConsumerRecord<?, ?> record) {
+        Headers headers = sourceHeader(record);
+        int attempt = attempt(record);
+        if (properties.isEnabled() && attempt < properties.getAttempts()) {
+            long dueAt = System.currentTimeMillis() + properties.delay(attempt).toMillis();
+            headers.add(HEADER_ATTEMPT, utf8(Integer.toString(attempt + 1)));
+            headers.add(HEADER_DUE_AT, utf8(Long.toString(dueAt)));
+        }
+        return headers;
+    }
+
+    private static Headers sourceHeader(ConsumerRecord<?, ?> record) {
+        RecordHeaders headers = new RecordHeaders();
+        headers.add(HEADER_SOURCE_TOPIC, utf8(sourceTopic(record)));
+        return headers;
+    }
+
+    private void count(String source, String destination) {
+        counters.computeIfAbsent(source + "|" + destination, k -> Counter.builder("iot.retry.forwarded")
+                .description("Failed IoT records forwarded to retry or dead-letter topics")
+                .tag("topic", source)
+                .tag("destination", destination)
+                .register(meterRegistry))
+                .increment();
+    }
+
+    private static String header(Headers headers, String key) {
+        Header header = headers.lastHeader(key);
+        if (header == null || header.value() == null) {
+            return null;
+        }
+        return new String(header.value(), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
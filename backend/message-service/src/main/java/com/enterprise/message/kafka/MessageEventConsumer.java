@@ -14,6 +14,9 @@ import org.springframework.stereotype.Service;
 /**
  * Kafka 메시지 수신 서비스
  * 다른 서비스나 외부 시스템에서 발행한 메시지 이벤트를 처리
+ *
+ * 처리 중 예외는 잡지 않고 컨테이너로 전달한다: KafkaRetryConfig 의 retry topic 설정에 따라
+ * T-retry-0 ... 으로 옮겨 지수 백오프로 재시도하고, 모두 실패하면 T-dlt 로 보낸다.
  */
 @Slf4j
 @Service
@@ -39,24 +42,17 @@ public class MessageEventConsumer {
         log.info("Received message created event from partition {}, offset {}: {}", 
             partition, offset, event);
         
-        try {
-            // 1. 푸시 알림 전송 (구현 예정)
-            sendPushNotification(event);
-            
-            // 2. 이메일 알림 전송 (필요시)
-            sendEmailNotification(event);
-            
-            // 3. 통계 업데이트
-            updateStatistics(event);
-            
-            log.info("Successfully processed message created event: messageId={}", 
-                event.getMessageId());
-            
-        } catch (Exception e) {
-            log.error("Error processing message created event: messageId={}", 
-                event.getMessageId(), e);
-            // 에러 처리 로직 (재시도, DLQ 전송 등)
-        }
+        // 1. 푸시 알림 전송 (구현 예정)
+        sendPushNotification(event);
+
+        // 2. 이메일 알림 전송 (필요시)
+        sendEmailNotification(event);
+
+        // 3. 통계 업데이트
+        updateStatistics(event);
+
+        log.info("Successfully processed message created event: messageId={}", 
+            event.getMessageId());
     }
 
     /**
@@ -77,20 +73,14 @@ public class MessageEventConsumer {
         log.info("Received message read event from partition {}, offset {}: {}", 
             partition, offset, event);
         
-        try {
-            // 1. 발신자에게 읽음 확인 알림
-            notifySenderAboutRead(event);
-            
-            // 2. 읽음 통계 업데이트
-            updateReadStatistics(event);
-            
-            log.info("Successfully processed message read event: messageId={}", 
-                event.getMessageId());
-            
-        } catch (Exception e) {
-            log.error("Error processing message read event: messageId={}", 
-                event.getMessageId(), e);
-        }
+        // 1. 발신자에게 읽음 확인 알림
+        notifySenderAboutRead(event);
+
+        // 2. 읽음 통계 업데이트
+        updateReadStatistics(event);
+
+        log.info("Successfully processed message read event: messageId={}", 
+            event.getMessageId());
     }
 
     /**
@@ -111,20 +101,14 @@ public class MessageEventConsumer {
         log.info("Received message deleted event from partition {}, offset {}: {}", 
             partition, offset, event);
         
-        try {
-            // 1. 관련 캐시 데이터 삭제
-            clearCacheData(event);
-            
-            // 2. 통계 업데이트
-            updateDeleteStatistics(event);
-            
-            log.info("Successfully processed message deleted event: messageId={}", 
-                event.getMessageId());
-            
-        } catch (Exception e) {
-            log.error("Error processing message deleted event: messageId={}", 
-                event.getMessageId(), e);
-        }
+        // 1. 관련 캐시 데이터 삭제
+        clearCacheData(event);
+
+        // 2. 통계 업데이트
+        updateDeleteStatistics(event);
+
+        log.info("Successfully processed message deleted event: messageId={}", 
+            event.getMessageId());
     }
 
     // === Private Helper Methods ===
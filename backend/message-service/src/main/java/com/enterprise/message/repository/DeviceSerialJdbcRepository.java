@@ -0,0 +1,83 @@
+package com.enterprise.message.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * device_serial 테이블 upsert / 조회
+ */
+@Repository
+@RequiredArgsConstructor
+public class DeviceSerialJdbcRepository {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO device_serial (serial_no, device_key, updated_at)
+            VALUES (?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                device_key = VALUES(device_key),
+                updated_at = VALUES(updated_at)
+            """;
+
+    private static final String SELECT_ALL_SQL = """
+            SELECT serial_no, device_key FROM device_serial
+            """;
+
+    private static final String SELECT_KEY_SQL = """
+            SELECT device_key FROM device_serial WHERE serial_no = ?
+            """;
+
+    private static final String SELECT_SERIALS_BY_PREFIX_SQL = """
+            SELECT serial_no FROM device_serial
+            WHERE serial_no LIKE ? ESCAPE '!'
+            ORDER BY serial_no
+            """;
+
+    private static final int LOAD_FETCH_SIZE = 5000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void upsert(String serialNo, String deviceKey, long updatedAt) {
+        jdbcTemplate.update(UPSERT_SQL, serialNo, deviceKey, new Timestamp(updatedAt));
+    }
+
+    /**
+     * 전체 행을 스트리밍으로 읽어 (serialNo, deviceKey) 로 전달
+     */
+    public void loadAll(BiConsumer<String, String> consumer) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_ALL_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(LOAD_FETCH_SIZE);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(rs.getString(1), rs.getString(2)));
+    }
+
+    /**
+     * @return 등록되지 않은 Serial Number 면 null
+     */
+    public String findDeviceKey(String serialNo) {
+        List<String> keys = jdbcTemplate.queryForList(SELECT_KEY_SQL, String.class, serialNo);
+        return keys.isEmpty() ? null : keys.get(0);
+    }
+
+    /**
+     * 접두어가 같은 Serial Number 를 PK 순서로 스트리밍 (PK 인덱스 범위 검색)
+     */
+    public void findSerialsByPrefix(String prefix, Consumer<String> consumer) {
+        String pattern = prefix.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_SERIALS_BY_PREFIX_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(LOAD_FETCH_SIZE);
+            ps.setString(1, pattern);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(rs.getString(1)));
+    }
+}
@@ -0,0 +1,106 @@
+package com.enterprise.message.repository;
+
+import com.enterprise.message.state.DeviceStateSnapshot;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * device_state 테이블 batch upsert / 전체 적재
+ * JPA saveAll 은 행마다 SELECT 후 INSERT/UPDATE 하므로 write-behind flush 에는 JDBC batch 를 사용한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DeviceStateJdbcRepository {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO device_state
+                (device_id, message_type, qos, received_at, updated_at, message_count, frame_length, snapshot)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                message_type = VALUES(message_type),
+                qos = VALUES(qos),
+                received_at = VALUES(received_at),
+                updated_at = VALUES(updated_at),
+                message_count = VALUES(message_count),
+                frame_length = VALUES(frame_length),
+                snapshot = VALUES(snapshot)
+            """;
+
+    private static final String SELECT_ALL_SQL = """
+            SELECT device_id, message_type, qos, received_at, updated_at, message_count, frame_length, snapshot
+            FROM device_state
+            """;
+
+    private static final int LOAD_FETCH_SIZE = 5000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void upsertAll(List<DeviceStateSnapshot> states) {
+        jdbcTemplate.batchUpdate(UPSERT_SQL, states, states.size(), (ps, state) -> {
+            ps.setString(1, state.deviceId());
+            setNullableInt(ps, 2, state.messageType());
+            setNullableInt(ps, 3, state.qos());
+            if (state.receivedAt() >= 0) {
+                ps.setTimestamp(4, new Timestamp(state.receivedAt()));
+            } else {
+                ps.setNull(4, Types.TIMESTAMP);
+            }
+            ps.setTimestamp(5, new Timestamp(state.updatedAt()));
+            ps.setLong(6, state.messageCount());
+            ps.setInt(7, state.frameLength());
+            ps.setBytes(8, state.snapshot());
+        });
+    }
+
+    /**
+     * 전체 행을 스트리밍으로 읽어 consumer 에 전달
+     */
+    public void loadAll(Consumer<DeviceStateSnapshot> consumer) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_ALL_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(LOAD_FETCH_SIZE);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(toSnapshot(rs)));
+    }
+
+    private static DeviceStateSnapshot toSnapshot(ResultSet rs) throws SQLException {
+        int messageType = rs.getInt("message_type");
+        if (rs.wasNull()) {
+            messageType = -1;
+        }
+        int qos = rs.getInt("qos");
+        if (rs.wasNull()) {
+            qos = -1;
+        }
+        Timestamp receivedAt = rs.getTimestamp("received_at");
+        byte[] snapshot = rs.getBytes("snapshot");
+
+        return new DeviceStateSnapshot(
+                rs.getString("device_id"),
+                messageType,
+                qos,
+                receivedAt != null ? receivedAt.getTime() : -1,
+                rs.getTimestamp("updated_at").getTime(),
+                rs.getLong("message_count"),
+                rs.getInt("frame_length"),
+                snapshot != null ? snapshot : new byte[0]);
+    }
+
+    private static void setNullableInt(PreparedStatement ps, int index, int value) throws SQLException {
+        if (value >= 0) {
+            ps.setInt(index, value);
+        } else {
+            ps.setNull(index, Types.INTEGER);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.enterprise.message.service;
+
+import com.enterprise.message.anomaly.Anomaly;
+import com.enterprise.message.anomaly.EwmaAnomalyDetector;
+import com.enterprise.message.config.AnomalyDetectionProperties;
+import com.enterprise.message.dto.event.DeviceAnomalyEvent;
+import com.enterprise.message.kafka.DeviceAnomalyProducer;
+import com.enterprise.message.telemetry.TelemetrySample;
+import com.enterprise.message.telemetry.TelemetrySampleReader;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * device-data 컨슈머 안에서 실행되는 스트리밍 이상 감지
+ * 샘플마다 디바이스·채널별 EWMA z-score 를 계산하고, 이상이면 바로 device-anomaly 토픽으로 발행한다.
+ * (model-service REST 호출 없이 프로세스 안에서 판단)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AnomalyDetectionService {
+
+    private final AnomalyDetectionProperties properties;
+    private final TelemetrySampleReader sampleReader;
+    private final DeviceAnomalyProducer anomalyProducer;
+    private final MeterRegistry meterRegistry;
+
+    private volatile EwmaAnomalyDetector detector;
+    private List<String> channelNames;
+
+    private Counter evaluatedCounter;
+    private Counter detectedCounter;
+    private Counter untrackedCounter;
+    private Timer latencyTimer;
+
+    @PostConstruct
+    public void start() {
+        channelNames = sampleReader.channelNames();
+        if (!properties.isEnabled() || channelNames.isEmpty()) {
+            log.info("Anomaly detection disabled (enabled: {}, channels: {})",
+                    properties.isEnabled(), channelNames.size());
+            return;
+        }
+
+        EwmaAnomalyDetector created = new EwmaAnomalyDetector(
+                channelNames.size(),
+                properties.getAlpha(),
+                properties.getThreshold(),
+                properties.getWarmup(),
+                properties.getMinStdDev(),
+                properties.getCooldown().toMillis(),
+                properties.getMaxDevices(),
+                properties.getStripes());
+
+        evaluatedCounter = Counter.builder("iot.anomaly.samples")
+                .tag("result", "evaluated")
+                .register(meterRegistry);
+        untrackedCounter = Counter.builder("iot.anomaly.samples")
+                .tag("result", "untracked")
+                .register(meterRegistry);
+        detectedCounter = Counter.builder("iot.anomaly.detected")
+                .description("Anomaly events emitted")
+                .register(meterRegistry);
+        latencyTimer = Timer.builder("iot.anomaly.latency")
+                .description("Time from reading receipt to anomaly event send")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("iot.anomaly.devices", created, EwmaAnomalyDetector::deviceCount)
+                .register(meterRegistry);
+
+        detector = created;
+        log.info("Anomaly detection started - channels: {}, alpha: {}, threshold: {}, warmup: {}",
+                channelNames, properties.getAlpha(), properties.getThreshold(), properties.getWarmup());
+    }
+
+    /**
+     * 샘플 평가 (이상이면 이벤트 발행)
+     */
+    public void inspect(TelemetrySample sample) {
+        EwmaAnomalyDetector current = detector;
+        if (current == null || sample == null) {
+            return;
+        }
+
+        List<Anomaly> anomalies = current.observe(sample.deviceId(), sample.timestamp(), sample.values());
+        if (anomalies == null) {
+            untrackedCounter.increment();
+            return;
+        }
+        evaluatedCounter.increment();
+
+        for (Anomaly anomaly : anomalies) {
+            String channel = channelNames.get(anomaly.channel());
+            log.warn("Anomaly detected - Device: {}, Channel: {}, Value: {}, Mean: {}, z: {}",
+                    sample.deviceId(), channel, anomaly.value(), anomaly.mean(), anomaly.zScore());
+
+            anomalyProducer.send(DeviceAnomalyEvent.builder()
+                    .deviceId(sample.deviceId())
+                    .channel(channel)
+                    .value(anomaly.value())
+                    .mean(anomaly.mean())
+                    .stdDev(anomaly.stdDev())
+                    .zScore(anomaly.zScore())
+                    .observedAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(sample.timestamp()), ZoneId.systemDefault()))
+                    .build());
+            detectedCounter.increment();
+            latencyTimer.record(Math.max(0, System.currentTimeMillis() - sample.timestamp()), TimeUnit.MILLISECONDS);
+        }
+    }
+}
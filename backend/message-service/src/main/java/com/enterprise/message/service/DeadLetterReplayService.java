@@ -0,0 +1,212 @@
+package com.enterprise.message.service;
+
+import com.enterprise.message.config.KafkaRetryProperties;
+import com.enterprise.message.dto.DeadLetterReplayDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DLT 재처리
+ * DLT(T-dlt) 레코드를 원본 토픽 T 로 다시 발행한다. 재시도/DLT 관련 헤더는 제거하므로
+ * 다시 실패하면 처음부터 재시도 토폴로지를 거친다.
+ *
+ * 재처리 위치는 전용 컨슈머 그룹(<group-id>-dlt-replay)의 커밋 오프셋으로 관리하며,
+ * 요청 시점의 끝 오프셋까지만 처리한다 (재처리 중 다시 DLT 로 들어온 레코드는 다음 요청에서 처리).
+ */
+@Slf4j
+@Service
+public class DeadLetterReplayService {
+
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+    private static final long SEND_TIMEOUT_SECONDS = 30;
+    private static final String[] RETRY_HEADER_PREFIXES = {"kafka_dlt-", "retry_topic-", "iot-retry-", "springDeserializerException"};
+
+    private final KafkaRetryProperties properties;
+    private final KafkaTemplate<String, byte[]> byteArrayKafkaTemplate;
+    private final DefaultKafkaConsumerFactory<String, byte[]> consumerFactory;
+    private final MeterRegistry meterRegistry;
+
+    public DeadLetterReplayService(KafkaRetryProperties properties,
+                                   @Qualifier("byteArrayKafkaTemplate") KafkaTemplate<String, byte[]> byteArrayKafkaTemplate,
+                                   KafkaProperties kafkaProperties,
+                                   @Value("${spring.kafka.consumer.group-id}") String groupId,
+                                   MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.byteArrayKafkaTemplate = byteArrayKafkaTemplate;
+        this.meterRegistry = meterRegistry;
+
+        Map<String, Object> props = new HashMap<>(kafkaProperties.buildConsumerProperties());
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId + "-dlt-replay");
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 500);
+        this.consumerFactory = new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), new ByteArrayDeserializer());
+    }
+
+    /**
+     * DLT 레코드를 원본 토픽으로 다시 발행
+     *
+     * @param maxRecords 최대 재발행 수 (null 이면 kafka.retry.replay-max-records)
+     * @throws IllegalArgumentException DLT 이름 규칙에 맞지 않거나 존재하지 않는 토픽
+     */
+    public synchronized DeadLetterReplayDto replay(String dltTopic, Integer maxRecords) {
+        String targetTopic = properties.sourceOfDlt(dltTopic);
+        if (targetTopic == null) {
+            throw new IllegalArgumentException("Not a dead-letter topic: " + dltTopic);
+        }
+        int limit = maxRecords != null ? maxRecords : properties.getReplayMaxRecords();
+        if (limit <= 0 || limit > properties.getReplayMaxRecords()) {
+            throw new IllegalArgumentException("maxRecords must be between 1 and " + properties.getReplayMaxRecords());
+        }
+
+        try (Consumer<String, byte[]> consumer = consumerFactory.createConsumer()) {
+            List<TopicPartition> partitions = partitions(consumer, dltTopic);
+            consumer.assign(partitions);
+            Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
+            seekToCommitted(consumer, partitions);
+
+            Map<TopicPartition, Long> next = new HashMap<>();
+            List<CompletableFuture<SendResult<String, byte[]>>> sends = new ArrayList<>();
+            while (sends.size() < limit && !reachedEnd(consumer, partitions, endOffsets)) {
+                ConsumerRecords<String, byte[]> records = consumer.poll(POLL_TIMEOUT);
+                if (records.isEmpty()) {
+                    break;
+                }
+                for (ConsumerRecord<String, byte[]> record : records) {
+                    TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+                    if (sends.size() >= limit || record.offset() >= endOffsets.get(partition)) {
+                        continue;
+                    }
+                    sends.add(byteArrayKafkaTemplate.send(toTarget(record, targetTopic)));
+                    next.put(partition, record.offset() + 1);
+                }
+            }
+
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+                    .get(SEND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+            Map<TopicPartition, OffsetAndMetadata> commits = new HashMap<>();
+            next.forEach((partition, offset) -> commits.put(partition, new OffsetAndMetadata(offset)));
+            if (!commits.isEmpty()) {
+                consumer.commitSync(commits);
+            }
+
+            long remaining = 0;
+            for (TopicPartition partition : partitions) {
+                long position = next.getOrDefault(partition, consumer.position(partition));
+                remaining += Math.max(0, endOffsets.get(partition) - position);
+            }
+
+            Counter.builder("kafka.dlt.replayed")
+                    .description("Dead-letter records republished to their source topic")
+                    .tag("topic", dltTopic)
+                    .register(meterRegistry)
+                    .increment(sends.size());
+            log.info("Replayed {} records from {} to {} ({} remaining)", sends.size(), dltTopic, targetTopic, remaining);
+
+            return DeadLetterReplayDto.builder()
+                    .dltTopic(dltTopic)
+                    .targetTopic(targetTopic)
+                    .replayed(sends.size())
+                    .remaining(remaining)
+                    .build();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while replaying " + dltTopic, e);
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to replay " + dltTopic + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static List<TopicPartition> partitions(Consumer<String, byte[]> consumer, String topic) {
+        List<PartitionInfo> infos = consumer.partitionsFor(topic);
+        if (infos == null || infos.isEmpty()) {
+            throw new IllegalArgumentException("Unknown dead-letter topic: " + topic);
+        }
+        List<TopicPartition> partitions = new ArrayList<>(infos.size());
+        for (PartitionInfo info : infos) {
+            partitions.add(new TopicPartition(topic, info.partition()));
+        }
+        return partitions;
+    }
+
+    private static void seekToCommitted(Consumer<String, byte[]> consumer, List<TopicPartition> partitions) {
+        Map<TopicPartition, OffsetAndMetadata> committed = consumer.committed(new HashSet<>(partitions));
+        List<TopicPartition> fromBeginning = new ArrayList<>();
+        for (TopicPartition partition : partitions) {
+            OffsetAndMetadata offset = committed.get(partition);
+            if (offset != null) {
+                consumer.seek(partition, offset.offset());
+            } else {
+                fromBeginning.add(partition);
+            }
+        }
+        if (!fromBeginning.isEmpty()) {
+            consumer.seekToBeginning(fromBeginning);
+        }
+    }
+
+    private static boolean reachedEnd(Consumer<String, byte[]> consumer,
+                                      List<TopicPartition> partitions,
+                                      Map<TopicPartition, Long> endOffsets) {
+        for (TopicPartition partition : partitions) {
+            if (consumer.position(partition) < endOffsets.get(partition)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 원본 토픽용 레코드 (key, value, 업무 헤더 유지 / 재시도·DLT 헤더 제거, 파티션은 key 로 다시 결정)
+     */
+    private static ProducerRecord<String, byte[]> toTarget(ConsumerRecord<String, byte[]> record, String targetTopic) {
+        RecordHeaders headers = new RecordHeaders();
+        for (Header header : record.headers()) {
+            if (!isRetryHeader(header.key())) {
+                headers.add(header);
+            }
+        }
+        return new ProducerRecord<>(targetTopic, null, record.key(), record.value(), headers);
+    }
+
+    private static boolean isRetryHeader(String key) {
+        for (String prefix : RETRY_HEADER_PREFIXES) {
+            if (key.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,112 @@
+package com.enterprise.message.service;
+
+import com.enterprise.message.codec.DeviceKeys;
+import com.enterprise.message.dto.iot.IoTDeviceMessageDto;
+import com.enterprise.message.repository.DeviceSerialJdbcRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * 디바이스 Serial Number 등록부
+ *
+ * Serial Number 는 REQUEST 프레임(serialNo[5-21])에만 실리고, 나머지 프레임은 deviceID[0-3] 만 가진다.
+ * device_state 는 PERIODIC 프레임의 "#" + Hex key 로 쌓이므로 Serial 로는 찾을 수 없다.
+ * REQUEST 를 받을 때마다 Serial → "#" + Hex 대응을 기록해 두어
+ * - 대량 명령의 접두어 selector(EST-ROZ-25*)를 등록된 Serial 로 풀고
+ * - 명령 응답(RESPONSE/ECHO/FOTA/REBOOT)을 발행 시점의 "#" + Hex 로 맞춘다.
+ *
+ * 대응은 메모리에 두고 바뀐 경우에만 device_serial 테이블에 upsert 한다 (REQUEST 는 드물게 옴).
+ * 다른 인스턴스가 기록한 대응은 기동 시 적재하고, 메모리에 없으면 조회 시 DB 에서 읽는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DeviceSerialRegistry {
+
+    private final DeviceSerialJdbcRepository repository;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, String> keysBySerial = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void start() {
+        Gauge.builder("iot.device.serials", keysBySerial, Map::size)
+                .description("Serial numbers mapped to device frame keys")
+                .register(meterRegistry);
+        try {
+            repository.loadAll(keysBySerial::put);
+            log.info("Loaded {} device serial numbers", keysBySerial.size());
+        } catch (DataAccessException e) {
+            log.warn("Failed to load device serial numbers, falling back to per-lookup queries", e);
+        }
+    }
+
+    /**
+     * REQUEST 메시지의 Serial Number 와 deviceID[0-3] 대응 기록 (다른 타입이거나 식별할 수 없으면 무시)
+     */
+    public void register(IoTDeviceMessageDto message) {
+        String serialNo = message.getDeviceId();
+        if (message.getMessageType() != IoTDeviceMessageDto.MessageType.REQUEST || serialNo == null) {
+            return;
+        }
+        String deviceKey = DeviceKeys.frameKey(DeviceKeys.frameOf(message));
+        if (deviceKey == null) {
+            return;
+        }
+
+        String previous = keysBySerial.put(serialNo, deviceKey);
+        if (deviceKey.equals(previous)) {
+            return;
+        }
+        try {
+            repository.upsert(serialNo, deviceKey, System.currentTimeMillis());
+            log.debug("Registered device serial - Serial: {}, Key: {}", serialNo, deviceKey);
+        } catch (DataAccessException e) {
+            // 다음 REQUEST 에서 다시 기록하도록 되돌림
+            if (previous == null) {
+                keysBySerial.remove(serialNo, deviceKey);
+            } else {
+                keysBySerial.replace(serialNo, deviceKey, previous);
+            }
+            log.warn("Failed to store device serial - Serial: {}, Key: {}", serialNo, deviceKey, e);
+        }
+    }
+
+    /**
+     * Serial Number 의 프레임 key ("#" + deviceID[0-3] Hex)
+     *
+     * @return REQUEST 로 등록된 적이 없으면 null
+     */
+    public String deviceKey(String serialNo) {
+        String deviceKey = keysBySerial.get(serialNo);
+        if (deviceKey != null) {
+            return deviceKey;
+        }
+        try {
+            deviceKey = repository.findDeviceKey(serialNo);
+        } catch (DataAccessException e) {
+            log.warn("Failed to look up device serial - Serial: {}", serialNo, e);
+            return null;
+        }
+        if (deviceKey != null) {
+            keysBySerial.putIfAbsent(serialNo, deviceKey);
+        }
+        return deviceKey;
+    }
+
+    /**
+     * 접두어가 같은 등록된 Serial Number 를 순서대로 전달 (device_serial PK 범위 검색)
+     */
+    public void findSerialsByPrefix(String prefix, Consumer<String> consumer) {
+        repository.findSerialsByPrefix(prefix, consumer);
+    }
+}
@@ -0,0 +1,289 @@
+package com.enterprise.message.service;
+
+import com.enterprise.message.codec.DeviceKeys;
+import com.enterprise.message.config.DeviceStateProperties;
+import com.enterprise.message.dto.iot.DeviceStateDto;
+import com.enterprise.message.dto.iot.IoTDeviceMessageDto;
+import com.enterprise.message.entity.DeviceState;
+import com.enterprise.message.exception.ResourceNotFoundException;
+import com.enterprise.message.repository.DeviceStateJdbcRepository;
+import com.enterprise.message.state.DeviceStateSnapshot;
+import com.enterprise.message.state.DeviceStateStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 디바이스 최신 상태 관리
+ * PERIODIC 메시지마다 DeviceStateStore(오프힙)를 갱신하고, 변경된 디바이스만 주기적으로
+ * device_state 테이블에 batch upsert 한다 (write-behind). 조회 API 는 DB 를 거치지 않는다.
+ *
+ * deviceId 가 없는 프레임은 deviceID[0-3] 가 0 이 아니면 "#" + Hex 를 key 로 사용한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DeviceStateService {
+
+    private static final HexFormat HEX = HexFormat.of().withUpperCase();
+
+    private final DeviceStateProperties properties;
+    private final DeviceStateJdbcRepository repository;
+    private final MeterRegistry meterRegistry;
+
+    private volatile DeviceStateStore store;
+    private ScheduledExecutorService flusher;
+
+    private final Map<DeviceStateStore.UpdateResult, Counter> updateCounters =
+            new EnumMap<>(DeviceStateStore.UpdateResult.class);
+    private Counter unidentifiedCounter;
+    private Counter flushedCounter;
+    private Counter flushFailedCounter;
+    private Timer flushTimer;
+    private volatile boolean fullWarned;
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            log.info("Device state store disabled");
+            return;
+        }
+
+        if (properties.getSnapshotBytes() > DeviceState.MAX_SNAPSHOT_BYTES) {
+            // 컬럼보다 큰 스냅샷은 write-behind upsert 가 매번 실패하므로 기동 시 거부
+            throw new IllegalArgumentException("iot.device-state.snapshot-bytes must be <= "
+                    + DeviceState.MAX_SNAPSHOT_BYTES + ": " + properties.getSnapshotBytes());
+        }
+
+        DeviceStateStore created = new DeviceStateStore(
+                properties.getMaxDevices(), properties.getSnapshotBytes(), properties.getPartitions());
+        registerMetrics(created);
+        store = created;
+
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "device-state-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (properties.isLoadOnStartup()) {
+            flusher.execute(this::load);
+        }
+        long intervalMs = properties.getFlushInterval().toMillis();
+        flusher.scheduleWithFixedDelay(this::flushQuietly, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+
+        log.info("Device state store started - maxDevices: {}, snapshotBytes: {}, off-heap: {} MB, flushInterval: {}",
+                properties.getMaxDevices(), properties.getSnapshotBytes(),
+                created.allocatedBytes() >> 20, properties.getFlushInterval());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (flusher == null) {
+            return;
+        }
+        flusher.shutdown();
+        try {
+            if (!flusher.awaitTermination(10, TimeUnit.SECONDS)) {
+                flusher.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushQuietly();
+    }
+
+    /**
+     * 메시지로 디바이스 상태 갱신
+     */
+    public void update(IoTDeviceMessageDto message) {
+        DeviceStateStore current = store;
+        if (current == null) {
+            return;
+        }
+
+        byte[] frame = DeviceKeys.frameOf(message);
+        String deviceId = DeviceKeys.deviceKey(message, frame);
+        if (deviceId == null) {
+            unidentifiedCounter.increment();
+            return;
+        }
+
+        DeviceStateStore.UpdateResult result = current.update(
+                deviceId,
+                message.getMessageType() != null ? message.getMessageType().getCode() : -1,
+                message.getQos() != null ? message.getQos() : -1,
+                message.getReceivedAt() != null ? toEpochMillis(message.getReceivedAt()) : -1,
+                frame,
+                System.currentTimeMillis());
+        updateCounters.get(result).increment();
+
+        if (result == DeviceStateStore.UpdateResult.REJECTED_FULL && !fullWarned) {
+            fullWarned = true;
+            log.warn("Device state store is full ({} devices), new devices are not tracked", current.size());
+        }
+    }
+
+    /**
+     * 디바이스 한 대의 최신 상태
+     *
+     * @throws ResourceNotFoundException 상태가 없는 디바이스
+     */
+    public DeviceStateDto get(String deviceId) {
+        DeviceStateStore current = store;
+        DeviceStateSnapshot state = current != null ? current.get(deviceId) : null;
+        if (state == null) {
+            throw new ResourceNotFoundException("Device state not found: " + deviceId);
+        }
+        return toDto(state);
+    }
+
+    /**
+     * 여러 디바이스의 최신 상태 (상태가 없는 디바이스는 제외)
+     */
+    public List<DeviceStateDto> getAll(Collection<String> deviceIds) {
+        DeviceStateStore current = store;
+        List<DeviceStateDto> result = new ArrayList<>(deviceIds.size());
+        if (current == null) {
+            return result;
+        }
+        for (String deviceId : deviceIds) {
+            DeviceStateSnapshot state = current.get(deviceId);
+            if (state != null) {
+                result.add(toDto(state));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 변경된 상태를 batch 단위로 DB 에 반영 (실패한 batch 는 다시 dirty 로 표시하고 다음 주기에 재시도)
+     */
+    void flush() {
+        DeviceStateStore current = store;
+        if (current == null) {
+            return;
+        }
+        int batchSize = properties.getFlushBatchSize();
+        List<DeviceStateSnapshot> batch = new ArrayList<>(batchSize);
+
+        while (current.drainDirty(batchSize, batch) > 0) {
+            long start = System.nanoTime();
+            try {
+                repository.upsertAll(batch);
+                flushedCounter.increment(batch.size());
+            } catch (Exception e) {
+                flushFailedCounter.increment(batch.size());
+                current.markDirty(batch);
+                log.error("Failed to flush {} device states, will retry", batch.size(), e);
+                return;
+            } finally {
+                flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+            if (batch.size() < batchSize) {
+                return;
+            }
+            batch.clear();
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("Device state flush failed", e);
+        }
+    }
+
+    /**
+     * DB 에 저장된 상태를 메모리로 적재 (flush 스레드에서 실행, 그 사이 들어온 최신 상태는 덮어쓰지 않음)
+     */
+    private void load() {
+        DeviceStateStore current = store;
+        long start = System.currentTimeMillis();
+        int[] loaded = new int[1];
+        try {
+            repository.loadAll(state -> {
+                if (current.restore(state)) {
+                    loaded[0]++;
+                }
+            });
+            log.info("Loaded {} device states in {} ms", loaded[0], System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.warn("Failed to load device states (loaded {}), continuing with live data only", loaded[0], e);
+        }
+    }
+
+    private void registerMetrics(DeviceStateStore created) {
+        for (DeviceStateStore.UpdateResult result : DeviceStateStore.UpdateResult.values()) {
+            updateCounters.put(result, Counter.builder("iot.device.state.updates")
+                    .description("Device state updates by result")
+                    .tag("result", result.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        unidentifiedCounter = Counter.builder("iot.device.state.updates")
+                .tag("result", "unidentified")
+                .register(meterRegistry);
+        flushedCounter = Counter.builder("iot.device.state.flushed")
+                .tag("result", "ok")
+                .register(meterRegistry);
+        flushFailedCounter = Counter.builder("iot.device.state.flushed")
+                .tag("result", "failed")
+                .register(meterRegistry);
+        flushTimer = Timer.builder("iot.device.state.flush")
+                .description("Device state batch upsert time")
+                .register(meterRegistry);
+
+        Gauge.builder("iot.device.state.devices", created, DeviceStateStore::size)
+                .description("Devices held in the state store")
+                .register(meterRegistry);
+        Gauge.builder("iot.device.state.capacity", created, DeviceStateStore::maxDevices)
+                .register(meterRegistry);
+        Gauge.builder("iot.device.state.dirty", created, DeviceStateStore::dirtyCount)
+                .description("Devices not yet flushed to the database")
+                .register(meterRegistry);
+        Gauge.builder("iot.device.state.memory", created, DeviceStateStore::allocatedBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    private static DeviceStateDto toDto(DeviceStateSnapshot state) {
+        return DeviceStateDto.builder()
+                .deviceId(state.deviceId())
+                .messageType(IoTDeviceMessageDto.MessageType.fromCode(state.messageType()))
+                .qos(state.qos() >= 0 ? state.qos() : null)
+                .receivedAt(state.receivedAt() >= 0 ? toLocalDateTime(state.receivedAt()) : null)
+                .updatedAt(toLocalDateTime(state.updatedAt()))
+                .messageCount(state.messageCount())
+                .frame(HEX.formatHex(state.snapshot()))
+                .frameLength(state.frameLength())
+                .truncated(state.truncated())
+                .build();
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,379 @@
+package com.enterprise.message.service;
+
+import com.enterprise.message.config.CommandFanoutProperties;
+import com.enterprise.message.dto.iot.BulkCommandJobDto;
+import com.enterprise.message.dto.iot.BulkCommandRequestDto;
+import com.enterprise.message.dto.iot.IoTCommandDto;
+import com.enterprise.message.exception.ResourceNotFoundException;
+import com.enterprise.message.kafka.IoTCommandProducer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 대량 명령 발행 (fan-out)
+ *
+ * selector 로 대상 디바이스를 조회한 뒤 명령을 batch 단위로 Kafka(mqtt-command 토픽)에 발행한다.
+ * batch N 을 producer 에 넘긴 다음 batch N-1 의 완료를 기다리므로 전송이 끊기지 않고,
+ * 처리 중인 명령 수는 batch 두 개로 제한된다. 발행 속도는 작업별 ratePerSecond 로 맞춘다.
+ *
+ * 작업은 전용 스레드(iot.command-fanout.concurrent-jobs 개)에서 실행되며 진행 상황은 jobId 로 조회한다.
+ * 작업 상태는 인스턴스 메모리에만 있으므로 재시작하면 사라진다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IoTCommandFanoutService {
+
+    /**
+     * batch 는 최대 rate / 10 건 (낮은 속도에서도 100ms 분량 이상을 한 번에 몰아 보내지 않음)
+     */
+    private static final int BURSTS_PER_SECOND = 10;
+
+    private final CommandFanoutProperties properties;
+    private final DeviceSerialRegistry deviceSerialRegistry;
+    private final IoTCommandProducer commandProducer;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final Map<BulkCommandJobDto.Status, Counter> jobCounters = new EnumMap<>(BulkCommandJobDto.Status.class);
+    private ExecutorService executor;
+    private Counter sentCounter;
+    private Counter failedCounter;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threads = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(properties.getConcurrentJobs(), r -> {
+            Thread thread = new Thread(r, "iot-command-fanout-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        sentCounter = Counter.builder("iot.command.fanout.commands")
+                .description("Commands published by bulk command jobs")
+                .tag("result", "sent")
+                .register(meterRegistry);
+        failedCounter = Counter.builder("iot.command.fanout.commands")
+                .tag("result", "failed")
+                .register(meterRegistry);
+        for (BulkCommandJobDto.Status status : BulkCommandJobDto.Status.values()) {
+            jobCounters.put(status, Counter.builder("iot.command.fanout.jobs")
+                    .description("Bulk command jobs by final status")
+                    .tag("status", status.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        Gauge.builder("iot.command.fanout.running", jobs,
+                        all -> all.values().stream().filter(job -> job.status == BulkCommandJobDto.Status.RUNNING).count())
+                .description("Bulk command jobs currently publishing")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        jobs.values().forEach(job -> job.cancelled = true);
+        executor.shutdownNow();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("Bulk command jobs did not stop within 10s");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 작업 등록 (발행은 비동기로 진행)
+     *
+     * @throws IllegalArgumentException selector 가 없거나 둘 이상, 알 수 없는 태그, 허용 범위를 벗어난 속도/디바이스 수
+     */
+    public BulkCommandJobDto submit(BulkCommandRequestDto request) {
+        BulkCommandRequestDto.Selector selector = request.getSelector();
+        int selectors = (selector.getDeviceIds() != null ? 1 : 0)
+                + (selector.getPrefix() != null ? 1 : 0)
+                + (selector.getTag() != null ? 1 : 0);
+        if (selectors != 1) {
+            throw new IllegalArgumentException("Exactly one of selector.deviceIds, selector.prefix, selector.tag is required");
+        }
+        if (selector.getDeviceIds() != null && selector.getDeviceIds().size() > properties.getMaxDevices()) {
+            throw new IllegalArgumentException("selector.deviceIds must not exceed " + properties.getMaxDevices() + " devices");
+        }
+        if (selector.getPrefix() != null && stripWildcard(selector.getPrefix()).isBlank()) {
+            throw new IllegalArgumentException("selector.prefix must not be empty");
+        }
+        if (selector.getTag() != null && !properties.getTags().containsKey(selector.getTag())) {
+            throw new IllegalArgumentException("Unknown device tag: " + selector.getTag());
+        }
+        int rate = request.getRatePerSecond() != null ? request.getRatePerSecond() : properties.getRatePerSecond();
+        if (rate <= 0 || rate > properties.getRatePerSecond()) {
+            throw new IllegalArgumentException("ratePerSecond must be between 1 and " + properties.getRatePerSecond());
+        }
+
+        evictExpired();
+        Job job = new Job(UUID.randomUUID().toString(), request, describe(selector), rate);
+        jobs.put(job.id, job);
+        executor.execute(() -> run(job));
+
+        log.info("Bulk command job submitted - Job ID: {}, Type: {}, Selector: {}, Rate: {}/s",
+                job.id, request.getMessageType(), job.selector, rate);
+        return job.toDto();
+    }
+
+    /**
+     * @throws ResourceNotFoundException 없거나 보관 기간이 지난 작업
+     */
+    public BulkCommandJobDto get(String jobId) {
+        return find(jobId).toDto();
+    }
+
+    /**
+     * 보관 중인 작업 (최근 등록 순)
+     */
+    public List<BulkCommandJobDto> getAll() {
+        evictExpired();
+        return jobs.values().stream()
+                .sorted(Comparator.comparing((Job job) -> job.createdAt).reversed())
+                .map(Job::toDto)
+                .toList();
+    }
+
+    /**
+     * 작업 취소 (이미 producer 에 넘긴 batch 는 그대로 전송됨)
+     *
+     * @throws ResourceNotFoundException 없거나 보관 기간이 지난 작업
+     */
+    public BulkCommandJobDto cancel(String jobId) {
+        Job job = find(jobId);
+        job.cancelled = true;
+        log.info("Bulk command job cancel requested - Job ID: {}", jobId);
+        return job.toDto();
+    }
+
+    private Job find(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Bulk command job not found: " + jobId);
+        }
+        return job;
+    }
+
+    private void run(Job job) {
+        if (job.cancelled) {
+            finish(job, BulkCommandJobDto.Status.CANCELLED, null);
+            return;
+        }
+        job.startedAt = LocalDateTime.now();
+        job.status = BulkCommandJobDto.Status.RUNNING;
+        try {
+            List<String> deviceIds = resolve(job.request.getSelector());
+            job.total = deviceIds.size();
+            log.info("Bulk command job started - Job ID: {}, Devices: {}", job.id, deviceIds.size());
+
+            publish(job, deviceIds);
+            finish(job, job.cancelled ? BulkCommandJobDto.Status.CANCELLED : BulkCommandJobDto.Status.COMPLETED, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            finish(job, BulkCommandJobDto.Status.CANCELLED, null);
+        } catch (Exception e) {
+            log.error("Bulk command job failed - Job ID: {}", job.id, e);
+            finish(job, BulkCommandJobDto.Status.FAILED, e.getMessage());
+        }
+    }
+
+    private void finish(Job job, BulkCommandJobDto.Status status, String error) {
+        job.error = error;
+        job.finishedAt = LocalDateTime.now();
+        job.status = status;
+        jobCounters.get(status).increment();
+        log.info("Bulk command job {} - Job ID: {}, Total: {}, Sent: {}, Failed: {}",
+                status, job.id, job.total, job.sent.get(), job.failed.get());
+    }
+
+    /**
+     * batch 단위 발행: batch N 전송 → batch N-1 완료 대기 → 속도에 맞춰 대기
+     */
+    private void publish(Job job, List<String> deviceIds) throws InterruptedException {
+        BulkCommandRequestDto request = job.request;
+        int batchSize = Math.max(1, Math.min(properties.getBatchSize(), job.ratePerSecond / BURSTS_PER_SECOND));
+        long start = System.nanoTime();
+        List<CompletableFuture<SendResult<String, Object>>> inFlight = List.of();
+
+        for (int from = 0; from < deviceIds.size() && !job.cancelled; from += batchSize) {
+            int to = Math.min(from + batchSize, deviceIds.size());
+            List<IoTCommandDto> commands = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                commands.add(IoTCommandDto.builder()
+                        .commandId(job.id + "-" + i)
+                        .deviceId(deviceIds.get(i))
+                        .messageType(request.getMessageType())
+                        .payload(request.getPayload())
+                        .qos(request.getQos())
+                        .topicType(request.getTopicType())
+                        .build());
+            }
+
+            List<CompletableFuture<SendResult<String, Object>>> batch = commandProducer.sendCommands(commands);
+            for (CompletableFuture<SendResult<String, Object>> future : batch) {
+                future.whenComplete((result, ex) -> {
+                    if (ex == null) {
+                        job.sent.incrementAndGet();
+                        sentCounter.increment();
+                    } else {
+                        job.failed.incrementAndGet();
+                        failedCounter.increment();
+                    }
+                });
+            }
+            await(job, inFlight);
+            inFlight = batch;
+
+            long due = start + TimeUnit.SECONDS.toNanos(to) / job.ratePerSecond;
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+        }
+        await(job, inFlight);
+    }
+
+    private void await(Job job, List<CompletableFuture<SendResult<String, Object>>> futures) throws InterruptedException {
+        if (futures.isEmpty()) {
+            return;
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                    .get(properties.getSendTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // 개별 실패는 whenComplete 에서 집계
+            log.warn("Bulk command batch had failures - Job ID: {}, cause: {}", job.id, e.getCause().getMessage());
+        } catch (TimeoutException e) {
+            log.warn("Bulk command batch not acknowledged within {} - Job ID: {}", properties.getSendTimeout(), job.id);
+        }
+    }
+
+    /**
+     * selector → 중복 없는 디바이스 ID 목록 (입력 / PK 순서 유지)
+     * 접두어 패턴은 DeviceSerialRegistry 에 등록된(REQUEST 를 한 번 이상 보낸) Serial Number 로 푼다.
+     */
+    private List<String> resolve(BulkCommandRequestDto.Selector selector) {
+        Set<String> deviceIds = new LinkedHashSet<>();
+        if (selector.getDeviceIds() != null) {
+            for (String deviceId : selector.getDeviceIds()) {
+                if (deviceId != null && !deviceId.isBlank()) {
+                    deviceIds.add(deviceId);
+                }
+            }
+        } else if (selector.getPrefix() != null) {
+            addPattern(deviceIds, selector.getPrefix() + "*");
+        } else {
+            for (String pattern : properties.getTags().get(selector.getTag())) {
+                addPattern(deviceIds, pattern);
+            }
+        }
+        return new ArrayList<>(deviceIds);
+    }
+
+    private void addPattern(Set<String> deviceIds, String pattern) {
+        if (!pattern.endsWith("*")) {
+            add(deviceIds, pattern);
+            return;
+        }
+        deviceSerialRegistry.findSerialsByPrefix(stripWildcard(pattern), serialNo -> add(deviceIds, serialNo));
+    }
+
+    private void add(Set<String> deviceIds, String deviceId) {
+        if (deviceIds.add(deviceId) && deviceIds.size() > properties.getMaxDevices()) {
+            throw new IllegalArgumentException("Selector matches more than " + properties.getMaxDevices() + " devices");
+        }
+    }
+
+    private void evictExpired() {
+        LocalDateTime expiry = LocalDateTime.now().minus(properties.getJobRetention());
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(expiry));
+    }
+
+    private static String stripWildcard(String pattern) {
+        int end = pattern.length();
+        while (end > 0 && pattern.charAt(end - 1) == '*') {
+            end--;
+        }
+        return pattern.substring(0, end);
+    }
+
+    private static String describe(BulkCommandRequestDto.Selector selector) {
+        if (selector.getDeviceIds() != null) {
+            return "deviceIds[" + selector.getDeviceIds().size() + "]";
+        }
+        if (selector.getPrefix() != null) {
+            return "prefix=" + stripWildcard(selector.getPrefix()) + "*";
+        }
+        return "tag=" + selector.getTag();
+    }
+
+    private static final class Job {
+
+        final String id;
+        final BulkCommandRequestDto request;
+        final String selector;
+        final int ratePerSecond;
+        final LocalDateTime createdAt = LocalDateTime.now();
+        final AtomicLong sent = new AtomicLong();
+        final AtomicLong failed = new AtomicLong();
+
+        volatile BulkCommandJobDto.Status status = BulkCommandJobDto.Status.PENDING;
+        volatile boolean cancelled;
+        volatile int total;
+        volatile LocalDateTime startedAt;
+        volatile LocalDateTime finishedAt;
+        volatile String error;
+
+        Job(String id, BulkCommandRequestDto request, String selector, int ratePerSecond) {
+            this.id = id;
+            this.request = request;
+            this.selector = selector;
+            this.ratePerSecond = ratePerSecond;
+        }
+
+        BulkCommandJobDto toDto() {
+            return BulkCommandJobDto.builder()
+                    .jobId(id)
+                    .status(status)
+                    .messageType(request.getMessageType())
+                    .selector(selector)
+                    .ratePerSecond(ratePerSecond)
+                    .total(total)
+                    .sent(sent.get())
+                    .failed(failed.get())
+                    .createdAt(createdAt)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .error(error)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package com.enterprise.message.service;
+
+import com.enterprise.message.config.TelemetryProperties;
+import com.enterprise.message.dto.iot.TelemetrySeriesDto;
+import com.enterprise.message.telemetry.TelemetrySample;
+import com.enterprise.message.telemetry.TelemetryStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 디바이스 텔레메트리 저장 / 조회
+ * PERIODIC, DISCRETE 프레임에서 읽은 채널 값(TelemetrySample)을 TelemetryStore 에 추가하고,
+ * 조회 시 서버에서 step 구간별 평균/최소/최대로 다운샘플링한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TelemetryService {
+
+    private final TelemetryProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private volatile TelemetryStore store;
+    private List<TelemetryProperties.Channel> channels;
+    private List<String> channelNames;
+    private ScheduledExecutorService maintenance;
+
+    private Counter storedCounter;
+    private Counter outOfOrderCounter;
+    private Counter failedCounter;
+    private Timer queryTimer;
+
+    @PostConstruct
+    public void start() throws IOException {
+        channels = List.copyOf(properties.getChannels());
+        if (!properties.isEnabled() || channels.isEmpty()) {
+            log.info("Telemetry store disabled (enabled: {}, channels: {})", properties.isEnabled(), channels.size());
+            return;
+        }
+        channelNames = channels.stream().map(TelemetryProperties.Channel::getName).toList();
+
+        TelemetryStore created = new TelemetryStore(
+                Path.of(properties.getDirectory()),
+                (int) properties.getSegmentSize().toBytes(),
+                properties.getMaxSize().toBytes(),
+                properties.getWindow().toMillis(),
+                properties.getMaxSamplesPerChunk(),
+                channels.size());
+        registerMetrics(created);
+        store = created;
+
+        maintenance = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "telemetry-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMs = properties.getMaintenanceInterval().toMillis();
+        maintenance.scheduleWithFixedDelay(this::maintain, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+
+        log.info("Telemetry store started - directory: {}, channels: {}, window: {}, retention: {}",
+                properties.getDirectory(), channelNames, properties.getWindow(), properties.getRetention());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (maintenance != null) {
+            maintenance.shutdown();
+            try {
+                maintenance.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        TelemetryStore current = store;
+        store = null;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    /**
+     * 샘플 저장 (TelemetrySampleReader 가 읽지 못한 메시지는 null)
+     */
+    public void append(TelemetrySample sample) {
+        TelemetryStore current = store;
+        if (current == null || sample == null) {
+            return;
+        }
+
+        try {
+            TelemetryStore.AppendResult result = current.append(sample.deviceId(), sample.timestamp(), sample.values());
+            if (result == TelemetryStore.AppendResult.STORED) {
+                storedCounter.increment();
+            } else {
+                outOfOrderCounter.increment();
+            }
+        } catch (IOException e) {
+            failedCounter.increment();
+            log.error("Failed to store telemetry - Device: {}", sample.deviceId(), e);
+        }
+    }
+
+    /**
+     * [from, to) 구간 조회, step 단위 구간별 평균/최소/최대
+     *
+     * @param step null 이면 defaultQueryPoints 개 구간으로 나눔
+     * @throws IllegalArgumentException 잘못된 구간이거나 구간 수가 maxQueryPoints 를 넘음
+     */
+    public TelemetrySeriesDto query(String deviceId, LocalDateTime from, LocalDateTime to, Duration step) {
+        long fromMs = toEpochMillis(from);
+        long toMs = toEpochMillis(to);
+        if (toMs <= fromMs) {
+            throw new IllegalArgumentException("'to' must be after 'from'");
+        }
+        long stepMs = step != null
+                ? step.toMillis()
+                : Math.max(1, (toMs - fromMs + properties.getDefaultQueryPoints() - 1) / properties.getDefaultQueryPoints());
+        if (stepMs <= 0) {
+            throw new IllegalArgumentException("'step' must be positive");
+        }
+        long buckets = (toMs - fromMs + stepMs - 1) / stepMs;
+        if (buckets > properties.getMaxQueryPoints()) {
+            throw new IllegalArgumentException("Too many points: " + buckets + " (max " + properties.getMaxQueryPoints()
+                    + "), increase 'step'");
+        }
+
+        TelemetryStore current = store;
+        List<TelemetrySeriesDto.Point> points = new ArrayList<>();
+        if (current != null) {
+            long start = System.nanoTime();
+            Downsampler downsampler = new Downsampler(fromMs, stepMs, (int) buckets, channels.size());
+            current.query(deviceId, fromMs, toMs, downsampler::add);
+            downsampler.collect(points);
+            queryTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        return TelemetrySeriesDto.builder()
+                .deviceId(deviceId)
+                .from(from)
+                .to(to)
+                .stepMillis(stepMs)
+                .channels(channelNames != null ? channelNames : List.of())
+                .points(points)
+                .build();
+    }
+
+    private void maintain() {
+        TelemetryStore current = store;
+        if (current == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        try {
+            current.sealExpired(now, properties.getSealGrace().toMillis());
+            int deleted = current.expire(now - properties.getRetention().toMillis());
+            if (deleted > 0) {
+                log.info("Deleted {} expired telemetry segments", deleted);
+            }
+        } catch (Exception e) {
+            log.error("Telemetry maintenance failed", e);
+        }
+    }
+
+    private void registerMetrics(TelemetryStore created) {
+        storedCounter = Counter.builder("iot.telemetry.samples")
+                .description("Telemetry samples by result")
+                .tag("result", "stored")
+                .register(meterRegistry);
+        outOfOrderCounter = Counter.builder("iot.telemetry.samples")
+                .tag("result", "out_of_order")
+                .register(meterRegistry);
+        failedCounter = Counter.builder("iot.telemetry.samples")
+                .tag("result", "failed")
+                .register(meterRegistry);
+        queryTimer = Timer.builder("iot.telemetry.query")
+                .description("Telemetry range query and downsampling time")
+                .register(meterRegistry);
+
+        Gauge.builder("iot.telemetry.devices", created, TelemetryStore::deviceCount)
+                .register(meterRegistry);
+        Gauge.builder("iot.telemetry.chunks.sealed", created, TelemetryStore::sealedChunks)
+                .register(meterRegistry);
+        Gauge.builder("iot.telemetry.disk", created, TelemetryStore::diskBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * step 구간별 채널 합계/최소/최대 누적 (채널별 NaN 은 제외)
+     */
+    private static final class Downsampler {
+
+        private final long from;
+        private final long step;
+        private final int channels;
+        private final int[] counts;
+        private final int[] valueCounts;
+        private final double[] sums;
+        private final double[] mins;
+        private final double[] maxs;
+
+        Downsampler(long from, long step, int buckets, int channels) {
+            this.from = from;
+            this.step = step;
+            this.channels = channels;
+            this.counts = new int[buckets];
+            this.valueCounts = new int[buckets * channels];
+            this.sums = new double[buckets * channels];
+            this.mins = new double[buckets * channels];
+            this.maxs = new double[buckets * channels];
+            Arrays.fill(mins, Double.POSITIVE_INFINITY);
+            Arrays.fill(maxs, Double.NEGATIVE_INFINITY);
+        }
+
+        void add(long timestamp, double[] values) {
+            int bucket = (int) ((timestamp - from) / step);
+            counts[bucket]++;
+            int base = bucket * channels;
+            for (int c = 0; c < channels; c++) {
+                double v = values[c];
+                if (Double.isNaN(v)) {
+                    continue;
+                }
+                int i = base + c;
+                valueCounts[i]++;
+                sums[i] += v;
+                if (v < mins[i]) {
+                    mins[i] = v;
+                }
+                if (v > maxs[i]) {
+                    maxs[i] = v;
+                }
+            }
+        }
+
+        void collect(List<TelemetrySeriesDto.Point> out) {
+            for (int b = 0; b < counts.length; b++) {
+                if (counts[b] == 0) {
+                    continue;
+                }
+                Double[] avg = new Double[channels];
+                Double[] min = new Double[channels];
+                Double[] max = new Double[channels];
+                for (int c = 0; c < channels; c++) {
+                    int i = b * channels + c;
+                    if (valueCounts[i] > 0) {
+                        avg[c] = sums[i] / valueCounts[i];
+                        min[c] = mins[i];
+                        max[c] = maxs[i];
+                    }
+                }
+                LocalDateTime timestamp = LocalDateTime.ofInstant(
+                        Instant.ofEpochMilli(from + b * step), ZoneId.systemDefault());
+                out.add(new TelemetrySeriesDto.Point(timestamp, counts[b], avg, min, max));
+            }
+        }
+    }
+}
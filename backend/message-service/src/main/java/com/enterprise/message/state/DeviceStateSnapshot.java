@@ -0,0 +1,28 @@
+package com.enterprise.message.state;
+
+/**
+ * DeviceStateStore 한 슬롯의 복사본
+ *
+ * @param deviceId     디바이스 ID (Serial Number 또는 "#" + deviceID[0-3] Hex)
+ * @param messageType  마지막 메시지 타입 코드 (-1: 알 수 없음)
+ * @param qos          마지막 메시지 QoS (-1: 알 수 없음)
+ * @param receivedAt   마지막 메시지 수신 시각 (epoch millis, -1: 알 수 없음)
+ * @param updatedAt    저장소 반영 시각 (epoch millis)
+ * @param messageCount 누적 메시지 수
+ * @param frameLength  마지막 프레임 원본 길이
+ * @param snapshot     마지막 프레임 (최대 snapshot-bytes, frameLength 보다 짧으면 잘린 것)
+ */
+public record DeviceStateSnapshot(
+        String deviceId,
+        int messageType,
+        int qos,
+        long receivedAt,
+        long updatedAt,
+        long messageCount,
+        int frameLength,
+        byte[] snapshot) {
+
+    public boolean truncated() {
+        return snapshot.length < frameLength;
+    }
+}
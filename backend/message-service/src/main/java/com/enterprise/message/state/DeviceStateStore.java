@@ -0,0 +1,438 @@
+package com.enterprise.message.state;
+
+import java.nio.ByteBuffer;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * deviceId → 최신 상태 오프힙 해시 테이블
+ *
+ * 기동 시 고정 크기의 direct ByteBuffer 를 할당하고 이후 늘어나지 않는다. 디바이스마다
+ * 고정 길이 슬롯 하나를 차지하며 (open addressing, linear probing), 삭제는 지원하지 않는다.
+ * 테이블은 partitions 개로 나뉘어 파티션마다 StampedLock 을 가진다. 조회는 낙관적 읽기로
+ * 시작해 쓰기와 겹친 경우에만 읽기 락으로 다시 읽는다.
+ *
+ * 갱신된 슬롯은 파티션별 dirty 비트로 표시되며 {@link #drainDirty} 로 write-behind 대상을 꺼낸다.
+ *
+ * 슬롯 구조 (바이트 오프셋):
+ * - [0]:      사용 여부 (0: 빈 슬롯)
+ * - [1]:      key 길이
+ * - [2]:      messageType 코드
+ * - [3]:      QoS
+ * - [4-7]:    key 해시
+ * - [8-31]:   key (ASCII, 최대 24바이트)
+ * - [32-39]:  receivedAt
+ * - [40-47]:  updatedAt
+ * - [48-55]:  messageCount
+ * - [56-59]:  프레임 원본 길이
+ * - [60-63]:  저장된 스냅샷 길이
+ * - [64-]:    스냅샷 (snapshotBytes)
+ */
+public final class DeviceStateStore {
+
+    public static final int MAX_KEY_LENGTH = 24;
+
+    private static final int USED = 0;
+    private static final int KEY_LENGTH = 1;
+    private static final int MESSAGE_TYPE = 2;
+    private static final int QOS = 3;
+    private static final int HASH = 4;
+    private static final int KEY = 8;
+    private static final int RECEIVED_AT = 32;
+    private static final int UPDATED_AT = 40;
+    private static final int MESSAGE_COUNT = 48;
+    private static final int FRAME_LENGTH = 56;
+    private static final int SNAPSHOT_LENGTH = 60;
+    private static final int SNAPSHOT = 64;
+
+    /**
+     * 파티션 용량 대비 목표 사용률 (탐색 길이를 짧게 유지)
+     */
+    private static final double LOAD_FACTOR = 0.7;
+
+    /**
+     * 파티션 하나가 채울 수 있는 최대 비율 (해시 편차 여유분)
+     */
+    private static final double PARTITION_FILL_LIMIT = 0.9;
+
+    public enum UpdateResult {
+        INSERTED,
+        UPDATED,
+        /**
+         * max-devices 도달로 새 디바이스를 받지 못함
+         */
+        REJECTED_FULL,
+        /**
+         * 빈 값, 24바이트 초과 또는 출력 불가능한 문자를 포함한 deviceId
+         */
+        REJECTED_KEY
+    }
+
+    private final Partition[] partitions;
+    private final int partitionMask;
+    private final int partitionBits;
+    private final int slotSize;
+    private final int snapshotBytes;
+    private final int maxDevices;
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * drainDirty 시작 파티션 (flush 스레드 전용)
+     */
+    private int drainCursor;
+
+    public DeviceStateStore(int maxDevices, int snapshotBytes, int partitionCount) {
+        if (maxDevices <= 0) {
+            throw new IllegalArgumentException("maxDevices must be positive: " + maxDevices);
+        }
+        if (snapshotBytes < 0 || partitionCount <= 0 || Integer.bitCount(partitionCount) != 1) {
+            throw new IllegalArgumentException(
+                    "snapshotBytes must be >= 0 and partitions a power of two: " + snapshotBytes + ", " + partitionCount);
+        }
+        this.maxDevices = maxDevices;
+        this.snapshotBytes = snapshotBytes;
+        this.slotSize = SNAPSHOT + snapshotBytes;
+        this.partitionMask = partitionCount - 1;
+        this.partitionBits = Integer.numberOfTrailingZeros(partitionCount);
+
+        int capacity = (int) Math.ceil((double) maxDevices / partitionCount / LOAD_FACTOR) + 1;
+        if ((long) capacity * slotSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Partition exceeds 2GB, increase partitions: "
+                    + (long) capacity * slotSize + " bytes");
+        }
+        this.partitions = new Partition[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            partitions[i] = new Partition(capacity, slotSize);
+        }
+    }
+
+    /**
+     * 디바이스 최신 상태 갱신 (messageCount 1 증가, dirty 표시)
+     *
+     * @param frame 최신 프레임 (null 이면 스냅샷을 비움)
+     */
+    public UpdateResult update(String deviceId, int messageType, int qos, long receivedAt, byte[] frame, long now) {
+        if (!isValidKey(deviceId)) {
+            return UpdateResult.REJECTED_KEY;
+        }
+        int hash = hash(deviceId);
+        Partition p = partitions[hash & partitionMask];
+
+        long stamp = p.lock.writeLock();
+        try {
+            int slot = p.find(deviceId, hash, partitionBits);
+            if (slot < 0) {
+                return UpdateResult.REJECTED_FULL;
+            }
+            int base = slot * slotSize;
+            ByteBuffer buf = p.buffer;
+            boolean inserted = buf.get(base + USED) == 0;
+            if (inserted) {
+                if (p.size >= p.limit || size.get() >= maxDevices) {
+                    return UpdateResult.REJECTED_FULL;
+                }
+                writeKey(buf, base, deviceId, hash);
+                buf.putLong(base + MESSAGE_COUNT, 0);
+                p.size++;
+                size.incrementAndGet();
+            }
+            buf.put(base + MESSAGE_TYPE, (byte) messageType);
+            buf.put(base + QOS, (byte) qos);
+            buf.putLong(base + RECEIVED_AT, receivedAt);
+            buf.putLong(base + UPDATED_AT, now);
+            buf.putLong(base + MESSAGE_COUNT, buf.getLong(base + MESSAGE_COUNT) + 1);
+            writeSnapshot(buf, base, frame);
+            p.dirty.set(slot);
+            return inserted ? UpdateResult.INSERTED : UpdateResult.UPDATED;
+        } finally {
+            p.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * DB 에서 읽은 상태 적재 (이미 메모리에 있는 디바이스는 건너뜀, dirty 표시하지 않음)
+     *
+     * @return 적재 여부
+     */
+    public boolean restore(DeviceStateSnapshot state) {
+        if (!isValidKey(state.deviceId())) {
+            return false;
+        }
+        int hash = hash(state.deviceId());
+        Partition p = partitions[hash & partitionMask];
+
+        long stamp = p.lock.writeLock();
+        try {
+            int slot = p.find(state.deviceId(), hash, partitionBits);
+            if (slot < 0) {
+                return false;
+            }
+            int base = slot * slotSize;
+            ByteBuffer buf = p.buffer;
+            if (buf.get(base + USED) != 0 || p.size >= p.limit || size.get() >= maxDevices) {
+                return false;
+            }
+            writeKey(buf, base, state.deviceId(), hash);
+            buf.put(base + MESSAGE_TYPE, (byte) state.messageType());
+            buf.put(base + QOS, (byte) state.qos());
+            buf.putLong(base + RECEIVED_AT, state.receivedAt());
+            buf.putLong(base + UPDATED_AT, state.updatedAt());
+            buf.putLong(base + MESSAGE_COUNT, state.messageCount());
+            writeSnapshot(buf, base, state.snapshot());
+            buf.putInt(base + FRAME_LENGTH, Math.max(state.frameLength(), state.snapshot().length));
+            p.size++;
+            size.incrementAndGet();
+            return true;
+        } finally {
+            p.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * 디바이스 최신 상태 조회 (없으면 null)
+     */
+    public DeviceStateSnapshot get(String deviceId) {
+        if (!isValidKey(deviceId)) {
+            return null;
+        }
+        int hash = hash(deviceId);
+        Partition p = partitions[hash & partitionMask];
+
+        long stamp = p.lock.tryOptimisticRead();
+        if (stamp != 0) {
+            DeviceStateSnapshot state = readIfPresent(p, deviceId, hash);
+            if (p.lock.validate(stamp)) {
+                return state;
+            }
+        }
+
+        stamp = p.lock.readLock();
+        try {
+            return readIfPresent(p, deviceId, hash);
+        } finally {
+            p.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * 변경된(dirty) 상태를 최대 max 개 복사해 out 에 담고 dirty 표시를 지움
+     * 파티션을 돌아가며 꺼내므로 한 파티션이 flush 를 독차지하지 않는다.
+     *
+     * @return 꺼낸 개수
+     */
+    public int drainDirty(int max, List<DeviceStateSnapshot> out) {
+        int drained = 0;
+        int start = Math.floorMod(drainCursor++, partitions.length);
+        for (int n = 0; n < partitions.length && drained < max; n++) {
+            Partition p = partitions[(start + n) & partitionMask];
+            long stamp = p.lock.writeLock();
+            try {
+                BitSet dirty = p.dirty;
+                for (int slot = dirty.nextSetBit(0); slot >= 0 && drained < max; slot = dirty.nextSetBit(slot + 1)) {
+                    out.add(read(p.buffer, slot * slotSize));
+                    dirty.clear(slot);
+                    drained++;
+                }
+            } finally {
+                p.lock.unlockWrite(stamp);
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * flush 실패 시 다시 dirty 로 표시
+     */
+    public void markDirty(List<DeviceStateSnapshot> states) {
+        for (DeviceStateSnapshot state : states) {
+            int hash = hash(state.deviceId());
+            Partition p = partitions[hash & partitionMask];
+            long stamp = p.lock.writeLock();
+            try {
+                int slot = p.find(state.deviceId(), hash, partitionBits);
+                if (slot >= 0 && p.buffer.get(slot * slotSize + USED) != 0) {
+                    p.dirty.set(slot);
+                }
+            } finally {
+                p.lock.unlockWrite(stamp);
+            }
+        }
+    }
+
+    /**
+     * 저장된 디바이스 수
+     */
+    public int size() {
+        return size.get();
+    }
+
+    public int maxDevices() {
+        return maxDevices;
+    }
+
+    /**
+     * DB 에 아직 반영되지 않은 디바이스 수 (근사값)
+     */
+    public int dirtyCount() {
+        int count = 0;
+        for (Partition p : partitions) {
+            long stamp = p.lock.readLock();
+            try {
+                count += p.dirty.cardinality();
+            } finally {
+                p.lock.unlockRead(stamp);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 할당된 오프힙 메모리 (바이트)
+     */
+    public long allocatedBytes() {
+        long bytes = 0;
+        for (Partition p : partitions) {
+            bytes += p.buffer.capacity();
+        }
+        return bytes;
+    }
+
+    private DeviceStateSnapshot readIfPresent(Partition p, String deviceId, int hash) {
+        int slot = p.find(deviceId, hash, partitionBits);
+        if (slot < 0) {
+            return null;
+        }
+        int base = slot * slotSize;
+        if (p.buffer.get(base + USED) == 0) {
+            return null;
+        }
+        return read(p.buffer, base);
+    }
+
+    private DeviceStateSnapshot read(ByteBuffer buf, int base) {
+        int keyLength = Math.min(buf.get(base + KEY_LENGTH) & 0xFF, MAX_KEY_LENGTH);
+        char[] key = new char[keyLength];
+        for (int i = 0; i < keyLength; i++) {
+            key[i] = (char) (buf.get(base + KEY + i) & 0xFF);
+        }
+        int snapshotLength = Math.min(Math.max(buf.getInt(base + SNAPSHOT_LENGTH), 0), snapshotBytes);
+        byte[] snapshot = new byte[snapshotLength];
+        buf.get(base + SNAPSHOT, snapshot);
+
+        return new DeviceStateSnapshot(
+                new String(key),
+                buf.get(base + MESSAGE_TYPE),
+                buf.get(base + QOS),
+                buf.getLong(base + RECEIVED_AT),
+                buf.getLong(base + UPDATED_AT),
+                buf.getLong(base + MESSAGE_COUNT),
+                buf.getInt(base + FRAME_LENGTH),
+                snapshot);
+    }
+
+    private static void writeKey(ByteBuffer buf, int base, String deviceId, int hash) {
+        int length = deviceId.length();
+        for (int i = 0; i < length; i++) {
+            buf.put(base + KEY + i, (byte) deviceId.charAt(i));
+        }
+        buf.put(base + KEY_LENGTH, (byte) length);
+        buf.putInt(base + HASH, hash);
+        buf.put(base + USED, (byte) 1);
+    }
+
+    private void writeSnapshot(ByteBuffer buf, int base, byte[] frame) {
+        int frameLength = frame != null ? frame.length : 0;
+        int length = Math.min(frameLength, snapshotBytes);
+        if (length > 0) {
+            buf.put(base + SNAPSHOT, frame, 0, length);
+        }
+        buf.putInt(base + FRAME_LENGTH, frameLength);
+        buf.putInt(base + SNAPSHOT_LENGTH, length);
+    }
+
+    /**
+     * 출력 가능한 ASCII 1~24자
+     */
+    static boolean isValidKey(String deviceId) {
+        if (deviceId == null || deviceId.isEmpty() || deviceId.length() > MAX_KEY_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < deviceId.length(); i++) {
+            char c = deviceId.charAt(i);
+            if (c <= ' ' || c > '~') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * FNV-1a + murmur3 finalizer (하위 비트 → 파티션, 상위 비트 → 슬롯)
+     */
+    static int hash(String deviceId) {
+        int h = 0x811C9DC5;
+        for (int i = 0; i < deviceId.length(); i++) {
+            h = (h ^ deviceId.charAt(i)) * 0x01000193;
+        }
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private static final class Partition {
+
+        final StampedLock lock = new StampedLock();
+        final ByteBuffer buffer;
+        final BitSet dirty;
+        final int capacity;
+        final int limit;
+        final int slotSize;
+        int size;
+
+        Partition(int capacity, int slotSize) {
+            this.capacity = capacity;
+            this.slotSize = slotSize;
+            this.limit = (int) (capacity * PARTITION_FILL_LIMIT);
+            this.buffer = ByteBuffer.allocateDirect(capacity * slotSize);
+            this.dirty = new BitSet(capacity);
+        }
+
+        /**
+         * deviceId 가 있는 슬롯, 없으면 삽입할 빈 슬롯 (테이블이 가득 차 있으면 -1)
+         */
+        int find(String deviceId, int hash, int partitionBits) {
+            int slot = (int) (((hash >>> partitionBits) & 0xFFFFFFFFL) % capacity);
+            for (int probe = 0; probe < capacity; probe++) {
+                int base = slot * slotSize;
+                if (buffer.get(base + USED) == 0) {
+                    return slot;
+                }
+                if (buffer.getInt(base + HASH) == hash && keyEquals(base, deviceId)) {
+                    return slot;
+                }
+                if (++slot == capacity) {
+                    slot = 0;
+                }
+            }
+            return -1;
+        }
+
+        private boolean keyEquals(int base, String deviceId) {
+            int length = deviceId.length();
+            if ((buffer.get(base + KEY_LENGTH) & 0xFF) != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (buffer.get(base + KEY + i) != (byte) deviceId.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.enterprise.message.telemetry;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 비트 단위 읽기 (BitOutput 과 같은 MSB 우선 순서)
+ */
+final class BitInput {
+
+    private final ByteBuffer buffer;
+    private final int start;
+    private final long limit;
+    private long position;
+
+    /**
+     * @param buffer 바이트 소스 (절대 위치로만 읽음)
+     * @param start  비트열 시작 바이트 오프셋
+     * @param bits   비트열 길이
+     */
+    BitInput(ByteBuffer buffer, int start, long bits) {
+        this.buffer = buffer;
+        this.start = start;
+        this.limit = bits;
+    }
+
+    /**
+     * count 비트를 부호 없는 값으로 읽음 (count: 1~64)
+     */
+    long read(int count) {
+        if (position + count > limit) {
+            throw new IllegalStateException("Bit stream exhausted at " + position + " (+" + count + ") of " + limit);
+        }
+        long value = 0;
+        int remaining = count;
+        while (remaining > 0) {
+            int byteIndex = (int) (position >>> 3);
+            int bitOffset = (int) (position & 7);
+            int available = 8 - bitOffset;
+            int take = Math.min(available, remaining);
+            int current = buffer.get(start + byteIndex) & 0xFF;
+            int chunk = (current >>> (available - take)) & ((1 << take) - 1);
+            value = (value << take) | chunk;
+            remaining -= take;
+            position += take;
+        }
+        return value;
+    }
+
+    boolean readBit() {
+        return read(1) != 0;
+    }
+
+    /**
+     * count 비트를 부호 있는 값(2의 보수)으로 읽음
+     */
+    long readSigned(int count) {
+        long value = read(count);
+        return (value << (64 - count)) >> (64 - count);
+    }
+}
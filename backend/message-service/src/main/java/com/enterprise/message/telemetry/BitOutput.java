@@ -0,0 +1,67 @@
+package com.enterprise.message.telemetry;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * 비트 단위 쓰기 버퍼 (MSB 우선)
+ */
+final class BitOutput {
+
+    private long[] words;
+    private long bits;
+
+    BitOutput(int initialWords) {
+        this.words = new long[Math.max(initialWords, 1)];
+    }
+
+    /**
+     * value 의 하위 count 비트 기록 (count: 1~64)
+     */
+    void write(long value, int count) {
+        int index = (int) (bits >>> 6);
+        int used = (int) (bits & 63);
+        ensure(index + 1);
+
+        if (count < 64) {
+            value &= (1L << count) - 1;
+        }
+        int free = 64 - used;
+        if (count <= free) {
+            words[index] |= value << (free - count);
+        } else {
+            int rest = count - free;
+            words[index] |= value >>> rest;
+            words[index + 1] |= value << (64 - rest);
+        }
+        bits += count;
+    }
+
+    void writeBit(boolean bit) {
+        write(bit ? 1 : 0, 1);
+    }
+
+    long bitLength() {
+        return bits;
+    }
+
+    int byteLength() {
+        return (int) ((bits + 7) >>> 3);
+    }
+
+    /**
+     * 기록된 비트를 바이트로 out 에 추가 (마지막 바이트의 남는 비트는 0)
+     */
+    void copyTo(ByteBuffer out) {
+        int length = byteLength();
+        for (int i = 0; i < length; i++) {
+            out.put((byte) (words[i >>> 3] >>> (56 - ((i & 7) << 3))));
+        }
+    }
+
+    private void ensure(int wordCount) {
+        if (wordCount >= words.length) {
+            words = Arrays.copyOf(words, Math.max(words.length << 1, wordCount + 1));
+        }
+    }
+}
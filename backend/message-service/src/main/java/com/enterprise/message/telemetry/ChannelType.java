@@ -0,0 +1,43 @@
+package com.enterprise.message.telemetry;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 프레임 안 텔레메트리 채널 값의 인코딩
+ */
+public enum ChannelType {
+    INT8(1),
+    UINT8(1),
+    INT16(2),
+    UINT16(2),
+    INT32(4),
+    UINT32(4),
+    FLOAT32(4),
+    FLOAT64(8);
+
+    private final int size;
+
+    ChannelType(int size) {
+        this.size = size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * buffer 의 절대 위치 offset 에서 값 읽기 (바이트 순서는 buffer 설정을 따름)
+     */
+    public double read(ByteBuffer buffer, int offset) {
+        return switch (this) {
+            case INT8 -> buffer.get(offset);
+            case UINT8 -> buffer.get(offset) & 0xFF;
+            case INT16 -> buffer.getShort(offset);
+            case UINT16 -> buffer.getShort(offset) & 0xFFFF;
+            case INT32 -> buffer.getInt(offset);
+            case UINT32 -> buffer.getInt(offset) & 0xFFFFFFFFL;
+            case FLOAT32 -> buffer.getFloat(offset);
+            case FLOAT64 -> buffer.getDouble(offset);
+        };
+    }
+}
@@ -0,0 +1,126 @@
+package com.enterprise.message.telemetry;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * TelemetryChunkWriter 가 직렬화한 청크 디코딩
+ */
+final class TelemetryChunkReader {
+
+    /**
+     * 청크 헤더 (인덱스 재구성용)
+     */
+    record Header(String deviceId, long windowStart, long firstTs, long lastTs, int count, int channelCount) {
+    }
+
+    private TelemetryChunkReader() {
+    }
+
+    static Header readHeader(ByteBuffer chunk) {
+        int p = 0;
+        byte version = chunk.get(p++);
+        if (version != TelemetryChunkWriter.VERSION) {
+            throw new IllegalStateException("Unsupported telemetry chunk version " + version);
+        }
+        int idLength = chunk.get(p++) & 0xFF;
+        byte[] id = new byte[idLength];
+        chunk.get(p, id);
+        p += idLength;
+        long windowStart = chunk.getLong(p);
+        long firstTs = chunk.getLong(p + 8);
+        long lastTs = chunk.getLong(p + 16);
+        int count = chunk.getInt(p + 24);
+        int channelCount = chunk.get(p + 28) & 0xFF;
+        return new Header(new String(id, StandardCharsets.ISO_8859_1), windowStart, firstTs, lastTs, count, channelCount);
+    }
+
+    /**
+     * [from, to) 구간의 샘플을 시간 순서로 전달
+     */
+    static void read(ByteBuffer chunk, long from, long to, TelemetrySampleVisitor visitor) {
+        Header header = readHeader(chunk);
+        if (header.count() == 0 || header.lastTs() < from || header.firstTs() >= to) {
+            return;
+        }
+
+        int p = 2 + header.deviceId().length() + Long.BYTES * 3 + Integer.BYTES + 1;
+        int channels = header.channelCount();
+
+        long tsBits = chunk.getLong(p);
+        BitInput ts = new BitInput(chunk, p + Long.BYTES, tsBits);
+        p += Long.BYTES + (int) ((tsBits + 7) >>> 3);
+
+        BitInput[] columns = new BitInput[channels];
+        for (int c = 0; c < channels; c++) {
+            long bits = chunk.getLong(p);
+            columns[c] = new BitInput(chunk, p + Long.BYTES, bits);
+            p += Long.BYTES + (int) ((bits + 7) >>> 3);
+        }
+
+        long[] previousBits = new long[channels];
+        int[] leading = new int[channels];
+        int[] trailing = new int[channels];
+        double[] values = new double[channels];
+
+        long timestamp = 0;
+        long delta = 0;
+        for (int i = 0; i < header.count(); i++) {
+            if (i == 0) {
+                timestamp = ts.read(64);
+            } else {
+                delta += readDeltaOfDelta(ts);
+                timestamp += delta;
+            }
+
+            for (int c = 0; c < channels; c++) {
+                BitInput in = columns[c];
+                long bits;
+                if (i == 0) {
+                    bits = in.read(64);
+                } else if (!in.readBit()) {
+                    bits = previousBits[c];
+                } else {
+                    long xor;
+                    if (!in.readBit()) {
+                        xor = in.read(64 - leading[c] - trailing[c]) << trailing[c];
+                    } else {
+                        leading[c] = (int) in.read(5);
+                        int significant = (int) in.read(6);
+                        if (significant == 0) {
+                            significant = 64;
+                        }
+                        trailing[c] = 64 - leading[c] - significant;
+                        xor = in.read(significant) << trailing[c];
+                    }
+                    bits = previousBits[c] ^ xor;
+                }
+                previousBits[c] = bits;
+                values[c] = Double.longBitsToDouble(bits);
+            }
+
+            if (timestamp >= to) {
+                return;
+            }
+            if (timestamp >= from) {
+                visitor.accept(timestamp, values);
+            }
+        }
+    }
+
+    private static long readDeltaOfDelta(BitInput in) {
+        if (!in.readBit()) {
+            return 0;
+        }
+        if (!in.readBit()) {
+            return in.readSigned(7);
+        }
+        if (!in.readBit()) {
+            return in.readSigned(9);
+        }
+        if (!in.readBit()) {
+            return in.readSigned(12);
+        }
+        return in.readSigned(32);
+    }
+}
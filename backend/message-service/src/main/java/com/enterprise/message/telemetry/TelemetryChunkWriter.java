@@ -0,0 +1,178 @@
+package com.enterprise.message.telemetry;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 디바이스 한 대, 시간 창(window) 하나의 열린 청크 (열 단위 압축)
+ *
+ * - 타임스탬프 열: 첫 값 64비트, 이후 delta-of-delta 가변 길이
+ *   0 → '0', [-64,63] → '10'+7비트, [-256,255] → '110'+9비트, [-2048,2047] → '1110'+12비트, 그 외 '1111'+32비트
+ * - 값 열(채널마다): 첫 값 64비트, 이후 이전 값과의 XOR
+ *   0 → '0', 이전 블록 안에 들어가면 '10'+유효 비트, 아니면 '11'+leading(5)+길이(6)+유효 비트
+ *
+ * 직렬화 포맷 (version 1):
+ * byte version, byte deviceId 길이, deviceId, long windowStart, long firstTs, long lastTs,
+ * int count, byte channelCount, [long bitLength, bytes] × (1 + channelCount)
+ *
+ * 스레드 안전하지 않음 (TelemetryStore 가 디바이스 단위로 동기화)
+ */
+final class TelemetryChunkWriter {
+
+    static final byte VERSION = 1;
+
+    private final String deviceId;
+    private final long windowStart;
+    private final int channelCount;
+
+    private final BitOutput timestamps = new BitOutput(4);
+    private final BitOutput[] values;
+    private final long[] previousBits;
+    private final int[] previousLeading;
+    private final int[] previousTrailing;
+
+    private int count;
+    private long firstTs;
+    private long lastTs;
+    private long lastDelta;
+
+    TelemetryChunkWriter(String deviceId, long windowStart, int channelCount) {
+        this.deviceId = deviceId;
+        this.windowStart = windowStart;
+        this.channelCount = channelCount;
+        this.values = new BitOutput[channelCount];
+        this.previousBits = new long[channelCount];
+        this.previousLeading = new int[channelCount];
+        this.previousTrailing = new int[channelCount];
+        for (int i = 0; i < channelCount; i++) {
+            values[i] = new BitOutput(4);
+            previousLeading[i] = -1;
+        }
+    }
+
+    /**
+     * 샘플 추가 (timestamp 는 이전 샘플 이상이어야 함)
+     */
+    void append(long timestamp, double[] sample) {
+        if (count == 0) {
+            firstTs = timestamp;
+            timestamps.write(timestamp, 64);
+        } else {
+            long delta = timestamp - lastTs;
+            writeDeltaOfDelta(delta - lastDelta);
+            lastDelta = delta;
+        }
+        lastTs = timestamp;
+
+        for (int c = 0; c < channelCount; c++) {
+            writeValue(c, Double.doubleToRawLongBits(sample[c]));
+        }
+        count++;
+    }
+
+    private void writeDeltaOfDelta(long dod) {
+        if (dod == 0) {
+            timestamps.write(0b0, 1);
+        } else if (dod >= -64 && dod <= 63) {
+            timestamps.write(0b10, 2);
+            timestamps.write(dod, 7);
+        } else if (dod >= -256 && dod <= 255) {
+            timestamps.write(0b110, 3);
+            timestamps.write(dod, 9);
+        } else if (dod >= -2048 && dod <= 2047) {
+            timestamps.write(0b1110, 4);
+            timestamps.write(dod, 12);
+        } else {
+            // window 는 24일 미만으로 제한되므로 delta-of-delta 는 int 범위
+            timestamps.write(0b1111, 4);
+            timestamps.write(dod, 32);
+        }
+    }
+
+    private void writeValue(int channel, long bits) {
+        BitOutput out = values[channel];
+        if (count == 0) {
+            out.write(bits, 64);
+            previousBits[channel] = bits;
+            return;
+        }
+
+        long xor = bits ^ previousBits[channel];
+        previousBits[channel] = bits;
+        if (xor == 0) {
+            out.write(0b0, 1);
+            return;
+        }
+
+        int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+        int trailing = Long.numberOfTrailingZeros(xor);
+        int prevLeading = previousLeading[channel];
+        int prevTrailing = previousTrailing[channel];
+
+        if (prevLeading >= 0 && leading >= prevLeading && trailing >= prevTrailing) {
+            out.write(0b10, 2);
+            out.write(xor >>> prevTrailing, 64 - prevLeading - prevTrailing);
+        } else {
+            int significant = 64 - leading - trailing;
+            out.write(0b11, 2);
+            out.write(leading, 5);
+            // 유효 비트 수 1~64 를 6비트로 (64 → 0)
+            out.write(significant & 63, 6);
+            out.write(xor >>> trailing, significant);
+            previousLeading[channel] = leading;
+            previousTrailing[channel] = trailing;
+        }
+    }
+
+    String deviceId() {
+        return deviceId;
+    }
+
+    long windowStart() {
+        return windowStart;
+    }
+
+    int count() {
+        return count;
+    }
+
+    long firstTs() {
+        return firstTs;
+    }
+
+    long lastTs() {
+        return lastTs;
+    }
+
+    /**
+     * 현재까지의 샘플을 직렬화 (이후에도 계속 append 가능)
+     */
+    byte[] toByteArray() {
+        byte[] id = deviceId.getBytes(StandardCharsets.ISO_8859_1);
+        int size = 1 + 1 + id.length + Long.BYTES * 3 + Integer.BYTES + 1
+                + (Long.BYTES + timestamps.byteLength());
+        for (BitOutput column : values) {
+            size += Long.BYTES + column.byteLength();
+        }
+
+        ByteBuffer out = ByteBuffer.allocate(size);
+        out.put(VERSION);
+        out.put((byte) id.length);
+        out.put(id);
+        out.putLong(windowStart);
+        out.putLong(firstTs);
+        out.putLong(lastTs);
+        out.putInt(count);
+        out.put((byte) channelCount);
+        writeColumn(out, timestamps);
+        for (BitOutput column : values) {
+            writeColumn(out, column);
+        }
+        return out.array();
+    }
+
+    private static void writeColumn(ByteBuffer out, BitOutput column) {
+        out.putLong(column.bitLength());
+        column.copyTo(out);
+    }
+}
@@ -0,0 +1,11 @@
+package com.enterprise.message.telemetry;
+
+/**
+ * 프레임에서 읽은 텔레메트리 샘플 한 건
+ *
+ * @param deviceId  디바이스 식별 key (DeviceKeys.deviceKey)
+ * @param timestamp 수신 시각 (epoch millis)
+ * @param values    설정된 채널 순서의 값 (읽을 수 없는 채널은 NaN)
+ */
+public record TelemetrySample(String deviceId, long timestamp, double[] values) {
+}
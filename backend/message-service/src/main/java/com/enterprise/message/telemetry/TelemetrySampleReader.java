@@ -0,0 +1,84 @@
+package com.enterprise.message.telemetry;
+
+import com.enterprise.message.codec.DeviceKeys;
+import com.enterprise.message.config.TelemetryProperties;
+import com.enterprise.message.dto.iot.IoTDeviceMessageDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * 메시지 → TelemetrySample (iot.telemetry.channels 설정에 따라 프레임 오프셋에서 값 읽기)
+ * 텔레메트리 저장과 이상 감지가 같은 샘플을 공유하도록 메시지당 한 번만 읽는다.
+ */
+@Component
+public class TelemetrySampleReader {
+
+    private final List<TelemetryProperties.Channel> channels;
+    private final List<String> channelNames;
+    private final Counter unidentifiedCounter;
+
+    public TelemetrySampleReader(TelemetryProperties properties, MeterRegistry meterRegistry) {
+        this.channels = List.copyOf(properties.getChannels());
+        this.channelNames = channels.stream().map(TelemetryProperties.Channel::getName).toList();
+        this.unidentifiedCounter = Counter.builder("iot.telemetry.samples")
+                .description("Telemetry samples by result")
+                .tag("result", "unidentified")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return 채널이 설정되지 않았거나 프레임이 없거나 디바이스를 식별할 수 없으면 null
+     */
+    public TelemetrySample read(IoTDeviceMessageDto message) {
+        if (channels.isEmpty()) {
+            return null;
+        }
+        byte[] frame = DeviceKeys.frameOf(message);
+        String deviceId = frame != null ? DeviceKeys.deviceKey(message, frame) : null;
+        if (deviceId == null) {
+            unidentifiedCounter.increment();
+            return null;
+        }
+
+        long timestamp = message.getReceivedAt() != null
+                ? message.getReceivedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : System.currentTimeMillis();
+        return new TelemetrySample(deviceId, timestamp, readChannels(frame));
+    }
+
+    /**
+     * 채널 이름 (설정 순서)
+     */
+    public List<String> channelNames() {
+        return channelNames;
+    }
+
+    private double[] readChannels(byte[] frame) {
+        ByteBuffer big = ByteBuffer.wrap(frame);
+        ByteBuffer little = null;
+        double[] values = new double[channels.size()];
+
+        for (int i = 0; i < values.length; i++) {
+            TelemetryProperties.Channel channel = channels.get(i);
+            if (channel.getOffset() < 0 || channel.getOffset() + channel.getType().size() > frame.length) {
+                values[i] = Double.NaN;
+                continue;
+            }
+            ByteBuffer buffer = big;
+            if (channel.isLittleEndian()) {
+                if (little == null) {
+                    little = ByteBuffer.wrap(frame).order(ByteOrder.LITTLE_ENDIAN);
+                }
+                buffer = little;
+            }
+            values[i] = channel.getType().read(buffer, channel.getOffset()) * channel.getScale();
+        }
+        return values;
+    }
+}
@@ -0,0 +1,10 @@
+package com.enterprise.message.telemetry;
+
+/**
+ * 조회된 샘플 수신 (values 배열은 재사용되므로 호출 안에서만 유효)
+ */
+@FunctionalInterface
+public interface TelemetrySampleVisitor {
+
+    void accept(long timestamp, double[] values);
+}
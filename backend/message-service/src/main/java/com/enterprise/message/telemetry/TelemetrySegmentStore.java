@@ -0,0 +1,258 @@
+package com.enterprise.message.telemetry;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 봉인된(sealed) 텔레메트리 청크를 담는 메모리 매핑 세그먼트 파일
+ *
+ * 세그먼트 파일({@code %020d.seg})은 고정 크기로 미리 할당해 매핑하고, 가득 차면 다음 번호로 넘어간다.
+ * 레코드: int length, int crc32c(data), data. length 0 은 세그먼트의 끝 (length 를 마지막에 기록).
+ * 청크 위치는 (세그먼트 번호 << 32 | 오프셋) long 참조로 표현한다.
+ *
+ * 오래된 세그먼트는 retention(세그먼트 안 마지막 샘플 시각 기준) 또는 디스크 상한 초과 시 통째로 삭제한다.
+ * 삭제된 세그먼트를 가리키는 참조는 {@link #read} 가 null 을 반환한다.
+ * 모든 메서드는 스레드 안전하다.
+ */
+@Slf4j
+final class TelemetrySegmentStore implements Closeable {
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("\\d{20}\\.seg");
+    private static final int RECORD_HEADER = Integer.BYTES * 2;
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final long maxBytes;
+    private final CRC32C crc = new CRC32C();
+
+    /**
+     * 세그먼트 번호 → 매핑 (읽기 전용 사용 시에도 같은 매핑을 공유)
+     */
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+
+    private Segment writeSegment;
+    private int writeOffset;
+
+    TelemetrySegmentStore(Path directory, int segmentBytes, long maxBytes) throws IOException {
+        if (segmentBytes <= RECORD_HEADER || maxBytes < segmentBytes) {
+            throw new IllegalArgumentException("Invalid telemetry segment size: segmentBytes=" + segmentBytes
+                    + ", maxBytes=" + maxBytes);
+        }
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.maxBytes = maxBytes;
+
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (SEGMENT_NAME.matcher(name).matches()) {
+                    long id = Long.parseLong(name.substring(0, 20));
+                    segments.put(id, new Segment(id, map(file, Files.size(file))));
+                }
+            }
+        }
+    }
+
+    /**
+     * 저장된 청크를 순서대로 훑어 visitor 에 (참조, 청크) 전달하고 쓰기 위치를 복구
+     * 마지막 세그먼트의 잘린 레코드는 0 으로 덮는다.
+     */
+    synchronized void recover(BiConsumer<Long, ByteBuffer> visitor) throws IOException {
+        for (Segment segment : segments.values()) {
+            int end = scan(segment, visitor);
+            if (segment.id == segments.lastKey()) {
+                writeSegment = segment;
+                writeOffset = end;
+            }
+        }
+        if (writeSegment == null) {
+            openWriteSegment(0);
+        }
+    }
+
+    /**
+     * 청크 추가
+     *
+     * @param lastTs 청크의 마지막 샘플 시각 (retention 판단용)
+     * @return 청크 참조, 청크가 세그먼트보다 크면 -1
+     */
+    synchronized long append(byte[] chunk, long lastTs) throws IOException {
+        int recordLength = RECORD_HEADER + chunk.length;
+        if (recordLength > segmentBytes) {
+            log.warn("Telemetry chunk of {} bytes does not fit in a {} byte segment", chunk.length, segmentBytes);
+            return -1;
+        }
+
+        MappedByteBuffer buffer = writeSegment.buffer;
+        if (writeOffset + recordLength > buffer.capacity()) {
+            if (writeOffset + Integer.BYTES <= buffer.capacity()) {
+                buffer.putInt(writeOffset, 0);
+            }
+            buffer.force();
+            openWriteSegment(writeSegment.id + 1);
+            buffer = writeSegment.buffer;
+            enforceMaxBytes();
+        }
+
+        crc.reset();
+        crc.update(chunk);
+        buffer.put(writeOffset + RECORD_HEADER, chunk);
+        buffer.putInt(writeOffset + Integer.BYTES, (int) crc.getValue());
+        buffer.putInt(writeOffset, chunk.length);
+
+        long ref = (writeSegment.id << 32) | writeOffset;
+        writeOffset += recordLength;
+        writeSegment.maxTs = Math.max(writeSegment.maxTs, lastTs);
+        return ref;
+    }
+
+    /**
+     * 참조가 가리키는 청크 (읽기 전용 뷰), 세그먼트가 삭제되었으면 null
+     */
+    synchronized ByteBuffer read(long ref) {
+        Segment segment = segments.get(ref >>> 32);
+        if (segment == null) {
+            return null;
+        }
+        int offset = (int) ref;
+        int length = segment.buffer.getInt(offset);
+        return segment.buffer.slice(offset + RECORD_HEADER, length).asReadOnlyBuffer();
+    }
+
+    /**
+     * 마지막 샘플이 cutoff 이전인 세그먼트 삭제 (쓰기 중인 세그먼트 제외)
+     *
+     * @return 삭제한 세그먼트 수
+     */
+    synchronized int deleteOlderThan(long cutoff) throws IOException {
+        int deleted = 0;
+        while (segments.size() > 1 && segments.firstEntry().getValue().maxTs < cutoff) {
+            delete(segments.firstKey());
+            deleted++;
+        }
+        return deleted;
+    }
+
+    /**
+     * 남아 있는 가장 오래된 세그먼트 번호 (이보다 작은 번호의 참조는 무효)
+     */
+    synchronized long firstSegment() {
+        return segments.firstKey();
+    }
+
+    synchronized long diskBytes() {
+        long bytes = 0;
+        for (Segment segment : segments.values()) {
+            bytes += segment.buffer.capacity();
+        }
+        return bytes;
+    }
+
+    synchronized int segmentCount() {
+        return segments.size();
+    }
+
+    synchronized void flush() {
+        if (writeSegment != null) {
+            writeSegment.buffer.force();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        flush();
+    }
+
+    private int scan(Segment segment, BiConsumer<Long, ByteBuffer> visitor) {
+        MappedByteBuffer buffer = segment.buffer;
+        int offset = 0;
+        while (offset + RECORD_HEADER <= buffer.capacity()) {
+            int length = buffer.getInt(offset);
+            if (length == 0) {
+                break;
+            }
+            if (length < 0 || offset + RECORD_HEADER + length > buffer.capacity()
+                    || !crcMatches(buffer, offset, length)) {
+                log.warn("Truncating torn telemetry chunk at segment {} offset {}", segment.id, offset);
+                buffer.putInt(offset, 0);
+                break;
+            }
+            ByteBuffer chunk = buffer.slice(offset + RECORD_HEADER, length).asReadOnlyBuffer();
+            try {
+                TelemetryChunkReader.Header header = TelemetryChunkReader.readHeader(chunk);
+                segment.maxTs = Math.max(segment.maxTs, header.lastTs());
+                visitor.accept((segment.id << 32) | offset, chunk);
+            } catch (RuntimeException e) {
+                log.warn("Skipping unreadable telemetry chunk at segment {} offset {}", segment.id, offset, e);
+            }
+            offset += RECORD_HEADER + length;
+        }
+        return offset;
+    }
+
+    private void enforceMaxBytes() throws IOException {
+        while (segments.size() > 1 && (long) segments.size() * segmentBytes > maxBytes) {
+            long oldest = segments.firstKey();
+            log.warn("Telemetry disk limit {} bytes reached, dropping segment {}", maxBytes, oldest);
+            delete(oldest);
+        }
+    }
+
+    private void delete(long id) throws IOException {
+        segments.remove(id);
+        Files.deleteIfExists(segmentPath(id));
+    }
+
+    private boolean crcMatches(ByteBuffer buffer, int offset, int length) {
+        crc.reset();
+        crc.update(buffer.slice(offset + RECORD_HEADER, length));
+        return buffer.getInt(offset + Integer.BYTES) == (int) crc.getValue();
+    }
+
+    private void openWriteSegment(long id) throws IOException {
+        writeSegment = new Segment(id, map(segmentPath(id), segmentBytes));
+        writeOffset = 0;
+        segments.put(id, writeSegment);
+    }
+
+    private Path segmentPath(long id) {
+        return directory.resolve(String.format("%020d.seg", id));
+    }
+
+    private static MappedByteBuffer map(Path file, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    private static final class Segment {
+
+        final long id;
+        final MappedByteBuffer buffer;
+
+        /**
+         * 세그먼트 안 청크의 마지막 샘플 시각 최댓값
+         */
+        long maxTs = Long.MIN_VALUE;
+
+        Segment(long id, MappedByteBuffer buffer) {
+            this.id = id;
+            this.buffer = buffer;
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.enterprise.message.telemetry;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 디바이스별 시계열 텔레메트리 저장소
+ *
+ * 디바이스마다 현재 시간 창(window)의 열린 청크를 메모리에 두고, 창이 바뀌거나 샘플 수가 상한에
+ * 도달하면 압축된 청크를 세그먼트 파일에 봉인(seal)한다. 봉인된 청크의 위치와 시간 범위는
+ * 디바이스별 인덱스(원시 배열)로 관리하며 기동 시 세그먼트를 훑어 다시 만든다.
+ *
+ * 열린 청크는 봉인 전까지 메모리에만 있으므로 비정상 종료 시 마지막 창(최대 window)의 샘플을 잃을 수 있다.
+ * 정상 종료 시에는 {@link #close} 가 모두 봉인한다.
+ */
+@Slf4j
+public final class TelemetryStore implements Closeable {
+
+    public enum AppendResult {
+        STORED,
+        /**
+         * 같은 디바이스의 마지막 샘플보다 이른 시각
+         */
+        OUT_OF_ORDER
+    }
+
+    private final TelemetrySegmentStore segments;
+    private final long windowMillis;
+    private final int maxSamplesPerChunk;
+    private final int channelCount;
+    private final Map<String, Series> series = new ConcurrentHashMap<>();
+    private final AtomicLong sealedChunks = new AtomicLong();
+
+    /**
+     * @param window             청크 시간 창 (24일 미만)
+     * @param maxSamplesPerChunk 창이 끝나기 전에 봉인할 샘플 수
+     * @param channelCount       샘플당 값 개수
+     */
+    public TelemetryStore(Path directory, int segmentBytes, long maxBytes,
+                          long window, int maxSamplesPerChunk, int channelCount) throws IOException {
+        if (window <= 0 || window >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Telemetry window must be between 1 ms and 24 days: " + window);
+        }
+        if (channelCount <= 0 || channelCount > 255 || maxSamplesPerChunk <= 0) {
+            throw new IllegalArgumentException("Invalid telemetry chunk shape: channels=" + channelCount
+                    + ", maxSamplesPerChunk=" + maxSamplesPerChunk);
+        }
+        this.windowMillis = window;
+        this.maxSamplesPerChunk = maxSamplesPerChunk;
+        this.channelCount = channelCount;
+        this.segments = new TelemetrySegmentStore(directory, segmentBytes, maxBytes);
+
+        long start = System.currentTimeMillis();
+        int[] recovered = new int[2];
+        segments.recover((ref, chunk) -> {
+            TelemetryChunkReader.Header header = TelemetryChunkReader.readHeader(chunk);
+            if (header.channelCount() != channelCount) {
+                recovered[1]++;
+                return;
+            }
+            seriesFor(header.deviceId()).index(ref, header.firstTs(), header.lastTs());
+            recovered[0]++;
+        });
+        if (recovered[1] > 0) {
+            log.warn("Ignored {} telemetry chunks with a different channel count (configured {})",
+                    recovered[1], channelCount);
+        }
+        log.info("Recovered {} telemetry chunks for {} devices from {} in {} ms",
+                recovered[0], series.size(), directory, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 샘플 추가
+     *
+     * @param values 채널 값 (channelCount 개, 읽을 수 없는 채널은 NaN)
+     */
+    public AppendResult append(String deviceId, long timestamp, double[] values) throws IOException {
+        while (true) {
+            Series s = seriesFor(deviceId);
+            synchronized (s) {
+                if (s.removed) {
+                    // expire 가 방금 제거한 항목, 새 항목으로 다시 시도
+                    continue;
+                }
+                TelemetryChunkWriter head = s.head;
+                if (head != null && timestamp < head.lastTs()) {
+                    return AppendResult.OUT_OF_ORDER;
+                }
+
+                long windowStart = timestamp - Math.floorMod(timestamp, windowMillis);
+                if (head != null && (head.windowStart() != windowStart || head.count() >= maxSamplesPerChunk)) {
+                    seal(s);
+                    head = null;
+                }
+                if (head == null) {
+                    head = new TelemetryChunkWriter(deviceId, windowStart, channelCount);
+                    s.head = head;
+                }
+                head.append(timestamp, values);
+                return AppendResult.STORED;
+            }
+        }
+    }
+
+    /**
+     * [from, to) 구간의 샘플을 시간 순서로 전달 (봉인된 청크 → 열린 청크)
+     */
+    public void query(String deviceId, long from, long to, TelemetrySampleVisitor visitor) {
+        Series s = series.get(deviceId);
+        if (s == null) {
+            return;
+        }
+
+        long[] refs;
+        long[] firstTs;
+        long[] lastTs;
+        int size;
+        byte[] head = null;
+        synchronized (s) {
+            refs = s.refs;
+            firstTs = s.firstTs;
+            lastTs = s.lastTs;
+            size = s.size;
+            if (s.head != null && s.head.lastTs() >= from && s.head.firstTs() < to) {
+                head = s.head.toByteArray();
+            }
+        }
+
+        // 인덱스 배열은 추가만 되고 교체 시 새 배열을 만들므로 락 밖에서 [0, size) 를 읽어도 안전
+        for (int i = 0; i < size; i++) {
+            if (lastTs[i] < from || firstTs[i] >= to) {
+                continue;
+            }
+            ByteBuffer chunk = segments.read(refs[i]);
+            if (chunk != null) {
+                TelemetryChunkReader.read(chunk, from, to, visitor);
+            }
+        }
+        if (head != null) {
+            TelemetryChunkReader.read(ByteBuffer.wrap(head), from, to, visitor);
+        }
+    }
+
+    /**
+     * 창이 끝난 뒤 grace 가 지난 열린 청크 봉인 (더 이상 샘플을 보내지 않는 디바이스)
+     *
+     * @return 봉인한 청크 수
+     */
+    public int sealExpired(long now, long grace) throws IOException {
+        int sealed = 0;
+        for (Series s : series.values()) {
+            synchronized (s) {
+                if (s.head != null && s.head.windowStart() + windowMillis + grace <= now) {
+                    seal(s);
+                    sealed++;
+                }
+            }
+        }
+        return sealed;
+    }
+
+    /**
+     * retention 이 지난 세그먼트 삭제 및 인덱스 정리
+     */
+    public int expire(long cutoff) throws IOException {
+        int deleted = segments.deleteOlderThan(cutoff);
+        long firstSegment = segments.firstSegment();
+        for (Series s : series.values()) {
+            synchronized (s) {
+                s.prune(firstSegment);
+            }
+        }
+        series.values().removeIf(s -> {
+            synchronized (s) {
+                s.removed = s.size == 0 && s.head == null;
+                return s.removed;
+            }
+        });
+        return deleted;
+    }
+
+    public int deviceCount() {
+        return series.size();
+    }
+
+    public long sealedChunks() {
+        return sealedChunks.get();
+    }
+
+    public long diskBytes() {
+        return segments.diskBytes();
+    }
+
+    public int channelCount() {
+        return channelCount;
+    }
+
+    @Override
+    public void close() {
+        try {
+            for (Series s : series.values()) {
+                synchronized (s) {
+                    if (s.head != null) {
+                        seal(s);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.error("Failed to seal open telemetry chunks on close", e);
+        }
+        segments.close();
+    }
+
+    private Series seriesFor(String deviceId) {
+        return series.computeIfAbsent(deviceId, k -> new Series());
+    }
+
+    private void seal(Series s) throws IOException {
+        TelemetryChunkWriter head = s.head;
+        s.head = null;
+        long ref = segments.append(head.toByteArray(), head.lastTs());
+        if (ref >= 0) {
+            s.index(ref, head.firstTs(), head.lastTs());
+            sealedChunks.incrementAndGet();
+        }
+    }
+
+    /**
+     * 디바이스 한 대의 열린 청크 + 봉인된 청크 인덱스 (인스턴스 자체를 락으로 사용)
+     */
+    private static final class Series {
+
+        TelemetryChunkWriter head;
+        boolean removed;
+        long[] refs = new long[4];
+        long[] firstTs = new long[4];
+        long[] lastTs = new long[4];
+        int size;
+
+        void index(long ref, long first, long last) {
+            if (size == refs.length) {
+                refs = Arrays.copyOf(refs, size << 1);
+                firstTs = Arrays.copyOf(firstTs, size << 1);
+                lastTs = Arrays.copyOf(lastTs, size << 1);
+            }
+            refs[size] = ref;
+            firstTs[size] = first;
+            lastTs[size] = last;
+            size++;
+        }
+
+        /**
+         * 삭제된 세그먼트(firstSegment 미만)를 가리키는 참조 제거 (새 배열로 교체)
+         */
+        void prune(long firstSegment) {
+            int keep = 0;
+            while (keep < size && (refs[keep] >>> 32) < firstSegment) {
+                keep++;
+            }
+            if (keep == 0) {
+                return;
+            }
+            refs = Arrays.copyOfRange(refs, keep, Math.max(keep + 4, refs.length));
+            firstTs = Arrays.copyOfRange(firstTs, keep, Math.max(keep + 4, firstTs.length));
+            lastTs = Arrays.copyOfRange(lastTs, keep, Math.max(keep + 4, lastTs.length));
+            size -= keep;
+        }
+    }
+}
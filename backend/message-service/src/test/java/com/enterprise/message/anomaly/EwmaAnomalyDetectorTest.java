@@ -0,0 +1,154 @@
+package com.enterprise.message.anomaly;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EwmaAnomalyDetectorTest {
+
+    private static final long T0 = 1_700_000_000_000L;
+    private static final long SECOND = 1_000L;
+    private static final long COOLDOWN = 5 * 60 * SECOND;
+
+    /**
+     * 기본 설정 (alpha 0.05, threshold 4σ, warmup 30, cooldown 5분)
+     */
+    private static EwmaAnomalyDetector detector(int channels) {
+        return new EwmaAnomalyDetector(channels, 0.05, 4.0, 30, 1e-3, COOLDOWN, 1_000, 4);
+    }
+
+    @Test
+    void observe_GaussianNoiseRarelyAlerts() {
+        // 쿨다운 없이 모든 4σ 초과를 셈. EWMA 분산 추정이 흔들리므로 정규분포 꼬리(0.006%)보다는 높지만
+        // 0.1% 아래여야 함 (쿨다운 5분, 1초 주기면 디바이스·채널당 최대 5분에 한 번)
+        EwmaAnomalyDetector detector = new EwmaAnomalyDetector(1, 0.05, 4.0, 30, 1e-3, 0, 1_000, 4);
+        Random random = new Random(1);
+        int readings = 100_000;
+        int alerts = 0;
+        for (int i = 0; i < readings; i++) {
+            alerts += detector.observe("DEV-1", T0 + i * SECOND, new double[]{20.0 + random.nextGaussian()}).size();
+        }
+
+        assertTrue(alerts < readings / 1_000, "alerts=" + alerts);
+    }
+
+    @Test
+    void observe_SpikeAlertsOnceWithinCooldown() {
+        EwmaAnomalyDetector detector = detector(1);
+        long ts = feed(detector, "DEV-1", 200, T0);
+
+        List<Anomaly> first = detector.observe("DEV-1", ts, new double[]{20.0 + 15});
+        assertEquals(1, first.size());
+        Anomaly anomaly = first.get(0);
+        assertEquals(0, anomaly.channel());
+        assertEquals(35.0, anomaly.value());
+        assertEquals(20.0, anomaly.mean(), 0.5);
+        assertTrue(anomaly.zScore() > 10, "z=" + anomaly.zScore());
+
+        // 쿨다운 안의 두 번째 스파이크는 알리지 않음
+        ts = feed(detector, "DEV-1", 60, ts + SECOND);
+        assertTrue(detector.observe("DEV-1", ts, new double[]{35.0}).isEmpty());
+
+        // 쿨다운이 지나면 다시 알림
+        ts = feed(detector, "DEV-1", 200, ts + COOLDOWN);
+        assertEquals(1, detector.observe("DEV-1", ts, new double[]{35.0}).size());
+    }
+
+    @Test
+    void observe_NoAlertsDuringWarmup() {
+        EwmaAnomalyDetector detector = detector(1);
+        long ts = feed(detector, "DEV-1", 10, T0);
+
+        assertTrue(detector.observe("DEV-1", ts, new double[]{1_000.0}).isEmpty());
+    }
+
+    @Test
+    void observe_SkipsNaNAndInfiniteChannels() {
+        EwmaAnomalyDetector detector = detector(2);
+        long ts = T0;
+        for (int i = 0; i < 100; i++, ts += SECOND) {
+            double[] values = {20.0 + wave(i), 50.0 + wave(i + 3)};
+            if (i % 3 == 0) {
+                values[0] = Double.NaN;
+            }
+            if (i % 5 == 0) {
+                values[1] = Double.POSITIVE_INFINITY;
+            }
+            assertTrue(detector.observe("DEV-1", ts, values).isEmpty(), "reading " + i);
+        }
+
+        // 통계가 NaN / Infinity 로 오염되지 않았으면 스파이크는 해당 채널만 알림
+        List<Anomaly> anomalies = detector.observe("DEV-1", ts, new double[]{Double.NaN, 50.0 + 20});
+        assertEquals(1, anomalies.size());
+        assertEquals(1, anomalies.get(0).channel());
+        assertEquals(50.0, anomalies.get(0).mean(), 1.0);
+    }
+
+    @Test
+    void observe_ConstantChannelUsesMinStdDev() {
+        EwmaAnomalyDetector detector = detector(1);
+        long ts = T0;
+        for (int i = 0; i < 50; i++, ts += SECOND) {
+            assertTrue(detector.observe("DEV-1", ts, new double[]{5.0}).isEmpty());
+        }
+
+        List<Anomaly> anomalies = detector.observe("DEV-1", ts, new double[]{5.01});
+        assertEquals(1, anomalies.size());
+        assertEquals(1e-3, anomalies.get(0).stdDev());
+        assertEquals(10.0, anomalies.get(0).zScore(), 1e-6);
+    }
+
+    @Test
+    void observe_AdaptsToLevelShift() {
+        EwmaAnomalyDetector detector = detector(1);
+        long ts = feed(detector, "DEV-1", 200, T0);
+
+        int alerts = 0;
+        for (int i = 0; i < 500; i++, ts += SECOND) {
+            alerts += detector.observe("DEV-1", ts, new double[]{40.0 + wave(i)}).size();
+        }
+        // 수준 변화는 쿨다운 안에서 한 번만 알리고, 이후 새 수준에 적응
+        assertEquals(1, alerts);
+        assertTrue(detector.observe("DEV-1", ts + COOLDOWN, new double[]{40.0}).isEmpty());
+    }
+
+    @Test
+    void observe_KeepsDevicesSeparateAndEnforcesMaxDevices() {
+        EwmaAnomalyDetector detector = new EwmaAnomalyDetector(1, 0.05, 4.0, 30, 1e-3, COOLDOWN, 200, 1);
+        // 한 stripe 에 64개를 넘는 디바이스 → 통계 배열 확장
+        for (int d = 0; d < 200; d++) {
+            feed(detector, "DEV-" + d, 40, T0, d * 10.0);
+        }
+        assertEquals(200, detector.deviceCount());
+        assertNull(detector.observe("DEV-NEW", T0, new double[]{1.0}));
+        assertEquals(200, detector.deviceCount());
+
+        for (int d = 0; d < 200; d++) {
+            assertTrue(detector.observe("DEV-" + d, T0 + 100 * SECOND, new double[]{d * 10.0}).isEmpty(), "DEV-" + d);
+        }
+        assertEquals(1, detector.observe("DEV-0", T0 + 100 * SECOND, new double[]{1_990.0}).size());
+    }
+
+    private static long feed(EwmaAnomalyDetector detector, String deviceId, int count, long from) {
+        return feed(detector, deviceId, count, from, 20.0);
+    }
+
+    /**
+     * 평균 mean, 진폭 1 의 결정적 신호 (무작위 잡음과 달리 4σ 를 넘지 않음)
+     */
+    private static long feed(EwmaAnomalyDetector detector, String deviceId, int count, long from, double mean) {
+        long ts = from;
+        for (int i = 0; i < count; i++, ts += SECOND) {
+            assertTrue(detector.observe(deviceId, ts, new double[]{mean + wave(i)}).isEmpty(),
+                    deviceId + " reading " + i);
+        }
+        return ts;
+    }
+
+    private static double wave(int i) {
+        return Math.sin(i * 0.7);
+    }
+}
@@ -0,0 +1,206 @@
+package com.enterprise.message.command;
+
+import com.enterprise.message.codec.DeviceFrame;
+import com.enterprise.message.codec.RecordFormat;
+import com.enterprise.message.config.CommandAckProperties;
+import com.enterprise.message.dto.iot.CommandStatusDto;
+import com.enterprise.message.dto.iot.IoTCommandDto;
+import com.enterprise.message.dto.iot.IoTDeviceMessageDto;
+import com.enterprise.message.exception.ResourceNotFoundException;
+import com.enterprise.message.kafka.IoTDeviceMessageReader;
+import com.enterprise.message.service.DeviceSerialRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CommandAckTrackerTest {
+
+    private static final String SERIAL_1 = "EST-ROZ-25-0001";
+    private static final String SERIAL_2 = "EST-ROZ-25-0002";
+    private static final String SERIAL_3 = "EST-ROZ-25-0003";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final IoTDeviceMessageReader reader = new IoTDeviceMessageReader(new ObjectMapper());
+    private final DeviceSerialRegistry serialRegistry = mock(DeviceSerialRegistry.class);
+    private CommandAckTracker tracker;
+    private long offset;
+
+    @BeforeEach
+    void setUp() {
+        // REQUEST 로 등록된 Serial → deviceID[0-3]
+        when(serialRegistry.deviceKey(SERIAL_1)).thenReturn("#00000001");
+        when(serialRegistry.deviceKey(SERIAL_2)).thenReturn("#00000002");
+        when(serialRegistry.deviceKey(SERIAL_3)).thenReturn("#00000003");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (tracker != null) {
+            tracker.stop();
+        }
+    }
+
+    @Test
+    void acknowledge_MatchesOldestPendingCommandOfTheSameType() {
+        tracker = start(new CommandAckProperties());
+        register("reboot-1", SERIAL_1, IoTDeviceMessageDto.MessageType.REBOOT);
+        register("reboot-2", SERIAL_1, IoTDeviceMessageDto.MessageType.REBOOT);
+        register("fota-1", SERIAL_1, IoTDeviceMessageDto.MessageType.FOTA);
+        register("reboot-3", SERIAL_2, IoTDeviceMessageDto.MessageType.REBOOT);
+
+        // 같은 타입 중 가장 오래된 명령부터 (FIFO)
+        assertTrue(tracker.acknowledge(response(SERIAL_1, IoTDeviceMessageDto.MessageType.REBOOT)));
+        assertStatus(CommandStatusDto.Status.ACKNOWLEDGED, "reboot-1");
+        assertStatus(CommandStatusDto.Status.PENDING, "reboot-2");
+
+        // 타입이 다르면 앞선 명령을 건너뜀
+        assertTrue(tracker.acknowledge(response(SERIAL_1, IoTDeviceMessageDto.MessageType.FOTA)));
+        assertStatus(CommandStatusDto.Status.ACKNOWLEDGED, "fota-1");
+        assertStatus(CommandStatusDto.Status.PENDING, "reboot-2");
+
+        // RESPONSE 는 타입과 무관하게 남은 것 중 가장 오래된 명령
+        assertTrue(tracker.acknowledge(response(SERIAL_1, IoTDeviceMessageDto.MessageType.RESPONSE)));
+        assertStatus(CommandStatusDto.Status.ACKNOWLEDGED, "reboot-2");
+
+        // 대기 명령이 없는 디바이스 응답
+        assertFalse(tracker.acknowledge(response(SERIAL_1, IoTDeviceMessageDto.MessageType.REBOOT)));
+        assertStatus(CommandStatusDto.Status.PENDING, "reboot-3");
+
+        assertEquals(3.0, acks("acknowledged"));
+        assertEquals(1.0, acks("unmatched"));
+        assertEquals(1.0, meterRegistry.get("iot.command.pending").gauge().value());
+        assertEquals(2, meterRegistry.get("iot.command.rtt").tag("type", "REBOOT").timer().count());
+    }
+
+    @Test
+    void acknowledge_SkipsCommandsThatFailedToSend() {
+        tracker = start(new CommandAckProperties());
+        register("cmd-1", SERIAL_1, IoTDeviceMessageDto.MessageType.REBOOT);
+        register("cmd-2", SERIAL_1, IoTDeviceMessageDto.MessageType.REBOOT);
+
+        tracker.sendFailed("cmd-1");
+        assertStatus(CommandStatusDto.Status.SEND_FAILED, "cmd-1");
+
+        assertTrue(tracker.acknowledge(response(SERIAL_1, IoTDeviceMessageDto.MessageType.REBOOT)));
+        assertStatus(CommandStatusDto.Status.ACKNOWLEDGED, "cmd-2");
+        CommandStatusDto status = tracker.get("cmd-2");
+        assertEquals("resp-1", status.getResponseMessageId());
+        assertNotNull(status.getRttMillis());
+        assertEquals(1.0, acks("send_failed"));
+    }
+
+    @Test
+    void expire_TimesOutUnansweredCommands() throws InterruptedException {
+        CommandAckProperties properties = new CommandAckProperties();
+        properties.setTimeout(Duration.ofMillis(50));
+        properties.setTick(Duration.ofMillis(10));
+        tracker = start(properties);
+        register("cmd-1", SERIAL_1, IoTDeviceMessageDto.MessageType.REBOOT);
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (tracker.get("cmd-1").getStatus() == CommandStatusDto.Status.PENDING && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertStatus(CommandStatusDto.Status.TIMED_OUT, "cmd-1");
+        // 늦게 온 응답은 만료된 명령에 대응하지 않음
+        assertFalse(tracker.acknowledge(response(SERIAL_1, IoTDeviceMessageDto.MessageType.REBOOT)));
+        assertEquals(1.0, acks("timeout"));
+    }
+
+    @Test
+    void register_StopsTrackingAtMaxPending() {
+        CommandAckProperties properties = new CommandAckProperties();
+        properties.setMaxPending(2);
+        tracker = start(properties);
+        register("cmd-1", SERIAL_1, IoTDeviceMessageDto.MessageType.REBOOT);
+        register("cmd-2", SERIAL_2, IoTDeviceMessageDto.MessageType.REBOOT);
+        register("cmd-3", SERIAL_3, IoTDeviceMessageDto.MessageType.REBOOT);
+
+        assertThrows(ResourceNotFoundException.class, () -> tracker.get("cmd-3"));
+        assertEquals(1.0, acks("untracked"));
+    }
+
+    @Test
+    void acknowledge_MatchesFrameDeviceIdRecordedAtIssue() {
+        tracker = start(new CommandAckProperties());
+        register("by-serial", SERIAL_1, IoTDeviceMessageDto.MessageType.FOTA);
+        register("by-key", "#00000002", IoTDeviceMessageDto.MessageType.ECHO);
+
+        // 응답 프레임은 Serial 없이 deviceID 만 가짐 (mqtt-service 는 iot-device-id 헤더를 비워 보냄)
+        IoTDeviceMessageDto fota = response(SERIAL_1, IoTDeviceMessageDto.MessageType.FOTA);
+        assertNull(fota.getDeviceId());
+        assertTrue(tracker.acknowledge(fota));
+        assertTrue(tracker.acknowledge(response(SERIAL_2, IoTDeviceMessageDto.MessageType.ECHO)));
+
+        assertStatus(CommandStatusDto.Status.ACKNOWLEDGED, "by-serial");
+        assertStatus(CommandStatusDto.Status.ACKNOWLEDGED, "by-key");
+        assertEquals(SERIAL_1, tracker.get("by-serial").getDeviceId());
+    }
+
+    @Test
+    void register_SkipsUnregisteredSerials() {
+        tracker = start(new CommandAckProperties());
+        register("cmd-1", "EST-UNKNOWN", IoTDeviceMessageDto.MessageType.REBOOT);
+
+        assertThrows(ResourceNotFoundException.class, () -> tracker.get("cmd-1"));
+        assertEquals(1.0, acks("unresolved"));
+    }
+
+    private CommandAckTracker start(CommandAckProperties properties) {
+        CommandAckTracker tracker = new CommandAckTracker(properties, meterRegistry, serialRegistry);
+        tracker.start();
+        return tracker;
+    }
+
+    private void register(String commandId, String deviceId, IoTDeviceMessageDto.MessageType type) {
+        tracker.register(IoTCommandDto.builder()
+                .commandId(commandId)
+                .deviceId(deviceId)
+                .messageType(type)
+                .payload("00")
+                .build());
+    }
+
+    private void assertStatus(CommandStatusDto.Status expected, String commandId) {
+        assertEquals(expected, tracker.get(commandId).getStatus(), commandId);
+    }
+
+    private double acks(String result) {
+        return meterRegistry.get("iot.command.acks").tag("result", result).counter().count();
+    }
+
+    /**
+     * 디바이스 응답 프레임을 Kafka 레코드로 만들어 실제 리더로 읽음 (deviceID[0-3] = Serial 끝 번호)
+     */
+    private IoTDeviceMessageDto response(String serialNo, IoTDeviceMessageDto.MessageType type) {
+        int deviceId = Integer.parseInt(serialNo.substring(serialNo.lastIndexOf('-') + 1));
+        byte[] frame = new byte[16];
+        ByteBuffer.wrap(frame).putInt(deviceId);
+        frame[DeviceFrame.TOPIC_TYPE_INDEX] = (byte) type.getCode();
+
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>("iot.device.response", 0, offset++,
+                String.format("device/topic/B0:#%08X", deviceId), frame);
+        record.headers().add(RecordFormat.HEADER, "frame".getBytes(StandardCharsets.UTF_8));
+        record.headers().add(DeviceFrame.HEADER_MESSAGE_ID, ("resp-" + deviceId).getBytes(StandardCharsets.UTF_8));
+        record.headers().add(DeviceFrame.HEADER_DEVICE_ID, null);
+        try {
+            return reader.read(record);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.enterprise.message.command;
+
+import com.enterprise.message.dto.iot.CommandStatusDto;
+import com.enterprise.message.dto.iot.IoTDeviceMessageDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeoutWheelTest {
+
+    private static final long TICK = 1_000_000L;
+    private static final long ORIGIN = 5_000_000_000L;
+
+    @Test
+    void constructor_RejectsNonPowerOfTwoSize() {
+        assertThrows(IllegalArgumentException.class, () -> new TimeoutWheel<String>(TICK, 12, ORIGIN));
+    }
+
+    @Test
+    void advance_ExpiresAtFirstTickAfterDeadline() {
+        TimeoutWheel<String> wheel = new TimeoutWheel<>(TICK, 8, ORIGIN);
+        wheel.add("a", at(2) + TICK / 2);
+
+        List<String> expired = new ArrayList<>();
+        assertEquals(0, wheel.advance(at(2), expired::add));
+        assertEquals(0, wheel.advance(at(3) - 1, expired::add));
+        assertEquals(1, wheel.advance(at(3), expired::add));
+        assertEquals(List.of("a"), expired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_KeepsDeadlinesLongerThanOneRevolution() {
+        TimeoutWheel<String> wheel = new TimeoutWheel<>(TICK, 8, ORIGIN);
+        // 칸 4 에 들어가는 마감 세 개: 0바퀴, 1바퀴, 2바퀴 뒤
+        wheel.add("tick-4", at(4));
+        wheel.add("tick-12", at(12));
+        wheel.add("tick-20", at(20));
+
+        List<String> expired = new ArrayList<>();
+        for (int tick = 1; tick <= 20; tick++) {
+            wheel.advance(at(tick), expired::add);
+            switch (tick) {
+                case 4 -> assertEquals(List.of("tick-4"), expired);
+                case 12 -> assertEquals(List.of("tick-4", "tick-12"), expired);
+                case 20 -> assertEquals(List.of("tick-4", "tick-12", "tick-20"), expired);
+                default -> assertEquals(tick < 4 ? 0 : tick < 12 ? 1 : 2, expired.size(), "tick " + tick);
+            }
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_ResumesAfterLongPause() {
+        TimeoutWheel<String> wheel = new TimeoutWheel<>(TICK, 8, ORIGIN);
+        wheel.add("tick-3", at(3));
+        wheel.add("tick-7", at(7));
+        wheel.add("tick-30", at(30));
+        wheel.add("tick-100", at(100));
+        wheel.add("tick-1003", at(1_003));
+
+        // 타이머가 1000 tick 동안 멈췄다가 재개 → 휠 한 바퀴(target - mask 부터)만 훑어도 지난 마감은 모두 만료
+        List<String> expired = new ArrayList<>();
+        assertEquals(4, wheel.advance(at(1_000), expired::add));
+        assertEquals(Set.of("tick-3", "tick-7", "tick-30", "tick-100"), new HashSet<>(expired));
+        assertEquals(1, wheel.size());
+
+        // 멈춘 동안 지난 마감으로 등록한 항목은 다음 tick 에 만료
+        wheel.add("late", at(500));
+        expired.clear();
+        assertEquals(0, wheel.advance(at(1_000), expired::add));
+        assertEquals(1, wheel.advance(at(1_001), expired::add));
+        assertEquals(List.of("late"), expired);
+
+        expired.clear();
+        assertEquals(1, wheel.advance(at(1_003), expired::add));
+        assertEquals(List.of("tick-1003"), expired);
+    }
+
+    @Test
+    void advance_DoesNotGoBackwards() {
+        TimeoutWheel<String> wheel = new TimeoutWheel<>(TICK, 8, ORIGIN);
+        wheel.advance(at(10), s -> fail("empty wheel"));
+        wheel.add("a", at(11));
+
+        assertEquals(0, wheel.advance(at(5), s -> fail("clock went backwards")));
+        assertEquals(1, wheel.advance(at(11), s -> {
+        }));
+    }
+
+    @Test
+    void advance_AcknowledgedEntriesAreSweptWithoutTimingOut() {
+        TimeoutWheel<PendingCommand> wheel = new TimeoutWheel<>(TICK, 8, ORIGIN);
+        List<PendingCommand> commands = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            PendingCommand command = new PendingCommand("cmd-" + i, "SN-0001", "#00000001",
+                    IoTDeviceMessageDto.MessageType.REBOOT, 0, ORIGIN);
+            commands.add(command);
+            wheel.add(command, at(5));
+        }
+        assertTrue(commands.get(1).acknowledge(response(IoTDeviceMessageDto.MessageType.REBOOT), at(2)));
+
+        // 취소 없이 휠을 지날 때 제거되며, 이미 응답한 명령은 상태가 바뀌지 않음
+        List<PendingCommand> timedOut = new ArrayList<>();
+        assertEquals(3, wheel.advance(at(5), entry -> {
+            if (entry.fail(CommandStatusDto.Status.TIMED_OUT)) {
+                timedOut.add(entry);
+            }
+        }));
+        assertEquals(List.of(commands.get(0), commands.get(2)), timedOut);
+        assertEquals(CommandStatusDto.Status.ACKNOWLEDGED, commands.get(1).status());
+        assertEquals(2 * TICK, commands.get(1).rttNanos());
+        assertEquals(0, wheel.size());
+    }
+
+    private static long at(long tick) {
+        return ORIGIN + tick * TICK;
+    }
+
+    private static IoTDeviceMessageDto response(IoTDeviceMessageDto.MessageType type) {
+        return IoTDeviceMessageDto.builder().deviceId("SN-0001").messageType(type).messageId("resp").build();
+    }
+}
@@ -0,0 +1,54 @@
+package com.enterprise.message.dedup;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void mightContain_NeverMissesInsertedIds() {
+        BloomFilter filter = new BloomFilter(100_000, 0.01);
+        Random random = new Random(1);
+        long[] msb = new long[100_000];
+        long[] lsb = new long[100_000];
+        for (int i = 0; i < msb.length; i++) {
+            msb[i] = random.nextLong();
+            lsb[i] = random.nextLong();
+            filter.put(msb[i], lsb[i]);
+        }
+
+        for (int i = 0; i < msb.length; i++) {
+            assertTrue(filter.mightContain(msb[i], lsb[i]), "id " + i);
+        }
+    }
+
+    @Test
+    void mightContain_FalsePositiveRateNearTarget() {
+        BloomFilter filter = new BloomFilter(100_000, 0.01);
+        Random random = new Random(2);
+        for (int i = 0; i < 100_000; i++) {
+            filter.put(random.nextLong(), random.nextLong());
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(random.nextLong(), random.nextLong())) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives > 500 && falsePositives < 1_500, "falsePositives=" + falsePositives);
+    }
+
+    @Test
+    void clear_RemovesEverything() {
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+        filter.put(1L, 2L);
+        assertTrue(filter.mightContain(1L, 2L));
+
+        filter.clear();
+        assertFalse(filter.mightContain(1L, 2L));
+    }
+}
@@ -0,0 +1,160 @@
+package com.enterprise.message.dedup;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DedupWindowTest {
+
+    private static final long T0 = 1_700_000_000_000L;
+    private static final long WINDOW = 600_000L;
+
+    @Test
+    void check_NoFalseDropsAndAboutOnePercentLookups() {
+        DedupWindow window = new DedupWindow(WINDOW, 100_000, 0.01, T0);
+        Random random = new Random(1);
+        for (int i = 0; i < 100_000; i++) {
+            window.add(random.nextLong(), random.nextLong(), T0 + i);
+        }
+
+        int lookups = 0;
+        for (int i = 0; i < 100_000; i++) {
+            DedupWindow.Check check = window.check(random.nextLong(), random.nextLong(), T0 + 100_000);
+            assertNotEquals(DedupWindow.Check.DUPLICATE, check, "id " + i);
+            if (check == DedupWindow.Check.NEW_AFTER_LOOKUP) {
+                lookups++;
+            }
+        }
+        // Bloom 오탐만 LRU 조회로 넘어감 (목표 1%)
+        assertTrue(lookups > 500 && lookups < 1_500, "lookups=" + lookups);
+    }
+
+    @Test
+    void check_DetectsEveryProcessedId() {
+        DedupWindow window = new DedupWindow(WINDOW, 10_000, 0.01, T0);
+        Random random = new Random(2);
+        long[][] ids = new long[10_000][2];
+        for (long[] id : ids) {
+            id[0] = random.nextLong();
+            id[1] = random.nextLong();
+            window.add(id[0], id[1], T0);
+        }
+
+        for (long[] id : ids) {
+            assertEquals(DedupWindow.Check.DUPLICATE, window.check(id[0], id[1], T0 + 1));
+        }
+    }
+
+    @Test
+    void check_BloomFalsePositiveIsNeverDropped() {
+        // 오탐률 50%, 용량 16 → Bloom 은 대부분 "있을 수 있음"이라고 답하지만 LRU 에 없으면 새 메시지
+        DedupWindow window = new DedupWindow(WINDOW, 16, 0.5, T0);
+        Random random = new Random(3);
+        for (int i = 0; i < 16; i++) {
+            window.add(random.nextLong(), random.nextLong(), T0);
+        }
+
+        int lookups = 0;
+        for (int i = 0; i < 1_000; i++) {
+            DedupWindow.Check check = window.check(random.nextLong(), random.nextLong(), T0 + 1);
+            assertNotEquals(DedupWindow.Check.DUPLICATE, check);
+            if (check == DedupWindow.Check.NEW_AFTER_LOOKUP) {
+                lookups++;
+            }
+        }
+        assertTrue(lookups > 0, "Bloom filter never reported a false positive");
+    }
+
+    @Test
+    void check_IdsEvictedFromLruAreProcessedAgain() {
+        DedupWindow window = new DedupWindow(WINDOW, 4, 0.01, T0);
+        for (long i = 0; i < 8; i++) {
+            window.add(i, i, T0);
+        }
+
+        assertEquals(4, window.size());
+        // 밀려난 ID 는 Bloom 에는 남아 있지만 버리지 않음
+        assertEquals(DedupWindow.Check.NEW_AFTER_LOOKUP, window.check(0, 0, T0 + 1));
+        assertEquals(DedupWindow.Check.DUPLICATE, window.check(7, 7, T0 + 1));
+    }
+
+    @Test
+    void rotate_KeepsIdsForAtLeastOneFullWindow() {
+        DedupWindow window = new DedupWindow(WINDOW, 1_000, 0.01, T0);
+
+        // 세대가 바뀌기 직전에 기록한 ID
+        window.add(1, 1, T0 + WINDOW - 1);
+        // 세대 교체 (current → previous)
+        assertEquals(DedupWindow.Check.DUPLICATE, window.check(1, 1, T0 + WINDOW));
+        // 세대 중간에 기록한 ID
+        window.add(2, 2, T0 + WINDOW + WINDOW / 2);
+
+        assertEquals(DedupWindow.Check.DUPLICATE, window.check(1, 1, T0 + 2 * WINDOW - 2));
+        assertNotEquals(DedupWindow.Check.DUPLICATE, window.check(1, 1, T0 + 2 * WINDOW - 1));
+
+        // 두 번째 교체(T0 + 2 × WINDOW) 후에는 previous 세대에서 확인
+        assertEquals(DedupWindow.Check.DUPLICATE, window.check(2, 2, T0 + 2 * WINDOW));
+        assertEquals(DedupWindow.Check.DUPLICATE, window.check(2, 2, T0 + 2 * WINDOW + WINDOW / 2 - 1));
+        assertNotEquals(DedupWindow.Check.DUPLICATE, window.check(2, 2, T0 + 2 * WINDOW + WINDOW / 2));
+    }
+
+    @Test
+    void rotate_ExpiresIdsAfterIdlePeriod() {
+        DedupWindow window = new DedupWindow(WINDOW, 1_000, 0.01, T0);
+        window.add(1, 1, T0);
+
+        // 오랫동안 호출이 없어도 교체는 한 번뿐 → Bloom 에는 남지만 LRU 시각으로 만료 판정
+        assertEquals(DedupWindow.Check.NEW_AFTER_LOOKUP, window.check(1, 1, T0 + 5 * WINDOW));
+        assertEquals(0, window.size());
+        assertEquals(DedupWindow.Check.NEW, window.check(1, 1, T0 + 6 * WINDOW));
+    }
+
+    @Test
+    void snapshot_RoundTripRestoresLiveIds() throws IOException {
+        DedupWindow window = new DedupWindow(WINDOW, 10_000, 0.01, T0);
+        Random random = new Random(4);
+        long[][] ids = new long[5_000][2];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i][0] = random.nextLong();
+            ids[i][1] = random.nextLong();
+            window.add(ids[i][0], ids[i][1], T0 + i);
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        window.writeTo(new DataOutputStream(bytes), T0 + 5_000);
+
+        DedupWindow restored = new DedupWindow(WINDOW, 10_000, 0.01, T0 + 10_000);
+        int count = restored.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), T0 + 10_000);
+        assertEquals(ids.length, count);
+        for (long[] id : ids) {
+            assertEquals(DedupWindow.Check.DUPLICATE, restored.check(id[0], id[1], T0 + 10_000));
+        }
+    }
+
+    @Test
+    void snapshot_SkipsExpiredIdsAndRejectsForeignData() throws IOException {
+        DedupWindow window = new DedupWindow(WINDOW, 100, 0.01, T0);
+        window.add(1, 1, T0);
+        window.add(2, 2, T0 + WINDOW / 2);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        window.writeTo(new DataOutputStream(bytes), T0 + WINDOW / 2);
+
+        // 복원 시점에는 첫 ID 가 window 를 벗어남
+        DedupWindow restored = new DedupWindow(WINDOW, 100, 0.01, T0 + WINDOW);
+        assertEquals(1, restored.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), T0 + WINDOW));
+        assertNotEquals(DedupWindow.Check.DUPLICATE, restored.check(1, 1, T0 + WINDOW));
+        assertEquals(DedupWindow.Check.DUPLICATE, restored.check(2, 2, T0 + WINDOW));
+
+        DedupWindow other = new DedupWindow(WINDOW, 100, 0.01, T0);
+        assertThrows(IOException.class,
+                () -> other.readFrom(new DataInputStream(new ByteArrayInputStream(new byte[16])), T0));
+    }
+}
@@ -0,0 +1,166 @@
+package com.enterprise.message.dedup;
+
+import com.enterprise.message.config.MessageDedupProperties;
+import com.enterprise.message.dto.iot.IoTDeviceMessageDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MessageDeduplicatorTest {
+
+    private static final String TOPIC = "device.request.topic";
+
+    @TempDir
+    Path snapshotDirectory;
+
+    private MessageDedupProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private MessageDeduplicator deduplicator;
+
+    @BeforeEach
+    void setUp() {
+        properties = new MessageDedupProperties();
+        properties.setSnapshotDirectory(snapshotDirectory.toString());
+        meterRegistry = new SimpleMeterRegistry();
+        deduplicator = new MessageDeduplicator(properties, meterRegistry);
+    }
+
+    @Test
+    void open_OnlyForConfiguredListeners() {
+        assertNotNull(deduplicator.open("device-request"));
+        assertNull(deduplicator.open("periodic"));
+
+        properties.setEnabled(false);
+        assertNull(deduplicator.open("device-request"));
+    }
+
+    @Test
+    void session_DropsRedeliveredIdsAfterComplete() {
+        String id = UUID.randomUUID().toString();
+
+        DedupSession first = deduplicator.open("device-request");
+        assertTrue(first.test(record(0, 10), message(id)));
+        first.complete();
+
+        DedupSession redelivery = deduplicator.open("device-request");
+        assertFalse(redelivery.test(record(0, 10), message(id)));
+        assertEquals(1, redelivery.duplicates());
+    }
+
+    @Test
+    void session_DiscardedRecordsAreProcessedAgain() {
+        String failedId = UUID.randomUUID().toString();
+        String processedId = UUID.randomUUID().toString();
+
+        DedupSession session = deduplicator.open("device-request");
+        assertTrue(session.test(record(0, 10), message(failedId)));
+        assertTrue(session.test(record(0, 11), message(processedId)));
+        // 처리 실패 → 재시도 토픽으로 넘긴 레코드
+        session.discard(record(0, 10));
+        session.complete();
+
+        // 재시도 / DLT 재처리로 다시 들어온 메시지는 중복이 아님
+        DedupSession replay = deduplicator.open("device-request");
+        assertTrue(replay.test(record(0, 12), message(failedId)));
+        assertFalse(replay.test(record(0, 13), message(processedId)));
+    }
+
+    @Test
+    void session_DropsRepeatsWithinTheSameBatch() {
+        String id = UUID.randomUUID().toString();
+        DedupSession session = deduplicator.open("device-request");
+
+        assertTrue(session.test(record(0, 1), message(id)));
+        assertFalse(session.test(record(0, 2), message(id)));
+        assertEquals(1, session.duplicates());
+    }
+
+    @Test
+    void session_WithoutCompleteRecordsNothing() {
+        String id = UUID.randomUUID().toString();
+
+        DedupSession failed = deduplicator.open("device-request");
+        assertTrue(failed.test(record(0, 10), message(id)));
+        // 배치 처리 실패 → complete 호출 없음
+
+        DedupSession retry = deduplicator.open("device-request");
+        assertTrue(retry.test(record(0, 10), message(id)));
+    }
+
+    @Test
+    void session_PassesMessagesWithoutId() {
+        DedupSession session = deduplicator.open("device-request");
+
+        assertTrue(session.test(record(0, 1), message(null)));
+        assertTrue(session.test(record(0, 2), message(null)));
+        session.complete();
+        assertEquals(2.0, meterRegistry.get("iot.dedup.checks").tag("result", "unidentified").counter().count());
+    }
+
+    @Test
+    void session_HashesNonUuidIds() {
+        DedupSession first = deduplicator.open("fota");
+        assertTrue(first.test(record(0, 1), message("fota-42")));
+        first.complete();
+
+        DedupSession second = deduplicator.open("fota");
+        assertFalse(second.test(record(0, 1), message("fota-42")));
+        assertTrue(second.test(record(0, 2), message("fota-43")));
+    }
+
+    @Test
+    void windows_ArePerPartition() {
+        String id = UUID.randomUUID().toString();
+        DedupSession first = deduplicator.open("device-request");
+        first.test(record(0, 1), message(id));
+        first.complete();
+
+        DedupSession other = deduplicator.open("device-request");
+        assertTrue(other.test(record(1, 1), message(id)));
+    }
+
+    @Test
+    void revoke_SavesSnapshotThatTheNextOwnerRestores() {
+        String id = UUID.randomUUID().toString();
+        DedupSession session = deduplicator.open("device-request");
+        session.test(record(3, 1), message(id));
+        session.complete();
+
+        deduplicator.onPartitionsRevokedAfterCommit(null, List.of(new TopicPartition(TOPIC, 3)));
+        assertTrue(snapshotDirectory.resolve(TOPIC + "-3.dedup").toFile().isFile());
+
+        // 같은 디렉터리를 쓰는 새 인스턴스가 파티션을 넘겨받음
+        MessageDeduplicator next = new MessageDeduplicator(properties, new SimpleMeterRegistry());
+        DedupSession redelivery = next.open("device-request");
+        assertFalse(redelivery.test(record(3, 1), message(id)));
+    }
+
+    @Test
+    void lost_DiscardsWindowWithoutSnapshot() {
+        String id = UUID.randomUUID().toString();
+        DedupSession session = deduplicator.open("device-request");
+        session.test(record(4, 1), message(id));
+        session.complete();
+
+        deduplicator.onPartitionsLost(null, List.of(new TopicPartition(TOPIC, 4)));
+        assertFalse(snapshotDirectory.resolve(TOPIC + "-4.dedup").toFile().exists());
+        assertTrue(deduplicator.open("device-request").test(record(4, 1), message(id)));
+    }
+
+    private static ConsumerRecord<String, byte[]> record(int partition, long offset) {
+        return new ConsumerRecord<>(TOPIC, partition, offset, "SN-0001", new byte[0]);
+    }
+
+    private static IoTDeviceMessageDto message(String messageId) {
+        return IoTDeviceMessageDto.builder().messageId(messageId).deviceId("SN-0001").build();
+    }
+}
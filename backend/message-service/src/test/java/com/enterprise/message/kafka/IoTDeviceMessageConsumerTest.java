@@ -0,0 +1,139 @@
+package com.enterprise.message.kafka;
+
+import com.enterprise.message.codec.DeviceFrame;
+import com.enterprise.message.codec.RecordFormat;
+import com.enterprise.message.command.CommandAckTracker;
+import com.enterprise.message.dedup.MessageDeduplicator;
+import com.enterprise.message.dto.iot.IoTDeviceMessageDto;
+import com.enterprise.message.service.AnomalyDetectionService;
+import com.enterprise.message.service.DeviceSerialRegistry;
+import com.enterprise.message.service.DeviceStateService;
+import com.enterprise.message.service.TelemetryService;
+import com.enterprise.message.telemetry.TelemetrySampleReader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class IoTDeviceMessageConsumerTest {
+
+    private static final String DEVICE_DATA = "iot.device.data";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private DeviceStateService deviceStateService;
+    private IoTRetryPublisher retryPublisher;
+    private IoTDeviceMessageConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        deviceStateService = mock(DeviceStateService.class);
+        retryPublisher = mock(IoTRetryPublisher.class);
+        consumer = new IoTDeviceMessageConsumer(
+                new IoTDeviceMessageReader(new ObjectMapper()),
+                new BatchListenerMetrics(registry),
+                mock(MessageDeduplicator.class),
+                deviceStateService,
+                mock(TelemetrySampleReader.class),
+                mock(TelemetryService.class),
+                mock(AnomalyDetectionService.class),
+                retryPublisher,
+                mock(CommandAckTracker.class),
+                mock(DeviceSerialRegistry.class));
+        ReflectionTestUtils.setField(consumer, "deviceDataTopic", DEVICE_DATA);
+        ReflectionTestUtils.setField(consumer, "deviceRequestTopic", "iot.device.request");
+        ReflectionTestUtils.setField(consumer, "deviceResponseTopic", "iot.device.response");
+        ReflectionTestUtils.setField(consumer, "fotaTopic", "iot.device.fota");
+        ReflectionTestUtils.setField(consumer, "rebootTopic", "iot.device.reboot");
+        ReflectionTestUtils.setField(consumer, "textTopic", "iot.device.text");
+        consumer.registerProcessors();
+    }
+
+    @Test
+    void consumeDeviceData_SkipsMessagesWithoutTypeAndProcessesTheRest() {
+        // 4바이트 프레임(topicType 없음), 알 수 없는 topicType, 정상 PERIODIC
+        List<ConsumerRecord<String, byte[]>> records = List.of(
+                frameRecord(0, new byte[]{0, 0, 0, 1}),
+                frameRecord(1, frame(2, 0x7F)),
+                frameRecord(2, frame(3, IoTDeviceMessageDto.MessageType.PERIODIC.getCode())));
+        Acknowledgment ack = mock(Acknowledgment.class);
+
+        consumer.consumeDeviceData(records, ack);
+
+        ArgumentCaptor<IoTDeviceMessageDto> captor = ArgumentCaptor.forClass(IoTDeviceMessageDto.class);
+        verify(deviceStateService).update(captor.capture());
+        assertEquals(IoTDeviceMessageDto.MessageType.PERIODIC, captor.getValue().getMessageType());
+        verify(retryPublisher, never()).retry(any(), any());
+        verify(retryPublisher, never()).deadLetter(any(), any());
+        verify(ack).acknowledge();
+        assertEquals(3.0, registry.get("iot.consumer.records").tag("listener", "device-data").tag("result", "processed").counter().count());
+    }
+
+    @Test
+    void process_RetriedMessageWithoutTypeIsSkipped() {
+        assertDoesNotThrow(() -> consumer.process(DEVICE_DATA, IoTDeviceMessageDto.builder().messageId("m").build()));
+        verifyNoInteractions(deviceStateService);
+    }
+
+    @Test
+    void process_FailingStageIsRetriedWithOriginalRecord() {
+        doThrow(new IllegalStateException("store down")).when(deviceStateService).update(any());
+        ConsumerRecord<String, byte[]> record = frameRecord(0, frame(1, IoTDeviceMessageDto.MessageType.PERIODIC.getCode()));
+        Acknowledgment ack = mock(Acknowledgment.class);
+
+        consumer.consumeDeviceData(List.of(record), ack);
+
+        verify(retryPublisher).retry(same(record), any(IllegalStateException.class));
+        verify(ack).acknowledge();
+    }
+
+    @Test
+    void consumeDeviceData_ForwardFailureReportsFailedRecordIndex() {
+        ConsumerRecord<String, byte[]> failing = frameRecord(1, frame(2, IoTDeviceMessageDto.MessageType.PERIODIC.getCode()));
+        List<ConsumerRecord<String, byte[]>> records = List.of(
+                frameRecord(0, frame(1, IoTDeviceMessageDto.MessageType.PERIODIC.getCode())),
+                failing,
+                frameRecord(2, frame(3, IoTDeviceMessageDto.MessageType.PERIODIC.getCode())));
+        doAnswer(invocation -> {
+            IoTDeviceMessageDto message = invocation.getArgument(0);
+            if ("m1".equals(message.getMessageId())) {
+                throw new IllegalStateException("store down");
+            }
+            return null;
+        }).when(deviceStateService).update(any());
+        doThrow(new IllegalStateException("kafka down")).when(retryPublisher).retry(same(failing), any());
+        Acknowledgment ack = mock(Acknowledgment.class);
+
+        // 배치 전체가 아니라 전달하지 못한 레코드부터 다시 받도록 위치를 알림
+        BatchListenerFailedException e = assertThrows(BatchListenerFailedException.class,
+                () -> consumer.consumeDeviceData(records, ack));
+        assertEquals(1, e.getIndex());
+        verify(ack, never()).acknowledge();
+    }
+
+    private static byte[] frame(int deviceId, int topicType) {
+        byte[] frame = new byte[32];
+        ByteBuffer.wrap(frame).putInt(deviceId);
+        frame[DeviceFrame.TOPIC_TYPE_INDEX] = (byte) topicType;
+        return frame;
+    }
+
+    private static ConsumerRecord<String, byte[]> frameRecord(long offset, byte[] frame) {
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>(DEVICE_DATA, 0, offset, null, frame);
+        record.headers().add(RecordFormat.HEADER, "frame".getBytes(StandardCharsets.UTF_8));
+        record.headers().add(DeviceFrame.HEADER_MESSAGE_ID, ("m" + offset).getBytes(StandardCharsets.UTF_8));
+        return record;
+    }
+}
@@ -0,0 +1,156 @@
+package com.enterprise.message.kafka;
+
+import com.enterprise.message.codec.DeviceFrame;
+import com.enterprise.message.codec.RecordFormat;
+import com.enterprise.message.config.KafkaRetryProperties;
+import com.enterprise.message.config.MessageDedupProperties;
+import com.enterprise.message.dedup.MessageDeduplicator;
+import com.enterprise.message.dto.iot.IoTDeviceMessageDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class IoTRetryConsumerTest {
+
+    private static final String REQUEST = "iot.device.request";
+    private static final String DATA = "iot.device.data";
+
+    @TempDir
+    Path snapshotDirectory;
+
+    private KafkaRetryProperties properties;
+    private ConcurrentKafkaListenerContainerFactory<String, byte[]> containerFactory;
+    private IoTDeviceMessageConsumer messageConsumer;
+    private IoTRetryPublisher retryPublisher;
+    private IoTRetryConsumer retryConsumer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        properties = new KafkaRetryProperties();
+        containerFactory = mock(ConcurrentKafkaListenerContainerFactory.class);
+        messageConsumer = mock(IoTDeviceMessageConsumer.class);
+        when(messageConsumer.sourceTopics()).thenReturn(new LinkedHashSet<>(List.of(REQUEST, DATA)));
+        when(messageConsumer.listener(REQUEST)).thenReturn("device-request");
+        when(messageConsumer.listener(DATA)).thenReturn("device-data");
+        retryPublisher = mock(IoTRetryPublisher.class);
+
+        MessageDedupProperties dedupProperties = new MessageDedupProperties();
+        dedupProperties.setSnapshotDirectory(snapshotDirectory.toString());
+        retryConsumer = new IoTRetryConsumer(properties, containerFactory,
+                new IoTDeviceMessageReader(new ObjectMapper()), messageConsumer, retryPublisher,
+                new MessageDeduplicator(dedupProperties, new SimpleMeterRegistry()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void start_OneContainerPerRetryTopic() {
+        when(containerFactory.createContainer(anyString())).thenAnswer(invocation ->
+                mock(ConcurrentMessageListenerContainer.class));
+
+        retryConsumer.start();
+
+        // nack 으로 멈춰도 다른 원본 토픽의 재시도에 영향이 없도록 토픽마다 컨테이너
+        for (int attempt = 0; attempt < properties.getAttempts(); attempt++) {
+            verify(containerFactory).createContainer(properties.retryTopic(REQUEST, attempt));
+            verify(containerFactory).createContainer(properties.retryTopic(DATA, attempt));
+        }
+        verify(containerFactory, times(properties.getAttempts() * 2)).createContainer(anyString());
+        assertTrue(retryConsumer.isRunning());
+
+        retryConsumer.stop();
+        assertFalse(retryConsumer.isRunning());
+    }
+
+    @Test
+    void onRetry_NotDueIsNackedWithRemainingDelay() {
+        ConsumerRecord<String, byte[]> record = retryRecord(REQUEST, 0, UUID.randomUUID().toString(),
+                System.currentTimeMillis() + 5_000);
+        Acknowledgment ack = mock(Acknowledgment.class);
+
+        retryConsumer.onRetry(record, ack);
+
+        verify(ack).nack(argThat(wait -> wait.compareTo(Duration.ZERO) > 0 && wait.compareTo(Duration.ofSeconds(5)) <= 0));
+        verify(ack, never()).acknowledge();
+        verify(messageConsumer, never()).process(anyString(), any());
+    }
+
+    @Test
+    void onRetry_RedeliveredRecordIsProcessedOnce() {
+        String id = UUID.randomUUID().toString();
+        Acknowledgment ack = mock(Acknowledgment.class);
+
+        // 처리 후 커밋 전에 죽어 같은 재시도 레코드를 다시 받은 경우
+        retryConsumer.onRetry(retryRecord(REQUEST, 7, id, 0), ack);
+        retryConsumer.onRetry(retryRecord(REQUEST, 7, id, 0), ack);
+
+        verify(messageConsumer, times(1)).process(eq(REQUEST), any(IoTDeviceMessageDto.class));
+        verify(ack, times(2)).acknowledge();
+    }
+
+    @Test
+    void onRetry_TelemetryIsNotDeduplicated() {
+        String id = UUID.randomUUID().toString();
+        Acknowledgment ack = mock(Acknowledgment.class);
+
+        retryConsumer.onRetry(retryRecord(DATA, 7, id, 0), ack);
+        retryConsumer.onRetry(retryRecord(DATA, 7, id, 0), ack);
+
+        verify(messageConsumer, times(2)).process(eq(DATA), any(IoTDeviceMessageDto.class));
+    }
+
+    @Test
+    void onRetry_FailureIsForwardedAndNotRecordedAsProcessed() {
+        String id = UUID.randomUUID().toString();
+        doThrow(new IllegalStateException("store down")).doNothing()
+                .when(messageConsumer).process(eq(REQUEST), any());
+        Acknowledgment ack = mock(Acknowledgment.class);
+
+        ConsumerRecord<String, byte[]> failed = retryRecord(REQUEST, 3, id, 0);
+        retryConsumer.onRetry(failed, ack);
+        verify(retryPublisher).retry(same(failed), any(IllegalStateException.class));
+
+        // 다음 단계에서 다시 들어온 같은 messageId 는 중복으로 버려지지 않음
+        retryConsumer.onRetry(retryRecord(REQUEST, 4, id, 0), ack);
+        verify(messageConsumer, times(2)).process(eq(REQUEST), any());
+        verify(ack, times(2)).acknowledge();
+    }
+
+    private ConsumerRecord<String, byte[]> retryRecord(String source, long offset, String messageId, long dueAt) {
+        byte[] frame = new byte[32];
+        ByteBuffer.wrap(frame).putInt(1);
+        frame[DeviceFrame.TOPIC_TYPE_INDEX] = (byte) IoTDeviceMessageDto.MessageType.RESPONSE.getCode();
+
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>(properties.retryTopic(source, 0), 0, offset, null, frame);
+        record.headers().add(RecordFormat.HEADER, utf8("frame"));
+        record.headers().add(DeviceFrame.HEADER_MESSAGE_ID, utf8(messageId));
+        record.headers().add(IoTRetryPublisher.HEADER_SOURCE_TOPIC, utf8(source));
+        record.headers().add(IoTRetryPublisher.HEADER_ATTEMPT, utf8("1"));
+        record.headers().add(IoTRetryPublisher.HEADER_DUE_AT, utf8(Long.toString(dueAt)));
+        return record;
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,126 @@
+package com.enterprise.message.kafka;
+
+import com.enterprise.message.config.KafkaRetryProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class IoTRetryPublisherTest {
+
+    private static final String SOURCE = "iot.device.request";
+
+    private KafkaRetryProperties properties;
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private IoTRetryPublisher publisher;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        properties = new KafkaRetryProperties();
+        kafkaTemplate = mock(KafkaTemplate.class);
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenAnswer(invocation -> {
+            ProducerRecord<String, byte[]> record = invocation.getArgument(0);
+            RecordMetadata metadata = new RecordMetadata(new TopicPartition(record.topic(), 0), 0, 0, 0, 0, 0);
+            return CompletableFuture.completedFuture(new SendResult<>(record, metadata));
+        });
+        meterRegistry = new SimpleMeterRegistry();
+        publisher = new IoTRetryPublisher(properties, kafkaTemplate, meterRegistry);
+    }
+
+    @Test
+    void retry_SourceRecordGoesToFirstRetryTopic() {
+        long before = System.currentTimeMillis();
+
+        publisher.retry(new ConsumerRecord<>(SOURCE, 0, 5, "k", new byte[]{1, 2}), new IllegalStateException("x"));
+
+        ProducerRecord<String, byte[]> sent = sent();
+        assertEquals(properties.retryTopic(SOURCE, 0), sent.topic());
+        assertEquals("k", sent.key());
+        assertArrayEquals(new byte[]{1, 2}, sent.value());
+        assertEquals(SOURCE, header(sent, IoTRetryPublisher.HEADER_SOURCE_TOPIC));
+        assertEquals("1", header(sent, IoTRetryPublisher.HEADER_ATTEMPT));
+        long dueAt = Long.parseLong(header(sent, IoTRetryPublisher.HEADER_DUE_AT));
+        assertTrue(dueAt >= before + properties.delay(0).toMillis());
+        assertEquals(1.0, meterRegistry.get("iot.retry.forwarded")
+                .tag("destination", properties.retryTopic(SOURCE, 0)).counter().count());
+    }
+
+    @Test
+    void retry_NextTierAndDltWhenExhausted() {
+        publisher.retry(retryRecord(1), new IllegalStateException("x"));
+        ProducerRecord<String, byte[]> second = sent();
+        assertEquals(properties.retryTopic(SOURCE, 1), second.topic());
+        assertEquals("2", header(second, IoTRetryPublisher.HEADER_ATTEMPT));
+
+        clearInvocations(kafkaTemplate);
+        publisher.retry(retryRecord(properties.getAttempts()), new IllegalStateException("x"));
+        ProducerRecord<String, byte[]> exhausted = sent();
+        assertEquals(properties.dltTopic(SOURCE), exhausted.topic());
+        assertEquals(SOURCE, header(exhausted, IoTRetryPublisher.HEADER_SOURCE_TOPIC));
+    }
+
+    @Test
+    void deadLetter_SkipsRetryTopics() {
+        publisher.deadLetter(new ConsumerRecord<>(SOURCE, 0, 5, "k", new byte[]{1}), new IllegalArgumentException("x"));
+
+        ProducerRecord<String, byte[]> sent = sent();
+        assertEquals(properties.dltTopic(SOURCE), sent.topic());
+        assertNull(sent.headers().lastHeader(IoTRetryPublisher.HEADER_ATTEMPT));
+    }
+
+    @Test
+    void retry_DisabledGoesStraightToDlt() {
+        properties.setEnabled(false);
+
+        publisher.retry(new ConsumerRecord<>(SOURCE, 0, 5, "k", new byte[]{1}), new IllegalStateException("x"));
+
+        assertEquals(properties.dltTopic(SOURCE), sent().topic());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void retry_SendFailureIsThrown() {
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        // 호출한 배치가 커밋하지 않도록 예외로 알림
+        assertThrows(RuntimeException.class, () -> publisher.retry(
+                new ConsumerRecord<>(SOURCE, 0, 5, "k", new byte[]{1}), new IllegalStateException("x")));
+    }
+
+    private ConsumerRecord<String, byte[]> retryRecord(int attempt) {
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>(
+                properties.retryTopic(SOURCE, attempt - 1), 0, 5, "k", new byte[]{1});
+        record.headers().add(IoTRetryPublisher.HEADER_SOURCE_TOPIC, SOURCE.getBytes(StandardCharsets.UTF_8));
+        record.headers().add(IoTRetryPublisher.HEADER_ATTEMPT, Integer.toString(attempt).getBytes(StandardCharsets.UTF_8));
+        return record;
+    }
+
+    @SuppressWarnings("unchecked")
+    private ProducerRecord<String, byte[]> sent() {
+        ArgumentCaptor<ProducerRecord<String, byte[]>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(captor.capture());
+        return captor.getValue();
+    }
+
+    private static String header(ProducerRecord<String, byte[]> record, String key) {
+        Header header = record.headers().lastHeader(key);
+        return header != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+}
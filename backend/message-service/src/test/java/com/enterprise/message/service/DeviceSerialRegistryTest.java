@@ -0,0 +1,100 @@
+package com.enterprise.message.service;
+
+import com.enterprise.message.dto.iot.IoTDeviceMessageDto;
+import com.enterprise.message.repository.DeviceSerialJdbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.nio.ByteBuffer;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class DeviceSerialRegistryTest {
+
+    private static final String SERIAL = "EST-ROZ-25-0001";
+
+    private DeviceSerialJdbcRepository repository;
+    private DeviceSerialRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(DeviceSerialJdbcRepository.class);
+        registry = new DeviceSerialRegistry(repository, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void register_RecordsRequestSerialAgainstFrameKey() {
+        registry.start();
+
+        registry.register(request(SERIAL, 0x0A0B0C0D));
+        registry.register(request(SERIAL, 0x0A0B0C0D));
+
+        assertEquals("#0A0B0C0D", registry.deviceKey(SERIAL));
+        // 대응이 바뀌지 않았으면 다시 쓰지 않음
+        verify(repository, times(1)).upsert(eq(SERIAL), eq("#0A0B0C0D"), anyLong());
+
+        registry.register(request(SERIAL, 0x01020304));
+        assertEquals("#01020304", registry.deviceKey(SERIAL));
+        verify(repository).upsert(eq(SERIAL), eq("#01020304"), anyLong());
+    }
+
+    @Test
+    void register_IgnoresNonRequestAndUnidentifiedFrames() {
+        IoTDeviceMessageDto response = request(SERIAL, 0x0A0B0C0D);
+        response.setMessageType(IoTDeviceMessageDto.MessageType.RESPONSE);
+        registry.register(response);
+        registry.register(request(null, 0x0A0B0C0D));
+        registry.register(request(SERIAL, 0));
+
+        verify(repository, never()).upsert(anyString(), anyString(), anyLong());
+    }
+
+    @Test
+    void register_FailedWriteIsRetriedOnNextRequest() {
+        doThrow(new DataAccessResourceFailureException("down")).doNothing()
+                .when(repository).upsert(anyString(), anyString(), anyLong());
+
+        registry.register(request(SERIAL, 0x0A0B0C0D));
+        registry.register(request(SERIAL, 0x0A0B0C0D));
+
+        verify(repository, times(2)).upsert(eq(SERIAL), eq("#0A0B0C0D"), anyLong());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deviceKey_LoadedOnStartAndFallsBackToRepository() {
+        doAnswer(invocation -> {
+            ((BiConsumer<String, String>) invocation.getArgument(0)).accept(SERIAL, "#0A0B0C0D");
+            return null;
+        }).when(repository).loadAll(any());
+        when(repository.findDeviceKey("EST-OTHER")).thenReturn("#00000042");
+
+        registry.start();
+
+        assertEquals("#0A0B0C0D", registry.deviceKey(SERIAL));
+        assertEquals("#00000042", registry.deviceKey("EST-OTHER"));
+        assertEquals("#00000042", registry.deviceKey("EST-OTHER"));
+        assertNull(registry.deviceKey("EST-UNKNOWN"));
+        verify(repository, never()).findDeviceKey(SERIAL);
+        verify(repository, times(1)).findDeviceKey("EST-OTHER");
+    }
+
+    private static IoTDeviceMessageDto request(String serialNo, int deviceId) {
+        byte[] frame = new byte[24];
+        ByteBuffer.wrap(frame).putInt(deviceId);
+        return IoTDeviceMessageDto.builder()
+                .messageId("m")
+                .deviceId(serialNo)
+                .messageType(IoTDeviceMessageDto.MessageType.REQUEST)
+                .frame(frame)
+                .build();
+    }
+}
@@ -0,0 +1,157 @@
+package com.enterprise.message.service;
+
+import com.enterprise.message.config.CommandFanoutProperties;
+import com.enterprise.message.dto.iot.BulkCommandJobDto;
+import com.enterprise.message.dto.iot.BulkCommandRequestDto;
+import com.enterprise.message.dto.iot.IoTCommandDto;
+import com.enterprise.message.dto.iot.IoTDeviceMessageDto;
+import com.enterprise.message.kafka.IoTCommandProducer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.SendResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class IoTCommandFanoutServiceTest {
+
+    private static final List<String> ROZ_25 = List.of("EST-ROZ-25-0001", "EST-ROZ-25-0002", "EST-ROZ-25-0003");
+
+    private CommandFanoutProperties properties;
+    private DeviceSerialRegistry serialRegistry;
+    private IoTCommandProducer commandProducer;
+    private IoTCommandFanoutService service;
+    private final List<IoTCommandDto> sent = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        properties = new CommandFanoutProperties();
+        properties.setRatePerSecond(100_000);
+        properties.setTags(Map.of("roz-2025", List.of("EST-ROZ-25*", "EST-ROZ-24-0009", "EST-ROZ-25-0001")));
+
+        serialRegistry = mock(DeviceSerialRegistry.class);
+        doAnswer(invocation -> {
+            String prefix = invocation.getArgument(0);
+            Consumer<String> consumer = invocation.getArgument(1);
+            ROZ_25.stream().filter(serial -> serial.startsWith(prefix)).forEach(consumer);
+            return null;
+        }).when(serialRegistry).findSerialsByPrefix(anyString(), any());
+
+        commandProducer = mock(IoTCommandProducer.class);
+        when(commandProducer.sendCommands(anyList())).thenAnswer(invocation -> {
+            List<IoTCommandDto> commands = invocation.getArgument(0);
+            sent.addAll(commands);
+            List<CompletableFuture<SendResult<String, Object>>> futures = new ArrayList<>();
+            commands.forEach(command -> futures.add(CompletableFuture.completedFuture(null)));
+            return futures;
+        });
+
+        service = new IoTCommandFanoutService(properties, serialRegistry, commandProducer, new SimpleMeterRegistry());
+        service.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+    }
+
+    @Test
+    void submit_PrefixResolvesRegisteredSerials() throws InterruptedException {
+        BulkCommandJobDto job = service.submit(request(BulkCommandRequestDto.Selector.builder().prefix("EST-ROZ-25*").build()));
+
+        BulkCommandJobDto done = awaitFinished(job.getJobId());
+
+        // device_state 의 "#" + Hex key 가 아니라 등록된 Serial Number 로 풀림
+        verify(serialRegistry).findSerialsByPrefix(eq("EST-ROZ-25"), any());
+        assertEquals(BulkCommandJobDto.Status.COMPLETED, done.getStatus());
+        assertEquals(3, done.getTotal());
+        assertEquals(3, done.getSent());
+        assertEquals(ROZ_25, sent.stream().map(IoTCommandDto::getDeviceId).toList());
+        assertEquals("prefix=EST-ROZ-25*", done.getSelector());
+    }
+
+    @Test
+    void submit_TagCombinesPatternsWithoutDuplicates() throws InterruptedException {
+        BulkCommandJobDto job = service.submit(request(BulkCommandRequestDto.Selector.builder().tag("roz-2025").build()));
+
+        BulkCommandJobDto done = awaitFinished(job.getJobId());
+
+        assertEquals(BulkCommandJobDto.Status.COMPLETED, done.getStatus());
+        assertEquals(List.of("EST-ROZ-25-0001", "EST-ROZ-25-0002", "EST-ROZ-25-0003", "EST-ROZ-24-0009"),
+                sent.stream().map(IoTCommandDto::getDeviceId).toList());
+        assertEquals(4, sent.stream().map(IoTCommandDto::getCommandId).distinct().count());
+    }
+
+    @Test
+    void submit_PrefixMatchingNoRegisteredSerialCompletesEmpty() throws InterruptedException {
+        BulkCommandJobDto job = service.submit(request(BulkCommandRequestDto.Selector.builder().prefix("EST-XYZ").build()));
+
+        BulkCommandJobDto done = awaitFinished(job.getJobId());
+
+        assertEquals(BulkCommandJobDto.Status.COMPLETED, done.getStatus());
+        assertEquals(0, done.getTotal());
+        verify(commandProducer, never()).sendCommands(anyList());
+    }
+
+    @Test
+    void submit_TooManyMatchesFailsJob() throws InterruptedException {
+        properties.setMaxDevices(2);
+
+        BulkCommandJobDto job = service.submit(request(BulkCommandRequestDto.Selector.builder().prefix("EST-ROZ").build()));
+
+        BulkCommandJobDto done = awaitFinished(job.getJobId());
+        assertEquals(BulkCommandJobDto.Status.FAILED, done.getStatus());
+        assertTrue(done.getError().contains("more than 2"));
+        assertTrue(sent.isEmpty());
+    }
+
+    @Test
+    void submit_RejectsInvalidSelectors() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.submit(request(new BulkCommandRequestDto.Selector())));
+        assertThrows(IllegalArgumentException.class, () -> service.submit(request(
+                BulkCommandRequestDto.Selector.builder().prefix("EST").tag("roz-2025").build())));
+        assertThrows(IllegalArgumentException.class, () -> service.submit(request(
+                BulkCommandRequestDto.Selector.builder().prefix("**").build())));
+        assertThrows(IllegalArgumentException.class, () -> service.submit(request(
+                BulkCommandRequestDto.Selector.builder().tag("unknown").build())));
+
+        BulkCommandRequestDto tooFast = request(BulkCommandRequestDto.Selector.builder().prefix("EST").build());
+        tooFast.setRatePerSecond(properties.getRatePerSecond() + 1);
+        assertThrows(IllegalArgumentException.class, () -> service.submit(tooFast));
+    }
+
+    private static BulkCommandRequestDto request(BulkCommandRequestDto.Selector selector) {
+        BulkCommandRequestDto request = new BulkCommandRequestDto();
+        request.setSelector(selector);
+        request.setMessageType(IoTDeviceMessageDto.MessageType.FOTA);
+        request.setPayload("v2.1.0");
+        return request;
+    }
+
+    private BulkCommandJobDto awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (System.currentTimeMillis() < deadline) {
+            BulkCommandJobDto job = service.get(jobId);
+            if (job.getFinishedAt() != null) {
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        fail("Job did not finish: " + jobId);
+        return null;
+    }
+}
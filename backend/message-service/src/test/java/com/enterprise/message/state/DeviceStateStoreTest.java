@@ -0,0 +1,193 @@
+package com.enterprise.message.state;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeviceStateStoreTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    @Test
+    void update_InsertsThenOverwrites() {
+        DeviceStateStore store = new DeviceStateStore(100, 8, 4);
+
+        assertEquals(DeviceStateStore.UpdateResult.INSERTED,
+                store.update("SN-0001", 1, 0, NOW - 10, new byte[]{1, 2, 3, 4}, NOW));
+        assertEquals(DeviceStateStore.UpdateResult.UPDATED,
+                store.update("SN-0001", 2, 1, NOW + 5, new byte[]{9}, NOW + 10));
+
+        DeviceStateSnapshot state = store.get("SN-0001");
+        assertNotNull(state);
+        assertEquals("SN-0001", state.deviceId());
+        assertEquals(2, state.messageType());
+        assertEquals(1, state.qos());
+        assertEquals(NOW + 5, state.receivedAt());
+        assertEquals(NOW + 10, state.updatedAt());
+        assertEquals(2, state.messageCount());
+        assertEquals(1, state.frameLength());
+        // 짧은 프레임으로 덮어쓰면 이전 스냅샷의 나머지 바이트가 남지 않아야 함
+        assertArrayEquals(new byte[]{9}, state.snapshot());
+        assertFalse(state.truncated());
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void update_TruncatesSnapshotToConfiguredBytes() {
+        DeviceStateStore store = new DeviceStateStore(10, 4, 1);
+
+        store.update("SN-0001", 1, 0, NOW, new byte[]{1, 2, 3, 4, 5, 6}, NOW);
+        DeviceStateSnapshot state = store.get("SN-0001");
+
+        assertArrayEquals(new byte[]{1, 2, 3, 4}, state.snapshot());
+        assertEquals(6, state.frameLength());
+        assertTrue(state.truncated());
+
+        store.update("SN-0001", 1, 0, NOW, null, NOW);
+        state = store.get("SN-0001");
+        assertEquals(0, state.snapshot().length);
+        assertEquals(0, state.frameLength());
+    }
+
+    @Test
+    void update_RejectsInvalidKeys() {
+        DeviceStateStore store = new DeviceStateStore(10, 4, 1);
+
+        assertEquals(DeviceStateStore.UpdateResult.REJECTED_KEY, store.update(null, 1, 0, NOW, null, NOW));
+        assertEquals(DeviceStateStore.UpdateResult.REJECTED_KEY, store.update("", 1, 0, NOW, null, NOW));
+        assertEquals(DeviceStateStore.UpdateResult.REJECTED_KEY, store.update("SN 0001", 1, 0, NOW, null, NOW));
+        assertEquals(DeviceStateStore.UpdateResult.REJECTED_KEY,
+                store.update("X".repeat(DeviceStateStore.MAX_KEY_LENGTH + 1), 1, 0, NOW, null, NOW));
+        assertEquals(DeviceStateStore.UpdateResult.INSERTED,
+                store.update("X".repeat(DeviceStateStore.MAX_KEY_LENGTH), 1, 0, NOW, null, NOW));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void probe_CollidingKeysWrapAroundPartitionEnd() {
+        // 파티션 1개, maxDevices 20 → 슬롯 30개 (ceil(20 / 0.7) + 1)
+        int capacity = 30;
+        DeviceStateStore store = new DeviceStateStore(20, 4, 1);
+
+        // 마지막 슬롯을 홈 슬롯으로 갖는 키 3개 → 29, 0, 1 로 선형 탐색
+        List<String> colliding = new ArrayList<>();
+        for (int i = 0; colliding.size() < 3; i++) {
+            String key = "DEV-" + i;
+            if ((DeviceStateStore.hash(key) & 0xFFFFFFFFL) % capacity == capacity - 1) {
+                colliding.add(key);
+            }
+        }
+        for (int i = 0; i < colliding.size(); i++) {
+            assertEquals(DeviceStateStore.UpdateResult.INSERTED,
+                    store.update(colliding.get(i), i, 0, NOW, new byte[]{(byte) i}, NOW));
+        }
+
+        for (int i = 0; i < colliding.size(); i++) {
+            DeviceStateSnapshot state = store.get(colliding.get(i));
+            assertNotNull(state, colliding.get(i));
+            assertEquals(i, state.messageType());
+            assertArrayEquals(new byte[]{(byte) i}, state.snapshot());
+        }
+        // 같은 홈 슬롯의 없는 키는 빈 슬롯에서 탐색이 끝나야 함
+        String absent = null;
+        for (int i = 1_000; absent == null; i++) {
+            String key = "DEV-" + i;
+            if ((DeviceStateStore.hash(key) & 0xFFFFFFFFL) % capacity == capacity - 1) {
+                absent = key;
+            }
+        }
+        assertNull(store.get(absent));
+
+        // 겹친 키를 갱신해도 새 슬롯을 쓰지 않음
+        assertEquals(DeviceStateStore.UpdateResult.UPDATED,
+                store.update(colliding.get(2), 7, 0, NOW, null, NOW));
+        assertEquals(3, store.size());
+    }
+
+    @Test
+    void update_RejectsNewDevicesWhenFullButKeepsUpdatingExisting() {
+        DeviceStateStore store = new DeviceStateStore(20, 4, 1);
+        for (int i = 0; i < 20; i++) {
+            assertEquals(DeviceStateStore.UpdateResult.INSERTED, store.update("DEV-" + i, 1, 0, NOW, null, NOW));
+        }
+
+        assertEquals(DeviceStateStore.UpdateResult.REJECTED_FULL, store.update("DEV-NEW", 1, 0, NOW, null, NOW));
+        assertNull(store.get("DEV-NEW"));
+        assertEquals(DeviceStateStore.UpdateResult.UPDATED, store.update("DEV-7", 1, 0, NOW, null, NOW));
+        assertEquals(20, store.size());
+        for (int i = 0; i < 20; i++) {
+            assertNotNull(store.get("DEV-" + i));
+        }
+    }
+
+    @Test
+    void drainDirty_ReturnsEachChangedDeviceOnce() {
+        DeviceStateStore store = new DeviceStateStore(100, 4, 4);
+        for (int i = 0; i < 10; i++) {
+            store.update("DEV-" + i, 1, 0, NOW, null, NOW);
+        }
+        store.update("DEV-3", 1, 0, NOW, null, NOW + 1);
+        assertEquals(10, store.dirtyCount());
+
+        List<DeviceStateSnapshot> out = new ArrayList<>();
+        assertEquals(4, store.drainDirty(4, out));
+        assertEquals(6, store.drainDirty(100, out));
+        assertEquals(10, out.stream().map(DeviceStateSnapshot::deviceId).distinct().count());
+        assertEquals(0, store.dirtyCount());
+
+        out.clear();
+        assertEquals(0, store.drainDirty(100, out));
+
+        store.update("DEV-5", 1, 0, NOW, null, NOW + 2);
+        assertEquals(1, store.drainDirty(100, out));
+        assertEquals("DEV-5", out.get(0).deviceId());
+        assertEquals(2, out.get(0).messageCount());
+    }
+
+    @Test
+    void markDirty_RequeuesFailedFlush() {
+        DeviceStateStore store = new DeviceStateStore(100, 4, 4);
+        store.update("DEV-1", 1, 0, NOW, null, NOW);
+        store.update("DEV-2", 1, 0, NOW, null, NOW);
+
+        List<DeviceStateSnapshot> failed = new ArrayList<>();
+        store.drainDirty(100, failed);
+        assertEquals(0, store.dirtyCount());
+
+        store.markDirty(failed);
+        assertEquals(2, store.dirtyCount());
+
+        // 저장소에 없는 디바이스는 무시
+        store.markDirty(List.of(new DeviceStateSnapshot("DEV-9", 1, 0, NOW, NOW, 1, 0, new byte[0])));
+        assertEquals(2, store.dirtyCount());
+        assertNull(store.get("DEV-9"));
+    }
+
+    @Test
+    void restore_LoadsOnlyUnknownDevicesWithoutMarkingDirty() {
+        DeviceStateStore store = new DeviceStateStore(100, 4, 4);
+        store.update("DEV-1", 1, 0, NOW, new byte[]{1}, NOW);
+        store.drainDirty(100, new ArrayList<>());
+
+        assertTrue(store.restore(new DeviceStateSnapshot("DEV-2", 3, 1, NOW - 100, NOW - 50, 42, 10, new byte[]{5, 6})));
+        assertFalse(store.restore(new DeviceStateSnapshot("DEV-1", 3, 1, NOW - 100, NOW - 50, 42, 1, new byte[]{7})));
+        assertEquals(0, store.dirtyCount());
+
+        DeviceStateSnapshot restored = store.get("DEV-2");
+        assertEquals(42, restored.messageCount());
+        assertEquals(10, restored.frameLength());
+        assertArrayEquals(new byte[]{5, 6}, restored.snapshot());
+        assertTrue(restored.truncated());
+
+        // 메모리에 있던 최신 상태는 DB 값으로 덮어쓰지 않음
+        assertArrayEquals(new byte[]{1}, store.get("DEV-1").snapshot());
+        assertEquals(1, store.get("DEV-1").messageCount());
+
+        store.update("DEV-2", 1, 0, NOW, null, NOW);
+        assertEquals(43, store.get("DEV-2").messageCount());
+        assertEquals(1, store.dirtyCount());
+    }
+}
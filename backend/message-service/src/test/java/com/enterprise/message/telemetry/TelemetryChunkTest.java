@@ -0,0 +1,207 @@
+package com.enterprise.message.telemetry;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TelemetryChunkTest {
+
+    private static final long T0 = 1_700_000_000_000L;
+
+    @Test
+    void timestamps_RoundTripEveryDeltaOfDeltaBucket() {
+        // delta-of-delta: 0, ±7비트 경계, ±9비트 경계, ±12비트 경계, 32비트
+        long[] deltas = {1_000, 1_000, 1_063, 999, 1_254, 998, 3_045, 997, 100_000, 1_000, 0, 0, 2_048_000, 1};
+        long[] timestamps = new long[deltas.length + 1];
+        timestamps[0] = T0;
+        for (int i = 0; i < deltas.length; i++) {
+            timestamps[i + 1] = timestamps[i] + deltas[i];
+        }
+
+        double[][] values = new double[timestamps.length][];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = new double[]{i};
+        }
+
+        assertRoundTrip(timestamps, values);
+    }
+
+    @Test
+    void timestamps_RoundTripExtremeSignedDeltaOfDelta() {
+        long[] timestamps = {T0, T0 + 64, T0 + 64, T0 + 64 + 255 + 1, T0 + 64 + 256, T0 + 64 + 256 + 2047,
+                T0 + 64 + 256 + 2047, T0 + Integer.MAX_VALUE / 2, T0 + Integer.MAX_VALUE / 2};
+        double[][] values = new double[timestamps.length][];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = new double[]{0.5};
+        }
+
+        assertRoundTrip(timestamps, values);
+    }
+
+    @Test
+    void values_RoundTripFullWidthXor() {
+        // XOR 의 leading / trailing 이 모두 0 → 유효 비트 64 (6비트 필드 0 으로 기록)
+        long full = 0x8000_0000_0000_0001L;
+        double a = Double.longBitsToDouble(0x3FF0_0000_0000_0000L);
+        double b = Double.longBitsToDouble(0x3FF0_0000_0000_0000L ^ full);
+        double c = Double.longBitsToDouble(0x3FF0_0000_0000_0000L ^ 0x0000_0000_0000_0101L);
+
+        // b → a 는 같은 64비트 블록 재사용('10'), c 는 블록 안에 들어가므로 역시 재사용
+        assertRoundTrip(timestamps(5), new double[][]{{a}, {b}, {a}, {c}, {b}});
+    }
+
+    @Test
+    void values_RoundTripLeadingZerosCappedAt31() {
+        // 최하위 비트만 다른 XOR → leading 63 이지만 5비트 필드에는 31 로 기록, 유효 비트 33
+        long base = Double.doubleToRawLongBits(21.5);
+        double[][] values = {
+                {21.5},
+                {Double.longBitsToDouble(base ^ 1L)},
+                {21.5},
+                {Double.longBitsToDouble(base ^ (1L << 32))},
+                {Double.longBitsToDouble(base ^ (1L << 31))},
+                {21.5}
+        };
+
+        assertRoundTrip(timestamps(values.length), values);
+    }
+
+    @Test
+    void values_RoundTripNaNChannelsBitExact() {
+        double otherNaN = Double.longBitsToDouble(0x7FF8_0000_0000_00FFL);
+        double[][] values = {
+                {Double.NaN, 1.0, -0.0},
+                {Double.NaN, 1.5, 0.0},
+                {12.25, Double.NaN, Double.NEGATIVE_INFINITY},
+                {otherNaN, Double.NaN, Double.POSITIVE_INFINITY},
+                {Double.NaN, 2.0, Double.MIN_VALUE},
+                {Double.NaN, 2.0, Double.MAX_VALUE}
+        };
+
+        assertRoundTrip(timestamps(values.length), values);
+    }
+
+    @Test
+    void read_RandomWalkRoundTrip() {
+        Random random = new Random(42);
+        int samples = 20_000;
+        long[] timestamps = new long[samples];
+        double[][] values = new double[samples][];
+        long ts = T0;
+        double temperature = 20.0;
+        for (int i = 0; i < samples; i++) {
+            ts += 1_000 + random.nextInt(41) - 20;
+            temperature += random.nextGaussian() * 0.1;
+            timestamps[i] = ts;
+            values[i] = new double[]{
+                    Math.round(temperature * 10) / 10.0,
+                    random.nextInt(4096),
+                    random.nextDouble(),
+                    i % 100 == 0 ? Double.NaN : 230.0
+            };
+        }
+
+        assertRoundTrip(timestamps, values);
+    }
+
+    @Test
+    void read_FiltersHalfOpenRange() {
+        long[] timestamps = timestamps(10);
+        double[][] values = new double[10][];
+        for (int i = 0; i < 10; i++) {
+            values[i] = new double[]{i};
+        }
+        ByteBuffer chunk = ByteBuffer.wrap(write(timestamps, values).toByteArray());
+
+        List<Long> seen = new ArrayList<>();
+        TelemetryChunkReader.read(chunk, timestamps[2], timestamps[5], (t, v) -> seen.add(t));
+        assertEquals(List.of(timestamps[2], timestamps[3], timestamps[4]), seen);
+
+        seen.clear();
+        TelemetryChunkReader.read(chunk, timestamps[9] + 1, Long.MAX_VALUE, (t, v) -> seen.add(t));
+        assertTrue(seen.isEmpty());
+    }
+
+    @Test
+    void toByteArray_CanBeTakenWhileAppending() {
+        TelemetryChunkWriter writer = new TelemetryChunkWriter("SN-0001", T0, 1);
+        writer.append(T0, new double[]{1.0});
+        writer.append(T0 + 1_000, new double[]{2.0});
+        byte[] partial = writer.toByteArray();
+        writer.append(T0 + 2_000, new double[]{3.0});
+
+        assertEquals(2, readAll(ByteBuffer.wrap(partial)).size());
+        TelemetryChunkReader.Header header = TelemetryChunkReader.readHeader(ByteBuffer.wrap(writer.toByteArray()));
+        assertEquals("SN-0001", header.deviceId());
+        assertEquals(T0, header.windowStart());
+        assertEquals(T0, header.firstTs());
+        assertEquals(T0 + 2_000, header.lastTs());
+        assertEquals(3, header.count());
+        assertEquals(1, header.channelCount());
+    }
+
+    @Test
+    void bits_RoundTripMixedWidths() {
+        BitOutput out = new BitOutput(1);
+        Random random = new Random(7);
+        int[] widths = new int[2_000];
+        long[] written = new long[widths.length];
+        for (int i = 0; i < widths.length; i++) {
+            widths[i] = 1 + random.nextInt(64);
+            written[i] = random.nextLong();
+            out.write(written[i], widths[i]);
+        }
+        ByteBuffer bytes = ByteBuffer.allocate(out.byteLength());
+        out.copyTo(bytes);
+
+        BitInput in = new BitInput(bytes, 0, out.bitLength());
+        for (int i = 0; i < widths.length; i++) {
+            long mask = widths[i] == 64 ? -1L : (1L << widths[i]) - 1;
+            assertEquals(written[i] & mask, in.read(widths[i]), "value " + i + " width " + widths[i]);
+        }
+        assertThrows(IllegalStateException.class, () -> in.read(8));
+    }
+
+    private static void assertRoundTrip(long[] timestamps, double[][] values) {
+        TelemetryChunkWriter writer = write(timestamps, values);
+        List<Object[]> decoded = readAll(ByteBuffer.wrap(writer.toByteArray()));
+
+        assertEquals(timestamps.length, decoded.size());
+        for (int i = 0; i < timestamps.length; i++) {
+            assertEquals(timestamps[i], (long) decoded.get(i)[0], "timestamp " + i);
+            double[] actual = (double[]) decoded.get(i)[1];
+            for (int c = 0; c < values[i].length; c++) {
+                assertEquals(Double.doubleToRawLongBits(values[i][c]), Double.doubleToRawLongBits(actual[c]),
+                        "sample " + i + " channel " + c);
+            }
+        }
+    }
+
+    private static TelemetryChunkWriter write(long[] timestamps, double[][] values) {
+        TelemetryChunkWriter writer = new TelemetryChunkWriter("SN-0001", T0, values[0].length);
+        for (int i = 0; i < timestamps.length; i++) {
+            writer.append(timestamps[i], values[i]);
+        }
+        return writer;
+    }
+
+    private static List<Object[]> readAll(ByteBuffer chunk) {
+        List<Object[]> decoded = new ArrayList<>();
+        TelemetryChunkReader.read(chunk, Long.MIN_VALUE, Long.MAX_VALUE,
+                (t, v) -> decoded.add(new Object[]{t, v.clone()}));
+        return decoded;
+    }
+
+    private static long[] timestamps(int count) {
+        long[] timestamps = new long[count];
+        for (int i = 0; i < count; i++) {
+            timestamps[i] = T0 + i * 1_000L;
+        }
+        return timestamps;
+    }
+}
@@ -0,0 +1,158 @@
+package com.enterprise.message.telemetry;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TelemetryStoreTest {
+
+    private static final long T0 = 1_700_000_000_000L;
+    private static final long HOUR = 3_600_000L;
+    private static final int SEGMENT_BYTES = 1 << 20;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recover_RestoresSealedChunksBitExactAfterRestart() throws IOException {
+        int devices = 50;
+        int samples = 20_000;
+        Random random = new Random(11);
+        long[][] timestamps = new long[devices][samples];
+        double[][][] values = new double[devices][samples][];
+
+        try (TelemetryStore store = new TelemetryStore(directory, 4 * SEGMENT_BYTES, 1L << 30, HOUR, 10_000, 3)) {
+            long[] ts = new long[devices];
+            double[] level = new double[devices];
+            Arrays.fill(ts, T0);
+            for (int i = 0; i < samples; i++) {
+                for (int d = 0; d < devices; d++) {
+                    ts[d] += 1_000 + random.nextInt(101) - 50;
+                    level[d] += random.nextGaussian();
+                    timestamps[d][i] = ts[d];
+                    values[d][i] = new double[]{Math.round(level[d]), random.nextInt(100) / 10.0, Double.NaN};
+                    assertEquals(TelemetryStore.AppendResult.STORED, store.append("DEV-" + d, ts[d], values[d][i]));
+                }
+            }
+        }
+
+        try (TelemetryStore reopened = new TelemetryStore(directory, 4 * SEGMENT_BYTES, 1L << 30, HOUR, 10_000, 3)) {
+            assertEquals(devices, reopened.deviceCount());
+            for (int d = 0; d < devices; d++) {
+                List<Long> seenTs = new ArrayList<>();
+                List<double[]> seenValues = new ArrayList<>();
+                reopened.query("DEV-" + d, Long.MIN_VALUE, Long.MAX_VALUE, (t, v) -> {
+                    seenTs.add(t);
+                    seenValues.add(v.clone());
+                });
+                assertEquals(samples, seenTs.size(), "DEV-" + d);
+                for (int i = 0; i < samples; i++) {
+                    assertEquals(timestamps[d][i], seenTs.get(i));
+                    for (int c = 0; c < 3; c++) {
+                        assertEquals(Double.doubleToRawLongBits(values[d][i][c]),
+                                Double.doubleToRawLongBits(seenValues.get(i)[c]));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void query_CombinesSealedAndOpenChunksInOrder() throws IOException {
+        try (TelemetryStore store = new TelemetryStore(directory, SEGMENT_BYTES, 8L * SEGMENT_BYTES, HOUR, 100, 1)) {
+            for (int i = 0; i < 250; i++) {
+                store.append("DEV-1", T0 + i * 1_000L, new double[]{i});
+            }
+            assertEquals(TelemetryStore.AppendResult.OUT_OF_ORDER, store.append("DEV-1", T0, new double[]{0}));
+            assertEquals(2, store.sealedChunks());
+
+            List<Double> seen = new ArrayList<>();
+            store.query("DEV-1", T0 + 95_000, T0 + 105_000, (t, v) -> seen.add(v[0]));
+            assertEquals(List.of(95.0, 96.0, 97.0, 98.0, 99.0, 100.0, 101.0, 102.0, 103.0, 104.0), seen);
+
+            seen.clear();
+            store.query("DEV-1", T0 + 248_000, Long.MAX_VALUE, (t, v) -> seen.add(v[0]));
+            assertEquals(List.of(248.0, 249.0), seen);
+        }
+    }
+
+    @Test
+    void recover_TruncatesTornTailAndResumesWriting() throws IOException {
+        List<Long> refs = new ArrayList<>();
+        try (TelemetrySegmentStore segments = new TelemetrySegmentStore(directory, SEGMENT_BYTES, 4L * SEGMENT_BYTES)) {
+            segments.recover((ref, chunk) -> fail("empty directory"));
+            for (int i = 0; i < 3; i++) {
+                refs.add(segments.append(chunk("DEV-" + i, T0 + i), T0 + i));
+            }
+        }
+
+        // 마지막 레코드의 데이터를 손상 → CRC 불일치
+        int tornOffset = (int) (long) refs.get(2);
+        try (FileChannel file = FileChannel.open(directory.resolve(String.format("%020d.seg", 0)),
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            file.write(ByteBuffer.wrap(new byte[]{(byte) 0xFF, (byte) 0xFF}), tornOffset + 8 + 2);
+        }
+
+        try (TelemetrySegmentStore segments = new TelemetrySegmentStore(directory, SEGMENT_BYTES, 4L * SEGMENT_BYTES)) {
+            List<String> recovered = new ArrayList<>();
+            segments.recover((ref, chunk) -> recovered.add(TelemetryChunkReader.readHeader(chunk).deviceId()));
+            assertEquals(List.of("DEV-0", "DEV-1"), recovered);
+
+            long ref = segments.append(chunk("DEV-9", T0 + 9), T0 + 9);
+            assertEquals(refs.get(2), ref);
+        }
+
+        try (TelemetrySegmentStore segments = new TelemetrySegmentStore(directory, SEGMENT_BYTES, 4L * SEGMENT_BYTES)) {
+            List<String> recovered = new ArrayList<>();
+            segments.recover((ref, chunk) -> recovered.add(TelemetryChunkReader.readHeader(chunk).deviceId()));
+            assertEquals(List.of("DEV-0", "DEV-1", "DEV-9"), recovered);
+        }
+    }
+
+    @Test
+    void append_RollsSegmentsAndDropsOldestOverDiskLimit() throws IOException {
+        int segmentBytes = 4_096;
+        try (TelemetrySegmentStore segments = new TelemetrySegmentStore(directory, segmentBytes, 3L * segmentBytes)) {
+            segments.recover((ref, chunk) -> {
+            });
+            byte[] chunk = chunk("DEV-1", T0);
+            List<Long> refs = new ArrayList<>();
+            // 레코드 약 115바이트 → 세그먼트당 35개, 200개면 6개 세그먼트
+            for (int i = 0; i < 200; i++) {
+                refs.add(segments.append(chunk, T0 + i * HOUR));
+            }
+
+            assertEquals(3, segments.segmentCount());
+            assertTrue(segments.firstSegment() > 0);
+            assertNull(segments.read(refs.get(0)));
+            ByteBuffer last = segments.read(refs.get(199));
+            assertEquals("DEV-1", TelemetryChunkReader.readHeader(last).deviceId());
+
+            // retention: 쓰기 중인 세그먼트는 남김
+            assertEquals(2, segments.deleteOlderThan(T0 + 1_000 * HOUR));
+            assertEquals(1, segments.segmentCount());
+            assertNotNull(segments.read(refs.get(199)));
+
+            assertEquals(-1, segments.append(new byte[segmentBytes], T0));
+        }
+    }
+
+    private static byte[] chunk(String deviceId, long timestamp) {
+        TelemetryChunkWriter writer = new TelemetryChunkWriter(deviceId, timestamp, 2);
+        for (int i = 0; i < 10; i++) {
+            writer.append(timestamp + i * 1_000L, new double[]{i, Double.NaN});
+        }
+        return writer.toByteArray();
+    }
+}
@@ -0,0 +1,76 @@
+package com.enterprise.mqtt.codec;
+
+import com.amazonaws.services.iot.client.AWSIotMessage;
+import com.enterprise.mqtt.dto.MqttMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * DevicePayloadDecoder vs 기존 handleMessage 디코딩 경로
+ *
+ * 실행: ./gradlew jmh -Pjmh.includes=DevicePayloadDecoderBenchmark
+ * (-prof gc 결과의 gc.alloc.rate.norm 으로 메시지당 할당량 비교)
+ */
+@State(Scope.Thread)
+public class DevicePayloadDecoderBenchmark {
+
+    private static final int SAMPLE_SIZE = 1024;
+
+    private AWSIotMessage[] messages;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<AWSIotMessage> samples = DeviceTrafficSamples.messages(SAMPLE_SIZE, 42L);
+        messages = samples.toArray(new AWSIotMessage[0]);
+
+        // 두 경로의 결과 필드가 동일한지 확인 (messageId, receivedAt 제외)
+        for (AWSIotMessage message : messages) {
+            MqttMessage expected = LegacyPayloadDecoder.decode(message, 0);
+            MqttMessage actual = DevicePayloadDecoder.current().decode(
+                    message.getTopic(), message.getPayload(), isBinary(message.getTopic()), 0);
+            if (!sameFields(expected, actual)) {
+                throw new IllegalStateException("Decoder mismatch for topic " + message.getTopic()
+                        + ": expected " + expected + ", actual " + actual);
+            }
+        }
+    }
+
+    @Benchmark
+    public MqttMessage legacyHandleMessage() {
+        return LegacyPayloadDecoder.decode(next(), 0);
+    }
+
+    @Benchmark
+    public MqttMessage devicePayloadDecoder() {
+        AWSIotMessage message = next();
+        return DevicePayloadDecoder.current().decode(
+                message.getTopic(), message.getPayload(), isBinary(message.getTopic()), 0);
+    }
+
+    private AWSIotMessage next() {
+        AWSIotMessage message = messages[cursor];
+        cursor = (cursor + 1) & (SAMPLE_SIZE - 1);
+        return message;
+    }
+
+    private static boolean isBinary(String topic) {
+        return DeviceTrafficSamples.TOPIC_A0.equals(topic) || DeviceTrafficSamples.TOPIC_B0.equals(topic);
+    }
+
+    private static boolean sameFields(MqttMessage a, MqttMessage b) {
+        return Objects.equals(a.getTopic(), b.getTopic())
+                && a.getMessageType() == b.getMessageType()
+                && Objects.equals(a.getDeviceId(), b.getDeviceId())
+                && Objects.equals(a.getRawMessage(), b.getRawMessage())
+                && Objects.equals(a.getParsedMessage(),
+                        b.getFrame() != null ? HexCodec.toHexString(b.getFrame()) : null)
+                && Objects.equals(a.getQos(), b.getQos());
+    }
+}
@@ -0,0 +1,102 @@
+package com.enterprise.mqtt.codec;
+
+import com.amazonaws.services.iot.client.AWSIotMessage;
+import com.amazonaws.services.iot.client.AWSIotQos;
+import com.enterprise.mqtt.dto.MqttMessage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 벤치마크용 디바이스 트래픽 샘플
+ * 실제 단말 프레임 구조를 따르는 A0/B0 Base64 프레임과 C0 평문 메시지를 고정 시드로 생성하거나,
+ * 수집한 트래픽 파일(한 줄에 "토픽\t페이로드")을 읽어 온다.
+ *
+ * - REQUEST: deviceID[0-3] = 0, topicType[4], serialNo[5-21], body[22-]
+ * - 그 외: deviceID[0-3] != 0, topicType[4], body[5-] (serialNo 없음)
+ */
+public final class DeviceTrafficSamples {
+
+    public static final String TOPIC_A0 = "device/topic/A0";
+    public static final String TOPIC_B0 = "device/topic/B0";
+    public static final String TOPIC_C0 = "device/topic/C0";
+
+    private DeviceTrafficSamples() {
+    }
+
+    /**
+     * 트래픽 구성: PERIODIC 70%, DISCRETE 10%, REQUEST 10%, RESPONSE 5%, PLAINTEXT 5%
+     */
+    public static List<AWSIotMessage> messages(int count, long seed) {
+        Random random = new Random(seed);
+        List<AWSIotMessage> messages = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            int pick = random.nextInt(100);
+            int device = random.nextInt(50_000);
+            String serialNo = String.format("EST-ROZ-25%07d", device);
+
+            if (pick < 95) {
+                int type = pick < 70 ? 0 : pick < 80 ? 1 : pick < 90 ? 2 : 3;
+                String topic = type == 3 ? TOPIC_B0 : TOPIC_A0;
+                byte[] frame = frame(random, type, device + 1, serialNo, type == 0 ? 96 : 48);
+                String payload = "\"" + Base64.getEncoder().encodeToString(frame) + "\"";
+                messages.add(new AWSIotMessage(topic, AWSIotQos.QOS0,
+                        payload.getBytes(StandardCharsets.UTF_8)));
+            } else {
+                String payload = "\"INFO " + serialNo + " battery=" + random.nextInt(100) + "\"";
+                messages.add(new AWSIotMessage(TOPIC_C0, AWSIotQos.QOS0,
+                        payload.getBytes(StandardCharsets.UTF_8)));
+            }
+        }
+        return messages;
+    }
+
+    /**
+     * 수집한 트래픽 파일 로드 (빈 줄, # 주석 무시)
+     */
+    public static List<AWSIotMessage> load(Path file) {
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read traffic file " + file, e);
+        }
+
+        List<AWSIotMessage> messages = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            int tab = line.indexOf('\t');
+            if (line.isBlank() || line.startsWith("#") || tab < 0) {
+                continue;
+            }
+            messages.add(new AWSIotMessage(line.substring(0, tab), AWSIotQos.QOS0,
+                    line.substring(tab + 1).getBytes(StandardCharsets.UTF_8)));
+        }
+        return messages;
+    }
+
+    private static byte[] frame(Random random, int type, int deviceId, String serialNo, int bodyLength) {
+        boolean request = type == MqttMessage.MessageType.REQUEST.getCode();
+        int bodyOffset = request ? DeviceFrame.HEADER_LENGTH : DeviceFrame.SERIAL_NO_OFFSET;
+        byte[] frame = new byte[bodyOffset + bodyLength];
+        frame[DeviceFrame.TOPIC_TYPE_INDEX] = (byte) type;
+        if (request) {
+            byte[] serial = serialNo.getBytes(StandardCharsets.US_ASCII);
+            System.arraycopy(serial, 0, frame, DeviceFrame.SERIAL_NO_OFFSET, serial.length);
+        } else {
+            ByteBuffer.wrap(frame).putInt(deviceId);
+        }
+        for (int i = bodyOffset; i < frame.length; i++) {
+            frame[i] = (byte) random.nextInt(256);
+        }
+        return frame;
+    }
+}
@@ -0,0 +1,88 @@
+package com.enterprise.mqtt.codec;
+
+import com.amazonaws.services.iot.client.AWSIotMessage;
+import com.enterprise.mqtt.dto.MqttMessage;
+
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * 기존 MqttMessageListener.handleMessage 의 디코딩 경로 (비교 기준)
+ * getStringPayload → replaceAll → Base64 → String.format Hex → 정규식 검증
+ * 로깅과 Kafka 전송은 제외
+ */
+final class LegacyPayloadDecoder {
+
+    private LegacyPayloadDecoder() {
+    }
+
+    static MqttMessage decode(AWSIotMessage message, int qos) {
+        String topic = message.getTopic();
+        String payload = message.getStringPayload();
+        String cleanedPayload = payload.replaceAll("\"", "").trim();
+
+        MqttMessage.MessageType messageType = MqttMessage.MessageType.PLAINTEXT;
+        String deviceId = null;
+        String hexString = null;
+
+        if (topic.equals("device/topic/A0") || topic.equals("device/topic/B0")) {
+            byte[] byteArray;
+            try {
+                String base64Cleaned = cleanedPayload.replaceAll("\\s", "");
+                byteArray = Base64.getDecoder().decode(base64Cleaned);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+
+            if (byteArray.length > 4) {
+                messageType = MqttMessage.MessageType.fromCode(byteArray[4]);
+                deviceId = extractDeviceIdFromPayload(byteArray, messageType);
+                hexString = bytesToHex(byteArray);
+            }
+        }
+
+        return MqttMessage.builder()
+                .messageId(UUID.randomUUID().toString())
+                .topic(topic)
+                .messageType(messageType)
+                .deviceId(deviceId)
+                .rawMessage(cleanedPayload)
+                .parsedMessage(hexString)
+                .qos(qos)
+                .receivedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static String extractDeviceIdFromPayload(byte[] byteArray, MqttMessage.MessageType messageType) {
+        try {
+            byte[] serialNoBytes = new byte[20];
+            if (messageType == MqttMessage.MessageType.REQUEST) {
+                if (byteArray.length < 22) {
+                    return null;
+                }
+                System.arraycopy(byteArray, 5, serialNoBytes, 0, 17);
+            } else {
+                System.arraycopy(byteArray, 0, serialNoBytes, 0, 4);
+            }
+
+            String deviceId = new String(serialNoBytes, "UTF-8").trim();
+            if (!deviceId.isEmpty() &&
+                    deviceId.matches("[\\x20-\\x7E]+") &&
+                    deviceId.startsWith("EST")) {
+                return deviceId;
+            }
+        } catch (Exception e) {
+            return null;
+        }
+        return null;
+    }
+
+    private static String bytesToHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(String.format("%02X", b));
+        }
+        return sb.toString();
+    }
+}
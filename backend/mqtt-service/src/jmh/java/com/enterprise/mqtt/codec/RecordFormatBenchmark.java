@@ -0,0 +1,150 @@
+package com.enterprise.mqtt.codec;
+
+import com.amazonaws.services.iot.client.AWSIotMessage;
+import com.enterprise.mqtt.dto.MqttMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Kafka 레코드 포맷별 직렬화 비용 / 크기 비교 (JSON vs compact)
+ *
+ * 실행: ./gradlew jmh -Pjmh.includes=RecordFormatBenchmark
+ * 수집한 트래픽 사용: java -jar build/libs/*-jmh.jar RecordFormatBenchmark -p trafficFile=/path/to/traffic.tsv
+ * (메시지당 평균 크기는 setup 시 표준 출력으로 출력)
+ */
+@State(Scope.Thread)
+public class RecordFormatBenchmark {
+
+    private static final int SAMPLE_SIZE = 1024;
+
+    /**
+     * 비어 있으면 DeviceTrafficSamples 의 고정 시드 샘플 사용
+     */
+    @Param({""})
+    public String trafficFile;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private MqttMessage[] messages;
+    private byte[][] jsonRecords;
+    private byte[][] compactRecords;
+    private int mask;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        List<AWSIotMessage> samples = trafficFile.isEmpty()
+                ? DeviceTrafficSamples.messages(SAMPLE_SIZE, 42L)
+                : DeviceTrafficSamples.load(Path.of(trafficFile));
+        if (samples.isEmpty()) {
+            throw new IllegalStateException("No traffic samples in " + trafficFile);
+        }
+
+        List<MqttMessage> decoded = new ArrayList<>(samples.size());
+        for (AWSIotMessage sample : samples) {
+            String topic = sample.getTopic();
+            boolean binary = DeviceTrafficSamples.TOPIC_A0.equals(topic) || DeviceTrafficSamples.TOPIC_B0.equals(topic);
+            decoded.add(DevicePayloadDecoder.current().decode(topic, sample.getPayload(), binary, 0));
+        }
+
+        // 순환 인덱스를 위해 2의 거듭제곱 크기로 채움
+        int size = Integer.highestOneBit(decoded.size() - 1 | 1) << 1;
+        messages = new MqttMessage[size];
+        jsonRecords = new byte[size][];
+        compactRecords = new byte[size][];
+        mask = size - 1;
+
+        long jsonBytes = 0;
+        long frameBytes = 0;
+        long compactBytes = 0;
+        for (int i = 0; i < size; i++) {
+            MqttMessage message = decoded.get(i % decoded.size());
+            messages[i] = message;
+            jsonRecords[i] = toJson(message);
+            compactRecords[i] = CompactMessageCodec.encode(message);
+
+            MqttMessage roundTrip = CompactMessageCodec.decode(compactRecords[i]);
+            if (!sameFields(message, roundTrip)) {
+                throw new IllegalStateException("Compact round trip mismatch: " + message + " -> " + roundTrip);
+            }
+
+            jsonBytes += jsonRecords[i].length;
+            compactBytes += compactRecords[i].length;
+            frameBytes += message.getFrame() != null ? message.getFrame().length : jsonRecords[i].length;
+        }
+        System.out.printf("%n[record size] messages=%d json=%.1f B, frame=%.1f B (headers excluded), compact=%.1f B%n",
+                size, (double) jsonBytes / size, (double) frameBytes / size, (double) compactBytes / size);
+    }
+
+    @Benchmark
+    public byte[] jsonSerialize() throws Exception {
+        return toJson(messages[next()]);
+    }
+
+    @Benchmark
+    public byte[] compactSerialize() {
+        return CompactMessageCodec.encode(messages[next()]);
+    }
+
+    @Benchmark
+    public MqttMessage jsonDeserialize() throws Exception {
+        return objectMapper.readValue(jsonRecords[next()], MqttMessage.class);
+    }
+
+    @Benchmark
+    public MqttMessage compactDeserialize() {
+        return CompactMessageCodec.decode(compactRecords[next()]);
+    }
+
+    /**
+     * KafkaProducerService.toJsonRecord 와 동일하게 프레임을 parsedMessage(Hex)로 채워 직렬화
+     */
+    private byte[] toJson(MqttMessage message) throws Exception {
+        if (message.getFrame() == null) {
+            return objectMapper.writeValueAsBytes(message);
+        }
+        // 샘플 메시지는 재사용하므로 Hex 를 채운 사본을 직렬화 (Hex 인코딩 비용 포함)
+        return objectMapper.writeValueAsBytes(MqttMessage.builder()
+                .messageId(message.getMessageId())
+                .topic(message.getTopic())
+                .messageType(message.getMessageType())
+                .deviceId(message.getDeviceId())
+                .rawMessage(message.getRawMessage())
+                .parsedMessage(HexCodec.toHexString(message.getFrame()))
+                .qos(message.getQos())
+                .receivedAt(message.getReceivedAt())
+                .build());
+    }
+
+    private int next() {
+        int i = cursor;
+        cursor = (cursor + 1) & mask;
+        return i;
+    }
+
+    private static boolean sameFields(MqttMessage a, MqttMessage b) {
+        return Objects.equals(a.getMessageId(), b.getMessageId())
+                && Objects.equals(a.getTopic(), b.getTopic())
+                && a.getMessageType() == b.getMessageType()
+                && Objects.equals(a.getDeviceId(), b.getDeviceId())
+                && Objects.equals(a.getQos(), b.getQos())
+                && Objects.equals(a.getReceivedAt(), b.getReceivedAt())
+                && Arrays.equals(a.getFrame(), b.getFrame())
+                && (a.getFrame() != null || Objects.equals(a.getRawMessage(), b.getRawMessage()));
+    }
+}
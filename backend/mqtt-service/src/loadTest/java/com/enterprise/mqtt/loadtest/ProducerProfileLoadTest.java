@@ -0,0 +1,224 @@
+package com.enterprise.mqtt.loadtest;
+
+import com.enterprise.mqtt.codec.DeviceFrame;
+import com.enterprise.mqtt.codec.RecordFormat;
+import com.enterprise.mqtt.config.KafkaProducerProfileProperties;
+import com.enterprise.mqtt.config.ProducerProfile;
+import com.enterprise.mqtt.partition.DeviceAwarePartitioner;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Kafka producer 프로필 부하 테스트 (DEFAULT vs INGEST)
+ *
+ * 임베디드 Kafka(KRaft)에 frame 포맷과 같은 레코드(PERIODIC/DISCRETE 프레임 value + iot-* 헤더, #deviceID key)를 전송하고
+ * 1. 최대 처리량 (msgs/s): 제한 없이 전송
+ * 2. 고정 전송률에서의 ack 지연 (p50/p99/max): --rate msgs/s 로 전송
+ * 을 프로필별로 비교한다.
+ *
+ * 실행: ./gradlew loadTest -PloadTestArgs="--messages=300000 --rate=20000 --partitions=6"
+ */
+public final class ProducerProfileLoadTest {
+
+    private static final String TOPIC = "device.data.topic";
+    private static final int DEVICES = 50_000;
+    private static final int SAMPLE_RECORDS = 4096;
+
+    private final String bootstrapServers;
+    private final int messages;
+    private final int rate;
+    private final ProducerRecord<String, byte[]>[] samples;
+
+    private ProducerProfileLoadTest(String bootstrapServers, int messages, int rate) {
+        this.bootstrapServers = bootstrapServers;
+        this.messages = messages;
+        this.rate = rate;
+        this.samples = sampleRecords(new Random(42L));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        int messages = Integer.parseInt(options.getOrDefault("messages", "300000"));
+        int rate = Integer.parseInt(options.getOrDefault("rate", "20000"));
+        int partitions = Integer.parseInt(options.getOrDefault("partitions", "6"));
+
+        EmbeddedKafkaKraftBroker broker = new EmbeddedKafkaKraftBroker(1, partitions, TOPIC);
+        broker.afterPropertiesSet();
+        try {
+            ProducerProfileLoadTest test = new ProducerProfileLoadTest(broker.getBrokersAsString(), messages, rate);
+
+            System.out.printf("%nmessages=%d, fixed rate=%d msgs/s, partitions=%d%n", messages, rate, partitions);
+            Result baseline = test.run(ProducerProfile.DEFAULT);
+            Result ingest = test.run(ProducerProfile.INGEST);
+
+            System.out.printf("%n%-8s %14s %12s %12s %12s %14s %12s%n",
+                    "profile", "max msgs/s", "p50 ms", "p99 ms", "max ms", "avg batch B", "compression");
+            baseline.print();
+            ingest.print();
+            System.out.printf("%nthroughput x%.2f, p99 %.2f ms -> %.2f ms%n",
+                    ingest.throughput / baseline.throughput, baseline.p99Millis, ingest.p99Millis);
+        } finally {
+            broker.destroy();
+        }
+    }
+
+    private Result run(ProducerProfile profile) throws InterruptedException {
+        KafkaProducerProfileProperties properties = new KafkaProducerProfileProperties();
+        properties.setActive(profile);
+
+        Map<String, Object> config = new HashMap<>();
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        config.put(ProducerConfig.PARTITIONER_CLASS_CONFIG, DeviceAwarePartitioner.class);
+        config.putAll(properties.producerOverrides());
+
+        try (KafkaProducer<String, byte[]> producer = new KafkaProducer<>(config)) {
+            // 워밍업 (메타데이터, 커넥션, JIT)
+            send(producer, Math.min(messages / 10, 20_000), 0, null);
+
+            long start = System.nanoTime();
+            send(producer, messages, 0, null);
+            double throughput = messages / ((System.nanoTime() - start) / 1e9);
+
+            long[] latencies = new long[messages];
+            send(producer, messages, rate, latencies);
+            Arrays.sort(latencies);
+
+            Result result = new Result(profile, throughput,
+                    percentile(latencies, 0.50), percentile(latencies, 0.99), latencies[latencies.length - 1] / 1e6,
+                    metric(producer, "batch-size-avg"), metric(producer, "compression-rate-avg"));
+            System.out.printf("%s done - %.0f msgs/s, p99 %.2f ms%n", profile, throughput, result.p99Millis);
+            return result;
+        }
+    }
+
+    /**
+     * count 개 전송 후 모든 ack 대기
+     *
+     * @param ratePerSecond 0 이면 제한 없음
+     * @param latencies     null 이 아니면 레코드별 send → ack 시간(ns) 기록
+     */
+    private void send(KafkaProducer<String, byte[]> producer, int count, int ratePerSecond, long[] latencies)
+            throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(count);
+        AtomicLong failures = new AtomicLong();
+        long intervalNanos = ratePerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / ratePerSecond : 0;
+        long start = System.nanoTime();
+
+        for (int i = 0; i < count; i++) {
+            if (intervalNanos > 0) {
+                long due = start + i * intervalNanos;
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+            }
+
+            int index = i;
+            long sentAt = System.nanoTime();
+            producer.send(samples[i & (SAMPLE_RECORDS - 1)], (metadata, exception) -> {
+                if (exception != null) {
+                    failures.incrementAndGet();
+                } else if (latencies != null) {
+                    latencies[index] = System.nanoTime() - sentAt;
+                }
+                done.countDown();
+            });
+        }
+
+        producer.flush();
+        done.await();
+        if (failures.get() > 0) {
+            throw new IllegalStateException(failures.get() + " records failed");
+        }
+    }
+
+    /**
+     * frame 포맷 레코드 샘플 (PERIODIC 96B / 그 외 48B body, 완만하게 변하는 센서 값)
+     */
+    @SuppressWarnings("unchecked")
+    private static ProducerRecord<String, byte[]>[] sampleRecords(Random random) {
+        ProducerRecord<String, byte[]>[] records = new ProducerRecord[SAMPLE_RECORDS];
+        for (int i = 0; i < SAMPLE_RECORDS; i++) {
+            int deviceId = random.nextInt(DEVICES) + 1;
+            String key = String.format("#%08X", deviceId);
+            int type = random.nextInt(100) < 80 ? 0 : 1;
+            byte[] frame = new byte[DeviceFrame.SERIAL_NO_OFFSET + (type == 0 ? 96 : 48)];
+            ByteBuffer.wrap(frame).putInt(deviceId);
+            frame[DeviceFrame.TOPIC_TYPE_INDEX] = (byte) type;
+            int value = random.nextInt(1000);
+            for (int p = DeviceFrame.SERIAL_NO_OFFSET; p + 1 < frame.length; p += 2) {
+                value += random.nextInt(5) - 2;
+                frame[p] = (byte) (value >> 8);
+                frame[p + 1] = (byte) value;
+            }
+
+            ProducerRecord<String, byte[]> record = new ProducerRecord<>(TOPIC, key, frame);
+            record.headers().add(RecordFormat.HEADER, RecordFormat.FRAME.headerBytes());
+            record.headers().add(DeviceFrame.HEADER_DEVICE_ID, null);
+            record.headers().add(DeviceFrame.HEADER_MESSAGE_ID, utf8(UUID.randomUUID().toString()));
+            record.headers().add(DeviceFrame.HEADER_MQTT_TOPIC, utf8("device/topic/B0"));
+            record.headers().add(DeviceFrame.HEADER_QOS, utf8("0"));
+            record.headers().add(DeviceFrame.HEADER_RECEIVED_AT, utf8(LocalDateTime.now().toString()));
+            records[i] = record;
+        }
+        return records;
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)] / 1e6;
+    }
+
+    private static double metric(KafkaProducer<String, byte[]> producer, String name) {
+        for (Map.Entry<MetricName, ? extends Metric> entry : producer.metrics().entrySet()) {
+            if (entry.getKey().group().equals("producer-metrics") && entry.getKey().name().equals(name)) {
+                Object value = entry.getValue().metricValue();
+                return value instanceof Number number ? number.doubleValue() : Double.NaN;
+            }
+        }
+        return Double.NaN;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+
+    private record Result(ProducerProfile profile, double throughput, double p50Millis, double p99Millis,
+                          double maxMillis, double avgBatchBytes, double compressionRate) {
+
+        void print() {
+            System.out.printf("%-8s %14.0f %12.2f %12.2f %12.2f %14.0f %12.2f%n",
+                    profile, throughput, p50Millis, p99Millis, maxMillis, avgBatchBytes, compressionRate);
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package com.enterprise.mqtt.client;
+
+import com.amazonaws.services.iot.client.AWSIotConnectionStatus;
+import com.amazonaws.services.iot.client.AWSIotException;
+import com.amazonaws.services.iot.client.AWSIotMessage;
+import com.amazonaws.services.iot.client.AWSIotTopic;
+import com.enterprise.mqtt.config.MqttClientPoolProperties;
+import com.enterprise.mqtt.config.MqttScalingProperties;
+import com.enterprise.mqtt.transport.SharedSubscription;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AWS IoT MQTT 연결 풀
+ *
+ * - 발행: deviceId 해시로 연결을 고르므로 같은 디바이스로 가는 명령은 같은 연결에서 순서대로 나간다.
+ *   대상 연결이 끊겨 있으면 (publish-failover) 연결된 다음 연결을 사용한다.
+ * - 구독: 공유 구독($share/<group>/<filter>)은 모든 연결에서 구독해 브로커가 인스턴스·연결 전체에 메시지를 나누게 한다.
+ *   mqtt.scaling.mode=shared 이면 공유 구독이 아닌 필터도 $share/<shared-group>/ 으로 감싼다.
+ *   그 밖의 필터(none, sharded)는 같은 필터를 여러 연결에서 구독하면 연결 수만큼 중복 수신되므로
+ *   토픽 필터 해시로 연결 하나에 고정한다 (sharded 의 shard 들은 연결 사이에 흩어진다).
+ * - 상태 점검: SDK 는 끊긴 연결을 스스로 재연결하지만 재시도를 모두 소진하면 DISCONNECTED 로 남는다.
+ *   health-check-interval 마다 이런 연결을 다시 connect 하며, 연결되면 SDK 가 구독을 다시 등록한다.
+ *
+ * 메트릭 (connection 태그 = 연결 번호):
+ * - mqtt.pool.connection.status: 1 연결됨, 0 끊김/재연결 중
+ * - mqtt.pool.connection.events{event=connected|failed|closed}
+ * - mqtt.pool.publishes, mqtt.pool.subscriptions
+ * - mqtt.pool.reconnects{result=success|failure}: 상태 점검에서 시도한 재연결
+ */
+@Slf4j
+public class MqttClientPool {
+
+    private final List<PooledMqttClient> clients;
+    private final MqttClientPoolProperties properties;
+    private final long connectionTimeoutMs;
+    private final List<Counter> reconnectSuccess = new ArrayList<>();
+    private final List<Counter> reconnectFailure = new ArrayList<>();
+    private final MqttScalingProperties scalingProperties;
+    private final Map<String, PoolSubscription> subscriptions = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService healthChecker;
+
+    public MqttClientPool(List<PooledMqttClient> clients,
+                          MqttClientPoolProperties properties,
+                          MqttScalingProperties scalingProperties,
+                          long connectionTimeoutMs,
+                          MeterRegistry meterRegistry) {
+        if (clients.isEmpty()) {
+            throw new IllegalArgumentException("MQTT client pool needs at least one connection");
+        }
+        this.clients = List.copyOf(clients);
+        this.properties = properties;
+        this.connectionTimeoutMs = connectionTimeoutMs;
+        this.scalingProperties = scalingProperties;
+        registerMetrics(meterRegistry);
+    }
+
+    /**
+     * 모든 연결을 열고 상태 점검을 시작
+     * 일부 연결만 실패하면 상태 점검에서 다시 시도한다.
+     *
+     * @throws AWSIotException 하나도 연결하지 못한 경우
+     */
+    public void connect() throws AWSIotException {
+        AWSIotException lastFailure = null;
+        for (PooledMqttClient client : clients) {
+            try {
+                client.connect(connectionTimeoutMs);
+            } catch (Exception e) {
+                log.error("Failed to connect MQTT connection {} - Client ID: {}", client.index(), client.getClientId(), e);
+                lastFailure = e instanceof AWSIotException iotException ? iotException : new AWSIotException(e);
+            }
+        }
+        if (connectedCount() == 0) {
+            throw lastFailure != null ? lastFailure : new AWSIotException("No MQTT connection established");
+        }
+        log.info("MQTT client pool connected - {}/{} connections", connectedCount(), clients.size());
+
+        healthChecker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "mqtt-pool-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMs = properties.getHealthCheckInterval().toMillis();
+        healthChecker.scheduleWithFixedDelay(this::checkHealth, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void disconnect() {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+        }
+        for (PooledMqttClient client : clients) {
+            try {
+                if (client.getConnectionStatus() != AWSIotConnectionStatus.DISCONNECTED) {
+                    client.disconnect();
+                }
+            } catch (Exception e) {
+                log.error("Error while disconnecting MQTT connection {}", client.index(), e);
+            }
+        }
+    }
+
+    /**
+     * 공유 구독은 모든 연결에서, 그 밖의 필터는 토픽 필터 해시로 고른 연결 하나에서 구독
+     *
+     * @throws AWSIotException 구독하지 못한 경우 (공유 구독은 어느 연결에서도 구독하지 못한 경우)
+     */
+    public void subscribe(AWSIotTopic topic) throws AWSIotException {
+        String filter = subscriptionFilter(topic.getTopic());
+        if (clients.size() == 1 || !SharedSubscription.isShared(filter)) {
+            PooledMqttClient client = connectedFrom(shard(filter));
+            client.subscribe(new PoolTopic(filter, topic), true);
+            subscriptions.put(topic.getTopic(), new PoolSubscription(filter, List.of(client)));
+            log.info("Subscribed to {} on MQTT connection {}", filter, client.index());
+            return;
+        }
+        subscribeAll(topic, filter);
+    }
+
+    /**
+     * 모든 연결에서 구독
+     * 연결된 연결은 구독 완료까지 기다리고, 끊긴 연결은 SDK 오프라인 큐에 넣어 재연결 시 구독된다.
+     */
+    private void subscribeAll(AWSIotTopic topic, String filter) throws AWSIotException {
+        List<PooledMqttClient> subscribed = new ArrayList<>(clients.size());
+        AWSIotException lastFailure = null;
+        for (PooledMqttClient client : clients) {
+            try {
+                boolean connected = client.getConnectionStatus() == AWSIotConnectionStatus.CONNECTED;
+                client.subscribe(new PoolTopic(filter, topic), connected);
+                subscribed.add(client);
+            } catch (AWSIotException e) {
+                log.warn("Failed to subscribe to {} on MQTT connection {}: {}", filter, client.index(), e.getMessage());
+                lastFailure = e;
+            }
+        }
+        if (subscribed.isEmpty()) {
+            throw lastFailure;
+        }
+        subscriptions.put(topic.getTopic(), new PoolSubscription(filter, subscribed));
+        log.info("Subscribed to {} on {}/{} MQTT connections", filter, subscribed.size(), clients.size());
+    }
+
+    /**
+     * subscribe 한 연결들에서 구독 해제 (구독하지 않은 필터면 무시)
+     */
+    public void unsubscribe(String topicFilter) throws AWSIotException {
+        PoolSubscription subscription = subscriptions.remove(topicFilter);
+        if (subscription == null) {
+            return;
+        }
+        AWSIotException lastFailure = null;
+        for (PooledMqttClient client : subscription.clients()) {
+            try {
+                client.unsubscribe(subscription.filter());
+            } catch (AWSIotException e) {
+                lastFailure = e;
+            }
+        }
+        if (lastFailure != null) {
+            throw lastFailure;
+        }
+        log.info("Unsubscribed from {} on {} MQTT connections", subscription.filter(), subscription.clients().size());
+    }
+
+    /**
+     * deviceId 해시로 고른 연결에서 비동기 발행 (결과는 message 콜백)
+     */
+    public void publish(String deviceId, AWSIotMessage message, long timeoutMs) throws AWSIotException {
+        PooledMqttClient client = forDevice(deviceId);
+        client.publish(message, timeoutMs);
+        client.recordPublish();
+    }
+
+    /**
+     * deviceId 를 담당하는 연결
+     */
+    public PooledMqttClient forDevice(String deviceId) {
+        int index = shard(deviceId);
+        return properties.isPublishFailover() ? connectedFrom(index) : clients.get(index);
+    }
+
+    public List<PooledMqttClient> clients() {
+        return clients;
+    }
+
+    public int connectedCount() {
+        int connected = 0;
+        for (PooledMqttClient client : clients) {
+            if (client.getConnectionStatus() == AWSIotConnectionStatus.CONNECTED) {
+                connected++;
+            }
+        }
+        return connected;
+    }
+
+    /**
+     * SDK 자동 재연결을 소진한 연결을 다시 연결 (점검 스레드)
+     */
+    void checkHealth() {
+        for (PooledMqttClient client : clients) {
+            if (client.getConnectionStatus() != AWSIotConnectionStatus.DISCONNECTED) {
+                continue;
+            }
+            try {
+                client.connect(connectionTimeoutMs);
+                reconnectSuccess.get(client.index()).increment();
+                log.info("Reconnected MQTT connection {} - Client ID: {}", client.index(), client.getClientId());
+            } catch (Exception e) {
+                reconnectFailure.get(client.index()).increment();
+                log.warn("Failed to reconnect MQTT connection {} - Client ID: {}: {}",
+                        client.index(), client.getClientId(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * mqtt.scaling.mode=shared 이면 $share/<shared-group>/<filter> (이미 공유 구독인 필터와 다른 모드는 그대로)
+     */
+    String subscriptionFilter(String topicFilter) {
+        if (scalingProperties.getMode() != MqttScalingProperties.Mode.SHARED || SharedSubscription.isShared(topicFilter)) {
+            return topicFilter;
+        }
+        return SharedSubscription.of(scalingProperties.getSharedGroup(), topicFilter);
+    }
+
+    private int shard(String key) {
+        if (clients.size() == 1 || key == null) {
+            return 0;
+        }
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return Math.floorMod(h, clients.size());
+    }
+
+    /**
+     * index 부터 순서대로 처음 만나는 연결된 연결 (모두 끊겨 있으면 index 의 연결, SDK 오프라인 큐에 쌓임)
+     */
+    private PooledMqttClient connectedFrom(int index) {
+        for (int i = 0; i < clients.size(); i++) {
+            PooledMqttClient client = clients.get((index + i) % clients.size());
+            if (client.getConnectionStatus() == AWSIotConnectionStatus.CONNECTED) {
+                return client;
+            }
+        }
+        return clients.get(index);
+    }
+
+    private record PoolSubscription(String filter, List<PooledMqttClient> clients) {
+    }
+
+    /**
+     * 연결마다 따로 등록하는 구독 (SDK 는 구독 객체를 연결별로 보관) - 수신은 원래 구독으로 전달
+     */
+    private static final class PoolTopic extends AWSIotTopic {
+
+        private final AWSIotTopic delegate;
+
+        PoolTopic(String topicFilter, AWSIotTopic delegate) {
+            super(topicFilter, delegate.getQos());
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void onMessage(AWSIotMessage message) {
+            delegate.onMessage(message);
+        }
+    }
+
+    private void registerMetrics(MeterRegistry registry) {
+        for (PooledMqttClient client : clients) {
+            String connection = String.valueOf(client.index());
+            Gauge.builder("mqtt.pool.connection.status", client,
+                            c -> c.getConnectionStatus() == AWSIotConnectionStatus.CONNECTED ? 1 : 0)
+                    .description("MQTT connection state (1 connected)")
+                    .tag("connection", connection)
+                    .register(registry);
+            FunctionCounter.builder("mqtt.pool.connection.events", client, PooledMqttClient::connects)
+                    .tags("connection", connection, "event", "connected")
+                    .register(registry);
+            FunctionCounter.builder("mqtt.pool.connection.events", client, PooledMqttClient::connectionFailures)
+                    .tags("connection", connection, "event", "failed")
+                    .register(registry);
+            FunctionCounter.builder("mqtt.pool.connection.events", client, PooledMqttClient::connectionsClosed)
+                    .tags("connection", connection, "event", "closed")
+                    .register(registry);
+            FunctionCounter.builder("mqtt.pool.publishes", client, PooledMqttClient::publishes)
+                    .description("MQTT publishes per connection")
+                    .tag("connection", connection)
+                    .register(registry);
+            Gauge.builder("mqtt.pool.subscriptions", client, c -> c.getSubscriptions().size())
+                    .tag("connection", connection)
+                    .register(registry);
+            reconnectSuccess.add(Counter.builder("mqtt.pool.reconnects")
+                    .tags("connection", connection, "result", "success")
+                    .register(registry));
+            reconnectFailure.add(Counter.builder("mqtt.pool.reconnects")
+                    .tags("connection", connection, "result", "failure")
+                    .register(registry));
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.enterprise.mqtt.client;
+
+import com.amazonaws.services.iot.client.AWSIotMqttClient;
+import com.enterprise.mqtt.transport.SharedSubscription;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.net.ssl.SSLSocketFactory;
+import java.security.KeyStore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 풀에 속한 MQTT 연결 하나
+ * SDK 연결 콜백으로 상태 변화를 집계한다 (재연결 성공 시 SDK 가 구독을 다시 등록).
+ * 공유 구독($share/<group>/<filter>)으로 받은 메시지는 실제 토픽으로 오므로 <filter> 부분으로 매칭한다.
+ */
+@Slf4j
+public class PooledMqttClient extends AWSIotMqttClient {
+
+    private final int index;
+    private final AtomicLong connects = new AtomicLong();
+    private final AtomicLong connectionFailures = new AtomicLong();
+    private final AtomicLong connectionsClosed = new AtomicLong();
+    private final AtomicLong publishes = new AtomicLong();
+
+    public PooledMqttClient(int index, String endpoint, String clientId, KeyStore keyStore, String keyPassword) {
+        super(endpoint, clientId, keyStore, keyPassword);
+        this.index = index;
+    }
+
+    public PooledMqttClient(int index, String endpoint, String clientId, SSLSocketFactory socketFactory, int port) {
+        super(endpoint, clientId, socketFactory, port);
+        this.index = index;
+    }
+
+    public int index() {
+        return index;
+    }
+
+    @Override
+    public void onConnectionSuccess() {
+        super.onConnectionSuccess();
+        connects.incrementAndGet();
+        log.info("MQTT connection {} established - Client ID: {}", index, getClientId());
+    }
+
+    @Override
+    public void onConnectionFailure() {
+        super.onConnectionFailure();
+        connectionFailures.incrementAndGet();
+        log.warn("MQTT connection {} lost - Client ID: {}, status: {}", index, getClientId(), getConnectionStatus());
+    }
+
+    @Override
+    public void onConnectionClosed() {
+        super.onConnectionClosed();
+        connectionsClosed.incrementAndGet();
+        log.info("MQTT connection {} closed - Client ID: {}", index, getClientId());
+    }
+
+    /**
+     * SDK 가 수신 메시지를 구독에 배정할 때 호출 (공유 구독 접두사 제거 후 매칭)
+     */
+    @Override
+    public boolean topicFilterMatch(String topicFilter, String topic) {
+        return super.topicFilterMatch(SharedSubscription.filterOf(topicFilter), topic);
+    }
+
+    void recordPublish() {
+        publishes.incrementAndGet();
+    }
+
+    long connects() {
+        return connects.get();
+    }
+
+    long connectionFailures() {
+        return connectionFailures.get();
+    }
+
+    long connectionsClosed() {
+        return connectionsClosed.get();
+    }
+
+    long publishes() {
+        return publishes.get();
+    }
+}
@@ -0,0 +1,328 @@
+package com.enterprise.mqtt.codec;
+
+import com.enterprise.mqtt.dto.MqttMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * MqttMessage 압축 바이너리 코덱 (schema v1)
+ * message-service 의 com.enterprise.message.codec.CompactMessageCodec 과 동일한 레이아웃을 유지해야 한다.
+ *
+ * 레이아웃:
+ * <pre>
+ * byte     schemaVersion (1)
+ * byte     flags
+ * byte     messageType (ordinal + 1, 0 = null)
+ * byte     qos (0xFF = null)
+ * [16]     messageId UUID (msb, lsb)         FLAG_MESSAGE_ID_UUID
+ * string   messageId                          FLAG_MESSAGE_ID_STRING (UUID 형식이 아닌 경우)
+ * varlong  receivedAt epoch second (zigzag)   FLAG_RECEIVED_AT
+ * varint   receivedAt nano                    FLAG_RECEIVED_AT
+ * string   topic                              FLAG_TOPIC
+ * string   deviceId                           FLAG_DEVICE_ID
+ * string   rawMessage                         FLAG_RAW_MESSAGE
+ * string   parsedMessage                      FLAG_PARSED_MESSAGE
+ * bytes    frame                              FLAG_FRAME
+ * </pre>
+ * string/bytes 는 varint 길이 + 내용(UTF-8). receivedAt 은 LocalDateTime 필드를 UTC 기준 epoch 로 환산한 값.
+ * 프레임이 있으면 rawMessage(Base64)와 parsedMessage(Hex)는 프레임에서 다시 만들 수 있으므로 생략한다.
+ */
+public final class CompactMessageCodec {
+
+    public static final int SCHEMA_VERSION = 1;
+
+    static final int FLAG_MESSAGE_ID_UUID = 1;
+    static final int FLAG_MESSAGE_ID_STRING = 1 << 1;
+    static final int FLAG_RECEIVED_AT = 1 << 2;
+    static final int FLAG_TOPIC = 1 << 3;
+    static final int FLAG_DEVICE_ID = 1 << 4;
+    static final int FLAG_RAW_MESSAGE = 1 << 5;
+    static final int FLAG_PARSED_MESSAGE = 1 << 6;
+    static final int FLAG_FRAME = 1 << 7;
+
+    private static final int NULL_QOS = 0xFF;
+
+    private static final MqttMessage.MessageType[] MESSAGE_TYPES = MqttMessage.MessageType.values();
+
+    private static final ThreadLocal<Writer> WRITER = ThreadLocal.withInitial(Writer::new);
+
+    private CompactMessageCodec() {
+    }
+
+    public static byte[] encode(MqttMessage message) {
+        UUID uuid = parseUuid(message.getMessageId());
+        byte[] frame = message.getFrame();
+        boolean hasFrame = frame != null;
+
+        int flags = 0;
+        if (uuid != null) {
+            flags |= FLAG_MESSAGE_ID_UUID;
+        } else if (message.getMessageId() != null) {
+            flags |= FLAG_MESSAGE_ID_STRING;
+        }
+        if (message.getReceivedAt() != null) {
+            flags |= FLAG_RECEIVED_AT;
+        }
+        if (message.getTopic() != null) {
+            flags |= FLAG_TOPIC;
+        }
+        if (message.getDeviceId() != null) {
+            flags |= FLAG_DEVICE_ID;
+        }
+        if (!hasFrame && message.getRawMessage() != null) {
+            flags |= FLAG_RAW_MESSAGE;
+        }
+        if (!hasFrame && message.getParsedMessage() != null) {
+            flags |= FLAG_PARSED_MESSAGE;
+        }
+        if (hasFrame) {
+            flags |= FLAG_FRAME;
+        }
+
+        Writer w = WRITER.get();
+        w.reset();
+        w.writeByte(SCHEMA_VERSION);
+        w.writeByte(flags);
+        w.writeByte(message.getMessageType() == null ? 0 : message.getMessageType().ordinal() + 1);
+        w.writeByte(message.getQos() == null ? NULL_QOS : message.getQos());
+
+        if (uuid != null) {
+            w.writeLong(uuid.getMostSignificantBits());
+            w.writeLong(uuid.getLeastSignificantBits());
+        } else if (message.getMessageId() != null) {
+            w.writeString(message.getMessageId());
+        }
+        if (message.getReceivedAt() != null) {
+            LocalDateTime receivedAt = message.getReceivedAt();
+            long seconds = receivedAt.toEpochSecond(ZoneOffset.UTC);
+            w.writeVarLong((seconds << 1) ^ (seconds >> 63));
+            w.writeVarLong(receivedAt.getNano());
+        }
+        if (message.getTopic() != null) {
+            w.writeString(message.getTopic());
+        }
+        if (message.getDeviceId() != null) {
+            w.writeString(message.getDeviceId());
+        }
+        if (hasFrame) {
+            w.writeBytes(frame);
+        } else {
+            if (message.getRawMessage() != null) {
+                w.writeString(message.getRawMessage());
+            }
+            if (message.getParsedMessage() != null) {
+                w.writeString(message.getParsedMessage());
+            }
+        }
+        return w.toByteArray();
+    }
+
+    /**
+     * @throws IllegalArgumentException 지원하지 않는 스키마 버전 또는 손상된 데이터
+     */
+    public static MqttMessage decode(byte[] data) {
+        Reader r = new Reader(data);
+        int version = r.readByte();
+        if (version != SCHEMA_VERSION) {
+            throw new IllegalArgumentException("Unsupported compact schema version: " + version);
+        }
+        int flags = r.readByte();
+        int type = r.readByte();
+        int qos = r.readByte();
+
+        MqttMessage message = new MqttMessage();
+        if (type > 0) {
+            if (type > MESSAGE_TYPES.length) {
+                throw new IllegalArgumentException("Unknown message type ordinal: " + (type - 1));
+            }
+            message.setMessageType(MESSAGE_TYPES[type - 1]);
+        }
+        message.setQos(qos == NULL_QOS ? null : qos);
+
+        if ((flags & FLAG_MESSAGE_ID_UUID) != 0) {
+            message.setMessageId(new UUID(r.readLong(), r.readLong()).toString());
+        } else if ((flags & FLAG_MESSAGE_ID_STRING) != 0) {
+            message.setMessageId(r.readString());
+        }
+        if ((flags & FLAG_RECEIVED_AT) != 0) {
+            long zigzag = r.readVarLong();
+            long seconds = (zigzag >>> 1) ^ -(zigzag & 1);
+            message.setReceivedAt(LocalDateTime.ofEpochSecond(seconds, (int) r.readVarLong(), ZoneOffset.UTC));
+        }
+        if ((flags & FLAG_TOPIC) != 0) {
+            message.setTopic(r.readString());
+        }
+        if ((flags & FLAG_DEVICE_ID) != 0) {
+            message.setDeviceId(r.readString());
+        }
+        if ((flags & FLAG_RAW_MESSAGE) != 0) {
+            message.setRawMessage(r.readString());
+        }
+        if ((flags & FLAG_PARSED_MESSAGE) != 0) {
+            message.setParsedMessage(r.readString());
+        }
+        if ((flags & FLAG_FRAME) != 0) {
+            message.setFrame(r.readBytes());
+        }
+        return message;
+    }
+
+    /**
+     * 표준 36자 UUID 문자열만 16바이트로 인코딩 (그 외는 문자열로 전송)
+     */
+    private static UUID parseUuid(String value) {
+        if (value == null || value.length() != 36
+                || value.charAt(8) != '-' || value.charAt(13) != '-'
+                || value.charAt(18) != '-' || value.charAt(23) != '-') {
+            return null;
+        }
+        for (int i = 0; i < 36; i++) {
+            char c = value.charAt(i);
+            if (c != '-' && Character.digit(c, 16) < 0) {
+                return null;
+            }
+        }
+        UUID uuid = UUID.fromString(value);
+        // 대문자 등 toString() 결과가 달라지는 경우는 원문 유지
+        return uuid.toString().equals(value) ? uuid : null;
+    }
+
+    /**
+     * 스레드별 재사용 출력 버퍼
+     */
+    private static final class Writer {
+
+        private byte[] buf = new byte[512];
+        private int pos;
+
+        void reset() {
+            pos = 0;
+        }
+
+        void writeByte(int value) {
+            ensure(1);
+            buf[pos++] = (byte) value;
+        }
+
+        void writeLong(long value) {
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buf[pos++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buf[pos++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buf[pos++] = (byte) value;
+        }
+
+        void writeString(String value) {
+            int length = value.length();
+            boolean ascii = true;
+            for (int i = 0; i < length; i++) {
+                if (value.charAt(i) >= 0x80) {
+                    ascii = false;
+                    break;
+                }
+            }
+            if (!ascii) {
+                writeBytes(value.getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            writeVarLong(length);
+            ensure(length);
+            for (int i = 0; i < length; i++) {
+                buf[pos++] = (byte) value.charAt(i);
+            }
+        }
+
+        void writeBytes(byte[] value) {
+            writeVarLong(value.length);
+            ensure(value.length);
+            System.arraycopy(value, 0, buf, pos, value.length);
+            pos += value.length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, pos);
+        }
+
+        private void ensure(int extra) {
+            if (pos + extra > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(pos + extra, buf.length << 1));
+            }
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] buf;
+        private int pos;
+
+        Reader(byte[] buf) {
+            this.buf = buf;
+        }
+
+        int readByte() {
+            check(1);
+            return buf[pos++] & 0xFF;
+        }
+
+        long readLong() {
+            check(8);
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (buf[pos++] & 0xFF);
+            }
+            return value;
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint");
+        }
+
+        String readString() {
+            int length = readLength();
+            String value = new String(buf, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+            return value;
+        }
+
+        byte[] readBytes() {
+            int length = readLength();
+            byte[] value = Arrays.copyOfRange(buf, pos, pos + length);
+            pos += length;
+            return value;
+        }
+
+        private int readLength() {
+            long length = readVarLong();
+            if (length > buf.length - pos) {
+                throw new IllegalArgumentException("Truncated compact record");
+            }
+            return (int) length;
+        }
+
+        private void check(int bytes) {
+            if (pos + bytes > buf.length) {
+                throw new IllegalArgumentException("Truncated compact record");
+            }
+        }
+    }
+}
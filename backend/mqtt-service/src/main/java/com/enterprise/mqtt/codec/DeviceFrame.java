@@ -0,0 +1,135 @@
+package com.enterprise.mqtt.codec;
+
+import com.enterprise.mqtt.dto.MqttMessage;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 디바이스 바이너리 프레임 (Flyweight)
+ * ByteBuffer 위에 헤더 필드 접근자만 제공하며 복사하지 않는다.
+ * message-service 의 com.enterprise.message.codec.DeviceFrame 과 동일한 레이아웃을 유지해야 한다.
+ *
+ * 프레임 구조:
+ * - [0-3]:  deviceID (4바이트)
+ * - [4]:    topicType (1바이트)
+ * - [5-21]: serialNo (17바이트, REQUEST 메시지)
+ * - [22-]:  body
+ */
+public final class DeviceFrame {
+
+    public static final int DEVICE_ID_OFFSET = 0;
+    public static final int DEVICE_ID_LENGTH = 4;
+    public static final int TOPIC_TYPE_INDEX = 4;
+    public static final int SERIAL_NO_OFFSET = 5;
+    public static final int SERIAL_NO_LENGTH = 17;
+    public static final int HEADER_LENGTH = SERIAL_NO_OFFSET + SERIAL_NO_LENGTH;
+
+    /**
+     * Kafka 레코드 헤더 (frame 포맷: value = 프레임 원본 바이트)
+     */
+    public static final String HEADER_DEVICE_ID = "iot-device-id";
+    public static final String HEADER_MESSAGE_ID = "iot-message-id";
+    public static final String HEADER_MQTT_TOPIC = "iot-mqtt-topic";
+    public static final String HEADER_QOS = "iot-qos";
+    public static final String HEADER_RECEIVED_AT = "iot-received-at";
+
+    private ByteBuffer buffer;
+    private int offset;
+    private int length;
+
+    /**
+     * buffer 의 position ~ limit 구간을 프레임으로 사용
+     */
+    public DeviceFrame wrap(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.offset = buffer.position();
+        this.length = buffer.remaining();
+        return this;
+    }
+
+    public DeviceFrame wrap(byte[] bytes, int offset, int length) {
+        this.buffer = ByteBuffer.wrap(bytes);
+        this.offset = offset;
+        this.length = length;
+        return this;
+    }
+
+    public DeviceFrame wrap(byte[] bytes) {
+        return wrap(bytes, 0, bytes.length);
+    }
+
+    public int length() {
+        return length;
+    }
+
+    /**
+     * topicType 필드가 존재하는지 (프레임 길이 > 4)
+     */
+    public boolean hasTopicType() {
+        return length > TOPIC_TYPE_INDEX;
+    }
+
+    /**
+     * serialNo 필드까지 포함하는지 (프레임 길이 >= 22)
+     */
+    public boolean hasSerialNo() {
+        return length >= HEADER_LENGTH;
+    }
+
+    /**
+     * deviceID[0-3] (big-endian)
+     */
+    public int deviceIdField() {
+        return buffer.getInt(offset + DEVICE_ID_OFFSET);
+    }
+
+    public byte topicTypeCode() {
+        return buffer.get(offset + TOPIC_TYPE_INDEX);
+    }
+
+    public MqttMessage.MessageType messageType() {
+        return hasTopicType() ? MqttMessage.MessageType.fromCode(topicTypeCode()) : null;
+    }
+
+    public byte get(int index) {
+        return buffer.get(offset + index);
+    }
+
+    /**
+     * serialNo[5-21] 문자열 (양 끝 공백/NUL 제거)
+     */
+    public String serialNo() {
+        if (!hasSerialNo()) {
+            return null;
+        }
+        int start = offset + SERIAL_NO_OFFSET;
+        int end = start + SERIAL_NO_LENGTH;
+        while (start < end && (buffer.get(start) & 0xFF) <= ' ') {
+            start++;
+        }
+        while (end > start && (buffer.get(end - 1) & 0xFF) <= ' ') {
+            end--;
+        }
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * body[22-] 구간 (읽기 전용 뷰)
+     */
+    public ByteBuffer body() {
+        int start = Math.min(length, HEADER_LENGTH);
+        return buffer.slice(offset + start, length - start).asReadOnlyBuffer();
+    }
+
+    /**
+     * 프레임 전체 복사본
+     */
+    public byte[] toByteArray() {
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return bytes;
+    }
+}
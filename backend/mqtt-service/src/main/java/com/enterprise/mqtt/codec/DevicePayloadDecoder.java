@@ -0,0 +1,359 @@
+package com.enterprise.mqtt.codec;
+
+import com.enterprise.mqtt.dto.MqttMessage;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 디바이스 페이로드 디코더
+ * AWSIotMessage.getPayload() 바이트에서 직접 따옴표/공백 제거, Base64 디코딩,
+ * 헤더 파싱을 수행한다.
+ *
+ * 스레드마다 하나의 인스턴스를 재사용하며({@link #current()}), 내부 버퍼는
+ * 다음 decode 호출 전까지만 유효하다. 디코딩된 프레임은 MqttMessage.frame 으로
+ * 전달되며, Hex 문자열(parsedMessage)은 JSON 전송 시에만 생성한다.
+ *
+ * messageId 는 수신 건마다 새로 만든다 (프로세스 nonce + 수신 순번 + 토픽 + 페이로드 해시, UUID v3).
+ * 디바이스가 같은 REQUEST 를 정상적으로 다시 보내도 별개의 메시지로 처리되며, 한 번 발급된 ID 는
+ * Kafka 헤더로 따라가므로 리밸런스 / 재시도 / 저널 재전송으로 다시 전달된 레코드만 message-service 에서 걸러진다.
+ * AWS IoT SDK 가 패킷 ID / DUP 플래그를 노출하지 않으므로 브로커의 QoS1 재전달은 새 수신으로 본다.
+ */
+@Slf4j
+public final class DevicePayloadDecoder {
+
+    private static final int INITIAL_CAPACITY = 512;
+
+    private static final byte INVALID = -1;
+    private static final byte PADDING = -2;
+
+    /**
+     * Base64 문자 → 6비트 값 (-1: 허용되지 않는 문자, -2: 패딩)
+     */
+    private static final byte[] BASE64_VALUES = new byte[256];
+
+    static {
+        Arrays.fill(BASE64_VALUES, INVALID);
+        byte[] alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/"
+                .getBytes(StandardCharsets.US_ASCII);
+        for (int i = 0; i < alphabet.length; i++) {
+            BASE64_VALUES[alphabet[i]] = (byte) i;
+        }
+        BASE64_VALUES['='] = PADDING;
+    }
+
+    /**
+     * 재시작 후 같은 순번이 다시 나와도 이전 프로세스의 ID 와 겹치지 않도록 섞는 값
+     */
+    private static final long PROCESS_NONCE = new SecureRandom().nextLong();
+
+    /**
+     * 모든 디코더가 공유하는 수신 순번
+     */
+    private static final AtomicLong RECEIVE_SEQUENCE = new AtomicLong();
+
+    private static final ThreadLocal<DevicePayloadDecoder> CURRENT =
+            ThreadLocal.withInitial(DevicePayloadDecoder::new);
+
+    /**
+     * 따옴표가 제거된 페이로드 (Base64 텍스트)
+     */
+    private byte[] text = new byte[INITIAL_CAPACITY];
+
+    /**
+     * Base64 디코딩된 프레임
+     */
+    private byte[] frame = new byte[INITIAL_CAPACITY];
+
+    private int frameLength;
+
+    private final MessageDigest digest = newDigest();
+
+    /**
+     * 현재 스레드의 디코더
+     */
+    public static DevicePayloadDecoder current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * MQTT 페이로드를 MqttMessage로 디코딩
+     *
+     * @param topic   MQTT 토픽
+     * @param payload AWSIotMessage.getPayload() 원본 바이트
+     * @param binary  Base64 바이너리 프레임 토픽 여부 (device/topic/A0, B0)
+     * @param qos     구독 QoS
+     * @throws IllegalArgumentException Base64 디코딩 실패
+     */
+    public MqttMessage decode(String topic, byte[] payload, boolean binary, int qos) {
+        frameLength = 0;
+
+        String rawMessage;
+        int start;
+        int end;
+
+        if (isAscii(payload)) {
+            // 따옴표 제거 + trim (ASCII 범위에서는 바이트 단위 처리와 문자 단위 처리가 동일)
+            ensureTextCapacity(payload.length);
+            byte[] buf = text;
+            int n = 0;
+            for (byte b : payload) {
+                if (b != '"') {
+                    buf[n++] = b;
+                }
+            }
+            start = 0;
+            end = n;
+            while (start < end && buf[start] <= ' ') {
+                start++;
+            }
+            while (end > start && buf[end - 1] <= ' ') {
+                end--;
+            }
+            rawMessage = new String(buf, start, end - start, StandardCharsets.ISO_8859_1);
+        } else {
+            // 멀티바이트(UTF-8) 평문: 문자 단위로 처리
+            rawMessage = new String(payload, StandardCharsets.UTF_8).replace("\"", "").trim();
+            if (binary) {
+                throw new IllegalArgumentException("Illegal base64 character in payload");
+            }
+            start = 0;
+            end = 0;
+        }
+
+        MqttMessage.MessageType messageType = MqttMessage.MessageType.PLAINTEXT;
+        String deviceId = null;
+        byte[] frameBytes = null;
+
+        if (binary) {
+            frameLength = decodeBase64(text, start, stripWhitespace(text, start, end));
+
+            if (frameLength > DeviceFrame.TOPIC_TYPE_INDEX) {
+                messageType = MqttMessage.MessageType.fromCode(frame[DeviceFrame.TOPIC_TYPE_INDEX]);
+                deviceId = extractDeviceId(messageType);
+                frameBytes = Arrays.copyOf(frame, frameLength);
+            }
+        }
+
+        return MqttMessage.builder()
+                .messageId(receiveMessageId(topic, payload))
+                .topic(topic)
+                .messageType(messageType)
+                .deviceId(deviceId)
+                .rawMessage(rawMessage)
+                .frame(frameBytes)
+                .qos(qos)
+                .receivedAt(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * 마지막으로 디코딩된 프레임 버퍼 (다음 decode 호출 전까지 유효)
+     */
+    public byte[] frame() {
+        return frame;
+    }
+
+    /**
+     * 마지막으로 디코딩된 프레임 길이 (바이너리 토픽이 아니면 0)
+     */
+    public int frameLength() {
+        return frameLength;
+    }
+
+    /**
+     * 디바이스 ID (Serial Number) 추출
+     * REQUEST: serialNo[5-21], 그 외: deviceID[0-3]
+     */
+    private String extractDeviceId(MqttMessage.MessageType messageType) {
+        int start;
+        int end;
+
+        if (messageType == MqttMessage.MessageType.REQUEST) {
+            if (frameLength < DeviceFrame.HEADER_LENGTH) {
+                log.warn("REQUEST message too short: {} bytes (expected {}+)", frameLength, DeviceFrame.HEADER_LENGTH);
+                return null;
+            }
+            start = DeviceFrame.SERIAL_NO_OFFSET;
+            end = DeviceFrame.SERIAL_NO_OFFSET + DeviceFrame.SERIAL_NO_LENGTH;
+        } else {
+            start = DeviceFrame.DEVICE_ID_OFFSET;
+            end = DeviceFrame.DEVICE_ID_OFFSET + DeviceFrame.DEVICE_ID_LENGTH;
+        }
+
+        // String.trim()과 동일: 양 끝의 0x00~0x20 제거 (0x80 이상은 UTF-8 디코딩 시 공백이 아님)
+        byte[] buf = frame;
+        while (start < end && (buf[start] & 0xFF) <= ' ') {
+            start++;
+        }
+        while (end > start && (buf[end - 1] & 0xFF) <= ' ') {
+            end--;
+        }
+
+        if (isValidSerialNo(buf, start, end)) {
+            return new String(buf, start, end - start, StandardCharsets.ISO_8859_1);
+        }
+
+        // REQUEST 외의 메시지는 deviceID[0-3]가 대부분 0 이므로 메시지마다 경고를 남기지 않음
+        if (messageType == MqttMessage.MessageType.REQUEST) {
+            if (log.isWarnEnabled()) {
+                log.warn("Invalid serial number format: {}",
+                        new String(buf, start, end - start, StandardCharsets.UTF_8));
+            }
+        } else if (log.isDebugEnabled()) {
+            log.debug("Invalid serial number format: {}",
+                    new String(buf, start, end - start, StandardCharsets.UTF_8));
+        }
+        return null;
+    }
+
+    /**
+     * 유효한 Serial Number 여부
+     * - 빈 문자열이 아님
+     * - ASCII 출력 가능 문자만 포함 (공백~틸데)
+     * - EST로 시작 (EST-ROZ 형식)
+     */
+    public static boolean isValidSerialNo(byte[] buf, int start, int end) {
+        if (end - start < 3 || buf[start] != 'E' || buf[start + 1] != 'S' || buf[start + 2] != 'T') {
+            return false;
+        }
+        for (int i = start + 3; i < end; i++) {
+            byte b = buf[i];
+            if (b < 0x20 || b > 0x7E) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * java.util.Base64.getDecoder() 와 동일한 규칙으로 디코딩 (패딩 생략 허용)
+     *
+     * @return 디코딩된 바이트 수
+     */
+    private int decodeBase64(byte[] src, int from, int to) {
+        int capacity = ((to - from) / 4 + 1) * 3;
+        if (frame.length < capacity) {
+            frame = new byte[Math.max(capacity, frame.length << 1)];
+        }
+        byte[] dst = frame;
+
+        int dp = 0;
+        int bits = 0;
+        int shiftto = 18;
+        int sp = from;
+
+        while (sp < to) {
+            int b = BASE64_VALUES[src[sp++] & 0xFF];
+            if (b < 0) {
+                if (b == PADDING) {
+                    if (shiftto == 6 && (sp == to || src[sp++] != '=') || shiftto == 18) {
+                        throw new IllegalArgumentException("Input byte array has wrong 4-byte ending unit");
+                    }
+                    break;
+                }
+                throw new IllegalArgumentException(
+                        "Illegal base64 character " + Integer.toString(src[sp - 1], 16));
+            }
+            bits |= b << shiftto;
+            shiftto -= 6;
+            if (shiftto < 0) {
+                dst[dp++] = (byte) (bits >> 16);
+                dst[dp++] = (byte) (bits >> 8);
+                dst[dp++] = (byte) bits;
+                shiftto = 18;
+                bits = 0;
+            }
+        }
+
+        if (shiftto == 6) {
+            dst[dp++] = (byte) (bits >> 16);
+        } else if (shiftto == 0) {
+            dst[dp++] = (byte) (bits >> 16);
+            dst[dp++] = (byte) (bits >> 8);
+        } else if (shiftto == 12) {
+            throw new IllegalArgumentException("Last unit does not have enough valid bits");
+        }
+
+        if (sp < to) {
+            throw new IllegalArgumentException("Input byte array has incorrect ending byte at " + sp);
+        }
+        return dp;
+    }
+
+    /**
+     * 정규식 \s 에 해당하는 문자를 제자리에서 제거
+     *
+     * @return 압축된 구간의 끝 인덱스
+     */
+    private static int stripWhitespace(byte[] buf, int from, int to) {
+        int w = from;
+        for (int r = from; r < to; r++) {
+            byte b = buf[r];
+            if (b != ' ' && b != '\t' && b != '\n' && b != 0x0B && b != '\f' && b != '\r') {
+                buf[w++] = b;
+            }
+        }
+        return w;
+    }
+
+    private static boolean isAscii(byte[] payload) {
+        for (byte b : payload) {
+            if (b < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void ensureTextCapacity(int capacity) {
+        if (text.length < capacity) {
+            text = new byte[Math.max(capacity, text.length << 1)];
+        }
+    }
+
+    /**
+     * 수신 건별 메시지 ID: MD5(프로세스 nonce + 수신 순번 + 토픽 UTF-8 + 0x00 + 페이로드 원본)로 만든 UUID v3
+     * 같은 토픽에 같은 바이트가 다시 와도 수신할 때마다 다른 ID 가 된다.
+     */
+    String receiveMessageId(String topic, byte[] payload) {
+        MessageDigest md = digest;
+        updateLong(md, PROCESS_NONCE);
+        updateLong(md, RECEIVE_SEQUENCE.incrementAndGet());
+        md.update(topic.getBytes(StandardCharsets.UTF_8));
+        md.update((byte) 0);
+        md.update(payload);
+        byte[] hash = md.digest();
+
+        hash[6] = (byte) ((hash[6] & 0x0F) | 0x30);
+        hash[8] = (byte) ((hash[8] & 0x3F) | 0x80);
+        long msb = 0;
+        long lsb = 0;
+        for (int i = 0; i < 8; i++) {
+            msb = (msb << 8) | (hash[i] & 0xFF);
+            lsb = (lsb << 8) | (hash[8 + i] & 0xFF);
+        }
+        return new UUID(msb, lsb).toString();
+    }
+
+    private static void updateLong(MessageDigest md, long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            md.update((byte) (value >>> shift));
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 not available", e);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.enterprise.mqtt.codec;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 룩업 테이블 기반 Hex 인코더
+ * 바이트당 String.format("%02X") 호출 대신 미리 계산된 테이블에서 두 글자를 복사
+ */
+public final class HexCodec {
+
+    private static final byte[] DIGITS = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * 바이트 값(0~255) → 대문자 Hex 두 글자 (index * 2, index * 2 + 1)
+     */
+    private static final byte[] PAIRS = new byte[512];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            PAIRS[i << 1] = DIGITS[i >>> 4];
+            PAIRS[(i << 1) + 1] = DIGITS[i & 0x0F];
+        }
+    }
+
+    private HexCodec() {
+    }
+
+    /**
+     * src[offset, offset + length) 를 대문자 Hex(ASCII)로 dst[dstOffset...]에 기록
+     *
+     * @return 기록한 바이트 수 (length * 2)
+     */
+    public static int encode(byte[] src, int offset, int length, byte[] dst, int dstOffset) {
+        int d = dstOffset;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            int idx = (src[i] & 0xFF) << 1;
+            dst[d++] = PAIRS[idx];
+            dst[d++] = PAIRS[idx + 1];
+        }
+        return d - dstOffset;
+    }
+
+    /**
+     * 대문자 Hex 문자열 생성
+     */
+    public static String toHexString(byte[] src, int offset, int length) {
+        byte[] out = new byte[length << 1];
+        encode(src, offset, length, out, 0);
+        return new String(out, StandardCharsets.ISO_8859_1);
+    }
+
+    public static String toHexString(byte[] src) {
+        return toHexString(src, 0, src.length);
+    }
+
+    /**
+     * Hex 덤프 문자열 생성 (16바이트마다 줄바꿈)
+     */
+    public static String toHexDump(byte[] src, int offset, int length) {
+        StringBuilder sb = new StringBuilder(length * 3 + length / 16 + 48);
+        sb.append("\n=== Hex Dump ===\n");
+        for (int i = 0; i < length; i++) {
+            int idx = (src[offset + i] & 0xFF) << 1;
+            sb.append((char) PAIRS[idx]).append((char) PAIRS[idx + 1]).append(' ');
+            if ((i + 1) % 16 == 0) {
+                sb.append('\n');
+            }
+        }
+        sb.append("\nTotal: ").append(length).append(" bytes\n");
+        return sb.toString();
+    }
+}
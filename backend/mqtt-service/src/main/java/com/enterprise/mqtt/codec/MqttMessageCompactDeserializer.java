@@ -0,0 +1,23 @@
+package com.enterprise.mqtt.codec;
+
+import com.enterprise.mqtt.dto.MqttMessage;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+/**
+ * Kafka Deserializer - 압축 바이너리 → MqttMessage ({@link CompactMessageCodec})
+ */
+public class MqttMessageCompactDeserializer implements Deserializer<MqttMessage> {
+
+    @Override
+    public MqttMessage deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return CompactMessageCodec.decode(data);
+        } catch (IllegalArgumentException e) {
+            throw new SerializationException("Failed to deserialize compact MqttMessage from topic " + topic, e);
+        }
+    }
+}
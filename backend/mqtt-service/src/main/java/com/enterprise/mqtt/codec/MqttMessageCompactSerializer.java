@@ -0,0 +1,15 @@
+package com.enterprise.mqtt.codec;
+
+import com.enterprise.mqtt.dto.MqttMessage;
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * Kafka Serializer - MqttMessage → 압축 바이너리 ({@link CompactMessageCodec})
+ */
+public class MqttMessageCompactSerializer implements Serializer<MqttMessage> {
+
+    @Override
+    public byte[] serialize(String topic, MqttMessage data) {
+        return data == null ? null : CompactMessageCodec.encode(data);
+    }
+}
@@ -1,11 +1,20 @@
 package com.enterprise.mqtt.config;
 
-import com.amazonaws.services.iot.client.AWSIotMqttClient;
+import com.enterprise.mqtt.client.MqttClientPool;
+import com.enterprise.mqtt.client.PooledMqttClient;
+import com.enterprise.mqtt.ingest.IngestStage;
 import com.enterprise.mqtt.listener.MqttMessageListener;
+import com.enterprise.mqtt.routing.TopicRouter;
 import com.enterprise.mqtt.service.KafkaProducerService;
+import com.enterprise.mqtt.transport.AwsIotMqttTransport;
+import com.enterprise.mqtt.transport.EmbeddedMqttTransport;
+import com.enterprise.mqtt.transport.MqttTransport;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -24,13 +33,22 @@ import java.security.cert.Certificate;
 import java.security.cert.CertificateFactory;
 import java.security.spec.PKCS8EncodedKeySpec;
 import java.security.spec.RSAPrivateCrtKeySpec;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.List;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.TrustManagerFactory;
 
 /**
  * AWS IoT MQTT 클라이언트 설정
+ * mqtt.transport.type=embedded 이면 AWS IoT 연결(인증서 읽기 포함) 대신 프로세스 내 브로커를 사용한다.
  */
 @Slf4j
 @Configuration
+@EnableConfigurationProperties({MqttIngestProperties.class, MqttPublishProperties.class, MqttClientPoolProperties.class,
+        MqttTransportProperties.class, MqttLoadTestProperties.class, MqttScalingProperties.class})
 public class AwsIotConfig {
 
     @Value("${aws.iot.endpoint}")
@@ -52,13 +70,29 @@ public class AwsIotConfig {
     private int keepAliveInterval;
 
     /**
-     * AWS IoT MQTT 클라이언트 Bean 생성
+     * 브로커 포트 (AWS IoT 8883, 로컬 Mosquitto 등 대체 브로커는 해당 TLS 포트)
+     */
+    @Value("${aws.iot.port:8883}")
+    private int port;
+
+    /**
+     * 서버 인증서 검증용 CA (PEM, 비어 있으면 JVM 기본 trust store - 자체 서명 인증서를 쓰는 로컬 브로커용)
+     */
+    @Value("${aws.iot.ca-file:}")
+    private String caFile;
+
+    /**
+     * AWS IoT MQTT 연결 풀 Bean 생성
+     * aws.iot.pool.size 개의 연결을 만들며, 2개 이상이면 client-id 뒤에 "-<번호>" 를 붙인다.
      */
     @Bean
-    public AWSIotMqttClient awsIotMqttClient() throws Exception {
-        log.info("Initializing AWS IoT MQTT Client");
-        log.info("Endpoint: {}", endpoint);
-        log.info("Client ID: {}", clientId);
+    @ConditionalOnProperty(prefix = "mqtt.transport", name = "type", havingValue = MqttTransportProperties.AWS, matchIfMissing = true)
+    public MqttClientPool mqttClientPool(MqttClientPoolProperties poolProperties,
+                                         MqttScalingProperties scalingProperties,
+                                         MeterRegistry meterRegistry) throws Exception {
+        log.info("Initializing AWS IoT MQTT client pool");
+        log.info("Endpoint: {}:{}", endpoint, port);
+        log.info("Client ID: {}, connections: {}", clientId, poolProperties.getSize());
 
         // 인증서 및 개인키 읽기
         String certificateContent = readFile(certificateFile);
@@ -68,19 +102,45 @@ public class AwsIotConfig {
         KeyStore keyStore = createKeyStore(certificateContent, privateKeyBytes);
         String keyPassword = "password";
 
+        // 기본 포트 / trust store 가 아니면 직접 만든 소켓 팩토리 사용
+        SSLSocketFactory socketFactory = port != 8883 || !caFile.isBlank()
+                ? createSocketFactory(keyStore, keyPassword)
+                : null;
+
         // MQTT 클라이언트 생성
-        AWSIotMqttClient client = new AWSIotMqttClient(
-                endpoint,
-                clientId,
-                keyStore,
-                keyPassword
-        );
+        List<PooledMqttClient> clients = new ArrayList<>(poolProperties.getSize());
+        for (int i = 0; i < poolProperties.getSize(); i++) {
+            String id = poolProperties.getSize() > 1 ? clientId + "-" + i : clientId;
+            PooledMqttClient client = socketFactory != null
+                    ? new PooledMqttClient(i, endpoint, id, socketFactory, port)
+                    : new PooledMqttClient(i, endpoint, id, keyStore, keyPassword);
+            client.setConnectionTimeout(connectionTimeout);
+            client.setKeepAliveInterval(keepAliveInterval);
+            clients.add(client);
+        }
+
+        log.info("AWS IoT MQTT client pool initialized successfully");
+        return new MqttClientPool(clients, poolProperties, scalingProperties, connectionTimeout, meterRegistry);
+    }
 
-        client.setConnectionTimeout(connectionTimeout);
-        client.setKeepAliveInterval(keepAliveInterval);
+    /**
+     * AWS IoT 트랜스포트 (기본)
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "mqtt.transport", name = "type", havingValue = MqttTransportProperties.AWS, matchIfMissing = true)
+    public MqttTransport awsIotMqttTransport(MqttClientPool mqttClientPool) {
+        return new AwsIotMqttTransport(mqttClientPool);
+    }
 
-        log.info("AWS IoT MQTT Client initialized successfully");
-        return client;
+    /**
+     * 프로세스 내 브로커 트랜스포트 (로컬 개발 / ingest 부하 테스트)
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "mqtt.transport", name = "type", havingValue = MqttTransportProperties.EMBEDDED)
+    public MqttTransport embeddedMqttTransport(MqttTransportProperties transportProperties,
+                                               MeterRegistry meterRegistry) {
+        log.info("Using embedded MQTT broker instead of AWS IoT");
+        return new EmbeddedMqttTransport(transportProperties.getEmbedded(), meterRegistry);
     }
 
     /**
@@ -89,6 +149,8 @@ public class AwsIotConfig {
     @Bean
     public MqttMessageListener mqttMessageListener(
             KafkaProducerService kafkaProducerService,
+            IngestStage ingestStage,
+            TopicRouter topicRouter,
             @Value("${aws.iot.subscribe-topics:device/topic/+}") String subscribeTopics,
             @Value("${aws.iot.qos:0}") int qos) {
         
@@ -99,6 +161,8 @@ public class AwsIotConfig {
         
         return new MqttMessageListener(
                 kafkaProducerService,
+                ingestStage,
+                topicRouter,
                 topicsArray,
                 qos
         );
@@ -126,6 +190,28 @@ public class AwsIotConfig {
         return keyStore;
     }
 
+    /**
+     * 클라이언트 인증서 + (설정 시) 전용 CA 로 TLS 소켓 팩토리 생성
+     */
+    private SSLSocketFactory createSocketFactory(KeyStore keyStore, String keyPassword) throws Exception {
+        KeyManagerFactory keyManagerFactory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagerFactory.init(keyStore, keyPassword.toCharArray());
+
+        TrustManagerFactory trustManagerFactory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        if (caFile.isBlank()) {
+            trustManagerFactory.init((KeyStore) null);
+        } else {
+            KeyStore trustStore = KeyStore.getInstance(KeyStore.getDefaultType());
+            trustStore.load(null, null);
+            trustStore.setCertificateEntry("ca", parseCertificate(readFile(caFile)));
+            trustManagerFactory.init(trustStore);
+        }
+
+        SSLContext context = SSLContext.getInstance("TLSv1.2");
+        context.init(keyManagerFactory.getKeyManagers(), trustManagerFactory.getTrustManagers(), null);
+        return context.getSocketFactory();
+    }
+
     /**
      * PEM 인증서 파싱
      */
@@ -9,6 +9,7 @@ import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -51,4 +52,23 @@ public class KafkaConsumerConfig {
         factory.setConsumerFactory(consumerFactory());
         return factory;
     }
+
+    /**
+     * MQTT 명령 토픽용 배치 리스너 (MqttCommandConsumer)
+     * 배치의 발행이 브로커에서 확인된 뒤에만 오프셋을 커밋한다 (AckMode.MANUAL).
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> mqttCommandKafkaListenerContainerFactory(
+            MqttPublishProperties publishProperties) {
+        Map<String, Object> props = new HashMap<>(consumerFactory().getConfigurationProperties());
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, publishProperties.getBatchSize());
+
+        ConcurrentKafkaListenerContainerFactory<String, String> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(props));
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        return factory;
+    }
 }
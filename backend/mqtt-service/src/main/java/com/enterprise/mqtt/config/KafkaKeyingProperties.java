@@ -0,0 +1,39 @@
+package com.enterprise.mqtt.config;
+
+import com.enterprise.mqtt.partition.FallbackKey;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Kafka 레코드 key / 파티션 배정 설정
+ *
+ * kafka.keying.fallback-key: topic-serial
+ * kafka.keying.null-key-batch-size: 16
+ */
+@Data
+@ConfigurationProperties(prefix = "kafka.keying")
+public class KafkaKeyingProperties {
+
+    /**
+     * deviceId 가 없을 때 사용할 key
+     */
+    private FallbackKey fallbackKey = FallbackKey.TOPIC_SERIAL;
+
+    /**
+     * false 면 Kafka 기본 파티셔너 사용 (key 없는 레코드는 sticky 파티션)
+     */
+    private boolean partitionerEnabled = true;
+
+    /**
+     * key 없는 레코드를 한 파티션에 연속으로 보낼 개수 (1 이면 레코드마다 라운드 로빈)
+     * 배치 효율과 분산 사이의 균형
+     */
+    private int nullKeyBatchSize = 16;
+
+    /**
+     * 파티션 쏠림(skew) 계산 구간
+     */
+    private Duration skewWindow = Duration.ofMinutes(1);
+}
@@ -1,9 +1,14 @@
 package com.enterprise.mqtt.config;
 
+import com.enterprise.mqtt.partition.DeviceAwarePartitioner;
+import com.enterprise.mqtt.partition.PartitionSkewMonitor;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
@@ -14,24 +19,39 @@ import java.util.Map;
 
 /**
  * Kafka Producer 설정
- * MqttMessage 객체를 JSON으로 직렬화하여 전송
+ * MqttMessage 를 byte[] value 로 전송 (포맷은 KafkaRecordFormatProperties 로 토픽별 선택)
+ * 압축/배치/멱등성 등은 KafkaProducerProfileProperties 의 활성 프로필을 spring.kafka.producer 위에 적용
  */
+@Slf4j
 @Configuration
+@EnableConfigurationProperties({KafkaRecordFormatProperties.class, KafkaSpillJournalProperties.class,
+		KafkaKeyingProperties.class, KafkaProducerProfileProperties.class})
 public class KafkaProducerConfig {
 
 	@Value("${spring.kafka.bootstrap-servers}")
 	private String bootstrapServers;
 
 	@Bean
-	public ProducerFactory<String, String> producerFactory(KafkaProperties props) {
+	public ProducerFactory<String, byte[]> producerFactory(KafkaProperties props,
+			KafkaKeyingProperties keyingProperties, PartitionSkewMonitor skewMonitor,
+			KafkaProducerProfileProperties profileProperties) {
 		Map<String, Object> config = new HashMap<>(props.buildProducerProperties());
+		config.putAll(profileProperties.producerOverrides());
 		config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-		config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+		config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+
+		// 디바이스 key 는 기본 파티셔너와 같은 해시, key 없는 레코드는 파티션에 고르게 분산
+		if (keyingProperties.isPartitionerEnabled()) {
+			config.put(ProducerConfig.PARTITIONER_CLASS_CONFIG, DeviceAwarePartitioner.class);
+			config.put(DeviceAwarePartitioner.MONITOR_CONFIG, skewMonitor);
+			config.put(DeviceAwarePartitioner.NULL_KEY_BATCH_SIZE_CONFIG, keyingProperties.getNullKeyBatchSize());
+		}
+		log.info("Kafka producer profile: {} {}", profileProperties.getActive(), profileProperties.producerOverrides());
 		return new DefaultKafkaProducerFactory<>(config);
 	}
 
 	@Bean
-	public KafkaTemplate<String, String> kafkaTemplate(ProducerFactory<String, String> pf) {
+	public KafkaTemplate<String, byte[]> kafkaTemplate(ProducerFactory<String, byte[]> pf) {
 		return new KafkaTemplate<>(pf);
 	}
 }
\ No newline at end of file
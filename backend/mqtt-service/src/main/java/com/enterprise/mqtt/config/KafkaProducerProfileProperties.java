@@ -0,0 +1,98 @@
+package com.enterprise.mqtt.config;
+
+import lombok.Data;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Kafka producer 프로필 설정
+ *
+ * kafka.producer-profile.active: ingest
+ * kafka.producer-profile.ingest.compression: lz4
+ */
+@Data
+@ConfigurationProperties(prefix = "kafka.producer-profile")
+public class KafkaProducerProfileProperties {
+
+    private static final int MIN_BATCH_SIZE = 16 * 1024;
+    private static final int MAX_BATCH_SIZE = 1024 * 1024;
+
+    private ProducerProfile active = ProducerProfile.INGEST;
+
+    private Ingest ingest = new Ingest();
+
+    /**
+     * 활성 프로필이 spring.kafka.producer 설정 위에 덮어쓸 producer 설정
+     */
+    public Map<String, Object> producerOverrides() {
+        Map<String, Object> config = new HashMap<>();
+        if (active != ProducerProfile.INGEST) {
+            return config;
+        }
+
+        config.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, ingest.getCompression());
+        config.put(ProducerConfig.LINGER_MS_CONFIG, ingest.getLingerMs());
+        config.put(ProducerConfig.BATCH_SIZE_CONFIG, ingest.effectiveBatchSize());
+        config.put(ProducerConfig.BUFFER_MEMORY_CONFIG, ingest.getBufferMemory());
+        config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, ingest.isIdempotence());
+        config.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, ingest.getMaxInFlight());
+        if (ingest.isIdempotence()) {
+            config.put(ProducerConfig.ACKS_CONFIG, "all");
+        }
+        return config;
+    }
+
+    @Data
+    public static class Ingest {
+
+        /**
+         * lz4 | zstd | snappy | gzip | none
+         */
+        private String compression = "lz4";
+
+        private int lingerMs = 10;
+
+        /**
+         * 0 이면 expected-rate, avg-record-bytes, linger-ms 로 계산
+         */
+        private int batchSize = 0;
+
+        /**
+         * 예상 전송량 (msgs/s), batch-size 자동 계산용
+         */
+        private int expectedRate = 20_000;
+
+        /**
+         * 평균 레코드 크기 (압축 전, 헤더 포함), batch-size 자동 계산용
+         */
+        private int avgRecordBytes = 200;
+
+        private long bufferMemory = 64L * 1024 * 1024;
+
+        /**
+         * 재시도 시 중복/순서 역전 방지 (acks=all)
+         */
+        private boolean idempotence = true;
+
+        /**
+         * 멱등성 사용 시 5 이하
+         */
+        private int maxInFlight = 5;
+
+        /**
+         * linger-ms 동안 모이는 양을 담을 수 있는 크기 (2의 거듭제곱, 16KB ~ 1MB)
+         * Kafka producer 는 실행 중 batch.size 를 바꿀 수 없으므로 시작 시 한 번 계산한다.
+         */
+        public int effectiveBatchSize() {
+            if (batchSize > 0) {
+                return batchSize;
+            }
+            long bytesPerLinger = (long) expectedRate * avgRecordBytes * lingerMs / 1000;
+            long size = Long.highestOneBit(Math.max(1, bytesPerLinger - 1)) << 1;
+            return (int) Math.max(MIN_BATCH_SIZE, Math.min(MAX_BATCH_SIZE, size));
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.enterprise.mqtt.config;
+
+import com.enterprise.mqtt.codec.RecordFormat;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Kafka 토픽별 레코드 포맷 설정
+ *
+ * kafka.record-format.default-format: frame
+ * kafka.record-format.topics."[device.data.topic]": compact
+ */
+@Data
+@ConfigurationProperties(prefix = "kafka.record-format")
+public class KafkaRecordFormatProperties {
+
+    /**
+     * 토픽별 설정이 없을 때 사용할 포맷
+     */
+    private RecordFormat defaultFormat = RecordFormat.FRAME;
+
+    /**
+     * Kafka 토픽 → 포맷
+     */
+    private Map<String, RecordFormat> topics = new HashMap<>();
+
+    public RecordFormat formatFor(String topic) {
+        return topics.getOrDefault(topic, defaultFormat);
+    }
+}
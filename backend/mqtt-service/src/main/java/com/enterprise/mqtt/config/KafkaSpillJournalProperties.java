@@ -0,0 +1,61 @@
+package com.enterprise.mqtt.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Kafka 전송 실패 메시지를 보관하는 로컬 저널 설정
+ *
+ * kafka.spill-journal.directory: ./data/kafka-journal
+ * kafka.spill-journal.replay-rate: 1000
+ */
+@Data
+@ConfigurationProperties(prefix = "kafka.spill-journal")
+public class KafkaSpillJournalProperties {
+
+    /**
+     * false 면 전송 실패 시 로그만 남김 (기존 동작)
+     */
+    private boolean enabled = true;
+
+    private String directory = "./data/kafka-journal";
+
+    /**
+     * 세그먼트 파일 크기
+     */
+    private int segmentBytes = 64 * 1024 * 1024;
+
+    /**
+     * 저널 디스크 사용량 상한 (초과 시 메시지 폐기)
+     */
+    private long maxBytes = 1024L * 1024 * 1024;
+
+    /**
+     * 재전송 시작 속도 (records/s)
+     * Kafka 복구 직후와 재전송 실패 후에는 이 속도로 시작해 batch 가 성공할 때마다 두 배로 올린다.
+     */
+    private int replayRate = 1000;
+
+    /**
+     * 재전송 속도 상한 (records/s, 0 이면 무제한)
+     * 수신 속도보다 낮으면 대기 중인 key 의 새 레코드가 계속 저널로 들어가 저널이 비지 않을 수 있다.
+     */
+    private int replayMaxRate = 0;
+
+    /**
+     * 한 번에 재전송하고 ack 를 기다릴 레코드 수
+     */
+    private int replayBatchSize = 200;
+
+    /**
+     * 재전송 ack 대기 시간
+     */
+    private Duration replayTimeout = Duration.ofSeconds(30);
+
+    /**
+     * 재전송 실패 후 다시 시도할 때까지의 간격
+     */
+    private Duration retryInterval = Duration.ofSeconds(5);
+}
@@ -0,0 +1,35 @@
+package com.enterprise.mqtt.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * AWS IoT MQTT 연결 풀 설정
+ *
+ * aws.iot.pool.size: 4
+ * aws.iot.pool.health-check-interval: 15s
+ *
+ * size 가 2 이상이면 연결마다 client-id 뒤에 "-<번호>" 를 붙인다 (IoT 정책의 client id 조건 확인 필요).
+ * AWS IoT 의 연결당 처리량 제한은 연결 수만큼 늘어난다.
+ */
+@Data
+@ConfigurationProperties(prefix = "aws.iot.pool")
+public class MqttClientPoolProperties {
+
+    /**
+     * MQTT 연결 수
+     */
+    private int size = 1;
+
+    /**
+     * 연결 상태 점검 주기 (SDK 자동 재연결을 모두 소진한 연결은 다시 connect)
+     */
+    private Duration healthCheckInterval = Duration.ofSeconds(15);
+
+    /**
+     * 발행 대상 연결이 끊겨 있으면 연결된 다른 연결로 발행
+     */
+    private boolean publishFailover = true;
+}
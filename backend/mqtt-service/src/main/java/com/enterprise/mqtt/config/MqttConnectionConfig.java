@@ -1,8 +1,8 @@
 package com.enterprise.mqtt.config;
 
-import com.amazonaws.services.iot.client.AWSIotException;
-import com.amazonaws.services.iot.client.AWSIotMqttClient;
-import com.enterprise.mqtt.listener.MqttMessageListener;
+import com.enterprise.mqtt.exception.MqttException;
+import com.enterprise.mqtt.scaling.SubscriptionManager;
+import com.enterprise.mqtt.transport.MqttTransport;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
@@ -18,26 +18,26 @@ import org.springframework.context.annotation.Configuration;
 @RequiredArgsConstructor
 public class MqttConnectionConfig {
 
-    private final AWSIotMqttClient awsIotMqttClient;
-    private final MqttMessageListener mqttMessageListener;
+    private final MqttTransport mqttTransport;
+    private final SubscriptionManager subscriptionManager;
 
     /**
      * 애플리케이션 시작 시 MQTT 연결 및 구독 설정
      */
     @PostConstruct
-    public void init() throws AWSIotException {
+    public void init() {
         log.info("Initializing MQTT connection...");
         
         try {
             // MQTT 브로커에 연결
-            awsIotMqttClient.connect();
-            log.info("Successfully connected to AWS IoT MQTT broker");
+            mqttTransport.connect();
+            log.info("Successfully connected to MQTT broker ({})", mqttTransport.name());
 
-            // 토픽 구독
-            mqttMessageListener.subscribe(awsIotMqttClient);
+            // 토픽 구독 (mqtt.scaling.mode 에 따라 전체 / 공유 구독 / 배정된 shard, aws: 토픽 필터별로 연결 하나에 배정)
+            subscriptionManager.start();
             log.info("Successfully subscribed to MQTT topics");
 
-        } catch (AWSIotException e) {
+        } catch (MqttException e) {
             log.error("Failed to initialize MQTT connection", e);
             throw e;
         }
@@ -50,9 +50,10 @@ public class MqttConnectionConfig {
     public void cleanup() {
         log.info("Closing MQTT connection...");
         try {
-            if (awsIotMqttClient != null) {
-                awsIotMqttClient.disconnect();
-                log.info("Successfully disconnected from AWS IoT MQTT broker");
+            subscriptionManager.stop();
+            if (mqttTransport != null) {
+                mqttTransport.disconnect();
+                log.info("Successfully disconnected from MQTT broker ({})", mqttTransport.name());
             }
         } catch (Exception e) {
             log.error("Error while disconnecting MQTT client", e);
@@ -0,0 +1,69 @@
+package com.enterprise.mqtt.config;
+
+import com.enterprise.mqtt.ingest.OverflowPolicy;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * MQTT 수신 → Kafka 전송 사이의 비동기 ingest 단계 설정
+ *
+ * mqtt.ingest.capacity: 8192
+ * mqtt.ingest.overflow-policy: block | drop-oldest | spill
+ */
+@Data
+@ConfigurationProperties(prefix = "mqtt.ingest")
+public class MqttIngestProperties {
+
+    /**
+     * false 면 기존과 같이 AWS IoT 콜백 스레드에서 바로 처리
+     */
+    private boolean enabled = true;
+
+    /**
+     * 링 버퍼 크기 (2의 거듭제곱으로 올림)
+     */
+    private int capacity = 8192;
+
+    /**
+     * 디코딩/Kafka 전송 워커 수 (1 이면 수신 순서 유지)
+     */
+    private int workers = 1;
+
+    /**
+     * 워커를 가상 스레드로 실행
+     */
+    private boolean virtualThreads = false;
+
+    /**
+     * 버퍼가 가득 찼을 때의 처리 정책
+     */
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+    /**
+     * BLOCK 정책에서 콜백 스레드가 대기하는 최대 시간 (초과 시 메시지 폐기)
+     * MQTT keep-alive 보다 충분히 짧아야 한다.
+     */
+    private Duration blockTimeout = Duration.ofSeconds(5);
+
+    /**
+     * SPILL 정책의 디스크 저장 위치
+     */
+    private String spillDirectory = "./data/ingest-spill";
+
+    /**
+     * SPILL 저널 세그먼트 파일 크기
+     */
+    private int spillSegmentBytes = 16 * 1024 * 1024;
+
+    /**
+     * SPILL 저널 디스크 사용량 상한 (초과 시 메시지 폐기)
+     */
+    private long spillMaxBytes = 256L * 1024 * 1024;
+
+    /**
+     * 종료 시 버퍼에 남은 메시지를 처리할 최대 시간
+     */
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+}
@@ -0,0 +1,69 @@
+package com.enterprise.mqtt.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * ingest 부하 생성기 설정 (LoadGenerator, /api/mqtt/load-test)
+ *
+ * mqtt.load-test.enabled: false
+ * mqtt.load-test.max-rate: 50000
+ * mqtt.load-test.topics.a0: device/topic/A0
+ */
+@Data
+@ConfigurationProperties(prefix = "mqtt.load-test")
+public class MqttLoadTestProperties {
+
+    /**
+     * 부하 생성 API 활성화 (운영 브로커로 합성 메시지를 보내지 않도록 기본 비활성화)
+     */
+    private boolean enabled = false;
+
+    /**
+     * 요청할 수 있는 최대 발행 속도 (msgs/s)
+     */
+    private int maxRate = 50_000;
+
+    /**
+     * 요청할 수 있는 최대 실행 시간
+     */
+    private Duration maxDuration = Duration.ofMinutes(30);
+
+    /**
+     * 요청할 수 있는 최대 가상 디바이스 수 (디바이스별 페이로드를 미리 만들어 둠)
+     */
+    private int maxDevices = 10_000;
+
+    /**
+     * 브로커 확인을 기다리는 최대 발행 수 (가득 차면 생성 속도가 늦춰짐)
+     */
+    private int maxInFlight = 4096;
+
+    /**
+     * 가상 디바이스 serialNo 접두사 (EST 로 시작, 나머지는 디바이스 번호로 17자를 채움)
+     */
+    private String serialPrefix = "EST-ROZ-LT";
+
+    private Topics topics = new Topics();
+
+    @Data
+    public static class Topics {
+
+        /**
+         * A0: Base64 프레임, REQUEST (serialNo 로 deviceId 추출)
+         */
+        private String a0 = "device/topic/A0";
+
+        /**
+         * B0: Base64 프레임, PERIODIC
+         */
+        private String b0 = "device/topic/B0";
+
+        /**
+         * C0: 평문
+         */
+        private String c0 = "device/topic/C0";
+    }
+}
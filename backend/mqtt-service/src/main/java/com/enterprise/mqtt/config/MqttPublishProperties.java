@@ -0,0 +1,38 @@
+package com.enterprise.mqtt.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * MQTT 명령 발행 파이프라인 설정 (Kafka mqtt.command.topic → AWS IoT)
+ *
+ * mqtt.publish.max-in-flight: 256
+ * mqtt.publish.ack-timeout: 10s
+ * mqtt.publish.batch-size: 500
+ */
+@Data
+@ConfigurationProperties(prefix = "mqtt.publish")
+public class MqttPublishProperties {
+
+    /**
+     * 브로커 확인을 기다리는 최대 발행 수 (가득 차면 발행 호출이 대기해 Kafka 소비 속도를 늦춤)
+     */
+    private int maxInFlight = 256;
+
+    /**
+     * 브로커 확인 대기 시간 (QoS 1 은 PUBACK, QoS 0 은 소켓 쓰기 완료)
+     */
+    private Duration ackTimeout = Duration.ofSeconds(10);
+
+    /**
+     * 명령 토픽 poll 한 번에 가져올 최대 레코드 수
+     */
+    private int batchSize = 500;
+
+    /**
+     * 발행에 실패한 명령부터 다시 받기 전 대기 시간
+     */
+    private Duration retryBackoff = Duration.ofSeconds(1);
+}
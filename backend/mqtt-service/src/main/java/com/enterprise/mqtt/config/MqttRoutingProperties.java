@@ -0,0 +1,38 @@
+package com.enterprise.mqtt.config;
+
+import com.enterprise.mqtt.routing.PayloadDecoding;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * MQTT 토픽 라우팅 설정 (mqtt.routing)
+ * 설정 변경 시 다시 읽을 수 있도록 TopicRouter 가 Environment 에서 직접 바인딩한다.
+ *
+ * mqtt.routing.routes[0].filter: device/topic/A0
+ * mqtt.routing.routes[0].decoder: frame
+ */
+@Data
+public class MqttRoutingProperties {
+
+    public static final String PREFIX = "mqtt.routing";
+
+    private List<Route> routes = new ArrayList<>();
+
+    @Data
+    public static class Route {
+
+        /**
+         * MQTT 토픽 필터 (+, # 와일드카드)
+         */
+        private String filter;
+
+        private PayloadDecoding decoder = PayloadDecoding.PLAINTEXT;
+
+        /**
+         * 비어 있으면 메시지 타입별 Kafka 토픽 (kafka.topics.*)
+         */
+        private String kafkaTopic;
+    }
+}
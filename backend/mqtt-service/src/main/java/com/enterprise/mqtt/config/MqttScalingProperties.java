@@ -0,0 +1,54 @@
+package com.enterprise.mqtt.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * mqtt-service 수평 확장 설정 (여러 인스턴스가 같은 메시지를 중복 수신하지 않도록)
+ *
+ * mqtt.scaling.mode: none | shared | sharded
+ * mqtt.scaling.shared-group: mqtt-service
+ * mqtt.scaling.shards: [device/topic/A0, device/topic/B0, device/topic/C0]
+ */
+@Data
+@ConfigurationProperties(prefix = "mqtt.scaling")
+public class MqttScalingProperties {
+
+    public enum Mode {
+        /**
+         * 모든 인스턴스가 aws.iot.subscribe-topics 를 그대로 구독 (인스턴스 1개일 때)
+         */
+        NONE,
+        /**
+         * $share/<shared-group>/<topic> 공유 구독 - 브로커가 인스턴스 사이에 메시지를 나눔
+         */
+        SHARED,
+        /**
+         * Eureka 인스턴스 메타데이터로 shards 를 인스턴스에 나눠 구독 (공유 구독을 지원하지 않는 브로커)
+         */
+        SHARDED
+    }
+
+    private Mode mode = Mode.NONE;
+
+    /**
+     * 공유 구독 group 이름 (같은 group 의 구독자 중 하나에게만 전달)
+     */
+    private String sharedGroup = "mqtt-service";
+
+    /**
+     * SHARDED: 인스턴스에 나눠 줄 토픽 필터 (서로 겹치지 않아야 하며 비어 있으면 aws.iot.subscribe-topics)
+     * 인스턴스 수가 shard 수보다 많으면 남는 인스턴스는 구독하지 않는다.
+     */
+    private List<String> shards = new ArrayList<>();
+
+    /**
+     * SHARDED: Eureka 레지스트리로 인스턴스 목록을 다시 확인하는 주기
+     * 다른 인스턴스로 넘어가는 shard 는 이전 담당자가 해제한 뒤 최대 이 주기 (+ 레지스트리 갱신 주기) 동안 수신되지 않는다.
+     */
+    private Duration rebalanceInterval = Duration.ofSeconds(30);
+}
@@ -0,0 +1,41 @@
+package com.enterprise.mqtt.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * MQTT 트랜스포트 설정
+ *
+ * mqtt.transport.type: aws | embedded
+ * mqtt.transport.embedded.queue-capacity: 65536
+ * mqtt.transport.embedded.delivery-threads: 1
+ */
+@Data
+@ConfigurationProperties(prefix = "mqtt.transport")
+public class MqttTransportProperties {
+
+    public static final String AWS = "aws";
+    public static final String EMBEDDED = "embedded";
+
+    /**
+     * aws: AWS IoT Core (aws.iot.*), embedded: 프로세스 내 브로커 (인증서 / 네트워크 불필요)
+     */
+    private String type = AWS;
+
+    private Embedded embedded = new Embedded();
+
+    @Data
+    public static class Embedded {
+
+        /**
+         * 전달 대기 메시지 상한 (전달 스레드별로 나눔, 가득 차면 발행 실패)
+         */
+        private int queueCapacity = 65536;
+
+        /**
+         * 구독자에게 전달하는 스레드 수 (발행 shardKey 해시로 배정, 같은 디바이스는 순서 유지)
+         * AWS IoT SDK 처럼 1 이면 모든 메시지가 한 스레드에서 수신 순서대로 전달된다.
+         */
+        private int deliveryThreads = 1;
+    }
+}
@@ -0,0 +1,17 @@
+package com.enterprise.mqtt.config;
+
+/**
+ * mqtt-service Kafka producer 설정 프로필
+ */
+public enum ProducerProfile {
+
+    /**
+     * spring.kafka.producer 설정과 Kafka 클라이언트 기본값만 사용
+     */
+    DEFAULT,
+
+    /**
+     * 대량 디바이스 메시지용 (압축, linger/batch, 멱등성, buffer.memory)
+     */
+    INGEST
+}
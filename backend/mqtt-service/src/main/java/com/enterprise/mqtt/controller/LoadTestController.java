@@ -0,0 +1,69 @@
+package com.enterprise.mqtt.controller;
+
+import com.enterprise.mqtt.dto.LoadTestRequest;
+import com.enterprise.mqtt.dto.LoadTestStatus;
+import com.enterprise.mqtt.exception.ErrorResponse;
+import com.enterprise.mqtt.loadtest.LoadGenerator;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * ingest 부하 생성 API (mqtt.load-test.enabled=true 일 때만 등록)
+ */
+@RestController
+@RequestMapping("/api/mqtt/load-test")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "mqtt.load-test", name = "enabled", havingValue = "true")
+@Tag(name = "MQTT Load Test", description = "합성 A0/B0/C0 메시지 부하 생성 API")
+public class LoadTestController {
+
+    private final LoadGenerator loadGenerator;
+
+    @Operation(summary = "부하 생성 시작",
+            description = "가상 디바이스 메시지를 지정한 속도로 발행합니다 (한 번에 하나의 실행)")
+    @PostMapping
+    public ResponseEntity<LoadTestStatus> start(@RequestBody LoadTestRequest request) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(loadGenerator.start(request));
+    }
+
+    @Operation(summary = "부하 생성 상태", description = "현재 또는 마지막 실행의 발행 수, 속도, 지연 백분위를 조회합니다")
+    @GetMapping
+    public ResponseEntity<LoadTestStatus> status() {
+        LoadTestStatus status = loadGenerator.status();
+        return status != null ? ResponseEntity.ok(status) : ResponseEntity.notFound().build();
+    }
+
+    @Operation(summary = "부하 생성 중지")
+    @DeleteMapping
+    public ResponseEntity<LoadTestStatus> stop() {
+        LoadTestStatus status = loadGenerator.stop();
+        return status != null ? ResponseEntity.ok(status) : ResponseEntity.notFound().build();
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleBadRequest(IllegalArgumentException ex, HttpServletRequest request) {
+        return ResponseEntity.badRequest().body(error("INVALID_LOAD_TEST", ex, request));
+    }
+
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<ErrorResponse> handleConflict(IllegalStateException ex, HttpServletRequest request) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error("LOAD_TEST_RUNNING", ex, request));
+    }
+
+    private static ErrorResponse error(String code, RuntimeException ex, HttpServletRequest request) {
+        return ErrorResponse.builder()
+                .errorCode(code)
+                .message(ex.getMessage())
+                .timestamp(LocalDateTime.now())
+                .path(request.getRequestURI())
+                .build();
+    }
+}
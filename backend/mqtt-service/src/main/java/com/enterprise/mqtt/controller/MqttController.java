@@ -10,8 +10,12 @@ import org.springframework.web.bind.annotation.*;
 
 import com.enterprise.mqtt.dto.PublishRequest;
 import com.enterprise.mqtt.dto.PublishResponse;
+import com.enterprise.mqtt.routing.TopicRoute;
+import com.enterprise.mqtt.routing.TopicRouter;
 import com.enterprise.mqtt.service.MqttPublishService;
 
+import java.util.List;
+
 /**
  * MQTT Controller
  * MQTT 메시지 송신 API
@@ -24,6 +28,7 @@ import com.enterprise.mqtt.service.MqttPublishService;
 public class MqttController {
 
     private final MqttPublishService mqttPublishService;
+    private final TopicRouter topicRouter;
 
     /**
      * MQTT 메시지 발행
@@ -114,6 +119,15 @@ public class MqttController {
                 : ResponseEntity.internalServerError().body(response);
     }
 
+    /**
+     * MQTT 토픽 라우팅 테이블 조회
+     */
+    @Operation(summary = "토픽 라우팅 조회", description = "현재 적용 중인 MQTT 토픽 → 디코더/Kafka 토픽 경로를 조회합니다")
+    @GetMapping("/routes")
+    public ResponseEntity<List<TopicRoute>> routes() {
+        return ResponseEntity.ok(topicRouter.routes());
+    }
+
     /**
      * Health Check
      */
@@ -0,0 +1,56 @@
+package com.enterprise.mqtt.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * ingest 부하 생성 요청 DTO
+ * 가상 디바이스가 A0 / B0 / C0 메시지를 weight 비율로 섞어 rate 속도로 발행한다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoadTestRequest {
+
+    /**
+     * 발행 속도 (msgs/s)
+     */
+    @Builder.Default
+    private int rate = 1000;
+
+    /**
+     * 실행 시간 (초)
+     */
+    @Builder.Default
+    private int durationSeconds = 60;
+
+    /**
+     * 가상 디바이스 수 (메시지마다 차례로 돌아가며 사용)
+     */
+    @Builder.Default
+    private int devices = 100;
+
+    /**
+     * 메시지 종류별 비율
+     */
+    @Builder.Default
+    private int a0Weight = 1;
+
+    @Builder.Default
+    private int b0Weight = 8;
+
+    @Builder.Default
+    private int c0Weight = 1;
+
+    /**
+     * 프레임 헤더(22바이트) 뒤 body 크기
+     */
+    @Builder.Default
+    private int bodyBytes = 64;
+
+    @Builder.Default
+    private int qos = 0;
+}
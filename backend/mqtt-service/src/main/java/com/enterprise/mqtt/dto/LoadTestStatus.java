@@ -0,0 +1,53 @@
+package com.enterprise.mqtt.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * ingest 부하 생성 상태 DTO
+ *
+ * 발행 지연은 트랜스포트 발행 → 브로커 확인 시간이다 (embedded 는 구독자 전달 완료까지, 즉 MQTT 수신 단계 포함).
+ * Kafka 를 거친 종단 지연은 message-service 의 iot.consumer.latency 메트릭으로 확인한다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LoadTestStatus {
+
+    public enum State {
+        RUNNING, COMPLETED, STOPPED
+    }
+
+    private String runId;
+    private State state;
+    private String transport;
+    private LoadTestRequest request;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    /**
+     * 발행 성공 / 실패 수
+     */
+    private long published;
+    private long failed;
+
+    /**
+     * 실제 발행 속도 (msgs/s, 시작부터 현재 또는 종료까지)
+     */
+    private double achievedRate;
+
+    /**
+     * 발행 지연 백분위 (ms)
+     */
+    private double latencyP50Ms;
+    private double latencyP95Ms;
+    private double latencyP99Ms;
+    private double latencyMaxMs;
+}
@@ -1,5 +1,6 @@
 package com.enterprise.mqtt.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -45,9 +46,16 @@ public class MqttMessage {
     private String rawMessage;
     
     /**
-     * 파싱된 메시지 (JSON)
+     * 파싱된 메시지 (프레임 Hex, JSON 전송 시에만 사용)
      */
     private String parsedMessage;
+
+    /**
+     * 디코딩된 바이너리 프레임 (device/topic/A0, B0)
+     * frame 포맷으로 전송 시 Kafka value 로 그대로 사용되며 JSON 에는 포함되지 않음
+     */
+    @JsonIgnore
+    private byte[] frame;
     
     /**
      * QoS 레벨
@@ -74,24 +82,33 @@ public class MqttMessage {
         REBOOT(7),
         NTP(8),
         PLAINTEXT(9);
-        
+
+        /**
+         * 코드 → 타입 조회 테이블 (values() 배열 복사 방지)
+         */
+        private static final MessageType[] BY_CODE = new MessageType[16];
+
+        static {
+            for (MessageType type : values()) {
+                BY_CODE[type.code] = type;
+            }
+        }
+
         private final int code;
-        
+
         MessageType(int code) {
             this.code = code;
         }
-        
+
         public int getCode() {
             return code;
         }
-        
+
         public static MessageType fromCode(int code) {
-            for (MessageType type : values()) {
-                if (type.code == code) {
-                    return type;
-                }
+            if (code < 0 || code >= BY_CODE.length) {
+                return null;
             }
-            return null;
+            return BY_CODE[code];
         }
     }
 }
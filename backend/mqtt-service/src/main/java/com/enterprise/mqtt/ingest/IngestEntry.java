@@ -0,0 +1,11 @@
+package com.enterprise.mqtt.ingest;
+
+/**
+ * ingest 버퍼 항목 (MQTT 수신 원본)
+ *
+ * @param topic        MQTT 토픽
+ * @param payload      AWSIotMessage.getPayload() 원본 바이트
+ * @param enqueuedNanos 버퍼 투입 시각 (System.nanoTime, 디스크에서 재처리한 항목은 0)
+ */
+public record IngestEntry(String topic, byte[] payload, long enqueuedNanos) {
+}
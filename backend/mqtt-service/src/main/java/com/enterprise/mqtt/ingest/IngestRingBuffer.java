@@ -0,0 +1,91 @@
+package com.enterprise.mqtt.ingest;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 고정 크기 lock-free 링 버퍼 (슬롯별 시퀀스 방식)
+ * 여러 콜백 스레드가 넣고 워커 풀이 꺼내므로 생산자/소비자 모두 다중 스레드를 허용한다.
+ * 슬롯 시퀀스의 volatile 쓰기/읽기로 항목 내용의 가시성을 보장한다.
+ */
+final class IngestRingBuffer {
+
+    private final int mask;
+    private final IngestEntry[] entries;
+    private final AtomicLongArray sequences;
+    private final AtomicLong enqueuePosition = new AtomicLong();
+    private final AtomicLong dequeuePosition = new AtomicLong();
+
+    IngestRingBuffer(int capacity) {
+        int size = capacity <= 1 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = size - 1;
+        this.entries = new IngestEntry[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * @return 버퍼가 가득 차 있으면 false
+     */
+    boolean offer(IngestEntry entry) {
+        long position = enqueuePosition.get();
+        while (true) {
+            int index = (int) position & mask;
+            long diff = sequences.get(index) - position;
+            if (diff == 0) {
+                if (enqueuePosition.compareAndSet(position, position + 1)) {
+                    entries[index] = entry;
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = enqueuePosition.get();
+            } else if (diff < 0) {
+                return false;
+            } else {
+                position = enqueuePosition.get();
+            }
+        }
+    }
+
+    /**
+     * @return 비어 있으면 null
+     */
+    IngestEntry poll() {
+        long position = dequeuePosition.get();
+        while (true) {
+            int index = (int) position & mask;
+            long diff = sequences.get(index) - (position + 1);
+            if (diff == 0) {
+                if (dequeuePosition.compareAndSet(position, position + 1)) {
+                    IngestEntry entry = entries[index];
+                    entries[index] = null;
+                    sequences.set(index, position + mask + 1);
+                    return entry;
+                }
+                position = dequeuePosition.get();
+            } else if (diff < 0) {
+                return null;
+            } else {
+                position = dequeuePosition.get();
+            }
+        }
+    }
+
+    /**
+     * 현재 항목 수 (동시 변경 중에는 근사치)
+     */
+    int size() {
+        long size = enqueuePosition.get() - dequeuePosition.get();
+        return (int) Math.max(0, Math.min(size, capacity()));
+    }
+
+    boolean isEmpty() {
+        return size() == 0;
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,319 @@
+package com.enterprise.mqtt.ingest;
+
+import com.enterprise.mqtt.config.MqttIngestProperties;
+import com.enterprise.mqtt.journal.SpillJournal;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
+
+/**
+ * AWS IoT 콜백 스레드와 디코딩/Kafka 전송을 분리하는 비동기 ingest 단계
+ *
+ * 콜백 스레드는 원본 페이로드를 링 버퍼에 넣고 바로 반환하며, 워커 스레드가 꺼내서 처리한다.
+ * Kafka 지연(max.block.ms 등)이 MQTT 수신/keep-alive 를 막지 않도록 하기 위함.
+ *
+ * 버퍼가 가득 찼을 때는 mqtt.ingest.overflow-policy 에 따라 대기(BLOCK), 가장 오래된 메시지 폐기(DROP_OLDEST),
+ * 디스크 저널 기록(SPILL, {@link SpillJournal}) 중 하나로 처리한다. SPILL 중에는 순서 유지를 위해 새 메시지도 디스크 뒤에 이어 쓰고,
+ * 워커는 버퍼가 빈 뒤 디스크의 메시지를 순서대로 재처리한다.
+ *
+ * 메트릭:
+ * - mqtt.ingest.queue.depth / mqtt.ingest.queue.capacity
+ * - mqtt.ingest.queue.latency (버퍼 대기 시간), mqtt.ingest.process (처리 시간)
+ * - mqtt.ingest.messages{result=enqueued|spilled|replayed}
+ * - mqtt.ingest.dropped{reason=overflow|timeout|shutdown}
+ * - mqtt.ingest.spill.bytes
+ */
+@Slf4j
+@Component
+public class IngestStage {
+
+    private static final long IDLE_PARK_MIN_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long IDLE_PARK_MAX_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(20);
+
+    private final MqttIngestProperties properties;
+    private final IngestRingBuffer buffer;
+    private final List<Thread> workers = new ArrayList<>();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private volatile SpillJournal spillJournal;
+    private volatile BiConsumer<String, byte[]> handler;
+
+    private final Timer queueLatency;
+    private final Timer processTime;
+    private final Counter enqueued;
+    private final Counter droppedOverflow;
+    private final Counter droppedTimeout;
+    private final Counter droppedShutdown;
+    private final Counter spilled;
+    private final Counter replayed;
+
+    public IngestStage(MqttIngestProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.buffer = new IngestRingBuffer(properties.getCapacity());
+
+        Gauge.builder("mqtt.ingest.queue.depth", buffer, IngestRingBuffer::size)
+                .description("Messages waiting in the ingest buffer")
+                .register(meterRegistry);
+        Gauge.builder("mqtt.ingest.queue.capacity", buffer, IngestRingBuffer::capacity)
+                .register(meterRegistry);
+        Gauge.builder("mqtt.ingest.spill.bytes", this, IngestStage::spillPendingBytes)
+                .description("Spilled bytes not yet replayed")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+
+        this.queueLatency = Timer.builder("mqtt.ingest.queue.latency")
+                .description("Time from MQTT callback to worker pickup")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.processTime = Timer.builder("mqtt.ingest.process")
+                .description("Decode and Kafka hand-off time per message")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+
+        this.enqueued = counter(meterRegistry, "mqtt.ingest.messages", "result", "enqueued");
+        this.spilled = counter(meterRegistry, "mqtt.ingest.messages", "result", "spilled");
+        this.replayed = counter(meterRegistry, "mqtt.ingest.messages", "result", "replayed");
+        this.droppedOverflow = counter(meterRegistry, "mqtt.ingest.dropped", "reason", "overflow");
+        this.droppedTimeout = counter(meterRegistry, "mqtt.ingest.dropped", "reason", "timeout");
+        this.droppedShutdown = counter(meterRegistry, "mqtt.ingest.dropped", "reason", "shutdown");
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * 워커 시작
+     *
+     * @param handler (MQTT 토픽, 원본 페이로드) 처리기
+     */
+    public synchronized void start(BiConsumer<String, byte[]> handler) throws IOException {
+        if (running.get()) {
+            return;
+        }
+        this.handler = handler;
+
+        if (properties.getOverflowPolicy() == OverflowPolicy.SPILL) {
+            spillJournal = new SpillJournal(Path.of(properties.getSpillDirectory()),
+                    properties.getSpillSegmentBytes(), properties.getSpillMaxBytes());
+        }
+
+        running.set(true);
+
+        ThreadFactory factory = properties.isVirtualThreads()
+                ? Thread.ofVirtual().name("mqtt-ingest-", 0).factory()
+                : Thread.ofPlatform().name("mqtt-ingest-", 0).daemon(true).factory();
+
+        int workerCount = Math.max(1, properties.getWorkers());
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = factory.newThread(this::runWorker);
+            workers.add(worker);
+            worker.start();
+        }
+
+        log.info("Ingest stage started - capacity: {}, workers: {}, virtualThreads: {}, overflowPolicy: {}",
+                buffer.capacity(), workerCount, properties.isVirtualThreads(), properties.getOverflowPolicy());
+    }
+
+    /**
+     * MQTT 콜백 스레드에서 호출
+     *
+     * @return 버퍼 또는 디스크에 저장되었으면 true, 폐기되었으면 false
+     */
+    public boolean submit(String topic, byte[] payload) {
+        if (!running.get()) {
+            droppedShutdown.increment();
+            log.warn("Ingest stage is not running, dropping message from topic: {}", topic);
+            return false;
+        }
+
+        // 디스크에 대기 중인 메시지가 있으면 순서 유지를 위해 뒤에 이어 씀
+        if (spillJournal != null && !spillJournal.isEmpty()) {
+            return spill(topic, payload);
+        }
+
+        IngestEntry entry = new IngestEntry(topic, payload, System.nanoTime());
+        if (buffer.offer(entry)) {
+            enqueued.increment();
+            return true;
+        }
+
+        return switch (properties.getOverflowPolicy()) {
+            case BLOCK -> offerBlocking(entry);
+            case DROP_OLDEST -> offerDroppingOldest(entry);
+            case SPILL -> spill(topic, payload);
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (!running.compareAndSet(true, false)) {
+            return;
+        }
+
+        long deadline = System.nanoTime() + properties.getShutdownTimeout().toNanos();
+        for (Thread worker : workers) {
+            try {
+                worker.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        // 제한 시간 안에 처리하지 못한 메시지
+        IngestEntry entry;
+        int remaining = 0;
+        while ((entry = buffer.poll()) != null) {
+            if (spillJournal == null || !spill(entry.topic(), entry.payload())) {
+                droppedShutdown.increment();
+                remaining++;
+            }
+        }
+        if (remaining > 0) {
+            log.warn("Ingest stage stopped with {} unprocessed messages dropped", remaining);
+        }
+
+        if (spillJournal != null) {
+            spillJournal.close();
+        }
+        log.info("Ingest stage stopped");
+    }
+
+    private boolean offerBlocking(IngestEntry entry) {
+        long deadline = System.nanoTime() + properties.getBlockTimeout().toNanos();
+        while (running.get()) {
+            if (buffer.offer(entry)) {
+                enqueued.increment();
+                return true;
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                break;
+            }
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+        }
+        droppedTimeout.increment();
+        log.warn("Ingest buffer full for {} ms, dropping message from topic: {}",
+                properties.getBlockTimeout().toMillis(), entry.topic());
+        return false;
+    }
+
+    private boolean offerDroppingOldest(IngestEntry entry) {
+        while (!buffer.offer(entry)) {
+            IngestEntry oldest = buffer.poll();
+            if (oldest != null) {
+                droppedOverflow.increment();
+                log.debug("Ingest buffer full, dropped oldest message from topic: {}", oldest.topic());
+            }
+        }
+        enqueued.increment();
+        return true;
+    }
+
+    private boolean spill(String topic, byte[] payload) {
+        try {
+            if (spillJournal.append(encodeSpillRecord(topic, payload))) {
+                spilled.increment();
+                return true;
+            }
+            log.warn("Ingest spill journal is full ({} bytes), dropping message from topic: {}",
+                    properties.getSpillMaxBytes(), topic);
+        } catch (IOException e) {
+            log.error("Failed to spill message from topic: {}", topic, e);
+        }
+        droppedOverflow.increment();
+        return false;
+    }
+
+    private void runWorker() {
+        long idleNanos = IDLE_PARK_MIN_NANOS;
+
+        while (running.get() || !buffer.isEmpty()) {
+            IngestEntry entry = buffer.poll();
+            if (entry != null) {
+                queueLatency.record(System.nanoTime() - entry.enqueuedNanos(), TimeUnit.NANOSECONDS);
+                process(entry);
+                idleNanos = IDLE_PARK_MIN_NANOS;
+                continue;
+            }
+
+            // 버퍼가 비었을 때만 디스크의 메시지를 재처리
+            if (running.get() && spillJournal != null && (entry = pollSpill()) != null) {
+                replayed.increment();
+                process(entry);
+                idleNanos = IDLE_PARK_MIN_NANOS;
+                continue;
+            }
+
+            LockSupport.parkNanos(idleNanos);
+            idleNanos = Math.min(idleNanos << 1, IDLE_PARK_MAX_NANOS);
+        }
+    }
+
+    private IngestEntry pollSpill() {
+        try {
+            byte[] record = spillJournal.poll();
+            return record != null ? decodeSpillRecord(record) : null;
+        } catch (IOException e) {
+            log.error("Failed to read ingest spill journal", e);
+            return null;
+        }
+    }
+
+    /**
+     * 저널 레코드: short topicLength, topic(UTF-8), payload
+     */
+    private static byte[] encodeSpillRecord(String topic, byte[] payload) {
+        byte[] topicBytes = topic.getBytes(StandardCharsets.UTF_8);
+        return ByteBuffer.allocate(Short.BYTES + topicBytes.length + payload.length)
+                .putShort((short) topicBytes.length)
+                .put(topicBytes)
+                .put(payload)
+                .array();
+    }
+
+    private static IngestEntry decodeSpillRecord(byte[] record) {
+        int topicLength = ((record[0] & 0xFF) << 8) | (record[1] & 0xFF);
+        String topic = new String(record, Short.BYTES, topicLength, StandardCharsets.UTF_8);
+        byte[] payload = Arrays.copyOfRange(record, Short.BYTES + topicLength, record.length);
+        return new IngestEntry(topic, payload, 0L);
+    }
+
+    private void process(IngestEntry entry) {
+        long start = System.nanoTime();
+        try {
+            handler.accept(entry.topic(), entry.payload());
+        } catch (Exception e) {
+            log.error("Error processing MQTT message from topic: {}", entry.topic(), e);
+        } finally {
+            processTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private double spillPendingBytes() {
+        SpillJournal journal = spillJournal;
+        return journal != null ? journal.pendingBytes() : 0;
+    }
+
+    private static Counter counter(MeterRegistry registry, String name, String tagKey, String tagValue) {
+        return Counter.builder(name).tag(tagKey, tagValue).register(registry);
+    }
+}
@@ -0,0 +1,22 @@
+package com.enterprise.mqtt.ingest;
+
+/**
+ * ingest 버퍼가 가득 찼을 때의 처리 정책
+ */
+public enum OverflowPolicy {
+
+    /**
+     * 빈 슬롯이 생길 때까지 콜백 스레드 대기 (block-timeout 초과 시 폐기)
+     */
+    BLOCK,
+
+    /**
+     * 가장 오래된 메시지를 버리고 새 메시지를 넣음
+     */
+    DROP_OLDEST,
+
+    /**
+     * 디스크에 기록 후 버퍼가 비면 순서대로 재처리
+     */
+    SPILL
+}
@@ -0,0 +1,22 @@
+package com.enterprise.mqtt.journal;
+
+import java.util.List;
+
+/**
+ * SpillJournal.read 결과
+ * commit 하기 전까지는 읽기 위치가 바뀌지 않으므로 처리에 실패하면 같은 레코드를 다시 읽는다.
+ *
+ * @param records 레코드 (순서대로)
+ * @param segment 다음 읽기 위치의 세그먼트 번호
+ * @param offset  다음 읽기 위치의 세그먼트 내 오프셋
+ */
+public record JournalBatch(List<byte[]> records, long segment, int offset) {
+
+    public int size() {
+        return records.size();
+    }
+
+    public boolean isEmpty() {
+        return records.isEmpty();
+    }
+}
@@ -0,0 +1,365 @@
+package com.enterprise.mqtt.journal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 메모리 매핑 세그먼트 기반 추가 전용(append-only) 저널
+ *
+ * 세그먼트 파일({@code %020d.seg})은 고정 크기로 미리 할당해 매핑하고, 가득 차면 다음 번호로 넘어간다.
+ * 레코드: int length, int crc32c(data), data. length 0 은 세그먼트의 끝을 뜻한다 (새 파일은 0으로 채워져 있음).
+ * length 를 마지막에 기록하므로 프로세스가 쓰는 도중 종료되어도 반쯤 쓴 레코드는 읽히지 않는다.
+ *
+ * 읽기 위치는 {@code cursor} 파일(매핑, CRC 포함)에 commit 시점마다 기록하며, 모두 읽은 세그먼트는 삭제한다.
+ * 재시작 시 마지막 세그먼트를 CRC 검증하며 훑어서 쓰기 위치를 복구한다.
+ * commit 전에 종료되면 해당 레코드를 다시 읽으므로 전달 보장은 at-least-once 이다.
+ *
+ * 디스크 사용량은 세그먼트 파일 크기의 합으로 제한하며, 넘으면 append 가 false 를 반환한다.
+ * 모든 메서드는 스레드 안전하다.
+ */
+@Slf4j
+public final class SpillJournal implements Closeable {
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("\\d{20}\\.seg");
+    private static final String CURSOR_FILE = "cursor";
+    private static final int RECORD_HEADER = Integer.BYTES * 2;
+    private static final int CURSOR_SIZE = Long.BYTES + Integer.BYTES * 2;
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final long maxBytes;
+    private final CRC32C crc = new CRC32C();
+
+    /**
+     * 세그먼트 번호 → 파일 크기
+     */
+    private final TreeMap<Long, Long> segments = new TreeMap<>();
+    private long diskBytes;
+
+    private long writeSegment;
+    private int writeOffset;
+    private MappedByteBuffer writeBuffer;
+
+    private long readSegment;
+    private int readOffset;
+    private long mappedReadSegment = -1;
+    private MappedByteBuffer mappedRead;
+
+    private final MappedByteBuffer cursor;
+    private volatile boolean empty;
+    private long corruptedRecords;
+
+    /**
+     * @param directory    저널 디렉토리 (저널마다 별도 디렉토리)
+     * @param segmentBytes 세그먼트 파일 크기
+     * @param maxBytes     세그먼트 파일 크기 합의 상한
+     */
+    public SpillJournal(Path directory, int segmentBytes, long maxBytes) throws IOException {
+        if (segmentBytes <= RECORD_HEADER || maxBytes < segmentBytes) {
+            throw new IllegalArgumentException("Invalid journal size: segmentBytes=" + segmentBytes
+                    + ", maxBytes=" + maxBytes);
+        }
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.maxBytes = maxBytes;
+
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (SEGMENT_NAME.matcher(name).matches()) {
+                    long size = Files.size(file);
+                    segments.put(Long.parseLong(name.substring(0, 20)), size);
+                    diskBytes += size;
+                }
+            }
+        }
+
+        this.cursor = map(directory.resolve(CURSOR_FILE), CURSOR_SIZE);
+        recover();
+    }
+
+    /**
+     * @return 디스크 상한을 넘거나 레코드가 세그먼트보다 크면 false
+     */
+    public boolean append(byte[] data) throws IOException {
+        return append(data, 0, data.length);
+    }
+
+    public synchronized boolean append(byte[] data, int offset, int length) throws IOException {
+        int recordLength = RECORD_HEADER + length;
+        if (length <= 0 || recordLength > segmentBytes) {
+            log.warn("Journal record size {} is out of range (segment {} bytes)", length, segmentBytes);
+            return false;
+        }
+
+        if (writeOffset + recordLength > writeBuffer.capacity()) {
+            if (diskBytes + segmentBytes > maxBytes) {
+                return false;
+            }
+            if (writeOffset + Integer.BYTES <= writeBuffer.capacity()) {
+                writeBuffer.putInt(writeOffset, 0);
+            }
+            writeBuffer.force();
+            openWriteSegment(writeSegment + 1);
+        }
+
+        crc.reset();
+        crc.update(data, offset, length);
+        writeBuffer.put(writeOffset + RECORD_HEADER, data, offset, length);
+        writeBuffer.putInt(writeOffset + Integer.BYTES, (int) crc.getValue());
+        writeBuffer.putInt(writeOffset, length);
+        writeOffset += recordLength;
+        empty = false;
+        return true;
+    }
+
+    /**
+     * 읽기 위치부터 최대 maxRecords 개 (읽기 위치는 commit 해야 이동)
+     * CRC 가 맞지 않는 레코드를 만나면 해당 세그먼트의 나머지를 건너뛴다.
+     */
+    public synchronized JournalBatch read(int maxRecords) {
+        return read(readSegment, readOffset, maxRecords, true);
+    }
+
+    /**
+     * previous 다음 위치(null 이면 읽기 위치)부터 최대 maxRecords 개
+     * commit 하지 않고 대기 중인 구간을 훑을 때 사용하며, 손상 레코드는 집계하지 않는다 (재전송 시 read 에서 집계).
+     */
+    public synchronized JournalBatch readAfter(JournalBatch previous, int maxRecords) {
+        return previous == null
+                ? read(readSegment, readOffset, maxRecords, false)
+                : read(previous.segment(), previous.offset(), maxRecords, false);
+    }
+
+    private JournalBatch read(long segment, int offset, int maxRecords, boolean countCorrupted) {
+        List<byte[]> records = new ArrayList<>(Math.min(maxRecords, 256));
+
+        while (records.size() < maxRecords) {
+            if (segment == writeSegment && offset >= writeOffset) {
+                break;
+            }
+            ByteBuffer buffer = bufferFor(segment);
+            int length = offset + RECORD_HEADER <= buffer.capacity() ? buffer.getInt(offset) : 0;
+
+            if (length == 0) {
+                if (segment == writeSegment) {
+                    break;
+                }
+                segment = segments.higherKey(segment);
+                offset = 0;
+                continue;
+            }
+
+            if (length < 0 || offset + RECORD_HEADER + length > buffer.capacity()
+                    || !crcMatches(buffer, offset, length)) {
+                if (countCorrupted) {
+                    corruptedRecords++;
+                    log.error("Corrupted journal record at segment {} offset {}, skipping rest of segment",
+                            segment, offset);
+                }
+                if (segment == writeSegment) {
+                    offset = writeOffset;
+                    break;
+                }
+                segment = segments.higherKey(segment);
+                offset = 0;
+                continue;
+            }
+
+            byte[] data = new byte[length];
+            buffer.get(offset + RECORD_HEADER, data);
+            records.add(data);
+            offset += RECORD_HEADER + length;
+        }
+        return new JournalBatch(records, segment, offset);
+    }
+
+    /**
+     * 읽기 위치를 batch 다음으로 이동하고 모두 읽은 세그먼트 삭제
+     */
+    public synchronized void commit(JournalBatch batch) throws IOException {
+        readSegment = batch.segment();
+        readOffset = batch.offset();
+
+        while (!segments.isEmpty() && segments.firstKey() < readSegment) {
+            long segment = segments.firstKey();
+            if (segment == mappedReadSegment) {
+                mappedReadSegment = -1;
+                mappedRead = null;
+            }
+            diskBytes -= segments.remove(segment);
+            Files.deleteIfExists(segmentPath(segment));
+        }
+
+        writeCursor();
+        empty = readSegment == writeSegment && readOffset >= writeOffset;
+    }
+
+    /**
+     * 가장 오래된 레코드 하나를 읽고 바로 commit (없으면 null)
+     */
+    public synchronized byte[] poll() throws IOException {
+        JournalBatch batch = read(1);
+        commit(batch);
+        return batch.isEmpty() ? null : batch.records().get(0);
+    }
+
+    public boolean isEmpty() {
+        return empty;
+    }
+
+    /**
+     * 아직 읽지 않은 구간의 크기 (세그먼트 끝의 빈 공간 포함)
+     */
+    public synchronized long pendingBytes() {
+        return diskBytes - writeBuffer.capacity() + writeOffset - readOffset;
+    }
+
+    /**
+     * 세그먼트 파일 크기 합
+     */
+    public synchronized long diskBytes() {
+        return diskBytes;
+    }
+
+    public synchronized long corruptedRecords() {
+        return corruptedRecords;
+    }
+
+    /**
+     * 페이지 캐시의 내용을 디스크에 기록
+     */
+    public synchronized void flush() {
+        writeBuffer.force();
+        cursor.force();
+    }
+
+    @Override
+    public synchronized void close() {
+        flush();
+        writeBuffer = null;
+        mappedRead = null;
+    }
+
+    private void recover() throws IOException {
+        long cursorSegment = cursor.getLong(0);
+        int cursorOffset = cursor.getInt(Long.BYTES);
+        crc.reset();
+        crc.update(cursor.slice(0, Long.BYTES + Integer.BYTES));
+        boolean validCursor = cursor.getInt(Long.BYTES + Integer.BYTES) == (int) crc.getValue()
+                && segments.containsKey(cursorSegment) && cursorOffset >= 0;
+
+        if (segments.isEmpty()) {
+            openWriteSegment(0);
+            readSegment = 0;
+            readOffset = 0;
+        } else {
+            if (validCursor) {
+                readSegment = cursorSegment;
+                readOffset = cursorOffset;
+            } else {
+                readSegment = segments.firstKey();
+                readOffset = 0;
+                log.warn("Journal cursor in {} is missing or invalid, replaying from segment {}",
+                        directory, readSegment);
+            }
+
+            writeSegment = segments.lastKey();
+            writeBuffer = map(segmentPath(writeSegment), segments.get(writeSegment));
+            writeOffset = scanWriteOffset(writeBuffer);
+            if (writeSegment == readSegment && readOffset > writeOffset) {
+                readOffset = writeOffset;
+            }
+        }
+
+        commit(new JournalBatch(List.of(), readSegment, readOffset));
+        if (!empty) {
+            log.info("Recovered journal {} - {} pending bytes in {} segments",
+                    directory, pendingBytes(), segments.size());
+        }
+    }
+
+    /**
+     * 마지막 세그먼트에서 유효한 레코드의 끝 (잘린 레코드는 0으로 덮음)
+     */
+    private int scanWriteOffset(ByteBuffer buffer) {
+        int offset = 0;
+        while (offset + RECORD_HEADER <= buffer.capacity()) {
+            int length = buffer.getInt(offset);
+            if (length == 0) {
+                return offset;
+            }
+            if (length < 0 || offset + RECORD_HEADER + length > buffer.capacity()
+                    || !crcMatches(buffer, offset, length)) {
+                log.warn("Truncating torn journal record at offset {} in {}", offset, directory);
+                buffer.putInt(offset, 0);
+                return offset;
+            }
+            offset += RECORD_HEADER + length;
+        }
+        return offset;
+    }
+
+    private boolean crcMatches(ByteBuffer buffer, int offset, int length) {
+        crc.reset();
+        crc.update(buffer.slice(offset + RECORD_HEADER, length));
+        return buffer.getInt(offset + Integer.BYTES) == (int) crc.getValue();
+    }
+
+    private void openWriteSegment(long segment) throws IOException {
+        writeBuffer = map(segmentPath(segment), segmentBytes);
+        writeSegment = segment;
+        writeOffset = 0;
+        segments.put(segment, (long) segmentBytes);
+        diskBytes += segmentBytes;
+    }
+
+    private ByteBuffer bufferFor(long segment) {
+        if (segment == writeSegment) {
+            return writeBuffer;
+        }
+        if (segment != mappedReadSegment) {
+            try {
+                mappedRead = map(segmentPath(segment), segments.get(segment));
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to map journal segment " + segment, e);
+            }
+            mappedReadSegment = segment;
+        }
+        return mappedRead;
+    }
+
+    private void writeCursor() {
+        cursor.putLong(0, readSegment);
+        cursor.putInt(Long.BYTES, readOffset);
+        crc.reset();
+        crc.update(cursor.slice(0, Long.BYTES + Integer.BYTES));
+        cursor.putInt(Long.BYTES + Integer.BYTES, (int) crc.getValue());
+    }
+
+    private Path segmentPath(long segment) {
+        return directory.resolve(String.format("%020d.seg", segment));
+    }
+
+    private static MappedByteBuffer map(Path file, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package com.enterprise.mqtt.loadtest;
+
+import com.enterprise.mqtt.config.MqttLoadTestProperties;
+import com.enterprise.mqtt.config.MqttPublishProperties;
+import com.enterprise.mqtt.dto.LoadTestRequest;
+import com.enterprise.mqtt.dto.LoadTestStatus;
+import com.enterprise.mqtt.transport.MqttTransport;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * ingest 부하 생성기
+ *
+ * 가상 디바이스의 A0 / B0 / C0 메시지를 MqttTransport 로 일정 속도로 발행한다. 구독 토픽(device/topic/+)과 일치하므로
+ * 발행한 메시지는 MqttMessageListener → Kafka → message-service IoTDeviceMessageConsumer 경로를 그대로 거친다.
+ * mqtt.transport.type=embedded 와 함께 쓰면 AWS IoT 없이 재현 가능한 ingest 벤치마크가 된다.
+ *
+ * 발행은 open-loop 로 시작 시각 기준 rate 에 맞춰 보내며, 브로커 확인 대기가 max-in-flight 에 차면 생성이 늦춰진다
+ * (achievedRate 가 rate 보다 낮으면 트랜스포트 / ingest 가 따라가지 못한 것).
+ * 한 번에 하나의 실행만 허용한다.
+ *
+ * 메트릭:
+ * - mqtt.loadtest.messages{result=published|failed}
+ * - mqtt.loadtest.publish.latency: 발행 → 브로커 확인 (embedded 는 구독자 전달 완료)
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "mqtt.load-test", name = "enabled", havingValue = "true")
+public class LoadGenerator {
+
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long DRAIN_GRACE_MS = 5_000;
+
+    private final MqttTransport mqttTransport;
+    private final MqttLoadTestProperties properties;
+    private final long ackTimeoutMs;
+
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+    private final Timer latency;
+
+    private volatile Run current;
+
+    public LoadGenerator(MqttTransport mqttTransport,
+                         MqttLoadTestProperties properties,
+                         MqttPublishProperties publishProperties,
+                         MeterRegistry meterRegistry) {
+        this.mqttTransport = mqttTransport;
+        this.properties = properties;
+        this.ackTimeoutMs = publishProperties.getAckTimeout().toMillis();
+
+        this.publishedCounter = Counter.builder("mqtt.loadtest.messages")
+                .description("Synthetic messages published by the load generator")
+                .tag("result", "published")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("mqtt.loadtest.messages")
+                .tag("result", "failed")
+                .register(meterRegistry);
+        this.latency = Timer.builder("mqtt.loadtest.publish.latency")
+                .description("Load generator publish to broker acknowledgement")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * 부하 생성 시작
+     *
+     * @throws IllegalArgumentException 요청 값이 범위를 벗어난 경우
+     * @throws IllegalStateException    이미 실행 중인 경우
+     */
+    public synchronized LoadTestStatus start(LoadTestRequest request) {
+        validate(request);
+        Run running = current;
+        if (running != null && running.state == LoadTestStatus.State.RUNNING) {
+            throw new IllegalStateException("Load test already running: " + running.runId);
+        }
+
+        SyntheticFrames frames = new SyntheticFrames(properties.getSerialPrefix(), request.getDevices(), request.getBodyBytes());
+        Run run = new Run(UUID.randomUUID().toString(), mqttTransport.name(), request, frames, mix(request));
+        current = run;
+
+        Thread thread = new Thread(() -> execute(run), "mqtt-load-generator");
+        thread.setDaemon(true);
+        thread.start();
+        log.info("Load test {} started - transport: {}, rate: {}/s, duration: {}s, devices: {}, mix A0:B0:C0 = {}:{}:{}",
+                run.runId, mqttTransport.name(), request.getRate(), request.getDurationSeconds(), request.getDevices(),
+                request.getA0Weight(), request.getB0Weight(), request.getC0Weight());
+        return run.status();
+    }
+
+    /**
+     * 현재(또는 마지막) 실행 상태, 실행한 적이 없으면 null
+     */
+    public LoadTestStatus status() {
+        Run run = current;
+        return run != null ? run.status() : null;
+    }
+
+    /**
+     * 실행 중지 요청 (확인 대기 중인 발행은 마저 기다린 뒤 STOPPED)
+     */
+    public LoadTestStatus stop() {
+        Run run = current;
+        if (run == null) {
+            return null;
+        }
+        run.stopRequested = true;
+        return run.status();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stop();
+    }
+
+    private void execute(Run run) {
+        LoadTestRequest request = run.request;
+        long rate = request.getRate();
+        int devices = request.getDevices();
+        int qos = request.getQos();
+        int[] mix = run.mix;
+        String[] topics = {
+                properties.getTopics().getA0(),
+                properties.getTopics().getB0(),
+                properties.getTopics().getC0()
+        };
+        Semaphore window = new Semaphore(properties.getMaxInFlight());
+
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(request.getDurationSeconds());
+        run.startNanos = start;
+        long seq = 0;
+        try {
+            while (!run.stopRequested) {
+                long now = System.nanoTime();
+                if (now >= end) {
+                    break;
+                }
+                long due = (now - start) * rate / 1_000_000_000L;
+                if (seq >= due) {
+                    LockSupport.parkNanos(Math.min(MAX_PARK_NANOS, 1_000_000_000L / rate));
+                    continue;
+                }
+                while (seq < due && !run.stopRequested) {
+                    int device = (int) (seq % devices);
+                    int kind = mix[(int) ((seq / devices + seq) % mix.length)];
+                    window.acquire();
+                    publish(run, window, run.frames.serial(device), topics[kind], qos, run.frames.payload(device, kind));
+                    seq++;
+                }
+            }
+            if (!window.tryAcquire(properties.getMaxInFlight(), ackTimeoutMs + DRAIN_GRACE_MS, TimeUnit.MILLISECONDS)) {
+                log.warn("Load test {} finished with unacknowledged publishes", run.runId);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Load test {} aborted", run.runId, e);
+        }
+        run.finish(run.stopRequested ? LoadTestStatus.State.STOPPED : LoadTestStatus.State.COMPLETED);
+
+        LoadTestStatus status = run.status();
+        log.info("Load test {} {} - published: {}, failed: {}, achieved rate: {}/s, latency p50/p95/p99: {}/{}/{} ms",
+                run.runId, status.getState(), status.getPublished(), status.getFailed(),
+                String.format("%.1f", status.getAchievedRate()),
+                String.format("%.2f", status.getLatencyP50Ms()),
+                String.format("%.2f", status.getLatencyP95Ms()),
+                String.format("%.2f", status.getLatencyP99Ms()));
+    }
+
+    private void publish(Run run, Semaphore window, String serial, String topic, int qos, byte[] payload) {
+        long startNanos = System.nanoTime();
+        try {
+            mqttTransport.publish(serial, topic, qos, payload, ackTimeoutMs)
+                    .whenComplete((error, ex) -> {
+                        long elapsed = System.nanoTime() - startNanos;
+                        run.latency.record(elapsed, TimeUnit.NANOSECONDS);
+                        latency.record(elapsed, TimeUnit.NANOSECONDS);
+                        if (error == null && ex == null) {
+                            run.published.increment();
+                            publishedCounter.increment();
+                        } else {
+                            run.failed.increment();
+                            failedCounter.increment();
+                        }
+                        // 집계 후 반환 - 종료 시 전체 창 회수가 모든 결과 집계를 뜻한다
+                        window.release();
+                    });
+        } catch (RuntimeException e) {
+            window.release();
+            run.failed.increment();
+            failedCounter.increment();
+            log.debug("Load test publish failed - topic: {}: {}", topic, e.getMessage());
+        }
+    }
+
+    private void validate(LoadTestRequest request) {
+        if (request.getRate() <= 0 || request.getRate() > properties.getMaxRate()) {
+            throw new IllegalArgumentException("rate must be between 1 and " + properties.getMaxRate());
+        }
+        long maxSeconds = properties.getMaxDuration().toSeconds();
+        if (request.getDurationSeconds() <= 0 || request.getDurationSeconds() > maxSeconds) {
+            throw new IllegalArgumentException("durationSeconds must be between 1 and " + maxSeconds);
+        }
+        if (request.getDevices() <= 0 || request.getDevices() > properties.getMaxDevices()) {
+            throw new IllegalArgumentException("devices must be between 1 and " + properties.getMaxDevices());
+        }
+        if (request.getA0Weight() < 0 || request.getB0Weight() < 0 || request.getC0Weight() < 0
+                || request.getA0Weight() + request.getB0Weight() + request.getC0Weight() == 0) {
+            throw new IllegalArgumentException("Message weights must be non-negative with a positive sum");
+        }
+        if (request.getBodyBytes() < 0 || request.getBodyBytes() > 65_536) {
+            throw new IllegalArgumentException("bodyBytes must be between 0 and 65536");
+        }
+        if (request.getQos() < 0 || request.getQos() > 1) {
+            throw new IllegalArgumentException("Unsupported QoS: " + request.getQos());
+        }
+    }
+
+    /**
+     * weight 비율대로 메시지 종류를 나열한 표 (seq 로 순환)
+     */
+    private static int[] mix(LoadTestRequest request) {
+        int[] weights = {request.getA0Weight(), request.getB0Weight(), request.getC0Weight()};
+        int[] mix = new int[weights[0] + weights[1] + weights[2]];
+        int i = 0;
+        for (int kind = 0; kind < weights.length; kind++) {
+            for (int n = 0; n < weights[kind]; n++) {
+                mix[i++] = kind;
+            }
+        }
+        return mix;
+    }
+
+    private static final class Run {
+
+        private final String runId;
+        private final String transport;
+        private final LoadTestRequest request;
+        private final SyntheticFrames frames;
+        private final int[] mix;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final LongAdder published = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+
+        /**
+         * 실행별 백분위 (전역 메트릭과 섞이지 않도록 별도 레지스트리)
+         */
+        private final Timer latency = Timer.builder("mqtt.loadtest.run.latency")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(new SimpleMeterRegistry());
+
+        private volatile boolean stopRequested;
+        private volatile long startNanos = System.nanoTime();
+        private volatile long finishNanos;
+        private volatile LocalDateTime finishedAt;
+        private volatile LoadTestStatus.State state = LoadTestStatus.State.RUNNING;
+
+        private Run(String runId, String transport, LoadTestRequest request, SyntheticFrames frames, int[] mix) {
+            this.runId = runId;
+            this.transport = transport;
+            this.request = request;
+            this.frames = frames;
+            this.mix = mix;
+        }
+
+        private void finish(LoadTestStatus.State finalState) {
+            finishNanos = System.nanoTime();
+            finishedAt = LocalDateTime.now();
+            state = finalState;
+        }
+
+        private LoadTestStatus status() {
+            long endNanos = state == LoadTestStatus.State.RUNNING ? System.nanoTime() : finishNanos;
+            double seconds = Math.max(1e-9, (endNanos - startNanos) / 1e9);
+            long sent = published.sum();
+
+            LoadTestStatus.LoadTestStatusBuilder builder = LoadTestStatus.builder()
+                    .runId(runId)
+                    .state(state)
+                    .transport(transport)
+                    .request(request)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .published(sent)
+                    .failed(failed.sum())
+                    .achievedRate(sent / seconds);
+
+            HistogramSnapshot snapshot = latency.takeSnapshot();
+            for (ValueAtPercentile value : snapshot.percentileValues()) {
+                double ms = value.value(TimeUnit.MILLISECONDS);
+                if (value.percentile() == 0.5) {
+                    builder.latencyP50Ms(ms);
+                } else if (value.percentile() == 0.95) {
+                    builder.latencyP95Ms(ms);
+                } else if (value.percentile() == 0.99) {
+                    builder.latencyP99Ms(ms);
+                }
+            }
+            return builder.latencyMaxMs(snapshot.max(TimeUnit.MILLISECONDS)).build();
+        }
+    }
+}
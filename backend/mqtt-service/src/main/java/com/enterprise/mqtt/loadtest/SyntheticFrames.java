@@ -0,0 +1,81 @@
+package com.enterprise.mqtt.loadtest;
+
+import com.enterprise.mqtt.codec.DeviceFrame;
+import com.enterprise.mqtt.dto.MqttMessage;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 가상 디바이스 페이로드 (실행 시작 시 디바이스 × 종류별로 미리 생성)
+ * 생성 비용이 ingest 측정에 섞이지 않도록 발행 중에는 만들어 둔 바이트 배열을 그대로 보낸다.
+ *
+ * - A0: Base64(프레임), deviceID[0-3] = 0, topicType REQUEST, serialNo[5-21] = 가상 디바이스 serialNo, body[22-]
+ * - B0: Base64(프레임), deviceID[0-3] = 가상 디바이스 번호 + 1, topicType PERIODIC, body[5-] (serialNo 없음)
+ * - C0: 평문 "LOADTEST <serialNo> <body>"
+ */
+final class SyntheticFrames {
+
+    static final int A0 = 0;
+    static final int B0 = 1;
+    static final int C0 = 2;
+
+    private final String[] serials;
+    private final byte[][][] payloads;
+
+    SyntheticFrames(String serialPrefix, int devices, int bodyBytes) {
+        int digits = DeviceFrame.SERIAL_NO_LENGTH - serialPrefix.length();
+        if (!serialPrefix.startsWith("EST") || digits < String.valueOf(Math.max(0, devices - 1)).length()) {
+            throw new IllegalArgumentException("serial-prefix must start with EST and leave room for "
+                    + devices + " device numbers in " + DeviceFrame.SERIAL_NO_LENGTH + " characters");
+        }
+
+        byte[] body = new byte[bodyBytes];
+        ThreadLocalRandom.current().nextBytes(body);
+        char[] text = new char[bodyBytes];
+        Arrays.fill(text, 'x');
+        String plainBody = new String(text);
+
+        Base64.Encoder encoder = Base64.getEncoder();
+        String format = "%s%0" + digits + "d";
+        this.serials = new String[devices];
+        this.payloads = new byte[devices][][];
+        for (int i = 0; i < devices; i++) {
+            String serial = String.format(format, serialPrefix, i);
+            serials[i] = serial;
+            payloads[i] = new byte[][]{
+                    encoder.encode(requestFrame(serial, body)),
+                    encoder.encode(periodicFrame(i + 1, body)),
+                    ("LOADTEST " + serial + " " + plainBody).getBytes(StandardCharsets.US_ASCII)
+            };
+        }
+    }
+
+    String serial(int device) {
+        return serials[device];
+    }
+
+    byte[] payload(int device, int kind) {
+        return payloads[device][kind];
+    }
+
+    private static byte[] requestFrame(String serial, byte[] body) {
+        byte[] frame = new byte[DeviceFrame.HEADER_LENGTH + body.length];
+        frame[DeviceFrame.TOPIC_TYPE_INDEX] = (byte) MqttMessage.MessageType.REQUEST.getCode();
+        byte[] serialBytes = serial.getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(serialBytes, 0, frame, DeviceFrame.SERIAL_NO_OFFSET, serialBytes.length);
+        System.arraycopy(body, 0, frame, DeviceFrame.HEADER_LENGTH, body.length);
+        return frame;
+    }
+
+    private static byte[] periodicFrame(int deviceId, byte[] body) {
+        byte[] frame = new byte[DeviceFrame.SERIAL_NO_OFFSET + body.length];
+        ByteBuffer.wrap(frame).putInt(deviceId);
+        frame[DeviceFrame.TOPIC_TYPE_INDEX] = (byte) MqttMessage.MessageType.PERIODIC.getCode();
+        System.arraycopy(body, 0, frame, DeviceFrame.SERIAL_NO_OFFSET, body.length);
+        return frame;
+    }
+}
@@ -0,0 +1,68 @@
+package com.enterprise.mqtt.partition;
+
+import org.apache.kafka.clients.producer.Partitioner;
+import org.apache.kafka.common.Cluster;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.utils.Utils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 디바이스 순서를 유지하면서 key 없는 레코드를 고르게 분산하는 파티셔너
+ *
+ * - key 있음: murmur2(key) % 파티션 수 (Kafka 기본 파티셔너와 동일하므로 기존 디바이스 → 파티션 배정 유지)
+ * - key 없음: 사용 가능한 파티션을 null-key-batch-size 개씩 돌아가며 배정 (sticky 파티션 쏠림 방지)
+ *
+ * 배정 결과는 PartitionSkewMonitor 에 기록한다. 설정 키로 Spring Bean 을 전달받는다.
+ */
+public class DeviceAwarePartitioner implements Partitioner {
+
+    public static final String MONITOR_CONFIG = "iot.partition.skew-monitor";
+    public static final String NULL_KEY_BATCH_SIZE_CONFIG = "iot.partition.null-key-batch-size";
+
+    private final Map<String, AtomicLong> nullKeyCounters = new ConcurrentHashMap<>();
+
+    private PartitionSkewMonitor monitor;
+    private int nullKeyBatchSize = 1;
+
+    @Override
+    public void configure(Map<String, ?> configs) {
+        Object monitorConfig = configs.get(MONITOR_CONFIG);
+        if (monitorConfig instanceof PartitionSkewMonitor skewMonitor) {
+            this.monitor = skewMonitor;
+        }
+        Object batchSize = configs.get(NULL_KEY_BATCH_SIZE_CONFIG);
+        if (batchSize != null) {
+            this.nullKeyBatchSize = Math.max(1, Integer.parseInt(batchSize.toString()));
+        }
+    }
+
+    @Override
+    public int partition(String topic, Object key, byte[] keyBytes, Object value, byte[] valueBytes, Cluster cluster) {
+        int numPartitions = cluster.partitionCountForTopic(topic);
+        int partition;
+
+        if (keyBytes != null) {
+            partition = Utils.toPositive(Utils.murmur2(keyBytes)) % numPartitions;
+        } else {
+            long sequence = nullKeyCounters.computeIfAbsent(topic, t -> new AtomicLong()).getAndIncrement()
+                    / nullKeyBatchSize;
+            List<PartitionInfo> available = cluster.availablePartitionsForTopic(topic);
+            partition = available.isEmpty()
+                    ? (int) (sequence % numPartitions)
+                    : available.get((int) (sequence % available.size())).partition();
+        }
+
+        if (monitor != null) {
+            monitor.record(topic, partition, numPartitions, keyBytes == null);
+        }
+        return partition;
+    }
+
+    @Override
+    public void close() {
+    }
+}
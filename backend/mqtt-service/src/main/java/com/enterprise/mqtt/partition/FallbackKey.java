@@ -0,0 +1,17 @@
+package com.enterprise.mqtt.partition;
+
+/**
+ * deviceId 가 없는 메시지의 Kafka key
+ */
+public enum FallbackKey {
+
+    /**
+     * key 없음 (DeviceAwarePartitioner 가 파티션에 고르게 분산)
+     */
+    NONE,
+
+    /**
+     * MQTT 토픽 + REQUEST 프레임의 serialNo (그 외 프레임은 deviceID 필드) - 같은 단말 프레임은 같은 파티션
+     */
+    TOPIC_SERIAL
+}
@@ -0,0 +1,126 @@
+package com.enterprise.mqtt.partition;
+
+import com.enterprise.mqtt.config.KafkaKeyingProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 토픽별 파티션 배정 분포와 쏠림(skew) 메트릭
+ *
+ * - kafka.producer.partition.records{topic,partition}: 파티션별 배정 건수
+ * - kafka.producer.partition.null-key{topic}: key 없이 배정된 건수
+ * - kafka.producer.partition.skew{topic}: 직전 skew-window 동안 (최대 파티션 건수 / 파티션 평균), 1.0 이 균등
+ */
+@Component
+public class PartitionSkewMonitor {
+
+    private final MeterRegistry meterRegistry;
+    private final long windowNanos;
+    private final Map<String, TopicStats> topics = new ConcurrentHashMap<>();
+
+    public PartitionSkewMonitor(MeterRegistry meterRegistry, KafkaKeyingProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.windowNanos = properties.getSkewWindow().toNanos();
+    }
+
+    /**
+     * 파티셔너에서 레코드마다 호출
+     */
+    public void record(String topic, int partition, int numPartitions, boolean nullKey) {
+        TopicStats stats = topics.get(topic);
+        if (stats == null || stats.partitions.length < numPartitions) {
+            stats = register(topic, numPartitions);
+        }
+        stats.partitions[partition].increment();
+        if (nullKey) {
+            stats.nullKey.increment();
+        }
+    }
+
+    /**
+     * 직전 구간의 skew (레코드가 없으면 0)
+     */
+    public double skew(String topic) {
+        TopicStats stats = topics.get(topic);
+        return stats != null ? stats.skew(windowNanos) : 0;
+    }
+
+    private synchronized TopicStats register(String topic, int numPartitions) {
+        TopicStats existing = topics.get(topic);
+        if (existing != null && existing.partitions.length >= numPartitions) {
+            return existing;
+        }
+
+        // 파티션이 늘어난 경우 기존 카운터를 이어서 사용
+        TopicStats stats = new TopicStats(numPartitions, existing);
+        for (int p = existing != null ? existing.partitions.length : 0; p < numPartitions; p++) {
+            FunctionCounter.builder("kafka.producer.partition.records", stats.partitions[p], LongAdder::sum)
+                    .tag("topic", topic)
+                    .tag("partition", String.valueOf(p))
+                    .register(meterRegistry);
+        }
+        if (existing == null) {
+            FunctionCounter.builder("kafka.producer.partition.null-key", stats.nullKey, LongAdder::sum)
+                    .tag("topic", topic)
+                    .register(meterRegistry);
+            Gauge.builder("kafka.producer.partition.skew", this, m -> m.skew(topic))
+                    .description("Max partition record count divided by mean over the last window")
+                    .tag("topic", topic)
+                    .register(meterRegistry);
+        }
+        topics.put(topic, stats);
+        return stats;
+    }
+
+    private static final class TopicStats {
+
+        private final LongAdder[] partitions;
+        private final LongAdder nullKey;
+        private final long[] windowStartCounts;
+        private long windowStart = System.nanoTime();
+        private double lastSkew;
+
+        TopicStats(int numPartitions, TopicStats previous) {
+            this.partitions = new LongAdder[numPartitions];
+            this.windowStartCounts = new long[numPartitions];
+            for (int p = 0; p < numPartitions; p++) {
+                if (previous != null && p < previous.partitions.length) {
+                    partitions[p] = previous.partitions[p];
+                    windowStartCounts[p] = previous.windowStartCounts[p];
+                } else {
+                    partitions[p] = new LongAdder();
+                }
+            }
+            this.nullKey = previous != null ? previous.nullKey : new LongAdder();
+        }
+
+        /**
+         * 구간이 끝났으면 새로 계산하고, 아니면 직전 구간 값을 반환
+         */
+        synchronized double skew(long windowNanos) {
+            long now = System.nanoTime();
+            if (now - windowStart < windowNanos) {
+                return lastSkew;
+            }
+
+            long total = 0;
+            long max = 0;
+            for (int p = 0; p < partitions.length; p++) {
+                long count = partitions[p].sum();
+                long delta = count - windowStartCounts[p];
+                windowStartCounts[p] = count;
+                total += delta;
+                max = Math.max(max, delta);
+            }
+            windowStart = now;
+            lastSkew = total == 0 ? 0 : (double) max * partitions.length / total;
+            return lastSkew;
+        }
+    }
+}
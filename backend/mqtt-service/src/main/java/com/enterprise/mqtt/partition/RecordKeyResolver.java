@@ -0,0 +1,56 @@
+package com.enterprise.mqtt.partition;
+
+import com.enterprise.mqtt.codec.DeviceFrame;
+import com.enterprise.mqtt.codec.DevicePayloadDecoder;
+import com.enterprise.mqtt.codec.HexCodec;
+import com.enterprise.mqtt.config.KafkaKeyingProperties;
+import com.enterprise.mqtt.dto.MqttMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * MqttMessage → Kafka 레코드 key
+ *
+ * 1. deviceId (유효한 Serial Number)
+ * 2. fallback-key=topic-serial:
+ *    - REQUEST 프레임이고 serialNo[5-21] 가 유효하면 "MQTT토픽:serialNo"
+ *    - 그 외 deviceID[0-3] 가 0 이 아니면 "MQTT토픽:#deviceID(Hex)"
+ *      (message-service DeviceKeys.deviceKey 와 같은 기준, REQUEST 외의 프레임은 5번째 바이트부터 body 이므로
+ *      serialNo 위치를 읽으면 body 값이 key 가 된다)
+ * 3. null (PLAINTEXT 등) - DeviceAwarePartitioner 가 고르게 분산
+ */
+@Component
+@RequiredArgsConstructor
+public class RecordKeyResolver {
+
+    private final KafkaKeyingProperties properties;
+
+    public String keyFor(MqttMessage message) {
+        if (message.getDeviceId() != null) {
+            return message.getDeviceId();
+        }
+        if (properties.getFallbackKey() != FallbackKey.TOPIC_SERIAL || message.getFrame() == null) {
+            return null;
+        }
+
+        DeviceFrame frame = new DeviceFrame().wrap(message.getFrame());
+        if (frame.messageType() == MqttMessage.MessageType.REQUEST) {
+            String serialNo = frame.serialNo();
+            if (serialNo != null && isValidSerialNo(serialNo)) {
+                return message.getTopic() + ':' + serialNo;
+            }
+        }
+        if (frame.length() >= DeviceFrame.DEVICE_ID_LENGTH && frame.deviceIdField() != 0) {
+            return message.getTopic() + ":#" + HexCodec.toHexString(message.getFrame(),
+                    DeviceFrame.DEVICE_ID_OFFSET, DeviceFrame.DEVICE_ID_LENGTH);
+        }
+        return null;
+    }
+
+    private static boolean isValidSerialNo(String serialNo) {
+        byte[] bytes = serialNo.getBytes(StandardCharsets.ISO_8859_1);
+        return DevicePayloadDecoder.isValidSerialNo(bytes, 0, bytes.length);
+    }
+}
@@ -0,0 +1,17 @@
+package com.enterprise.mqtt.routing;
+
+/**
+ * MQTT 페이로드 디코딩 방식
+ */
+public enum PayloadDecoding {
+
+    /**
+     * Base64 바이너리 프레임 (deviceID[0-3], topicType[4], serialNo[5-21], body)
+     */
+    FRAME,
+
+    /**
+     * 평문 (PLAINTEXT 메시지, deviceId 없음)
+     */
+    PLAINTEXT
+}
@@ -0,0 +1,15 @@
+package com.enterprise.mqtt.routing;
+
+/**
+ * MQTT 토픽 필터 → 디코딩 방식 / Kafka 토픽
+ *
+ * @param filter     MQTT 토픽 필터 (+, # 와일드카드)
+ * @param decoding   페이로드 디코딩 방식
+ * @param kafkaTopic 전송할 Kafka 토픽 (null 이면 메시지 타입별 토픽)
+ */
+public record TopicRoute(String filter, PayloadDecoding decoding, String kafkaTopic) {
+
+    public boolean isFrame() {
+        return decoding == PayloadDecoding.FRAME;
+    }
+}
@@ -0,0 +1,68 @@
+package com.enterprise.mqtt.routing;
+
+import com.enterprise.mqtt.config.MqttRoutingProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * MQTT 토픽 → TopicRoute 조회
+ *
+ * mqtt.routing 설정을 TopicRoutingTable 로 컴파일해 두고, 설정이 바뀌면(/actuator/refresh, Config Server)
+ * 새 테이블로 교체한다. 새 설정이 잘못되었으면 기존 테이블을 유지한다.
+ * 어느 경로에도 맞지 않는 토픽은 평문 + 메시지 타입별 Kafka 토픽으로 처리한다.
+ */
+@Slf4j
+@Component
+public class TopicRouter {
+
+    static final TopicRoute DEFAULT_ROUTE = new TopicRoute("#", PayloadDecoding.PLAINTEXT, null);
+
+    private final Environment environment;
+    private volatile TopicRoutingTable table;
+
+    public TopicRouter(Environment environment) {
+        this.environment = environment;
+        this.table = load();
+        log.info("MQTT topic routes: {}", table.routes());
+    }
+
+    public TopicRoute route(String topic) {
+        TopicRoute route = table.match(topic);
+        return route != null ? route : DEFAULT_ROUTE;
+    }
+
+    public List<TopicRoute> routes() {
+        return table.routes();
+    }
+
+    @EventListener
+    public void onEnvironmentChange(EnvironmentChangeEvent event) {
+        if (event.getKeys().stream().noneMatch(key -> key.startsWith(MqttRoutingProperties.PREFIX))) {
+            return;
+        }
+        try {
+            table = load();
+            log.info("Reloaded MQTT topic routes: {}", table.routes());
+        } catch (RuntimeException e) {
+            log.error("Invalid MQTT topic routes, keeping previous table", e);
+        }
+    }
+
+    private TopicRoutingTable load() {
+        MqttRoutingProperties properties = Binder.get(environment)
+                .bind(MqttRoutingProperties.PREFIX, MqttRoutingProperties.class)
+                .orElseGet(MqttRoutingProperties::new);
+
+        return TopicRoutingTable.compile(properties.getRoutes().stream()
+                .map(route -> new TopicRoute(route.getFilter(), route.getDecoder(),
+                        route.getKafkaTopic() == null || route.getKafkaTopic().isBlank()
+                                ? null : route.getKafkaTopic()))
+                .toList());
+    }
+}
@@ -0,0 +1,177 @@
+package com.enterprise.mqtt.routing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * MQTT 토픽 레벨 단위 trie 로 컴파일된 라우팅 테이블 (불변)
+ *
+ * 조회는 토픽 문자열을 자르지 않고 레벨 구간을 직접 비교하므로 할당이 없고, 레벨 수에 비례한다.
+ * 여러 필터가 맞으면 더 구체적인 필터가 우선한다 (레벨마다 정확히 일치 > + > #).
+ * MQTT 규칙에 따라 $ 로 시작하는 토픽의 첫 레벨은 와일드카드와 매칭하지 않으며, "a/#" 은 "a" 에도 매칭한다.
+ */
+public final class TopicRoutingTable {
+
+    private static final char SEPARATOR = '/';
+    private static final String SINGLE_LEVEL = "+";
+    private static final String MULTI_LEVEL = "#";
+
+    private final Node root;
+    private final List<TopicRoute> routes;
+
+    private TopicRoutingTable(Node root, List<TopicRoute> routes) {
+        this.root = root;
+        this.routes = routes;
+    }
+
+    /**
+     * @throws IllegalArgumentException 잘못된 필터 또는 중복 필터
+     */
+    public static TopicRoutingTable compile(List<TopicRoute> routes) {
+        Node root = new Node();
+        for (TopicRoute route : routes) {
+            String[] levels = validate(route.filter());
+            Node node = root;
+            for (int i = 0; i < levels.length; i++) {
+                String level = levels[i];
+                if (MULTI_LEVEL.equals(level)) {
+                    if (node.multiLevel != null) {
+                        throw duplicate(route);
+                    }
+                    node.multiLevel = route;
+                    node = null;
+                    break;
+                }
+                node = SINGLE_LEVEL.equals(level) ? node.plusChild() : node.child(level);
+            }
+            if (node != null) {
+                if (node.route != null) {
+                    throw duplicate(route);
+                }
+                node.route = route;
+            }
+        }
+        return new TopicRoutingTable(root, Collections.unmodifiableList(new ArrayList<>(routes)));
+    }
+
+    /**
+     * 토픽에 맞는 가장 구체적인 경로 (없으면 null)
+     */
+    public TopicRoute match(String topic) {
+        return match(root, topic, 0, true);
+    }
+
+    public List<TopicRoute> routes() {
+        return routes;
+    }
+
+    private static TopicRoute match(Node node, String topic, int start, boolean firstLevel) {
+        int length = topic.length();
+        if (start > length) {
+            return node.route != null ? node.route : node.multiLevel;
+        }
+
+        int end = topic.indexOf(SEPARATOR, start);
+        if (end < 0) {
+            end = length;
+        }
+
+        Node exact = node.find(topic, start, end);
+        if (exact != null) {
+            TopicRoute route = match(exact, topic, end + 1, false);
+            if (route != null) {
+                return route;
+            }
+        }
+
+        if (firstLevel && start < length && topic.charAt(start) == '$') {
+            return null;
+        }
+        if (node.plus != null) {
+            TopicRoute route = match(node.plus, topic, end + 1, false);
+            if (route != null) {
+                return route;
+            }
+        }
+        return node.multiLevel;
+    }
+
+    private static String[] validate(String filter) {
+        if (filter == null || filter.isEmpty()) {
+            throw new IllegalArgumentException("Empty MQTT topic filter");
+        }
+        String[] levels = filter.split(String.valueOf(SEPARATOR), -1);
+        for (int i = 0; i < levels.length; i++) {
+            String level = levels[i];
+            if (MULTI_LEVEL.equals(level) && i != levels.length - 1) {
+                throw new IllegalArgumentException("'#' must be the last level: " + filter);
+            }
+            if (level.length() > 1 && (level.contains(SINGLE_LEVEL) || level.contains(MULTI_LEVEL))) {
+                throw new IllegalArgumentException("Wildcard must occupy a whole level: " + filter);
+            }
+        }
+        return levels;
+    }
+
+    private static IllegalArgumentException duplicate(TopicRoute route) {
+        return new IllegalArgumentException("Duplicate MQTT topic filter: " + route.filter());
+    }
+
+    /**
+     * String.hashCode 와 같은 값을 토픽의 [start, end) 구간에서 계산
+     */
+    private static int hash(String s, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + s.charAt(i);
+        }
+        return h;
+    }
+
+    private static final class Node {
+
+        private String[] levels = new String[0];
+        private int[] hashes = new int[0];
+        private Node[] children = new Node[0];
+
+        private Node plus;
+        private TopicRoute route;
+        private TopicRoute multiLevel;
+
+        Node find(String topic, int start, int end) {
+            int h = hash(topic, start, end);
+            int length = end - start;
+            for (int i = 0; i < levels.length; i++) {
+                if (hashes[i] == h && levels[i].length() == length
+                        && topic.regionMatches(start, levels[i], 0, length)) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        Node child(String level) {
+            Node existing = find(level, 0, level.length());
+            if (existing != null) {
+                return existing;
+            }
+            int n = levels.length;
+            levels = Arrays.copyOf(levels, n + 1);
+            hashes = Arrays.copyOf(hashes, n + 1);
+            children = Arrays.copyOf(children, n + 1);
+            levels[n] = level;
+            hashes[n] = level.hashCode();
+            children[n] = new Node();
+            return children[n];
+        }
+
+        Node plusChild() {
+            if (plus == null) {
+                plus = new Node();
+            }
+            return plus;
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.enterprise.mqtt.scaling;
+
+import com.enterprise.mqtt.config.MqttScalingProperties;
+import com.enterprise.mqtt.listener.MqttMessageListener;
+import com.enterprise.mqtt.transport.MqttTransport;
+import com.enterprise.mqtt.transport.SharedSubscription;
+import com.netflix.appinfo.ApplicationInfoManager;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MQTT 구독 배정 (mqtt.scaling.mode)
+ *
+ * - NONE: aws.iot.subscribe-topics 를 그대로 구독. 인스턴스가 여럿이면 모든 메시지가 인스턴스 수만큼 Kafka 에 들어간다.
+ * - SHARED: $share/<group>/<topic> 으로 구독해 브로커가 인스턴스 사이에 메시지를 나눈다 (AWS IoT Core 지원).
+ * - SHARDED: 공유 구독을 지원하지 않는 브로커용. 각 인스턴스가 Eureka 메타데이터에 멤버 ID 를 등록하고,
+ *   UP 상태인 멤버 ID 를 정렬한 순서로 shard 를 나눈다 (shard i → 멤버 i mod n). 모든 인스턴스가 같은 규칙으로
+ *   계산하므로 별도 조정자가 없다. 배정이 바뀌면 이전 담당자는 바로 구독을 해제하고 mqtt-shards 에서 뺀다.
+ *   새 담당자는 다른 멤버의 mqtt-shards 에 그 shard 가 남아 있는 동안 구독하지 않고 (대기) 빠진 뒤에 구독한다.
+ *   → 두 인스턴스가 같은 shard 를 동시에 구독하지 않는 대신, 넘겨받는 동안 (rebalance-interval + 레지스트리 갱신 주기)
+ *   그 shard 는 수신되지 않는다. mqtt-service 는 수신 건마다 messageId 를 새로 발급하므로 두 인스턴스가 같은 MQTT
+ *   메시지를 받으면 message-service 중복 제거로도 걸러지지 않는다 (메시지 종류와 무관).
+ *   인스턴스가 죽으면 Eureka 가 제거할 때까지 그 shard 는 수신되지 않는다.
+ *
+ * Eureka 메타데이터: mqtt-member (멤버 ID), mqtt-shards (현재 구독 중인 shard - 넘겨받는 쪽이 해제를 확인하는 데 사용)
+ *
+ * 메트릭:
+ * - mqtt.scaling.members: 배정에 참여하는 인스턴스 수
+ * - mqtt.scaling.shards: 이 인스턴스가 구독 중인 shard 수
+ * - mqtt.scaling.shards.waiting: 배정받았지만 이전 담당자의 해제를 기다리는 shard 수
+ * - mqtt.scaling.rebalances: 배정이 바뀐 횟수
+ */
+@Slf4j
+@Component
+public class SubscriptionManager {
+
+    static final String METADATA_MEMBER = "mqtt-member";
+    static final String METADATA_SHARDS = "mqtt-shards";
+
+    private final MqttScalingProperties properties;
+    private final MqttTransport mqttTransport;
+    private final MqttMessageListener mqttMessageListener;
+    private final ObjectProvider<DiscoveryClient> discoveryClient;
+    private final ObjectProvider<ApplicationInfoManager> applicationInfoManager;
+    private final String serviceId;
+    private final String memberId = UUID.randomUUID().toString();
+
+    /**
+     * SHARDED: 구독 중인 shard
+     */
+    private final Set<String> subscribed = new LinkedHashSet<>();
+
+    /**
+     * SHARDED: 배정받았지만 다른 멤버가 아직 구독 중인 shard
+     */
+    private final Set<String> waiting = new LinkedHashSet<>();
+    private volatile int members;
+
+    private final Counter rebalances;
+    private ScheduledExecutorService coordinator;
+
+    public SubscriptionManager(MqttScalingProperties properties,
+                               MqttTransport mqttTransport,
+                               MqttMessageListener mqttMessageListener,
+                               ObjectProvider<DiscoveryClient> discoveryClient,
+                               ObjectProvider<ApplicationInfoManager> applicationInfoManager,
+                               @Value("${spring.application.name}") String serviceId,
+                               MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.mqttTransport = mqttTransport;
+        this.mqttMessageListener = mqttMessageListener;
+        this.discoveryClient = discoveryClient;
+        this.applicationInfoManager = applicationInfoManager;
+        this.serviceId = serviceId;
+
+        this.rebalances = Counter.builder("mqtt.scaling.rebalances")
+                .description("Shard assignment changes for this instance")
+                .register(meterRegistry);
+        Gauge.builder("mqtt.scaling.members", this, m -> m.members)
+                .description("mqtt-service instances sharing the MQTT subscriptions")
+                .register(meterRegistry);
+        Gauge.builder("mqtt.scaling.shards", this, SubscriptionManager::subscribedCount)
+                .description("Topic shards subscribed by this instance")
+                .register(meterRegistry);
+        Gauge.builder("mqtt.scaling.shards.waiting", this, SubscriptionManager::waitingCount)
+                .description("Assigned topic shards still held by another instance")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 모드에 맞게 구독 시작 (MqttConnectionConfig, 브로커 연결 후)
+     */
+    public synchronized void start() {
+        List<String> topics = mqttMessageListener.subscribeTopics();
+        switch (properties.getMode()) {
+            case NONE -> {
+                members = 1;
+                mqttMessageListener.subscribe(mqttTransport, topics);
+            }
+            case SHARED -> {
+                members = 1;
+                List<String> shared = new ArrayList<>(topics.size());
+                for (String topic : topics) {
+                    shared.add(SharedSubscription.of(properties.getSharedGroup(), topic));
+                }
+                mqttMessageListener.subscribe(mqttTransport, shared);
+            }
+            case SHARDED -> startSharded();
+        }
+        log.info("MQTT subscriptions started - mode: {}, member: {}", properties.getMode(), memberId);
+    }
+
+    public synchronized void stop() {
+        if (coordinator != null) {
+            coordinator.shutdownNow();
+            coordinator = null;
+        }
+    }
+
+    private void startSharded() {
+        ApplicationInfoManager infoManager = applicationInfoManager.getIfAvailable();
+        if (infoManager != null) {
+            infoManager.registerAppMetadata(Map.of(METADATA_MEMBER, memberId));
+        } else {
+            log.warn("Eureka client not available - this instance subscribes to every shard");
+        }
+        rebalance();
+
+        coordinator = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "mqtt-shard-coordinator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMs = properties.getRebalanceInterval().toMillis();
+        coordinator.scheduleWithFixedDelay(this::rebalanceSafely, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void rebalanceSafely() {
+        try {
+            rebalance();
+        } catch (Exception e) {
+            log.error("MQTT shard rebalance failed", e);
+        }
+    }
+
+    /**
+     * 현재 멤버 목록으로 배정을 다시 계산해 넘어간 shard 는 바로 해제하고,
+     * 새 shard 는 다른 멤버가 구독 중이 아닐 때 구독 (구독 중이면 다음 rebalance 까지 대기)
+     */
+    synchronized void rebalance() {
+        Map<String, Set<String>> claims = memberClaims();
+        List<String> memberIds = new ArrayList<>(claims.keySet());
+        members = memberIds.size();
+        Set<String> assigned = assign(shards(), memberIds, memberId);
+        Set<String> heldByOthers = new HashSet<>();
+        for (Map.Entry<String, Set<String>> claim : claims.entrySet()) {
+            if (!claim.getKey().equals(memberId)) {
+                heldByOthers.addAll(claim.getValue());
+            }
+        }
+
+        boolean changed = false;
+        Iterator<String> it = subscribed.iterator();
+        while (it.hasNext()) {
+            String shard = it.next();
+            if (!assigned.contains(shard)) {
+                mqttTransport.unsubscribe(shard);
+                it.remove();
+                changed = true;
+                log.info("MQTT shard {} moved to another instance - released", shard);
+            }
+        }
+        waiting.clear();
+        for (String shard : assigned) {
+            if (subscribed.contains(shard)) {
+                continue;
+            }
+            if (heldByOthers.contains(shard)) {
+                waiting.add(shard);
+                log.info("MQTT shard {} assigned but still held by another instance - waiting for release", shard);
+                continue;
+            }
+            mqttMessageListener.subscribe(mqttTransport, List.of(shard));
+            subscribed.add(shard);
+            changed = true;
+        }
+
+        if (changed) {
+            rebalances.increment();
+            log.info("MQTT shard assignment - members: {}, subscribed: {}, waiting: {}", memberIds.size(), subscribed, waiting);
+            ApplicationInfoManager infoManager = applicationInfoManager.getIfAvailable();
+            if (infoManager != null) {
+                Map<String, String> metadata = new HashMap<>();
+                metadata.put(METADATA_MEMBER, memberId);
+                metadata.put(METADATA_SHARDS, String.join(",", subscribed));
+                infoManager.registerAppMetadata(metadata);
+            }
+        }
+    }
+
+    /**
+     * shard i 를 정렬된 멤버 목록의 (i mod n) 번째 멤버에 배정했을 때 self 의 shard
+     */
+    static Set<String> assign(List<String> shards, List<String> memberIds, String self) {
+        Set<String> assigned = new LinkedHashSet<>();
+        int index = memberIds.indexOf(self);
+        if (index < 0) {
+            return assigned;
+        }
+        for (int i = 0; i < shards.size(); i++) {
+            if (i % memberIds.size() == index) {
+                assigned.add(shards.get(i));
+            }
+        }
+        return assigned;
+    }
+
+    /**
+     * Eureka 에 등록된 UP 인스턴스 중 멤버 ID 를 가진 인스턴스 + 자신 (멤버 ID 정렬) → 구독 중이라고 알린 shard
+     */
+    private Map<String, Set<String>> memberClaims() {
+        TreeMap<String, Set<String>> claims = new TreeMap<>();
+        claims.put(memberId, Set.of());
+        DiscoveryClient client = discoveryClient.getIfAvailable();
+        if (client != null) {
+            for (ServiceInstance instance : client.getInstances(serviceId)) {
+                String id = instance.getMetadata().get(METADATA_MEMBER);
+                if (id != null && !id.equals(memberId)) {
+                    claims.put(id, parseShards(instance.getMetadata().get(METADATA_SHARDS)));
+                }
+            }
+        }
+        return claims;
+    }
+
+    private static Set<String> parseShards(String value) {
+        if (value == null || value.isBlank()) {
+            return Set.of();
+        }
+        return Set.of(value.split(","));
+    }
+
+    private List<String> shards() {
+        return properties.getShards().isEmpty() ? mqttMessageListener.subscribeTopics() : properties.getShards();
+    }
+
+    private synchronized int subscribedCount() {
+        return subscribed.size();
+    }
+
+    private synchronized int waitingCount() {
+        return waiting.size();
+    }
+}
@@ -1,21 +1,37 @@
 package com.enterprise.mqtt.service;
 
+import com.enterprise.mqtt.codec.DeviceFrame;
+import com.enterprise.mqtt.codec.HexCodec;
+import com.enterprise.mqtt.codec.MqttMessageCompactSerializer;
+import com.enterprise.mqtt.codec.RecordFormat;
+import com.enterprise.mqtt.config.KafkaRecordFormatProperties;
 import com.enterprise.mqtt.dto.MqttMessage;
+import com.enterprise.mqtt.partition.RecordKeyResolver;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.util.concurrent.CompletableFuture;
 
 /**
  * Kafka Producer Service
- * MQTT 메시지를 Kafka로 전달 (JSON 직렬화)
+ * MQTT 메시지를 Kafka로 전달 (토픽별 레코드 포맷은 kafka.record-format 설정)
+ * - FRAME: 바이너리 프레임(A0/B0) 원본 바이트를 value 로, 메타데이터는 레코드 헤더로 전송
+ * - COMPACT: 스키마 버전이 있는 압축 바이너리
+ * - JSON: JSON 직렬화 (FRAME 설정이라도 프레임이 없는 메시지는 JSON)
+ *
+ * 전송에 실패한 레코드는 KafkaSpillService 저널에 기록되어 Kafka 복구 후 key 별 순서대로 재전송된다.
  */
 @Slf4j
 @Service
@@ -23,8 +39,12 @@ import java.util.concurrent.CompletableFuture;
 public class KafkaProducerService {
 
     // ✅ Qualifier로 명시적으로 Bean 지정
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
     private final ObjectMapper objectMapper;
+    private final KafkaRecordFormatProperties recordFormatProperties;
+    private final KafkaSpillService kafkaSpillService;
+    private final RecordKeyResolver recordKeyResolver;
+    private final Serializer<MqttMessage> compactSerializer = new MqttMessageCompactSerializer();
 
     @Value("${kafka.topics.mqtt-message}")
     private String mqttMessageTopic;
@@ -52,19 +72,40 @@ public class KafkaProducerService {
      * 메시지 타입에 따라 적절한 토픽으로 라우팅
      */
     public void sendMqttMessage(MqttMessage message) {
+        sendMqttMessage(message, null);
+    }
+
+    /**
+     * MQTT 메시지를 지정한 Kafka 토픽으로 전송 (kafkaTopic 이 null 이면 메시지 타입별 토픽)
+     */
+    public void sendMqttMessage(MqttMessage message, String kafkaTopic) {
         try {
-            String jsonMessage = objectMapper.writeValueAsString(message);
-            String topic = determineKafkaTopic(message.getMessageType());
-
-            if (log.isDebugEnabled()) {
-                String prettyJson = objectMapper.writerWithDefaultPrettyPrinter()
-                        .writeValueAsString(objectMapper.readTree(jsonMessage));
-                log.debug("Sending message to Kafka topic: {}", topic);
-                log.debug("Sending message to Kafka message:\n{}", prettyJson);
+            String topic = kafkaTopic != null ? kafkaTopic : determineKafkaTopic(message.getMessageType());
+
+            ProducerRecord<String, byte[]> record = switch (recordFormatProperties.formatFor(topic)) {
+                case FRAME -> message.getFrame() != null
+                        ? toFrameRecord(topic, message)
+                        : toJsonRecord(topic, message);
+                case COMPACT -> toCompactRecord(topic, message);
+                case JSON -> toJsonRecord(topic, message);
+            };
+
+            // 같은 key 의 레코드가 저널에서 재전송 대기 중이면 순서 유지를 위해 뒤에 이어 씀
+            if (kafkaSpillService.isPending(record)) {
+                log.debug("Kafka spill journal has pending records for key {}, journaling message for topic: {}",
+                        record.key(), topic);
+                kafkaSpillService.spill(record);
+                return;
             }
 
-            CompletableFuture<SendResult<String, String>> future = kafkaTemplate.send(topic, message.getDeviceId(),
-                    jsonMessage);
+            CompletableFuture<SendResult<String, byte[]>> future;
+            try {
+                future = kafkaTemplate.send(record);
+            } catch (KafkaException e) {
+                log.error("Failed to send message to Kafka - Topic: {}", topic, e);
+                kafkaSpillService.spill(record);
+                return;
+            }
 
             future.whenComplete((result, ex) -> {
                 if (ex == null) {
@@ -74,6 +115,7 @@ public class KafkaProducerService {
                             result.getRecordMetadata().offset());
                 } else {
                     log.error("Failed to send message to Kafka - Topic: {}", topic, ex);
+                    kafkaSpillService.spill(record);
                 }
             });
 
@@ -82,6 +124,67 @@ public class KafkaProducerService {
         }
     }
 
+    /**
+     * frame 포맷 레코드: value = 프레임 원본, key = RecordKeyResolver
+     * key 는 deviceId 가 아닐 수 있으므로 deviceId 는 헤더로 전달 (없으면 null 값 헤더)
+     */
+    private ProducerRecord<String, byte[]> toFrameRecord(String topic, MqttMessage message) {
+        ProducerRecord<String, byte[]> record =
+                new ProducerRecord<>(topic, recordKeyResolver.keyFor(message), message.getFrame());
+
+        Headers headers = record.headers();
+        headers.add(RecordFormat.HEADER, RecordFormat.FRAME.headerBytes());
+        headers.add(DeviceFrame.HEADER_DEVICE_ID, utf8(message.getDeviceId()));
+        headers.add(DeviceFrame.HEADER_MESSAGE_ID, utf8(message.getMessageId()));
+        headers.add(DeviceFrame.HEADER_MQTT_TOPIC, utf8(message.getTopic()));
+        if (message.getQos() != null) {
+            headers.add(DeviceFrame.HEADER_QOS, utf8(String.valueOf(message.getQos())));
+        }
+        if (message.getReceivedAt() != null) {
+            headers.add(DeviceFrame.HEADER_RECEIVED_AT, utf8(message.getReceivedAt().toString()));
+        }
+
+        log.debug("Sending frame to Kafka topic: {} ({} bytes)", topic, message.getFrame().length);
+        return record;
+    }
+
+    /**
+     * compact 포맷 레코드: value = CompactMessageCodec 인코딩, key = RecordKeyResolver
+     */
+    private ProducerRecord<String, byte[]> toCompactRecord(String topic, MqttMessage message) {
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(topic, recordKeyResolver.keyFor(message),
+                compactSerializer.serialize(topic, message));
+        record.headers().add(RecordFormat.HEADER, RecordFormat.COMPACT.headerBytes());
+
+        log.debug("Sending compact record to Kafka topic: {} ({} bytes)", topic, record.value().length);
+        return record;
+    }
+
+    /**
+     * JSON 레코드 (프레임이 있으면 parsedMessage 에 Hex 로 포함)
+     */
+    private ProducerRecord<String, byte[]> toJsonRecord(String topic, MqttMessage message)
+            throws JsonProcessingException {
+        if (message.getParsedMessage() == null && message.getFrame() != null) {
+            message.setParsedMessage(HexCodec.toHexString(message.getFrame()));
+        }
+
+        byte[] jsonMessage = objectMapper.writeValueAsBytes(message);
+
+        if (log.isDebugEnabled()) {
+            String prettyJson = objectMapper.writerWithDefaultPrettyPrinter()
+                    .writeValueAsString(message);
+            log.debug("Sending message to Kafka topic: {}", topic);
+            log.debug("Sending message to Kafka message:\n{}", prettyJson);
+        }
+
+        return new ProducerRecord<>(topic, recordKeyResolver.keyFor(message), jsonMessage);
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
     /**
      * 메시지 타입에 따른 Kafka 토픽 결정
      */
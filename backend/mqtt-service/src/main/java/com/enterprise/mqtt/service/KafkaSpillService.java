@@ -0,0 +1,349 @@
+package com.enterprise.mqtt.service;
+
+import com.enterprise.mqtt.config.KafkaSpillJournalProperties;
+import com.enterprise.mqtt.journal.JournalBatch;
+import com.enterprise.mqtt.journal.SpillJournal;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kafka 전송 실패 레코드 저널링 및 재전송
+ *
+ * 전송이 실패하거나 타임아웃된 레코드는 SpillJournal 에 기록하고, 전용 스레드가 Kafka 가 복구되면
+ * 기록된 순서대로 재전송한다. 순서는 key 단위로만 유지하면 되므로, 저널에 재전송 대기 중인 레코드가 있는
+ * (토픽, key) 의 새 레코드만 저널 뒤에 이어 쓰고 ({@link #isPending(ProducerRecord)}), 나머지 실시간 트래픽은
+ * Kafka 로 바로 보낸다. key 가 없는 레코드는 순서 보장 대상이 아니므로 항상 바로 보낸다.
+ *
+ * 재전송 속도는 replay-rate 에서 시작해 batch 가 성공할 때마다 두 배로 올리고 (replay-max-rate, 0 이면 무제한),
+ * 실패하면 다시 replay-rate 로 낮춘다. 복구 직후의 Kafka 를 몰아치지 않으면서도, 정상 상태에서는 수신 속도보다
+ * 빨리 저널을 비워 대기 중인 key 가 실시간 트래픽을 계속 저널로 끌어들이지 않도록 하기 위함.
+ *
+ * 재전송은 batch 단위로 ack 를 받은 뒤 commit 하므로 at-least-once 이다.
+ */
+@Slf4j
+@Service
+public class KafkaSpillService {
+
+    private static final long IDLE_SLEEP_MILLIS = 100;
+    private static final long UNLIMITED_RATE = TimeUnit.SECONDS.toNanos(1);
+
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final KafkaSpillJournalProperties properties;
+
+    private final Counter spilled;
+    private final Counter replayed;
+    private final Counter dropped;
+
+    /**
+     * (토픽, key) → 저널에 재전송 대기 중인 레코드 수
+     */
+    private final ConcurrentHashMap<String, Integer> pendingKeys = new ConcurrentHashMap<>();
+
+    private volatile SpillJournal journal;
+    private volatile boolean running;
+    private Thread replayThread;
+
+    public KafkaSpillService(KafkaTemplate<String, byte[]> kafkaTemplate,
+                             KafkaSpillJournalProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.properties = properties;
+
+        this.spilled = Counter.builder("kafka.spill.records").tag("result", "spilled").register(meterRegistry);
+        this.replayed = Counter.builder("kafka.spill.records").tag("result", "replayed").register(meterRegistry);
+        this.dropped = Counter.builder("kafka.spill.records").tag("result", "dropped").register(meterRegistry);
+
+        Gauge.builder("kafka.spill.pending.bytes", this, s -> s.journal != null ? s.journal.pendingBytes() : 0)
+                .description("Journaled bytes not yet replayed to Kafka")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("kafka.spill.disk.bytes", this, s -> s.journal != null ? s.journal.diskBytes() : 0)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("kafka.spill.pending.keys", pendingKeys, Map::size)
+                .description("Record keys with journaled records waiting for replay")
+                .register(meterRegistry);
+        Gauge.builder("kafka.spill.corrupted", this, s -> s.journal != null ? s.journal.corruptedRecords() : 0)
+                .description("Journal records skipped due to CRC mismatch")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!properties.isEnabled()) {
+            log.info("Kafka spill journal is disabled");
+            return;
+        }
+
+        SpillJournal opened = new SpillJournal(Path.of(properties.getDirectory()),
+                properties.getSegmentBytes(), properties.getMaxBytes());
+        restorePendingKeys(opened);
+        journal = opened;
+        running = true;
+
+        replayThread = Thread.ofPlatform().name("kafka-journal-replay").daemon(true).start(this::replayLoop);
+        log.info("Kafka spill journal started - directory: {}, maxBytes: {}, replayRate: {}/s, replayMaxRate: {}/s",
+                properties.getDirectory(), properties.getMaxBytes(), properties.getReplayRate(),
+                properties.getReplayMaxRate() > 0 ? properties.getReplayMaxRate() : "unlimited");
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (replayThread != null) {
+            replayThread.interrupt();
+            try {
+                replayThread.join(properties.getReplayTimeout().toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        SpillJournal current = journal;
+        journal = null;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    /**
+     * 저널에 같은 (토픽, key) 의 레코드가 재전송 대기 중인지 (있으면 record 도 저널로 보내야 순서가 유지됨)
+     */
+    public boolean isPending(ProducerRecord<String, byte[]> record) {
+        String pendingKey = pendingKey(record);
+        return pendingKey != null && pendingKeys.containsKey(pendingKey);
+    }
+
+    /**
+     * 전송 실패 레코드 저널링 (Kafka producer I/O 스레드에서도 호출됨)
+     */
+    public void spill(ProducerRecord<String, byte[]> record) {
+        SpillJournal current = journal;
+        if (current == null) {
+            dropped.increment();
+            return;
+        }
+
+        // 재전송 스레드가 append 직후 레코드를 보내고 release 해도 어긋나지 않도록 먼저 집계
+        String pendingKey = pendingKey(record);
+        acquire(pendingKey);
+        try {
+            if (current.append(encode(record))) {
+                spilled.increment();
+                return;
+            }
+            log.error("Kafka spill journal is full ({} bytes), dropping record for topic: {}",
+                    properties.getMaxBytes(), record.topic());
+        } catch (IOException e) {
+            log.error("Failed to journal record for topic: {}", record.topic(), e);
+        }
+        release(pendingKey);
+        dropped.increment();
+    }
+
+    /**
+     * 재시작 시 저널에 남아 있는 레코드의 key 집계
+     */
+    private void restorePendingKeys(SpillJournal journal) {
+        int batchSize = Math.max(1, properties.getReplayBatchSize());
+        long records = 0;
+        for (JournalBatch batch = journal.readAfter(null, batchSize); !batch.isEmpty();
+             batch = journal.readAfter(batch, batchSize)) {
+            for (byte[] data : batch.records()) {
+                acquire(pendingKey(data));
+            }
+            records += batch.size();
+        }
+        if (records > 0) {
+            log.info("Kafka spill journal has {} records pending for {} keys", records, pendingKeys.size());
+        }
+    }
+
+    private void replayLoop() {
+        int batchSize = Math.max(1, properties.getReplayBatchSize());
+        long initialRate = Math.max(1, properties.getReplayRate());
+        long maxRate = properties.getReplayMaxRate() > 0 ? properties.getReplayMaxRate() : UNLIMITED_RATE;
+        long rate = Math.min(initialRate, maxRate);
+
+        SpillJournal journal = this.journal;
+
+        while (running) {
+            try {
+                if (journal.isEmpty()) {
+                    Thread.sleep(IDLE_SLEEP_MILLIS);
+                    continue;
+                }
+
+                long start = System.nanoTime();
+                JournalBatch batch = journal.read(batchSize);
+                List<String> sentKeys = replay(journal, batch);
+                if (sentKeys == null) {
+                    rate = Math.min(initialRate, maxRate);
+                    Thread.sleep(properties.getRetryInterval().toMillis());
+                    continue;
+                }
+                journal.commit(batch);
+                sentKeys.forEach(this::release);
+                replayed.increment(batch.size());
+
+                if (journal.isEmpty()) {
+                    log.info("Kafka spill journal drained");
+                }
+
+                // 현재 속도 이하로 재전송하고, 성공했으므로 다음 batch 는 두 배 속도까지 허용
+                long remaining = TimeUnit.SECONDS.toNanos(1) * batch.size() / rate - (System.nanoTime() - start);
+                if (remaining > 0) {
+                    TimeUnit.NANOSECONDS.sleep(remaining);
+                }
+                rate = Math.min(rate * 2, maxRate);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Unexpected error while replaying Kafka spill journal", e);
+                try {
+                    Thread.sleep(properties.getRetryInterval().toMillis());
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * batch 전체 전송 후 ack 대기
+     *
+     * @return 모두 성공하면 전송한 레코드의 (토픽, key) 목록 (key 없는 레코드는 null 항목), 실패하면 null
+     */
+    private List<String> replay(SpillJournal journal, JournalBatch batch) throws InterruptedException {
+        List<CompletableFuture<?>> futures = new ArrayList<>(batch.size());
+        List<String> sentKeys = new ArrayList<>(batch.size());
+        try {
+            for (byte[] data : batch.records()) {
+                ProducerRecord<String, byte[]> record;
+                try {
+                    record = decode(data);
+                } catch (IOException e) {
+                    log.error("Skipping undecodable journal record ({} bytes)", data.length, e);
+                    continue;
+                }
+                futures.add(kafkaTemplate.send(record));
+                sentKeys.add(pendingKey(record));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                    .get(properties.getReplayTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            return sentKeys;
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            log.warn("Kafka is still unavailable, {} journaled bytes pending - retrying in {} ms: {}",
+                    journal.pendingBytes(), properties.getRetryInterval().toMillis(), e.getMessage());
+            return null;
+        }
+    }
+
+    private void acquire(String pendingKey) {
+        if (pendingKey != null) {
+            pendingKeys.merge(pendingKey, 1, Integer::sum);
+        }
+    }
+
+    private void release(String pendingKey) {
+        if (pendingKey != null) {
+            pendingKeys.computeIfPresent(pendingKey, (k, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    private static String pendingKey(ProducerRecord<String, byte[]> record) {
+        return record.key() != null ? record.topic() + '\0' + record.key() : null;
+    }
+
+    private static String pendingKey(byte[] data) {
+        try {
+            return pendingKey(decode(data));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 레코드 직렬화: topic, key, headers, value (문자열은 UTF, null 은 길이 -1)
+     */
+    static byte[] encode(ProducerRecord<String, byte[]> record) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(
+                64 + (record.value() != null ? record.value().length : 0));
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        out.writeUTF(record.topic());
+        out.writeBoolean(record.key() != null);
+        if (record.key() != null) {
+            out.writeUTF(record.key());
+        }
+
+        Header[] headers = record.headers().toArray();
+        out.writeShort(headers.length);
+        for (Header header : headers) {
+            out.writeUTF(header.key());
+            writeBytes(out, header.value());
+        }
+        writeBytes(out, record.value());
+        return bytes.toByteArray();
+    }
+
+    static ProducerRecord<String, byte[]> decode(byte[] data) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+
+        String topic = in.readUTF();
+        String key = in.readBoolean() ? in.readUTF() : null;
+
+        int headerCount = in.readUnsignedShort();
+        List<Header> headers = new ArrayList<>(headerCount);
+        for (int i = 0; i < headerCount; i++) {
+            String name = in.readUTF();
+            byte[] value = readBytes(in);
+            headers.add(new RecordHeader(name, value));
+        }
+        return new ProducerRecord<>(topic, null, key, readBytes(in), headers);
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(value.length);
+        out.write(value);
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] value = new byte[length];
+        in.readFully(value);
+        return value;
+    }
+}
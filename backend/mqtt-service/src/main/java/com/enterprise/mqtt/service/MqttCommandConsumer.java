@@ -1,21 +1,30 @@
 package com.enterprise.mqtt.service;
 
+import com.enterprise.mqtt.config.MqttPublishProperties;
 import com.enterprise.mqtt.dto.MqttCommandDto;
-import com.enterprise.mqtt.dto.MqttMessage;
 import com.enterprise.mqtt.dto.PublishRequest;
+import com.enterprise.mqtt.dto.PublishResponse;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.handler.annotation.Header;
-import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Kafka에서 MQTT 명령을 수신하여 IoT 디바이스로 전송
  * message-service → Kafka → mqtt-service → IoT Device
+ *
+ * poll 단위로 받은 명령을 모두 비동기 발행한 뒤(확인 대기 창 안에서 겹쳐서 전송) 결과를 기다린다.
+ * 모두 성공하면 배치 오프셋을 커밋하고, 실패한 명령이 있으면 그 앞까지만 커밋한 뒤
+ * 실패한 명령부터 retry-backoff 후 다시 받는다 (at-least-once, 뒤쪽 성공분은 다시 발행될 수 있음).
+ * JSON 파싱 실패나 지원하지 않는 QoS 처럼 다시 받아도 성공할 수 없는 명령은 로그만 남기고 건너뛴다.
  */
 @Slf4j
 @Service
@@ -23,6 +32,7 @@ import org.springframework.stereotype.Service;
 public class MqttCommandConsumer {
 
     private final MqttPublishService mqttPublishService;
+    private final MqttPublishProperties publishProperties;
     private final ObjectMapper objectMapper;
 
     /**
@@ -32,39 +42,66 @@ public class MqttCommandConsumer {
     @KafkaListener(
             topics = "${kafka.topics.mqtt-command}",
             groupId = "${spring.kafka.consumer.group-id}",
-            containerFactory = "kafkaListenerContainerFactory"
+            containerFactory = "mqttCommandKafkaListenerContainerFactory"
     )
-    public void consumeMqttCommand(
-            @Payload String commandJson,
-            @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
-            @Header(KafkaHeaders.OFFSET) long offset) {
+    public void consumeMqttCommands(List<ConsumerRecord<String, String>> records, Acknowledgment ack) {
+        log.debug("Received {} MQTT commands from Kafka", records.size());
 
-        log.info("Received MQTT command from Kafka - Partition: {}, Offset: {}", partition, offset);
-        log.debug("Command JSON: {}", commandJson);
+        List<CompletableFuture<PublishResponse>> results = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, String> record : records) {
+            results.add(publish(record));
+        }
 
-        try {
-            // JSON을 MqttCommandDto로 변환
-            MqttCommandDto command = objectMapper.readValue(commandJson, MqttCommandDto.class);
-            
-            log.info("Processing MQTT command - Command ID: {}, Device ID: {}, Type: {}", 
-                    command.getCommandId(), command.getDeviceId(), command.getMessageType());
+        int failedIndex = -1;
+        for (int i = 0; i < results.size(); i++) {
+            CompletableFuture<PublishResponse> result = results.get(i);
+            if (result != null && !result.join().isSuccess() && failedIndex < 0) {
+                failedIndex = i;
+            }
+        }
 
-            // PublishRequest 생성
-            PublishRequest publishRequest = convertToPublishRequest(command);
+        if (failedIndex < 0) {
+            ack.acknowledge();
+        } else {
+            ConsumerRecord<String, String> failed = records.get(failedIndex);
+            log.warn("MQTT command publish failed, retrying from Partition: {}, Offset: {} in {}",
+                    failed.partition(), failed.offset(), publishProperties.getRetryBackoff());
+            ack.nack(failedIndex, publishProperties.getRetryBackoff());
+        }
+    }
 
-            // MQTT 메시지 발행
-            var response = mqttPublishService.publishMessage(publishRequest);
+    /**
+     * @return 발행 결과 (건너뛴 명령은 null)
+     */
+    private CompletableFuture<PublishResponse> publish(ConsumerRecord<String, String> record) {
+        MqttCommandDto command;
+        try {
+            // JSON을 MqttCommandDto로 변환
+            command = objectMapper.readValue(record.value(), MqttCommandDto.class);
+        } catch (Exception e) {
+            log.error("Skipping unreadable MQTT command - Partition: {}, Offset: {}",
+                    record.partition(), record.offset(), e);
+            return null;
+        }
 
-            if (response.isSuccess()) {
-                log.info("Successfully published MQTT command to device - Command ID: {}, Device ID: {}", 
-                        command.getCommandId(), command.getDeviceId());
-            } else {
-                log.error("Failed to publish MQTT command - Command ID: {}, Device ID: {}, Error: {}", 
-                        command.getCommandId(), command.getDeviceId(), response.getErrorMessage());
-            }
+        log.debug("Processing MQTT command - Command ID: {}, Device ID: {}, Type: {}",
+                command.getCommandId(), command.getDeviceId(), command.getMessageType());
 
-        } catch (Exception e) {
-            log.error("Error processing MQTT command from Kafka", e);
+        try {
+            return mqttPublishService.publishAsync(convertToPublishRequest(command))
+                    .whenComplete((response, ex) -> {
+                        if (response != null && response.isSuccess()) {
+                            log.debug("Successfully published MQTT command to device - Command ID: {}, Device ID: {}",
+                                    command.getCommandId(), command.getDeviceId());
+                        } else if (response != null) {
+                            log.error("Failed to publish MQTT command - Command ID: {}, Device ID: {}, Error: {}",
+                                    command.getCommandId(), command.getDeviceId(), response.getErrorMessage());
+                        }
+                    });
+        } catch (IllegalArgumentException e) {
+            log.error("Skipping invalid MQTT command - Command ID: {}, Device ID: {}: {}",
+                    command.getCommandId(), command.getDeviceId(), e.getMessage());
+            return null;
         }
     }
 
@@ -1,31 +1,55 @@
 package com.enterprise.mqtt.service;
 
-import com.amazonaws.services.iot.client.AWSIotException;
-import com.amazonaws.services.iot.client.AWSIotMessage;
-import com.amazonaws.services.iot.client.AWSIotMqttClient;
-import com.amazonaws.services.iot.client.AWSIotQos;
+import com.enterprise.mqtt.config.MqttPublishProperties;
 import com.enterprise.mqtt.dto.MqttMessage;
 import com.enterprise.mqtt.dto.PublishRequest;
 import com.enterprise.mqtt.dto.PublishResponse;
+import com.enterprise.mqtt.transport.MqttTransport;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 /**
  * MQTT Publish Service
  * 디바이스로 MQTT 메시지 송신
+ *
+ * 발행은 MqttTransport 의 비동기 publish 로 하고 결과는 future 로 받는다.
+ * AWS IoT 트랜스포트에서는 MqttClientPool 이 deviceId 해시로 연결을 고른다.
+ * 브로커 확인을 기다리는 발행 수는 mqtt.publish.max-in-flight 로 제한하며, 가득 차면 호출 스레드가 대기한다.
+ *
+ * 메트릭:
+ * - mqtt.publish{result=success|failure}: 발행 결과
+ * - mqtt.publish.latency: 발행 → 브로커 확인 시간
+ * - mqtt.publish.in-flight: 확인 대기 중인 발행 수
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class MqttPublishService {
 
-    private final AWSIotMqttClient awsIotMqttClient;
+    /**
+     * SDK 타임아웃 콜백이 오지 않는 경우에도 창 자리를 돌려받기 위한 여유 시간
+     */
+    private static final long CALLBACK_GRACE_MS = 5_000;
+
+    private final MqttTransport mqttTransport;
+    private final MqttPublishProperties properties;
+    private final Semaphore window;
+
+    private final Counter successCounter;
+    private final Counter failureCounter;
+    private final Timer latency;
 
     @Value("${aws.iot.publish-topics.request}")
     private String requestTopicPrefix;
@@ -36,49 +60,81 @@ public class MqttPublishService {
     @Value("${aws.iot.publish-topics.test}")
     private String testTopicPrefix;
 
+    public MqttPublishService(MqttTransport mqttTransport,
+                              MqttPublishProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.mqttTransport = mqttTransport;
+        this.properties = properties;
+        this.window = new Semaphore(properties.getMaxInFlight());
+
+        this.successCounter = Counter.builder("mqtt.publish")
+                .description("MQTT publishes by result")
+                .tag("result", "success")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("mqtt.publish")
+                .tag("result", "failure")
+                .register(meterRegistry);
+        this.latency = Timer.builder("mqtt.publish.latency")
+                .description("MQTT publish to broker acknowledgement")
+                .register(meterRegistry);
+        Gauge.builder("mqtt.publish.in-flight", window,
+                        w -> properties.getMaxInFlight() - w.availablePermits())
+                .description("MQTT publishes waiting for broker acknowledgement")
+                .register(meterRegistry);
+    }
+
     /**
-     * MQTT 메시지 발행
+     * MQTT 메시지 발행 (브로커 확인까지 대기)
      */
     public PublishResponse publishMessage(PublishRequest request) {
+        try {
+            return publishAsync(request).join();
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid MQTT publish request - Device ID: {}: {}", request.getDeviceId(), e.getMessage());
+            return failure(request, UUID.randomUUID().toString(), null, e.getMessage());
+        }
+    }
+
+    /**
+     * MQTT 메시지 비동기 발행
+     * 확인 대기 창이 가득 차 있으면 자리가 날 때까지(최대 ack-timeout) 대기한다.
+     * 반환된 future 는 항상 정상 완료되며 결과는 PublishResponse.success 로 구분한다.
+     *
+     * @throws IllegalArgumentException 지원하지 않는 QoS 등 다시 시도해도 성공할 수 없는 요청
+     */
+    public CompletableFuture<PublishResponse> publishAsync(PublishRequest request) {
         String messageId = UUID.randomUUID().toString();
-        
+        String topic = buildTopic(request.getTopicType(), request.getDeviceId());
+        int qos = qosOf(request.getQos());
+
+        long timeoutMs = properties.getAckTimeout().toMillis();
+        try {
+            if (!window.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS)) {
+                failureCounter.increment();
+                return CompletableFuture.completedFuture(
+                        failure(request, messageId, topic, "Publish window full (" + properties.getMaxInFlight() + " in flight)"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.completedFuture(failure(request, messageId, topic, "Interrupted"));
+        }
+
+        long start = System.nanoTime();
+        byte[] payload = request.getPayload() != null
+                ? request.getPayload().getBytes(StandardCharsets.UTF_8)
+                : new byte[0];
+        CompletableFuture<String> published;
         try {
-            // 토픽 생성
-            String topic = buildTopic(request.getTopicType(), request.getDeviceId());
-            
-            // QoS 설정
-            AWSIotQos qos = AWSIotQos.valueOf("QOS" + request.getQos());
-            
-            // MQTT 메시지 생성
-            AWSIotMessage message = new AWSIotMessage(topic, qos, request.getPayload());
-            
-            // 메시지 발행
-            awsIotMqttClient.publish(message);
-            
-            log.info("Successfully published MQTT message - Topic: {}, Device ID: {}, Message Type: {}", 
-                    topic, request.getDeviceId(), request.getMessageType());
-            
-            return PublishResponse.builder()
-                    .success(true)
-                    .messageId(messageId)
-                    .topic(topic)
-                    .deviceId(request.getDeviceId())
-                    .messageType(request.getMessageType())
-                    .publishedAt(LocalDateTime.now())
-                    .build();
-                    
-        } catch (AWSIotException e) {
-            log.error("Failed to publish MQTT message - Device ID: {}", request.getDeviceId(), e);
-            
-            return PublishResponse.builder()
-                    .success(false)
-                    .messageId(messageId)
-                    .deviceId(request.getDeviceId())
-                    .messageType(request.getMessageType())
-                    .publishedAt(LocalDateTime.now())
-                    .errorMessage(e.getMessage())
-                    .build();
+            published = mqttTransport.publish(request.getDeviceId(), topic, qos, payload, timeoutMs);
+        } catch (RuntimeException e) {
+            // 트랜스포트가 future 를 돌려주지 못하면 콜백도 오지 않으므로 여기서 창 자리를 반환
+            window.release();
+            return CompletableFuture.completedFuture(onPublished(request, messageId, topic, start, e.toString()));
         }
+        return published
+                .completeOnTimeout("Publish callback not received", timeoutMs + CALLBACK_GRACE_MS, TimeUnit.MILLISECONDS)
+                .whenComplete((error, ex) -> window.release())
+                .handle((error, ex) -> onPublished(request, messageId, topic, start, ex != null ? ex.toString() : error));
     }
 
     /**
@@ -141,6 +197,54 @@ public class MqttPublishService {
         return publishMessage(request);
     }
 
+    /**
+     * 브로커 확인 / 실패 / 타임아웃 시 응답 생성 (트랜스포트 스레드, 창 자리는 호출 전에 반환됨)
+     */
+    private PublishResponse onPublished(PublishRequest request, String messageId, String topic,
+                                        long startNanos, String error) {
+        latency.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        if (error != null) {
+            failureCounter.increment();
+            log.error("Failed to publish MQTT message - Topic: {}, Device ID: {}: {}",
+                    topic, request.getDeviceId(), error);
+            return failure(request, messageId, topic, error);
+        }
+        successCounter.increment();
+        log.debug("Successfully published MQTT message - Topic: {}, Device ID: {}, Message Type: {}",
+                topic, request.getDeviceId(), request.getMessageType());
+        return PublishResponse.builder()
+                .success(true)
+                .messageId(messageId)
+                .topic(topic)
+                .deviceId(request.getDeviceId())
+                .messageType(request.getMessageType())
+                .publishedAt(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * AWS IoT 가 지원하는 QoS (0, 1)
+     */
+    private static int qosOf(Integer qos) {
+        int level = qos != null ? qos : 0;
+        if (level < 0 || level > 1) {
+            throw new IllegalArgumentException("Unsupported QoS: " + qos);
+        }
+        return level;
+    }
+
+    private static PublishResponse failure(PublishRequest request, String messageId, String topic, String error) {
+        return PublishResponse.builder()
+                .success(false)
+                .messageId(messageId)
+                .topic(topic)
+                .deviceId(request.getDeviceId())
+                .messageType(request.getMessageType())
+                .publishedAt(LocalDateTime.now())
+                .errorMessage(error)
+                .build();
+    }
+
     /**
      * 토픽 생성 헬퍼 메서드
      */
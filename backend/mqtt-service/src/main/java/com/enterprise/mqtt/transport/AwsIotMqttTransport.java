@@ -0,0 +1,87 @@
+package com.enterprise.mqtt.transport;
+
+import com.amazonaws.services.iot.client.AWSIotException;
+import com.amazonaws.services.iot.client.AWSIotMessage;
+import com.amazonaws.services.iot.client.AWSIotQos;
+import com.amazonaws.services.iot.client.AWSIotTopic;
+import com.enterprise.mqtt.client.MqttClientPool;
+import com.enterprise.mqtt.exception.MqttException;
+import lombok.RequiredArgsConstructor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+
+/**
+ * AWS IoT Core 트랜스포트 (MqttClientPool)
+ */
+@RequiredArgsConstructor
+public class AwsIotMqttTransport implements MqttTransport {
+
+    /**
+     * AWS IoT 가 지원하는 QoS (0, 1)
+     */
+    private static final AWSIotQos[] QOS_LEVELS = {AWSIotQos.QOS0, AWSIotQos.QOS1};
+
+    private final MqttClientPool mqttClientPool;
+
+    @Override
+    public void connect() {
+        try {
+            mqttClientPool.connect();
+        } catch (AWSIotException e) {
+            throw new MqttException("Failed to connect to AWS IoT", e);
+        }
+    }
+
+    @Override
+    public void disconnect() {
+        mqttClientPool.disconnect();
+    }
+
+    @Override
+    public void subscribe(String topicFilter, int qos, BiConsumer<String, byte[]> handler) {
+        AWSIotTopic topic = new AWSIotTopic(topicFilter, qosOf(qos)) {
+            @Override
+            public void onMessage(AWSIotMessage message) {
+                handler.accept(message.getTopic(), message.getPayload());
+            }
+        };
+        try {
+            mqttClientPool.subscribe(topic);
+        } catch (AWSIotException e) {
+            throw new MqttException("Failed to subscribe to " + topicFilter, e);
+        }
+    }
+
+    @Override
+    public void unsubscribe(String topicFilter) {
+        try {
+            mqttClientPool.unsubscribe(topicFilter);
+        } catch (AWSIotException e) {
+            throw new MqttException("Failed to unsubscribe from " + topicFilter, e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<String> publish(String shardKey, String topic, int qos, byte[] payload, long timeoutMs) {
+        PublishCallbackMessage message = new PublishCallbackMessage(topic, qosOf(qos), payload);
+        try {
+            mqttClientPool.publish(shardKey, message, timeoutMs);
+        } catch (AWSIotException e) {
+            message.fail(e.getMessage());
+        }
+        return message.result();
+    }
+
+    @Override
+    public String name() {
+        return "aws";
+    }
+
+    private static AWSIotQos qosOf(int qos) {
+        if (qos < 0 || qos >= QOS_LEVELS.length) {
+            throw new IllegalArgumentException("Unsupported QoS: " + qos);
+        }
+        return QOS_LEVELS[qos];
+    }
+}
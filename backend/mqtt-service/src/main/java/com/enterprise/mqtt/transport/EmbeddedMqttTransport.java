@@ -0,0 +1,205 @@
+package com.enterprise.mqtt.transport;
+
+import com.enterprise.mqtt.config.MqttTransportProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * 프로세스 내 MQTT 브로커 트랜스포트
+ *
+ * 발행한 메시지를 토픽 필터(+, #)가 일치하는 구독자에게 전달 스레드에서 전달한다.
+ * 공유 구독($share/<group>/<filter>)은 같은 group·filter 구독자 중 첫 구독자 하나에게만 전달한다.
+ * AWS IoT 연결 없이 MQTT → Kafka → message-service 경로를 재현하기 위한 것으로 (로컬 개발, LoadGenerator 벤치마크)
+ * 세션 / retain / QoS 재전송은 없다. 발행 future 는 모든 구독자 처리가 끝나면 (QoS 와 무관하게) 완료된다.
+ *
+ * 메트릭:
+ * - mqtt.embedded.queue.depth: 전달 대기 메시지 수
+ * - mqtt.embedded.messages{result=delivered|rejected}: 전달 / 대기열 초과로 거부된 발행
+ */
+@Slf4j
+public class EmbeddedMqttTransport implements MqttTransport {
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+    private final MqttTransportProperties.Embedded properties;
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private volatile List<ThreadPoolExecutor> deliveryThreads = List.of();
+
+    private final Counter deliveredCounter;
+    private final Counter rejectedCounter;
+
+    public EmbeddedMqttTransport(MqttTransportProperties.Embedded properties, MeterRegistry meterRegistry) {
+        if (properties.getDeliveryThreads() < 1) {
+            throw new IllegalArgumentException("mqtt.transport.embedded.delivery-threads must be at least 1");
+        }
+        this.properties = properties;
+
+        this.deliveredCounter = Counter.builder("mqtt.embedded.messages")
+                .description("Messages handled by the embedded MQTT broker")
+                .tag("result", "delivered")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("mqtt.embedded.messages")
+                .tag("result", "rejected")
+                .register(meterRegistry);
+        Gauge.builder("mqtt.embedded.queue.depth", this, EmbeddedMqttTransport::queueDepth)
+                .description("Messages waiting for delivery in the embedded MQTT broker")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public synchronized void connect() {
+        if (!deliveryThreads.isEmpty()) {
+            return;
+        }
+        int threads = properties.getDeliveryThreads();
+        int capacity = Math.max(1, properties.getQueueCapacity() / threads);
+        List<ThreadPoolExecutor> executors = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            String name = "mqtt-embedded-" + i;
+            executors.add(new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(capacity), r -> {
+                        Thread thread = new Thread(r, name);
+                        thread.setDaemon(true);
+                        return thread;
+                    }));
+        }
+        deliveryThreads = List.copyOf(executors);
+        log.info("Embedded MQTT broker started - delivery threads: {}, queue capacity: {}", threads, capacity * threads);
+    }
+
+    @Override
+    public synchronized void disconnect() {
+        List<ThreadPoolExecutor> executors = deliveryThreads;
+        deliveryThreads = List.of();
+        for (ThreadPoolExecutor executor : executors) {
+            executor.shutdown();
+        }
+        for (ThreadPoolExecutor executor : executors) {
+            try {
+                if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    log.warn("Embedded MQTT broker dropped {} undelivered messages", executor.shutdownNow().size());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                executor.shutdownNow();
+            }
+        }
+        subscriptions.clear();
+    }
+
+    @Override
+    public void subscribe(String topicFilter, int qos, BiConsumer<String, byte[]> handler) {
+        subscriptions.add(new Subscription(topicFilter, SharedSubscription.groupOf(topicFilter),
+                SharedSubscription.filterOf(topicFilter).split("/", -1), handler));
+        log.info("Embedded MQTT broker subscription: {}", topicFilter);
+    }
+
+    @Override
+    public void unsubscribe(String topicFilter) {
+        subscriptions.removeIf(subscription -> subscription.topicFilter().equals(topicFilter));
+        log.info("Embedded MQTT broker unsubscribed: {}", topicFilter);
+    }
+
+    @Override
+    public CompletableFuture<String> publish(String shardKey, String topic, int qos, byte[] payload, long timeoutMs) {
+        if (qos < 0 || qos > 1) {
+            throw new IllegalArgumentException("Unsupported QoS: " + qos);
+        }
+        CompletableFuture<String> result = new CompletableFuture<>();
+        List<ThreadPoolExecutor> executors = deliveryThreads;
+        if (executors.isEmpty()) {
+            result.complete("Embedded MQTT broker not connected");
+            return result;
+        }
+        ThreadPoolExecutor executor = executors.get(
+                shardKey != null ? Math.floorMod(shardKey.hashCode(), executors.size()) : 0);
+        try {
+            executor.execute(() -> {
+                deliver(topic, payload);
+                result.complete(null);
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            result.complete("Embedded MQTT broker queue full");
+        }
+        return result;
+    }
+
+    @Override
+    public String name() {
+        return "embedded";
+    }
+
+    private void deliver(String topic, byte[] payload) {
+        String[] levels = topic.split("/", -1);
+        Set<String> deliveredShares = null;
+        for (Subscription subscription : subscriptions) {
+            if (!matches(subscription.filter(), levels)) {
+                continue;
+            }
+            if (subscription.group() != null) {
+                if (deliveredShares == null) {
+                    deliveredShares = new HashSet<>(4);
+                }
+                if (!deliveredShares.add(subscription.topicFilter())) {
+                    continue;
+                }
+            }
+            try {
+                subscription.handler().accept(topic, payload);
+            } catch (Exception e) {
+                log.error("Embedded MQTT subscriber failed - topic: {}", topic, e);
+            }
+        }
+        deliveredCounter.increment();
+    }
+
+    /**
+     * MQTT 토픽 필터 매칭 (+: 한 단계, #: 남은 모든 단계 - 부모 단계 포함)
+     */
+    static boolean matches(String[] filter, String[] topic) {
+        for (int i = 0; i < filter.length; i++) {
+            if ("#".equals(filter[i])) {
+                return true;
+            }
+            if (i >= topic.length) {
+                return false;
+            }
+            if (!"+".equals(filter[i]) && !filter[i].equals(topic[i])) {
+                return false;
+            }
+        }
+        return filter.length == topic.length;
+    }
+
+    private double queueDepth() {
+        int depth = 0;
+        for (ThreadPoolExecutor executor : deliveryThreads) {
+            depth += executor.getQueue().size();
+        }
+        return depth;
+    }
+
+    /**
+     * @param topicFilter 구독 시 넘긴 필터 그대로 (해제용)
+     * @param group       공유 구독 group (아니면 null)
+     * @param filter      매칭할 토픽 필터 단계
+     */
+    private record Subscription(String topicFilter, String group, String[] filter,
+                                BiConsumer<String, byte[]> handler) {
+    }
+}
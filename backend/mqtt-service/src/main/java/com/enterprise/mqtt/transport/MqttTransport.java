@@ -0,0 +1,53 @@
+package com.enterprise.mqtt.transport;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+
+/**
+ * MQTT 브로커 연결 추상화
+ * MqttMessageListener(수신) / MqttPublishService(발행)는 이 인터페이스만 사용한다.
+ *
+ * 구현 (mqtt.transport.type):
+ * - aws: AWS IoT Core ({@link AwsIotMqttTransport}, MqttClientPool)
+ * - embedded: 프로세스 내 브로커 ({@link EmbeddedMqttTransport}, 로컬 개발 / ingest 부하 테스트용)
+ */
+public interface MqttTransport {
+
+    /**
+     * 브로커 연결
+     *
+     * @throws com.enterprise.mqtt.exception.MqttException 연결하지 못한 경우
+     */
+    void connect();
+
+    void disconnect();
+
+    /**
+     * 토픽 필터 구독 (+, # 와일드카드, 공유 구독 $share/<group>/<filter>)
+     * handler 는 (토픽, 페이로드) 로 트랜스포트의 수신 스레드에서 호출된다.
+     *
+     * @throws com.enterprise.mqtt.exception.MqttException 구독하지 못한 경우
+     */
+    void subscribe(String topicFilter, int qos, BiConsumer<String, byte[]> handler);
+
+    /**
+     * subscribe 에 넘긴 것과 같은 토픽 필터로 구독 해제
+     *
+     * @throws com.enterprise.mqtt.exception.MqttException 해제하지 못한 경우
+     */
+    void unsubscribe(String topicFilter);
+
+    /**
+     * 비동기 발행
+     * 반환된 future 는 항상 정상 완료되며 null 이면 성공, 아니면 실패 사유다.
+     *
+     * @param shardKey 연결 선택 키 (deviceId, 같은 키는 같은 연결에서 순서대로 발행)
+     * @param qos      0 또는 1
+     */
+    CompletableFuture<String> publish(String shardKey, String topic, int qos, byte[] payload, long timeoutMs);
+
+    /**
+     * 로그 / 메트릭용 이름 (aws, embedded)
+     */
+    String name();
+}
@@ -0,0 +1,45 @@
+package com.enterprise.mqtt.transport;
+
+import com.amazonaws.services.iot.client.AWSIotMessage;
+import com.amazonaws.services.iot.client.AWSIotQos;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 비동기 발행 결과를 future 로 전달하는 메시지
+ * SDK 는 onSuccess / onFailure / onTimeout 중 하나를 클라이언트 스레드에서 호출한다.
+ */
+class PublishCallbackMessage extends AWSIotMessage {
+
+    /**
+     * 발행 결과 (null 이면 성공, 아니면 실패 사유)
+     */
+    private final CompletableFuture<String> result = new CompletableFuture<>();
+
+    PublishCallbackMessage(String topic, AWSIotQos qos, byte[] payload) {
+        super(topic, qos, payload);
+    }
+
+    CompletableFuture<String> result() {
+        return result;
+    }
+
+    @Override
+    public void onSuccess() {
+        result.complete(null);
+    }
+
+    @Override
+    public void onFailure() {
+        fail(getErrorMessage() != null ? getErrorMessage() : "Publish failed: " + getErrorCode());
+    }
+
+    @Override
+    public void onTimeout() {
+        fail("Publish not acknowledged in time");
+    }
+
+    void fail(String reason) {
+        result.complete(reason);
+    }
+}
@@ -0,0 +1,43 @@
+package com.enterprise.mqtt.transport;
+
+/**
+ * MQTT 공유 구독 토픽 필터 ($share/<group>/<filter>)
+ * 같은 group 으로 구독한 클라이언트 중 하나에게만 메시지가 전달된다 (AWS IoT Core, MQTT 5 브로커).
+ */
+public final class SharedSubscription {
+
+    public static final String PREFIX = "$share/";
+
+    private SharedSubscription() {
+    }
+
+    public static String of(String group, String topicFilter) {
+        return PREFIX + group + "/" + topicFilter;
+    }
+
+    public static boolean isShared(String topicFilter) {
+        return topicFilter.startsWith(PREFIX);
+    }
+
+    /**
+     * 공유 구독이면 group, 아니면 null
+     */
+    public static String groupOf(String topicFilter) {
+        if (!isShared(topicFilter)) {
+            return null;
+        }
+        int end = topicFilter.indexOf('/', PREFIX.length());
+        return end < 0 ? null : topicFilter.substring(PREFIX.length(), end);
+    }
+
+    /**
+     * 공유 구독이면 group 뒤의 실제 토픽 필터, 아니면 그대로
+     */
+    public static String filterOf(String topicFilter) {
+        if (!isShared(topicFilter)) {
+            return topicFilter;
+        }
+        int end = topicFilter.indexOf('/', PREFIX.length());
+        return end < 0 ? topicFilter : topicFilter.substring(end + 1);
+    }
+}
@@ -0,0 +1,185 @@
+package com.enterprise.mqtt.client;
+
+import com.amazonaws.services.iot.client.AWSIotConnectionStatus;
+import com.amazonaws.services.iot.client.AWSIotException;
+import com.amazonaws.services.iot.client.AWSIotMessage;
+import com.amazonaws.services.iot.client.AWSIotQos;
+import com.amazonaws.services.iot.client.AWSIotTopic;
+import com.enterprise.mqtt.config.MqttClientPoolProperties;
+import com.enterprise.mqtt.config.MqttScalingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.*;
+
+class MqttClientPoolTest {
+
+    private List<PooledMqttClient> clients;
+    private MqttScalingProperties scalingProperties;
+
+    @BeforeEach
+    void setUp() {
+        clients = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            PooledMqttClient client = mock(PooledMqttClient.class);
+            when(client.index()).thenReturn(i);
+            when(client.getClientId()).thenReturn("mqtt-service-" + i);
+            when(client.getConnectionStatus()).thenReturn(AWSIotConnectionStatus.CONNECTED);
+            clients.add(client);
+        }
+        scalingProperties = new MqttScalingProperties();
+    }
+
+    @Test
+    void subscribe_NoneModePinsFilterToOneConnection() throws AWSIotException {
+        MqttClientPool pool = pool();
+
+        pool.subscribe(new AWSIotTopic("device/topic/+", AWSIotQos.QOS1));
+
+        // 같은 필터를 여러 연결에서 구독하면 연결 수만큼 중복 수신
+        assertEquals(List.of("device/topic/+"), subscribedFilters());
+    }
+
+    @Test
+    void subscribe_ShardedModeSpreadsShardsOverConnections() throws AWSIotException {
+        scalingProperties.setMode(MqttScalingProperties.Mode.SHARDED);
+        MqttClientPool pool = pool();
+
+        List<String> shards = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            shards.add("device/topic/S" + i);
+        }
+        for (String shard : shards) {
+            pool.subscribe(new AWSIotTopic(shard, AWSIotQos.QOS1));
+        }
+
+        // 공유 구독으로 감싸지 않고 shard 마다 연결 하나
+        List<String> filters = subscribedFilters();
+        assertEquals(shards.size(), filters.size());
+        assertEquals(new HashSet<>(shards), new HashSet<>(filters));
+
+        // 토픽 필터 해시로 흩어져 한 연결에 몰리지 않는다
+        int used = 0;
+        for (PooledMqttClient client : clients) {
+            if (!subscribedFilters(client).isEmpty()) {
+                used++;
+            }
+        }
+        assertTrue(used > 1);
+    }
+
+    @Test
+    void subscribe_SharedModeWrapsFilterAndSubscribesEveryConnection() throws AWSIotException {
+        scalingProperties.setMode(MqttScalingProperties.Mode.SHARED);
+        scalingProperties.setSharedGroup("mqtt-service");
+        MqttClientPool pool = pool();
+
+        pool.subscribe(new AWSIotTopic("device/topic/+", AWSIotQos.QOS1));
+
+        for (PooledMqttClient client : clients) {
+            assertEquals(List.of("$share/mqtt-service/device/topic/+"), subscribedFilters(client));
+        }
+    }
+
+    @Test
+    void subscribe_AlreadySharedFilterIsNotWrappedAgain() throws AWSIotException {
+        scalingProperties.setMode(MqttScalingProperties.Mode.SHARED);
+        MqttClientPool pool = pool();
+
+        pool.subscribe(new AWSIotTopic("$share/mqtt-service/device/topic/+", AWSIotQos.QOS1));
+
+        for (PooledMqttClient client : clients) {
+            assertEquals(List.of("$share/mqtt-service/device/topic/+"), subscribedFilters(client));
+        }
+    }
+
+    @Test
+    void subscribe_PinnedFilterSkipsDisconnectedConnection() throws AWSIotException {
+        MqttClientPool pool = pool();
+        for (PooledMqttClient client : clients) {
+            when(client.getConnectionStatus()).thenReturn(AWSIotConnectionStatus.DISCONNECTED);
+        }
+        when(clients.get(2).getConnectionStatus()).thenReturn(AWSIotConnectionStatus.CONNECTED);
+
+        pool.subscribe(new AWSIotTopic("device/topic/A0", AWSIotQos.QOS1));
+
+        assertEquals(List.of("device/topic/A0"), subscribedFilters(clients.get(2)));
+    }
+
+    @Test
+    void unsubscribe_UsesConnectionsAndFilterOfSubscribe() throws AWSIotException {
+        scalingProperties.setMode(MqttScalingProperties.Mode.SHARED);
+        MqttClientPool pool = pool();
+        pool.subscribe(new AWSIotTopic("device/topic/+", AWSIotQos.QOS1));
+
+        pool.unsubscribe("device/topic/+");
+
+        for (PooledMqttClient client : clients) {
+            verify(client).unsubscribe("$share/mqtt-service/device/topic/+");
+        }
+        // 두 번째 해제는 무시
+        pool.unsubscribe("device/topic/+");
+        verify(clients.get(0), times(1)).unsubscribe(any(String.class));
+    }
+
+    @Test
+    void subscribe_DeliversToOriginalTopic() throws AWSIotException {
+        MqttClientPool pool = pool();
+        List<AWSIotMessage> received = new ArrayList<>();
+        pool.subscribe(new AWSIotTopic("device/topic/A0", AWSIotQos.QOS1) {
+            @Override
+            public void onMessage(AWSIotMessage message) {
+                received.add(message);
+            }
+        });
+
+        AWSIotTopic registered = registeredTopics().get(0);
+        AWSIotMessage message = new AWSIotMessage("device/topic/A0", AWSIotQos.QOS1, "payload");
+        registered.onMessage(message);
+
+        assertEquals(List.of(message), received);
+    }
+
+    private MqttClientPool pool() {
+        return new MqttClientPool(clients, new MqttClientPoolProperties(), scalingProperties, 1000, new SimpleMeterRegistry());
+    }
+
+    private List<String> subscribedFilters() throws AWSIotException {
+        List<String> filters = new ArrayList<>();
+        for (AWSIotTopic topic : registeredTopics()) {
+            filters.add(topic.getTopic());
+        }
+        return filters;
+    }
+
+    private List<AWSIotTopic> registeredTopics() throws AWSIotException {
+        List<AWSIotTopic> topics = new ArrayList<>();
+        for (PooledMqttClient client : clients) {
+            topics.addAll(registeredTopics(client));
+        }
+        return topics;
+    }
+
+    private List<String> subscribedFilters(PooledMqttClient client) throws AWSIotException {
+        List<String> filters = new ArrayList<>();
+        for (AWSIotTopic topic : registeredTopics(client)) {
+            filters.add(topic.getTopic());
+        }
+        return filters;
+    }
+
+    private List<AWSIotTopic> registeredTopics(PooledMqttClient client) throws AWSIotException {
+        ArgumentCaptor<AWSIotTopic> captor = ArgumentCaptor.forClass(AWSIotTopic.class);
+        verify(client, atLeast(0)).subscribe(captor.capture(), anyBoolean());
+        return captor.getAllValues();
+    }
+}
@@ -0,0 +1,78 @@
+package com.enterprise.mqtt.codec;
+
+import com.enterprise.mqtt.dto.MqttMessage;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactMessageCodecTest {
+
+    @Test
+    void roundTrip_FrameMessage() {
+        byte[] frame = new byte[118];
+        new Random(7).nextBytes(frame);
+        MqttMessage message = MqttMessage.builder()
+                .messageId("6f1c9d1e-1f0e-3c59-9a51-3c1d2f6c8a01")
+                .topic("device/topic/A0")
+                .messageType(MqttMessage.MessageType.REQUEST)
+                .deviceId("EST-ROZ-250000042")
+                .frame(frame)
+                .qos(1)
+                .receivedAt(LocalDateTime.of(2024, 3, 10, 12, 0, 1, 123_456_789))
+                .build();
+
+        MqttMessage decoded = CompactMessageCodec.decode(CompactMessageCodec.encode(message));
+
+        assertEquals(message.getMessageId(), decoded.getMessageId());
+        assertEquals(message.getTopic(), decoded.getTopic());
+        assertEquals(message.getMessageType(), decoded.getMessageType());
+        assertEquals(message.getDeviceId(), decoded.getDeviceId());
+        assertEquals(message.getQos(), decoded.getQos());
+        assertEquals(message.getReceivedAt(), decoded.getReceivedAt());
+        assertArrayEquals(frame, decoded.getFrame());
+        assertNull(decoded.getRawMessage());
+    }
+
+    @Test
+    void roundTrip_AsciiAndNonAsciiStrings() {
+        MqttMessage message = MqttMessage.builder()
+                .messageId("not-a-uuid")
+                .topic("site/1/telemetry")
+                .messageType(MqttMessage.MessageType.PLAINTEXT)
+                .rawMessage("배터리 부족 é€")
+                .parsedMessage("INFO battery=42 ~\u007f")
+                .build();
+
+        MqttMessage decoded = CompactMessageCodec.decode(CompactMessageCodec.encode(message));
+
+        assertEquals("not-a-uuid", decoded.getMessageId());
+        assertEquals("site/1/telemetry", decoded.getTopic());
+        assertEquals("배터리 부족 é€", decoded.getRawMessage());
+        assertEquals("INFO battery=42 ~\u007f", decoded.getParsedMessage());
+        assertNull(decoded.getQos());
+        assertNull(decoded.getReceivedAt());
+        assertNull(decoded.getFrame());
+    }
+
+    @Test
+    void encode_ReusedWriterDoesNotLeakPreviousBytes() {
+        String longTopic = "a".repeat(5000);
+        CompactMessageCodec.encode(MqttMessage.builder().topic(longTopic).build());
+
+        MqttMessage decoded = CompactMessageCodec.decode(
+                CompactMessageCodec.encode(MqttMessage.builder().topic("b").build()));
+
+        assertEquals("b", decoded.getTopic());
+    }
+
+    @Test
+    void decode_RejectsUnknownSchemaVersion() {
+        byte[] encoded = CompactMessageCodec.encode(MqttMessage.builder().topic("t").build());
+        encoded[0] = 9;
+
+        assertThrows(IllegalArgumentException.class, () -> CompactMessageCodec.decode(encoded));
+    }
+}
@@ -0,0 +1,80 @@
+package com.enterprise.mqtt.codec;
+
+import com.enterprise.mqtt.dto.MqttMessage;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeviceFrameTest {
+
+    @Test
+    void accessors_ReadHeaderFieldsInPlace() {
+        byte[] bytes = frame(0x0A0B0C0D, MqttMessage.MessageType.REQUEST, " EST-ROZ-25000001\0", 5);
+
+        DeviceFrame frame = new DeviceFrame().wrap(bytes);
+
+        assertEquals(bytes.length, frame.length());
+        assertTrue(frame.hasTopicType());
+        assertTrue(frame.hasSerialNo());
+        assertEquals(0x0A0B0C0D, frame.deviceIdField());
+        assertEquals(MqttMessage.MessageType.REQUEST, frame.messageType());
+        assertEquals("EST-ROZ-25000001", frame.serialNo());
+        assertEquals(5, frame.body().remaining());
+        assertArrayEquals(bytes, frame.toByteArray());
+    }
+
+    @Test
+    void wrap_UsesBufferPositionAndLimitWithoutCopying() {
+        byte[] inner = frame(7, MqttMessage.MessageType.PERIODIC, "", 3);
+        byte[] outer = new byte[inner.length + 10];
+        System.arraycopy(inner, 0, outer, 4, inner.length);
+        ByteBuffer buffer = ByteBuffer.wrap(outer, 4, inner.length);
+
+        DeviceFrame frame = new DeviceFrame().wrap(buffer);
+
+        assertEquals(7, frame.deviceIdField());
+        assertEquals(MqttMessage.MessageType.PERIODIC, frame.messageType());
+        assertArrayEquals(inner, frame.toByteArray());
+        outer[4 + 3] = 9;
+        assertEquals(9, frame.deviceIdField());
+    }
+
+    @Test
+    void shortFrames_HaveNoOptionalFields() {
+        DeviceFrame four = new DeviceFrame().wrap(new byte[]{1, 2, 3, 4});
+        assertFalse(four.hasTopicType());
+        assertNull(four.messageType());
+        assertNull(four.serialNo());
+        assertEquals(0, four.body().remaining());
+
+        DeviceFrame header = new DeviceFrame().wrap(new byte[10]);
+        assertTrue(header.hasTopicType());
+        assertFalse(header.hasSerialNo());
+        assertNull(header.serialNo());
+        assertEquals(0, header.body().remaining());
+    }
+
+    @Test
+    void body_IsReadOnlyView() {
+        byte[] bytes = frame(1, MqttMessage.MessageType.DISCRETE, "", 4);
+        bytes[DeviceFrame.HEADER_LENGTH] = 42;
+
+        ByteBuffer body = new DeviceFrame().wrap(bytes).body();
+
+        assertEquals(42, body.get(0));
+        assertThrows(ReadOnlyBufferException.class, () -> body.put(0, (byte) 1));
+    }
+
+    static byte[] frame(int deviceId, MqttMessage.MessageType type, String serial, int bodyLength) {
+        byte[] bytes = new byte[DeviceFrame.HEADER_LENGTH + bodyLength];
+        ByteBuffer.wrap(bytes).putInt(deviceId);
+        bytes[DeviceFrame.TOPIC_TYPE_INDEX] = (byte) type.getCode();
+        byte[] serialBytes = serial.getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(serialBytes, 0, bytes, DeviceFrame.SERIAL_NO_OFFSET, serialBytes.length);
+        return bytes;
+    }
+}
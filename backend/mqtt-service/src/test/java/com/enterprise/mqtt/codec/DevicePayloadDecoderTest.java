@@ -0,0 +1,166 @@
+package com.enterprise.mqtt.codec;
+
+import com.enterprise.mqtt.dto.MqttMessage;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DevicePayloadDecoderTest {
+
+    private static final String TOPIC_A0 = "device/topic/A0";
+    private static final String SERIAL = "EST-ROZ-250000042";
+
+    private final DevicePayloadDecoder decoder = new DevicePayloadDecoder();
+
+    @Test
+    void decode_MatchesJdkBase64ForRandomFrames() {
+        Random random = new Random(1);
+        for (int i = 0; i < 2_000; i++) {
+            byte[] frame = new byte[1 + random.nextInt(600)];
+            random.nextBytes(frame);
+            String base64 = Base64.getEncoder().encodeToString(frame);
+            if (i % 3 == 0) {
+                // 패딩 생략도 허용
+                base64 = base64.replace("=", "");
+            }
+
+            MqttMessage message = decoder.decode(TOPIC_A0, payload('"' + base64 + '"'), true, 1);
+
+            assertArrayEquals(frame, Arrays.copyOf(decoder.frame(), decoder.frameLength()), "frame " + i);
+            if (frame.length > DeviceFrame.TOPIC_TYPE_INDEX) {
+                assertArrayEquals(frame, message.getFrame());
+            } else {
+                assertNull(message.getFrame());
+            }
+            assertEquals(base64, message.getRawMessage());
+        }
+    }
+
+    @Test
+    void decode_StripsQuotesAndWhitespace() {
+        byte[] frame = requestFrame(SERIAL);
+        String base64 = Base64.getEncoder().encodeToString(frame);
+        String wrapped = "  \"" + base64.substring(0, 10) + "\r\n" + base64.substring(10, 20) + "\t "
+                + base64.substring(20) + "\"\n";
+
+        MqttMessage message = decoder.decode(TOPIC_A0, payload(wrapped), true, 0);
+
+        assertArrayEquals(frame, message.getFrame());
+        assertEquals(MqttMessage.MessageType.REQUEST, message.getMessageType());
+        assertEquals(SERIAL, message.getDeviceId());
+        assertEquals(0, message.getQos());
+    }
+
+    @Test
+    void decode_RejectsMalformedBase64LikeJdk() {
+        for (String bad : new String[]{"QUJD*", "QUJDRA=A", "Q", "QUJDR===", "\"한글\""}) {
+            assertThrows(IllegalArgumentException.class, () -> decoder.decode(TOPIC_A0, payload(bad), true, 0), bad);
+            if (bad.charAt(0) != '"') {
+                assertThrows(IllegalArgumentException.class, () -> Base64.getDecoder().decode(bad), bad);
+            }
+        }
+    }
+
+    @Test
+    void decode_RequestSerialIsTrimmedAndValidated() {
+        assertEquals(SERIAL, decodeFrame(requestFrame(SERIAL)).getDeviceId());
+        // 양 끝 공백 / NUL 제거
+        assertEquals("EST-ROZ-25000", decodeFrame(requestFrame("  EST-ROZ-25000\0\0")).getDeviceId());
+
+        // EST 로 시작하지 않음
+        assertNull(decodeFrame(requestFrame("XYZ-ROZ-250000042")).getDeviceId());
+        // 출력 불가 문자
+        byte[] control = requestFrame(SERIAL);
+        control[DeviceFrame.SERIAL_NO_OFFSET + 5] = 0x07;
+        assertNull(decodeFrame(control).getDeviceId());
+        // serialNo 필드보다 짧은 REQUEST
+        assertNull(decodeFrame(Arrays.copyOf(requestFrame(SERIAL), 12)).getDeviceId());
+    }
+
+    @Test
+    void decode_NonRequestFramesHaveNoSerial() {
+        byte[] periodic = new byte[64];
+        periodic[0] = 0x12;
+        periodic[3] = 0x34;
+        periodic[DeviceFrame.TOPIC_TYPE_INDEX] = (byte) MqttMessage.MessageType.PERIODIC.getCode();
+        // body 가 우연히 EST 로 시작해도 serial 로 보지 않음
+        System.arraycopy(SERIAL.getBytes(StandardCharsets.US_ASCII), 0, periodic, DeviceFrame.SERIAL_NO_OFFSET, 17);
+
+        MqttMessage message = decodeFrame(periodic);
+
+        assertEquals(MqttMessage.MessageType.PERIODIC, message.getMessageType());
+        assertNull(message.getDeviceId());
+        assertArrayEquals(periodic, message.getFrame());
+    }
+
+    @Test
+    void decode_PlaintextKeepsUtf8AndDropsQuotes() {
+        MqttMessage ascii = decoder.decode("device/topic/C0", payload("  \"INFO battery=42\" "), false, 0);
+        assertEquals("INFO battery=42", ascii.getRawMessage());
+        assertEquals(MqttMessage.MessageType.PLAINTEXT, ascii.getMessageType());
+        assertNull(ascii.getFrame());
+        assertEquals(0, decoder.frameLength());
+
+        MqttMessage utf8 = decoder.decode("device/topic/C0", payload("\"배터리 부족\""), false, 0);
+        assertEquals("배터리 부족", utf8.getRawMessage());
+    }
+
+    @Test
+    void receiveMessageId_IsUniquePerReceive() {
+        byte[] payload = payload(Base64.getEncoder().encodeToString(requestFrame(SERIAL)));
+
+        // 디바이스가 같은 REQUEST 를 다시 보내도 중복으로 걸러지지 않도록 수신마다 새 ID
+        String first = decoder.decode(TOPIC_A0, payload, true, 1).getMessageId();
+        String again = decoder.decode(TOPIC_A0, payload.clone(), true, 1).getMessageId();
+        String otherDecoder = new DevicePayloadDecoder().decode(TOPIC_A0, payload, true, 1).getMessageId();
+
+        assertNotEquals(first, again);
+        assertNotEquals(first, otherDecoder);
+        assertNotEquals(again, otherDecoder);
+        // name-based UUID v3
+        assertEquals('3', first.charAt(14));
+        assertEquals('3', again.charAt(14));
+    }
+
+    @Test
+    void hexCodec_MatchesHexFormat() {
+        Random random = new Random(2);
+        byte[] bytes = new byte[300];
+        random.nextBytes(bytes);
+
+        assertEquals(HexFormat.of().withUpperCase().formatHex(bytes), HexCodec.toHexString(bytes));
+        assertEquals(HexFormat.of().withUpperCase().formatHex(bytes, 10, 20), HexCodec.toHexString(bytes, 10, 10));
+    }
+
+    @Test
+    void messageType_FromCode() {
+        for (MqttMessage.MessageType type : MqttMessage.MessageType.values()) {
+            assertEquals(type, MqttMessage.MessageType.fromCode(type.getCode()));
+        }
+        assertNull(MqttMessage.MessageType.fromCode(-1));
+        assertNull(MqttMessage.MessageType.fromCode(10));
+        assertNull(MqttMessage.MessageType.fromCode(200));
+    }
+
+    private MqttMessage decodeFrame(byte[] frame) {
+        return decoder.decode(TOPIC_A0, payload(Base64.getEncoder().encodeToString(frame)), true, 0);
+    }
+
+    private static byte[] requestFrame(String serial) {
+        byte[] frame = new byte[DeviceFrame.HEADER_LENGTH + 16];
+        frame[DeviceFrame.TOPIC_TYPE_INDEX] = (byte) MqttMessage.MessageType.REQUEST.getCode();
+        byte[] bytes = serial.getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(bytes, 0, frame, DeviceFrame.SERIAL_NO_OFFSET, Math.min(bytes.length, DeviceFrame.SERIAL_NO_LENGTH));
+        return frame;
+    }
+
+    private static byte[] payload(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,99 @@
+package com.enterprise.mqtt.config;
+
+import com.enterprise.mqtt.partition.DeviceAwarePartitioner;
+import com.enterprise.mqtt.partition.PartitionSkewMonitor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KafkaProducerProfilePropertiesTest {
+
+    @Test
+    void ingestProfile_OverridesThroughputSettings() {
+        Map<String, Object> overrides = new KafkaProducerProfileProperties().producerOverrides();
+
+        assertEquals("lz4", overrides.get(ProducerConfig.COMPRESSION_TYPE_CONFIG));
+        assertEquals(10, overrides.get(ProducerConfig.LINGER_MS_CONFIG));
+        assertEquals(65_536, overrides.get(ProducerConfig.BATCH_SIZE_CONFIG));
+        assertEquals(64L * 1024 * 1024, overrides.get(ProducerConfig.BUFFER_MEMORY_CONFIG));
+        assertEquals(true, overrides.get(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG));
+        assertEquals(5, overrides.get(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION));
+        assertEquals("all", overrides.get(ProducerConfig.ACKS_CONFIG));
+    }
+
+    @Test
+    void defaultProfile_HasNoOverrides() {
+        KafkaProducerProfileProperties properties = new KafkaProducerProfileProperties();
+        properties.setActive(ProducerProfile.DEFAULT);
+
+        assertTrue(properties.producerOverrides().isEmpty());
+    }
+
+    @Test
+    void withoutIdempotence_LeavesAcksToSpringSettings() {
+        KafkaProducerProfileProperties properties = new KafkaProducerProfileProperties();
+        properties.getIngest().setIdempotence(false);
+
+        Map<String, Object> overrides = properties.producerOverrides();
+        assertEquals(false, overrides.get(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG));
+        assertFalse(overrides.containsKey(ProducerConfig.ACKS_CONFIG));
+    }
+
+    @Test
+    void effectiveBatchSize_RoundsUpLingerVolumeWithinBounds() {
+        KafkaProducerProfileProperties.Ingest ingest = new KafkaProducerProfileProperties.Ingest();
+
+        // 20,000 msgs/s × 200B × 10ms = 40,000B → 64KB
+        assertEquals(65_536, ingest.effectiveBatchSize());
+
+        ingest.setExpectedRate(100);
+        assertEquals(16 * 1024, ingest.effectiveBatchSize());
+
+        ingest.setExpectedRate(1_000_000);
+        ingest.setLingerMs(50);
+        assertEquals(1024 * 1024, ingest.effectiveBatchSize());
+
+        // 정확히 2의 거듭제곱이면 그대로
+        ingest.setExpectedRate(32_768);
+        ingest.setAvgRecordBytes(100);
+        ingest.setLingerMs(10);
+        assertEquals(32_768, ingest.effectiveBatchSize());
+
+        ingest.setBatchSize(12_345);
+        assertEquals(12_345, ingest.effectiveBatchSize());
+    }
+
+    @Test
+    void producerFactory_ProfileOverridesSpringProducerSettings() {
+        KafkaProperties kafkaProperties = new KafkaProperties();
+        kafkaProperties.setBootstrapServers(List.of("localhost:9092"));
+        kafkaProperties.getProducer().setCompressionType("gzip");
+        kafkaProperties.getProducer().setBatchSize(DataSize.ofKilobytes(4));
+        kafkaProperties.getProducer().setAcks("1");
+        kafkaProperties.getProducer().getProperties().put(ProducerConfig.REQUEST_TIMEOUT_MS_CONFIG,
+                String.valueOf(Duration.ofSeconds(7).toMillis()));
+        KafkaKeyingProperties keying = new KafkaKeyingProperties();
+
+        DefaultKafkaProducerFactory<String, byte[]> factory =
+                (DefaultKafkaProducerFactory<String, byte[]>) new KafkaProducerConfig().producerFactory(kafkaProperties,
+                        keying, new PartitionSkewMonitor(new SimpleMeterRegistry(), keying),
+                        new KafkaProducerProfileProperties());
+        Map<String, Object> config = factory.getConfigurationProperties();
+
+        assertEquals("lz4", config.get(ProducerConfig.COMPRESSION_TYPE_CONFIG));
+        assertEquals(65_536, config.get(ProducerConfig.BATCH_SIZE_CONFIG));
+        assertEquals("all", config.get(ProducerConfig.ACKS_CONFIG));
+        assertEquals("7000", config.get(ProducerConfig.REQUEST_TIMEOUT_MS_CONFIG));
+        assertEquals(DeviceAwarePartitioner.class, config.get(ProducerConfig.PARTITIONER_CLASS_CONFIG));
+        assertEquals(16, config.get(DeviceAwarePartitioner.NULL_KEY_BATCH_SIZE_CONFIG));
+    }
+}
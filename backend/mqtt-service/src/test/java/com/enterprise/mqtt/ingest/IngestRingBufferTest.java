@@ -0,0 +1,146 @@
+package com.enterprise.mqtt.ingest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IngestRingBufferTest {
+
+    @Test
+    void capacity_RoundsUpToPowerOfTwo() {
+        assertEquals(2, new IngestRingBuffer(0).capacity());
+        assertEquals(2, new IngestRingBuffer(1).capacity());
+        assertEquals(8, new IngestRingBuffer(8).capacity());
+        assertEquals(16, new IngestRingBuffer(9).capacity());
+    }
+
+    @Test
+    void offerAndPoll_FifoUntilFullThenRejects() {
+        IngestRingBuffer buffer = new IngestRingBuffer(4);
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(entry(i)));
+        }
+        assertFalse(buffer.offer(entry(4)));
+        assertEquals(4, buffer.size());
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(i, seq(buffer.poll()));
+        }
+        assertNull(buffer.poll());
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    void offerAndPoll_WrapsAroundManyTimes() {
+        IngestRingBuffer buffer = new IngestRingBuffer(4);
+        int next = 0;
+        int expected = 0;
+
+        // 슬롯 시퀀스가 여러 바퀴 돈 뒤에도 순서와 가득 참 판정이 유지되는지
+        for (int round = 0; round < 1000; round++) {
+            while (buffer.offer(entry(next))) {
+                next++;
+            }
+            assertEquals(4, buffer.size());
+            for (int i = 0; i < 3; i++) {
+                assertEquals(expected++, seq(buffer.poll()));
+            }
+        }
+        while (!buffer.isEmpty()) {
+            assertEquals(expected++, seq(buffer.poll()));
+        }
+        assertEquals(next, expected);
+    }
+
+    @Test
+    void concurrentProducersAndConsumers_DeliverEachEntryExactlyOnce() throws Exception {
+        int producers = 4;
+        int consumers = 3;
+        int perProducer = 50_000;
+        int total = producers * perProducer;
+        IngestRingBuffer buffer = new IngestRingBuffer(64);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger consumed = new AtomicInteger();
+        BitSet seen = new BitSet(total);
+        AtomicInteger duplicates = new AtomicInteger();
+        int[][] lastPerProducer = new int[consumers][producers];
+        AtomicInteger reordered = new AtomicInteger();
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            threads.add(Thread.ofPlatform().start(() -> {
+                await(start);
+                for (int i = 0; i < perProducer; i++) {
+                    IngestEntry entry = entry(base + i);
+                    while (!buffer.offer(entry)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            }));
+        }
+        for (int c = 0; c < consumers; c++) {
+            int[] last = lastPerProducer[c];
+            Arrays.fill(last, -1);
+            threads.add(Thread.ofPlatform().start(() -> {
+                await(start);
+                while (consumed.get() < total) {
+                    IngestEntry entry = buffer.poll();
+                    if (entry == null) {
+                        Thread.onSpinWait();
+                        continue;
+                    }
+                    int seq = seq(entry);
+                    synchronized (seen) {
+                        if (seen.get(seq)) {
+                            duplicates.incrementAndGet();
+                        }
+                        seen.set(seq);
+                    }
+                    // 한 소비자가 보는 같은 생산자의 항목은 넣은 순서대로
+                    int producer = seq / perProducer;
+                    if (seq <= last[producer]) {
+                        reordered.incrementAndGet();
+                    }
+                    last[producer] = seq;
+                    consumed.incrementAndGet();
+                }
+            }));
+        }
+
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join(30_000);
+            assertFalse(thread.isAlive(), "worker did not finish");
+        }
+
+        assertEquals(0, duplicates.get());
+        assertEquals(0, reordered.get());
+        assertEquals(total, seen.cardinality());
+        assertTrue(buffer.isEmpty());
+    }
+
+    private static IngestEntry entry(int seq) {
+        return new IngestEntry("t", new byte[0], seq);
+    }
+
+    private static int seq(IngestEntry entry) {
+        return (int) entry.enqueuedNanos();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.enterprise.mqtt.ingest;
+
+import com.enterprise.mqtt.config.MqttIngestProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IngestStageTest {
+
+    @TempDir
+    Path spillDir;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<String> processed = new CopyOnWriteArrayList<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private IngestStage stage;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (stage != null) {
+            stage.shutdown();
+        }
+    }
+
+    @Test
+    void submit_BeforeStartIsDroppedAsShutdown() {
+        stage = new IngestStage(properties(OverflowPolicy.BLOCK), registry);
+
+        assertFalse(stage.submit("t", bytes("a")));
+        assertEquals(1.0, count("mqtt.ingest.dropped", "reason", "shutdown"));
+    }
+
+    @Test
+    void block_DropsAfterTimeoutWhenWorkerIsStuck() throws Exception {
+        MqttIngestProperties properties = properties(OverflowPolicy.BLOCK);
+        properties.setBlockTimeout(Duration.ofMillis(50));
+        stage = startBlocked(properties);
+
+        // 워커가 첫 메시지를 잡고 멈춘 뒤 버퍼(2)를 채움
+        fillBuffer();
+        long start = System.nanoTime();
+        assertFalse(stage.submit("t", bytes("overflow")));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertEquals(1.0, count("mqtt.ingest.dropped", "reason", "timeout"));
+
+        release.countDown();
+        awaitProcessed(3);
+        assertEquals(List.of("first", "b1", "b2"), processed);
+    }
+
+    @Test
+    void dropOldest_KeepsNewestMessages() throws Exception {
+        stage = startBlocked(properties(OverflowPolicy.DROP_OLDEST));
+
+        fillBuffer();
+        assertTrue(stage.submit("t", bytes("b3")));
+        assertEquals(1.0, count("mqtt.ingest.dropped", "reason", "overflow"));
+
+        release.countDown();
+        awaitProcessed(3);
+        assertEquals(List.of("first", "b2", "b3"), processed);
+    }
+
+    @Test
+    void spill_PreservesArrivalOrderThroughDisk() throws Exception {
+        stage = startBlocked(properties(OverflowPolicy.SPILL));
+
+        fillBuffer();
+        for (int i = 3; i <= 6; i++) {
+            assertTrue(stage.submit("t", bytes("b" + i)));
+        }
+        assertEquals(4.0, count("mqtt.ingest.messages", "result", "spilled"));
+
+        release.countDown();
+        awaitProcessed(7);
+        assertEquals(List.of("first", "b1", "b2", "b3", "b4", "b5", "b6"), processed);
+        assertEquals(4.0, count("mqtt.ingest.messages", "result", "replayed"));
+
+        // 디스크가 비면 다시 버퍼로
+        assertTrue(stage.submit("t", bytes("after")));
+        awaitProcessed(8);
+        assertEquals("after", processed.get(7));
+    }
+
+    @Test
+    void handlerException_DoesNotStopWorker() throws Exception {
+        stage = new IngestStage(properties(OverflowPolicy.BLOCK), registry);
+        stage.start((topic, payload) -> {
+            String text = new String(payload, StandardCharsets.UTF_8);
+            if (text.equals("boom")) {
+                throw new IllegalStateException("boom");
+            }
+            processed.add(text);
+        });
+
+        stage.submit("t", bytes("boom"));
+        stage.submit("t", bytes("ok"));
+
+        awaitProcessed(1);
+        assertEquals(List.of("ok"), processed);
+    }
+
+    private IngestStage startBlocked(MqttIngestProperties properties) throws Exception {
+        IngestStage started = new IngestStage(properties, registry);
+        CountDownLatch picked = new CountDownLatch(1);
+        started.start((topic, payload) -> {
+            String text = new String(payload, StandardCharsets.UTF_8);
+            if (text.equals("first")) {
+                picked.countDown();
+                await(release);
+            }
+            processed.add(text);
+        });
+        assertTrue(started.submit("t", bytes("first")));
+        assertTrue(picked.await(5, TimeUnit.SECONDS));
+        return started;
+    }
+
+    private void fillBuffer() {
+        assertTrue(stage.submit("t", bytes("b1")));
+        assertTrue(stage.submit("t", bytes("b2")));
+    }
+
+    private MqttIngestProperties properties(OverflowPolicy policy) {
+        MqttIngestProperties properties = new MqttIngestProperties();
+        properties.setCapacity(2);
+        properties.setWorkers(1);
+        properties.setOverflowPolicy(policy);
+        properties.setSpillDirectory(spillDir.toString());
+        properties.setSpillSegmentBytes(4096);
+        properties.setSpillMaxBytes(64 * 1024);
+        properties.setShutdownTimeout(Duration.ofSeconds(2));
+        return properties;
+    }
+
+    private void awaitProcessed(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (processed.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(count, processed.size(), "processed: " + processed);
+    }
+
+    private double count(String name, String tagKey, String tagValue) {
+        return registry.get(name).tag(tagKey, tagValue).counter().count();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.enterprise.mqtt.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpillJournalTest {
+
+    private static final int SEGMENT_BYTES = 256;
+    private static final int HEADER = 8;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void appendReadCommit_AcrossSegmentsDeletesConsumedSegments() throws IOException {
+        SpillJournal journal = open();
+        for (int i = 0; i < 40; i++) {
+            assertTrue(journal.append(record(i)));
+        }
+        assertTrue(segmentCount() > 1);
+
+        JournalBatch first = journal.read(7);
+        assertEquals(7, first.size());
+        // commit 전에는 같은 레코드를 다시 읽음
+        assertEquals("r0", text(journal.read(1).records().get(0)));
+
+        journal.commit(first);
+        assertEquals(List.of("r7", "r8", "r9"), texts(journal.read(3)));
+
+        journal.commit(journal.read(100));
+        assertTrue(journal.isEmpty());
+        assertEquals(1, segmentCount());
+        assertEquals(SEGMENT_BYTES, journal.diskBytes());
+        journal.close();
+    }
+
+    @Test
+    void readAfter_ScansPendingRecordsWithoutMovingCursor() throws IOException {
+        SpillJournal journal = open();
+        for (int i = 0; i < 12; i++) {
+            journal.append(record(i));
+        }
+        journal.commit(journal.read(2));
+
+        List<String> scanned = new ArrayList<>();
+        for (JournalBatch batch = journal.readAfter(null, 4); !batch.isEmpty(); batch = journal.readAfter(batch, 4)) {
+            scanned.addAll(texts(batch));
+        }
+
+        assertEquals(10, scanned.size());
+        assertEquals("r2", scanned.get(0));
+        assertEquals("r11", scanned.get(9));
+        assertEquals("r2", text(journal.read(1).records().get(0)));
+        journal.close();
+    }
+
+    @Test
+    void reopen_ResumesFromCommittedCursor() throws IOException {
+        SpillJournal journal = open();
+        for (int i = 0; i < 10; i++) {
+            journal.append(record(i));
+        }
+        journal.commit(journal.read(4));
+        journal.close();
+
+        SpillJournal reopened = open();
+        assertFalse(reopened.isEmpty());
+        assertEquals(List.of("r4", "r5", "r6", "r7", "r8", "r9"), texts(reopened.read(100)));
+
+        reopened.append(record(10));
+        assertEquals("r10", text(reopened.read(100).records().get(6)));
+        reopened.close();
+    }
+
+    @Test
+    void reopen_TruncatesTornTailRecordAndAppendsOverIt() throws IOException {
+        SpillJournal journal = open();
+        for (int i = 0; i < 3; i++) {
+            journal.append(record(i));
+        }
+        journal.close();
+
+        // 마지막 레코드의 데이터가 기록되기 전에 종료된 상황 (length/crc 는 있지만 데이터가 다름)
+        Path segment = lastSegment();
+        int lastOffset = 2 * (HEADER + record(0).length);
+        writeAt(segment, lastOffset + HEADER, new byte[]{'x', 'x'});
+
+        SpillJournal reopened = open();
+        assertEquals(List.of("r0", "r1"), texts(reopened.read(100)));
+        assertEquals(0, reopened.corruptedRecords());
+
+        reopened.append(record(3));
+        assertEquals(List.of("r0", "r1", "r3"), texts(reopened.read(100)));
+        reopened.close();
+    }
+
+    @Test
+    void reopen_TruncatesRecordWhoseLengthRunsPastSegment() throws IOException {
+        SpillJournal journal = open();
+        journal.append(record(0));
+        journal.close();
+
+        int next = HEADER + record(0).length;
+        writeAt(lastSegment(), next, ByteBuffer.allocate(4).putInt(SEGMENT_BYTES * 2).array());
+
+        SpillJournal reopened = open();
+        assertEquals(List.of("r0"), texts(reopened.read(100)));
+        reopened.close();
+    }
+
+    @Test
+    void read_SkipsRestOfSealedSegmentOnCrcMismatch() throws IOException {
+        SpillJournal journal = open();
+        for (int i = 0; i < 40; i++) {
+            journal.append(record(i));
+        }
+        journal.close();
+
+        // 이미 닫힌 첫 세그먼트의 두 번째 레코드 손상
+        Path first = firstSegment();
+        int perSegment = SEGMENT_BYTES / (HEADER + record(10).length);
+        writeAt(first, HEADER + record(0).length + HEADER, new byte[]{'?'});
+
+        SpillJournal reopened = open();
+        List<String> read = texts(reopened.read(100));
+        assertEquals("r0", read.get(0));
+        assertEquals("r" + perSegment, read.get(1));
+        assertEquals(1, reopened.corruptedRecords());
+        reopened.close();
+    }
+
+    @Test
+    void reopen_InvalidCursorReplaysFromFirstSegment() throws IOException {
+        SpillJournal journal = open();
+        for (int i = 0; i < 5; i++) {
+            journal.append(record(i));
+        }
+        journal.commit(journal.read(3));
+        journal.close();
+
+        writeAt(dir.resolve("cursor"), 0, new byte[]{1, 2, 3});
+
+        SpillJournal reopened = open();
+        assertEquals("r0", text(reopened.read(1).records().get(0)));
+        reopened.close();
+    }
+
+    @Test
+    void append_RejectsWhenDiskLimitReachedOrRecordTooLarge() throws IOException {
+        SpillJournal journal = new SpillJournal(dir, SEGMENT_BYTES, SEGMENT_BYTES * 2L);
+
+        assertFalse(journal.append(new byte[SEGMENT_BYTES]));
+        int appended = 0;
+        while (journal.append(record(appended))) {
+            appended++;
+        }
+        assertEquals(SEGMENT_BYTES * 2L, journal.diskBytes());
+
+        // 읽고 commit 해서 세그먼트가 지워지면 다시 쓸 수 있음
+        journal.commit(journal.read(appended));
+        assertTrue(journal.append(record(appended)));
+        journal.close();
+    }
+
+    private SpillJournal open() throws IOException {
+        return new SpillJournal(dir, SEGMENT_BYTES, SEGMENT_BYTES * 16L);
+    }
+
+    private long segmentCount() throws IOException {
+        return segments().size();
+    }
+
+    private Path firstSegment() throws IOException {
+        return segments().get(0);
+    }
+
+    private Path lastSegment() throws IOException {
+        List<Path> segments = segments();
+        return segments.get(segments.size() - 1);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(f -> f.getFileName().toString().endsWith(".seg")).sorted().toList();
+        }
+    }
+
+    private static void writeAt(Path file, long position, byte[] bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(bytes), position);
+        }
+    }
+
+    /**
+     * 같은 길이의 레코드 (r0 ~ r99 → "r00".."r99")
+     */
+    private static byte[] record(int i) {
+        return String.format("r%02d", i).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static String text(byte[] record) {
+        return "r" + Integer.parseInt(new String(record, 1, record.length - 1, StandardCharsets.US_ASCII));
+    }
+
+    private static List<String> texts(JournalBatch batch) {
+        return batch.records().stream().map(SpillJournalTest::text).toList();
+    }
+}
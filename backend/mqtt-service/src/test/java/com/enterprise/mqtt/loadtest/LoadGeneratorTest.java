@@ -0,0 +1,165 @@
+package com.enterprise.mqtt.loadtest;
+
+import com.enterprise.mqtt.config.MqttLoadTestProperties;
+import com.enterprise.mqtt.config.MqttPublishProperties;
+import com.enterprise.mqtt.config.MqttTransportProperties;
+import com.enterprise.mqtt.dto.LoadTestRequest;
+import com.enterprise.mqtt.dto.LoadTestStatus;
+import com.enterprise.mqtt.transport.EmbeddedMqttTransport;
+import com.enterprise.mqtt.transport.MqttTransport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class LoadGeneratorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final Map<String, LongAdder> received = new ConcurrentHashMap<>();
+    private MqttLoadTestProperties properties;
+    private EmbeddedMqttTransport broker;
+    private LoadGenerator generator;
+
+    @BeforeEach
+    void setUp() {
+        properties = new MqttLoadTestProperties();
+        properties.setMaxInFlight(64);
+        broker = new EmbeddedMqttTransport(new MqttTransportProperties.Embedded(), registry);
+        broker.connect();
+        broker.subscribe("device/topic/+", 0,
+                (topic, payload) -> received.computeIfAbsent(topic, t -> new LongAdder()).increment());
+        generator = generator(broker);
+    }
+
+    @AfterEach
+    void tearDown() {
+        generator.shutdown();
+        broker.disconnect();
+    }
+
+    @Test
+    void start_PublishesAtRequestedRateAndMix() throws Exception {
+        LoadTestStatus started = generator.start(request(400, 1));
+        assertEquals(LoadTestStatus.State.RUNNING, started.getState());
+        assertEquals("embedded", started.getTransport());
+
+        LoadTestStatus status = awaitFinished();
+
+        assertEquals(LoadTestStatus.State.COMPLETED, status.getState());
+        assertEquals(0, status.getFailed());
+        // open-loop: 실행 시간 × rate 를 넘지 않고 크게 밑돌지 않는다
+        assertTrue(status.getPublished() <= 400, "published " + status.getPublished());
+        assertTrue(status.getPublished() >= 200, "published " + status.getPublished());
+        assertNotNull(status.getLatencyP99Ms());
+
+        // 발행한 메시지는 모두 구독자까지 전달, 종류별 비율 A0:B0:C0 = 1:8:1
+        long a0 = count("device/topic/A0");
+        long b0 = count("device/topic/B0");
+        long c0 = count("device/topic/C0");
+        assertEquals(status.getPublished(), a0 + b0 + c0);
+        assertTrue(b0 > a0 * 4 && b0 > c0 * 4, a0 + ":" + b0 + ":" + c0);
+    }
+
+    @Test
+    void start_RejectsSecondRunWhileRunning() {
+        generator.start(request(100, 5));
+
+        assertThrows(IllegalStateException.class, () -> generator.start(request(100, 5)));
+    }
+
+    @Test
+    void stop_EndsRunAsStopped() throws Exception {
+        generator.start(request(100, 30));
+
+        generator.stop();
+
+        LoadTestStatus status = awaitFinished();
+        assertEquals(LoadTestStatus.State.STOPPED, status.getState());
+        assertNotNull(status.getFinishedAt());
+    }
+
+    @Test
+    void start_RejectsOutOfRangeRequest() {
+        assertThrows(IllegalArgumentException.class, () -> generator.start(request(0, 1)));
+        assertThrows(IllegalArgumentException.class, () -> generator.start(request(properties.getMaxRate() + 1, 1)));
+        assertThrows(IllegalArgumentException.class, () -> generator.start(request(100, 0)));
+
+        LoadTestRequest noWeights = request(100, 1);
+        noWeights.setA0Weight(0);
+        noWeights.setB0Weight(0);
+        noWeights.setC0Weight(0);
+        assertThrows(IllegalArgumentException.class, () -> generator.start(noWeights));
+
+        LoadTestRequest qos2 = request(100, 1);
+        qos2.setQos(2);
+        assertThrows(IllegalArgumentException.class, () -> generator.start(qos2));
+        assertNull(generator.status());
+    }
+
+    @Test
+    void start_CountsTransportFailures() throws Exception {
+        MqttTransport failing = mock(MqttTransport.class);
+        when(failing.name()).thenReturn("mock");
+        when(failing.publish(anyString(), anyString(), anyInt(), any(), anyLong()))
+                .thenReturn(CompletableFuture.completedFuture("queue full"))
+                .thenThrow(new IllegalStateException("closed"));
+        generator = generator(failing);
+
+        generator.start(request(50, 1));
+        LoadTestStatus status = awaitFinished();
+
+        // 실패 future 와 동기 예외 모두 실패로 집계하고 발행 창을 돌려준다
+        assertEquals(LoadTestStatus.State.COMPLETED, status.getState());
+        assertEquals(0, status.getPublished());
+        assertTrue(status.getFailed() > 1);
+        assertEquals((double) status.getFailed(),
+                registry.get("mqtt.loadtest.messages").tag("result", "failed").counter().count());
+    }
+
+    private LoadGenerator generator(MqttTransport transport) {
+        MqttPublishProperties publishProperties = new MqttPublishProperties();
+        publishProperties.setAckTimeout(Duration.ofMillis(500));
+        return new LoadGenerator(transport, properties, publishProperties, registry);
+    }
+
+    private LoadTestStatus awaitFinished() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            LoadTestStatus status = generator.status();
+            if (status != null && status.getState() != LoadTestStatus.State.RUNNING) {
+                return status;
+            }
+            Thread.sleep(20);
+        }
+        fail("Load test did not finish");
+        return null;
+    }
+
+    private long count(String topic) {
+        LongAdder adder = received.get(topic);
+        return adder != null ? adder.sum() : 0;
+    }
+
+    private static LoadTestRequest request(int rate, int durationSeconds) {
+        return LoadTestRequest.builder()
+                .rate(rate)
+                .durationSeconds(durationSeconds)
+                .devices(10)
+                .bodyBytes(16)
+                .build();
+    }
+}
@@ -0,0 +1,54 @@
+package com.enterprise.mqtt.loadtest;
+
+import com.enterprise.mqtt.codec.DeviceFrame;
+import com.enterprise.mqtt.dto.MqttMessage;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyntheticFramesTest {
+
+    @Test
+    void payload_A0IsRequestFrameWithDeviceSerial() {
+        SyntheticFrames frames = new SyntheticFrames("EST-ROZ-LT", 12, 8);
+
+        assertEquals("EST-ROZ-LT0000011", frames.serial(11));
+        DeviceFrame frame = frame(frames.payload(11, SyntheticFrames.A0));
+        assertEquals(MqttMessage.MessageType.REQUEST, frame.messageType());
+        assertEquals("EST-ROZ-LT0000011", frame.serialNo());
+        assertEquals(DeviceFrame.HEADER_LENGTH + 8, frame.length());
+    }
+
+    @Test
+    void payload_B0IsPeriodicFrameWithDeviceNumber() {
+        SyntheticFrames frames = new SyntheticFrames("EST-ROZ-LT", 12, 8);
+
+        DeviceFrame frame = frame(frames.payload(3, SyntheticFrames.B0));
+        assertEquals(MqttMessage.MessageType.PERIODIC, frame.messageType());
+        assertEquals(4, frame.deviceIdField());
+        assertEquals(DeviceFrame.SERIAL_NO_OFFSET + 8, frame.length());
+    }
+
+    @Test
+    void payload_C0IsPlainText() {
+        SyntheticFrames frames = new SyntheticFrames("EST-ROZ-LT", 2, 3);
+
+        assertEquals("LOADTEST EST-ROZ-LT0000001 xxx",
+                new String(frames.payload(1, SyntheticFrames.C0), StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void constructor_RejectsPrefixWithoutRoomForDeviceNumbers() {
+        assertThrows(IllegalArgumentException.class, () -> new SyntheticFrames("EST-ROZ-LT-000000", 10, 8));
+        assertThrows(IllegalArgumentException.class, () -> new SyntheticFrames("ABC", 10, 8));
+        // 16자 접두사 + 1자리: 디바이스 10개까지
+        assertDoesNotThrow(() -> new SyntheticFrames("EST-ROZ-LT-00000", 10, 8));
+    }
+
+    private static DeviceFrame frame(byte[] payload) {
+        return new DeviceFrame().wrap(Base64.getDecoder().decode(payload));
+    }
+}
@@ -0,0 +1,105 @@
+package com.enterprise.mqtt.partition;
+
+import com.enterprise.mqtt.codec.DeviceFrame;
+import com.enterprise.mqtt.codec.DevicePayloadDecoder;
+import com.enterprise.mqtt.config.KafkaKeyingProperties;
+import com.enterprise.mqtt.dto.MqttMessage;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecordKeyResolverTest {
+
+    private static final String TOPIC_A0 = "device/topic/A0";
+    private static final String TOPIC_B0 = "device/topic/B0";
+
+    private final KafkaKeyingProperties properties = new KafkaKeyingProperties();
+    private final RecordKeyResolver resolver = new RecordKeyResolver(properties);
+
+    @Test
+    void requestFrame_KeyedBySerialNo() {
+        MqttMessage message = decode(TOPIC_A0, requestFrame("EST-ROZ-250000042"));
+
+        assertEquals("EST-ROZ-250000042", message.getDeviceId());
+        assertEquals("EST-ROZ-250000042", resolver.keyFor(message));
+
+        // deviceId 가 비어 있어도 같은 기준
+        message.setDeviceId(null);
+        assertEquals(TOPIC_A0 + ":EST-ROZ-250000042", resolver.keyFor(message));
+    }
+
+    @Test
+    void requestFrameWithInvalidSerial_FallsBackToDeviceIdField() {
+        byte[] frame = requestFrame("XYZ-000000000001");
+        ByteBuffer.wrap(frame).putInt(0x00AB12CD);
+        MqttMessage message = decode(TOPIC_A0, frame);
+
+        assertNull(message.getDeviceId());
+        assertEquals(TOPIC_A0 + ":#00AB12CD", resolver.keyFor(message));
+    }
+
+    @Test
+    void nonRequestFrame_KeyedByDeviceIdFieldEvenWhenBodyLooksLikeSerial() {
+        // PERIODIC: deviceID[0-3], topicType[4], body[5-] - body 가 우연히 "EST..." 로 시작해도 serial 로 쓰지 않음
+        byte[] frame = new byte[40];
+        ByteBuffer.wrap(frame).putInt(0x0A0B0C0D);
+        frame[DeviceFrame.TOPIC_TYPE_INDEX] = (byte) MqttMessage.MessageType.PERIODIC.getCode();
+        byte[] body = "EST-ROZ-250000042".getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(body, 0, frame, DeviceFrame.SERIAL_NO_OFFSET, body.length);
+        MqttMessage message = decode(TOPIC_B0, frame);
+
+        assertNull(message.getDeviceId());
+        assertEquals(TOPIC_B0 + ":#0A0B0C0D", resolver.keyFor(message));
+    }
+
+    @Test
+    void nonRequestFrameWithBody_KeyDoesNotDependOnBody() {
+        byte[] first = new byte[40];
+        byte[] second = new byte[40];
+        ByteBuffer.wrap(first).putInt(7);
+        ByteBuffer.wrap(second).putInt(7);
+        first[DeviceFrame.TOPIC_TYPE_INDEX] = second[DeviceFrame.TOPIC_TYPE_INDEX] =
+                (byte) MqttMessage.MessageType.RESPONSE.getCode();
+        first[10] = 'a';
+        second[10] = 'b';
+
+        assertEquals(resolver.keyFor(decode(TOPIC_B0, first)), resolver.keyFor(decode(TOPIC_B0, second)));
+    }
+
+    @Test
+    void unidentifiableFramesAndPlaintext_HaveNoKey() {
+        byte[] zeroDevice = new byte[40];
+        zeroDevice[DeviceFrame.TOPIC_TYPE_INDEX] = (byte) MqttMessage.MessageType.PERIODIC.getCode();
+
+        assertNull(resolver.keyFor(decode(TOPIC_B0, zeroDevice)));
+        assertNull(resolver.keyFor(MqttMessage.builder().topic("device/topic/C0")
+                .messageType(MqttMessage.MessageType.PLAINTEXT).rawMessage("hello").build()));
+    }
+
+    @Test
+    void fallbackNone_OnlyUsesDeviceId() {
+        properties.setFallbackKey(FallbackKey.NONE);
+        byte[] frame = new byte[40];
+        ByteBuffer.wrap(frame).putInt(7);
+
+        assertNull(resolver.keyFor(decode(TOPIC_B0, frame)));
+        assertEquals("EST-ROZ-250000042", resolver.keyFor(decode(TOPIC_A0, requestFrame("EST-ROZ-250000042"))));
+    }
+
+    private static MqttMessage decode(String topic, byte[] frame) {
+        byte[] payload = ("\"" + Base64.getEncoder().encodeToString(frame) + "\"").getBytes(StandardCharsets.US_ASCII);
+        return new DevicePayloadDecoder().decode(topic, payload, true, 1);
+    }
+
+    private static byte[] requestFrame(String serial) {
+        byte[] frame = new byte[DeviceFrame.HEADER_LENGTH + 8];
+        frame[DeviceFrame.TOPIC_TYPE_INDEX] = (byte) MqttMessage.MessageType.REQUEST.getCode();
+        byte[] bytes = serial.getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(bytes, 0, frame, DeviceFrame.SERIAL_NO_OFFSET, bytes.length);
+        return frame;
+    }
+}
@@ -0,0 +1,76 @@
+package com.enterprise.mqtt.routing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopicRouterTest {
+
+    private final Map<String, Object> settings = new HashMap<>();
+    private final StandardEnvironment environment = new StandardEnvironment();
+
+    @BeforeEach
+    void setUp() {
+        environment.getPropertySources().addFirst(new MapPropertySource("test", settings));
+        settings.put("mqtt.routing.routes[0].filter", "device/topic/+");
+        settings.put("mqtt.routing.routes[0].decoder", "frame");
+        settings.put("mqtt.routing.routes[1].filter", "device/topic/C0");
+        settings.put("mqtt.routing.routes[1].kafka-topic", " ");
+    }
+
+    @Test
+    void route_BindsRoutesAndFallsBackToDefault() {
+        TopicRouter router = new TopicRouter(environment);
+
+        TopicRoute a0 = router.route("device/topic/A0");
+        assertTrue(a0.isFrame());
+        assertNull(a0.kafkaTopic());
+
+        TopicRoute c0 = router.route("device/topic/C0");
+        assertEquals(PayloadDecoding.PLAINTEXT, c0.decoding());
+        assertNull(c0.kafkaTopic(), "blank kafka-topic means per-type topic");
+
+        assertSame(TopicRouter.DEFAULT_ROUTE, router.route("site/1/telemetry"));
+    }
+
+    @Test
+    void onEnvironmentChange_ReloadsRoutingKeys() {
+        TopicRouter router = new TopicRouter(environment);
+
+        settings.put("mqtt.routing.routes[2].filter", "site/+/telemetry");
+        settings.put("mqtt.routing.routes[2].kafka-topic", "site.telemetry");
+        router.onEnvironmentChange(new EnvironmentChangeEvent(Set.of("mqtt.routing.routes[2].filter")));
+
+        assertEquals("site.telemetry", router.route("site/1/telemetry").kafkaTopic());
+        assertEquals(3, router.routes().size());
+    }
+
+    @Test
+    void onEnvironmentChange_IgnoresUnrelatedKeys() {
+        TopicRouter router = new TopicRouter(environment);
+
+        settings.put("mqtt.routing.routes[2].filter", "site/+/telemetry");
+        router.onEnvironmentChange(new EnvironmentChangeEvent(Set.of("kafka.topics.text")));
+
+        assertSame(TopicRouter.DEFAULT_ROUTE, router.route("site/1/telemetry"));
+    }
+
+    @Test
+    void onEnvironmentChange_KeepsPreviousTableWhenNewRoutesAreInvalid() {
+        TopicRouter router = new TopicRouter(environment);
+
+        settings.put("mqtt.routing.routes[2].filter", "device/topic/+");
+        router.onEnvironmentChange(new EnvironmentChangeEvent(Set.of("mqtt.routing.routes[2].filter")));
+
+        assertEquals(2, router.routes().size());
+        assertTrue(router.route("device/topic/B0").isFrame());
+    }
+}
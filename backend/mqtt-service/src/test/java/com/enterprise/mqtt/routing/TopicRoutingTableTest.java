@@ -0,0 +1,180 @@
+package com.enterprise.mqtt.routing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopicRoutingTableTest {
+
+    @Test
+    void match_PrefersMoreSpecificFilterPerLevel() {
+        TopicRoutingTable table = table("#", "device/#", "device/+/A0", "device/topic/+", "device/topic/A0");
+
+        assertEquals("device/topic/A0", table.match("device/topic/A0").filter());
+        assertEquals("device/topic/+", table.match("device/topic/B0").filter());
+        assertEquals("device/+/A0", table.match("device/other/A0").filter());
+        assertEquals("device/#", table.match("device/other/B0").filter());
+        assertEquals("#", table.match("site/1").filter());
+    }
+
+    @Test
+    void match_BacktracksWhenExactBranchDeadEnds() {
+        TopicRoutingTable table = table("a/b/c", "a/+/d");
+
+        // a/b 로 내려갔다가 d 가 없으면 + 쪽으로 돌아와야 함
+        assertEquals("a/+/d", table.match("a/b/d").filter());
+        assertNull(table.match("a/b/e"));
+    }
+
+    @Test
+    void multiLevelWildcard_MatchesParentLevel() {
+        TopicRoutingTable table = table("a/#");
+
+        assertEquals("a/#", table.match("a").filter());
+        assertEquals("a/#", table.match("a/").filter());
+        assertEquals("a/#", table.match("a/b/c").filter());
+        assertNull(table.match("ab"));
+    }
+
+    @Test
+    void singleLevelWildcard_MatchesEmptyLevelButNotMissingLevel() {
+        TopicRoutingTable table = table("a/+", "+/b");
+
+        assertEquals("a/+", table.match("a/").filter());
+        assertEquals("+/b", table.match("/b").filter());
+        assertNull(table.match("a"));
+        assertNull(table.match("a/b/c"));
+    }
+
+    @Test
+    void dollarTopics_DoNotMatchLeadingWildcards() {
+        TopicRoutingTable table = table("#", "+/status", "$SYS/#");
+
+        assertEquals("$SYS/#", table.match("$SYS/broker").filter());
+        assertNull(table(List.of("#", "+/status")).match("$aws/status"));
+        assertEquals("#", table.match("a/$x").filter());
+    }
+
+    @Test
+    void compile_RejectsInvalidAndDuplicateFilters() {
+        assertThrows(IllegalArgumentException.class, () -> table("a/#/b"));
+        assertThrows(IllegalArgumentException.class, () -> table("a/b+"));
+        assertThrows(IllegalArgumentException.class, () -> table("a#"));
+        assertThrows(IllegalArgumentException.class, () -> table(""));
+        assertThrows(IllegalArgumentException.class, () -> table("a/+", "a/+"));
+        assertThrows(IllegalArgumentException.class, () -> table("a/#", "a/#"));
+    }
+
+    @Test
+    void match_AgreesWithReferenceMatcherOnRandomFiltersAndTopics() {
+        Random random = new Random(42);
+        String[] levels = {"a", "b", "", "$s"};
+        String[] filterLevels = {"a", "b", "", "$s", "+", "+", "#"};
+
+        for (int round = 0; round < 200; round++) {
+            Set<String> filters = new LinkedHashSet<>();
+            while (filters.size() < 12) {
+                String filter = randomFilter(random, filterLevels);
+                if (!filter.isEmpty()) {
+                    filters.add(filter);
+                }
+            }
+            TopicRoutingTable table = table(new ArrayList<>(filters));
+
+            for (int i = 0; i < 100; i++) {
+                StringBuilder topic = new StringBuilder(levels[random.nextInt(levels.length)]);
+                int depth = random.nextInt(4);
+                for (int d = 0; d < depth; d++) {
+                    topic.append('/').append(levels[random.nextInt(levels.length)]);
+                }
+                String expected = reference(filters, topic.toString());
+                TopicRoute actual = table.match(topic.toString());
+                assertEquals(expected, actual != null ? actual.filter() : null,
+                        "topic '" + topic + "' filters " + filters);
+            }
+        }
+    }
+
+    private static String randomFilter(Random random, String[] filterLevels) {
+        int depth = 1 + random.nextInt(4);
+        List<String> parts = new ArrayList<>();
+        for (int d = 0; d < depth; d++) {
+            String level = filterLevels[random.nextInt(filterLevels.length)];
+            parts.add(level);
+            if (level.equals("#")) {
+                break;
+            }
+        }
+        return String.join("/", parts);
+    }
+
+    /**
+     * MQTT 규칙대로 모든 필터를 검사하고, 레벨마다 정확히 일치 > + > # 순으로 가장 구체적인 필터 선택
+     */
+    private static String reference(Set<String> filters, String topic) {
+        String best = null;
+        int[] bestRank = null;
+        for (String filter : filters) {
+            int[] rank = rank(filter, topic);
+            if (rank != null && (bestRank == null || compare(rank, bestRank) > 0)) {
+                best = filter;
+                bestRank = rank;
+            }
+        }
+        return best;
+    }
+
+    private static int[] rank(String filter, String topic) {
+        String[] f = filter.split("/", -1);
+        String[] t = topic.split("/", -1);
+        int[] rank = new int[Math.max(f.length, t.length) + 1];
+        Arrays.fill(rank, 4);
+        for (int i = 0; i < f.length; i++) {
+            boolean wildcard = f[i].equals("+") || f[i].equals("#");
+            if (i == 0 && wildcard && topic.startsWith("$")) {
+                return null;
+            }
+            if (f[i].equals("#")) {
+                rank[i] = 1;
+                return rank;
+            }
+            if (i >= t.length) {
+                return null;
+            }
+            if (f[i].equals("+")) {
+                rank[i] = 2;
+            } else if (f[i].equals(t[i])) {
+                rank[i] = 3;
+            } else {
+                return null;
+            }
+        }
+        return f.length == t.length ? rank : null;
+    }
+
+    private static int compare(int[] a, int[] b) {
+        for (int i = 0; i < Math.min(a.length, b.length); i++) {
+            if (a[i] != b[i]) {
+                return Integer.compare(a[i], b[i]);
+            }
+        }
+        return 0;
+    }
+
+    private static TopicRoutingTable table(String... filters) {
+        return table(List.of(filters));
+    }
+
+    private static TopicRoutingTable table(List<String> filters) {
+        return TopicRoutingTable.compile(filters.stream()
+                .map(filter -> new TopicRoute(filter, PayloadDecoding.PLAINTEXT, null))
+                .toList());
+    }
+}
@@ -0,0 +1,281 @@
+package com.enterprise.mqtt.scaling;
+
+import com.enterprise.mqtt.config.MqttScalingProperties;
+import com.enterprise.mqtt.config.MqttTransportProperties;
+import com.enterprise.mqtt.listener.MqttMessageListener;
+import com.enterprise.mqtt.transport.EmbeddedMqttTransport;
+import com.netflix.appinfo.ApplicationInfoManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class SubscriptionManagerTest {
+
+    private static final List<String> TOPICS = List.of("device/topic/+");
+    private static final List<String> SHARDS = List.of("device/topic/A0", "device/topic/B0", "device/topic/C0");
+
+    private EmbeddedMqttTransport broker;
+    private DiscoveryClient discoveryClient;
+    private final List<ServiceInstance> instances = new CopyOnWriteArrayList<>();
+    private MqttScalingProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        // 공유 구독 / 와일드카드를 지원하는 로컬 브로커 대용 (전달 스레드 1개 - 발행 순서대로 전달)
+        broker = new EmbeddedMqttTransport(new MqttTransportProperties.Embedded(), new SimpleMeterRegistry());
+        broker.connect();
+        discoveryClient = mock(DiscoveryClient.class);
+        when(discoveryClient.getInstances(anyString())).thenReturn(instances);
+        properties = new MqttScalingProperties();
+        properties.setShards(SHARDS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        broker.disconnect();
+    }
+
+    @Test
+    void assign_SpreadsShardsRoundRobinOverSortedMembers() {
+        List<String> shards = List.of("s0", "s1", "s2", "s3", "s4");
+        List<String> members = List.of("a", "b");
+
+        assertEquals(Set.of("s0", "s2", "s4"), SubscriptionManager.assign(shards, members, "a"));
+        assertEquals(Set.of("s1", "s3"), SubscriptionManager.assign(shards, members, "b"));
+    }
+
+    @Test
+    void assign_EveryShardHasExactlyOneOwner() {
+        List<String> shards = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            shards.add("s" + i);
+        }
+        List<String> members = List.of("a", "b", "c");
+
+        Set<String> union = new HashSet<>();
+        int total = 0;
+        for (String member : members) {
+            Set<String> assigned = SubscriptionManager.assign(shards, members, member);
+            union.addAll(assigned);
+            total += assigned.size();
+        }
+        assertEquals(new HashSet<>(shards), union);
+        assertEquals(shards.size(), total);
+    }
+
+    @Test
+    void assign_ExtraMembersGetNothingAndUnknownSelfGetsNothing() {
+        List<String> members = List.of("a", "b", "c", "d");
+
+        assertTrue(SubscriptionManager.assign(SHARDS, members, "d").isEmpty());
+        assertTrue(SubscriptionManager.assign(SHARDS, members, "x").isEmpty());
+        assertEquals(Set.copyOf(SHARDS), SubscriptionManager.assign(SHARDS, List.of("a"), "a"));
+    }
+
+    @Test
+    void start_SharedModeDeliversEachMessageToOneInstance() {
+        properties.setMode(MqttScalingProperties.Mode.SHARED);
+        Instance first = new Instance();
+        Instance second = new Instance();
+        first.manager.start();
+        second.manager.start();
+
+        publish("device/topic/A0", 100);
+
+        // 같은 group 이므로 두 인스턴스가 합쳐 한 번씩만 수신
+        assertEquals(100, first.received.size() + second.received.size());
+        assertEquals(List.of("$share/mqtt-service/device/topic/+"), first.filters);
+    }
+
+    @Test
+    void start_NoneModeDeliversToEveryInstance() {
+        Instance first = new Instance();
+        Instance second = new Instance();
+        first.manager.start();
+        second.manager.start();
+
+        publish("device/topic/A0", 10);
+
+        assertEquals(10, first.received.size());
+        assertEquals(10, second.received.size());
+    }
+
+    @Test
+    void rebalance_ShardedModeSplitsShardsBetweenInstances() {
+        properties.setMode(MqttScalingProperties.Mode.SHARDED);
+        Instance first = new Instance();
+        Instance second = new Instance();
+        first.register();
+        second.register();
+
+        first.manager.rebalance();
+        second.manager.rebalance();
+        for (String shard : SHARDS) {
+            publish(shard, 1);
+        }
+
+        // shard 마다 한 인스턴스만 구독
+        Set<String> union = new HashSet<>(first.filters);
+        union.addAll(second.filters);
+        assertEquals(Set.copyOf(SHARDS), union);
+        assertEquals(SHARDS.size(), first.filters.size() + second.filters.size());
+        assertEquals(SHARDS.size(), first.received.size() + second.received.size());
+    }
+
+    @Test
+    void rebalance_NewOwnerWaitsUntilPreviousOwnerReleases() {
+        properties.setMode(MqttScalingProperties.Mode.SHARDED);
+        Instance first = new Instance();
+        first.register();
+        first.manager.rebalance();
+        assertEquals(Set.copyOf(SHARDS), first.shards());
+
+        // 두 번째 인스턴스 합류 - 배정받은 shard 를 첫 인스턴스가 아직 구독 중이므로 대기
+        Instance second = new Instance();
+        second.register();
+        second.manager.rebalance();
+        assertTrue(second.shards().isEmpty());
+        assertTrue(waiting(second) > 0);
+        assertEachShardReceivedOnce(first, second);
+
+        // 첫 인스턴스가 넘어간 shard 를 해제 → 그 사이 수신 공백 (중복 없음)
+        first.manager.rebalance();
+        Set<String> moved = new HashSet<>(SHARDS);
+        moved.removeAll(first.shards());
+        assertFalse(moved.isEmpty());
+        for (String shard : moved) {
+            assertEquals(0, deliveries(shard, first, second));
+        }
+
+        second.manager.rebalance();
+        assertEquals(moved, second.shards());
+        assertEquals(0.0, waiting(second));
+        assertEachShardReceivedOnce(first, second);
+    }
+
+    @Test
+    void rebalance_ShardsOfDepartedMemberAreTakenOverImmediately() {
+        properties.setMode(MqttScalingProperties.Mode.SHARDED);
+        Instance first = new Instance();
+        Instance second = new Instance();
+        first.register();
+        second.register();
+        first.manager.rebalance();
+        second.manager.rebalance();
+
+        // 첫 인스턴스가 레지스트리에서 빠지면 그 구독 정보도 함께 사라져 기다리지 않는다
+        instances.remove(first.instance);
+        second.manager.rebalance();
+
+        assertEquals(Set.copyOf(SHARDS), second.shards());
+        assertEquals(0.0, waiting(second));
+    }
+
+    private void assertEachShardReceivedOnce(Instance... members) {
+        for (String shard : SHARDS) {
+            assertEquals(1, deliveries(shard, members), shard);
+        }
+    }
+
+    /**
+     * shard 로 메시지 하나를 발행해 받은 인스턴스 수
+     */
+    private int deliveries(String shard, Instance... members) {
+        for (Instance member : members) {
+            member.received.clear();
+        }
+        publish(shard, 1);
+        int count = 0;
+        for (Instance member : members) {
+            count += member.received.size();
+        }
+        return count;
+    }
+
+    private static double waiting(Instance member) {
+        return member.meterRegistry.get("mqtt.scaling.shards.waiting").gauge().value();
+    }
+
+    private void publish(String topic, int count) {
+        for (int i = 0; i < count; i++) {
+            broker.publish("device", topic, 1, ("m" + i).getBytes(StandardCharsets.UTF_8), 1000).join();
+        }
+    }
+
+    /**
+     * mqtt-service 인스턴스 하나 (MqttMessageListener 는 받은 메시지를 모으기만 하고,
+     * Eureka 에 등록한 메타데이터는 레지스트리의 인스턴스 정보에 그대로 반영된다)
+     */
+    private class Instance {
+
+        final SubscriptionManager manager;
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        final List<String> filters = new CopyOnWriteArrayList<>();
+        final ConcurrentLinkedQueue<String> received = new ConcurrentLinkedQueue<>();
+        final Map<String, String> metadata = new ConcurrentHashMap<>();
+        ServiceInstance instance;
+
+        @SuppressWarnings("unchecked")
+        Instance() {
+            MqttMessageListener listener = mock(MqttMessageListener.class);
+            when(listener.subscribeTopics()).thenReturn(TOPICS);
+            doAnswer(invocation -> {
+                List<String> topicFilters = invocation.getArgument(1);
+                for (String filter : topicFilters) {
+                    filters.add(filter);
+                    broker.subscribe(filter, 1, (topic, payload) -> received.add(topic));
+                }
+                return null;
+            }).when(listener).subscribe(any(), anyList());
+
+            ObjectProvider<DiscoveryClient> discovery = mock(ObjectProvider.class);
+            when(discovery.getIfAvailable()).thenReturn(discoveryClient);
+            ApplicationInfoManager eureka = mock(ApplicationInfoManager.class);
+            doAnswer(invocation -> {
+                metadata.putAll(invocation.getArgument(0));
+                return null;
+            }).when(eureka).registerAppMetadata(any());
+            ObjectProvider<ApplicationInfoManager> infoManager = mock(ObjectProvider.class);
+            when(infoManager.getIfAvailable()).thenReturn(eureka);
+            manager = new SubscriptionManager(properties, broker, listener, discovery, infoManager,
+                    "mqtt-service", meterRegistry);
+        }
+
+        void register() {
+            String memberId = (String) ReflectionTestUtils.getField(manager, "memberId");
+            metadata.put(SubscriptionManager.METADATA_MEMBER, memberId);
+            instance = new DefaultServiceInstance(memberId, "mqtt-service", "localhost", 8080, false, metadata);
+            instances.add(instance);
+        }
+
+        /**
+         * Eureka 메타데이터로 알린 구독 중인 shard
+         */
+        Set<String> shards() {
+            String shards = metadata.get(SubscriptionManager.METADATA_SHARDS);
+            return shards == null || shards.isEmpty() ? Set.of() : Set.of(shards.split(","));
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.enterprise.mqtt.service;
+
+import com.enterprise.mqtt.codec.DeviceFrame;
+import com.enterprise.mqtt.codec.RecordFormat;
+import com.enterprise.mqtt.config.KafkaKeyingProperties;
+import com.enterprise.mqtt.config.KafkaRecordFormatProperties;
+import com.enterprise.mqtt.dto.MqttMessage;
+import com.enterprise.mqtt.partition.RecordKeyResolver;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class KafkaProducerServiceTest {
+
+    private static final String SERIAL = "EST-ROZ-250000042";
+
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+    private KafkaSpillService spillService;
+    private KafkaRecordFormatProperties formatProperties;
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private KafkaProducerService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        kafkaTemplate = mock(KafkaTemplate.class);
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(new CompletableFuture<>());
+        spillService = mock(KafkaSpillService.class);
+        formatProperties = new KafkaRecordFormatProperties();
+        service = new KafkaProducerService(kafkaTemplate, objectMapper, formatProperties, spillService,
+                new RecordKeyResolver(new KafkaKeyingProperties()));
+        ReflectionTestUtils.setField(service, "mqttMessageTopic", "mqtt.message.topic");
+        ReflectionTestUtils.setField(service, "deviceDataTopic", "device.data.topic");
+        ReflectionTestUtils.setField(service, "deviceRequestTopic", "device.request.topic");
+        ReflectionTestUtils.setField(service, "deviceResponseTopic", "device.response.topic");
+        ReflectionTestUtils.setField(service, "fotaTopic", "device.fota.topic");
+        ReflectionTestUtils.setField(service, "rebootTopic", "device.reboot.topic");
+        ReflectionTestUtils.setField(service, "textTopic", "device.text.topic");
+    }
+
+    @Test
+    void sendMqttMessage_FrameRecordCarriesRawBytesAndMetadataHeaders() {
+        byte[] frame = requestFrame();
+        LocalDateTime receivedAt = LocalDateTime.of(2024, 3, 10, 12, 0, 1);
+        service.sendMqttMessage(MqttMessage.builder()
+                .messageId("6f1c9d1e-1f0e-3c59-9a51-3c1d2f6c8a01")
+                .topic("device/topic/A0")
+                .messageType(MqttMessage.MessageType.REQUEST)
+                .deviceId(SERIAL)
+                .frame(frame)
+                .qos(1)
+                .receivedAt(receivedAt)
+                .build());
+
+        ProducerRecord<String, byte[]> record = sent();
+        assertEquals("device.request.topic", record.topic());
+        assertEquals(SERIAL, record.key());
+        assertSame(frame, record.value());
+        assertEquals("frame", header(record, RecordFormat.HEADER));
+        assertEquals(SERIAL, header(record, DeviceFrame.HEADER_DEVICE_ID));
+        assertEquals("6f1c9d1e-1f0e-3c59-9a51-3c1d2f6c8a01", header(record, DeviceFrame.HEADER_MESSAGE_ID));
+        assertEquals("device/topic/A0", header(record, DeviceFrame.HEADER_MQTT_TOPIC));
+        assertEquals("1", header(record, DeviceFrame.HEADER_QOS));
+        assertEquals(receivedAt.toString(), header(record, DeviceFrame.HEADER_RECEIVED_AT));
+    }
+
+    @Test
+    void sendMqttMessage_FrameWithoutDeviceIdHasNullDeviceHeader() {
+        byte[] frame = new byte[40];
+        frame[3] = 0x2A;
+        service.sendMqttMessage(MqttMessage.builder()
+                .messageId("id").topic("device/topic/B0").messageType(MqttMessage.MessageType.PERIODIC)
+                .frame(frame).build());
+
+        ProducerRecord<String, byte[]> record = sent();
+        assertEquals("device.data.topic", record.topic());
+        Header deviceId = record.headers().lastHeader(DeviceFrame.HEADER_DEVICE_ID);
+        assertNotNull(deviceId);
+        assertNull(deviceId.value());
+        assertNull(record.headers().lastHeader(DeviceFrame.HEADER_QOS));
+    }
+
+    @Test
+    void sendMqttMessage_PlaintextFallsBackToJson() throws Exception {
+        service.sendMqttMessage(MqttMessage.builder()
+                .messageId("id").topic("device/topic/C0").messageType(MqttMessage.MessageType.PLAINTEXT)
+                .rawMessage("INFO battery=42").qos(0).build());
+
+        ProducerRecord<String, byte[]> record = sent();
+        assertEquals("device.text.topic", record.topic());
+        assertNull(record.headers().lastHeader(RecordFormat.HEADER));
+        JsonNode json = objectMapper.readTree(record.value());
+        assertEquals("INFO battery=42", json.get("rawMessage").asText());
+        assertFalse(json.has("frame"));
+    }
+
+    @Test
+    void sendMqttMessage_JsonTopicEncodesFrameAsHex() throws Exception {
+        formatProperties.getTopics().put("device.request.topic", RecordFormat.JSON);
+        service.sendMqttMessage(MqttMessage.builder()
+                .messageId("id").topic("device/topic/A0").messageType(MqttMessage.MessageType.REQUEST)
+                .deviceId(SERIAL).frame(new byte[]{0x01, (byte) 0xAB, 0x00, 0x10, 0x02}).build());
+
+        JsonNode json = objectMapper.readTree(sent().value());
+        assertEquals("01AB001002", json.get("parsedMessage").asText());
+        assertEquals(SERIAL, json.get("deviceId").asText());
+    }
+
+    @Test
+    void sendMqttMessage_ExplicitKafkaTopicOverridesTypeMapping() {
+        service.sendMqttMessage(MqttMessage.builder()
+                .messageId("id").topic("site/1/telemetry").messageType(MqttMessage.MessageType.PLAINTEXT)
+                .rawMessage("x").build(), "site.telemetry");
+
+        assertEquals("site.telemetry", sent().topic());
+    }
+
+    @SuppressWarnings("unchecked")
+    private ProducerRecord<String, byte[]> sent() {
+        ArgumentCaptor<ProducerRecord<String, byte[]>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(captor.capture());
+        return captor.getValue();
+    }
+
+    private static String header(ProducerRecord<String, byte[]> record, String name) {
+        Header header = record.headers().lastHeader(name);
+        return header == null || header.value() == null ? null : new String(header.value(), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] requestFrame() {
+        byte[] frame = new byte[DeviceFrame.HEADER_LENGTH + 8];
+        frame[DeviceFrame.TOPIC_TYPE_INDEX] = (byte) MqttMessage.MessageType.REQUEST.getCode();
+        System.arraycopy(SERIAL.getBytes(StandardCharsets.US_ASCII), 0, frame, DeviceFrame.SERIAL_NO_OFFSET, 17);
+        return frame;
+    }
+}
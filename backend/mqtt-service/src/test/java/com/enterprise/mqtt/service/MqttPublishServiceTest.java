@@ -0,0 +1,133 @@
+package com.enterprise.mqtt.service;
+
+import com.enterprise.mqtt.config.MqttPublishProperties;
+import com.enterprise.mqtt.dto.MqttMessage;
+import com.enterprise.mqtt.dto.PublishRequest;
+import com.enterprise.mqtt.dto.PublishResponse;
+import com.enterprise.mqtt.transport.MqttTransport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class MqttPublishServiceTest {
+
+    private MqttTransport transport;
+    private SimpleMeterRegistry meterRegistry;
+    private MqttPublishService service;
+
+    @BeforeEach
+    void setUp() {
+        MqttPublishProperties properties = new MqttPublishProperties();
+        properties.setMaxInFlight(1);
+        properties.setAckTimeout(Duration.ofMillis(100));
+        transport = mock(MqttTransport.class);
+        meterRegistry = new SimpleMeterRegistry();
+
+        service = new MqttPublishService(transport, properties, meterRegistry);
+        ReflectionTestUtils.setField(service, "requestTopicPrefix", "device/request");
+        ReflectionTestUtils.setField(service, "responseTopicPrefix", "device/response");
+        ReflectionTestUtils.setField(service, "testTopicPrefix", "device/test");
+    }
+
+    @Test
+    void publishAsync_ReleasesWindowOnBrokerAck() {
+        CompletableFuture<String> ack = new CompletableFuture<>();
+        when(transport.publish(anyString(), anyString(), anyInt(), any(), anyLong())).thenReturn(ack);
+
+        CompletableFuture<PublishResponse> pending = service.publishAsync(request("EST-0001"));
+        assertEquals(1.0, inFlight());
+        assertFalse(pending.isDone());
+
+        ack.complete(null);
+
+        PublishResponse response = pending.join();
+        assertTrue(response.isSuccess());
+        assertEquals("device/request/EST-0001", response.getTopic());
+        assertEquals(0.0, inFlight());
+        verify(transport).publish(eq("EST-0001"), eq("device/request/EST-0001"), eq(1), any(), eq(100L));
+    }
+
+    @Test
+    void publishAsync_SynchronousTransportFailureReleasesWindow() {
+        when(transport.publish(anyString(), anyString(), anyInt(), any(), anyLong()))
+                .thenThrow(new IllegalStateException("not connected"))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        PublishResponse failed = service.publishAsync(request("EST-0001")).join();
+        assertFalse(failed.isSuccess());
+        assertTrue(failed.getErrorMessage().contains("not connected"));
+        assertEquals(0.0, inFlight());
+
+        // 창 크기 1: 자리가 반환되지 않았으면 다음 발행은 창이 가득 차 실패
+        assertTrue(service.publishAsync(request("EST-0002")).join().isSuccess());
+        assertEquals(1.0, counter("failure"));
+        assertEquals(1.0, counter("success"));
+    }
+
+    @Test
+    void publishAsync_ExceptionalFutureIsReportedAsFailure() {
+        when(transport.publish(anyString(), anyString(), anyInt(), any(), anyLong()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("closed")));
+
+        PublishResponse response = service.publishAsync(request("EST-0001")).join();
+
+        assertFalse(response.isSuccess());
+        assertTrue(response.getErrorMessage().contains("closed"));
+        assertEquals(0.0, inFlight());
+    }
+
+    @Test
+    void publishAsync_FullWindowFailsAfterAckTimeout() {
+        CompletableFuture<String> ack = new CompletableFuture<>();
+        when(transport.publish(anyString(), anyString(), anyInt(), any(), anyLong())).thenReturn(ack);
+        service.publishAsync(request("EST-0001"));
+
+        PublishResponse rejected = service.publishAsync(request("EST-0002")).join();
+
+        assertFalse(rejected.isSuccess());
+        assertTrue(rejected.getErrorMessage().startsWith("Publish window full"));
+        verify(transport, times(1)).publish(anyString(), anyString(), anyInt(), any(), anyLong());
+
+        ack.complete(null);
+        assertEquals(0.0, inFlight());
+    }
+
+    @Test
+    void publishAsync_UnsupportedQosIsRejectedBeforeTakingWindow() {
+        PublishRequest request = request("EST-0001");
+        request.setQos(2);
+
+        assertThrows(IllegalArgumentException.class, () -> service.publishAsync(request));
+        assertEquals(0.0, inFlight());
+    }
+
+    private static PublishRequest request(String deviceId) {
+        return PublishRequest.builder()
+                .deviceId(deviceId)
+                .messageType(MqttMessage.MessageType.ECHO)
+                .payload("ping")
+                .qos(1)
+                .topicType(PublishRequest.TopicType.REQUEST)
+                .build();
+    }
+
+    private double inFlight() {
+        return meterRegistry.get("mqtt.publish.in-flight").gauge().value();
+    }
+
+    private double counter(String result) {
+        return meterRegistry.get("mqtt.publish").tag("result", result).counter().count();
+    }
+}
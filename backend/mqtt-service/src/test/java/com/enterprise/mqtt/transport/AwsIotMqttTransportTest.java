@@ -0,0 +1,118 @@
+package com.enterprise.mqtt.transport;
+
+import com.amazonaws.services.iot.client.AWSIotException;
+import com.amazonaws.services.iot.client.AWSIotMessage;
+import com.amazonaws.services.iot.client.AWSIotQos;
+import com.amazonaws.services.iot.client.AWSIotTopic;
+import com.enterprise.mqtt.client.MqttClientPool;
+import com.enterprise.mqtt.exception.MqttException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class AwsIotMqttTransportTest {
+
+    private MqttClientPool pool;
+    private AwsIotMqttTransport transport;
+
+    @BeforeEach
+    void setUp() {
+        pool = mock(MqttClientPool.class);
+        transport = new AwsIotMqttTransport(pool);
+    }
+
+    @Test
+    void publish_CompletesWithNullOnBrokerAck() throws AWSIotException {
+        CompletableFuture<String> result = transport.publish("EST-0001", "device/request/EST-0001", 1, bytes("cmd"), 500);
+
+        AWSIotMessage message = published();
+        assertEquals("device/request/EST-0001", message.getTopic());
+        assertEquals(AWSIotQos.QOS1, message.getQos());
+        assertFalse(result.isDone());
+
+        message.onSuccess();
+        assertNull(result.join());
+    }
+
+    @Test
+    void publish_CompletesWithReasonOnTimeoutOrFailure() throws AWSIotException {
+        CompletableFuture<String> timedOut = transport.publish("EST-0001", "t", 1, bytes("a"), 500);
+        published().onTimeout();
+        assertEquals("Publish not acknowledged in time", timedOut.join());
+
+        reset(pool);
+        CompletableFuture<String> failed = transport.publish("EST-0001", "t", 0, bytes("b"), 500);
+        AWSIotMessage message = published();
+        message.setErrorMessage("not authorized");
+        message.onFailure();
+        assertEquals("not authorized", failed.join());
+    }
+
+    @Test
+    void publish_PoolExceptionCompletesWithReason() throws AWSIotException {
+        doThrow(new AWSIotException("client is not connected"))
+                .when(pool).publish(any(), any(), anyLong());
+
+        // 예외 대신 실패 사유로 완료 (MqttTransport 계약)
+        assertEquals("client is not connected", transport.publish("EST-0001", "t", 1, bytes("a"), 500).join());
+    }
+
+    @Test
+    void publish_RejectsUnsupportedQos() {
+        assertThrows(IllegalArgumentException.class, () -> transport.publish("EST-0001", "t", 2, bytes("a"), 500));
+        assertThrows(IllegalArgumentException.class, () -> transport.publish("EST-0001", "t", -1, bytes("a"), 500));
+    }
+
+    @Test
+    void subscribe_PassesTopicAndPayloadToHandler() throws AWSIotException {
+        List<String> received = new ArrayList<>();
+        transport.subscribe("device/topic/+", 1,
+                (topic, payload) -> received.add(topic + ":" + new String(payload, StandardCharsets.UTF_8)));
+
+        ArgumentCaptor<AWSIotTopic> captor = ArgumentCaptor.forClass(AWSIotTopic.class);
+        verify(pool).subscribe(captor.capture());
+        assertEquals("device/topic/+", captor.getValue().getTopic());
+        assertEquals(AWSIotQos.QOS1, captor.getValue().getQos());
+
+        captor.getValue().onMessage(new AWSIotMessage("device/topic/A0", AWSIotQos.QOS1, bytes("frame")));
+        assertEquals(List.of("device/topic/A0:frame"), received);
+    }
+
+    @Test
+    void subscribeAndUnsubscribe_WrapPoolExceptions() throws AWSIotException {
+        doThrow(new AWSIotException("subscribe failed")).when(pool).subscribe(any());
+        doThrow(new AWSIotException("unsubscribe failed")).when(pool).unsubscribe("device/topic/+");
+
+        assertThrows(MqttException.class, () -> transport.subscribe("device/topic/+", 1, (topic, payload) -> {
+        }));
+        assertThrows(MqttException.class, () -> transport.unsubscribe("device/topic/+"));
+    }
+
+    @Test
+    void connect_WrapsPoolException() throws AWSIotException {
+        doThrow(new AWSIotException("no connection")).when(pool).connect();
+
+        assertThrows(MqttException.class, transport::connect);
+    }
+
+    private AWSIotMessage published() throws AWSIotException {
+        ArgumentCaptor<AWSIotMessage> captor = ArgumentCaptor.forClass(AWSIotMessage.class);
+        verify(pool).publish(eq("EST-0001"), captor.capture(), eq(500L));
+        return captor.getValue();
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,193 @@
+package com.enterprise.mqtt.transport;
+
+import com.enterprise.mqtt.config.MqttTransportProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmbeddedMqttTransportTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private EmbeddedMqttTransport broker;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (broker != null) {
+            broker.disconnect();
+        }
+    }
+
+    @Test
+    void matches_SupportsSingleAndMultiLevelWildcards() {
+        assertTrue(matches("device/topic/+", "device/topic/A0"));
+        assertFalse(matches("device/topic/+", "device/topic/A0/x"));
+        assertFalse(matches("device/topic/+", "device/topic"));
+        assertTrue(matches("device/#", "device/topic/A0"));
+        // # 는 부모 단계도 포함
+        assertTrue(matches("device/#", "device"));
+        assertTrue(matches("device/topic/A0", "device/topic/A0"));
+        assertFalse(matches("device/topic/A0", "device/topic/B0"));
+    }
+
+    @Test
+    void publish_DeliversToEveryMatchingSubscriber() {
+        broker = connected(embedded(1, 16));
+        List<String> wildcard = new CopyOnWriteArrayList<>();
+        List<String> exact = new CopyOnWriteArrayList<>();
+        List<String> other = new CopyOnWriteArrayList<>();
+        broker.subscribe("device/topic/+", 1, (topic, payload) -> wildcard.add(text(payload)));
+        broker.subscribe("device/topic/A0", 1, (topic, payload) -> exact.add(text(payload)));
+        broker.subscribe("device/topic/B0", 1, (topic, payload) -> other.add(text(payload)));
+
+        assertNull(broker.publish("EST-0001", "device/topic/A0", 1, bytes("m1"), 1000).join());
+
+        // future 는 구독자 처리가 끝난 뒤 완료
+        assertEquals(List.of("m1"), wildcard);
+        assertEquals(List.of("m1"), exact);
+        assertTrue(other.isEmpty());
+        assertEquals(1.0, registry.get("mqtt.embedded.messages").tag("result", "delivered").counter().count());
+    }
+
+    @Test
+    void publish_SharedSubscriptionDeliversOncePerGroup() {
+        broker = connected(embedded(1, 16));
+        List<String> groupA = new CopyOnWriteArrayList<>();
+        List<String> groupB = new CopyOnWriteArrayList<>();
+        broker.subscribe("$share/a/device/topic/+", 1, (topic, payload) -> groupA.add(topic));
+        broker.subscribe("$share/a/device/topic/+", 1, (topic, payload) -> groupA.add(topic));
+        broker.subscribe("$share/b/device/topic/+", 1, (topic, payload) -> groupB.add(topic));
+
+        broker.publish("EST-0001", "device/topic/A0", 1, bytes("m1"), 1000).join();
+
+        // 수신 토픽은 공유 구독 접두사가 없는 실제 토픽
+        assertEquals(List.of("device/topic/A0"), groupA);
+        assertEquals(List.of("device/topic/A0"), groupB);
+    }
+
+    @Test
+    void unsubscribe_StopsDelivery() {
+        broker = connected(embedded(1, 16));
+        List<String> received = new CopyOnWriteArrayList<>();
+        broker.subscribe("device/topic/+", 1, (topic, payload) -> received.add(text(payload)));
+
+        broker.publish("EST-0001", "device/topic/A0", 1, bytes("m1"), 1000).join();
+        broker.unsubscribe("device/topic/+");
+        broker.publish("EST-0001", "device/topic/A0", 1, bytes("m2"), 1000).join();
+
+        assertEquals(List.of("m1"), received);
+    }
+
+    @Test
+    void publish_SameShardKeyKeepsOrderAcrossDeliveryThreads() {
+        broker = connected(embedded(4, 4096));
+        List<String> received = new CopyOnWriteArrayList<>();
+        broker.subscribe("device/topic/+", 1, (topic, payload) -> received.add(text(payload)));
+
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            expected.add("m" + i);
+            results.add(broker.publish("EST-0001", "device/topic/A0", 1, bytes("m" + i), 1000));
+        }
+        results.forEach(CompletableFuture::join);
+
+        assertEquals(expected, received);
+    }
+
+    @Test
+    void publish_FailsWhenQueueIsFull() throws Exception {
+        broker = connected(embedded(1, 1));
+        CountDownLatch delivering = new CountDownLatch(1);
+        broker.subscribe("device/topic/+", 1, (topic, payload) -> {
+            delivering.countDown();
+            await(release);
+        });
+
+        // 전달 스레드가 첫 메시지를 잡고 멈춘 뒤 대기열(1)을 채움
+        CompletableFuture<String> first = broker.publish("EST-0001", "device/topic/A0", 1, bytes("m1"), 1000);
+        assertTrue(delivering.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = broker.publish("EST-0001", "device/topic/A0", 1, bytes("m2"), 1000);
+        CompletableFuture<String> rejected = broker.publish("EST-0001", "device/topic/A0", 1, bytes("m3"), 1000);
+
+        assertEquals("Embedded MQTT broker queue full", rejected.join());
+        assertEquals(1.0, registry.get("mqtt.embedded.messages").tag("result", "rejected").counter().count());
+        assertEquals(1.0, registry.get("mqtt.embedded.queue.depth").gauge().value());
+
+        release.countDown();
+        assertNull(first.get(5, TimeUnit.SECONDS));
+        assertNull(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void publish_FailingSubscriberDoesNotBlockOthers() {
+        broker = connected(embedded(1, 16));
+        List<String> received = new CopyOnWriteArrayList<>();
+        broker.subscribe("device/topic/+", 1, (topic, payload) -> {
+            throw new IllegalStateException("boom");
+        });
+        broker.subscribe("device/topic/+", 1, (topic, payload) -> received.add(text(payload)));
+
+        assertNull(broker.publish("EST-0001", "device/topic/A0", 1, bytes("m1"), 1000).join());
+        assertEquals(List.of("m1"), received);
+    }
+
+    @Test
+    void publish_RejectsWhenNotConnectedOrQosUnsupported() {
+        broker = new EmbeddedMqttTransport(embedded(1, 16), registry);
+
+        assertEquals("Embedded MQTT broker not connected",
+                broker.publish("EST-0001", "device/topic/A0", 1, bytes("m1"), 1000).join());
+        assertThrows(IllegalArgumentException.class,
+                () -> broker.publish("EST-0001", "device/topic/A0", 2, bytes("m1"), 1000));
+    }
+
+    @Test
+    void constructor_RejectsZeroDeliveryThreads() {
+        assertThrows(IllegalArgumentException.class, () -> new EmbeddedMqttTransport(embedded(0, 16), registry));
+    }
+
+    private EmbeddedMqttTransport connected(MqttTransportProperties.Embedded properties) {
+        EmbeddedMqttTransport transport = new EmbeddedMqttTransport(properties, registry);
+        transport.connect();
+        return transport;
+    }
+
+    private static MqttTransportProperties.Embedded embedded(int threads, int capacity) {
+        MqttTransportProperties.Embedded properties = new MqttTransportProperties.Embedded();
+        properties.setDeliveryThreads(threads);
+        properties.setQueueCapacity(capacity);
+        return properties;
+    }
+
+    private static boolean matches(String filter, String topic) {
+        return EmbeddedMqttTransport.matches(filter.split("/", -1), topic.split("/", -1));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(byte[] payload) {
+        return new String(payload, StandardCharsets.UTF_8);
+    }
+}